@@ -0,0 +1,97 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.benchmark;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.acumos.cds.CCDSConstants;
+import org.acumos.cds.client.CommonDataServiceRestClientImpl;
+import org.acumos.cds.transport.RestPageRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Measures the URI construction done by the REST client before every request,
+ * which includes query parameter encoding and paging/sorting parameters.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BuildUriBenchmark {
+
+	/**
+	 * Exposes the protected method under test.
+	 */
+	private static class UriClient extends CommonDataServiceRestClientImpl {
+
+		UriClient() {
+			super("http://localhost:8000/ccds", new RestTemplate());
+		}
+
+		URI uri(String[] path, Map<String, Object> queryParams, RestPageRequest pageRequest) {
+			return buildUri(path, queryParams, pageRequest);
+		}
+	}
+
+	private static final String[] SOLUTION_PATH = { CCDSConstants.SOLUTION_PATH, "12345678-abcd-90ab-cdef-1234567890ab" };
+	private static final String[] SEARCH_PATH = { CCDSConstants.SOLUTION_PATH, CCDSConstants.SEARCH_PATH,
+			CCDSConstants.PORTAL_PATH };
+
+	private UriClient client;
+	private Map<String, Object> query;
+	private RestPageRequest pageRequest;
+
+	@Setup
+	public void setup() {
+		client = new UriClient();
+		query = new HashMap<>();
+		query.put("kw", new String[] { "image", "classify" });
+		query.put("active", Boolean.TRUE);
+		query.put("atc", new String[] { "PB", "OR" });
+		pageRequest = new RestPageRequest(2, 20, "name", "modified");
+	}
+
+	@Benchmark
+	public URI simplePath() {
+		return client.uri(SOLUTION_PATH, null, null);
+	}
+
+	@Benchmark
+	public URI queryAndPage() {
+		return client.uri(SEARCH_PATH, query, pageRequest);
+	}
+
+}
@@ -0,0 +1,160 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.acumos.cds.CdsApplication;
+import org.acumos.cds.PeerStatusCode;
+import org.acumos.cds.ValidationStatusCode;
+import org.acumos.cds.client.CommonDataServiceRestClientImpl;
+import org.acumos.cds.client.ICommonDataServiceRestClient;
+import org.acumos.cds.domain.MLPPeer;
+import org.acumos.cds.domain.MLPSolution;
+import org.acumos.cds.generator.CatalogGenerator;
+import org.acumos.cds.generator.CatalogGeneratorConfig;
+import org.acumos.cds.generator.JdbcCatalogWriter;
+import org.acumos.cds.repository.PeerRepository;
+import org.acumos.cds.repository.SolutionRepository;
+import org.acumos.cds.service.PeerSearchService;
+import org.acumos.cds.service.SolutionSearchService;
+import org.acumos.cds.service.UserSearchService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.PageRequest;
+
+/**
+ * Starts the server on a random port with an in-memory Derby database, fills
+ * it with a synthetic catalog of {@link #catalogSize} solutions and exposes the
+ * search services plus a REST client that talks to the running server. One
+ * instance is shared by all threads of a trial.
+ * 
+ * Set the system property <code>cds.benchmark.url</code> to a JDBC URL to
+ * benchmark a different database, for example MariaDB; the database must be
+ * empty.
+ */
+@State(Scope.Benchmark)
+public class CatalogState {
+
+	/** Prefix of generated login names and tags */
+	public static final String PREFIX = "bench";
+
+	/** Number of peers created */
+	public static final int PEERS = 100;
+
+	@Param({ "1000" })
+	public int catalogSize;
+
+	private ConfigurableApplicationContext context;
+	private ICommonDataServiceRestClient client;
+	private List<String> solutionIds;
+	private List<String> loginNames;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		String jdbcUrl = System.getProperty("cds.benchmark.url", "jdbc:derby:memory:cdsbench;create=true");
+		// Arguments override the application properties
+		context = new SpringApplicationBuilder(CdsApplication.class).run("--server.port=0",
+				"--spring.datasource.url=" + jdbcUrl);
+
+		CatalogGeneratorConfig config = new CatalogGeneratorConfig();
+		config.setPrefix(PREFIX);
+		config.setSolutions(catalogSize);
+		config.setUsers(Math.max(10, catalogSize / 100));
+		new CatalogGenerator(config, new JdbcCatalogWriter(context.getBean(DataSource.class))).generate();
+		loginNames = new ArrayList<>();
+		for (int i = 0; i < config.getUsers(); ++i)
+			loginNames.add(PREFIX + i);
+		List<MLPPeer> peers = new ArrayList<>();
+		for (int i = 0; i < PEERS; ++i)
+			peers.add(new MLPPeer(getPeerName(i), "peer" + i + ".example.org", "https://peer" + i, false, false,
+					"contact", PeerStatusCode.AC.name(), ValidationStatusCode.PS.name()));
+		context.getBean(PeerRepository.class).save(peers);
+		solutionIds = context.getBean(SolutionRepository.class).findAll(new PageRequest(0, 1000)).getContent()
+				.stream().map(MLPSolution::getSolutionId).collect(Collectors.toList());
+
+		Environment env = context.getEnvironment();
+		String url = "http://localhost:" + env.getProperty("local.server.port")
+				+ env.getProperty("server.contextPath", "");
+		client = CommonDataServiceRestClientImpl.getInstance(url, env.getProperty("security.user.name"),
+				env.getProperty("security.user.password"));
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	/**
+	 * @param index
+	 *            Peer number
+	 * @return Name of a peer created during setup
+	 */
+	public static String getPeerName(int index) {
+		return "peer" + index;
+	}
+
+	/**
+	 * @return Words used in generated solutions, suitable as search keywords
+	 */
+	public static List<String> getVocabulary() {
+		return CatalogGenerator.getVocabulary();
+	}
+
+	public SolutionSearchService getSolutionSearchService() {
+		return context.getBean(SolutionSearchService.class);
+	}
+
+	public UserSearchService getUserSearchService() {
+		return context.getBean(UserSearchService.class);
+	}
+
+	public PeerSearchService getPeerSearchService() {
+		return context.getBean(PeerSearchService.class);
+	}
+
+	public ICommonDataServiceRestClient getClient() {
+		return client;
+	}
+
+	/**
+	 * @return IDs of up to 1000 solutions
+	 */
+	public List<String> getSolutionIds() {
+		return solutionIds;
+	}
+
+	public List<String> getLoginNames() {
+		return loginNames;
+	}
+
+}
@@ -0,0 +1,73 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.acumos.cds.AccessTypeCode;
+import org.acumos.cds.domain.MLPSolution;
+import org.acumos.cds.transport.RestPageRequest;
+import org.acumos.cds.transport.RestPageResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures complete round trips through the REST client, the embedded servlet
+ * container, security, controllers, JPA and JSON serialization. Compare with
+ * {@link SearchBenchmark} to see how much time is spent outside the database.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class ControllerBenchmark {
+
+	private static final String[] ACCESS_TYPES = { AccessTypeCode.PB.name() };
+
+	private int counter;
+
+	@Benchmark
+	public RestPageResponse<MLPSolution> getSolutions(CatalogState state) {
+		return state.getClient().getSolutions(new RestPageRequest(counter++ % 10, 20));
+	}
+
+	@Benchmark
+	public RestPageResponse<MLPSolution> findPortalSolutionsByKw(CatalogState state) {
+		String[] keywords = { CatalogState.getVocabulary().get(counter++ % CatalogState.getVocabulary().size()) };
+		return state.getClient().findPortalSolutionsByKw(keywords, true, null, ACCESS_TYPES, null, null,
+				new RestPageRequest(0, 20));
+	}
+
+	@Benchmark
+	public MLPSolution getSolution(CatalogState state) {
+		return state.getClient().getSolution(state.getSolutionIds().get(counter++ % state.getSolutionIds().size()));
+	}
+
+}
@@ -0,0 +1,97 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.benchmark;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.acumos.cds.AccessTypeCode;
+import org.acumos.cds.domain.MLPPeer;
+import org.acumos.cds.domain.MLPSolution;
+import org.acumos.cds.domain.MLPUser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Measures the search services directly, without the HTTP stack, so the numbers
+ * reflect query construction, database time and entity hydration only. The
+ * keyword and login name vary per invocation to defeat caching in the database.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class SearchBenchmark {
+
+	private static final String[] ACCESS_TYPES = { AccessTypeCode.PB.name() };
+	private static final Pageable PAGE = new PageRequest(0, 20);
+
+	private int counter;
+
+	private String nextWord() {
+		return CatalogState.getVocabulary().get(counter++ % CatalogState.getVocabulary().size());
+	}
+
+	@Benchmark
+	public Page<MLPSolution> findPortalSolutions(CatalogState state) {
+		return state.getSolutionSearchService().findPortalSolutions(new String[] { nextWord() }, null, true, null,
+				null, ACCESS_TYPES, null, null, null, null, PAGE);
+	}
+
+	@Benchmark
+	public Page<MLPSolution> findPortalSolutionsByKw(CatalogState state) {
+		return state.getSolutionSearchService().findPortalSolutionsByKw(new String[] { nextWord() }, true, null,
+				null, ACCESS_TYPES, null, PAGE);
+	}
+
+	@Benchmark
+	public Page<MLPSolution> findSolutionsByName(CatalogState state) {
+		Map<String, String> query = Collections.singletonMap("name", nextWord());
+		return state.getSolutionSearchService().findSolutions(query, false, PAGE);
+	}
+
+	@Benchmark
+	public Page<MLPUser> findUsersByLoginName(CatalogState state) {
+		String loginName = state.getLoginNames().get(counter++ % state.getLoginNames().size());
+		Map<String, String> query = Collections.singletonMap("loginName", loginName);
+		return state.getUserSearchService().findUsers(query, false, PAGE);
+	}
+
+	@Benchmark
+	public Page<MLPPeer> findPeersByName(CatalogState state) {
+		Map<String, String> query = Collections.singletonMap("name", CatalogState.getPeerName(counter++ % CatalogState.PEERS));
+		return state.getPeerSearchService().findPeers(query, false, PAGE);
+	}
+
+}
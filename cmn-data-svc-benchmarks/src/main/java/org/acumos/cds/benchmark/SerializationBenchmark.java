@@ -0,0 +1,95 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.acumos.cds.domain.MLPSolution;
+import org.acumos.cds.domain.MLPTag;
+import org.acumos.cds.transport.RestPageResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Measures JSON conversion of a typical page of solutions, using an object
+ * mapper configured the same way Spring configures the one used by the
+ * controllers and the REST client.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+	private static final TypeReference<RestPageResponse<MLPSolution>> PAGE_TYPE = new TypeReference<RestPageResponse<MLPSolution>>() {
+	};
+
+	private ObjectMapper mapper;
+	private RestPageResponse<MLPSolution> page;
+	private byte[] json;
+
+	@Setup
+	public void setup() throws IOException {
+		mapper = Jackson2ObjectMapperBuilder.json().build();
+		List<MLPSolution> solutions = new ArrayList<>();
+		for (int i = 0; i < 20; ++i) {
+			MLPSolution solution = new MLPSolution("solution name " + i, UUID.randomUUID().toString(), true);
+			solution.setSolutionId(UUID.randomUUID().toString());
+			solution.setDescription("a description of moderate length for solution number " + i);
+			solution.setModelTypeCode("CL");
+			solution.setToolkitTypeCode("SK");
+			solution.getTags().add(new MLPTag("tag" + i));
+			solutions.add(solution);
+		}
+		page = new RestPageResponse<>(solutions, new PageRequest(0, 20), 1000);
+		json = mapper.writeValueAsBytes(page);
+	}
+
+	@Benchmark
+	public byte[] serializePage() throws IOException {
+		return mapper.writeValueAsBytes(page);
+	}
+
+	@Benchmark
+	public RestPageResponse<MLPSolution> deserializePage() throws IOException {
+		return mapper.readValue(json, PAGE_TYPE);
+	}
+
+}
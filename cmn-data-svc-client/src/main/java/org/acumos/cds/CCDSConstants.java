@@ -26,6 +26,12 @@
 public interface CCDSConstants {
 
 	public static final String X_REQUEST_ID = "X-Request-ID";
+	public static final String X_SQL_COUNT = "X-SQL-Count";
+	public static final String X_SQL_MILLIS = "X-SQL-Millis";
+	public static final String X_SQL_ROWS = "X-SQL-Rows";
+
+	// Newline-delimited JSON, one object per line
+	public static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
 
 	public static final String JUNCTION_QUERY_PARAM = "_j";
 
@@ -35,9 +41,16 @@ public interface CCDSConstants {
 	// Metadata
 	public static final String HEALTHCHECK_PATH = "healthcheck";
 	public static final String VERSION_PATH = "version";
+	public static final String METRICS_PATH = "metrics";
+	public static final String POOL_PATH = "pool";
+	public static final String CACHE_PATH = "cache";
+	public static final String ENDPOINT_PATH = "endpoint";
+	public static final String SQL_PATH = "sql";
+	public static final String HIBERNATE_PATH = "hibernate";
 
 	// Entities
 	public static final String ARTIFACT_PATH = "artifact";
+	public static final String CHANGE_PATH = "change";
 	public static final String COMMENT_PATH = "comment";
 	public static final String COMPOSITE_PATH = "comp";
 	public static final String CONFIG_PATH = "config";
@@ -47,14 +60,17 @@ public interface CCDSConstants {
 	public static final String DESCRIPTION_PATH = "descr";
 	public static final String DOCUMENT_PATH = "document";
 	public static final String DOWNLOAD_PATH = "dnld";
+	public static final String EXPORT_PATH = "export";
 	public static final String FAVORITE_PATH = "favorite";
 	public static final String FUNCTION_PATH = "function";
 	public static final String GROUP_PATH = "group";
 	public static final String KEYWORD_PATH = "kw";
 	public static final String KW_TAG_PATH = "kwtag";
+	public static final String FACET_PATH = "facet";
 	public static final String NOTIFICATION_PATH = "notif";
 	public static final String NOTIFICATION_PREF_PATH = "notifpref";
 	public static final String PEER_PATH = "peer";
+	public static final String PICTURE_PATH = "pic";
 	public static final String PUBLISH_REQUEST_PATH = "pubreq";
 	public static final String RATING_PATH = "rating";
 	public static final String REVISION_PATH = "revision";
@@ -87,6 +103,10 @@ public interface CCDSConstants {
 	public static final String MSG_SEV_PATH = "msgsev";
 	// Actions on entities
 	public static final String LIKE_PATH = "like";
+	public static final String SEEK_PATH = "seek";
+	public static final String TOKEN_PATH = "token";
+	public static final String CURSOR_PATH = "cursor";
+	public static final String LIMIT_PATH = "limit";
 	public static final String SEARCH_PATH = "search";
 	public static final String PORTAL_PATH = "portal";
 	public static final String TERM_PATH = "term";
@@ -94,6 +114,13 @@ public interface CCDSConstants {
 	public static final String LOGIN_API_PATH = "loginapi";
 	public static final String VERIFY_PATH = "verify";
 	public static final String CHPASS_PATH = "chgpw";
+	public static final String BATCH_PATH = "batch";
+	public static final String IDS_PATH = "ids";
+	public static final String DELETE_PATH = "delete";
+	public static final String AUDIENCE_PATH = "audience";
+	public static final String UNREAD_PATH = "unread";
+	public static final String VIEWED_PATH = "viewed";
+	public static final String TREE_PATH = "tree";
 
 	// Actions on datasets
 	public static final String DATASET_PATH = "dataset";
@@ -109,6 +136,7 @@ public interface CCDSConstants {
 	public static final String SEARCH_TAGS = "tag";
 	public static final String SEARCH_ALL_TAGS = "alltag";
 	public static final String SEARCH_ANY_TAGS = "anytag";
+	public static final String SEARCH_NO_TAGS = "notag";
 	public static final String SEARCH_VAL_STATUSES = "vsc";
 	public static final String SEARCH_DATE = "datems";
 	public static final String SEARCH_AUTH = "auth";
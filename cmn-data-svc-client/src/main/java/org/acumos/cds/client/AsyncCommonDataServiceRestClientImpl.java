@@ -0,0 +1,1628 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.client;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandles;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.acumos.cds.CodeNameType;
+import org.acumos.cds.domain.MLPAccessType;
+import org.acumos.cds.domain.MLPArtifact;
+import org.acumos.cds.domain.MLPArtifactType;
+import org.acumos.cds.domain.MLPCodeNamePair;
+import org.acumos.cds.domain.MLPComment;
+import org.acumos.cds.domain.MLPDeploymentStatus;
+import org.acumos.cds.domain.MLPDocument;
+import org.acumos.cds.domain.MLPLoginProvider;
+import org.acumos.cds.domain.MLPModelType;
+import org.acumos.cds.domain.MLPNotification;
+import org.acumos.cds.domain.MLPPasswordChangeRequest;
+import org.acumos.cds.domain.MLPPeer;
+import org.acumos.cds.domain.MLPPeerGroup;
+import org.acumos.cds.domain.MLPPeerSolAccMap;
+import org.acumos.cds.domain.MLPPeerSubscription;
+import org.acumos.cds.domain.MLPPublishRequest;
+import org.acumos.cds.domain.MLPRevisionDescription;
+import org.acumos.cds.domain.MLPRole;
+import org.acumos.cds.domain.MLPRoleFunction;
+import org.acumos.cds.domain.MLPSiteConfig;
+import org.acumos.cds.domain.MLPSolution;
+import org.acumos.cds.domain.MLPSolutionDeployment;
+import org.acumos.cds.domain.MLPSolutionDownload;
+import org.acumos.cds.domain.MLPSolutionFavorite;
+import org.acumos.cds.domain.MLPSolutionGroup;
+import org.acumos.cds.domain.MLPSolutionRating;
+import org.acumos.cds.domain.MLPSolutionRevision;
+import org.acumos.cds.domain.MLPSolutionValidation;
+import org.acumos.cds.domain.MLPSolutionWeb;
+import org.acumos.cds.domain.MLPStepResult;
+import org.acumos.cds.domain.MLPStepStatus;
+import org.acumos.cds.domain.MLPStepType;
+import org.acumos.cds.domain.MLPTag;
+import org.acumos.cds.domain.MLPThread;
+import org.acumos.cds.domain.MLPToolkitType;
+import org.acumos.cds.domain.MLPUser;
+import org.acumos.cds.domain.MLPUserLoginProvider;
+import org.acumos.cds.domain.MLPUserNotifPref;
+import org.acumos.cds.domain.MLPUserNotification;
+import org.acumos.cds.domain.MLPValidationSequence;
+import org.acumos.cds.domain.MLPValidationStatus;
+import org.acumos.cds.domain.MLPValidationType;
+import org.acumos.cds.transport.BatchResultTransport;
+import org.acumos.cds.transport.ChangeFeedTransport;
+import org.acumos.cds.transport.DeleteCountsTransport;
+import org.acumos.cds.transport.FacetCountsTransport;
+import org.acumos.cds.transport.NotificationAudienceRequest;
+import org.acumos.cds.transport.RestPageRequest;
+import org.acumos.cds.transport.RestPageResponse;
+import org.acumos.cds.transport.SuccessTransport;
+import org.acumos.cds.transport.ThreadTreeTransport;
+import org.apache.http.pool.PoolStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <P>
+ * Provides asynchronous access to the Common Data Service API. Each call is
+ * delegated to a synchronous {@link ICommonDataServiceRestClient} on a worker
+ * thread, so the calling thread never waits for the network. The number of
+ * calls in flight is bounded by the number of workers; additional calls wait
+ * in a queue. A call that does not finish within the configured timeout,
+ * including time spent in the queue, completes with a
+ * {@link TimeoutException}; its HTTP request is aborted, which closes the
+ * connection and frees the worker even during a blocking read. Aborting needs
+ * a synchronous client created by one of the getInstance methods; a client
+ * with a caller-supplied template is only interrupted, which does not end a
+ * read, so its socket timeout bounds how long the worker stays busy.
+ * </P>
+ * 
+ * <P>
+ * Clients should use one of the getInstance methods; e.g.,
+ * {@link #getInstance(String, String, String)}. The HTTP connection pool of the
+ * synchronous client should allow at least as many connections as calls in
+ * flight, which the defaults of {@link CommonDataServiceRestClientConfig}
+ * ensure.
+ * </P>
+ */
+@SuppressWarnings("deprecation")
+public class AsyncCommonDataServiceRestClientImpl implements IAsyncCommonDataServiceRestClient {
+
+	private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+	// Shared by all instances; only counts down timeouts
+	private static final ScheduledExecutorService timer = createTimer();
+
+	private final ICommonDataServiceRestClient client;
+	private final ExecutorService executor;
+	private final long callTimeoutMillis;
+
+	private static ScheduledExecutorService createTimer() {
+		ScheduledThreadPoolExecutor stpe = new ScheduledThreadPoolExecutor(1, daemonThreadFactory("cds-async-timer"));
+		// Cancelled timers are the normal case, don't let them pile up
+		stpe.setRemoveOnCancelPolicy(true);
+		return stpe;
+	}
+
+	private static ThreadFactory daemonThreadFactory(final String prefix) {
+		final AtomicInteger count = new AtomicInteger();
+		return runnable -> {
+			Thread thread = new Thread(runnable, prefix + "-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+	/**
+	 * Creates an instance that runs calls on the specified synchronous client.
+	 * 
+	 * Clients should use the static method
+	 * {@link #getInstance(ICommonDataServiceRestClient, int, long)} instead of
+	 * this constructor.
+	 * 
+	 * @param client
+	 *            Synchronous client that sends the requests; must be safe for
+	 *            use by many threads
+	 * @param maxCallsInFlight
+	 *            Maximum number of calls running at once
+	 * @param callTimeoutMillis
+	 *            Time after which a call fails; 0 means no limit
+	 */
+	public AsyncCommonDataServiceRestClientImpl(final ICommonDataServiceRestClient client,
+			final int maxCallsInFlight, final long callTimeoutMillis) {
+		if (client == null)
+			throw new IllegalArgumentException("Null client not permitted");
+		if (maxCallsInFlight < 1 || callTimeoutMillis < 0)
+			throw new IllegalArgumentException("Invalid limits: " + maxCallsInFlight + ", " + callTimeoutMillis);
+		this.client = client;
+		this.callTimeoutMillis = callTimeoutMillis;
+		// Idle workers exit, so an unused instance holds no threads
+		ThreadPoolExecutor tpe = new ThreadPoolExecutor(maxCallsInFlight, maxCallsInFlight, 60, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(), daemonThreadFactory("cds-async"));
+		tpe.allowCoreThreadTimeOut(true);
+		this.executor = tpe;
+	}
+
+	/**
+	 * Gets an instance to access a remote endpoint using the specified URL and
+	 * credentials with default limits. This factory method should be used
+	 * instead of a constructor.
+	 * 
+	 * @param webapiUrl
+	 *            URL of the web endpoint with host and port
+	 * @param user
+	 *            user name; ignored if null
+	 * @param pass
+	 *            password; ignored if null
+	 * @return Instance of IAsyncCommonDataServiceRestClient
+	 */
+	public static IAsyncCommonDataServiceRestClient getInstance(String webapiUrl, String user, String pass) {
+		return getInstance(webapiUrl, user, pass, null, new CommonDataServiceRestClientConfig());
+	}
+
+	/**
+	 * Gets an instance to access a remote endpoint using the specified URL,
+	 * credentials, proxy, connection pool settings and call limits. This factory
+	 * method should be used instead of a constructor.
+	 * 
+	 * @param webapiUrl
+	 *            URL of the web endpoint with host and port
+	 * @param user
+	 *            user name; ignored if null
+	 * @param pass
+	 *            password; ignored if null
+	 * @param proxyUrl
+	 *            URL of the proxy with hostname and port; ignored if null
+	 * @param config
+	 *            Connection pool settings and call limits
+	 * @return Instance of IAsyncCommonDataServiceRestClient
+	 */
+	public static IAsyncCommonDataServiceRestClient getInstance(String webapiUrl, String user, String pass,
+			String proxyUrl, CommonDataServiceRestClientConfig config) {
+		ICommonDataServiceRestClient client = CommonDataServiceRestClientImpl.getInstance(webapiUrl, user, pass,
+				proxyUrl, config);
+		return new AsyncCommonDataServiceRestClientImpl(client, config.getMaxCallsInFlight(),
+				config.getCallTimeoutMillis());
+	}
+
+	/**
+	 * Gets an instance that runs calls on the specified synchronous client. This
+	 * factory method should be used instead of a constructor.
+	 * 
+	 * @param client
+	 *            Synchronous client that sends the requests
+	 * @param maxCallsInFlight
+	 *            Maximum number of calls running at once
+	 * @param callTimeoutMillis
+	 *            Time after which a call fails; 0 means no limit
+	 * @return Instance of IAsyncCommonDataServiceRestClient
+	 */
+	public static IAsyncCommonDataServiceRestClient getInstance(ICommonDataServiceRestClient client,
+			int maxCallsInFlight, long callTimeoutMillis) {
+		return new AsyncCommonDataServiceRestClientImpl(client, maxCallsInFlight, callTimeoutMillis);
+	}
+
+	/**
+	 * Privileged access for subclasses.
+	 * 
+	 * @return Synchronous client that sends the requests
+	 */
+	protected ICommonDataServiceRestClient getClient() {
+		return client;
+	}
+
+	/**
+	 * Runs the call on a worker thread and arranges for the result to time out.
+	 * 
+	 * @param call
+	 *            Invocation of the synchronous client
+	 * @param <T>
+	 *            Result type
+	 * @return Future that completes with the result of the call
+	 */
+	protected <T> CompletableFuture<T> submit(final Supplier<T> call) {
+		final CompletableFuture<T> result = new CompletableFuture<>();
+		final CallAbortHandle abortHandle = new CallAbortHandle();
+		final Future<?> task;
+		try {
+			task = executor.submit(() -> {
+				abortHandle.bind();
+				try {
+					result.complete(call.get());
+				} catch (Throwable t) {
+					result.completeExceptionally(t);
+				} finally {
+					abortHandle.unbind();
+				}
+			});
+		} catch (RejectedExecutionException ex) {
+			result.completeExceptionally(ex);
+			return result;
+		}
+		if (callTimeoutMillis > 0) {
+			final ScheduledFuture<?> timeout = timer.schedule(() -> {
+				if (result.completeExceptionally(
+						new TimeoutException("Call did not finish in " + callTimeoutMillis + " msec"))) {
+					logger.warn("submit: cancelling call after {} msec", callTimeoutMillis);
+					abortHandle.abort();
+					task.cancel(true);
+				}
+			}, callTimeoutMillis, TimeUnit.MILLISECONDS);
+			result.whenComplete((r, t) -> timeout.cancel(false));
+		}
+		return result;
+	}
+
+	/**
+	 * Runs a call without a result.
+	 * 
+	 * @param call
+	 *            Invocation of the synchronous client
+	 * @return Future that completes when the call is done
+	 */
+	protected CompletableFuture<Void> run(final Runnable call) {
+		return submit(() -> {
+			call.run();
+			return null;
+		});
+	}
+
+	@Override
+	public CompletableFuture<SuccessTransport> getHealth() {
+		return submit(() -> client.getHealth());
+	}
+
+	@Override
+	public CompletableFuture<SuccessTransport> getVersion() {
+		return submit(() -> client.getVersion());
+	}
+
+	@Override
+	public CompletableFuture<List<MLPAccessType>> getAccessTypes() {
+		return submit(() -> client.getAccessTypes());
+	}
+
+	@Override
+	public CompletableFuture<List<MLPArtifactType>> getArtifactTypes() {
+		return submit(() -> client.getArtifactTypes());
+	}
+
+	@Override
+	public CompletableFuture<List<MLPDeploymentStatus>> getDeploymentStatuses() {
+		return submit(() -> client.getDeploymentStatuses());
+	}
+
+	@Override
+	public CompletableFuture<List<MLPLoginProvider>> getLoginProviders() {
+		return submit(() -> client.getLoginProviders());
+	}
+
+	@Override
+	public CompletableFuture<List<MLPModelType>> getModelTypes() {
+		return submit(() -> client.getModelTypes());
+	}
+
+	@Override
+	public CompletableFuture<List<MLPStepStatus>> getStepStatuses() {
+		return submit(() -> client.getStepStatuses());
+	}
+
+	@Override
+	public CompletableFuture<List<MLPStepType>> getStepTypes() {
+		return submit(() -> client.getStepTypes());
+	}
+
+	@Override
+	public CompletableFuture<List<MLPToolkitType>> getToolkitTypes() {
+		return submit(() -> client.getToolkitTypes());
+	}
+
+	@Override
+	public CompletableFuture<List<MLPValidationStatus>> getValidationStatuses() {
+		return submit(() -> client.getValidationStatuses());
+	}
+
+	@Override
+	public CompletableFuture<List<MLPValidationType>> getValidationTypes() {
+		return submit(() -> client.getValidationTypes());
+	}
+
+	@Override
+	public CompletableFuture<List<String>> getValueSetNames() {
+		return submit(() -> client.getValueSetNames());
+	}
+
+	@Override
+	public CompletableFuture<List<MLPCodeNamePair>> getCodeNamePairs(CodeNameType valueSetName) {
+		return submit(() -> client.getCodeNamePairs(valueSetName));
+	}
+
+	@Override
+	public CompletableFuture<Long> getSolutionCount() {
+		return submit(() -> client.getSolutionCount());
+	}
+
+	@Override
+	public CompletableFuture<RestPageResponse<MLPSolution>> getSolutions(RestPageRequest pageRequest) {
+		return submit(() -> client.getSolutions(pageRequest));
+	}
+
+	@Override
+	public CompletableFuture<RestPageResponse<MLPSolution>> seekSolutions(String token, RestPageRequest pageRequest) {
+		return submit(() -> client.seekSolutions(token, pageRequest));
+	}
+
+	@Override
+	public CompletableFuture<RestPageResponse<MLPSolution>> findSolutionsBySearchTerm(String searchTerm,
+			RestPageRequest pageRequest) {
+		return submit(() -> client.findSolutionsBySearchTerm(searchTerm, pageRequest));
+	}
+
+	@Override
+	public CompletableFuture<RestPageResponse<MLPSolution>> findSolutionsByTag(String tag,
+			RestPageRequest pageRequest) {
+		return submit(() -> client.findSolutionsByTag(tag, pageRequest));
+	}
+
+	@Override
+	public CompletableFuture<RestPageResponse<MLPSolution>> findSolutionsByDate(boolean active,
+			String[] accessTypeCodes, String[] validationStatusCodes, Date date, RestPageRequest pageRequest) {
+		return submit(() -> client.findSolutionsByDate(active, accessTypeCodes, validationStatusCodes, date,
+				pageRequest));
+	}
+
+	@Override
+	public CompletableFuture<ChangeFeedTransport> getSolutionChanges(long cursor, int limit,
+			String[] accessTypeCodes, String[] validationStatusCodes) {
+		return submit(() -> client.getSolutionChanges(cursor, limit, accessTypeCodes, validationStatusCodes));
+	}
+
+	@Override
+	public CompletableFuture<RestPageResponse<MLPSolution>> findPortalSolutions(String[] nameKeywords,
+			String[] descriptionKeywords, boolean active, String[] userIds, String[] accessTypeCodes,
+			String[] modelTypeCodes, String[] validationStatusCodes, String[] tags, String[] authorKeywords,
+			String[] publisherKeywords, RestPageRequest pageRequest) {
+		return submit(() -> client.findPortalSolutions(nameKeywords, descriptionKeywords, active, userIds,
+				accessTypeCodes, modelTypeCodes, validationStatusCodes, tags, authorKeywords, publisherKeywords,
+				pageRequest));
+	}
+
+	@Override
+	public CompletableFuture<RestPageResponse<MLPSolution>> findPortalSolutionsByKw(String[] keywords, boolean active,
+			String[] userIds, String[] accessTypeCodes, String[] modelTypeCodes, String[] tags,
+			RestPageRequest pageRequest) {
+		return submit(() -> client.findPortalSolutionsByKw(keywords, active, userIds, accessTypeCodes, modelTypeCodes,
+				tags, pageRequest));
+	}
+
+	@Override
+	public CompletableFuture<RestPageResponse<MLPSolution>> findPortalSolutionsByKwAndTags(String[] keywords,
+			boolean active, String[] userIds, String[] accessTypeCodes, String[] modelTypeCodes, String[] allTags,
+			String[] anyTags, RestPageRequest pageRequest) {
+		return submit(() -> client.findPortalSolutionsByKwAndTags(keywords, active, userIds, accessTypeCodes,
+				modelTypeCodes, allTags, anyTags, pageRequest));
+	}
+
+	@Override
+	public CompletableFuture<FacetCountsTransport> getPortalSolutionFacetCounts(String[] keywords, Boolean active,
+			String[] accessTypeCodes, String[] modelTypeCodes, String[] validationStatusCodes, String[] allTags,
+			String[] anyTags, String[] noTags) {
+		return submit(() -> client.getPortalSolutionFacetCounts(keywords, active, accessTypeCodes, modelTypeCodes,
+				validationStatusCodes, allTags, anyTags, noTags));
+	}
+
+	@Override
+	public CompletableFuture<RestPageResponse<MLPSolution>> findUserSolutions(String[] nameKeywords,
+			String[] descriptionKeywords, boolean active, String userId, String[] accessTypeCodes,
+			String[] modelTypeCodes, String[] validationStatusCodes, String[] tags, RestPageRequest pageRequest) {
+		return submit(() -> client.findUserSolutions(nameKeywords, descriptionKeywords, active, userId,
+				accessTypeCodes, modelTypeCodes, validationStatusCodes, tags, pageRequest));
+	}
+
+	@Override
+	public CompletableFuture<RestPageResponse<MLPSolution>> searchSolutions(Map<String, Object> queryParameters,
+			boolean isOr, RestPageRequest pageRequest) {
+		return submit(() -> client.searchSolutions(queryParameters, isOr, pageRequest));
+	}
+
+	@Override
+	public CompletableFuture<MLPSolution> getSolution(String solutionId) {
+		return submit(() -> client.getSolution(solutionId));
+	}
+
+	@Override
+	public CompletableFuture<List<MLPSolution>> getSolutionsByIds(List<String> solutionIds) {
+		return submit(() -> client.getSolutionsByIds(solutionIds));
+	}
+
+	@Override
+	public CompletableFuture<MLPSolution> createSolution(MLPSolution solution) {
+		return submit(() -> client.createSolution(solution));
+	}
+
+	@Override
+	public CompletableFuture<Void> updateSolution(MLPSolution solution) {
+		return run(() -> client.updateSolution(solution));
+	}
+
+	@Override
+	public CompletableFuture<Void> incrementSolutionViewCount(String solutionId) {
+		return run(() -> client.incrementSolutionViewCount(solutionId));
+	}
+
+	@Override
+	public CompletableFuture<Void> deleteSolution(String solutionId) {
+		return run(() -> client.deleteSolution(solutionId));
+	}
+
+	@Override
+	public CompletableFuture<DeleteCountsTransport> deleteSolutions(List<String> solutionIds) {
+		return submit(() -> client.deleteSolutions(solutionIds));
+	}
+
+	@Override
+	public CompletableFuture<String> getSolutionPicture(String solutionId, OutputStream out) {
+		return submit(() -> client.getSolutionPicture(solutionId, out));
+	}
+
+	@Override
+	public CompletableFuture<byte[]> getSolutionPicture(String solutionId) {
+		return submit(() -> client.getSolutionPicture(solutionId));
+	}
+
+	@Override
+	public CompletableFuture<Void> saveSolutionPicture(String solutionId, String contentType, InputStream picture) {
+		return run(() -> client.saveSolutionPicture(solutionId, contentType, picture));
+	}
+
+	@Override
+	public CompletableFuture<Void> deleteSolutionPicture(String solutionId) {
+		return run(() -> client.deleteSolutionPicture(solutionId));
+	}
+
+	@Override
+	public CompletableFuture<List<MLPSolutionRevision>> getSolutionRevisions(String solutionId) {
+		return submit(() -> client.getSolutionRevisions(solutionId));
+	}
+
+	@Override
+	public CompletableFuture<List<MLPSolutionRevision>> getSolutionRevisions(String[] solutionIds) {
+		return submit(() -> client.getSolutionRevisions(solutionIds));
+	}
+
+	@Override
+	public CompletableFuture<MLPSolutionRevision> getSolutionRevision(String solutionId, String revisionId) {
+		return submit(() -> client.getSolutionRevision(solutionId, revisionId));
+	}
+
+	@Override
+	public CompletableFuture<List<MLPSolutionRevision>> getSolutionRevisionsByIds(List<String> revisionIds) {
+		return submit(() -> client.getSolutionRevisionsByIds(revisionIds));
+	}
+
+	@Override
+	public CompletableFuture<List<MLPSolutionRevision>> getSolutionRevisionsForArtifact(String artifactId) {
+		return submit(() -> client.getSolutionRevisionsForArtifact(artifactId));
+	}
+
+	@Override
+	public CompletableFuture<MLPSolutionRevision> createSolutionRevision(MLPSolutionRevision revision) {
+		return submit(() -> client.createSolutionRevision(revision));
+	}
+
+	@Override
+	public CompletableFuture<Void> updateSolutionRevision(MLPSolutionRevision revision) {
+		return run(() -> client.updateSolutionRevision(revision));
+	}
+
+	@Override
+	public CompletableFuture<Void> deleteSolutionRevision(String solutionId, String revisionId) {
+		return run(() -> client.deleteSolutionRevision(solutionId, revisionId));
+	}
+
+	@Override
+	public CompletableFuture<List<MLPArtifact>> getSolutionRevisionArtifacts(String solutionId, String revisionId) {
+		return submit(() -> client.getSolutionRevisionArtifacts(solutionId, revisionId));
+	}
+
+	@Override
+	public CompletableFuture<Void> addSolutionRevisionArtifact(String solutionId, String revisionId,
+			String artifactId) {
+		return run(() -> client.addSolutionRevisionArtifact(solutionId, revisionId, artifactId));
+	}
+
+	@Override
+	public CompletableFuture<Void> dropSolutionRevisionArtifact(String solutionId, String revisionId,
+			String artifactId) {
+		return run(() -> client.dropSolutionRevisionArtifact(solutionId, revisionId, artifactId));
+	}
+
+	@Override
+	public CompletableFuture<BatchResultTransport> addSolutionRevisionArtifacts(String revisionId,
+			List<String> artifactIds) {
+		return submit(() -> client.addSolutionRevisionArtifacts(revisionId, artifactIds));
+	}
+
+	@Override
+	public CompletableFuture<BatchResultTransport> dropSolutionRevisionArtifacts(String revisionId,
+			List<String> artifactIds) {
+		return submit(() -> client.dropSolutionRevisionArtifacts(revisionId, artifactIds));
+	}
+
+	@Override
+	public CompletableFuture<RestPageResponse<MLPTag>> getTags(RestPageRequest pageRequest) {
+		return submit(() -> client.getTags(pageRequest));
+	}
+
+	@Override
+	public CompletableFuture<MLPTag> createTag(MLPTag tag) {
+		return submit(() -> client.createTag(tag));
+	}
+
+	@Override
+	public CompletableFuture<Void> deleteTag(MLPTag tag) {
+		return run(() -> client.deleteTag(tag));
+	}
+
+	@Override
+	public CompletableFuture<List<MLPTag>> getSolutionTags(String solutionId) {
+		return submit(() -> client.getSolutionTags(solutionId));
+	}
+
+	@Override
+	public CompletableFuture<Void> addSolutionTag(String solutionId, String tag) {
+		return run(() -> client.addSolutionTag(solutionId, tag));
+	}
+
+	@Override
+	public CompletableFuture<Void> dropSolutionTag(String solutionId, String tag) {
+		return run(() -> client.dropSolutionTag(solutionId, tag));
+	}
+
+	@Override
+	public CompletableFuture<BatchResultTransport> addSolutionTags(String solutionId, List<String> tags) {
+		return submit(() -> client.addSolutionTags(solutionId, tags));
+	}
+
+	@Override
+	public CompletableFuture<BatchResultTransport> dropSolutionTags(String solutionId, List<String> tags) {
+		return submit(() -> client.dropSolutionTags(solutionId, tags));
+	}
+
+	@Override
+	public CompletableFuture<Long> getArtifactCount() {
+		return submit(() -> client.getArtifactCount());
+	}
+
+	@Override
+	public CompletableFuture<RestPageResponse<MLPArtifact>> getArtifacts(RestPageRequest pageRequest) {
+		return submit(() -> client.getArtifacts(pageRequest));
+	}
+
+	@Override
+	public CompletableFuture<RestPageResponse<MLPArtifact>> seekArtifacts(String token, RestPageRequest pageRequest) {
+		return submit(() -> client.seekArtifacts(token, pageRequest));
+	}
+
+	@Override
+	public CompletableFuture<RestPageResponse<MLPArtifact>> findArtifactsBySearchTerm(String searchTerm,
+			RestPageRequest pageRequest) {
+		return submit(() -> client.findArtifactsBySearchTerm(searchTerm, pageRequest));
+	}
+
+	@Override
+	public CompletableFuture<RestPageResponse<MLPArtifact>> searchArtifacts(Map<String, Object> queryParameters,
+			boolean isOr, RestPageRequest pageRequest) {
+		return submit(() -> client.searchArtifacts(queryParameters, isOr, pageRequest));
+	}
+
+	@Override
+	public CompletableFuture<MLPArtifact> getArtifact(String artifactId) {
+		return submit(() -> client.getArtifact(artifactId));
+	}
+
+	@Override
+	public CompletableFuture<List<MLPArtifact>> getArtifactsByIds(List<String> artifactIds) {
+		return submit(() -> client.getArtifactsByIds(artifactIds));
+	}
+
+	@Override
+	public CompletableFuture<MLPArtifact> createArtifact(MLPArtifact artifact) {
+		return submit(() -> client.createArtifact(artifact));
+	}
+
+	@Override
+	public CompletableFuture<Void> updateArtifact(MLPArtifact artifact) {
+		return run(() -> client.updateArtifact(artifact));
+	}
+
+	@Override
+	public CompletableFuture<BatchResultTransport> createArtifacts(List<MLPArtifact> artifacts) {
+		return submit(() -> client.createArtifacts(artifacts));
+	}
+
+	@Override
+	public CompletableFuture<BatchResultTransport> updateArtifacts(List<MLPArtifact> artifacts) {
+		return submit(() -> client.updateArtifacts(artifacts));
+	}
+
+	@Override
+	public CompletableFuture<Void> deleteArtifact(String artifactId) {
+		return run(() -> client.deleteArtifact(artifactId));
+	}
+
+	@Override
+	public CompletableFuture<Long> getUserCount() {
+		return submit(() -> client.getUserCount());
+	}
+
+	@Override
+	public CompletableFuture<RestPageResponse<MLPUser>> getUsers(RestPageRequest pageRequest) {
+		return submit(() -> client.getUsers(pageRequest));
+	}
+
+	@Override
+	public CompletableFuture<RestPageResponse<MLPUser>> seekUsers(String token, RestPageRequest pageRequest) {
+		return submit(() -> client.seekUsers(token, pageRequest));
+	}
+
+	@Override
+	public CompletableFuture<RestPageResponse<MLPUser>> findUsersBySearchTerm(String searchTerm,
+			RestPageRequest pageRequest) {
+		return submit(() -> client.findUsersBySearchTerm(searchTerm, pageRequest));
+	}
+
+	@Override
+	public CompletableFuture<RestPageResponse<MLPUser>> searchUsers(Map<String, Object> queryParameters, boolean isOr,
+			RestPageRequest pageRequest) {
+		return submit(() -> client.searchUsers(queryParameters, isOr, pageRequest));
+	}
+
+	@Override
+	public CompletableFuture<MLPUser> loginUser(String name, String pass) {
+		return submit(() -> client.loginUser(name, pass));
+	}
+
+	@Override
+	public CompletableFuture<MLPUser> loginApiUser(String name, String apiToken) {
+		return submit(() -> client.loginApiUser(name, apiToken));
+	}
+
+	@Override
+	public CompletableFuture<MLPUser> verifyUser(String name, String verifyToken) {
+		return submit(() -> client.verifyUser(name, verifyToken));
+	}
+
+	@Override
+	public CompletableFuture<MLPUser> getUser(String userId) {
+		return submit(() -> client.getUser(userId));
+	}
+
+	@Override
+	public CompletableFuture<List<MLPUser>> getUsersByIds(List<String> userIds) {
+		return submit(() -> client.getUsersByIds(userIds));
+	}
+
+	@Override
+	public CompletableFuture<MLPUser> createUser(MLPUser user) {
+		return submit(() -> client.createUser(user));
+	}
+
+	@Override
+	public CompletableFuture<Void> updateUser(MLPUser user) {
+		return run(() -> client.updateUser(user));
+	}
+
+	@Override
+	public CompletableFuture<Void> deleteUser(String userId) {
+		return run(() -> client.deleteUser(userId));
+	}
+
+	@Override
+	public CompletableFuture<DeleteCountsTransport> deleteUsers(List<String> userIds) {
+		return submit(() -> client.deleteUsers(userIds));
+	}
+
+	@Override
+	public CompletableFuture<String> getUserPicture(String userId, OutputStream out) {
+		return submit(() -> client.getUserPicture(userId, out));
+	}
+
+	@Override
+	public CompletableFuture<byte[]> getUserPicture(String userId) {
+		return submit(() -> client.getUserPicture(userId));
+	}
+
+	@Override
+	public CompletableFuture<Void> saveUserPicture(String userId, String contentType, InputStream picture) {
+		return run(() -> client.saveUserPicture(userId, contentType, picture));
+	}
+
+	@Override
+	public CompletableFuture<Void> deleteUserPicture(String userId) {
+		return run(() -> client.deleteUserPicture(userId));
+	}
+
+	@Override
+	public CompletableFuture<List<MLPRole>> getUserRoles(String userId) {
+		return submit(() -> client.getUserRoles(userId));
+	}
+
+	@Override
+	public CompletableFuture<Void> addUserRole(String userId, String roleId) {
+		return run(() -> client.addUserRole(userId, roleId));
+	}
+
+	@Override
+	public CompletableFuture<Void> updateUserRoles(String userId, List<String> roleIds) {
+		return run(() -> client.updateUserRoles(userId, roleIds));
+	}
+
+	@Override
+	public CompletableFuture<Void> dropUserRole(String userId, String roleId) {
+		return run(() -> client.dropUserRole(userId, roleId));
+	}
+
+	@Override
+	public CompletableFuture<Void> addUsersInRole(List<String> userIds, String roleId) {
+		return run(() -> client.addUsersInRole(userIds, roleId));
+	}
+
+	@Override
+	public CompletableFuture<Void> dropUsersInRole(List<String> userIds, String roleId) {
+		return run(() -> client.dropUsersInRole(userIds, roleId));
+	}
+
+	@Override
+	public CompletableFuture<Long> getRoleUsersCount(String roleId) {
+		return submit(() -> client.getRoleUsersCount(roleId));
+	}
+
+	@Override
+	public CompletableFuture<MLPUserLoginProvider> getUserLoginProvider(String userId, String providerCode,
+			String providerLogin) {
+		return submit(() -> client.getUserLoginProvider(userId, providerCode, providerLogin));
+	}
+
+	@Override
+	public CompletableFuture<List<MLPUserLoginProvider>> getUserLoginProviders(String userId) {
+		return submit(() -> client.getUserLoginProviders(userId));
+	}
+
+	@Override
+	public CompletableFuture<MLPUserLoginProvider> createUserLoginProvider(MLPUserLoginProvider provider) {
+		return submit(() -> client.createUserLoginProvider(provider));
+	}
+
+	@Override
+	public CompletableFuture<Void> updateUserLoginProvider(MLPUserLoginProvider provider) {
+		return run(() -> client.updateUserLoginProvider(provider));
+	}
+
+	@Override
+	public CompletableFuture<Void> deleteUserLoginProvider(MLPUserLoginProvider provider) {
+		return run(() -> client.deleteUserLoginProvider(provider));
+	}
+
+	@Override
+	public CompletableFuture<Long> getRoleCount() {
+		return submit(() -> client.getRoleCount());
+	}
+
+	@Override
+	public CompletableFuture<RestPageResponse<MLPRole>> searchRoles(Map<String, Object> queryParameters, boolean isOr,
+			RestPageRequest pageRequest) {
+		return submit(() -> client.searchRoles(queryParameters, isOr, pageRequest));
+	}
+
+	@Override
+	public CompletableFuture<RestPageResponse<MLPRole>> getRoles(RestPageRequest pageRequest) {
+		return submit(() -> client.getRoles(pageRequest));
+	}
+
+	@Override
+	public CompletableFuture<MLPRole> getRole(String roleId) {
+		return submit(() -> client.getRole(roleId));
+	}
+
+	@Override
+	public CompletableFuture<MLPRole> createRole(MLPRole role) {
+		return submit(() -> client.createRole(role));
+	}
+
+	@Override
+	public CompletableFuture<Void> updateRole(MLPRole role) {
+		return run(() -> client.updateRole(role));
+	}
+
+	@Override
+	public CompletableFuture<Void> deleteRole(String roleId) {
+		return run(() -> client.deleteRole(roleId));
+	}
+
+	@Override
+	public CompletableFuture<List<MLPRoleFunction>> getRoleFunctions(String roleId) {
+		return submit(() -> client.getRoleFunctions(roleId));
+	}
+
+	@Override
+	public CompletableFuture<MLPRoleFunction> getRoleFunction(String roleId, String roleFunctionId) {
+		return submit(() -> client.getRoleFunction(roleId, roleFunctionId));
+	}
+
+	@Override
+	public CompletableFuture<MLPRoleFunction> createRoleFunction(MLPRoleFunction roleFunction) {
+		return submit(() -> client.createRoleFunction(roleFunction));
+	}
+
+	@Override
+	public CompletableFuture<Void> updateRoleFunction(MLPRoleFunction roleFunction) {
+		return run(() -> client.updateRoleFunction(roleFunction));
+	}
+
+	@Override
+	public CompletableFuture<Void> deleteRoleFunction(String roleId, String roleFunctionId) {
+		return run(() -> client.deleteRoleFunction(roleId, roleFunctionId));
+	}
+
+	@Override
+	public CompletableFuture<RestPageResponse<MLPPeer>> getPeers(RestPageRequest pageRequest) {
+		return submit(() -> client.getPeers(pageRequest));
+	}
+
+	@Override
+	public CompletableFuture<RestPageResponse<MLPPeer>> searchPeers(Map<String, Object> queryParameters, boolean isOr,
+			RestPageRequest pageRequest) {
+		return submit(() -> client.searchPeers(queryParameters, isOr, pageRequest));
+	}
+
+	@Override
+	public CompletableFuture<MLPPeer> getPeer(String peerId) {
+		return submit(() -> client.getPeer(peerId));
+	}
+
+	@Override
+	public CompletableFuture<MLPPeer> createPeer(MLPPeer peer) {
+		return submit(() -> client.createPeer(peer));
+	}
+
+	@Override
+	public CompletableFuture<Void> updatePeer(MLPPeer user) {
+		return run(() -> client.updatePeer(user));
+	}
+
+	@Override
+	public CompletableFuture<Void> deletePeer(String peerId) {
+		return run(() -> client.deletePeer(peerId));
+	}
+
+	@Override
+	public CompletableFuture<DeleteCountsTransport> deletePeers(List<String> peerIds) {
+		return submit(() -> client.deletePeers(peerIds));
+	}
+
+	@Override
+	public CompletableFuture<List<MLPPeerSubscription>> getPeerSubscriptions(String peerId) {
+		return submit(() -> client.getPeerSubscriptions(peerId));
+	}
+
+	@Override
+	public CompletableFuture<MLPPeerSubscription> getPeerSubscription(Long subscriptionId) {
+		return submit(() -> client.getPeerSubscription(subscriptionId));
+	}
+
+	@Override
+	public CompletableFuture<MLPPeerSubscription> createPeerSubscription(MLPPeerSubscription peerSub) {
+		return submit(() -> client.createPeerSubscription(peerSub));
+	}
+
+	@Override
+	public CompletableFuture<Void> updatePeerSubscription(MLPPeerSubscription peerSub) {
+		return run(() -> client.updatePeerSubscription(peerSub));
+	}
+
+	@Override
+	public CompletableFuture<Void> deletePeerSubscription(Long subscriptionId) {
+		return run(() -> client.deletePeerSubscription(subscriptionId));
+	}
+
+	@Override
+	public CompletableFuture<RestPageResponse<MLPSolutionDownload>> getSolutionDownloads(String solutionId,
+			RestPageRequest pageRequest) {
+		return submit(() -> client.getSolutionDownloads(solutionId, pageRequest));
+	}
+
+	@Override
+	public CompletableFuture<MLPSolutionDownload> createSolutionDownload(MLPSolutionDownload download) {
+		return submit(() -> client.createSolutionDownload(download));
+	}
+
+	@Override
+	public CompletableFuture<Void> deleteSolutionDownload(MLPSolutionDownload download) {
+		return run(() -> client.deleteSolutionDownload(download));
+	}
+
+	@Override
+	public CompletableFuture<RestPageResponse<MLPSolution>> getFavoriteSolutions(String userId,
+			RestPageRequest pageRequest) {
+		return submit(() -> client.getFavoriteSolutions(userId, pageRequest));
+	}
+
+	@Override
+	public CompletableFuture<MLPSolutionFavorite> createSolutionFavorite(MLPSolutionFavorite fs) {
+		return submit(() -> client.createSolutionFavorite(fs));
+	}
+
+	@Override
+	public CompletableFuture<Void> deleteSolutionFavorite(MLPSolutionFavorite fs) {
+		return run(() -> client.deleteSolutionFavorite(fs));
+	}
+
+	@Override
+	public CompletableFuture<RestPageResponse<MLPSolutionRating>> getSolutionRatings(String solutionId,
+			RestPageRequest pageRequest) {
+		return submit(() -> client.getSolutionRatings(solutionId, pageRequest));
+	}
+
+	@Override
+	public CompletableFuture<MLPSolutionRating> getSolutionRating(String solutionId, String userId) {
+		return submit(() -> client.getSolutionRating(solutionId, userId));
+	}
+
+	@Override
+	public CompletableFuture<MLPSolutionRating> createSolutionRating(MLPSolutionRating rating) {
+		return submit(() -> client.createSolutionRating(rating));
+	}
+
+	@Override
+	public CompletableFuture<Void> updateSolutionRating(MLPSolutionRating rating) {
+		return run(() -> client.updateSolutionRating(rating));
+	}
+
+	@Override
+	public CompletableFuture<Void> deleteSolutionRating(MLPSolutionRating rating) {
+		return run(() -> client.deleteSolutionRating(rating));
+	}
+
+	@Override
+	public CompletableFuture<Long> getNotificationCount() {
+		return submit(() -> client.getNotificationCount());
+	}
+
+	@Override
+	public CompletableFuture<RestPageResponse<MLPNotification>> getNotifications(RestPageRequest pageRequest) {
+		return submit(() -> client.getNotifications(pageRequest));
+	}
+
+	@Override
+	public CompletableFuture<MLPNotification> createNotification(MLPNotification notification) {
+		return submit(() -> client.createNotification(notification));
+	}
+
+	@Override
+	public CompletableFuture<Void> updateNotification(MLPNotification notification) {
+		return run(() -> client.updateNotification(notification));
+	}
+
+	@Override
+	public CompletableFuture<Void> deleteNotification(String notificationId) {
+		return run(() -> client.deleteNotification(notificationId));
+	}
+
+	@Override
+	public CompletableFuture<RestPageResponse<MLPUserNotification>> getUserNotifications(String userId,
+			RestPageRequest pageRequest) {
+		return submit(() -> client.getUserNotifications(userId, pageRequest));
+	}
+
+	@Override
+	public CompletableFuture<Void> addUserToNotification(String notificationId, String userId) {
+		return run(() -> client.addUserToNotification(notificationId, userId));
+	}
+
+	@Override
+	public CompletableFuture<Void> dropUserFromNotification(String notificationId, String userId) {
+		return run(() -> client.dropUserFromNotification(notificationId, userId));
+	}
+
+	@Override
+	public CompletableFuture<Void> setUserViewedNotification(String notificationId, String userId) {
+		return run(() -> client.setUserViewedNotification(notificationId, userId));
+	}
+
+	@Override
+	public CompletableFuture<Long> addUsersToNotification(String notificationId, NotificationAudienceRequest audience) {
+		return submit(() -> client.addUsersToNotification(notificationId, audience));
+	}
+
+	@Override
+	public CompletableFuture<Long> getUserUnreadNotificationCount(String userId) {
+		return submit(() -> client.getUserUnreadNotificationCount(userId));
+	}
+
+	@Override
+	public CompletableFuture<BatchResultTransport> setUserViewedNotifications(String userId, List<String> notificationIds) {
+		return submit(() -> client.setUserViewedNotifications(userId, notificationIds));
+	}
+
+	@Override
+	public CompletableFuture<MLPSolutionWeb> getSolutionWebMetadata(String solutionId) {
+		return submit(() -> client.getSolutionWebMetadata(solutionId));
+	}
+
+	@Override
+	public CompletableFuture<List<MLPUser>> getSolutionAccessUsers(String solutionId) {
+		return submit(() -> client.getSolutionAccessUsers(solutionId));
+	}
+
+	@Override
+	public CompletableFuture<RestPageResponse<MLPSolution>> getUserAccessSolutions(String userId,
+			RestPageRequest pageRequest) {
+		return submit(() -> client.getUserAccessSolutions(userId, pageRequest));
+	}
+
+	@Override
+	public CompletableFuture<Void> addSolutionUserAccess(String solutionId, String userId) {
+		return run(() -> client.addSolutionUserAccess(solutionId, userId));
+	}
+
+	@Override
+	public CompletableFuture<Void> dropSolutionUserAccess(String solutionId, String userId) {
+		return run(() -> client.dropSolutionUserAccess(solutionId, userId));
+	}
+
+	@Override
+	public CompletableFuture<BatchResultTransport> addSolutionUsersAccess(String solutionId, List<String> userIds) {
+		return submit(() -> client.addSolutionUsersAccess(solutionId, userIds));
+	}
+
+	@Override
+	public CompletableFuture<BatchResultTransport> dropSolutionUsersAccess(String solutionId, List<String> userIds) {
+		return submit(() -> client.dropSolutionUsersAccess(solutionId, userIds));
+	}
+
+	@Override
+	public CompletableFuture<Void> updatePassword(MLPUser user, MLPPasswordChangeRequest changeRequest) {
+		return run(() -> client.updatePassword(user, changeRequest));
+	}
+
+	@Override
+	public CompletableFuture<List<MLPSolutionValidation>> getSolutionValidations(String solutionId, String revisionId) {
+		return submit(() -> client.getSolutionValidations(solutionId, revisionId));
+	}
+
+	@Override
+	public CompletableFuture<MLPSolutionValidation> createSolutionValidation(MLPSolutionValidation validation) {
+		return submit(() -> client.createSolutionValidation(validation));
+	}
+
+	@Override
+	public CompletableFuture<Void> updateSolutionValidation(MLPSolutionValidation validation) {
+		return run(() -> client.updateSolutionValidation(validation));
+	}
+
+	@Override
+	public CompletableFuture<Void> deleteSolutionValidation(MLPSolutionValidation validation) {
+		return run(() -> client.deleteSolutionValidation(validation));
+	}
+
+	@Override
+	public CompletableFuture<List<MLPValidationSequence>> getValidationSequences() {
+		return submit(() -> client.getValidationSequences());
+	}
+
+	@Override
+	public CompletableFuture<MLPValidationSequence> createValidationSequence(MLPValidationSequence sequence) {
+		return submit(() -> client.createValidationSequence(sequence));
+	}
+
+	@Override
+	public CompletableFuture<Void> deleteValidationSequence(MLPValidationSequence sequence) {
+		return run(() -> client.deleteValidationSequence(sequence));
+	}
+
+	@Override
+	public CompletableFuture<RestPageResponse<MLPSolutionDeployment>> getUserDeployments(String userId,
+			RestPageRequest pageRequest) {
+		return submit(() -> client.getUserDeployments(userId, pageRequest));
+	}
+
+	@Override
+	public CompletableFuture<RestPageResponse<MLPSolutionDeployment>> getSolutionDeployments(String solutionId,
+			String revisionId, RestPageRequest pageRequest) {
+		return submit(() -> client.getSolutionDeployments(solutionId, revisionId, pageRequest));
+	}
+
+	@Override
+	public CompletableFuture<RestPageResponse<MLPSolutionDeployment>> getUserSolutionDeployments(String solutionId,
+			String revisionId, String userId, RestPageRequest pageRequest) {
+		return submit(() -> client.getUserSolutionDeployments(solutionId, revisionId, userId, pageRequest));
+	}
+
+	@Override
+	public CompletableFuture<MLPSolutionDeployment> createSolutionDeployment(MLPSolutionDeployment deployment) {
+		return submit(() -> client.createSolutionDeployment(deployment));
+	}
+
+	@Override
+	public CompletableFuture<Void> updateSolutionDeployment(MLPSolutionDeployment deployment) {
+		return run(() -> client.updateSolutionDeployment(deployment));
+	}
+
+	@Override
+	public CompletableFuture<Void> deleteSolutionDeployment(MLPSolutionDeployment deployment) {
+		return run(() -> client.deleteSolutionDeployment(deployment));
+	}
+
+	@Override
+	public CompletableFuture<MLPSiteConfig> getSiteConfig(String configKey) {
+		return submit(() -> client.getSiteConfig(configKey));
+	}
+
+	@Override
+	public CompletableFuture<MLPSiteConfig> createSiteConfig(MLPSiteConfig config) {
+		return submit(() -> client.createSiteConfig(config));
+	}
+
+	@Override
+	public CompletableFuture<Void> updateSiteConfig(MLPSiteConfig config) {
+		return run(() -> client.updateSiteConfig(config));
+	}
+
+	@Override
+	public CompletableFuture<Void> deleteSiteConfig(String configKey) {
+		return run(() -> client.deleteSiteConfig(configKey));
+	}
+
+	@Override
+	public CompletableFuture<Long> getThreadCount() {
+		return submit(() -> client.getThreadCount());
+	}
+
+	@Override
+	public CompletableFuture<RestPageResponse<MLPThread>> getThreads(RestPageRequest pageRequest) {
+		return submit(() -> client.getThreads(pageRequest));
+	}
+
+	@Override
+	public CompletableFuture<Long> getSolutionRevisionThreadCount(String solutionId, String revisionId) {
+		return submit(() -> client.getSolutionRevisionThreadCount(solutionId, revisionId));
+	}
+
+	@Override
+	public CompletableFuture<RestPageResponse<MLPThread>> getSolutionRevisionThreads(String solutionId,
+			String revisionId, RestPageRequest pageRequest) {
+		return submit(() -> client.getSolutionRevisionThreads(solutionId, revisionId, pageRequest));
+	}
+
+	@Override
+	public CompletableFuture<RestPageResponse<ThreadTreeTransport>> getSolutionRevisionThreadTrees(String solutionId,
+			String revisionId, RestPageRequest pageRequest) {
+		return submit(() -> client.getSolutionRevisionThreadTrees(solutionId, revisionId, pageRequest));
+	}
+
+	@Override
+	public CompletableFuture<MLPThread> getThread(String threadId) {
+		return submit(() -> client.getThread(threadId));
+	}
+
+	@Override
+	public CompletableFuture<MLPThread> createThread(MLPThread thread) {
+		return submit(() -> client.createThread(thread));
+	}
+
+	@Override
+	public CompletableFuture<Void> updateThread(MLPThread thread) {
+		return run(() -> client.updateThread(thread));
+	}
+
+	@Override
+	public CompletableFuture<Void> deleteThread(String threadId) {
+		return run(() -> client.deleteThread(threadId));
+	}
+
+	@Override
+	public CompletableFuture<Long> getThreadCommentCount(String threadId) {
+		return submit(() -> client.getThreadCommentCount(threadId));
+	}
+
+	@Override
+	public CompletableFuture<RestPageResponse<MLPComment>> getThreadComments(String threadId,
+			RestPageRequest pageRequest) {
+		return submit(() -> client.getThreadComments(threadId, pageRequest));
+	}
+
+	@Override
+	public CompletableFuture<Long> getSolutionRevisionCommentCount(String solutionId, String revisionId) {
+		return submit(() -> client.getSolutionRevisionCommentCount(solutionId, revisionId));
+	}
+
+	@Override
+	public CompletableFuture<RestPageResponse<MLPComment>> getSolutionRevisionComments(String solutionId,
+			String revisionId, RestPageRequest pageRequest) {
+		return submit(() -> client.getSolutionRevisionComments(solutionId, revisionId, pageRequest));
+	}
+
+	@Override
+	public CompletableFuture<MLPComment> getComment(String threadId, String commentId) {
+		return submit(() -> client.getComment(threadId, commentId));
+	}
+
+	@Override
+	public CompletableFuture<MLPComment> createComment(MLPComment comment) {
+		return submit(() -> client.createComment(comment));
+	}
+
+	@Override
+	public CompletableFuture<Void> updateComment(MLPComment comment) {
+		return run(() -> client.updateComment(comment));
+	}
+
+	@Override
+	public CompletableFuture<Void> deleteComment(String threadId, String commentId) {
+		return run(() -> client.deleteComment(threadId, commentId));
+	}
+
+	@Override
+	public CompletableFuture<MLPStepResult> getStepResult(long stepResultId) {
+		return submit(() -> client.getStepResult(stepResultId));
+	}
+
+	@Override
+	public CompletableFuture<RestPageResponse<MLPStepResult>> getStepResults(RestPageRequest pageRequest) {
+		return submit(() -> client.getStepResults(pageRequest));
+	}
+
+	@Override
+	public CompletableFuture<RestPageResponse<MLPStepResult>> seekStepResults(String token,
+			RestPageRequest pageRequest) {
+		return submit(() -> client.seekStepResults(token, pageRequest));
+	}
+
+	@Override
+	public CompletableFuture<RestPageResponse<MLPStepResult>> searchStepResults(Map<String, Object> queryParameters,
+			boolean isOr, RestPageRequest pageRequest) {
+		return submit(() -> client.searchStepResults(queryParameters, isOr, pageRequest));
+	}
+
+	@Override
+	public CompletableFuture<MLPStepResult> createStepResult(MLPStepResult stepResult) {
+		return submit(() -> client.createStepResult(stepResult));
+	}
+
+	@Override
+	public CompletableFuture<Void> updateStepResult(MLPStepResult stepResult) {
+		return run(() -> client.updateStepResult(stepResult));
+	}
+
+	@Override
+	public CompletableFuture<Void> deleteStepResult(Long stepResultId) {
+		return run(() -> client.deleteStepResult(stepResultId));
+	}
+
+	@Override
+	public CompletableFuture<RestPageResponse<MLPPeerGroup>> getPeerGroups(RestPageRequest pageRequest) {
+		return submit(() -> client.getPeerGroups(pageRequest));
+	}
+
+	@Override
+	public CompletableFuture<MLPPeerGroup> createPeerGroup(MLPPeerGroup peerGroup) {
+		return submit(() -> client.createPeerGroup(peerGroup));
+	}
+
+	@Override
+	public CompletableFuture<Void> updatePeerGroup(MLPPeerGroup peerGroup) {
+		return run(() -> client.updatePeerGroup(peerGroup));
+	}
+
+	@Override
+	public CompletableFuture<Void> deletePeerGroup(Long peerGroupId) {
+		return run(() -> client.deletePeerGroup(peerGroupId));
+	}
+
+	@Override
+	public CompletableFuture<RestPageResponse<MLPSolutionGroup>> getSolutionGroups(RestPageRequest pageRequest) {
+		return submit(() -> client.getSolutionGroups(pageRequest));
+	}
+
+	@Override
+	public CompletableFuture<MLPSolutionGroup> createSolutionGroup(MLPSolutionGroup solutionGroup) {
+		return submit(() -> client.createSolutionGroup(solutionGroup));
+	}
+
+	@Override
+	public CompletableFuture<Void> updateSolutionGroup(MLPSolutionGroup solutionGroup) {
+		return run(() -> client.updateSolutionGroup(solutionGroup));
+	}
+
+	@Override
+	public CompletableFuture<Void> deleteSolutionGroup(Long solutionGroupId) {
+		return run(() -> client.deleteSolutionGroup(solutionGroupId));
+	}
+
+	@Override
+	public CompletableFuture<RestPageResponse<MLPPeer>> getPeersInGroup(Long peerGroupId, RestPageRequest pageRequest) {
+		return submit(() -> client.getPeersInGroup(peerGroupId, pageRequest));
+	}
+
+	@Override
+	public CompletableFuture<Void> addPeerToGroup(String peerId, Long peerGroupId) {
+		return run(() -> client.addPeerToGroup(peerId, peerGroupId));
+	}
+
+	@Override
+	public CompletableFuture<Void> dropPeerFromGroup(String peerId, Long peerGroupId) {
+		return run(() -> client.dropPeerFromGroup(peerId, peerGroupId));
+	}
+
+	@Override
+	public CompletableFuture<BatchResultTransport> addPeersToGroup(List<String> peerIds, Long peerGroupId) {
+		return submit(() -> client.addPeersToGroup(peerIds, peerGroupId));
+	}
+
+	@Override
+	public CompletableFuture<BatchResultTransport> dropPeersFromGroup(List<String> peerIds, Long peerGroupId) {
+		return submit(() -> client.dropPeersFromGroup(peerIds, peerGroupId));
+	}
+
+	@Override
+	public CompletableFuture<RestPageResponse<MLPSolution>> getSolutionsInGroup(Long solutionGroupId,
+			RestPageRequest pageRequest) {
+		return submit(() -> client.getSolutionsInGroup(solutionGroupId, pageRequest));
+	}
+
+	@Override
+	public CompletableFuture<Void> addSolutionToGroup(String solutionId, Long solutionGroupId) {
+		return run(() -> client.addSolutionToGroup(solutionId, solutionGroupId));
+	}
+
+	@Override
+	public CompletableFuture<Void> dropSolutionFromGroup(String solutionId, Long solutionGroupId) {
+		return run(() -> client.dropSolutionFromGroup(solutionId, solutionGroupId));
+	}
+
+	@Override
+	public CompletableFuture<BatchResultTransport> addSolutionsToGroup(List<String> solutionIds, Long solutionGroupId) {
+		return submit(() -> client.addSolutionsToGroup(solutionIds, solutionGroupId));
+	}
+
+	@Override
+	public CompletableFuture<BatchResultTransport> dropSolutionsFromGroup(List<String> solutionIds, Long solutionGroupId) {
+		return submit(() -> client.dropSolutionsFromGroup(solutionIds, solutionGroupId));
+	}
+
+	@Override
+	public CompletableFuture<RestPageResponse<MLPPeerSolAccMap>> getPeerSolutionGroupMaps(RestPageRequest pageRequest) {
+		return submit(() -> client.getPeerSolutionGroupMaps(pageRequest));
+	}
+
+	@Override
+	public CompletableFuture<Void> mapPeerSolutionGroups(Long peerGroupId, Long solutionGroupId) {
+		return run(() -> client.mapPeerSolutionGroups(peerGroupId, solutionGroupId));
+	}
+
+	@Override
+	public CompletableFuture<Void> unmapPeerSolutionGroups(Long peerGroupId, Long solutionGroupId) {
+		return run(() -> client.unmapPeerSolutionGroups(peerGroupId, solutionGroupId));
+	}
+
+	@Override
+	public CompletableFuture<Void> mapPeerPeerGroups(Long principalGroupId, Long resourceGroupId) {
+		return run(() -> client.mapPeerPeerGroups(principalGroupId, resourceGroupId));
+	}
+
+	@Override
+	public CompletableFuture<Void> unmapPeerPeerGroups(Long principalGroupId, Long resourceGroupId) {
+		return run(() -> client.unmapPeerPeerGroups(principalGroupId, resourceGroupId));
+	}
+
+	@Override
+	public CompletableFuture<Long> checkRestrictedAccessSolution(String peerId, String solutionId) {
+		return submit(() -> client.checkRestrictedAccessSolution(peerId, solutionId));
+	}
+
+	@Override
+	public CompletableFuture<List<MLPPeer>> getPeerAccess(String peerId) {
+		return submit(() -> client.getPeerAccess(peerId));
+	}
+
+	@Override
+	public CompletableFuture<RestPageResponse<MLPSolution>> findRestrictedAccessSolutions(String peerId,
+			RestPageRequest pageRequest) {
+		return submit(() -> client.findRestrictedAccessSolutions(peerId, pageRequest));
+	}
+
+	@Override
+	public CompletableFuture<MLPUserNotifPref> createUserNotificationPreference(MLPUserNotifPref usrNotifPref) {
+		return submit(() -> client.createUserNotificationPreference(usrNotifPref));
+	}
+
+	@Override
+	public CompletableFuture<Void> updateUserNotificationPreference(MLPUserNotifPref usrNotifPref) {
+		return run(() -> client.updateUserNotificationPreference(usrNotifPref));
+	}
+
+	@Override
+	public CompletableFuture<Void> deleteUserNotificationPreference(Long userNotifPrefId) {
+		return run(() -> client.deleteUserNotificationPreference(userNotifPrefId));
+	}
+
+	@Override
+	public CompletableFuture<List<MLPUserNotifPref>> getUserNotificationPreferences(String userId) {
+		return submit(() -> client.getUserNotificationPreferences(userId));
+	}
+
+	@Override
+	public CompletableFuture<MLPUserNotifPref> getUserNotificationPreference(Long usrNotifPrefId) {
+		return submit(() -> client.getUserNotificationPreference(usrNotifPrefId));
+	}
+
+	@Override
+	public CompletableFuture<List<String>> getCompositeSolutionMembers(String parentId) {
+		return submit(() -> client.getCompositeSolutionMembers(parentId));
+	}
+
+	@Override
+	public CompletableFuture<Void> addCompositeSolutionMember(String parentId, String childId) {
+		return run(() -> client.addCompositeSolutionMember(parentId, childId));
+	}
+
+	@Override
+	public CompletableFuture<Void> dropCompositeSolutionMember(String parentId, String childId) {
+		return run(() -> client.dropCompositeSolutionMember(parentId, childId));
+	}
+
+	@Override
+	public CompletableFuture<MLPRevisionDescription> getRevisionDescription(String revisionId, String accessTypeCode) {
+		return submit(() -> client.getRevisionDescription(revisionId, accessTypeCode));
+	}
+
+	@Override
+	public CompletableFuture<MLPRevisionDescription> createRevisionDescription(MLPRevisionDescription description) {
+		return submit(() -> client.createRevisionDescription(description));
+	}
+
+	@Override
+	public CompletableFuture<Void> updateRevisionDescription(MLPRevisionDescription description) {
+		return run(() -> client.updateRevisionDescription(description));
+	}
+
+	@Override
+	public CompletableFuture<Void> deleteRevisionDescription(String revisionId, String accessTypeCode) {
+		return run(() -> client.deleteRevisionDescription(revisionId, accessTypeCode));
+	}
+
+	@Override
+	public CompletableFuture<MLPDocument> getDocument(String documentId) {
+		return submit(() -> client.getDocument(documentId));
+	}
+
+	@Override
+	public CompletableFuture<MLPDocument> createDocument(MLPDocument document) {
+		return submit(() -> client.createDocument(document));
+	}
+
+	@Override
+	public CompletableFuture<Void> updateDocument(MLPDocument document) {
+		return run(() -> client.updateDocument(document));
+	}
+
+	@Override
+	public CompletableFuture<Void> deleteDocument(String documentId) {
+		return run(() -> client.deleteDocument(documentId));
+	}
+
+	@Override
+	public CompletableFuture<List<MLPDocument>> getSolutionRevisionDocuments(String revisionId, String accessTypeCode) {
+		return submit(() -> client.getSolutionRevisionDocuments(revisionId, accessTypeCode));
+	}
+
+	@Override
+	public CompletableFuture<Void> addSolutionRevisionDocument(String revisionId, String accessTypeCode,
+			String documentId) {
+		return run(() -> client.addSolutionRevisionDocument(revisionId, accessTypeCode, documentId));
+	}
+
+	@Override
+	public CompletableFuture<Void> dropSolutionRevisionDocument(String revisionId, String accessTypeCode,
+			String documentId) {
+		return run(() -> client.dropSolutionRevisionDocument(revisionId, accessTypeCode, documentId));
+	}
+
+	@Override
+	public CompletableFuture<MLPPublishRequest> getPublishRequest(long requestId) {
+		return submit(() -> client.getPublishRequest(requestId));
+	}
+
+	@Override
+	public CompletableFuture<RestPageResponse<MLPPublishRequest>> getPublishRequests(RestPageRequest pageRequest) {
+		return submit(() -> client.getPublishRequests(pageRequest));
+	}
+
+	@Override
+	public CompletableFuture<RestPageResponse<MLPPublishRequest>> searchPublishRequests(Map<String,
+			Object> queryParameters, boolean isOr, RestPageRequest pageRequest) {
+		return submit(() -> client.searchPublishRequests(queryParameters, isOr, pageRequest));
+	}
+
+	@Override
+	public CompletableFuture<Boolean> isPublishRequestPending(String solutionId, String revisionId) {
+		return submit(() -> client.isPublishRequestPending(solutionId, revisionId));
+	}
+
+	@Override
+	public CompletableFuture<MLPPublishRequest> createPublishRequest(MLPPublishRequest publishRequest) {
+		return submit(() -> client.createPublishRequest(publishRequest));
+	}
+
+	@Override
+	public CompletableFuture<Void> updatePublishRequest(MLPPublishRequest publishRequest) {
+		return run(() -> client.updatePublishRequest(publishRequest));
+	}
+
+	@Override
+	public CompletableFuture<Void> deletePublishRequest(long publishRequestId) {
+		return run(() -> client.deletePublishRequest(publishRequestId));
+	}
+
+	@Override
+	public CompletableFuture<Void> addUserTag(String userId, String tag) {
+		return run(() -> client.addUserTag(userId, tag));
+	}
+
+	@Override
+	public CompletableFuture<Void> dropUserTag(String userId, String tag) {
+		return run(() -> client.dropUserTag(userId, tag));
+	}
+
+	@Override
+	public void setRequestId(String requestId) {
+		client.setRequestId(requestId);
+	}
+
+	@Override
+	public PoolStats getConnectionPoolStats() {
+		return client.getConnectionPoolStats();
+	}
+
+	@Override
+	public void close() {
+		executor.shutdown();
+	}
+
+}
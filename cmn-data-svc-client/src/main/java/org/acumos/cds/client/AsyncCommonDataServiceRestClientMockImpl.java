@@ -0,0 +1,77 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.client;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Provides a mock implementation of the asynchronous Common Data Service REST
+ * client. Delegates to a {@link CommonDataServiceRestClientMockImpl}, which
+ * accepts objects via setters for later return; every future is already
+ * complete when a method returns.
+ */
+public class AsyncCommonDataServiceRestClientMockImpl extends AsyncCommonDataServiceRestClientImpl {
+
+	private final CommonDataServiceRestClientMockImpl mock;
+
+	/**
+	 * Builds an instance with a new mock synchronous client.
+	 */
+	public AsyncCommonDataServiceRestClientMockImpl() {
+		this(new CommonDataServiceRestClientMockImpl());
+	}
+
+	/**
+	 * Builds an instance with the specified mock synchronous client.
+	 * 
+	 * @param mock
+	 *            Mock client that supplies the results
+	 */
+	public AsyncCommonDataServiceRestClientMockImpl(CommonDataServiceRestClientMockImpl mock) {
+		super(mock, 1, 0);
+		this.mock = mock;
+	}
+
+	/**
+	 * Gets the mock synchronous client, whose setters define the results.
+	 * 
+	 * @return Mock client
+	 */
+	public CommonDataServiceRestClientMockImpl getMock() {
+		return mock;
+	}
+
+	/**
+	 * Runs the call on the calling thread.
+	 */
+	@Override
+	protected <T> CompletableFuture<T> submit(final Supplier<T> call) {
+		CompletableFuture<T> result = new CompletableFuture<>();
+		try {
+			result.complete(call.get());
+		} catch (RuntimeException ex) {
+			result.completeExceptionally(ex);
+		}
+		return result;
+	}
+
+}
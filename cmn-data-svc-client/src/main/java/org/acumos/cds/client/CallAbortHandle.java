@@ -0,0 +1,87 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.client;
+
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.client.methods.HttpRequestWrapper;
+import org.apache.http.client.methods.HttpUriRequest;
+
+/**
+ * Lets one thread abort the HTTP request that a call is sending on another
+ * thread. Interrupting a thread does not end a blocking socket read, but
+ * aborting the request closes its connection, so the reading thread fails at
+ * once. A worker binds a handle while it runs a call; the
+ * {@link #INTERCEPTOR}, installed in the HTTP client, attaches each request
+ * sent on that thread to the handle. A request attached after the handle was
+ * aborted is aborted immediately.
+ */
+class CallAbortHandle {
+
+	private static final ThreadLocal<CallAbortHandle> current = new ThreadLocal<>();
+
+	/**
+	 * Attaches each request to the handle bound to the sending thread, if any.
+	 * HttpClient passes a wrapper to interceptors; the original request is the
+	 * one that can be aborted.
+	 */
+	static final HttpRequestInterceptor INTERCEPTOR = (request, context) -> {
+		CallAbortHandle handle = current.get();
+		if (handle != null && request instanceof HttpRequestWrapper) {
+			HttpRequest original = ((HttpRequestWrapper) request).getOriginal();
+			if (original instanceof HttpUriRequest)
+				handle.attach((HttpUriRequest) original);
+		}
+	};
+
+	private HttpUriRequest request;
+	private boolean aborted;
+
+	/**
+	 * Binds the handle to the current thread.
+	 */
+	void bind() {
+		current.set(this);
+	}
+
+	/**
+	 * Removes the handle from the current thread.
+	 */
+	void unbind() {
+		current.remove();
+	}
+
+	private synchronized void attach(HttpUriRequest request) {
+		this.request = request;
+		if (aborted)
+			request.abort();
+	}
+
+	/**
+	 * Aborts the request in progress and any request attached later.
+	 */
+	synchronized void abort() {
+		aborted = true;
+		if (request != null)
+			request.abort();
+	}
+
+}
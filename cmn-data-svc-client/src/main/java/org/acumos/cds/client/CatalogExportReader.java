@@ -0,0 +1,90 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.client;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.acumos.cds.transport.CatalogExportRecord;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Reads a catalog export one record at a time from newline-delimited JSON, so
+ * memory use does not depend on the size of the catalog. The caller must close
+ * the reader to release the connection, also if it stops early.
+ */
+public class CatalogExportReader implements Iterator<CatalogExportRecord>, Closeable {
+
+	private static final ObjectMapper MAPPER = new ObjectMapper()
+			.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+	private final MappingIterator<CatalogExportRecord> records;
+	private final Closeable resource;
+
+	/**
+	 * Builds a reader. Nothing is read until the first call to {@link #hasNext()}
+	 * or {@link #next()}.
+	 * 
+	 * @param in
+	 *            Stream of uncompressed newline-delimited JSON
+	 * @param resource
+	 *            Closed with the reader; e.g., the HTTP response. May be null.
+	 * @throws IOException
+	 *             If the stream cannot be read
+	 */
+	public CatalogExportReader(InputStream in, Closeable resource) throws IOException {
+		this.records = MAPPER.readerFor(CatalogExportRecord.class).readValues(in);
+		this.resource = resource;
+	}
+
+	/**
+	 * @throws com.fasterxml.jackson.databind.RuntimeJsonMappingException
+	 *             If a line cannot be read or parsed
+	 */
+	@Override
+	public boolean hasNext() {
+		return records.hasNext();
+	}
+
+	@Override
+	public CatalogExportRecord next() {
+		if (!hasNext())
+			throw new NoSuchElementException();
+		return records.next();
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			records.close();
+		} finally {
+			if (resource != null)
+				resource.close();
+		}
+	}
+
+}
@@ -0,0 +1,191 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.client;
+
+/**
+ * Tunes the HTTP connection pool of {@link CommonDataServiceRestClientImpl}
+ * and the call limits of {@link AsyncCommonDataServiceRestClientImpl}. A
+ * single client instance is safe for use by many threads, and the pool limits
+ * here determine how many requests can be in flight at once. The defaults
+ * suit a shared instance under heavy concurrent use; all times are in
+ * milliseconds.
+ */
+public class CommonDataServiceRestClientConfig {
+
+	private int maxConnections = 200;
+	private int maxConnectionsPerRoute = 200;
+	private long keepAliveMillis = 30000;
+	private int connectTimeoutMillis = 10000;
+	private int connectionRequestTimeoutMillis = 10000;
+	private int socketTimeoutMillis = 60000;
+	private long idleEvictMillis = 60000;
+	private int validateAfterInactivityMillis = 2000;
+	private boolean preemptiveAuth = true;
+	private int maxCallsInFlight = 64;
+	private long callTimeoutMillis = 60000;
+
+	/**
+	 * Builds an object with default values.
+	 */
+	public CommonDataServiceRestClientConfig() {
+		// no-arg constructor
+	}
+
+	/**
+	 * @return Maximum number of open connections
+	 */
+	public int getMaxConnections() {
+		return maxConnections;
+	}
+
+	public void setMaxConnections(int maxConnections) {
+		this.maxConnections = maxConnections;
+	}
+
+	/**
+	 * @return Maximum number of open connections to one host and port. All
+	 *         requests from a client use the same route, so this is normally
+	 *         the same as the maximum total.
+	 */
+	public int getMaxConnectionsPerRoute() {
+		return maxConnectionsPerRoute;
+	}
+
+	public void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+		this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+	}
+
+	/**
+	 * @return Time to keep an idle connection open when the server response has
+	 *         no Keep-Alive header
+	 */
+	public long getKeepAliveMillis() {
+		return keepAliveMillis;
+	}
+
+	public void setKeepAliveMillis(long keepAliveMillis) {
+		this.keepAliveMillis = keepAliveMillis;
+	}
+
+	/**
+	 * @return Time to wait for a new connection to be established
+	 */
+	public int getConnectTimeoutMillis() {
+		return connectTimeoutMillis;
+	}
+
+	public void setConnectTimeoutMillis(int connectTimeoutMillis) {
+		this.connectTimeoutMillis = connectTimeoutMillis;
+	}
+
+	/**
+	 * @return Time to wait for a connection from the pool when all are in use
+	 */
+	public int getConnectionRequestTimeoutMillis() {
+		return connectionRequestTimeoutMillis;
+	}
+
+	public void setConnectionRequestTimeoutMillis(int connectionRequestTimeoutMillis) {
+		this.connectionRequestTimeoutMillis = connectionRequestTimeoutMillis;
+	}
+
+	/**
+	 * @return Time to wait for data on an open connection; i.e., read timeout
+	 */
+	public int getSocketTimeoutMillis() {
+		return socketTimeoutMillis;
+	}
+
+	public void setSocketTimeoutMillis(int socketTimeoutMillis) {
+		this.socketTimeoutMillis = socketTimeoutMillis;
+	}
+
+	/**
+	 * @return Time after which an idle connection is closed by a background
+	 *         thread; zero or less disables eviction
+	 */
+	public long getIdleEvictMillis() {
+		return idleEvictMillis;
+	}
+
+	public void setIdleEvictMillis(long idleEvictMillis) {
+		this.idleEvictMillis = idleEvictMillis;
+	}
+
+	/**
+	 * @return Idle time after which a pooled connection is checked before reuse
+	 */
+	public int getValidateAfterInactivityMillis() {
+		return validateAfterInactivityMillis;
+	}
+
+	public void setValidateAfterInactivityMillis(int validateAfterInactivityMillis) {
+		this.validateAfterInactivityMillis = validateAfterInactivityMillis;
+	}
+
+	/**
+	 * @return If true, credentials are sent with the first request instead of
+	 *         after a challenge from the server
+	 */
+	public boolean isPreemptiveAuth() {
+		return preemptiveAuth;
+	}
+
+	public void setPreemptiveAuth(boolean preemptiveAuth) {
+		this.preemptiveAuth = preemptiveAuth;
+	}
+
+	/**
+	 * @return Maximum number of calls an asynchronous client runs at once; further
+	 *         calls wait in a queue. Should not exceed the connection limits.
+	 */
+	public int getMaxCallsInFlight() {
+		return maxCallsInFlight;
+	}
+
+	public void setMaxCallsInFlight(int maxCallsInFlight) {
+		this.maxCallsInFlight = maxCallsInFlight;
+	}
+
+	/**
+	 * @return Time after which an asynchronous call fails with a timeout,
+	 *         including time spent waiting in the queue; 0 means no limit
+	 */
+	public long getCallTimeoutMillis() {
+		return callTimeoutMillis;
+	}
+
+	public void setCallTimeoutMillis(long callTimeoutMillis) {
+		this.callTimeoutMillis = callTimeoutMillis;
+	}
+
+	@Override
+	public String toString() {
+		return this.getClass().getName() + "[maxConnections=" + maxConnections + ", maxConnectionsPerRoute="
+				+ maxConnectionsPerRoute + ", keepAliveMillis=" + keepAliveMillis + ", connectTimeoutMillis="
+				+ connectTimeoutMillis + ", connectionRequestTimeoutMillis=" + connectionRequestTimeoutMillis
+				+ ", socketTimeoutMillis=" + socketTimeoutMillis + ", idleEvictMillis=" + idleEvictMillis
+				+ ", validateAfterInactivityMillis=" + validateAfterInactivityMillis + ", preemptiveAuth="
+				+ preemptiveAuth + ", maxCallsInFlight=" + maxCallsInFlight + ", callTimeoutMillis="
+				+ callTimeoutMillis + "]";
+	}
+
+}
@@ -20,16 +20,22 @@
 
 package org.acumos.cds.client;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.lang.invoke.MethodHandles;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
 
 import org.acumos.cds.CCDSConstants;
 import org.acumos.cds.CodeNameType;
@@ -81,28 +87,48 @@
 import org.acumos.cds.domain.MLPValidationSequence;
 import org.acumos.cds.domain.MLPValidationStatus;
 import org.acumos.cds.domain.MLPValidationType;
+import org.acumos.cds.transport.BatchMapRequest;
+import org.acumos.cds.transport.BatchResultTransport;
+import org.acumos.cds.transport.ChangeFeedTransport;
 import org.acumos.cds.transport.CountTransport;
+import org.acumos.cds.transport.DeleteCountsTransport;
+import org.acumos.cds.transport.FacetCountsTransport;
 import org.acumos.cds.transport.LoginTransport;
+import org.acumos.cds.transport.NotificationAudienceRequest;
 import org.acumos.cds.transport.RestPageRequest;
 import org.acumos.cds.transport.RestPageResponse;
 import org.acumos.cds.transport.SuccessTransport;
+import org.acumos.cds.transport.ThreadTreeTransport;
 import org.acumos.cds.transport.UsersRoleRequest;
 import org.apache.http.HttpHost;
 import org.apache.http.auth.AuthScope;
 import org.apache.http.auth.UsernamePasswordCredentials;
 import org.apache.http.client.CredentialsProvider;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
 import org.apache.http.impl.client.BasicCredentialsProvider;
 import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
 import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
 import org.springframework.http.client.ClientHttpRequestExecution;
 import org.springframework.http.client.ClientHttpRequestInterceptor;
 import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
@@ -114,6 +140,14 @@
  * </P>
  *
  * <P>
+ * Each instance built from a URL and credentials owns a pool of connections
+ * and, unless idle eviction is disabled in the configuration, a background
+ * thread that evicts idle connections. Instances are safe for use by concurrent
+ * threads and should be shared; an instance that is no longer needed must be
+ * closed to release the pool and stop the thread.
+ * </P>
+ *
+ * <P>
  * The server sets an HTTP error code on a bad request or failure and returns
  * the details to the client. On receiving a non-200-class response, the Spring
  * RestTemplate throws
@@ -135,6 +169,16 @@ public class CommonDataServiceRestClientImpl implements ICommonDataServiceRestCl
 	 * Spring REST template is constructed once and used repeatedly.
 	 */
 	private final RestTemplate restTemplate;
+	/**
+	 * Pool of connections used by the template; null if the template was
+	 * supplied by the caller.
+	 */
+	private final PoolingHttpClientConnectionManager connectionManager;
+	/**
+	 * Client that owns the pool and the eviction thread; null if the template
+	 * was supplied by the caller.
+	 */
+	private final CloseableHttpClient httpClient;
 	/**
 	 * Request ID optionally set by client to send to server.
 	 */
@@ -201,7 +245,7 @@ private String encodeBase62(long n) {
 
 	/**
 	 * Creates an instance to access the remote endpoint using the specified
-	 * credentials.
+	 * credentials and a connection pool with default settings.
 	 * 
 	 * If user and pass are both supplied, uses basic HTTP authentication; if either
 	 * one is missing, no authentication is used.
@@ -221,8 +265,37 @@ private String encodeBase62(long n) {
 	 */
 	public CommonDataServiceRestClientImpl(final String webapiUrl, final String user, final String pass,
 			final String proxyUrl) {
+		this(webapiUrl, user, pass, proxyUrl, new CommonDataServiceRestClientConfig());
+	}
+
+	/**
+	 * Creates an instance to access the remote endpoint using the specified
+	 * credentials and connection pool settings.
+	 * 
+	 * If user and pass are both supplied, uses basic HTTP authentication; if either
+	 * one is missing, no authentication is used.
+	 * 
+	 * Clients should use the static method
+	 * {@link #getInstance(String, String, String, String, CommonDataServiceRestClientConfig)}
+	 * instead of this constructor.
+	 * 
+	 * @param webapiUrl
+	 *            URL of the web endpoint with hostname and port
+	 * @param user
+	 *            user name; ignored if null
+	 * @param pass
+	 *            password; ignored if null
+	 * @param proxyUrl
+	 *            URL of the proxy with hostname and port; ignored if null
+	 * @param config
+	 *            Connection pool settings
+	 */
+	public CommonDataServiceRestClientImpl(final String webapiUrl, final String user, final String pass,
+			final String proxyUrl, final CommonDataServiceRestClientConfig config) {
 		if (webapiUrl == null)
 			throw new IllegalArgumentException("Null URL not permitted");
+		if (config == null)
+			throw new IllegalArgumentException("Null config not permitted");
 
 		// Validate the URLs
 		URL url = null;
@@ -232,7 +305,7 @@ public CommonDataServiceRestClientImpl(final String webapiUrl, final String user
 		} catch (MalformedURLException ex) {
 			throw new IllegalArgumentException("Failed to parse URL: " + webapiUrl, ex);
 		}
-		final HttpHost httpHost = new HttpHost(url.getHost(), url.getPort());
+		final HttpHost httpHost = new HttpHost(url.getHost(), url.getPort(), url.getProtocol());
 		HttpHost proxyHost = null;
 		if (proxyUrl != null) {
 			try {
@@ -242,9 +315,33 @@ public CommonDataServiceRestClientImpl(final String webapiUrl, final String user
 			}
 			proxyHost = new HttpHost(url.getHost(), url.getPort());
 		}
+		// The default pool allows only two connections per route
+		connectionManager = new PoolingHttpClientConnectionManager();
+		connectionManager.setMaxTotal(config.getMaxConnections());
+		connectionManager.setDefaultMaxPerRoute(config.getMaxConnectionsPerRoute());
+		connectionManager.setValidateAfterInactivity(config.getValidateAfterInactivityMillis());
+		RequestConfig requestConfig = RequestConfig.custom() //
+				.setConnectTimeout(config.getConnectTimeoutMillis()) //
+				.setConnectionRequestTimeout(config.getConnectionRequestTimeoutMillis()) //
+				.setSocketTimeout(config.getSocketTimeoutMillis()) //
+				.build();
+		final long keepAliveMillis = config.getKeepAliveMillis();
+		ConnectionKeepAliveStrategy keepAliveStrategy = (response, context) -> {
+			// Honor the server's Keep-Alive header if present
+			long serverMillis = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+			return serverMillis > 0 ? serverMillis : keepAliveMillis;
+		};
 		// Build a client with a credentials provider
-		HttpClientBuilder builder = HttpClientBuilder.create();
-		if (user != null && pass != null) {
+		HttpClientBuilder builder = HttpClientBuilder.create() //
+				.setConnectionManager(connectionManager) //
+				.setDefaultRequestConfig(requestConfig) //
+				.setKeepAliveStrategy(keepAliveStrategy) //
+				.addInterceptorFirst(CallAbortHandle.INTERCEPTOR);
+		if (config.getIdleEvictMillis() > 0)
+			builder.evictExpiredConnections().evictIdleConnections(config.getIdleEvictMillis(),
+					TimeUnit.MILLISECONDS);
+		final boolean hasCredentials = user != null && pass != null;
+		if (hasCredentials) {
 			CredentialsProvider credsProvider = new BasicCredentialsProvider();
 			credsProvider.setCredentials(new AuthScope(httpHost), new UsernamePasswordCredentials(user, pass));
 			builder.setDefaultCredentialsProvider(credsProvider);
@@ -252,10 +349,11 @@ public CommonDataServiceRestClientImpl(final String webapiUrl, final String user
 		// Add proxy if supplied
 		if (proxyHost != null)
 			builder.setProxy(proxyHost);
-		CloseableHttpClient httpClient = builder.build();
+		httpClient = builder.build();
 		// Create request factory with the client
-		HttpComponentsClientHttpRequestFactoryBasicAuth requestFactory = new HttpComponentsClientHttpRequestFactoryBasicAuth(
-				httpHost);
+		HttpComponentsClientHttpRequestFactory requestFactory = hasCredentials && config.isPreemptiveAuth()
+				? new HttpComponentsClientHttpRequestFactoryBasicAuth(httpHost)
+				: new HttpComponentsClientHttpRequestFactory();
 		requestFactory.setHttpClient(httpClient);
 
 		// Put the factory in the template
@@ -288,6 +386,8 @@ public CommonDataServiceRestClientImpl(final String webapiUrl, final RestTemplat
 			throw new IllegalArgumentException("Failed to parse URL", ex);
 		}
 		this.restTemplate = restTemplate;
+		this.connectionManager = null;
+		this.httpClient = null;
 	}
 
 	/**
@@ -326,6 +426,28 @@ public static ICommonDataServiceRestClient getInstance(String webapiUrl, String
 		return new CommonDataServiceRestClientImpl(webapiUrl, user, pass, proxyUrl);
 	}
 
+	/**
+	 * Gets an instance to access a remote endpoint using the specified URL,
+	 * credentials, proxy and connection pool settings. This factory method should
+	 * be used instead of a constructor.
+	 * 
+	 * @param webapiUrl
+	 *            URL of the web endpoint with host and port
+	 * @param user
+	 *            user name; ignored if null
+	 * @param pass
+	 *            password; ignored if null
+	 * @param proxyUrl
+	 *            URL of the proxy with hostname and port; ignored if null
+	 * @param config
+	 *            Connection pool settings
+	 * @return Instance of ICommonDataServiceRestClient
+	 */
+	public static ICommonDataServiceRestClient getInstance(String webapiUrl, String user, String pass,
+			String proxyUrl, CommonDataServiceRestClientConfig config) {
+		return new CommonDataServiceRestClientImpl(webapiUrl, user, pass, proxyUrl, config);
+	}
+
 	/**
 	 * Gets an instance to access a remote endpoint using the specified template.
 	 * This factory method should be used instead of a constructor.
@@ -349,6 +471,22 @@ protected RestTemplate getRestTemplate() {
 		return restTemplate;
 	}
 
+	@Override
+	public PoolStats getConnectionPoolStats() {
+		return connectionManager == null ? null : connectionManager.getTotalStats();
+	}
+
+	@Override
+	public void close() {
+		if (httpClient == null)
+			return;
+		try {
+			httpClient.close();
+		} catch (IOException ex) {
+			logger.warn("close failed: {}", ex.toString());
+		}
+	}
+
 	/**
 	 * Builds URI by adding specified path segments and query parameters to the base
 	 * URL. Converts an array of values to a series of parameters with the same
@@ -403,6 +541,44 @@ else if (o instanceof Date)
 		return builder.build().encode().toUri();
 	}
 
+	/**
+	 * Copies a picture from the response body to the stream without buffering the
+	 * whole picture.
+	 * 
+	 * @param uri
+	 *            Picture URI
+	 * @param out
+	 *            Stream that receives the picture
+	 * @return Content type; null if the server answers no content
+	 */
+	private String getPicture(URI uri, OutputStream out) {
+		return restTemplate.execute(uri, HttpMethod.GET, null, response -> {
+			if (response.getStatusCode() == HttpStatus.NO_CONTENT)
+				return null;
+			StreamUtils.copy(response.getBody(), out);
+			MediaType contentType = response.getHeaders().getContentType();
+			return contentType == null ? MediaType.APPLICATION_OCTET_STREAM_VALUE : contentType.toString();
+		});
+	}
+
+	/**
+	 * Sends a picture as the request body.
+	 * 
+	 * @param uri
+	 *            Picture URI
+	 * @param contentType
+	 *            Media type; may be null
+	 * @param picture
+	 *            Stream with the picture
+	 */
+	private void savePicture(URI uri, String contentType, InputStream picture) {
+		restTemplate.execute(uri, HttpMethod.PUT, request -> {
+			if (contentType != null)
+				request.getHeaders().setContentType(MediaType.parseMediaType(contentType));
+			StreamUtils.copy(picture, request.getBody());
+		}, null);
+	}
+
 	@Override
 	public SuccessTransport getHealth() {
 		URI uri = buildUri(new String[] { CCDSConstants.HEALTHCHECK_PATH }, null, null);
@@ -596,6 +772,24 @@ public RestPageResponse<MLPSolution> getSolutions(RestPageRequest pageRequest) {
 		return response.getBody();
 	}
 
+	@Override
+	public RestPageResponse<MLPSolution> seekSolutions(String token, RestPageRequest pageRequest) {
+		HashMap<String, Object> parms = new HashMap<>();
+		if (token != null)
+			parms.put(CCDSConstants.TOKEN_PATH, token);
+		URI uri = buildUri(new String[] { CCDSConstants.SOLUTION_PATH, CCDSConstants.SEEK_PATH }, parms, pageRequest);
+		logger.debug("seekSolutions: uri {}", uri);
+		ResponseEntity<RestPageResponse<MLPSolution>> response = restTemplate.exchange(uri, HttpMethod.GET, null,
+				new ParameterizedTypeReference<RestPageResponse<MLPSolution>>() {
+				});
+		return response.getBody();
+	}
+
+	@Override
+	public Iterator<MLPSolution> iterateSolutions(RestPageRequest pageRequest) {
+		return new SeekPageIterator<>(this::seekSolutions, pageRequest);
+	}
+
 	@Override
 	public RestPageResponse<MLPSolution> findSolutionsBySearchTerm(String searchTerm, RestPageRequest pageRequest) {
 		HashMap<String, Object> parms = new HashMap<>();
@@ -643,6 +837,50 @@ public RestPageResponse<MLPSolution> findSolutionsByDate(boolean active, String[
 		return response.getBody();
 	}
 
+	@Override
+	public ChangeFeedTransport getSolutionChanges(long cursor, int limit, String[] accessTypeCodes,
+			String[] validationStatusCodes) {
+		HashMap<String, Object> parms = new HashMap<>();
+		parms.put(CCDSConstants.CURSOR_PATH, cursor);
+		parms.put(CCDSConstants.LIMIT_PATH, limit);
+		if (accessTypeCodes != null && accessTypeCodes.length > 0)
+			parms.put(CCDSConstants.SEARCH_ACCESS_TYPES, accessTypeCodes);
+		if (validationStatusCodes != null && validationStatusCodes.length > 0)
+			parms.put(CCDSConstants.SEARCH_VAL_STATUSES, validationStatusCodes);
+		URI uri = buildUri(new String[] { CCDSConstants.SOLUTION_PATH, CCDSConstants.CHANGE_PATH }, parms, null);
+		logger.debug("getSolutionChanges: uri {}", uri);
+		ResponseEntity<ChangeFeedTransport> response = restTemplate.exchange(uri, HttpMethod.GET, null,
+				new ParameterizedTypeReference<ChangeFeedTransport>() {
+				});
+		return response.getBody();
+	}
+
+	@Override
+	public CatalogExportReader exportCatalog() {
+		URI uri = buildUri(new String[] { CCDSConstants.SOLUTION_PATH, CCDSConstants.EXPORT_PATH }, null, null);
+		logger.debug("exportCatalog: uri {}", uri);
+		ClientHttpResponse response = null;
+		try {
+			// The response must stay open while the caller reads it
+			ClientHttpRequest request = restTemplate.getRequestFactory().createRequest(uri, HttpMethod.GET);
+			request.getHeaders().set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+			response = request.execute();
+			if (restTemplate.getErrorHandler().hasError(response))
+				restTemplate.getErrorHandler().handleError(response);
+			InputStream body = response.getBody();
+			// The HTTP client may have decompressed the body already
+			if ("gzip".equalsIgnoreCase(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)))
+				body = new GZIPInputStream(body);
+			return new CatalogExportReader(body, response);
+		} catch (IOException | RuntimeException ex) {
+			if (response != null)
+				response.close();
+			if (ex instanceof RuntimeException)
+				throw (RuntimeException) ex;
+			throw new ResourceAccessException("exportCatalog failed: " + ex.getMessage(), (IOException) ex);
+		}
+	}
+
 	@Override
 	public RestPageResponse<MLPSolution> findPortalSolutions(String[] nameKeywords, String[] descriptionKeywords,
 			boolean active, String[] userIds, String[] accessTypeCodes, String[] modelTypeCodes,
@@ -733,6 +971,36 @@ public RestPageResponse<MLPSolution> findPortalSolutionsByKwAndTags(String[] key
 		return response.getBody();
 	}
 
+	@Override
+	public FacetCountsTransport getPortalSolutionFacetCounts(String[] keywords, Boolean active,
+			String[] accessTypeCodes, String[] modelTypeCodes, String[] validationStatusCodes, String[] allTags,
+			String[] anyTags, String[] noTags) {
+		HashMap<String, Object> parms = new HashMap<>();
+		if (active != null)
+			parms.put(CCDSConstants.SEARCH_ACTIVE, active);
+		if (keywords != null && keywords.length > 0)
+			parms.put(CCDSConstants.SEARCH_KW, keywords);
+		if (accessTypeCodes != null && accessTypeCodes.length > 0)
+			parms.put(CCDSConstants.SEARCH_ACCESS_TYPES, accessTypeCodes);
+		if (modelTypeCodes != null && modelTypeCodes.length > 0)
+			parms.put(CCDSConstants.SEARCH_MODEL_TYPES, modelTypeCodes);
+		if (validationStatusCodes != null && validationStatusCodes.length > 0)
+			parms.put(CCDSConstants.SEARCH_VAL_STATUSES, validationStatusCodes);
+		if (allTags != null && allTags.length > 0)
+			parms.put(CCDSConstants.SEARCH_ALL_TAGS, allTags);
+		if (anyTags != null && anyTags.length > 0)
+			parms.put(CCDSConstants.SEARCH_ANY_TAGS, anyTags);
+		if (noTags != null && noTags.length > 0)
+			parms.put(CCDSConstants.SEARCH_NO_TAGS, noTags);
+		URI uri = buildUri(new String[] { CCDSConstants.SOLUTION_PATH, CCDSConstants.SEARCH_PATH,
+				CCDSConstants.PORTAL_PATH, CCDSConstants.FACET_PATH }, parms, null);
+		logger.debug("getPortalSolutionFacetCounts: uri {}", uri);
+		ResponseEntity<FacetCountsTransport> response = restTemplate.exchange(uri, HttpMethod.GET, null,
+				new ParameterizedTypeReference<FacetCountsTransport>() {
+				});
+		return response.getBody();
+	}
+
 	@Override
 	public RestPageResponse<MLPSolution> findUserSolutions(String[] nameKeywords, String[] descriptionKeywords,
 			boolean active, String userId, String[] accessTypeCodes, String[] modelTypeCodes,
@@ -787,6 +1055,16 @@ public MLPSolution getSolution(String solutionId) {
 		return response.getBody();
 	}
 
+	@Override
+	public List<MLPSolution> getSolutionsByIds(List<String> solutionIds) {
+		URI uri = buildUri(new String[] { CCDSConstants.SOLUTION_PATH, CCDSConstants.IDS_PATH }, null, null);
+		logger.debug("getSolutionsByIds: uri {}", uri);
+		ResponseEntity<List<MLPSolution>> response = restTemplate.exchange(uri, HttpMethod.POST,
+				new HttpEntity<>(solutionIds), new ParameterizedTypeReference<List<MLPSolution>>() {
+				});
+		return response.getBody();
+	}
+
 	@Override
 	public MLPSolution createSolution(MLPSolution solution) {
 		URI uri = buildUri(new String[] { CCDSConstants.SOLUTION_PATH }, null, null);
@@ -816,6 +1094,41 @@ public void deleteSolution(String solutionId) {
 		restTemplate.delete(uri);
 	}
 
+	@Override
+	public DeleteCountsTransport deleteSolutions(List<String> solutionIds) {
+		URI uri = buildUri(new String[] { CCDSConstants.SOLUTION_PATH, CCDSConstants.BATCH_PATH, CCDSConstants.DELETE_PATH },
+				null, null);
+		logger.debug("deleteSolutions: uri {}", uri);
+		return restTemplate.postForObject(uri, solutionIds, DeleteCountsTransport.class);
+	}
+
+	@Override
+	public String getSolutionPicture(String solutionId, OutputStream out) {
+		URI uri = buildUri(new String[] { CCDSConstants.SOLUTION_PATH, solutionId, CCDSConstants.PICTURE_PATH }, null, null);
+		logger.debug("getSolutionPicture: uri {}", uri);
+		return getPicture(uri, out);
+	}
+
+	@Override
+	public byte[] getSolutionPicture(String solutionId) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		return getSolutionPicture(solutionId, out) == null ? null : out.toByteArray();
+	}
+
+	@Override
+	public void saveSolutionPicture(String solutionId, String contentType, InputStream picture) {
+		URI uri = buildUri(new String[] { CCDSConstants.SOLUTION_PATH, solutionId, CCDSConstants.PICTURE_PATH }, null, null);
+		logger.debug("saveSolutionPicture: uri {}", uri);
+		savePicture(uri, contentType, picture);
+	}
+
+	@Override
+	public void deleteSolutionPicture(String solutionId) {
+		URI uri = buildUri(new String[] { CCDSConstants.SOLUTION_PATH, solutionId, CCDSConstants.PICTURE_PATH }, null, null);
+		logger.debug("deleteSolutionPicture: uri {}", uri);
+		restTemplate.delete(uri);
+	}
+
 	@Override
 	public List<MLPSolutionRevision> getSolutionRevisions(String solutionId) {
 		return getSolutionRevisions(new String[] { solutionId });
@@ -857,6 +1170,16 @@ public MLPSolutionRevision getSolutionRevision(String solutionId, String revisio
 		return response.getBody();
 	}
 
+	@Override
+	public List<MLPSolutionRevision> getSolutionRevisionsByIds(List<String> revisionIds) {
+		URI uri = buildUri(new String[] { CCDSConstants.REVISION_PATH, CCDSConstants.IDS_PATH }, null, null);
+		logger.debug("getSolutionRevisionsByIds: uri {}", uri);
+		ResponseEntity<List<MLPSolutionRevision>> response = restTemplate.exchange(uri, HttpMethod.POST,
+				new HttpEntity<>(revisionIds), new ParameterizedTypeReference<List<MLPSolutionRevision>>() {
+				});
+		return response.getBody();
+	}
+
 	@Override
 	public MLPSolutionRevision createSolutionRevision(MLPSolutionRevision revision) {
 		URI uri = buildUri(
@@ -912,6 +1235,26 @@ public void dropSolutionRevisionArtifact(String solutionIdIgnored, String revisi
 		restTemplate.delete(uri);
 	}
 
+	@Override
+	public BatchResultTransport addSolutionRevisionArtifacts(String revisionId, List<String> artifactIds) {
+		URI uri = buildUri(new String[] { CCDSConstants.REVISION_PATH, revisionId, CCDSConstants.ARTIFACT_PATH }, null, null);
+		logger.debug("addSolutionRevisionArtifacts: uri {}", uri);
+		BatchMapRequest request = new BatchMapRequest(true, artifactIds);
+		ResponseEntity<BatchResultTransport> response = restTemplate.exchange(uri, HttpMethod.PUT,
+				new HttpEntity<>(request), BatchResultTransport.class);
+		return response.getBody();
+	}
+
+	@Override
+	public BatchResultTransport dropSolutionRevisionArtifacts(String revisionId, List<String> artifactIds) {
+		URI uri = buildUri(new String[] { CCDSConstants.REVISION_PATH, revisionId, CCDSConstants.ARTIFACT_PATH }, null, null);
+		logger.debug("dropSolutionRevisionArtifacts: uri {}", uri);
+		BatchMapRequest request = new BatchMapRequest(false, artifactIds);
+		ResponseEntity<BatchResultTransport> response = restTemplate.exchange(uri, HttpMethod.PUT,
+				new HttpEntity<>(request), BatchResultTransport.class);
+		return response.getBody();
+	}
+
 	@Override
 	public RestPageResponse<MLPTag> getTags(RestPageRequest pageRequest) {
 		URI uri = buildUri(new String[] { CCDSConstants.TAG_PATH }, null, pageRequest);
@@ -963,6 +1306,26 @@ public void dropSolutionTag(String solutionId, String tag) {
 		restTemplate.delete(uri);
 	}
 
+	@Override
+	public BatchResultTransport addSolutionTags(String solutionId, List<String> tags) {
+		URI uri = buildUri(new String[] { CCDSConstants.SOLUTION_PATH, solutionId, CCDSConstants.TAG_PATH }, null, null);
+		logger.debug("addSolutionTags: uri {}", uri);
+		BatchMapRequest request = new BatchMapRequest(true, tags);
+		ResponseEntity<BatchResultTransport> response = restTemplate.exchange(uri, HttpMethod.PUT,
+				new HttpEntity<>(request), BatchResultTransport.class);
+		return response.getBody();
+	}
+
+	@Override
+	public BatchResultTransport dropSolutionTags(String solutionId, List<String> tags) {
+		URI uri = buildUri(new String[] { CCDSConstants.SOLUTION_PATH, solutionId, CCDSConstants.TAG_PATH }, null, null);
+		logger.debug("dropSolutionTags: uri {}", uri);
+		BatchMapRequest request = new BatchMapRequest(false, tags);
+		ResponseEntity<BatchResultTransport> response = restTemplate.exchange(uri, HttpMethod.PUT,
+				new HttpEntity<>(request), BatchResultTransport.class);
+		return response.getBody();
+	}
+
 	@Override
 	public long getArtifactCount() {
 		URI uri = buildUri(new String[] { CCDSConstants.ARTIFACT_PATH, CCDSConstants.COUNT_PATH }, null, null);
@@ -983,6 +1346,24 @@ public RestPageResponse<MLPArtifact> getArtifacts(RestPageRequest pageRequest) {
 		return response.getBody();
 	}
 
+	@Override
+	public RestPageResponse<MLPArtifact> seekArtifacts(String token, RestPageRequest pageRequest) {
+		HashMap<String, Object> parms = new HashMap<>();
+		if (token != null)
+			parms.put(CCDSConstants.TOKEN_PATH, token);
+		URI uri = buildUri(new String[] { CCDSConstants.ARTIFACT_PATH, CCDSConstants.SEEK_PATH }, parms, pageRequest);
+		logger.debug("seekArtifacts: uri {}", uri);
+		ResponseEntity<RestPageResponse<MLPArtifact>> response = restTemplate.exchange(uri, HttpMethod.GET, null,
+				new ParameterizedTypeReference<RestPageResponse<MLPArtifact>>() {
+				});
+		return response.getBody();
+	}
+
+	@Override
+	public Iterator<MLPArtifact> iterateArtifacts(RestPageRequest pageRequest) {
+		return new SeekPageIterator<>(this::seekArtifacts, pageRequest);
+	}
+
 	@Override
 	public RestPageResponse<MLPArtifact> findArtifactsBySearchTerm(String searchTerm, RestPageRequest pageRequest) {
 		HashMap<String, Object> parms = new HashMap<>();
@@ -1018,6 +1399,16 @@ public MLPArtifact getArtifact(String artifactId) {
 		return response.getBody();
 	}
 
+	@Override
+	public List<MLPArtifact> getArtifactsByIds(List<String> artifactIds) {
+		URI uri = buildUri(new String[] { CCDSConstants.ARTIFACT_PATH, CCDSConstants.IDS_PATH }, null, null);
+		logger.debug("getArtifactsByIds: uri {}", uri);
+		ResponseEntity<List<MLPArtifact>> response = restTemplate.exchange(uri, HttpMethod.POST,
+				new HttpEntity<>(artifactIds), new ParameterizedTypeReference<List<MLPArtifact>>() {
+				});
+		return response.getBody();
+	}
+
 	@Override
 	public MLPArtifact createArtifact(MLPArtifact artifact) {
 		URI uri = buildUri(new String[] { CCDSConstants.ARTIFACT_PATH }, null, null);
@@ -1032,6 +1423,22 @@ public void updateArtifact(MLPArtifact art) {
 		restTemplate.put(uri, art);
 	}
 
+	@Override
+	public BatchResultTransport createArtifacts(List<MLPArtifact> artifacts) {
+		URI uri = buildUri(new String[] { CCDSConstants.ARTIFACT_PATH, CCDSConstants.BATCH_PATH }, null, null);
+		logger.debug("createArtifacts: uri {}", uri);
+		return restTemplate.postForObject(uri, artifacts, BatchResultTransport.class);
+	}
+
+	@Override
+	public BatchResultTransport updateArtifacts(List<MLPArtifact> artifacts) {
+		URI uri = buildUri(new String[] { CCDSConstants.ARTIFACT_PATH, CCDSConstants.BATCH_PATH }, null, null);
+		logger.debug("updateArtifacts: uri {}", uri);
+		ResponseEntity<BatchResultTransport> response = restTemplate.exchange(uri, HttpMethod.PUT,
+				new HttpEntity<>(artifacts), BatchResultTransport.class);
+		return response.getBody();
+	}
+
 	@Override
 	public void deleteArtifact(String artifactId) {
 		URI uri = buildUri(new String[] { CCDSConstants.ARTIFACT_PATH, artifactId }, null, null);
@@ -1059,6 +1466,24 @@ public RestPageResponse<MLPUser> getUsers(RestPageRequest pageRequest) {
 		return response.getBody();
 	}
 
+	@Override
+	public RestPageResponse<MLPUser> seekUsers(String token, RestPageRequest pageRequest) {
+		HashMap<String, Object> parms = new HashMap<>();
+		if (token != null)
+			parms.put(CCDSConstants.TOKEN_PATH, token);
+		URI uri = buildUri(new String[] { CCDSConstants.USER_PATH, CCDSConstants.SEEK_PATH }, parms, pageRequest);
+		logger.debug("seekUsers: uri {}", uri);
+		ResponseEntity<RestPageResponse<MLPUser>> response = restTemplate.exchange(uri, HttpMethod.GET, null,
+				new ParameterizedTypeReference<RestPageResponse<MLPUser>>() {
+				});
+		return response.getBody();
+	}
+
+	@Override
+	public Iterator<MLPUser> iterateUsers(RestPageRequest pageRequest) {
+		return new SeekPageIterator<>(this::seekUsers, pageRequest);
+	}
+
 	@Override
 	public RestPageResponse<MLPUser> findUsersBySearchTerm(String searchTerm, RestPageRequest pageRequest) {
 		HashMap<String, Object> parms = new HashMap<>();
@@ -1118,6 +1543,16 @@ public MLPUser getUser(String userId) {
 		return response.getBody();
 	}
 
+	@Override
+	public List<MLPUser> getUsersByIds(List<String> userIds) {
+		URI uri = buildUri(new String[] { CCDSConstants.USER_PATH, CCDSConstants.IDS_PATH }, null, null);
+		logger.debug("getUsersByIds: uri {}", uri);
+		ResponseEntity<List<MLPUser>> response = restTemplate.exchange(uri, HttpMethod.POST,
+				new HttpEntity<>(userIds), new ParameterizedTypeReference<List<MLPUser>>() {
+				});
+		return response.getBody();
+	}
+
 	@Override
 	public MLPUser createUser(MLPUser solution) {
 		URI uri = buildUri(new String[] { CCDSConstants.USER_PATH }, null, null);
@@ -1147,6 +1582,41 @@ public void deleteUser(String userId) {
 		restTemplate.delete(uri);
 	}
 
+	@Override
+	public DeleteCountsTransport deleteUsers(List<String> userIds) {
+		URI uri = buildUri(new String[] { CCDSConstants.USER_PATH, CCDSConstants.BATCH_PATH, CCDSConstants.DELETE_PATH },
+				null, null);
+		logger.debug("deleteUsers: uri {}", uri);
+		return restTemplate.postForObject(uri, userIds, DeleteCountsTransport.class);
+	}
+
+	@Override
+	public String getUserPicture(String userId, OutputStream out) {
+		URI uri = buildUri(new String[] { CCDSConstants.USER_PATH, userId, CCDSConstants.PICTURE_PATH }, null, null);
+		logger.debug("getUserPicture: uri {}", uri);
+		return getPicture(uri, out);
+	}
+
+	@Override
+	public byte[] getUserPicture(String userId) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		return getUserPicture(userId, out) == null ? null : out.toByteArray();
+	}
+
+	@Override
+	public void saveUserPicture(String userId, String contentType, InputStream picture) {
+		URI uri = buildUri(new String[] { CCDSConstants.USER_PATH, userId, CCDSConstants.PICTURE_PATH }, null, null);
+		logger.debug("saveUserPicture: uri {}", uri);
+		savePicture(uri, contentType, picture);
+	}
+
+	@Override
+	public void deleteUserPicture(String userId) {
+		URI uri = buildUri(new String[] { CCDSConstants.USER_PATH, userId, CCDSConstants.PICTURE_PATH }, null, null);
+		logger.debug("deleteUserPicture: uri {}", uri);
+		restTemplate.delete(uri);
+	}
+
 	@Override
 	public MLPUserLoginProvider getUserLoginProvider(String userId, String providerCode, String providerLogin) {
 		URI uri = buildUri(new String[] { CCDSConstants.USER_PATH, userId, CCDSConstants.LOGIN_PROVIDER_PATH,
@@ -1427,6 +1897,14 @@ public void deletePeer(String peerId) {
 		restTemplate.delete(uri);
 	}
 
+	@Override
+	public DeleteCountsTransport deletePeers(List<String> peerIds) {
+		URI uri = buildUri(new String[] { CCDSConstants.PEER_PATH, CCDSConstants.BATCH_PATH, CCDSConstants.DELETE_PATH },
+				null, null);
+		logger.debug("deletePeers: uri {}", uri);
+		return restTemplate.postForObject(uri, peerIds, DeleteCountsTransport.class);
+	}
+
 	@Override
 	public RestPageResponse<MLPSolutionDownload> getSolutionDownloads(String solutionId, RestPageRequest pageRequest) {
 		URI uri = buildUri(new String[] { CCDSConstants.SOLUTION_PATH, solutionId, CCDSConstants.DOWNLOAD_PATH }, null,
@@ -1656,6 +2134,37 @@ public void setUserViewedNotification(String notificationId, String userId) {
 		restTemplate.put(uri, map);
 	}
 
+	@Override
+	public long addUsersToNotification(String notificationId, NotificationAudienceRequest audience) {
+		URI uri = buildUri(
+				new String[] { CCDSConstants.NOTIFICATION_PATH, notificationId, CCDSConstants.AUDIENCE_PATH }, null,
+				null);
+		logger.debug("addUsersToNotification: uri {}", uri);
+		CountTransport result = restTemplate.postForObject(uri, audience, CountTransport.class);
+		return result.getCount();
+	}
+
+	@Override
+	public long getUserUnreadNotificationCount(String userId) {
+		URI uri = buildUri(new String[] { CCDSConstants.NOTIFICATION_PATH, CCDSConstants.USER_PATH, userId,
+				CCDSConstants.UNREAD_PATH }, null, null);
+		logger.debug("getUserUnreadNotificationCount: uri {}", uri);
+		ResponseEntity<CountTransport> response = restTemplate.exchange(uri, HttpMethod.GET, null,
+				new ParameterizedTypeReference<CountTransport>() {
+				});
+		return response.getBody().getCount();
+	}
+
+	@Override
+	public BatchResultTransport setUserViewedNotifications(String userId, List<String> notificationIds) {
+		URI uri = buildUri(new String[] { CCDSConstants.NOTIFICATION_PATH, CCDSConstants.USER_PATH, userId,
+				CCDSConstants.VIEWED_PATH }, null, null);
+		logger.debug("setUserViewedNotifications: uri {}", uri);
+		ResponseEntity<BatchResultTransport> response = restTemplate.exchange(uri, HttpMethod.PUT,
+				new HttpEntity<>(notificationIds), BatchResultTransport.class);
+		return response.getBody();
+	}
+
 	@Override
 	public MLPSolutionWeb getSolutionWebMetadata(String solutionId) {
 		URI uri = buildUri(new String[] { CCDSConstants.SOLUTION_PATH, solutionId, CCDSConstants.WEB_PATH }, null,
@@ -1706,6 +2215,28 @@ public void dropSolutionUserAccess(String solutionId, String userId) {
 		restTemplate.delete(uri);
 	}
 
+	@Override
+	public BatchResultTransport addSolutionUsersAccess(String solutionId, List<String> userIds) {
+		URI uri = buildUri(new String[] { CCDSConstants.SOLUTION_PATH, solutionId, CCDSConstants.USER_PATH,
+				CCDSConstants.ACCESS_PATH }, null, null);
+		logger.debug("addSolutionUsersAccess: uri {}", uri);
+		BatchMapRequest request = new BatchMapRequest(true, userIds);
+		ResponseEntity<BatchResultTransport> response = restTemplate.exchange(uri, HttpMethod.PUT,
+				new HttpEntity<>(request), BatchResultTransport.class);
+		return response.getBody();
+	}
+
+	@Override
+	public BatchResultTransport dropSolutionUsersAccess(String solutionId, List<String> userIds) {
+		URI uri = buildUri(new String[] { CCDSConstants.SOLUTION_PATH, solutionId, CCDSConstants.USER_PATH,
+				CCDSConstants.ACCESS_PATH }, null, null);
+		logger.debug("dropSolutionUsersAccess: uri {}", uri);
+		BatchMapRequest request = new BatchMapRequest(false, userIds);
+		ResponseEntity<BatchResultTransport> response = restTemplate.exchange(uri, HttpMethod.PUT,
+				new HttpEntity<>(request), BatchResultTransport.class);
+		return response.getBody();
+	}
+
 	@Override
 	public List<MLPSolutionValidation> getSolutionValidations(String solutionId, String revisionId) {
 		URI uri = buildUri(new String[] { CCDSConstants.SOLUTION_PATH, solutionId, CCDSConstants.REVISION_PATH,
@@ -1910,6 +2441,18 @@ public RestPageResponse<MLPThread> getSolutionRevisionThreads(String solutionId,
 		return response.getBody();
 	}
 
+	@Override
+	public RestPageResponse<ThreadTreeTransport> getSolutionRevisionThreadTrees(String solutionId, String revisionId,
+			RestPageRequest pageRequest) {
+		URI uri = buildUri(new String[] { CCDSConstants.THREAD_PATH, CCDSConstants.SOLUTION_PATH, solutionId,
+				CCDSConstants.REVISION_PATH, revisionId, CCDSConstants.TREE_PATH }, null, pageRequest);
+		logger.debug("getSolutionRevisionThreadTrees: uri {}", uri);
+		ResponseEntity<RestPageResponse<ThreadTreeTransport>> response = restTemplate.exchange(uri, HttpMethod.GET,
+				null, new ParameterizedTypeReference<RestPageResponse<ThreadTreeTransport>>() {
+				});
+		return response.getBody();
+	}
+
 	@Override
 	public MLPThread getThread(String threadId) {
 		URI uri = buildUri(new String[] { CCDSConstants.THREAD_PATH, threadId }, null, null);
@@ -2044,6 +2587,24 @@ public RestPageResponse<MLPStepResult> getStepResults(RestPageRequest pageReques
 		return response.getBody();
 	}
 
+	@Override
+	public RestPageResponse<MLPStepResult> seekStepResults(String token, RestPageRequest pageRequest) {
+		HashMap<String, Object> parms = new HashMap<>();
+		if (token != null)
+			parms.put(CCDSConstants.TOKEN_PATH, token);
+		URI uri = buildUri(new String[] { CCDSConstants.STEP_RESULT_PATH, CCDSConstants.SEEK_PATH }, parms, pageRequest);
+		logger.debug("seekStepResults: uri {}", uri);
+		ResponseEntity<RestPageResponse<MLPStepResult>> response = restTemplate.exchange(uri, HttpMethod.GET, null,
+				new ParameterizedTypeReference<RestPageResponse<MLPStepResult>>() {
+				});
+		return response.getBody();
+	}
+
+	@Override
+	public Iterator<MLPStepResult> iterateStepResults(RestPageRequest pageRequest) {
+		return new SeekPageIterator<>(this::seekStepResults, pageRequest);
+	}
+
 	@Override
 	public RestPageResponse<MLPStepResult> searchStepResults(Map<String, Object> queryParameters, boolean isOr,
 			RestPageRequest pageRequest) {
@@ -2225,6 +2786,28 @@ public void dropPeerFromGroup(String peerId, Long peerGroupId) {
 		restTemplate.delete(uri);
 	}
 
+	@Override
+	public BatchResultTransport addPeersToGroup(List<String> peerIds, Long peerGroupId) {
+		URI uri = buildUri(new String[] { CCDSConstants.GROUP_PATH, Long.toString(peerGroupId),
+				CCDSConstants.PEER_PATH, CCDSConstants.BATCH_PATH }, null, null);
+		logger.debug("addPeersToGroup: uri {}", uri);
+		BatchMapRequest request = new BatchMapRequest(true, peerIds);
+		ResponseEntity<BatchResultTransport> response = restTemplate.exchange(uri, HttpMethod.PUT,
+				new HttpEntity<>(request), BatchResultTransport.class);
+		return response.getBody();
+	}
+
+	@Override
+	public BatchResultTransport dropPeersFromGroup(List<String> peerIds, Long peerGroupId) {
+		URI uri = buildUri(new String[] { CCDSConstants.GROUP_PATH, Long.toString(peerGroupId),
+				CCDSConstants.PEER_PATH, CCDSConstants.BATCH_PATH }, null, null);
+		logger.debug("dropPeersFromGroup: uri {}", uri);
+		BatchMapRequest request = new BatchMapRequest(false, peerIds);
+		ResponseEntity<BatchResultTransport> response = restTemplate.exchange(uri, HttpMethod.PUT,
+				new HttpEntity<>(request), BatchResultTransport.class);
+		return response.getBody();
+	}
+
 	@Override
 	public RestPageResponse<MLPSolution> getSolutionsInGroup(Long solutionGroupId, RestPageRequest pageRequest) {
 		URI uri = buildUri(
@@ -2254,6 +2837,28 @@ public void dropSolutionFromGroup(String solutionId, Long solutionGroupId) {
 		restTemplate.delete(uri);
 	}
 
+	@Override
+	public BatchResultTransport addSolutionsToGroup(List<String> solutionIds, Long solutionGroupId) {
+		URI uri = buildUri(new String[] { CCDSConstants.GROUP_PATH, Long.toString(solutionGroupId),
+				CCDSConstants.SOLUTION_PATH, CCDSConstants.BATCH_PATH }, null, null);
+		logger.debug("addSolutionsToGroup: uri {}", uri);
+		BatchMapRequest request = new BatchMapRequest(true, solutionIds);
+		ResponseEntity<BatchResultTransport> response = restTemplate.exchange(uri, HttpMethod.PUT,
+				new HttpEntity<>(request), BatchResultTransport.class);
+		return response.getBody();
+	}
+
+	@Override
+	public BatchResultTransport dropSolutionsFromGroup(List<String> solutionIds, Long solutionGroupId) {
+		URI uri = buildUri(new String[] { CCDSConstants.GROUP_PATH, Long.toString(solutionGroupId),
+				CCDSConstants.SOLUTION_PATH, CCDSConstants.BATCH_PATH }, null, null);
+		logger.debug("dropSolutionsFromGroup: uri {}", uri);
+		BatchMapRequest request = new BatchMapRequest(false, solutionIds);
+		ResponseEntity<BatchResultTransport> response = restTemplate.exchange(uri, HttpMethod.PUT,
+				new HttpEntity<>(request), BatchResultTransport.class);
+		return response.getBody();
+	}
+
 	@Override
 	public RestPageResponse<MLPPeerSolAccMap> getPeerSolutionGroupMaps(RestPageRequest pageRequest) {
 		URI uri = buildUri(
@@ -20,9 +20,16 @@
 
 package org.acumos.cds.client;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.lang.invoke.MethodHandles;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -79,11 +86,20 @@
 import org.acumos.cds.domain.MLPValidationSequence;
 import org.acumos.cds.domain.MLPValidationStatus;
 import org.acumos.cds.domain.MLPValidationType;
+import org.acumos.cds.transport.BatchResultTransport;
+import org.acumos.cds.transport.ChangeFeedTransport;
+import org.acumos.cds.transport.DeleteCountsTransport;
+import org.acumos.cds.transport.FacetCountsTransport;
+import org.acumos.cds.transport.NotificationAudienceRequest;
 import org.acumos.cds.transport.RestPageRequest;
 import org.acumos.cds.transport.RestPageResponse;
 import org.acumos.cds.transport.SuccessTransport;
+import org.acumos.cds.transport.ThreadTreeTransport;
+import org.apache.http.pool.PoolStats;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.RestTemplate;
 
 /**
@@ -112,6 +128,7 @@ public static ICommonDataServiceRestClient getInstance(String webapiUrl, RestTem
 	private RestPageResponse<MLPSolution> solutionsBySearchTerm;
 	private RestPageResponse<MLPSolution> solutionsByTag;
 	private MLPSolution solutionById = new MLPSolution();
+	private byte[] solutionPicture;
 	private MLPSolution solution = new MLPSolution();
 	private List<MLPSolutionRevision> solutionRevisionListById;
 	private List<MLPSolutionRevision> solutionRevisionListByIdList;
@@ -134,6 +151,7 @@ public static ICommonDataServiceRestClient getInstance(String webapiUrl, RestTem
 	private RestPageResponse<MLPUser> searchUsers;
 	private MLPUser loginUser = new MLPUser();
 	private MLPUser userById = new MLPUser();
+	private byte[] userPicture;
 	private MLPUser user = new MLPUser();
 	private List<MLPRole> userRoles;
 	private long roleUsersCount = 0;
@@ -162,6 +180,8 @@ public static ICommonDataServiceRestClient getInstance(String webapiUrl, RestTem
 	private RestPageResponse<MLPSolutionRating> solutionRatings;
 	private MLPSolutionRating solutionRating = new MLPSolutionRating();
 	private long notificationCount = 0;
+	private long notificationRecipientCount = 0;
+	private long unreadNotificationCount = 0;
 	private RestPageResponse<MLPNotification> notifications;
 	private MLPNotification notification;
 	private RestPageResponse<MLPUserNotification> userNotifications;
@@ -191,8 +211,16 @@ public static ICommonDataServiceRestClient getInstance(String webapiUrl, RestTem
 	private MLPComment comment = new MLPComment();
 	private MLPComment commentById = new MLPComment();
 	private RestPageResponse<MLPSolution> portalSolutions;
+	private FacetCountsTransport facetCounts;
+	private List<MLPSolution> solutionsByIds;
+	private List<MLPSolutionRevision> solutionRevisionsByIds;
+	private List<MLPArtifact> artifactsByIds;
+	private List<MLPUser> usersByIds;
+	private BatchResultTransport batchResult;
+	private PoolStats poolStats;
 	private RestPageResponse<MLPSolution> searchSolutions;
 	private RestPageResponse<MLPThread> solutionRevisionThreads;
+	private RestPageResponse<ThreadTreeTransport> solutionRevisionThreadTrees;
 	private RestPageResponse<MLPComment> solutionRevisionComments;
 	private RestPageResponse<MLPStepResult> stepResults;
 	private RestPageResponse<MLPStepResult> searchStepResults;
@@ -207,6 +235,9 @@ public static ICommonDataServiceRestClient getInstance(String webapiUrl, RestTem
 	private long peerSolutionAccess;
 	private List<MLPPeer> peerAccessList;
 	private RestPageResponse<MLPSolution> solutionsByDate;
+	private ChangeFeedTransport solutionChanges;
+	private CatalogExportReader catalogExport;
+	private DeleteCountsTransport deleteCounts;
 	private MLPStepResult stepResultById;
 	private List<MLPCodeNamePair> pairs;
 	private List<String> valueSetNames;
@@ -428,6 +459,16 @@ public RestPageResponse<MLPSolution> getSolutions(RestPageRequest pageRequest) {
 		return solutions;
 	}
 
+	@Override
+	public RestPageResponse<MLPSolution> seekSolutions(String token, RestPageRequest pageRequest) {
+		return solutions;
+	}
+
+	@Override
+	public Iterator<MLPSolution> iterateSolutions(RestPageRequest pageRequest) {
+		return new SeekPageIterator<>(this::seekSolutions, pageRequest);
+	}
+
 	public void setSolutionsBySearchTerm(RestPageResponse<MLPSolution> solutions) {
 		this.solutionsBySearchTerm = solutions;
 	}
@@ -456,6 +497,25 @@ public RestPageResponse<MLPSolution> findSolutionsByDate(boolean active, String[
 		return solutionsByDate;
 	}
 
+	public void setSolutionChanges(ChangeFeedTransport changes) {
+		this.solutionChanges = changes;
+	}
+
+	@Override
+	public ChangeFeedTransport getSolutionChanges(long cursor, int limit, String[] accessTypeCodes,
+			String[] validationStatusCodes) {
+		return solutionChanges;
+	}
+
+	public void setCatalogExport(CatalogExportReader export) {
+		this.catalogExport = export;
+	}
+
+	@Override
+	public CatalogExportReader exportCatalog() {
+		return catalogExport;
+	}
+
 	public void setSolutionById(MLPSolution solution) {
 		this.solutionById = solution;
 	}
@@ -465,6 +525,15 @@ public MLPSolution getSolution(String solutionId) {
 		return solutionById;
 	}
 
+	public void setSolutionsByIds(List<MLPSolution> list) {
+		this.solutionsByIds = list;
+	}
+
+	@Override
+	public List<MLPSolution> getSolutionsByIds(List<String> solutionIds) {
+		return solutionsByIds;
+	}
+
 	public void setSolution(MLPSolution solution) {
 		this.solution = solution;
 	}
@@ -489,6 +558,44 @@ public void deleteSolution(String solutionId) {
 		// What to mock here?
 	}
 
+	public void setDeleteCounts(DeleteCountsTransport counts) {
+		this.deleteCounts = counts;
+	}
+
+	@Override
+	public DeleteCountsTransport deleteSolutions(List<String> solutionIds) {
+		return deleteCounts;
+	}
+
+	public void setSolutionPicture(byte[] picture) {
+		this.solutionPicture = picture;
+	}
+
+	@Override
+	public String getSolutionPicture(String solutionId, OutputStream out) {
+		if (solutionPicture == null)
+			return null;
+		copyPicture(new ByteArrayInputStream(solutionPicture), out);
+		return MediaType.APPLICATION_OCTET_STREAM_VALUE;
+	}
+
+	@Override
+	public byte[] getSolutionPicture(String solutionId) {
+		return solutionPicture;
+	}
+
+	@Override
+	public void saveSolutionPicture(String solutionId, String contentType, InputStream picture) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		copyPicture(picture, out);
+		this.solutionPicture = out.toByteArray();
+	}
+
+	@Override
+	public void deleteSolutionPicture(String solutionId) {
+		this.solutionPicture = null;
+	}
+
 	public void setSolutionRevisionsById(List<MLPSolutionRevision> list) {
 		this.solutionRevisionListById = list;
 	}
@@ -516,6 +623,15 @@ public MLPSolutionRevision getSolutionRevision(String solutionId, String revisio
 		return solutionRevisionById;
 	}
 
+	public void setSolutionRevisionsByIds(List<MLPSolutionRevision> list) {
+		this.solutionRevisionsByIds = list;
+	}
+
+	@Override
+	public List<MLPSolutionRevision> getSolutionRevisionsByIds(List<String> revisionIds) {
+		return solutionRevisionsByIds;
+	}
+
 	public void setSolutionRevisionsForArtifact(List<MLPSolutionRevision> list) {
 		solutionRevisionsForArtifact = list;
 	}
@@ -563,6 +679,20 @@ public void dropSolutionRevisionArtifact(String solutionId, String revisionId, S
 		// What to mock here?
 	}
 
+	public void setBatchResult(BatchResultTransport result) {
+		this.batchResult = result;
+	}
+
+	@Override
+	public BatchResultTransport addSolutionRevisionArtifacts(String revisionId, List<String> artifactIds) {
+		return batchResult;
+	}
+
+	@Override
+	public BatchResultTransport dropSolutionRevisionArtifacts(String revisionId, List<String> artifactIds) {
+		return batchResult;
+	}
+
 	public void setTags(RestPageResponse<MLPTag> tags) {
 		this.tags = tags;
 	}
@@ -605,6 +735,16 @@ public void dropSolutionTag(String solutionId, String tag) {
 		// what to mock?
 	}
 
+	@Override
+	public BatchResultTransport addSolutionTags(String solutionId, List<String> tags) {
+		return batchResult;
+	}
+
+	@Override
+	public BatchResultTransport dropSolutionTags(String solutionId, List<String> tags) {
+		return batchResult;
+	}
+
 	public void setArtifactCount(long count) {
 		this.artifactCount = count;
 	}
@@ -623,6 +763,16 @@ public RestPageResponse<MLPArtifact> getArtifacts(RestPageRequest pageRequest) {
 		return artifacts;
 	}
 
+	@Override
+	public RestPageResponse<MLPArtifact> seekArtifacts(String token, RestPageRequest pageRequest) {
+		return artifacts;
+	}
+
+	@Override
+	public Iterator<MLPArtifact> iterateArtifacts(RestPageRequest pageRequest) {
+		return new SeekPageIterator<>(this::seekArtifacts, pageRequest);
+	}
+
 	public void setArtifactsBySearchTerm(RestPageResponse<MLPArtifact> artifacts) {
 		this.artifactsBySearchTerm = artifacts;
 	}
@@ -651,6 +801,15 @@ public MLPArtifact getArtifact(String artifactId) {
 		return artifactById;
 	}
 
+	public void setArtifactsByIds(List<MLPArtifact> list) {
+		this.artifactsByIds = list;
+	}
+
+	@Override
+	public List<MLPArtifact> getArtifactsByIds(List<String> artifactIds) {
+		return artifactsByIds;
+	}
+
 	public void setArtifact(MLPArtifact artifact) {
 		this.artifact = artifact;
 	}
@@ -665,6 +824,16 @@ public void updateArtifact(MLPArtifact artifact) {
 		this.artifact = artifact;
 	}
 
+	@Override
+	public BatchResultTransport createArtifacts(List<MLPArtifact> artifacts) {
+		return batchResult;
+	}
+
+	@Override
+	public BatchResultTransport updateArtifacts(List<MLPArtifact> artifacts) {
+		return batchResult;
+	}
+
 	@Override
 	public void deleteArtifact(String artifactId) {
 		// How to mock?
@@ -688,6 +857,16 @@ public RestPageResponse<MLPUser> getUsers(RestPageRequest pageRequest) {
 		return users;
 	}
 
+	@Override
+	public RestPageResponse<MLPUser> seekUsers(String token, RestPageRequest pageRequest) {
+		return users;
+	}
+
+	@Override
+	public Iterator<MLPUser> iterateUsers(RestPageRequest pageRequest) {
+		return new SeekPageIterator<>(this::seekUsers, pageRequest);
+	}
+
 	public void setUsersBySearchTerm(RestPageResponse<MLPUser> users) {
 		this.usersBySearchTerm = users;
 	}
@@ -735,6 +914,15 @@ public MLPUser getUser(String userId) {
 		return userById;
 	}
 
+	public void setUsersByIds(List<MLPUser> list) {
+		this.usersByIds = list;
+	}
+
+	@Override
+	public List<MLPUser> getUsersByIds(List<String> userIds) {
+		return usersByIds;
+	}
+
 	public void setUser(MLPUser user) {
 		this.user = user;
 	}
@@ -754,6 +942,40 @@ public void deleteUser(String userId) {
 		// How to mock?
 	}
 
+	@Override
+	public DeleteCountsTransport deleteUsers(List<String> userIds) {
+		return deleteCounts;
+	}
+
+	public void setUserPicture(byte[] picture) {
+		this.userPicture = picture;
+	}
+
+	@Override
+	public String getUserPicture(String userId, OutputStream out) {
+		if (userPicture == null)
+			return null;
+		copyPicture(new ByteArrayInputStream(userPicture), out);
+		return MediaType.APPLICATION_OCTET_STREAM_VALUE;
+	}
+
+	@Override
+	public byte[] getUserPicture(String userId) {
+		return userPicture;
+	}
+
+	@Override
+	public void saveUserPicture(String userId, String contentType, InputStream picture) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		copyPicture(picture, out);
+		this.userPicture = out.toByteArray();
+	}
+
+	@Override
+	public void deleteUserPicture(String userId) {
+		this.userPicture = null;
+	}
+
 	public void setUserRoles(List<MLPRole> roles) {
 		this.userRoles = roles;
 	}
@@ -974,6 +1196,11 @@ public void deletePeer(String peerId) {
 		// How to mock?
 	}
 
+	@Override
+	public DeleteCountsTransport deletePeers(List<String> peerIds) {
+		return deleteCounts;
+	}
+
 	public void setPeerSubscriptions(List<MLPPeerSubscription> subs) {
 		this.peerSubscriptions = subs;
 	}
@@ -1155,6 +1382,29 @@ public void setUserViewedNotification(String notificationId, String userId) {
 		// How to mock?
 	}
 
+	public void setNotificationRecipientCount(long count) {
+		this.notificationRecipientCount = count;
+	}
+
+	@Override
+	public long addUsersToNotification(String notificationId, NotificationAudienceRequest audience) {
+		return notificationRecipientCount;
+	}
+
+	public void setUnreadNotificationCount(long count) {
+		this.unreadNotificationCount = count;
+	}
+
+	@Override
+	public long getUserUnreadNotificationCount(String userId) {
+		return unreadNotificationCount;
+	}
+
+	@Override
+	public BatchResultTransport setUserViewedNotifications(String userId, List<String> notificationIds) {
+		return batchResult;
+	}
+
 	public void setUserNotificationPreference(MLPUserNotifPref usrNotifPref) {
 		this.usrNotifPref = usrNotifPref;
 	}
@@ -1229,6 +1479,16 @@ public void dropSolutionUserAccess(String solutionId, String userId) {
 		// How to mock?
 	}
 
+	@Override
+	public BatchResultTransport addSolutionUsersAccess(String solutionId, List<String> userIds) {
+		return batchResult;
+	}
+
+	@Override
+	public BatchResultTransport dropSolutionUsersAccess(String solutionId, List<String> userIds) {
+		return batchResult;
+	}
+
 	@Override
 	public void updatePassword(MLPUser user, MLPPasswordChangeRequest changeRequest) {
 		// How to mock?
@@ -1478,6 +1738,17 @@ public RestPageResponse<MLPSolution> findPortalSolutionsByKwAndTags(String[] key
 		return this.portalSolutions;
 	}
 
+	public void setPortalSolutionFacetCounts(FacetCountsTransport facetCounts) {
+		this.facetCounts = facetCounts;
+	}
+
+	@Override
+	public FacetCountsTransport getPortalSolutionFacetCounts(String[] keywords, Boolean active,
+			String[] accessTypeCodes, String[] modelTypeCodes, String[] validationStatusCodes, String[] allTags,
+			String[] anyTags, String[] noTags) {
+		return this.facetCounts;
+	}
+
 	public void setUserSolutions(RestPageResponse<MLPSolution> solutions) {
 		this.userSolutions = solutions;
 	}
@@ -1513,6 +1784,16 @@ public RestPageResponse<MLPThread> getSolutionRevisionThreads(String solutionId,
 		return this.solutionRevisionThreads;
 	}
 
+	public void setSolutionRevisionThreadTrees(RestPageResponse<ThreadTreeTransport> trees) {
+		this.solutionRevisionThreadTrees = trees;
+	}
+
+	@Override
+	public RestPageResponse<ThreadTreeTransport> getSolutionRevisionThreadTrees(String solutionId, String revisionId,
+			RestPageRequest pageRequest) {
+		return this.solutionRevisionThreadTrees;
+	}
+
 	public void setSolutionRevisionCommentCount(long count) {
 		this.solutionRevisionCommentCount = count;
 	}
@@ -1550,6 +1831,16 @@ public RestPageResponse<MLPStepResult> getStepResults(RestPageRequest pageReques
 		return stepResults;
 	}
 
+	@Override
+	public RestPageResponse<MLPStepResult> seekStepResults(String token, RestPageRequest pageRequest) {
+		return stepResults;
+	}
+
+	@Override
+	public Iterator<MLPStepResult> iterateStepResults(RestPageRequest pageRequest) {
+		return new SeekPageIterator<>(this::seekStepResults, pageRequest);
+	}
+
 	public void setSearchStepResults(RestPageResponse<MLPStepResult> results) {
 		this.searchStepResults = results;
 	}
@@ -1654,6 +1945,16 @@ public void dropPeerFromGroup(String peerId, Long peerGroupId) {
 		// How to mock?
 	}
 
+	@Override
+	public BatchResultTransport addPeersToGroup(List<String> peerIds, Long peerGroupId) {
+		return batchResult;
+	}
+
+	@Override
+	public BatchResultTransport dropPeersFromGroup(List<String> peerIds, Long peerGroupId) {
+		return batchResult;
+	}
+
 	public void setSolutionsInGroup(RestPageResponse<MLPSolution> solutionsInGroup) {
 		this.solutionsInGroup = solutionsInGroup;
 	}
@@ -1673,6 +1974,16 @@ public void dropSolutionFromGroup(String solutionId, Long solutionGroupId) {
 		// How to mock?
 	}
 
+	@Override
+	public BatchResultTransport addSolutionsToGroup(List<String> solutionIds, Long solutionGroupId) {
+		return batchResult;
+	}
+
+	@Override
+	public BatchResultTransport dropSolutionsFromGroup(List<String> solutionIds, Long solutionGroupId) {
+		return batchResult;
+	}
+
 	public void setPeerSolutionGroupMaps(RestPageResponse<MLPPeerSolAccMap> peerSolutionGroupMaps) {
 		this.peerSolutionGroupMaps = peerSolutionGroupMaps;
 	}
@@ -1735,6 +2046,20 @@ public void setRequestId(String requestId) {
 		logger.info("set request id {}", this.cachedRequestId);
 	}
 
+	public void setConnectionPoolStats(PoolStats poolStats) {
+		this.poolStats = poolStats;
+	}
+
+	@Override
+	public PoolStats getConnectionPoolStats() {
+		return poolStats;
+	}
+
+	@Override
+	public void close() {
+		// no resources to release
+	}
+
 	public void setCompositeSolutionMembers(List<String> members) {
 		this.solutionMembers = members;
 	}
@@ -1887,4 +2212,12 @@ public void dropUserTag(String userId, String tag) {
 		// what to mock?
 	}
 
+	private static void copyPicture(InputStream in, OutputStream out) {
+		try {
+			StreamUtils.copy(in, out);
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
 }
@@ -23,11 +23,13 @@
 import java.net.URI;
 
 import org.apache.http.HttpHost;
+import org.apache.http.auth.AuthScheme;
 import org.apache.http.client.AuthCache;
 import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.conn.SchemePortResolver;
+import org.apache.http.conn.UnsupportedSchemeException;
 import org.apache.http.impl.auth.BasicScheme;
-import org.apache.http.impl.client.BasicAuthCache;
-import org.apache.http.protocol.BasicHttpContext;
+import org.apache.http.impl.conn.DefaultSchemePortResolver;
 import org.apache.http.protocol.HttpContext;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
@@ -37,34 +39,78 @@
  * 
  * From:
  * http://www.baeldung.com/2012/04/16/how-to-use-resttemplate-with-basic-authentication-in-spring-3-1/
+ * 
+ * The auth cache with the basic scheme is built once and shared by all
+ * requests; only the small per-request context is allocated on each call.
  */
 public class HttpComponentsClientHttpRequestFactoryBasicAuth extends HttpComponentsClientHttpRequestFactory {
 
-	private HttpHost host;
+	/**
+	 * Answers the same scheme for the one host used by the client. Immutable, so
+	 * it is safe for concurrent requests; a basic scheme holds no state once it
+	 * is created.
+	 */
+	private static class PreemptiveAuthCache implements AuthCache {
+
+		private static final SchemePortResolver portResolver = DefaultSchemePortResolver.INSTANCE;
+		private final HttpHost host;
+		private final AuthScheme authScheme;
+
+		PreemptiveAuthCache(HttpHost host, AuthScheme authScheme) {
+			this.host = normalize(host);
+			this.authScheme = authScheme;
+		}
+
+		/**
+		 * Replaces a missing port with the default for the scheme, so http://host
+		 * and http://host:80 match.
+		 */
+		private static HttpHost normalize(HttpHost host) {
+			if (host.getPort() > 0)
+				return host;
+			try {
+				return new HttpHost(host.getHostName(), portResolver.resolve(host), host.getSchemeName());
+			} catch (UnsupportedSchemeException ex) {
+				return host;
+			}
+		}
+
+		@Override
+		public AuthScheme get(HttpHost target) {
+			return host.equals(normalize(target)) ? authScheme : null;
+		}
+
+		@Override
+		public void put(HttpHost target, AuthScheme scheme) {
+			// immutable
+		}
+
+		@Override
+		public void remove(HttpHost target) {
+			// immutable
+		}
+
+		@Override
+		public void clear() {
+			// immutable
+		}
+	}
+
+	private final AuthCache authCache;
 
 	/**
 	 * @param host
 	 *            HttpHost
 	 */
 	public HttpComponentsClientHttpRequestFactoryBasicAuth(HttpHost host) {
-		this.host = host;
+		this.authCache = new PreemptiveAuthCache(host, new BasicScheme());
 	}
 
 	@Override
 	protected HttpContext createHttpContext(HttpMethod httpMethod, URI uri) {
-		return createHttpContext();
-	}
-
-	private HttpContext createHttpContext() {
-		// Create AuthCache instance
-		AuthCache authCache = new BasicAuthCache();
-		// Generate BASIC scheme object and add it to the local auth cache
-		BasicScheme basicAuth = new BasicScheme();
-		authCache.put(host, basicAuth);
-
-		// Add AuthCache to the execution context
-		BasicHttpContext localcontext = new BasicHttpContext();
-		localcontext.setAttribute(HttpClientContext.AUTH_CACHE, authCache);
-		return localcontext;
+		// The context holds per-request state so it cannot be shared
+		HttpClientContext context = HttpClientContext.create();
+		context.setAuthCache(authCache);
+		return context;
 	}
 }
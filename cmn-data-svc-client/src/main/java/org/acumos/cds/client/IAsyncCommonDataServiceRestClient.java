@@ -0,0 +1,3041 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.client;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.acumos.cds.CodeNameType;
+import org.acumos.cds.domain.MLPAccessType;
+import org.acumos.cds.domain.MLPArtifact;
+import org.acumos.cds.domain.MLPArtifactType;
+import org.acumos.cds.domain.MLPCodeNamePair;
+import org.acumos.cds.domain.MLPComment;
+import org.acumos.cds.domain.MLPDeploymentStatus;
+import org.acumos.cds.domain.MLPDocument;
+import org.acumos.cds.domain.MLPLoginProvider;
+import org.acumos.cds.domain.MLPModelType;
+import org.acumos.cds.domain.MLPNotification;
+import org.acumos.cds.domain.MLPPasswordChangeRequest;
+import org.acumos.cds.domain.MLPPeer;
+import org.acumos.cds.domain.MLPPeerGroup;
+import org.acumos.cds.domain.MLPPeerSolAccMap;
+import org.acumos.cds.domain.MLPPeerSubscription;
+import org.acumos.cds.domain.MLPPublishRequest;
+import org.acumos.cds.domain.MLPRevisionDescription;
+import org.acumos.cds.domain.MLPRole;
+import org.acumos.cds.domain.MLPRoleFunction;
+import org.acumos.cds.domain.MLPSiteConfig;
+import org.acumos.cds.domain.MLPSolution;
+import org.acumos.cds.domain.MLPSolutionDeployment;
+import org.acumos.cds.domain.MLPSolutionDownload;
+import org.acumos.cds.domain.MLPSolutionFavorite;
+import org.acumos.cds.domain.MLPSolutionGroup;
+import org.acumos.cds.domain.MLPSolutionRating;
+import org.acumos.cds.domain.MLPSolutionRevision;
+import org.acumos.cds.domain.MLPSolutionValidation;
+import org.acumos.cds.domain.MLPSolutionWeb;
+import org.acumos.cds.domain.MLPStepResult;
+import org.acumos.cds.domain.MLPStepStatus;
+import org.acumos.cds.domain.MLPStepType;
+import org.acumos.cds.domain.MLPTag;
+import org.acumos.cds.domain.MLPThread;
+import org.acumos.cds.domain.MLPToolkitType;
+import org.acumos.cds.domain.MLPUser;
+import org.acumos.cds.domain.MLPUserLoginProvider;
+import org.acumos.cds.domain.MLPUserNotifPref;
+import org.acumos.cds.domain.MLPUserNotification;
+import org.acumos.cds.domain.MLPValidationSequence;
+import org.acumos.cds.domain.MLPValidationStatus;
+import org.acumos.cds.domain.MLPValidationType;
+import org.acumos.cds.transport.BatchResultTransport;
+import org.acumos.cds.transport.ChangeFeedTransport;
+import org.acumos.cds.transport.DeleteCountsTransport;
+import org.acumos.cds.transport.FacetCountsTransport;
+import org.acumos.cds.transport.NotificationAudienceRequest;
+import org.acumos.cds.transport.RestPageRequest;
+import org.acumos.cds.transport.RestPageResponse;
+import org.acumos.cds.transport.SuccessTransport;
+import org.acumos.cds.transport.ThreadTreeTransport;
+import org.apache.http.pool.PoolStats;
+
+/**
+ * Defines the asynchronous interface of the Controller REST client. Each
+ * method sends the same request as the method of the same name in
+ * {@link ICommonDataServiceRestClient} but returns at once with a future,
+ * which lets a caller issue independent requests in parallel; e.g., fetch a
+ * solution, its revisions and its tags together and wait for all of them.
+ * Methods that page through results with an iterator are not offered here.
+ * 
+ * On any problem a future completes exceptionally. The cause is the same
+ * runtime exception that the synchronous client throws, usually
+ * HttpStatusCodeException, whose method
+ * {@link org.springframework.web.client.HttpStatusCodeException#getResponseBodyAsString()}
+ * yields the detailed error message sent by the server; or
+ * {@link java.util.concurrent.TimeoutException} if the call did not finish in
+ * the configured time.
+ */
+@SuppressWarnings("deprecation")
+public interface IAsyncCommonDataServiceRestClient extends AutoCloseable {
+
+	/**
+	 * Checks the health of the server.
+	 * 
+	 * @return Future that completes with object with health string
+	 */
+	CompletableFuture<SuccessTransport> getHealth();
+
+	/**
+	 * Gets the version of the server.
+	 * 
+	 * @return Future that completes with object with version string
+	 */
+	CompletableFuture<SuccessTransport> getVersion();
+
+	/**
+	 * Gets all access types.
+	 * 
+	 * @return Future that completes with list of access type objects.
+	 * @deprecated Use {@link #getCodeNamePairs(CodeNameType)}
+	 */
+	@Deprecated
+	CompletableFuture<List<MLPAccessType>> getAccessTypes();
+
+	/**
+	 * Gets all artifact types.
+	 * 
+	 * @return Future that completes with list of artifact type code-name pairs.
+	 * @deprecated Use {@link #getCodeNamePairs(CodeNameType)}
+	 */
+	@Deprecated
+	CompletableFuture<List<MLPArtifactType>> getArtifactTypes();
+
+	/**
+	 * Gets all deployment status codes
+	 * 
+	 * @return Future that completes with list of deployment status code-name pairs.
+	 * @deprecated Use {@link #getCodeNamePairs(CodeNameType)}
+	 */
+	@Deprecated
+	CompletableFuture<List<MLPDeploymentStatus>> getDeploymentStatuses();
+
+	/**
+	 * Gets all login providers.
+	 * 
+	 * @return Future that completes with list of login provider code-name pairs.
+	 * @deprecated Use {@link #getCodeNamePairs(CodeNameType)}
+	 */
+	@Deprecated
+	CompletableFuture<List<MLPLoginProvider>> getLoginProviders();
+
+	/**
+	 * Gets all model types.
+	 * 
+	 * @return Future that completes with list of model type code-name pairs.
+	 * @deprecated Use {@link #getCodeNamePairs(CodeNameType)}
+	 */
+	@Deprecated
+	CompletableFuture<List<MLPModelType>> getModelTypes();
+
+	/**
+	 * Gets all step status codes.
+	 * 
+	 * @return Future that completes with list of step status code-name pairs.
+	 * @deprecated Use {@link #getCodeNamePairs(CodeNameType)}
+	 */
+	@Deprecated
+	CompletableFuture<List<MLPStepStatus>> getStepStatuses();
+
+	/**
+	 * Gets all step type codes.
+	 * 
+	 * @return Future that completes with list of step type code-name pairs.
+	 * @deprecated Use {@link #getCodeNamePairs(CodeNameType)}
+	 */
+	@Deprecated
+	CompletableFuture<List<MLPStepType>> getStepTypes();
+
+	/**
+	 * Gets all toolkit types.
+	 * 
+	 * @return Future that completes with list of tookit type code-name pairs.
+	 * @deprecated Use {@link #getCodeNamePairs(CodeNameType)}
+	 */
+	@Deprecated
+	CompletableFuture<List<MLPToolkitType>> getToolkitTypes();
+
+	/**
+	 * Gets all validation status codes
+	 * 
+	 * @return Future that completes with list of validation status code-name pairs.
+	 * @deprecated Use {@link #getCodeNamePairs(CodeNameType)}
+	 */
+	@Deprecated
+	CompletableFuture<List<MLPValidationStatus>> getValidationStatuses();
+
+	/**
+	 * Gets all validation type codes.
+	 * 
+	 * @return Future that completes with list of validation type code-name pairs.
+	 * @deprecated Use {@link #getCodeNamePairs(CodeNameType)}
+	 */
+	@Deprecated
+	CompletableFuture<List<MLPValidationType>> getValidationTypes();
+
+	/**
+	 * Gets the list of code-name value-set names.
+	 * 
+	 * @return Future that completes with list of names
+	 */
+	CompletableFuture<List<String>> getValueSetNames();
+
+	/**
+	 * Gets the list of code-name pair entries for the specified value set.
+	 * 
+	 * @param valueSetName
+	 *            Value set name
+	 * @return Future that completes with list of code-name pairs
+	 */
+	CompletableFuture<List<MLPCodeNamePair>> getCodeNamePairs(CodeNameType valueSetName);
+
+	/**
+	 * Gets count of solutions.
+	 * 
+	 * @return Future that completes with count of solutions.
+	 */
+	CompletableFuture<Long> getSolutionCount();
+
+	/**
+	 * Gets a page of solutions.
+	 * 
+	 * @param pageRequest
+	 *            Page index, page size and sort information; defaults to page 0 of
+	 *            size 20 if null.
+	 * @return Future that completes with page of objects.
+	 */
+	CompletableFuture<RestPageResponse<MLPSolution>> getSolutions(RestPageRequest pageRequest);
+
+	/**
+	 * Gets a page of solutions using seek pagination, which is efficient for deep
+	 * pages. The response carries a token for the next page, which is null on
+	 * the last page; total counts are not provided.
+	 * 
+	 * @param token
+	 *            Continuation token from the previous page; null for the first
+	 *            page
+	 * @param pageRequest
+	 *            Page size and sort on one non-nullable field; the page index is
+	 *            ignored, as is the sort if a token is supplied. Server defaults
+	 *            are used if null.
+	 * @return Future that completes with page of objects with continuation token.
+	 */
+	CompletableFuture<RestPageResponse<MLPSolution>> seekSolutions(String token, RestPageRequest pageRequest);
+
+	/**
+	 * Returns solutions with a name or description that contains the search term.
+	 * 
+	 * @param searchTerm
+	 *            String to find
+	 * @param pageRequest
+	 *            Page index, page size and sort information; defaults to page 0 of
+	 *            size 20 if null.
+	 * @return Future that completes with page of solution objects.
+	 */
+	CompletableFuture<RestPageResponse<MLPSolution>> findSolutionsBySearchTerm(String searchTerm,
+			RestPageRequest pageRequest);
+
+	/**
+	 * Returns solutions tagged with the specified string.
+	 * 
+	 * @param tag
+	 *            Tag to find
+	 * @param pageRequest
+	 *            Page index, page size and sort information; defaults to page 0 of
+	 *            size 20 if null.
+	 * @return Future that completes with page of solution objects.
+	 */
+	CompletableFuture<RestPageResponse<MLPSolution>> findSolutionsByTag(String tag, RestPageRequest pageRequest);
+
+	/**
+	 * Finds solutions with the specified status, access type and validation status
+	 * code(s), and that were modified after the specified date. Checks the
+	 * last-updated date on the solution, the revisions for the solution, and the
+	 * artifacts in the revisions. A solution must have revision(s) and artifact(s)
+	 * to match.
+	 * 
+	 * @param active
+	 *            Solution active status; true for active, false for inactive
+	 * @param accessTypeCodes
+	 *            Access type codes (required)
+	 * @param validationStatusCodes
+	 *            Validation status codes (ignored if null or empty)
+	 * @param date
+	 *            Date threshold
+	 * @param pageRequest
+	 *            Page index, page size, sort information; ignored if null.
+	 * @return Future that completes with page of solution objects.
+	 */
+	CompletableFuture<RestPageResponse<MLPSolution>> findSolutionsByDate(boolean active, String[] accessTypeCodes,
+			String[] validationStatusCodes, Date date, RestPageRequest pageRequest);
+
+	/**
+	 * Gets changes to solutions, revisions, revision descriptions, artifacts and
+	 * documents from the change log, oldest first. Federated peers should use this
+	 * to synchronize incrementally instead of searching by modification date: pass
+	 * 0 on the first call, then the cursor from the previous response.
+	 * 
+	 * @param cursor
+	 *            Cursor from the previous response; 0 to start at the beginning
+	 * @param limit
+	 *            Maximum number of changes to return
+	 * @param accessTypeCodes
+	 *            Limits the changes to solutions with a revision that has one of
+	 *            these access type codes; ignored if null or empty. Solution
+	 *            deletes are always returned.
+	 * @param validationStatusCodes
+	 *            Limits the changes to solutions with a revision that has one of
+	 *            these validation status codes; ignored if null or empty
+	 * @return Future that completes with a batch of changes and the cursor for the next call
+	 */
+	CompletableFuture<ChangeFeedTransport> getSolutionChanges(long cursor, int limit, String[] accessTypeCodes,
+			String[] validationStatusCodes);
+
+	/**
+	 * Finds solutions that match every specified condition. Special-purpose method
+	 * to support the dynamic search page on the portal marketplace.
+	 * 
+	 * @param nameKeywords
+	 *            Keywords to perform "LIKE" search in solution name field; ignored
+	 *            if null or empty
+	 * @param descriptionKeywords
+	 *            Keywords to perform "LIKE" search in the revision description (any
+	 *            access type); ignored if null or empty
+	 * @param active
+	 *            Solution active status; true for active, false for inactive
+	 * @param userIds
+	 *            User IDs who created the solution; ignored if null or empty
+	 * @param accessTypeCodes
+	 *            Access type codes; use four-letter sequence "null" to match a null
+	 *            value; ignored if null or empty
+	 * @param modelTypeCodes
+	 *            Model type codes; use four-letter sequence "null" to match a null
+	 *            value; ignored if null or empty
+	 * @param validationStatusCodes
+	 *            Validation status codes; use four-letter sequence "null" to match
+	 *            a null value; ignored if null or empty
+	 * @param tags
+	 *            Solution tag names; ignored if null or empty
+	 * @param authorKeywords
+	 *            Keywords to perform "LIKE" search in the Authors field; ignored if
+	 *            null or empty
+	 * @param publisherKeywords
+	 *            Keywords to perform "LIKE" search in the Publisher field; ignored
+	 *            if null or empty
+	 * @param pageRequest
+	 *            Page index, page size and sort information; defaults to page 0 of
+	 *            size 20 if null.
+	 * @return Future that completes with page of solution objects.
+	 */
+	CompletableFuture<RestPageResponse<MLPSolution>> findPortalSolutions(String[] nameKeywords,
+			String[] descriptionKeywords, boolean active, String[] userIds, String[] accessTypeCodes,
+			String[] modelTypeCodes, String[] validationStatusCodes, String[] tags, String[] authorKeywords,
+			String[] publisherKeywords, RestPageRequest pageRequest);
+
+	/**
+	 * Gets a page of solutions that match every condition, with the caveat that
+	 * multiple free-text fields are searched. Every keyword must match the start
+	 * of a word in those fields, or any keyword may match a solution or revision
+	 * ID exactly. Other facets such as userId, model type code, etc. must match.
+	 * Without a sort in the page request, results are ordered by relevance.
+	 * 
+	 * @param keywords
+	 *            Keywords to find in the name, revision description, author,
+	 *            publisher and other fields. Required; must not be empty.
+	 * @param active
+	 *            Solution active status; true for active, false for inactive
+	 * @param userIds
+	 *            User IDs who created the solution; ignored if null or empty
+	 * @param accessTypeCodes
+	 *            Access type codes; use four-letter sequence "null" to match a null
+	 *            value; ignored if null or empty
+	 * @param modelTypeCodes
+	 *            Model type codes; use four-letter sequence "null" to match a null
+	 *            value; ignored if null or empty
+	 * @param tags
+	 *            Solution tag names; ignored if null or empty
+	 * @param pageRequest
+	 *            Page index, page size and sort information; defaults to page 0 of
+	 *            size 20 if null.
+	 * @return Future that completes with page of solution objects.
+	 */
+	CompletableFuture<RestPageResponse<MLPSolution>> findPortalSolutionsByKw(String[] keywords, boolean active,
+			String[] userIds, String[] accessTypeCodes, String[] modelTypeCodes, String[] tags,
+			RestPageRequest pageRequest);
+
+	/**
+	 * Gets a page of solutions that match every condition, with the caveat that
+	 * multiple free-text fields are searched. Every keyword must match the start
+	 * of a word in those fields, or any keyword may match a solution or revision
+	 * ID exactly. Other facets such as userId, model type code, etc. must match.
+	 * Without a sort in the page request, results are ordered by relevance.
+	 * 
+	 * @param keywords
+	 *            Keywords to find in the name, revision description, author,
+	 *            publisher and other field; ignored if null or empty
+	 * @param active
+	 *            Solution active status; true for active, false for inactive
+	 * @param userIds
+	 *            User IDs who created the solution; ignored if null or empty
+	 * @param accessTypeCodes
+	 *            Access type codes; use four-letter sequence "null" to match a null
+	 *            value; ignored if null or empty
+	 * @param modelTypeCodes
+	 *            Model type codes; use four-letter sequence "null" to match a null
+	 *            value; ignored if null or empty
+	 * @param allTags
+	 *            Solutions must have ALL tags in the supplied set; ignored if null
+	 *            or empty
+	 * @param anyTags
+	 *            Solutions must have ANY tag in the supplied set (one or more);
+	 *            ignored if null or empty.
+	 * @param pageRequest
+	 *            Page index, page size and sort information; defaults to page 0 of
+	 *            size 20 if null.
+	 * @return Future that completes with page of solution objects.
+	 */
+	CompletableFuture<RestPageResponse<MLPSolution>> findPortalSolutionsByKwAndTags(String[] keywords, boolean active,
+			String[] userIds, String[] accessTypeCodes, String[] modelTypeCodes, String[] allTags, String[] anyTags,
+			RestPageRequest pageRequest);
+
+	/**
+	 * Counts solutions that match the keywords and facet values, in total and for
+	 * each model type, access type, validation status and tag, so a portal can
+	 * show the size of each refinement without extra queries. Values of one facet
+	 * are OR-ed and facets are AND-ed.
+	 * 
+	 * @param keywords
+	 *            Keywords as in {@link #findPortalSolutionsByKw}; ignored if null or
+	 *            empty
+	 * @param active
+	 *            Solution active status; ignored if null
+	 * @param accessTypeCodes
+	 *            Access type codes; ignored if null or empty
+	 * @param modelTypeCodes
+	 *            Model type codes; ignored if null or empty
+	 * @param validationStatusCodes
+	 *            Validation status codes; ignored if null or empty
+	 * @param allTags
+	 *            Solutions must have ALL tags in the supplied set; ignored if null
+	 *            or empty
+	 * @param anyTags
+	 *            Solutions must have ANY tag in the supplied set; ignored if null or
+	 *            empty
+	 * @param noTags
+	 *            Solutions must have NONE of the tags in the supplied set; ignored
+	 *            if null or empty
+	 * @return Future that completes with facet counts
+	 */
+	CompletableFuture<FacetCountsTransport> getPortalSolutionFacetCounts(String[] keywords, Boolean active,
+			String[] accessTypeCodes, String[] modelTypeCodes, String[] validationStatusCodes, String[] allTags,
+			String[] anyTags, String[] noTags);
+
+	/**
+	 * Finds solutions editable by the specified user ('my models'). This includes
+	 * the user's private solutions and solutions co-owned by (shared with) the
+	 * user. This special-purpose method supports a dynamic search page on the
+	 * portal interface.
+	 * 
+	 * @param nameKeywords
+	 *            Keywords to perform "LIKE" search in solution name field; ignored
+	 *            if null or empty
+	 * @param descriptionKeywords
+	 *            Keywords to perform "LIKE" search in the revision description (any
+	 *            access type); ignored if null or empty
+	 * @param active
+	 *            Solution active status; true for active, false for inactive;
+	 *            required.
+	 * @param userId
+	 *            User ID who created a solution or has access to a solution;
+	 *            required.
+	 * @param accessTypeCodes
+	 *            Access type codes; use four-letter sequence "null" to match a null
+	 *            value; ignored if null or empty
+	 * @param modelTypeCodes
+	 *            Model type codes; use four-letter sequence "null" to match a null
+	 *            value; ignored if null or empty
+	 * @param validationStatusCodes
+	 *            Validation status codes; use four-letter sequence "null" to match
+	 *            a null value; ignored if null or empty
+	 * @param tags
+	 *            Solution tag names; ignored if null or empty
+	 * @param pageRequest
+	 *            Page index, page size and sort information; defaults to page 0 of
+	 *            size 20 if null.
+	 * @return Future that completes with page of solution objects.
+	 */
+	CompletableFuture<RestPageResponse<MLPSolution>> findUserSolutions(String[] nameKeywords,
+			String[] descriptionKeywords, boolean active, String userId, String[] accessTypeCodes,
+			String[] modelTypeCodes, String[] validationStatusCodes, String[] tags, RestPageRequest pageRequest);
+
+	/**
+	 * Searches solutions for exact matches.
+	 * 
+	 * @param queryParameters
+	 *            Map of field-name, field-value pairs to use as query criteria.
+	 *            Accepts these field names: name, active, userId, sourceId,
+	 *            modelTypeCode, toolkitTypeCode, origin.
+	 * @param isOr
+	 *            If true, finds matches on any field-value pair (conditions are
+	 *            OR-ed together); otherwise finds matches on all field-value pairs
+	 *            (conditions are AND-ed together).
+	 * @param pageRequest
+	 *            Page index, page size, sort information; defaults to page 0 of
+	 *            size 20 if null.
+	 * @return Future that completes with page of solution objects
+	 */
+	CompletableFuture<RestPageResponse<MLPSolution>> searchSolutions(Map<String, Object> queryParameters, boolean isOr,
+			RestPageRequest pageRequest);
+
+	/**
+	 * Gets the solution with the specified ID.
+	 * 
+	 * @param solutionId
+	 *            solution ID
+	 * @return Future that completes with solution object
+	 */
+	CompletableFuture<MLPSolution> getSolution(String solutionId);
+
+	/**
+	 * Gets the solutions with the specified IDs in one request. IDs are sent in
+	 * the request body, so the list is not limited by URL length.
+	 * 
+	 * @param solutionIds
+	 *            List of solution IDs
+	 * @return Future that completes with list of solutions that were found, in no
+	 *         particular order; unknown
+	 *         IDs are skipped
+	 */
+	CompletableFuture<List<MLPSolution>> getSolutionsByIds(List<String> solutionIds);
+
+	/**
+	 * Creates a solution.
+	 * 
+	 * @param solution
+	 *            Solution data. If the ID field is null a new value is generated;
+	 *            otherwise the ID value is used if valid and not already known. Any
+	 *            tags in the entry will be created if needed.
+	 * @return Future that completes with complete object, with generated
+	 *         information such as ID
+	 */
+	CompletableFuture<MLPSolution> createSolution(MLPSolution solution);
+
+	/**
+	 * Updates a solution. Any tags in the entry will be created if needed.
+	 * 
+	 * @param solution
+	 *            Solution data
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> updateSolution(MLPSolution solution);
+
+	/**
+	 * A convenience method that increments the view count of a solution by 1.
+	 * 
+	 * This requires only one database access, instead of two to fetch the solution
+	 * entity and save it again.
+	 * 
+	 * @param solutionId
+	 *            solution ID
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> incrementSolutionViewCount(String solutionId);
+
+	/**
+	 * Deletes a solution. Cascades the delete to revisions and other related
+	 * entities like {@link ICommonDataServiceRestClient#deleteSolutions(List)}; if
+	 * other associations remain the delete will fail.
+	 * 
+	 * @param solutionId
+	 *            solution ID
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> deleteSolution(String solutionId);
+
+	/**
+	 * Deletes many solutions in one transaction, cascading to related entities.
+	 * See {@link ICommonDataServiceRestClient#deleteSolutions(List)}.
+	 * 
+	 * @param solutionIds
+	 *            List of solution IDs
+	 * @return Future of the number of solutions deleted and number of rows deleted
+	 *         from each table
+	 */
+	CompletableFuture<DeleteCountsTransport> deleteSolutions(List<String> solutionIds);
+
+	/**
+	 * Gets the picture of a solution and copies it to the specified stream. The
+	 * picture is sent as binary content, not as part of the solution object.
+	 * 
+	 * @param solutionId
+	 *            solution ID
+	 * @param out
+	 *            Stream that receives the picture; not closed by this method
+	 * @return Future that completes with content type of the picture; null if the
+	 *         solution has no picture
+	 */
+	CompletableFuture<String> getSolutionPicture(String solutionId, OutputStream out);
+
+	/**
+	 * Gets the picture of a solution. Check the picture hash of the solution object
+	 * to avoid fetching an unchanged picture.
+	 * 
+	 * @param solutionId
+	 *            solution ID
+	 * @return Future that completes with picture bytes; null if the solution has no
+	 *         picture
+	 */
+	CompletableFuture<byte[]> getSolutionPicture(String solutionId);
+
+	/**
+	 * Saves the picture of a solution, replacing any existing picture. The server
+	 * sets the picture hash of the solution.
+	 * 
+	 * @param solutionId
+	 *            solution ID
+	 * @param contentType
+	 *            Media type such as "image/png"; if null the server detects the
+	 *            type from the content
+	 * @param picture
+	 *            Stream with the picture; read to the end but not closed by this
+	 *            method
+	 * @return Future that completes when the picture is saved
+	 */
+	CompletableFuture<Void> saveSolutionPicture(String solutionId, String contentType, InputStream picture);
+
+	/**
+	 * Deletes the picture of a solution and clears the picture hash.
+	 * 
+	 * @param solutionId
+	 *            solution ID
+	 * @return Future that completes when the picture is deleted
+	 */
+	CompletableFuture<Void> deleteSolutionPicture(String solutionId);
+
+	/**
+	 * Gets the solution revisions for the specified solution ID.
+	 * 
+	 * @param solutionId
+	 *            solution ID.
+	 * @return Future that completes with list of Solution revision objects for the
+	 *         specified solution.
+	 */
+	CompletableFuture<List<MLPSolutionRevision>> getSolutionRevisions(String solutionId);
+
+	/**
+	 * Gets the solution revisions for the specified solution IDs.
+	 * 
+	 * @param solutionIds
+	 *            solution IDs. Caveat: the number of possible entries in this list
+	 *            is constrained by client/server limitations on URL length.
+	 * @return Future that completes with list of Solution revision objects for any
+	 *         of the specified solutions.
+	 */
+	CompletableFuture<List<MLPSolutionRevision>> getSolutionRevisions(String[] solutionIds);
+
+	/**
+	 * Gets the solution revision with the specified ID.
+	 * 
+	 * @param solutionId
+	 *            solution ID
+	 * @param revisionId
+	 *            revision ID
+	 * @return Future that completes with solution revision object
+	 */
+	CompletableFuture<MLPSolutionRevision> getSolutionRevision(String solutionId, String revisionId);
+
+	/**
+	 * Gets the solution revisions with the specified IDs in one request.
+	 * 
+	 * @param revisionIds
+	 *            List of revision IDs
+	 * @return Future that completes with list of revisions that were found, in no
+	 *         particular order; unknown
+	 *         IDs are skipped
+	 */
+	CompletableFuture<List<MLPSolutionRevision>> getSolutionRevisionsByIds(List<String> revisionIds);
+
+	/**
+	 * Gets the solution revisions for the specified artifact ID.
+	 * 
+	 * @param artifactId
+	 *            artifact ID
+	 * @return Future that completes with list of Solution revision objects for the
+	 *         specified artifact.
+	 */
+	CompletableFuture<List<MLPSolutionRevision>> getSolutionRevisionsForArtifact(String artifactId);
+
+	/**
+	 * Creates a solution revision.
+	 * 
+	 * @param revision
+	 *            Solution revision data. If the ID field is null a new value is
+	 *            generated; otherwise the ID value is used if valid and not already
+	 *            known.
+	 * @return Future that completes with complete object, with generated
+	 *         information such as ID
+	 */
+	CompletableFuture<MLPSolutionRevision> createSolutionRevision(MLPSolutionRevision revision);
+
+	/**
+	 * Updates a solution revision.
+	 * 
+	 * @param revision
+	 *            Solution revision data
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> updateSolutionRevision(MLPSolutionRevision revision);
+
+	/**
+	 * Deletes a solution revision. A solution revision can be deleted if is not
+	 * associated with any artifacts; if associations remain the delete will fail.
+	 * 
+	 * @param solutionId
+	 *            solution ID
+	 * @param revisionId
+	 *            revision ID
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> deleteSolutionRevision(String solutionId, String revisionId);
+
+	/**
+	 * Gets the artifacts for a solution revision
+	 * 
+	 * @param solutionId
+	 *            solution ID
+	 * @param revisionId
+	 *            revision ID
+	 * @return Future that completes with list of MLPArtifact
+	 */
+	CompletableFuture<List<MLPArtifact>> getSolutionRevisionArtifacts(String solutionId, String revisionId);
+
+	/**
+	 * Adds an artifact to a solution revision
+	 * 
+	 * @param solutionId
+	 *            Solution ID
+	 * @param revisionId
+	 *            Revision ID
+	 * @param artifactId
+	 *            Artifact Id
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> addSolutionRevisionArtifact(String solutionId, String revisionId, String artifactId);
+
+	/**
+	 * Removes an artifact from a solution revision
+	 * 
+	 * @param solutionId
+	 *            Solution ID
+	 * @param revisionId
+	 *            Revision ID
+	 * @param artifactId
+	 *            Artifact Id
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> dropSolutionRevisionArtifact(String solutionId, String revisionId, String artifactId);
+
+	/**
+	 * Adds many artifacts to a solution revision in one transaction.
+	 * 
+	 * @param revisionId
+	 *            Revision ID
+	 * @param artifactIds
+	 *            List of artifact IDs
+	 * @return Future that completes with result for each artifact ID in request
+	 *         order; artifacts that are
+	 *         unknown or already mapped are reported as failed and skipped
+	 */
+	CompletableFuture<BatchResultTransport> addSolutionRevisionArtifacts(String revisionId, List<String> artifactIds);
+
+	/**
+	 * Removes many artifacts from a solution revision in one transaction.
+	 * 
+	 * @param revisionId
+	 *            Revision ID
+	 * @param artifactIds
+	 *            List of artifact IDs
+	 * @return Future that completes with result for each artifact ID in request
+	 *         order; artifacts that are not
+	 *         mapped are reported as failed and skipped
+	 */
+	CompletableFuture<BatchResultTransport> dropSolutionRevisionArtifacts(String revisionId, List<String> artifactIds);
+
+	/**
+	 * Gets a page of solution tags.
+	 *
+	 * @param pageRequest
+	 *            Page index, page size and sort information; defaults to page 0 of
+	 *            size 20 if null.
+	 * @return Future that completes with page of solution tag objects
+	 */
+	CompletableFuture<RestPageResponse<MLPTag>> getTags(RestPageRequest pageRequest);
+
+	/**
+	 * Creates a solution tag.
+	 * 
+	 * @param tag
+	 *            tag object
+	 * @return Future that completes with complete object which wraps the tag
+	 */
+	CompletableFuture<MLPTag> createTag(MLPTag tag);
+
+	/**
+	 * Deletes a solution tag. A tag can be deleted if is not associated with any
+	 * solutions; if associations remain the delete will fail.
+	 * 
+	 * @param tag
+	 *            tag object
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> deleteTag(MLPTag tag);
+
+	/**
+	 * Gets the solution tags for the specified solution ID.
+	 * 
+	 * @param solutionId
+	 *            solution ID.
+	 * @return Future that completes with list of Solution tag objects for the
+	 *         specified solution.
+	 */
+	CompletableFuture<List<MLPTag>> getSolutionTags(String solutionId);
+
+	/**
+	 * Adds the specified tag to the specified solution. Creates the tag if needed.
+	 * 
+	 * @param tag
+	 *            tag string
+	 * @param solutionId
+	 *            solution ID
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> addSolutionTag(String solutionId, String tag);
+
+	/**
+	 * Removes the specified tag from the specified solution.
+	 * 
+	 * @param tag
+	 *            tag string
+	 * @param solutionId
+	 *            solution ID
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> dropSolutionTag(String solutionId, String tag);
+
+	/**
+	 * Adds many tags to the specified solution in one transaction, creating tags
+	 * as needed.
+	 * 
+	 * @param solutionId
+	 *            solution ID
+	 * @param tags
+	 *            List of tag strings
+	 * @return Future that completes with result for each tag in request order; tags
+	 *         already on the solution
+	 *         are reported as failed and skipped
+	 */
+	CompletableFuture<BatchResultTransport> addSolutionTags(String solutionId, List<String> tags);
+
+	/**
+	 * Removes many tags from the specified solution in one transaction.
+	 * 
+	 * @param solutionId
+	 *            solution ID
+	 * @param tags
+	 *            List of tag strings
+	 * @return Future that completes with result for each tag in request order; tags
+	 *         not on the solution are
+	 *         reported as failed and skipped
+	 */
+	CompletableFuture<BatchResultTransport> dropSolutionTags(String solutionId, List<String> tags);
+
+	/**
+	 * Gets the count of artifacts.
+	 * 
+	 * @return Future that completes with count of artifacts.
+	 */
+	CompletableFuture<Long> getArtifactCount();
+
+	/**
+	 * Gets a page of artifacts.
+	 * 
+	 * @param pageRequest
+	 *            Page index, page size and sort information; defaults to page 0 of
+	 *            size 20 if null.
+	 * @return Future that completes with page of artifact objects.
+	 */
+	CompletableFuture<RestPageResponse<MLPArtifact>> getArtifacts(RestPageRequest pageRequest);
+
+	/**
+	 * Gets a page of artifacts using seek pagination, which is efficient for deep
+	 * pages. The response carries a token for the next page, which is null on
+	 * the last page; total counts are not provided.
+	 * 
+	 * @param token
+	 *            Continuation token from the previous page; null for the first
+	 *            page
+	 * @param pageRequest
+	 *            Page size and sort on one non-nullable field; the page index is
+	 *            ignored, as is the sort if a token is supplied. Server defaults
+	 *            are used if null.
+	 * @return Future that completes with page of objects with continuation token.
+	 */
+	CompletableFuture<RestPageResponse<MLPArtifact>> seekArtifacts(String token, RestPageRequest pageRequest);
+
+	/**
+	 * Returns artifacts with a name or description that contains the search term.
+	 * 
+	 * @param searchTerm
+	 *            String to find
+	 * @param pageRequest
+	 *            Page index, page size and sort information; defaults to page 0 of
+	 *            size 20 if null.
+	 * @return Future that completes with page of artifact objects.
+	 */
+	CompletableFuture<RestPageResponse<MLPArtifact>> findArtifactsBySearchTerm(String searchTerm,
+			RestPageRequest pageRequest);
+
+	/**
+	 * Searches artifacts for exact matches.
+	 * 
+	 * @param queryParameters
+	 *            Map of field-name, field-value pairs to use as query criteria.
+	 *            Accepts these field names: artifactTypeCode, name, uri, version,
+	 *            userId
+	 * @param isOr
+	 *            If true, finds matches on any field-value pair (conditions are
+	 *            OR-ed together); otherwise finds matches on all field-value pairs
+	 *            (conditions are AND-ed together).
+	 * @param pageRequest
+	 *            Page index, page size and sort information; defaults to page 0 of
+	 *            size 20 if null.
+	 * @return Future that completes with page of artifact objects.
+	 */
+	CompletableFuture<RestPageResponse<MLPArtifact>> searchArtifacts(Map<String, Object> queryParameters, boolean isOr,
+			RestPageRequest pageRequest);
+
+	/**
+	 * Gets the artifact with the specified ID.
+	 * 
+	 * @param artifactId
+	 *            artifact ID
+	 * @return Future that completes with artifact object
+	 */
+	CompletableFuture<MLPArtifact> getArtifact(String artifactId);
+
+	/**
+	 * Gets the artifacts with the specified IDs in one request.
+	 * 
+	 * @param artifactIds
+	 *            List of artifact IDs
+	 * @return Future that completes with list of artifacts that were found, in no
+	 *         particular order; unknown
+	 *         IDs are skipped
+	 */
+	CompletableFuture<List<MLPArtifact>> getArtifactsByIds(List<String> artifactIds);
+
+	/**
+	 * Creates a artifact.
+	 * 
+	 * @param artifact
+	 *            Artifact data. If the ID field is null a new value is generated;
+	 *            otherwise the ID value is used if valid and not already known.
+	 * @return Future that completes with complete object, with generated
+	 *         information such as ID
+	 */
+	CompletableFuture<MLPArtifact> createArtifact(MLPArtifact artifact);
+
+	/**
+	 * Updates an artifact.
+	 * 
+	 * @param artifact
+	 *            Artifact data
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> updateArtifact(MLPArtifact artifact);
+
+	/**
+	 * Creates many artifacts in one transaction.
+	 * 
+	 * @param artifacts
+	 *            List of artifacts. If an ID field is null a new value is
+	 *            generated; otherwise the ID value is used if valid and not
+	 *            already known.
+	 * @return Future that completes with result for each artifact in request order,
+	 *         with the generated ID on
+	 *         success; invalid artifacts are reported as failed and skipped
+	 */
+	CompletableFuture<BatchResultTransport> createArtifacts(List<MLPArtifact> artifacts);
+
+	/**
+	 * Updates many artifacts in one transaction.
+	 * 
+	 * @param artifacts
+	 *            List of artifacts with IDs
+	 * @return Future that completes with result for each artifact in request order;
+	 *         unknown or invalid
+	 *         artifacts are reported as failed and skipped
+	 */
+	CompletableFuture<BatchResultTransport> updateArtifacts(List<MLPArtifact> artifacts);
+
+	/**
+	 * Deletes an artifact. An artifact can be deleted if is not associated with any
+	 * solution revisions; if associations remain the delete will fail.
+	 * 
+	 * @param artifactId
+	 *            artifact ID
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> deleteArtifact(String artifactId);
+
+	/**
+	 * Gets count of users.
+	 * 
+	 * @return Future that completes with count of users.
+	 */
+	CompletableFuture<Long> getUserCount();
+
+	/**
+	 * Gets a page of users.
+	 * 
+	 * @param pageRequest
+	 *            Page index, page size and sort information; defaults to page 0 of
+	 *            size 20 if null.
+	 * @return Future that completes with page of objects.
+	 */
+	CompletableFuture<RestPageResponse<MLPUser>> getUsers(RestPageRequest pageRequest);
+
+	/**
+	 * Gets a page of users using seek pagination, which is efficient for deep
+	 * pages. The response carries a token for the next page, which is null on
+	 * the last page; total counts are not provided.
+	 * 
+	 * @param token
+	 *            Continuation token from the previous page; null for the first
+	 *            page
+	 * @param pageRequest
+	 *            Page size and sort on one non-nullable field; the page index is
+	 *            ignored, as is the sort if a token is supplied. Server defaults
+	 *            are used if null.
+	 * @return Future that completes with page of objects with continuation token.
+	 */
+	CompletableFuture<RestPageResponse<MLPUser>> seekUsers(String token, RestPageRequest pageRequest);
+
+	/**
+	 * Returns users with a first, middle, last or login name that contains the
+	 * search term.
+	 * 
+	 * @param searchTerm
+	 *            String to find
+	 * @param pageRequest
+	 *            Page index, page size and sort information; defaults to page 0 of
+	 *            size 20 if null.
+	 * @return Future that completes with page of user objects.
+	 */
+	CompletableFuture<RestPageResponse<MLPUser>> findUsersBySearchTerm(String searchTerm, RestPageRequest pageRequest);
+
+	/**
+	 * Searches users for exact matches.
+	 * 
+	 * @param queryParameters
+	 *            Map of field-name, field-value pairs to use as query criteria.
+	 *            Accepts these field names: firstName, middleName, lastName,
+	 *            orgName, email, loginName, active.
+	 * @param isOr
+	 *            If true, finds matches on any field-value pair (conditions are
+	 *            OR-ed together); otherwise finds matches on all field-value pairs
+	 *            (conditions are AND-ed together).
+	 * @param pageRequest
+	 *            Page index, page size and sort information; defaults to page 0 of
+	 *            size 20 if null.
+	 * @return Future that completes with page of user objects
+	 */
+	CompletableFuture<RestPageResponse<MLPUser>> searchUsers(Map<String, Object> queryParameters, boolean isOr,
+			RestPageRequest pageRequest);
+
+	/**
+	 * Checks credentials for the specified active user. Throws an exception if the
+	 * user is not found, is not active or the password does not match. The
+	 * exception message reveals details such as existence of the user, and should
+	 * NOT be passed on to end users. Does NOT check the expiration date of the
+	 * password, the client must do that as needed.
+	 * 
+	 * Side effects: updates last-login field on success, count on failure. Imposes
+	 * a temporary block after repeated failures as configured at server.
+	 * 
+	 * @param name
+	 *            login name or email address; both attributes are checked
+	 * @param pass
+	 *            clear-text password
+	 * @return Future that completes with user object if a match for an active user
+	 *         is found.
+	 */
+	CompletableFuture<MLPUser> loginUser(String name, String pass);
+
+	/**
+	 * Checks API token for the specified active user. Throws an exception if the
+	 * user is not found, is not active or the token does not match. The exception
+	 * message reveals details such as existence of the user, and should NOT be
+	 * passed on to end users.
+	 * 
+	 * Side effects: updates last-login field on success, count on failure. Imposes
+	 * a temporary block after repeated failures as configured at server.
+	 * 
+	 * @param name
+	 *            login name or email address; both attributes are checked
+	 * @param apiToken
+	 *            clear-text API token
+	 * @return Future that completes with user object if a match for an active user
+	 *         is found.
+	 */
+	CompletableFuture<MLPUser> loginApiUser(String name, String apiToken);
+
+	/**
+	 * Checks verification credentials for the specified active user. Throws an
+	 * exception if the user is not found, is not active or the token does not
+	 * match. The exception message reveals details such as existence of the user,
+	 * and should NOT be passed on to end users. This does NOT check the expiration
+	 * date of the token, the client must do that as needed.
+	 * 
+	 * Side effects: updates last-login field on success, count on failure. Imposes
+	 * a temporary block after repeated failures as configured at server.
+	 * 
+	 * @param name
+	 *            login name or email address; both attributes are checked
+	 * @param verifyToken
+	 *            clear-text verification token
+	 * @return Future that completes with user object if a match for an active user
+	 *         is found.
+	 */
+	CompletableFuture<MLPUser> verifyUser(String name, String verifyToken);
+
+	/**
+	 * Gets the user with the specified ID.
+	 * 
+	 * @param userId
+	 *            user ID
+	 * @return Future that completes with user object
+	 */
+	CompletableFuture<MLPUser> getUser(String userId);
+
+	/**
+	 * Gets the users with the specified IDs in one request.
+	 * 
+	 * @param userIds
+	 *            List of user IDs
+	 * @return Future that completes with list of users that were found, in no
+	 *         particular order, without
+	 *         password hashes; unknown IDs are skipped
+	 */
+	CompletableFuture<List<MLPUser>> getUsersByIds(List<String> userIds);
+
+	/**
+	 * Creates a user.
+	 * 
+	 * @param user
+	 *            User data. If the ID field is null a new value is generated;
+	 *            otherwise the ID value is used if valid and not already known.
+	 * @return Future that completes with complete object, with generated
+	 *         information such as ID
+	 */
+	CompletableFuture<MLPUser> createUser(MLPUser user);
+
+	/**
+	 * Updates a user.
+	 * 
+	 * @param user
+	 *            User data
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> updateUser(MLPUser user);
+
+	/**
+	 * Deletes a user. Cascades the delete to login-provider, notification and role
+	 * associations. If associations remain with artifacts such as solutions the
+	 * delete will fail.
+	 * 
+	 * @param userId
+	 *            user ID
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> deleteUser(String userId);
+
+	/**
+	 * Deletes many users in one transaction, cascading to related entities. See
+	 * {@link ICommonDataServiceRestClient#deleteUsers(List)}.
+	 * 
+	 * @param userIds
+	 *            List of user IDs
+	 * @return Future of the number of users deleted and number of rows deleted from
+	 *         each table
+	 */
+	CompletableFuture<DeleteCountsTransport> deleteUsers(List<String> userIds);
+
+	/**
+	 * Gets the picture of a user and copies it to the specified stream. The
+	 * picture is sent as binary content, not as part of the user object.
+	 * 
+	 * @param userId
+	 *            user ID
+	 * @param out
+	 *            Stream that receives the picture; not closed by this method
+	 * @return Future that completes with content type of the picture; null if the
+	 *         user has no picture
+	 */
+	CompletableFuture<String> getUserPicture(String userId, OutputStream out);
+
+	/**
+	 * Gets the picture of a user. Check the picture hash of the user object
+	 * to avoid fetching an unchanged picture.
+	 * 
+	 * @param userId
+	 *            user ID
+	 * @return Future that completes with picture bytes; null if the user has no
+	 *         picture
+	 */
+	CompletableFuture<byte[]> getUserPicture(String userId);
+
+	/**
+	 * Saves the picture of a user, replacing any existing picture. The server
+	 * sets the picture hash of the user.
+	 * 
+	 * @param userId
+	 *            user ID
+	 * @param contentType
+	 *            Media type such as "image/png"; if null the server detects the
+	 *            type from the content
+	 * @param picture
+	 *            Stream with the picture; read to the end but not closed by this
+	 *            method
+	 * @return Future that completes when the picture is saved
+	 */
+	CompletableFuture<Void> saveUserPicture(String userId, String contentType, InputStream picture);
+
+	/**
+	 * Deletes the picture of a user and clears the picture hash.
+	 * 
+	 * @param userId
+	 *            user ID
+	 * @return Future that completes when the picture is deleted
+	 */
+	CompletableFuture<Void> deleteUserPicture(String userId);
+
+	/**
+	 * Gets the roles for the specified user ID.
+	 * 
+	 * @param userId
+	 *            user ID.
+	 * @return Future that completes with list of Role objects for the specified
+	 *         user.
+	 */
+	CompletableFuture<List<MLPRole>> getUserRoles(String userId);
+
+	/**
+	 * Adds the specified role to the specified user.
+	 * 
+	 * @param userId
+	 *            user ID
+	 * @param roleId
+	 *            role ID
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> addUserRole(String userId, String roleId);
+
+	/**
+	 * Updates the user to have exactly the specified roles only; i.e., remove any
+	 * roles not in the list.
+	 * 
+	 * @param userId
+	 *            user ID
+	 * @param roleIds
+	 *            List of role IDs
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> updateUserRoles(String userId, List<String> roleIds);
+
+	/**
+	 * Removes the specified role from the specified user.
+	 * 
+	 * @param userId
+	 *            user ID
+	 * @param roleId
+	 *            role ID
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> dropUserRole(String userId, String roleId);
+
+	/**
+	 * Assigns the specified role to each user in the specified list.
+	 * 
+	 * @param userIds
+	 *            List of user IDs
+	 * @param roleId
+	 *            role ID
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> addUsersInRole(List<String> userIds, String roleId);
+
+	/**
+	 * Removes the specified role from each user in the specified list.
+	 * 
+	 * @param userIds
+	 *            List of user IDs
+	 * @param roleId
+	 *            role ID
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> dropUsersInRole(List<String> userIds, String roleId);
+
+	/**
+	 * Gets count of users with the specified role.
+	 * 
+	 * @param roleId
+	 *            role ID
+	 * @return Future that completes with count of users in that role
+	 */
+	CompletableFuture<Long> getRoleUsersCount(String roleId);
+
+	/**
+	 * Gets the specified user login provider.
+	 * 
+	 * @param userId
+	 *            user ID
+	 * @param providerCode
+	 *            Provider code
+	 * @param providerLogin
+	 *            User login at the provider
+	 * @return Future that completes with user login provider
+	 */
+	CompletableFuture<MLPUserLoginProvider> getUserLoginProvider(String userId, String providerCode,
+			String providerLogin);
+
+	/**
+	 * Gets the user's login providers.
+	 * 
+	 * @param userId
+	 *            user ID
+	 * @return Future that completes with list of user login providers
+	 */
+	CompletableFuture<List<MLPUserLoginProvider>> getUserLoginProviders(String userId);
+
+	/**
+	 * Creates a user login provider.
+	 * 
+	 * @param provider
+	 *            data to populate new entry
+	 * @return Future that completes with complete object, with generated
+	 *         information such as ID
+	 */
+	CompletableFuture<MLPUserLoginProvider> createUserLoginProvider(MLPUserLoginProvider provider);
+
+	/**
+	 * Updates a user login provider
+	 * 
+	 * @param provider
+	 *            data to update
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> updateUserLoginProvider(MLPUserLoginProvider provider);
+
+	/**
+	 * Deletes a user login provider.
+	 * 
+	 * @param provider
+	 *            data to delete
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> deleteUserLoginProvider(MLPUserLoginProvider provider);
+
+	/**
+	 * Gets count of roles.
+	 * 
+	 * @return Future that completes with count of roles.
+	 */
+	CompletableFuture<Long> getRoleCount();
+
+	/**
+	 * Searches roles for exact matches.
+	 * 
+	 * @param queryParameters
+	 *            Map of field-name, field-value pairs to use as query criteria.
+	 *            Accepts these field names: name, active.
+	 * @param isOr
+	 *            If true, finds matches on any field-value pair (conditions are
+	 *            OR-ed together); otherwise finds matches on all field-value pairs
+	 *            (conditions are AND-ed together).
+	 * @param pageRequest
+	 *            Page index, page size and sort information; defaults to page 0 of
+	 *            size 20 if null.
+	 * @return Future that completes with page of role objects
+	 */
+	CompletableFuture<RestPageResponse<MLPRole>> searchRoles(Map<String, Object> queryParameters, boolean isOr,
+			RestPageRequest pageRequest);
+
+	/**
+	 * Gets the roles.
+	 * 
+	 * @param pageRequest
+	 *            Page index, page size and sort information; defaults to page 0 of
+	 *            size 20 if null.
+	 * @return Future that completes with page of MLPRoles
+	 */
+	CompletableFuture<RestPageResponse<MLPRole>> getRoles(RestPageRequest pageRequest);
+
+	/**
+	 * Gets the object with the specified ID.
+	 * 
+	 * @param roleId
+	 *            role ID
+	 * @return Future that completes with instance with the specified ID; null if
+	 *         none exists.
+	 */
+	CompletableFuture<MLPRole> getRole(String roleId);
+
+	/**
+	 * Writes the specified role.
+	 * 
+	 * @param role
+	 *            Role data. If the ID field is null a new value is generated;
+	 *            otherwise the ID value is used if valid and not already known.
+	 * @return Future that completes with complete object, with generated
+	 *         information such as ID
+	 */
+	CompletableFuture<MLPRole> createRole(MLPRole role);
+
+	/**
+	 * Updates the specified role.
+	 * 
+	 * @param role
+	 *            instance to save
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> updateRole(MLPRole role);
+
+	/**
+	 * Deletes a role. A role can be deleted if is not associated with any users.
+	 * Cascades the delete to associated role functions.
+	 * 
+	 * @param roleId
+	 *            Role ID
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> deleteRole(String roleId);
+
+	/**
+	 * Gets the role functions for the specified role
+	 * 
+	 * @param roleId
+	 *            role ID
+	 * @return Future that completes with list of RoleFunctions;
+	 */
+	CompletableFuture<List<MLPRoleFunction>> getRoleFunctions(String roleId);
+
+	/**
+	 * Gets the role function with the specified ID.
+	 * 
+	 * @param roleId
+	 *            role ID
+	 * @param roleFunctionId
+	 *            role function ID
+	 * @return Future that completes with instance with the specified ID; null if
+	 *         none exists.
+	 */
+	CompletableFuture<MLPRoleFunction> getRoleFunction(String roleId, String roleFunctionId);
+
+	/**
+	 * Creates the specified role function.
+	 * 
+	 * @param roleFunction
+	 *            instance to save
+	 * @return Future that completes with complete object, with generated
+	 *         information such as ID
+	 */
+	CompletableFuture<MLPRoleFunction> createRoleFunction(MLPRoleFunction roleFunction);
+
+	/**
+	 * Creates the specified role function.
+	 * 
+	 * @param roleFunction
+	 *            instance to save
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> updateRoleFunction(MLPRoleFunction roleFunction);
+
+	/**
+	 * Deletes a role function.
+	 * 
+	 * @param roleId
+	 *            role ID
+	 * @param roleFunctionId
+	 *            role function ID
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> deleteRoleFunction(String roleId, String roleFunctionId);
+
+	/**
+	 * Gets a page of peers.
+	 * 
+	 * @param pageRequest
+	 *            Page index, page size and sort information; defaults to page 0 of
+	 *            size 20 if null.
+	 * @return Future that completes with page of peer objects.
+	 */
+	CompletableFuture<RestPageResponse<MLPPeer>> getPeers(RestPageRequest pageRequest);
+
+	/**
+	 * Searches peers for exact matches.
+	 * 
+	 * @param queryParameters
+	 *            Map of field-name, field-value pairs to use as query criteria.
+	 *            Accepts these field names: name, subjectName, apiUrl, webUrl,
+	 *            isSelf, isLocal, contact1, statusCode.
+	 * @param isOr
+	 *            If true, finds matches on any field-value pair (conditions are
+	 *            OR-ed together); otherwise finds matches on all field-value pairs
+	 *            (conditions are AND-ed together).
+	 * @param pageRequest
+	 *            Page index, page size and sort information; defaults to page 0 of
+	 *            size 20 if null.
+	 * @return Future that completes with page of peer objects
+	 */
+	CompletableFuture<RestPageResponse<MLPPeer>> searchPeers(Map<String, Object> queryParameters, boolean isOr,
+			RestPageRequest pageRequest);
+
+	/**
+	 * Gets the peer with the specified ID.
+	 * 
+	 * @param peerId
+	 *            Instance ID
+	 * @return Future that completes with user object
+	 */
+	CompletableFuture<MLPPeer> getPeer(String peerId);
+
+	/**
+	 * Creates a peer.
+	 * 
+	 * @param peer
+	 *            Peer data. If the ID field is null a new value is generated;
+	 *            otherwise the ID value is used if valid and not already known.
+	 * @return Future that completes with complete object, with generated
+	 *         information such as ID
+	 */
+	CompletableFuture<MLPPeer> createPeer(MLPPeer peer);
+
+	/**
+	 * Updates a peer.
+	 * 
+	 * @param user
+	 *            Peer data
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> updatePeer(MLPPeer user);
+
+	/**
+	 * Deletes a peer. Cascades the delete to peer subscriptions. If other
+	 * associations remain the delete will fail.
+	 * 
+	 * @param peerId
+	 *            Instance ID
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> deletePeer(String peerId);
+
+	/**
+	 * Deletes many peers in one transaction, cascading to related entities. See
+	 * {@link ICommonDataServiceRestClient#deletePeers(List)}.
+	 * 
+	 * @param peerIds
+	 *            List of peer IDs
+	 * @return Future of the number of peers deleted and number of rows deleted from
+	 *         each table
+	 */
+	CompletableFuture<DeleteCountsTransport> deletePeers(List<String> peerIds);
+
+	/**
+	 * Gets all subscriptions for the specified peer.
+	 * 
+	 * @param peerId
+	 *            Peer ID
+	 * @return Future that completes with list of peer objects
+	 */
+	CompletableFuture<List<MLPPeerSubscription>> getPeerSubscriptions(String peerId);
+
+	/**
+	 * Gets the peer subscription with the specified ID.
+	 * 
+	 * @param subscriptionId
+	 *            Subscription ID
+	 * @return Future that completes with peer subscription object
+	 */
+	CompletableFuture<MLPPeerSubscription> getPeerSubscription(Long subscriptionId);
+
+	/**
+	 * Creates a peer subscription
+	 * 
+	 * @param peerSub
+	 *            subscription to create
+	 * @return Future that completes with complete object, with generated
+	 *         information such as ID
+	 */
+	CompletableFuture<MLPPeerSubscription> createPeerSubscription(MLPPeerSubscription peerSub);
+
+	/**
+	 * Updates a peer subscription
+	 * 
+	 * @param peerSub
+	 *            subscription to update
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> updatePeerSubscription(MLPPeerSubscription peerSub);
+
+	/**
+	 * Deletes a peer subscription.
+	 *
+	 * @param subscriptionId
+	 *            Peer subscription ID
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> deletePeerSubscription(Long subscriptionId);
+
+	/**
+	 * Gets the artifact download details for the specified solution.
+	 * 
+	 * @param solutionId
+	 *            Instance ID
+	 * @param pageRequest
+	 *            Page index, page size and sort information; defaults to page 0 of
+	 *            size 20 if null.
+	 * @return Future that completes with page of solution downloads
+	 */
+	CompletableFuture<RestPageResponse<MLPSolutionDownload>> getSolutionDownloads(String solutionId,
+			RestPageRequest pageRequest);
+
+	/**
+	 * Creates a solution-artifact download record.
+	 * 
+	 * @param download
+	 *            Instance to save
+	 * @return Future that completes with complete object.
+	 */
+	CompletableFuture<MLPSolutionDownload> createSolutionDownload(MLPSolutionDownload download);
+
+	/**
+	 * Deletes a solution-artifact download record.
+	 * 
+	 * @param download
+	 *            Instance to delete
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> deleteSolutionDownload(MLPSolutionDownload download);
+
+	/**
+	 * Gets a page of solutions that the specified user has marked as favorite.
+	 * <P>
+	 * (This does NOT return MLPSolutionFavorite objects!)
+	 * 
+	 * @param userId
+	 *            Instance ID
+	 * @param pageRequest
+	 *            Page index, page size and sort information; defaults to page 0 of
+	 *            size 20 if null.
+	 * @return Future that completes with page of solutions that are favorites of
+	 *         the user; might be empty.
+	 */
+	CompletableFuture<RestPageResponse<MLPSolution>> getFavoriteSolutions(String userId, RestPageRequest pageRequest);
+
+	/**
+	 * Creates a solution favorite record; i.e., marks a solution as a favorite of a
+	 * specified user
+	 * 
+	 * @param fs
+	 *            favorite solution model
+	 * @return Future that completes with complete object
+	 */
+	CompletableFuture<MLPSolutionFavorite> createSolutionFavorite(MLPSolutionFavorite fs);
+
+	/**
+	 * Deletes a solution favorite record; i.e., unmarks a solution as a favorite of
+	 * a specified user
+	 * 
+	 * @param fs
+	 *            favorite solution model
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> deleteSolutionFavorite(MLPSolutionFavorite fs);
+
+	/**
+	 * Gets the user ratings for the specified solution.
+	 * 
+	 * @param solutionId
+	 *            Instance ID
+	 * @param pageRequest
+	 *            Page index, page size and sort information; defaults to page 0 of
+	 *            size 20 if null.
+	 * @return Future that completes with page of solution ratings
+	 */
+	CompletableFuture<RestPageResponse<MLPSolutionRating>> getSolutionRatings(String solutionId,
+			RestPageRequest pageRequest);
+
+	/**
+	 * Gets a rating for the specified solution and user.
+	 * 
+	 * @param solutionId
+	 *            Solution ID
+	 * @param userId
+	 *            User ID
+	 * @return Future that completes with solution rating
+	 */
+	CompletableFuture<MLPSolutionRating> getSolutionRating(String solutionId, String userId);
+
+	/**
+	 * Creates a solution rating.
+	 * 
+	 * @param rating
+	 *            Instance to save
+	 * @return Future that completes with complete object, with generated
+	 *         information such as ID
+	 */
+	CompletableFuture<MLPSolutionRating> createSolutionRating(MLPSolutionRating rating);
+
+	/**
+	 * Updates a solution rating.
+	 * 
+	 * @param rating
+	 *            Instance to update
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> updateSolutionRating(MLPSolutionRating rating);
+
+	/**
+	 * Deletes a solution rating.
+	 * 
+	 * @param rating
+	 *            Instance to delete
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> deleteSolutionRating(MLPSolutionRating rating);
+
+	/**
+	 * Gets the count of notifications.
+	 * 
+	 * @return Future that completes with count of notifications.
+	 */
+	CompletableFuture<Long> getNotificationCount();
+
+	/**
+	 * Gets a page of notifications.
+	 * 
+	 * @param pageRequest
+	 *            Page index, page size and sort information; defaults to page 0 of
+	 *            size 20 if null.
+	 * @return Future that completes with page of objects.
+	 */
+	CompletableFuture<RestPageResponse<MLPNotification>> getNotifications(RestPageRequest pageRequest);
+
+	/**
+	 * Creates a notification.
+	 * 
+	 * @param notification
+	 *            Notification data. If the ID field is null a new value is
+	 *            generated; otherwise the ID value is used if valid and not already
+	 *            known.
+	 * @return Future that completes with complete object, with generated
+	 *         information such as ID
+	 */
+	CompletableFuture<MLPNotification> createNotification(MLPNotification notification);
+
+	/**
+	 * Updates a notification.
+	 * 
+	 * @param notification
+	 *            Instance to update
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> updateNotification(MLPNotification notification);
+
+	/**
+	 * Deletes a notification and its associations with user recipients.
+	 * 
+	 * @param notificationId
+	 *            ID of instance to delete
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> deleteNotification(String notificationId);
+
+	/**
+	 * Gets a page of active notifications for the specified user, both viewed and
+	 * unviewed. "Active" means the current date/time falls within the
+	 * notification's begin and end timestamps.
+	 * 
+	 * @param userId
+	 *            User ID
+	 * @param pageRequest
+	 *            Page index, page size and sort information; defaults to page 0 of
+	 *            size 20 if null.
+	 * @return Future that completes with page of objects.
+	 */
+	CompletableFuture<RestPageResponse<MLPUserNotification>> getUserNotifications(String userId,
+			RestPageRequest pageRequest);
+
+	/**
+	 * Adds the specified user as a recipient of the specified notification.
+	 * 
+	 * @param notificationId
+	 *            notification ID
+	 * @param userId
+	 *            user ID
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> addUserToNotification(String notificationId, String userId);
+
+	/**
+	 * Drops the specified user as a recipient of the specified notification.
+	 * 
+	 * @param notificationId
+	 *            notification ID
+	 * @param userId
+	 *            user ID
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> dropUserFromNotification(String notificationId, String userId);
+
+	/**
+	 * Sets the indicator that the user has viewed the notification.
+	 * 
+	 * @param notificationId
+	 *            notification ID
+	 * @param userId
+	 *            user ID
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> setUserViewedNotification(String notificationId, String userId);
+	/**
+	 * Adds many users as recipients of the specified notification with one
+	 * statement: all active users, the active users in a role, or a list of
+	 * users. Users who are already recipients are skipped.
+	 * 
+	 * @param notificationId
+	 *            notification ID
+	 * @param audience
+	 *            Selects the users; exactly one of all users, role ID or user IDs
+	 *            must be specified
+	 * @return Future that completes with number of users added as recipients
+	 */
+	CompletableFuture<Long> addUsersToNotification(String notificationId, NotificationAudienceRequest audience);
+
+	/**
+	 * Gets the number of active notifications the specified user has not yet
+	 * viewed. This is much cheaper than fetching the notifications.
+	 * 
+	 * @param userId
+	 *            User ID
+	 * @return Future that completes with count of unviewed active notifications
+	 */
+	CompletableFuture<Long> getUserUnreadNotificationCount(String userId);
+
+	/**
+	 * Sets the indicator that the user has viewed many notifications in one
+	 * transaction. A notification already viewed keeps its original date.
+	 * 
+	 * @param userId
+	 *            User ID
+	 * @param notificationIds
+	 *            List of notification IDs
+	 * @return Future that completes with result for each notification ID in request
+	 *         order; notifications without the user as recipient are reported
+	 *         as failed and skipped
+	 */
+	CompletableFuture<BatchResultTransport> setUserViewedNotifications(String userId, List<String> notificationIds);
+
+
+	/**
+	 * Gets website metadata about the specified solution including average rating
+	 * and total download count.
+	 * 
+	 * @param solutionId
+	 *            Solution ID
+	 * @return Future that completes with object with metadata
+	 */
+	CompletableFuture<MLPSolutionWeb> getSolutionWebMetadata(String solutionId);
+
+	/**
+	 * Gets the users with access to the specified solution.
+	 * 
+	 * @param solutionId
+	 *            Solution ID
+	 * @return Future that completes with list of users
+	 */
+	CompletableFuture<List<MLPUser>> getSolutionAccessUsers(String solutionId);
+
+	/**
+	 * Gets the solutions accessible to the specified user.
+	 * 
+	 * @param userId
+	 *            User ID
+	 * @param pageRequest
+	 *            Page index, page size and sort information; defaults to page 0 of
+	 *            size 20 if null.
+	 * @return Future that completes with page of solutions
+	 */
+	CompletableFuture<RestPageResponse<MLPSolution>> getUserAccessSolutions(String userId, RestPageRequest pageRequest);
+
+	/**
+	 * Grants access to the specified solution for the specified user.
+	 * 
+	 * @param solutionId
+	 *            solution ID
+	 * @param userId
+	 *            user ID
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> addSolutionUserAccess(String solutionId, String userId);
+
+	/**
+	 * Removes access to the specified solution for the specified user.
+	 * 
+	 * @param solutionId
+	 *            solution ID
+	 * @param userId
+	 *            user ID
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> dropSolutionUserAccess(String solutionId, String userId);
+
+	/**
+	 * Grants access to the specified solution for many users in one transaction.
+	 * 
+	 * @param solutionId
+	 *            solution ID
+	 * @param userIds
+	 *            List of user IDs
+	 * @return Future that completes with result for each ID in request order;
+	 *         users not found or already granted access are reported as failed
+	 *         and skipped
+	 */
+	CompletableFuture<BatchResultTransport> addSolutionUsersAccess(String solutionId, List<String> userIds);
+
+	/**
+	 * Removes access to the specified solution for many users in one transaction.
+	 * 
+	 * @param solutionId
+	 *            solution ID
+	 * @param userIds
+	 *            List of user IDs
+	 * @return Future that completes with result for each ID in request order;
+	 *         users without access are reported as failed and skipped
+	 */
+	CompletableFuture<BatchResultTransport> dropSolutionUsersAccess(String solutionId, List<String> userIds);
+
+	/**
+	 * Updates the password for the specified active user. Throws an exception if
+	 * the old password does not match or the user is not active.
+	 * 
+	 * @param user
+	 *            User object
+	 * @param changeRequest
+	 *            Old and new passwords. Old password may be null, new password must
+	 *            not be present.
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> updatePassword(MLPUser user, MLPPasswordChangeRequest changeRequest);
+
+	/**
+	 * Gets the validation results for the specified solution and revision.
+	 * 
+	 * @param solutionId
+	 *            Instance ID
+	 * @param revisionId
+	 *            Instance ID
+	 * @return Future that completes with list of solution validations
+	 */
+	CompletableFuture<List<MLPSolutionValidation>> getSolutionValidations(String solutionId, String revisionId);
+
+	/**
+	 * Creates a solution validation record.
+	 * 
+	 * @param validation
+	 *            Instance to save
+	 * @return Future that completes with complete object, with generated
+	 *         information such as ID
+	 */
+	CompletableFuture<MLPSolutionValidation> createSolutionValidation(MLPSolutionValidation validation);
+
+	/**
+	 * Updates a solution validation record.
+	 * 
+	 * @param validation
+	 *            Instance to update
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> updateSolutionValidation(MLPSolutionValidation validation);
+
+	/**
+	 * Deletes a solution validation record.
+	 * 
+	 * @param validation
+	 *            Instance to delete
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> deleteSolutionValidation(MLPSolutionValidation validation);
+
+	/**
+	 * Gets the validation sequence records.
+	 * 
+	 * @return Future that completes with list of validation sequence
+	 */
+	CompletableFuture<List<MLPValidationSequence>> getValidationSequences();
+
+	/**
+	 * Creates a validation sequence record.
+	 * 
+	 * @param sequence
+	 *            Instance to save
+	 * @return Future that completes with complete object
+	 */
+	CompletableFuture<MLPValidationSequence> createValidationSequence(MLPValidationSequence sequence);
+
+	/**
+	 * Deletes a validation sequence record.
+	 * 
+	 * @param sequence
+	 *            Instance to delete
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> deleteValidationSequence(MLPValidationSequence sequence);
+
+	/**
+	 * Gets a page of deployments for the specified user.
+	 * 
+	 * @param userId
+	 *            User ID
+	 * @param pageRequest
+	 *            Page index, page size and sort information; defaults to page 0 of
+	 *            size 20 if null.
+	 * @return Future that completes with page of solution deployments
+	 */
+	CompletableFuture<RestPageResponse<MLPSolutionDeployment>> getUserDeployments(String userId,
+			RestPageRequest pageRequest);
+
+	/**
+	 * Gets a page of deployments for the specified solution revision.
+	 * 
+	 * @param solutionId
+	 *            Solution ID
+	 * @param revisionId
+	 *            Revision ID
+	 * @param pageRequest
+	 *            Page index, page size and sort information; defaults to page 0 of
+	 *            size 20 if null.
+	 * @return Future that completes with page of solution deployments
+	 */
+	CompletableFuture<RestPageResponse<MLPSolutionDeployment>> getSolutionDeployments(String solutionId,
+			String revisionId, RestPageRequest pageRequest);
+
+	/**
+	 * Gets a page of deployments for the specified solution revision and user.
+	 * 
+	 * @param solutionId
+	 *            Solution ID
+	 * @param revisionId
+	 *            Revision ID
+	 * @param userId
+	 *            User ID
+	 * @param pageRequest
+	 *            Page index, page size and sort information; defaults to page 0 of
+	 *            size 20 if null.
+	 * @return Future that completes with page of solution deployments
+	 */
+	CompletableFuture<RestPageResponse<MLPSolutionDeployment>> getUserSolutionDeployments(String solutionId,
+			String revisionId, String userId, RestPageRequest pageRequest);
+
+	/**
+	 * Creates a solution deployment record.
+	 * 
+	 * @param deployment
+	 *            Instance to save
+	 * @return Future that completes with complete object, with generated
+	 *         information such as ID
+	 */
+	CompletableFuture<MLPSolutionDeployment> createSolutionDeployment(MLPSolutionDeployment deployment);
+
+	/**
+	 * Updates a solution validation record.
+	 * 
+	 * @param deployment
+	 *            Instance to update
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> updateSolutionDeployment(MLPSolutionDeployment deployment);
+
+	/**
+	 * Deletes a solution deployment record.
+	 * 
+	 * @param deployment
+	 *            Instance to delete
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> deleteSolutionDeployment(MLPSolutionDeployment deployment);
+
+	/**
+	 * Gets one site configuration entry.
+	 * 
+	 * @param configKey
+	 *            Config key
+	 * @return Future that completes with site configuration
+	 */
+	CompletableFuture<MLPSiteConfig> getSiteConfig(String configKey);
+
+	/**
+	 * Creates a site configuration entry.
+	 * 
+	 * @param config
+	 *            Instance to save
+	 * @return Future that completes with complete object
+	 */
+	CompletableFuture<MLPSiteConfig> createSiteConfig(MLPSiteConfig config);
+
+	/**
+	 * Updates a site configuration entry.
+	 * 
+	 * @param config
+	 *            Instance to update
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> updateSiteConfig(MLPSiteConfig config);
+
+	/**
+	 * Deletes a site configuration entry.
+	 * 
+	 * @param configKey
+	 *            key of instance to delete
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> deleteSiteConfig(String configKey);
+
+	/**
+	 * Gets count of threads.
+	 * 
+	 * @return Future that completes with count of threads.
+	 */
+	CompletableFuture<Long> getThreadCount();
+
+	/**
+	 * Gets a page of threads.
+	 * 
+	 * @param pageRequest
+	 *            Page index, page size and sort information; defaults to page 0 of
+	 *            size 20 if null.
+	 * @return Future that completes with page of threads.
+	 */
+	CompletableFuture<RestPageResponse<MLPThread>> getThreads(RestPageRequest pageRequest);
+
+	/**
+	 * Gets the count of threads for the specified solution and revision.
+	 * 
+	 * @param solutionId
+	 *            Solution ID
+	 * @param revisionId
+	 *            Revision ID
+	 * @return Future that completes with count of threads
+	 */
+	CompletableFuture<Long> getSolutionRevisionThreadCount(String solutionId, String revisionId);
+
+	/**
+	 * Gets a page of threads for the specified solution and revision.
+	 * 
+	 * @param solutionId
+	 *            Solution ID
+	 * @param revisionId
+	 *            Revision ID
+	 * @param pageRequest
+	 *            Page index, page size and sort information; defaults to page 0 of
+	 *            size 20 if null.
+	 * @return Future that completes with page of threads.
+	 */
+	CompletableFuture<RestPageResponse<MLPThread>> getSolutionRevisionThreads(String solutionId, String revisionId,
+			RestPageRequest pageRequest);
+
+	/**
+	 * Gets a page of threads for the specified solution and revision, each
+	 * with all its comments arranged as a tree by parent ID.
+	 * 
+	 * @param solutionId
+	 *            Solution ID
+	 * @param revisionId
+	 *            Revision ID
+	 * @param pageRequest
+	 *            Page index, page size and sort information for the threads;
+	 *            defaults to page 0 of size 20 if null.
+	 * @return Future that completes with page of thread trees.
+	 */
+	CompletableFuture<RestPageResponse<ThreadTreeTransport>> getSolutionRevisionThreadTrees(String solutionId,
+			String revisionId, RestPageRequest pageRequest);
+
+	/**
+	 * Gets the thread with the specified ID.
+	 * 
+	 * @param threadId
+	 *            thread ID
+	 * @return Future that completes with thread object
+	 */
+	CompletableFuture<MLPThread> getThread(String threadId);
+
+	/**
+	 * Creates a thread.
+	 * 
+	 * @param thread
+	 *            Thread data. If the ID field is null a new value is generated;
+	 *            otherwise the ID value is used if valid and not already known.
+	 * @return Future that completes with complete object, with generated
+	 *         information such as ID
+	 */
+	CompletableFuture<MLPThread> createThread(MLPThread thread);
+
+	/**
+	 * Updates a thread.
+	 * 
+	 * @param thread
+	 *            Thread data
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> updateThread(MLPThread thread);
+
+	/**
+	 * Deletes a thread. Cascades the delete to comment associations.
+	 * 
+	 * @param threadId
+	 *            thread ID
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> deleteThread(String threadId);
+
+	/**
+	 * Gets count of comments in a thread.
+	 * 
+	 * @param threadId
+	 *            Thread ID
+	 * @return Future that completes with count of comments
+	 */
+	CompletableFuture<Long> getThreadCommentCount(String threadId);
+
+	/**
+	 * Gets one page of a thread of comments.
+	 * 
+	 * @param threadId
+	 *            Thread ID
+	 * @param pageRequest
+	 *            Page index, page size and sort information; defaults to page 0 of
+	 *            size 20 if null.
+	 * @return Future that completes with one page of comments in the thread, sorted
+	 *         as specified.
+	 */
+	CompletableFuture<RestPageResponse<MLPComment>> getThreadComments(String threadId, RestPageRequest pageRequest);
+
+	/**
+	 * Gets comment count for the specified solution and revision IDs, which may
+	 * include multiple threads.
+	 * 
+	 * @param solutionId
+	 *            Solution ID
+	 * @param revisionId
+	 *            Revision ID
+	 * @return Future that completes with number of comments for the specified IDs
+	 */
+	CompletableFuture<Long> getSolutionRevisionCommentCount(String solutionId, String revisionId);
+
+	/**
+	 * Gets one page of comments for the specified solution and revision IDs, which
+	 * may include multiple threads.
+	 * 
+	 * @param solutionId
+	 *            Solution ID
+	 * @param revisionId
+	 *            Revision ID
+	 * @param pageRequest
+	 *            Page index, page size and sort information; defaults to page 0 of
+	 *            size 20 if null.
+	 * @return Future that completes with one page of comments for the specified
+	 *         IDs, sorted as specified.
+	 */
+	CompletableFuture<RestPageResponse<MLPComment>> getSolutionRevisionComments(String solutionId, String revisionId,
+			RestPageRequest pageRequest);
+
+	/**
+	 * Gets the comment with the specified ID.
+	 * 
+	 * @param threadId
+	 *            Thread ID
+	 * @param commentId
+	 *            comment ID
+	 * @return Future that completes with comment object
+	 */
+	CompletableFuture<MLPComment> getComment(String threadId, String commentId);
+
+	/**
+	 * Creates a comment.
+	 * 
+	 * @param comment
+	 *            Comment data. If the ID field is null a new value is generated;
+	 *            otherwise the ID value is used if valid and not already known.
+	 * @return Future that completes with complete object, with generated
+	 *         information such as ID
+	 */
+	CompletableFuture<MLPComment> createComment(MLPComment comment);
+
+	/**
+	 * Updates a comment.
+	 * 
+	 * @param comment
+	 *            Comment data
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> updateComment(MLPComment comment);
+
+	/**
+	 * Deletes a comment.
+	 * 
+	 * @param threadId
+	 *            Thread ID
+	 * @param commentId
+	 *            comment ID
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> deleteComment(String threadId, String commentId);
+
+	/**
+	 * Gets a step result.
+	 * 
+	 * @param stepResultId
+	 *            Step result ID
+	 * @return Future that completes with MLPStepResult
+	 */
+	CompletableFuture<MLPStepResult> getStepResult(long stepResultId);
+
+	/**
+	 * Gets a page of step results.
+	 * 
+	 * @param pageRequest
+	 *            Page index, page size and sort information; defaults to page 0 of
+	 *            size 20 if null.
+	 * @return Future that completes with page of step result objects.
+	 */
+	CompletableFuture<RestPageResponse<MLPStepResult>> getStepResults(RestPageRequest pageRequest);
+
+	/**
+	 * Gets a page of step results using seek pagination, which is efficient for deep
+	 * pages. The response carries a token for the next page, which is null on
+	 * the last page; total counts are not provided.
+	 * 
+	 * @param token
+	 *            Continuation token from the previous page; null for the first
+	 *            page
+	 * @param pageRequest
+	 *            Page size and sort on one non-nullable field; the page index is
+	 *            ignored, as is the sort if a token is supplied. Server defaults
+	 *            are used if null.
+	 * @return Future that completes with page of objects with continuation token.
+	 */
+	CompletableFuture<RestPageResponse<MLPStepResult>> seekStepResults(String token, RestPageRequest pageRequest);
+
+	/**
+	 * Searches step results for exact matches.
+	 * 
+	 * @param queryParameters
+	 *            Map of field-name, field-value pairs to use as query criteria.
+	 *            Accepts these field names: trackingId, stepCode, solutionId,
+	 *            revisionId, artifactId, userId, statusCode, name.
+	 * @param isOr
+	 *            If true, finds matches on any field-value pair (conditions are
+	 *            OR-ed together); otherwise finds matches on all field-value pairs
+	 *            (conditions are AND-ed together).
+	 * @param pageRequest
+	 *            Page index, page size and sort information; defaults to page 0 of
+	 *            size 20 if null.
+	 * @return Future that completes with page of step result objects
+	 */
+	CompletableFuture<RestPageResponse<MLPStepResult>> searchStepResults(Map<String, Object> queryParameters,
+			boolean isOr, RestPageRequest pageRequest);
+
+	/**
+	 * Creates a step result.
+	 * 
+	 * @param stepResult
+	 *            result Step Result data.
+	 * @return Future that completes with complete object, with generated
+	 *         information such as ID
+	 */
+	CompletableFuture<MLPStepResult> createStepResult(MLPStepResult stepResult);
+
+	/**
+	 * Updates a step result.
+	 * 
+	 * @param stepResult
+	 *            Step Result data
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> updateStepResult(MLPStepResult stepResult);
+
+	/**
+	 * Deletes a step result.
+	 * 
+	 * @param stepResultId
+	 *            stepResult ID
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> deleteStepResult(Long stepResultId);
+
+	/**
+	 * Gets a page of peer groups.
+	 * 
+	 * @param pageRequest
+	 *            Page index, page size and sort information; defaults to page 0 of
+	 *            size 20 if null.
+	 * @return Future that completes with page of objects.
+	 */
+	CompletableFuture<RestPageResponse<MLPPeerGroup>> getPeerGroups(RestPageRequest pageRequest);
+
+	/**
+	 * Creates a peer group.
+	 * 
+	 * @param peerGroup
+	 *            Group name
+	 * @return Future that completes with complete object, with generated
+	 *         information such as ID
+	 */
+	CompletableFuture<MLPPeerGroup> createPeerGroup(MLPPeerGroup peerGroup);
+
+	/**
+	 * Updates a peer group.
+	 * 
+	 * @param peerGroup
+	 *            Instance to update
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> updatePeerGroup(MLPPeerGroup peerGroup);
+
+	/**
+	 * Deletes a peer group. A group can be deleted if is not associated with any
+	 * peers; if associations remain the delete will fail.
+	 * 
+	 * @param peerGroupId
+	 *            ID of instance to delete
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> deletePeerGroup(Long peerGroupId);
+
+	/**
+	 * Gets the solution groups.
+	 * 
+	 * @param pageRequest
+	 *            Page index, page size and sort information; defaults to page 0 of
+	 *            size 20 if null.
+	 * @return Future that completes with page of objects.
+	 */
+	CompletableFuture<RestPageResponse<MLPSolutionGroup>> getSolutionGroups(RestPageRequest pageRequest);
+
+	/**
+	 * Creates a solution group.
+	 * 
+	 * @param solutionGroup
+	 *            Group name
+	 * @return Future that completes with complete object, with generated
+	 *         information such as ID
+	 */
+	CompletableFuture<MLPSolutionGroup> createSolutionGroup(MLPSolutionGroup solutionGroup);
+
+	/**
+	 * Updates a solution group.
+	 * 
+	 * @param solutionGroup
+	 *            Instance to update
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> updateSolutionGroup(MLPSolutionGroup solutionGroup);
+
+	/**
+	 * Deletes a solution group. A group can be deleted if is not associated with
+	 * any solutions; if associations remain the delete will fail.
+	 * 
+	 * @param solutionGroupId
+	 *            ID of instance to delete
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> deleteSolutionGroup(Long solutionGroupId);
+
+	/**
+	 * Gets a page of peers in the specified peer group.
+	 * 
+	 * @param peerGroupId
+	 *            Peer group ID
+	 * @param pageRequest
+	 *            Page index, page size and sort information; defaults to page 0 of
+	 *            size 20 if null.
+	 * @return Future that completes with page of objects.
+	 */
+	CompletableFuture<RestPageResponse<MLPPeer>> getPeersInGroup(Long peerGroupId, RestPageRequest pageRequest);
+
+	/**
+	 * Adds the specified peer as a member of the specified peer group.
+	 * 
+	 * @param peerId
+	 *            peer ID
+	 * @param peerGroupId
+	 *            Peer group ID
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> addPeerToGroup(String peerId, Long peerGroupId);
+
+	/**
+	 * Drops the specified peer as a member of the specified peer group.
+	 * 
+	 * @param peerId
+	 *            peer ID
+	 * @param peerGroupId
+	 *            Peer group ID
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> dropPeerFromGroup(String peerId, Long peerGroupId);
+
+	/**
+	 * Adds many peers as members of the specified peer group in one transaction.
+	 * 
+	 * @param peerIds
+	 *            List of peer IDs
+	 * @param peerGroupId
+	 *            Peer group ID
+	 * @return Future that completes with result for each ID in request order;
+	 *         peers not found or already in the group are reported as failed and
+	 *         skipped
+	 */
+	CompletableFuture<BatchResultTransport> addPeersToGroup(List<String> peerIds, Long peerGroupId);
+
+	/**
+	 * Drops many peers as members of the specified peer group in one transaction.
+	 * 
+	 * @param peerIds
+	 *            List of peer IDs
+	 * @param peerGroupId
+	 *            Peer group ID
+	 * @return Future that completes with result for each ID in request order;
+	 *         peers not in the group are reported as failed and skipped
+	 */
+	CompletableFuture<BatchResultTransport> dropPeersFromGroup(List<String> peerIds, Long peerGroupId);
+
+	/**
+	 * Gets a page of solutions in the specified solution group.
+	 * 
+	 * @param solutionGroupId
+	 *            Solution group ID
+	 * @param pageRequest
+	 *            Page index, page size and sort information; defaults to page 0 of
+	 *            size 20 if null.
+	 * @return Future that completes with page of objects.
+	 */
+	CompletableFuture<RestPageResponse<MLPSolution>> getSolutionsInGroup(Long solutionGroupId,
+			RestPageRequest pageRequest);
+
+	/**
+	 * Adds the specified solution as a member of the specified solution group.
+	 * 
+	 * @param solutionId
+	 *            Solution ID
+	 * @param solutionGroupId
+	 *            Solution group ID
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> addSolutionToGroup(String solutionId, Long solutionGroupId);
+
+	/**
+	 * Drops the specified solution as a member of the specified solution group.
+	 * 
+	 * @param solutionId
+	 *            Solution ID
+	 * @param solutionGroupId
+	 *            Solution group ID
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> dropSolutionFromGroup(String solutionId, Long solutionGroupId);
+
+	/**
+	 * Adds many solutions as members of the specified solution group in one
+	 * transaction.
+	 * 
+	 * @param solutionIds
+	 *            List of solution IDs
+	 * @param solutionGroupId
+	 *            Solution group ID
+	 * @return Future that completes with result for each ID in request order;
+	 *         solutions not found or already in the group are reported as failed
+	 *         and skipped
+	 */
+	CompletableFuture<BatchResultTransport> addSolutionsToGroup(List<String> solutionIds, Long solutionGroupId);
+
+	/**
+	 * Drops many solutions as members of the specified solution group in one
+	 * transaction.
+	 * 
+	 * @param solutionIds
+	 *            List of solution IDs
+	 * @param solutionGroupId
+	 *            Solution group ID
+	 * @return Future that completes with result for each ID in request order;
+	 *         solutions not in the group are reported as failed and skipped
+	 */
+	CompletableFuture<BatchResultTransport> dropSolutionsFromGroup(List<String> solutionIds, Long solutionGroupId);
+
+	/**
+	 * Gets a page of peer group - solution group mappings.
+	 * 
+	 * @param pageRequest
+	 *            Page index, page size and sort information; defaults to page 0 of
+	 *            size 20 if null.
+	 * @return Future that completes with page of objects.
+	 */
+	CompletableFuture<RestPageResponse<MLPPeerSolAccMap>> getPeerSolutionGroupMaps(RestPageRequest pageRequest);
+
+	/**
+	 * Adds the mapping between the specified peer and solution groups.
+	 * 
+	 * @param peerGroupId
+	 *            Peer group ID
+	 * @param solutionGroupId
+	 *            Solution group ID
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> mapPeerSolutionGroups(Long peerGroupId, Long solutionGroupId);
+
+	/**
+	 * Drops the mapping between the specified peer and solution groups.
+	 * 
+	 * @param peerGroupId
+	 *            Peer group ID
+	 * @param solutionGroupId
+	 *            Solution group ID
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> unmapPeerSolutionGroups(Long peerGroupId, Long solutionGroupId);
+
+	/**
+	 * Adds the mapping between the specified principal and resource peer groups.
+	 * 
+	 * @param principalGroupId
+	 *            Peer group ID
+	 * @param resourceGroupId
+	 *            Peer group ID
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> mapPeerPeerGroups(Long principalGroupId, Long resourceGroupId);
+
+	/**
+	 * Drops the mapping between the specified principal and resource peer groups.
+	 * 
+	 * @param principalGroupId
+	 *            Peer group ID
+	 * @param resourceGroupId
+	 *            Peer group ID
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> unmapPeerPeerGroups(Long principalGroupId, Long resourceGroupId);
+
+	/**
+	 * Checks whether the specified peer ID may access the specified solution ID by
+	 * counting the number of paths that grant the access; i.e., peer membership in
+	 * peer group, peer group to solution group mapping, solution membership in
+	 * solution group, etc.
+	 * 
+	 * @param peerId
+	 *            Peer ID
+	 * @param solutionId
+	 *            Solution ID
+	 * @return Future that completes with nonzero positive number if yes; zero if
+	 *         no; throws an exception if
+	 *         invalid peer or solution ID values are used.
+	 */
+	CompletableFuture<Long> checkRestrictedAccessSolution(String peerId, String solutionId);
+
+	/**
+	 * Gets peers accessible to the specified peer.
+	 * 
+	 * @param peerId
+	 *            Peer ID
+	 * @return Future that completes with list of accessible peers
+	 */
+	CompletableFuture<List<MLPPeer>> getPeerAccess(String peerId);
+
+	/**
+	 * Searches for active solutions available to the specified peer due to
+	 * appropriate entries in the peer-group, peer-solution-group and solution-group
+	 * membership mapping tables. Those solutions are expected to have only private
+	 * revisions, but that's not checked; i.e., if a solution with public revisions
+	 * also appears in the mapping tables, that will be included in this result.
+	 *
+	 * @param peerId
+	 *            Peer ID
+	 * @param pageRequest
+	 *            Page index, page size and sort information; defaults to page 0 of
+	 *            size 20 if null.
+	 * @return Future that completes with page of MLPSolution accessible to the
+	 *         specified peer, which may be
+	 *         none
+	 */
+	CompletableFuture<RestPageResponse<MLPSolution>> findRestrictedAccessSolutions(String peerId,
+			RestPageRequest pageRequest);
+
+	/**
+	 * Creates a user notification preference.
+	 * 
+	 * @param usrNotifPref
+	 *            user notification preference data
+	 * @return Future that completes with complete object, with generated
+	 *         information such as ID
+	 */
+	CompletableFuture<MLPUserNotifPref> createUserNotificationPreference(MLPUserNotifPref usrNotifPref);
+
+	/**
+	 * Updates a user notification preference.
+	 * 
+	 * @param usrNotifPref
+	 *            user notification preference data
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> updateUserNotificationPreference(MLPUserNotifPref usrNotifPref);
+
+	/**
+	 * Deletes a user notification preference.
+	 * 
+	 * @param userNotifPrefId
+	 *            user notification preference ID
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> deleteUserNotificationPreference(Long userNotifPrefId);
+
+	/**
+	 * Gets a list of user notification preferences for the specified user.
+	 * 
+	 * @param userId
+	 *            User ID
+	 * @return Future that completes with list of user notification preferences for
+	 *         the specified solution.
+	 */
+	CompletableFuture<List<MLPUserNotifPref>> getUserNotificationPreferences(String userId);
+
+	/**
+	 * Gets the user notification preference with the specified ID.
+	 * 
+	 * @param usrNotifPrefId
+	 *            user notification preference ID
+	 * @return Future that completes with user Notification Preference object
+	 */
+	CompletableFuture<MLPUserNotifPref> getUserNotificationPreference(Long usrNotifPrefId);
+
+	/**
+	 * Gets the member solution IDs in the specified composite solution.
+	 * 
+	 * @param parentId
+	 *            parent solution ID.
+	 * @return Future that completes with list of child solution IDs
+	 */
+	CompletableFuture<List<String>> getCompositeSolutionMembers(String parentId);
+
+	/**
+	 * Adds the specified member to the specified composite solution.
+	 * 
+	 * @param parentId
+	 *            parent solution ID.
+	 * @param childId
+	 *            child solution ID
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> addCompositeSolutionMember(String parentId, String childId);
+
+	/**
+	 * Removes the specified member from the specified composite solution.
+	 * 
+	 * @param parentId
+	 *            parent solution ID.
+	 * @param childId
+	 *            child solution ID
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> dropCompositeSolutionMember(String parentId, String childId);
+
+	/**
+	 * Gets the description for a revision and access type.
+	 * 
+	 * @param revisionId
+	 *            revision ID
+	 * @param accessTypeCode
+	 *            access type code
+	 * @return Future that completes with MLPRevisionDescription
+	 */
+	CompletableFuture<MLPRevisionDescription> getRevisionDescription(String revisionId, String accessTypeCode);
+
+	/**
+	 * Creates a description for a revision and access type.
+	 * 
+	 * @param description
+	 *            Revision description to create
+	 * @return Future that completes with MLPRevisionDescription
+	 */
+	CompletableFuture<MLPRevisionDescription> createRevisionDescription(MLPRevisionDescription description);
+
+	/**
+	 * Updates an existing description for a revision and access type.
+	 * 
+	 * @param description
+	 *            Revision description to update
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> updateRevisionDescription(MLPRevisionDescription description);
+
+	/**
+	 * Deletes a description for a revision and access type.
+	 * 
+	 * @param revisionId
+	 *            revision ID
+	 * @param accessTypeCode
+	 *            access type code
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> deleteRevisionDescription(String revisionId, String accessTypeCode);
+
+	/**
+	 * Gets the document with the specified ID. This is usually metadata about a
+	 * user-supplied document stored in Nexus.
+	 * 
+	 * @param documentId
+	 *            document ID
+	 * @return Future that completes with document object
+	 */
+	CompletableFuture<MLPDocument> getDocument(String documentId);
+
+	/**
+	 * Creates a document. This is usually metadata about a user-supplied document
+	 * stored in Nexus.
+	 * 
+	 * @param document
+	 *            Document data. If the ID field is null a new value is generated;
+	 *            otherwise the ID value is used if valid and not already known.
+	 * @return Future that completes with complete object, with generated
+	 *         information such as ID
+	 */
+	CompletableFuture<MLPDocument> createDocument(MLPDocument document);
+
+	/**
+	 * Updates a document. This is usually metadata about a user-supplied document
+	 * stored in Nexus.
+	 * 
+	 * 
+	 * @param document
+	 *            Document data
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> updateDocument(MLPDocument document);
+
+	/**
+	 * Deletes a document. An document can be deleted if is not associated with any
+	 * solution revisions; if associations remain the delete will fail.
+	 * 
+	 * @param documentId
+	 *            document ID
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> deleteDocument(String documentId);
+
+	/**
+	 * Gets the documents for a solution revision at the specified access type.
+	 * 
+	 * @param revisionId
+	 *            revision ID
+	 * @param accessTypeCode
+	 *            Access type code; e.g., "PB"
+	 * @return Future that completes with list of MLPDocument
+	 */
+	CompletableFuture<List<MLPDocument>> getSolutionRevisionDocuments(String revisionId, String accessTypeCode);
+
+	/**
+	 * Adds a user document to a solution revision at the specified access type.
+	 * 
+	 * @param revisionId
+	 *            Revision ID
+	 * @param accessTypeCode
+	 *            Access type code; e.g., "PB"
+	 * @param documentId
+	 *            Document Id
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> addSolutionRevisionDocument(String revisionId, String accessTypeCode, String documentId);
+
+	/**
+	 * Removes a user document from a solution revision at the specified access
+	 * type.
+	 * 
+	 * @param revisionId
+	 *            Revision ID
+	 * @param accessTypeCode
+	 *            Access type code; e.g., "PB"
+	 * @param documentId
+	 *            Document Id
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> dropSolutionRevisionDocument(String revisionId, String accessTypeCode, String documentId);
+
+	/**
+	 * Gets a publish request. Throws if ID is not found.
+	 * 
+	 * @param requestId
+	 *            Publish request ID
+	 * @return Future that completes with MLPPublishRequest
+	 */
+	CompletableFuture<MLPPublishRequest> getPublishRequest(long requestId);
+
+	/**
+	 * Gets a page of publish requests.
+	 * 
+	 * @param pageRequest
+	 *            Page index, page size and sort information; defaults to page 0 of
+	 *            size 20 if null.
+	 * @return Future that completes with page of publish request objects.
+	 */
+	CompletableFuture<RestPageResponse<MLPPublishRequest>> getPublishRequests(RestPageRequest pageRequest);
+
+	/**
+	 * Searches publish requests for exact matches.
+	 * 
+	 * @param queryParameters
+	 *            Map of field-name, field-value pairs to use as query criteria.
+	 *            Accepts these field names: solutionId, revisionId, requestUserId,
+	 *            reviewUserId, statusCode.
+	 * @param isOr
+	 *            If true, finds matches on any field-value pair (conditions are
+	 *            OR-ed together); otherwise finds matches on all field-value pairs
+	 *            (conditions are AND-ed together).
+	 * @param pageRequest
+	 *            Page index, page size and sort information; defaults to page 0 of
+	 *            size 20 if null.
+	 * @return Future that completes with page of publish request objects
+	 */
+	CompletableFuture<RestPageResponse<MLPPublishRequest>> searchPublishRequests(Map<String, Object> queryParameters,
+			boolean isOr, RestPageRequest pageRequest);
+
+	/**
+	 * Convenience method that checks for a pending publish request.
+	 * 
+	 * @param solutionId
+	 *            Solution ID
+	 * @param revisionId
+	 *            Revision ID
+	 * 
+	 * @return Future that completes with true if one is found, else false.
+	 */
+	CompletableFuture<Boolean> isPublishRequestPending(String solutionId, String revisionId);
+
+	/**
+	 * Creates a publish request.
+	 * 
+	 * @param publishRequest
+	 *            result Publish Request data.
+	 * @return Future that completes with complete object, with generated
+	 *         information such as ID
+	 */
+	CompletableFuture<MLPPublishRequest> createPublishRequest(MLPPublishRequest publishRequest);
+
+	/**
+	 * Updates a publish request.
+	 * 
+	 * @param publishRequest
+	 *            Publish Request data
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> updatePublishRequest(MLPPublishRequest publishRequest);
+
+	/**
+	 * Deletes a publish request.
+	 * 
+	 * @param publishRequestId
+	 *            publishRequest ID
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> deletePublishRequest(long publishRequestId);
+
+	/**
+	 * Adds the specified tag to the specified user. Creates the tag if needed.
+	 * 
+	 * @param tag
+	 *            tag string
+	 * @param userId
+	 *            User ID
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> addUserTag(String userId, String tag);
+
+	/**
+	 * Removes the specified tag from the specified user.
+	 * 
+	 * @param tag
+	 *            tag string
+	 * @param userId
+	 *            User ID
+	 * @return Future that completes when the server has answered
+	 */
+	CompletableFuture<Void> dropUserTag(String userId, String tag);
+
+	/**
+	 * Sets the request ID to use in a header on every request to the server. If no
+	 * request ID is set, or if this method is called with null, the implementation
+	 * must generate a new ID for each request.
+	 * 
+	 * @param requestId
+	 *            A request identifier
+	 */
+	void setRequestId(String requestId);
+
+	/**
+	 * Gets statistics of the HTTP connection pool, which show whether calls are
+	 * waiting for connections.
+	 * 
+	 * @return Counts of leased, pending, available and maximum connections; null
+	 *         if the underlying client does not manage its own pool.
+	 */
+	PoolStats getConnectionPoolStats();
+
+	/**
+	 * Stops accepting calls and releases the worker threads. Calls already
+	 * accepted are completed first. Does not close the underlying synchronous
+	 * client.
+	 */
+	@Override
+	void close();
+
+}
@@ -20,7 +20,10 @@
 
 package org.acumos.cds.client;
 
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -67,9 +70,16 @@
 import org.acumos.cds.domain.MLPValidationSequence;
 import org.acumos.cds.domain.MLPValidationStatus;
 import org.acumos.cds.domain.MLPValidationType;
+import org.acumos.cds.transport.BatchResultTransport;
+import org.acumos.cds.transport.ChangeFeedTransport;
+import org.acumos.cds.transport.DeleteCountsTransport;
+import org.acumos.cds.transport.FacetCountsTransport;
+import org.acumos.cds.transport.NotificationAudienceRequest;
 import org.acumos.cds.transport.RestPageRequest;
 import org.acumos.cds.transport.RestPageResponse;
 import org.acumos.cds.transport.SuccessTransport;
+import org.acumos.cds.transport.ThreadTreeTransport;
+import org.apache.http.pool.PoolStats;
 
 /**
  * Defines the interface of the Controller REST client. The server answers 400
@@ -82,7 +92,7 @@
  * to obtain the detailed error message sent by the server.
  */
 @SuppressWarnings("deprecation")
-public interface ICommonDataServiceRestClient {
+public interface ICommonDataServiceRestClient extends AutoCloseable {
 
 	/**
 	 * Checks the health of the server.
@@ -221,6 +231,33 @@ public interface ICommonDataServiceRestClient {
 	 */
 	RestPageResponse<MLPSolution> getSolutions(RestPageRequest pageRequest);
 
+	/**
+	 * Gets a page of solutions using seek pagination, which is efficient for deep
+	 * pages. The response carries a token for the next page, which is null on
+	 * the last page; total counts are not provided.
+	 * 
+	 * @param token
+	 *            Continuation token from the previous page; null for the first
+	 *            page
+	 * @param pageRequest
+	 *            Page size and sort on one non-nullable field; the page index is
+	 *            ignored, as is the sort if a token is supplied. Server defaults
+	 *            are used if null.
+	 * @return Page of objects with continuation token.
+	 */
+	RestPageResponse<MLPSolution> seekSolutions(String token, RestPageRequest pageRequest);
+
+	/**
+	 * Iterates over all solutions using seek pagination, fetching one page at a
+	 * time as needed.
+	 * 
+	 * @param pageRequest
+	 *            Page size and sort on one non-nullable field; the page index is
+	 *            ignored. Server defaults are used if null.
+	 * @return Iterator of objects
+	 */
+	Iterator<MLPSolution> iterateSolutions(RestPageRequest pageRequest);
+
 	/**
 	 * Returns solutions with a name or description that contains the search term.
 	 * 
@@ -267,6 +304,38 @@ public interface ICommonDataServiceRestClient {
 	RestPageResponse<MLPSolution> findSolutionsByDate(boolean active, String[] accessTypeCodes,
 			String[] validationStatusCodes, Date date, RestPageRequest pageRequest);
 
+	/**
+	 * Gets changes to solutions, revisions, revision descriptions, artifacts and
+	 * documents from the change log, oldest first. Federated peers should use this
+	 * to synchronize incrementally instead of searching by modification date: pass
+	 * 0 on the first call, then the cursor from the previous response.
+	 * 
+	 * @param cursor
+	 *            Cursor from the previous response; 0 to start at the beginning
+	 * @param limit
+	 *            Maximum number of changes to return
+	 * @param accessTypeCodes
+	 *            Limits the changes to solutions with a revision that has one of
+	 *            these access type codes; ignored if null or empty. Solution
+	 *            deletes are always returned.
+	 * @param validationStatusCodes
+	 *            Limits the changes to solutions with a revision that has one of
+	 *            these validation status codes; ignored if null or empty
+	 * @return Batch of changes and the cursor for the next call
+	 */
+	ChangeFeedTransport getSolutionChanges(long cursor, int limit, String[] accessTypeCodes,
+			String[] validationStatusCodes);
+
+	/**
+	 * Exports all solutions with web stats, solution tags, revisions, artifacts
+	 * and revision artifacts as a stream of records. The server walks the tables
+	 * with database cursors and the response is compressed, so neither side holds
+	 * the catalog in memory. The caller must close the reader.
+	 * 
+	 * @return Reader that yields records as they arrive
+	 */
+	CatalogExportReader exportCatalog();
+
 	/**
 	 * Finds solutions that match every specified condition. Special-purpose method
 	 * to support the dynamic search page on the portal marketplace.
@@ -309,10 +378,11 @@ RestPageResponse<MLPSolution> findPortalSolutions(String[] nameKeywords, String[
 			RestPageRequest pageRequest);
 
 	/**
-	 * Gets a page of solutions that match every condition, with the caveat that any
-	 * one of the keywords can match, and multiple free-text fields are searched.
-	 * Other facets such as userId, model type code, etc. must match. This will be
-	 * slow because it requires table scans.
+	 * Gets a page of solutions that match every condition, with the caveat that
+	 * multiple free-text fields are searched. Every keyword must match the start
+	 * of a word in those fields, or any keyword may match a solution or revision
+	 * ID exactly. Other facets such as userId, model type code, etc. must match.
+	 * Without a sort in the page request, results are ordered by relevance.
 	 * 
 	 * @param keywords
 	 *            Keywords to find in the name, revision description, author,
@@ -338,10 +408,11 @@ RestPageResponse<MLPSolution> findPortalSolutionsByKw(String[] keywords, boolean
 			String[] accessTypeCodes, String[] modelTypeCodes, String[] tags, RestPageRequest pageRequest);
 
 	/**
-	 * Gets a page of solutions that match every condition, with the caveat that any
-	 * one of the keywords can match, and multiple free-text fields are searched.
-	 * Other facets such as userId, model type code, etc. must match. This will be
-	 * slow because it requires table scans.
+	 * Gets a page of solutions that match every condition, with the caveat that
+	 * multiple free-text fields are searched. Every keyword must match the start
+	 * of a word in those fields, or any keyword may match a solution or revision
+	 * ID exactly. Other facets such as userId, model type code, etc. must match.
+	 * Without a sort in the page request, results are ordered by relevance.
 	 * 
 	 * @param keywords
 	 *            Keywords to find in the name, revision description, author,
@@ -371,6 +442,38 @@ RestPageResponse<MLPSolution> findPortalSolutionsByKwAndTags(String[] keywords,
 			String[] accessTypeCodes, String[] modelTypeCodes, String[] allTags, String[] anyTags,
 			RestPageRequest pageRequest);
 
+	/**
+	 * Counts solutions that match the keywords and facet values, in total and for
+	 * each model type, access type, validation status and tag, so a portal can
+	 * show the size of each refinement without extra queries. Values of one facet
+	 * are OR-ed and facets are AND-ed.
+	 * 
+	 * @param keywords
+	 *            Keywords as in {@link #findPortalSolutionsByKw}; ignored if null or
+	 *            empty
+	 * @param active
+	 *            Solution active status; ignored if null
+	 * @param accessTypeCodes
+	 *            Access type codes; ignored if null or empty
+	 * @param modelTypeCodes
+	 *            Model type codes; ignored if null or empty
+	 * @param validationStatusCodes
+	 *            Validation status codes; ignored if null or empty
+	 * @param allTags
+	 *            Solutions must have ALL tags in the supplied set; ignored if null
+	 *            or empty
+	 * @param anyTags
+	 *            Solutions must have ANY tag in the supplied set; ignored if null or
+	 *            empty
+	 * @param noTags
+	 *            Solutions must have NONE of the tags in the supplied set; ignored
+	 *            if null or empty
+	 * @return Facet counts
+	 */
+	FacetCountsTransport getPortalSolutionFacetCounts(String[] keywords, Boolean active, String[] accessTypeCodes,
+			String[] modelTypeCodes, String[] validationStatusCodes, String[] allTags, String[] anyTags,
+			String[] noTags);
+
 	/**
 	 * Finds solutions editable by the specified user ('my models'). This includes
 	 * the user's private solutions and solutions co-owned by (shared with) the
@@ -437,6 +540,17 @@ RestPageResponse<MLPSolution> searchSolutions(Map<String, Object> queryParameter
 	 */
 	MLPSolution getSolution(String solutionId);
 
+	/**
+	 * Gets the solutions with the specified IDs in one request. IDs are sent in
+	 * the request body, so the list is not limited by URL length.
+	 * 
+	 * @param solutionIds
+	 *            List of solution IDs
+	 * @return List of solutions that were found, in no particular order; unknown
+	 *         IDs are skipped
+	 */
+	List<MLPSolution> getSolutionsByIds(List<String> solutionIds);
+
 	/**
 	 * Creates a solution.
 	 * 
@@ -468,14 +582,76 @@ RestPageResponse<MLPSolution> searchSolutions(Map<String, Object> queryParameter
 	void incrementSolutionViewCount(String solutionId);
 
 	/**
-	 * Deletes a solution. A solution can be deleted if is not associated with any
-	 * revisions; if associations remain the delete will fail.
+	 * Deletes a solution. Cascades the delete to revisions and other related
+	 * entities like {@link ICommonDataServiceRestClient#deleteSolutions(List)}; if
+	 * other associations remain the delete will fail.
 	 * 
 	 * @param solutionId
 	 *            solution ID
 	 */
 	void deleteSolution(String solutionId);
 
+	/**
+	 * Deletes many solutions in one transaction. Cascades the delete to revisions
+	 * and their artifact and document associations, descriptions, tags, web stats,
+	 * pictures, ratings, downloads, favorites, access grants, validations,
+	 * deployments, step results, publish requests, group memberships, comment
+	 * threads and composite-solution child links. Artifacts and documents are not
+	 * deleted. If other associations remain the delete fails and nothing is
+	 * deleted. IDs that are not found are ignored.
+	 * 
+	 * @param solutionIds
+	 *            List of solution IDs
+	 * @return Number of solutions deleted and number of rows deleted from each
+	 *         table
+	 */
+	DeleteCountsTransport deleteSolutions(List<String> solutionIds);
+
+	/**
+	 * Gets the picture of a solution and copies it to the specified stream. The
+	 * picture is sent as binary content, not as part of the solution object.
+	 * 
+	 * @param solutionId
+	 *            solution ID
+	 * @param out
+	 *            Stream that receives the picture; not closed by this method
+	 * @return Content type of the picture; null if the solution has no picture
+	 */
+	String getSolutionPicture(String solutionId, OutputStream out);
+
+	/**
+	 * Gets the picture of a solution. Check the picture hash of the solution object
+	 * to avoid fetching an unchanged picture.
+	 * 
+	 * @param solutionId
+	 *            solution ID
+	 * @return Picture bytes; null if the solution has no picture
+	 */
+	byte[] getSolutionPicture(String solutionId);
+
+	/**
+	 * Saves the picture of a solution, replacing any existing picture. The server
+	 * sets the picture hash of the solution.
+	 * 
+	 * @param solutionId
+	 *            solution ID
+	 * @param contentType
+	 *            Media type such as "image/png"; if null the server detects the
+	 *            type from the content
+	 * @param picture
+	 *            Stream with the picture; read to the end but not closed by this
+	 *            method
+	 */
+	void saveSolutionPicture(String solutionId, String contentType, InputStream picture);
+
+	/**
+	 * Deletes the picture of a solution and clears the picture hash.
+	 * 
+	 * @param solutionId
+	 *            solution ID
+	 */
+	void deleteSolutionPicture(String solutionId);
+
 	/**
 	 * Gets the solution revisions for the specified solution ID.
 	 * 
@@ -506,6 +682,16 @@ RestPageResponse<MLPSolution> searchSolutions(Map<String, Object> queryParameter
 	 */
 	MLPSolutionRevision getSolutionRevision(String solutionId, String revisionId);
 
+	/**
+	 * Gets the solution revisions with the specified IDs in one request.
+	 * 
+	 * @param revisionIds
+	 *            List of revision IDs
+	 * @return List of revisions that were found, in no particular order; unknown
+	 *         IDs are skipped
+	 */
+	List<MLPSolutionRevision> getSolutionRevisionsByIds(List<String> revisionIds);
+
 	/**
 	 * Gets the solution revisions for the specified artifact ID.
 	 * 
@@ -580,6 +766,30 @@ RestPageResponse<MLPSolution> searchSolutions(Map<String, Object> queryParameter
 	 */
 	void dropSolutionRevisionArtifact(String solutionId, String revisionId, String artifactId);
 
+	/**
+	 * Adds many artifacts to a solution revision in one transaction.
+	 * 
+	 * @param revisionId
+	 *            Revision ID
+	 * @param artifactIds
+	 *            List of artifact IDs
+	 * @return Result for each artifact ID in request order; artifacts that are
+	 *         unknown or already mapped are reported as failed and skipped
+	 */
+	BatchResultTransport addSolutionRevisionArtifacts(String revisionId, List<String> artifactIds);
+
+	/**
+	 * Removes many artifacts from a solution revision in one transaction.
+	 * 
+	 * @param revisionId
+	 *            Revision ID
+	 * @param artifactIds
+	 *            List of artifact IDs
+	 * @return Result for each artifact ID in request order; artifacts that are not
+	 *         mapped are reported as failed and skipped
+	 */
+	BatchResultTransport dropSolutionRevisionArtifacts(String revisionId, List<String> artifactIds);
+
 	/**
 	 * Gets a page of solution tags.
 	 *
@@ -637,6 +847,31 @@ RestPageResponse<MLPSolution> searchSolutions(Map<String, Object> queryParameter
 	 */
 	void dropSolutionTag(String solutionId, String tag);
 
+	/**
+	 * Adds many tags to the specified solution in one transaction, creating tags
+	 * as needed.
+	 * 
+	 * @param solutionId
+	 *            solution ID
+	 * @param tags
+	 *            List of tag strings
+	 * @return Result for each tag in request order; tags already on the solution
+	 *         are reported as failed and skipped
+	 */
+	BatchResultTransport addSolutionTags(String solutionId, List<String> tags);
+
+	/**
+	 * Removes many tags from the specified solution in one transaction.
+	 * 
+	 * @param solutionId
+	 *            solution ID
+	 * @param tags
+	 *            List of tag strings
+	 * @return Result for each tag in request order; tags not on the solution are
+	 *         reported as failed and skipped
+	 */
+	BatchResultTransport dropSolutionTags(String solutionId, List<String> tags);
+
 	/**
 	 * Gets the count of artifacts.
 	 * 
@@ -654,6 +889,33 @@ RestPageResponse<MLPSolution> searchSolutions(Map<String, Object> queryParameter
 	 */
 	RestPageResponse<MLPArtifact> getArtifacts(RestPageRequest pageRequest);
 
+	/**
+	 * Gets a page of artifacts using seek pagination, which is efficient for deep
+	 * pages. The response carries a token for the next page, which is null on
+	 * the last page; total counts are not provided.
+	 * 
+	 * @param token
+	 *            Continuation token from the previous page; null for the first
+	 *            page
+	 * @param pageRequest
+	 *            Page size and sort on one non-nullable field; the page index is
+	 *            ignored, as is the sort if a token is supplied. Server defaults
+	 *            are used if null.
+	 * @return Page of objects with continuation token.
+	 */
+	RestPageResponse<MLPArtifact> seekArtifacts(String token, RestPageRequest pageRequest);
+
+	/**
+	 * Iterates over all artifacts using seek pagination, fetching one page at a
+	 * time as needed.
+	 * 
+	 * @param pageRequest
+	 *            Page size and sort on one non-nullable field; the page index is
+	 *            ignored. Server defaults are used if null.
+	 * @return Iterator of objects
+	 */
+	Iterator<MLPArtifact> iterateArtifacts(RestPageRequest pageRequest);
+
 	/**
 	 * Returns artifacts with a name or description that contains the search term.
 	 * 
@@ -694,6 +956,16 @@ RestPageResponse<MLPArtifact> searchArtifacts(Map<String, Object> queryParameter
 	 */
 	MLPArtifact getArtifact(String artifactId);
 
+	/**
+	 * Gets the artifacts with the specified IDs in one request.
+	 * 
+	 * @param artifactIds
+	 *            List of artifact IDs
+	 * @return List of artifacts that were found, in no particular order; unknown
+	 *         IDs are skipped
+	 */
+	List<MLPArtifact> getArtifactsByIds(List<String> artifactIds);
+
 	/**
 	 * Creates a artifact.
 	 * 
@@ -712,6 +984,28 @@ RestPageResponse<MLPArtifact> searchArtifacts(Map<String, Object> queryParameter
 	 */
 	void updateArtifact(MLPArtifact artifact);
 
+	/**
+	 * Creates many artifacts in one transaction.
+	 * 
+	 * @param artifacts
+	 *            List of artifacts. If an ID field is null a new value is
+	 *            generated; otherwise the ID value is used if valid and not
+	 *            already known.
+	 * @return Result for each artifact in request order, with the generated ID on
+	 *         success; invalid artifacts are reported as failed and skipped
+	 */
+	BatchResultTransport createArtifacts(List<MLPArtifact> artifacts);
+
+	/**
+	 * Updates many artifacts in one transaction.
+	 * 
+	 * @param artifacts
+	 *            List of artifacts with IDs
+	 * @return Result for each artifact in request order; unknown or invalid
+	 *         artifacts are reported as failed and skipped
+	 */
+	BatchResultTransport updateArtifacts(List<MLPArtifact> artifacts);
+
 	/**
 	 * Deletes an artifact. An artifact can be deleted if is not associated with any
 	 * solution revisions; if associations remain the delete will fail.
@@ -738,6 +1032,33 @@ RestPageResponse<MLPArtifact> searchArtifacts(Map<String, Object> queryParameter
 	 */
 	RestPageResponse<MLPUser> getUsers(RestPageRequest pageRequest);
 
+	/**
+	 * Gets a page of users using seek pagination, which is efficient for deep
+	 * pages. The response carries a token for the next page, which is null on
+	 * the last page; total counts are not provided.
+	 * 
+	 * @param token
+	 *            Continuation token from the previous page; null for the first
+	 *            page
+	 * @param pageRequest
+	 *            Page size and sort on one non-nullable field; the page index is
+	 *            ignored, as is the sort if a token is supplied. Server defaults
+	 *            are used if null.
+	 * @return Page of objects with continuation token.
+	 */
+	RestPageResponse<MLPUser> seekUsers(String token, RestPageRequest pageRequest);
+
+	/**
+	 * Iterates over all users using seek pagination, fetching one page at a
+	 * time as needed.
+	 * 
+	 * @param pageRequest
+	 *            Page size and sort on one non-nullable field; the page index is
+	 *            ignored. Server defaults are used if null.
+	 * @return Iterator of objects
+	 */
+	Iterator<MLPUser> iterateUsers(RestPageRequest pageRequest);
+
 	/**
 	 * Returns users with a first, middle, last or login name that contains the
 	 * search term.
@@ -832,6 +1153,16 @@ RestPageResponse<MLPUser> searchUsers(Map<String, Object> queryParameters, boole
 	 */
 	MLPUser getUser(String userId);
 
+	/**
+	 * Gets the users with the specified IDs in one request.
+	 * 
+	 * @param userIds
+	 *            List of user IDs
+	 * @return List of users that were found, in no particular order, without
+	 *         password hashes; unknown IDs are skipped
+	 */
+	List<MLPUser> getUsersByIds(List<String> userIds);
+
 	/**
 	 * Creates a user.
 	 * 
@@ -860,6 +1191,64 @@ RestPageResponse<MLPUser> searchUsers(Map<String, Object> queryParameters, boole
 	 */
 	void deleteUser(String userId);
 
+	/**
+	 * Deletes many users in one transaction. Cascades the delete to role,
+	 * login-provider, notification, tag, favorite and access associations,
+	 * notification preferences and pictures. If associations remain with artifacts
+	 * such as solutions the delete fails and nothing is deleted. IDs that are not
+	 * found are ignored.
+	 * 
+	 * @param userIds
+	 *            List of user IDs
+	 * @return Number of users deleted and number of rows deleted from each table
+	 */
+	DeleteCountsTransport deleteUsers(List<String> userIds);
+
+	/**
+	 * Gets the picture of a user and copies it to the specified stream. The
+	 * picture is sent as binary content, not as part of the user object.
+	 * 
+	 * @param userId
+	 *            user ID
+	 * @param out
+	 *            Stream that receives the picture; not closed by this method
+	 * @return Content type of the picture; null if the user has no picture
+	 */
+	String getUserPicture(String userId, OutputStream out);
+
+	/**
+	 * Gets the picture of a user. Check the picture hash of the user object
+	 * to avoid fetching an unchanged picture.
+	 * 
+	 * @param userId
+	 *            user ID
+	 * @return Picture bytes; null if the user has no picture
+	 */
+	byte[] getUserPicture(String userId);
+
+	/**
+	 * Saves the picture of a user, replacing any existing picture. The server
+	 * sets the picture hash of the user.
+	 * 
+	 * @param userId
+	 *            user ID
+	 * @param contentType
+	 *            Media type such as "image/png"; if null the server detects the
+	 *            type from the content
+	 * @param picture
+	 *            Stream with the picture; read to the end but not closed by this
+	 *            method
+	 */
+	void saveUserPicture(String userId, String contentType, InputStream picture);
+
+	/**
+	 * Deletes the picture of a user and clears the picture hash.
+	 * 
+	 * @param userId
+	 *            user ID
+	 */
+	void deleteUserPicture(String userId);
+
 	/**
 	 * Gets the roles for the specified user ID.
 	 * 
@@ -1159,6 +1548,17 @@ RestPageResponse<MLPPeer> searchPeers(Map<String, Object> queryParameters, boole
 	 */
 	void deletePeer(String peerId);
 
+	/**
+	 * Deletes many peers in one transaction. Cascades the delete to peer
+	 * subscriptions and group memberships. If other associations remain the delete
+	 * fails and nothing is deleted. IDs that are not found are ignored.
+	 * 
+	 * @param peerIds
+	 *            List of peer IDs
+	 * @return Number of peers deleted and number of rows deleted from each table
+	 */
+	DeleteCountsTransport deletePeers(List<String> peerIds);
+
 	/**
 	 * Gets all subscriptions for the specified peer.
 	 * 
@@ -1349,8 +1749,7 @@ RestPageResponse<MLPPeer> searchPeers(Map<String, Object> queryParameters, boole
 	void updateNotification(MLPNotification notification);
 
 	/**
-	 * Deletes a notification. A notification can be deleted if is not associated
-	 * with any user recipients; if associations remain the delete will fail.
+	 * Deletes a notification and its associations with user recipients.
 	 * 
 	 * @param notificationId
 	 *            ID of instance to delete
@@ -1400,6 +1799,43 @@ RestPageResponse<MLPPeer> searchPeers(Map<String, Object> queryParameters, boole
 	 *            user ID
 	 */
 	void setUserViewedNotification(String notificationId, String userId);
+	/**
+	 * Adds many users as recipients of the specified notification with one
+	 * statement: all active users, the active users in a role, or a list of
+	 * users. Users who are already recipients are skipped.
+	 * 
+	 * @param notificationId
+	 *            notification ID
+	 * @param audience
+	 *            Selects the users; exactly one of all users, role ID or user IDs
+	 *            must be specified
+	 * @return Number of users added as recipients
+	 */
+	long addUsersToNotification(String notificationId, NotificationAudienceRequest audience);
+
+	/**
+	 * Gets the number of active notifications the specified user has not yet
+	 * viewed. This is much cheaper than fetching the notifications.
+	 * 
+	 * @param userId
+	 *            User ID
+	 * @return Count of unviewed active notifications
+	 */
+	long getUserUnreadNotificationCount(String userId);
+
+	/**
+	 * Sets the indicator that the user has viewed many notifications in one
+	 * transaction. A notification already viewed keeps its original date.
+	 * 
+	 * @param userId
+	 *            User ID
+	 * @param notificationIds
+	 *            List of notification IDs
+	 * @return Result for each notification ID in request order; notifications
+	 *         without the user as recipient are reported as failed and skipped
+	 */
+	BatchResultTransport setUserViewedNotifications(String userId, List<String> notificationIds);
+
 
 	/**
 	 * Gets website metadata about the specified solution including average rating
@@ -1452,6 +1888,30 @@ RestPageResponse<MLPPeer> searchPeers(Map<String, Object> queryParameters, boole
 	 */
 	void dropSolutionUserAccess(String solutionId, String userId);
 
+	/**
+	 * Grants access to the specified solution for many users in one transaction.
+	 * 
+	 * @param solutionId
+	 *            solution ID
+	 * @param userIds
+	 *            List of user IDs
+	 * @return Result for each ID in request order; users not found or already
+	 *         granted access are reported as failed and skipped
+	 */
+	BatchResultTransport addSolutionUsersAccess(String solutionId, List<String> userIds);
+
+	/**
+	 * Removes access to the specified solution for many users in one transaction.
+	 * 
+	 * @param solutionId
+	 *            solution ID
+	 * @param userIds
+	 *            List of user IDs
+	 * @return Result for each ID in request order; users without access are
+	 *         reported as failed and skipped
+	 */
+	BatchResultTransport dropSolutionUsersAccess(String solutionId, List<String> userIds);
+
 	/**
 	 * Updates the password for the specified active user. Throws an exception if
 	 * the old password does not match or the user is not active.
@@ -1670,6 +2130,22 @@ RestPageResponse<MLPSolutionDeployment> getUserSolutionDeployments(String soluti
 	RestPageResponse<MLPThread> getSolutionRevisionThreads(String solutionId, String revisionId,
 			RestPageRequest pageRequest);
 
+	/**
+	 * Gets a page of threads for the specified solution and revision, each
+	 * with all its comments arranged as a tree by parent ID.
+	 * 
+	 * @param solutionId
+	 *            Solution ID
+	 * @param revisionId
+	 *            Revision ID
+	 * @param pageRequest
+	 *            Page index, page size and sort information for the threads;
+	 *            defaults to page 0 of size 20 if null.
+	 * @return Page of thread trees.
+	 */
+	RestPageResponse<ThreadTreeTransport> getSolutionRevisionThreadTrees(String solutionId, String revisionId,
+			RestPageRequest pageRequest);
+
 	/**
 	 * Gets the thread with the specified ID.
 	 * 
@@ -1812,6 +2288,33 @@ RestPageResponse<MLPComment> getSolutionRevisionComments(String solutionId, Stri
 	 */
 	RestPageResponse<MLPStepResult> getStepResults(RestPageRequest pageRequest);
 
+	/**
+	 * Gets a page of step results using seek pagination, which is efficient for deep
+	 * pages. The response carries a token for the next page, which is null on
+	 * the last page; total counts are not provided.
+	 * 
+	 * @param token
+	 *            Continuation token from the previous page; null for the first
+	 *            page
+	 * @param pageRequest
+	 *            Page size and sort on one non-nullable field; the page index is
+	 *            ignored, as is the sort if a token is supplied. Server defaults
+	 *            are used if null.
+	 * @return Page of objects with continuation token.
+	 */
+	RestPageResponse<MLPStepResult> seekStepResults(String token, RestPageRequest pageRequest);
+
+	/**
+	 * Iterates over all step results using seek pagination, fetching one page at a
+	 * time as needed.
+	 * 
+	 * @param pageRequest
+	 *            Page size and sort on one non-nullable field; the page index is
+	 *            ignored. Server defaults are used if null.
+	 * @return Iterator of objects
+	 */
+	Iterator<MLPStepResult> iterateStepResults(RestPageRequest pageRequest);
+
 	/**
 	 * Searches step results for exact matches.
 	 * 
@@ -1960,6 +2463,30 @@ RestPageResponse<MLPStepResult> searchStepResults(Map<String, Object> queryParam
 	 */
 	void dropPeerFromGroup(String peerId, Long peerGroupId);
 
+	/**
+	 * Adds many peers as members of the specified peer group in one transaction.
+	 * 
+	 * @param peerIds
+	 *            List of peer IDs
+	 * @param peerGroupId
+	 *            Peer group ID
+	 * @return Result for each ID in request order; peers not found or already in
+	 *         the group are reported as failed and skipped
+	 */
+	BatchResultTransport addPeersToGroup(List<String> peerIds, Long peerGroupId);
+
+	/**
+	 * Drops many peers as members of the specified peer group in one transaction.
+	 * 
+	 * @param peerIds
+	 *            List of peer IDs
+	 * @param peerGroupId
+	 *            Peer group ID
+	 * @return Result for each ID in request order; peers not in the group are
+	 *         reported as failed and skipped
+	 */
+	BatchResultTransport dropPeersFromGroup(List<String> peerIds, Long peerGroupId);
+
 	/**
 	 * Gets a page of solutions in the specified solution group.
 	 * 
@@ -1992,6 +2519,32 @@ RestPageResponse<MLPStepResult> searchStepResults(Map<String, Object> queryParam
 	 */
 	void dropSolutionFromGroup(String solutionId, Long solutionGroupId);
 
+	/**
+	 * Adds many solutions as members of the specified solution group in one
+	 * transaction.
+	 * 
+	 * @param solutionIds
+	 *            List of solution IDs
+	 * @param solutionGroupId
+	 *            Solution group ID
+	 * @return Result for each ID in request order; solutions not found or already
+	 *         in the group are reported as failed and skipped
+	 */
+	BatchResultTransport addSolutionsToGroup(List<String> solutionIds, Long solutionGroupId);
+
+	/**
+	 * Drops many solutions as members of the specified solution group in one
+	 * transaction.
+	 * 
+	 * @param solutionIds
+	 *            List of solution IDs
+	 * @param solutionGroupId
+	 *            Solution group ID
+	 * @return Result for each ID in request order; solutions not in the group are
+	 *         reported as failed and skipped
+	 */
+	BatchResultTransport dropSolutionsFromGroup(List<String> solutionIds, Long solutionGroupId);
+
 	/**
 	 * Gets a page of peer group - solution group mappings.
 	 * 
@@ -2136,6 +2689,24 @@ RestPageResponse<MLPStepResult> searchStepResults(Map<String, Object> queryParam
 	 */
 	void setRequestId(String requestId);
 
+	/**
+	 * Gets statistics of the HTTP connection pool, which show whether callers are
+	 * waiting for connections.
+	 * 
+	 * @return Counts of leased, pending, available and maximum connections; null
+	 *         if the client does not manage its own pool, for example when it was
+	 *         created with a caller-supplied RestTemplate.
+	 */
+	PoolStats getConnectionPoolStats();
+
+	/**
+	 * Closes the connection pool and stops the thread that evicts idle
+	 * connections, if the client manages its own pool. The client must not be
+	 * used afterwards.
+	 */
+	@Override
+	void close();
+
 	/**
 	 * Gets the member solution IDs in the specified composite solution.
 	 * 
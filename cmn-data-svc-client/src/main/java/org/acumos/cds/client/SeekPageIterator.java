@@ -0,0 +1,87 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.client;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+
+import org.acumos.cds.transport.RestPageRequest;
+import org.acumos.cds.transport.RestPageResponse;
+
+/**
+ * Iterates over all items available from a seek-pagination method, fetching
+ * one page at a time and passing the continuation token from each page to the
+ * request for the next. Walking a complete listing this way costs time linear
+ * in the number of items, unlike offset pagination.
+ * 
+ * @param <T>
+ *            Model class
+ */
+public class SeekPageIterator<T> implements Iterator<T> {
+
+	private final BiFunction<String, RestPageRequest, RestPageResponse<T>> fetcher;
+	private final RestPageRequest pageRequest;
+	private Iterator<T> current;
+	private String nextToken;
+	private boolean exhausted;
+
+	/**
+	 * Builds an iterator. No request is made until the first call to
+	 * {@link #hasNext()} or {@link #next()}.
+	 * 
+	 * @param fetcher
+	 *            Function that accepts a token (null for the first page) and a
+	 *            page request, and returns a page with a next-page token; e.g.,
+	 *            <code>client::seekSolutions</code>
+	 * @param pageRequest
+	 *            Page size and sort information; page number is ignored. Use
+	 *            null for server defaults.
+	 */
+	public SeekPageIterator(BiFunction<String, RestPageRequest, RestPageResponse<T>> fetcher,
+			RestPageRequest pageRequest) {
+		this.fetcher = fetcher;
+		this.pageRequest = pageRequest;
+	}
+
+	@Override
+	public boolean hasNext() {
+		while ((current == null || !current.hasNext()) && !exhausted) {
+			RestPageResponse<T> page = fetcher.apply(nextToken, pageRequest);
+			if (page == null) {
+				exhausted = true;
+			} else {
+				current = page.getContent().iterator();
+				nextToken = page.getNextToken();
+				exhausted = nextToken == null;
+			}
+		}
+		return current != null && current.hasNext();
+	}
+
+	@Override
+	public T next() {
+		if (!hasNext())
+			throw new NoSuchElementException();
+		return current.next();
+	}
+
+}
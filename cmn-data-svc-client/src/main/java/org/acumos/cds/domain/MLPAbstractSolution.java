@@ -25,8 +25,8 @@
 import javax.persistence.Column;
 import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
-import javax.persistence.Lob;
 import javax.persistence.MappedSuperclass;
+import javax.persistence.Transient;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
 
@@ -111,20 +111,25 @@ public abstract class MLPAbstractSolution extends MLPTimestampedEntity {
 	private String origin;
 
 	/**
-	 * User-supplied picture to decorate the solution.
-	 * 
-	 * Derby BLOB type allows 2GB. Mysql/Mariadb BLOB type only allows 64KB, that's
-	 * too small. But Derby fails to create the table if type LONGBLOB is specified
-	 * here. With no columDefinition attribute Derby generates a table AND Spring
-	 * validates the MariaDB schema if the column is created as LONGBLOB.
-	 * 
-	 * Jackson handles base64 encoding.
+	 * User-supplied picture to decorate the solution. Not mapped to a column in
+	 * this table; pictures are stored separately and are only loaded by the
+	 * picture endpoint. The server accepts a picture here on create and update
+	 * for compatibility, and does not include it in solutions that it returns.
 	 */
-	@Lob
-	@Column(name = "PICTURE", length = 2000000 /* DO NOT USE: columnDefinition = "BLOB" */)
-	@ApiModelProperty(value = "Solution picture as byte array")
+	@Transient
+	@ApiModelProperty(value = "Solution picture as byte array; accepted on create and update, not returned")
 	private byte[] picture;
 
+	/**
+	 * Hex-encoded SHA-256 digest of the picture, maintained by the server. Serves
+	 * as the picture reference and entity tag, so clients can decide whether to
+	 * fetch the picture without downloading it.
+	 */
+	@Column(name = "PICTURE_HASH", columnDefinition = "CHAR(64)")
+	@Size(max = 64)
+	@ApiModelProperty(readOnly = true, value = "Hex SHA-256 of the picture; null if none", example = "e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855")
+	private String pictureHash;
+
 	/**
 	 * No-arg constructor
 	 */
@@ -163,6 +168,7 @@ public MLPAbstractSolution(MLPAbstractSolution that) {
 		this.name = that.name;
 		this.origin = that.origin;
 		this.picture = that.picture;
+		this.pictureHash = that.pictureHash;
 		this.solutionId = that.solutionId;
 		this.toolkitTypeCode = that.toolkitTypeCode;
 	}
@@ -262,6 +268,14 @@ public void setPicture(byte[] picture) {
 		this.picture = picture;
 	}
 
+	public String getPictureHash() {
+		return pictureHash;
+	}
+
+	public void setPictureHash(String pictureHash) {
+		this.pictureHash = pictureHash;
+	}
+
 	/**
 	 * The ID field is primary, so defining this method here factors out code.
 	 */
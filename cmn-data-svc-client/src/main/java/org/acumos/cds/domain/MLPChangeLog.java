@@ -0,0 +1,212 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.domain;
+
+import java.io.Serializable;
+import java.util.Date;
+import java.util.Objects;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+
+import io.swagger.annotations.ApiModelProperty;
+
+/**
+ * Model for an entry in the append-only change log. The server writes one entry
+ * in the same transaction as each change to a solution, revision, revision
+ * description, artifact or document, so the sequence of entries is a feed of
+ * catalog changes that peers can consume incrementally.
+ * 
+ * Changes to artifacts and documents are credited to each solution that uses
+ * them via a revision; adding or removing an artifact or a document from a
+ * revision is also logged as a create or delete of that artifact or document.
+ */
+@Entity
+@Table(name = "C_CHANGE_LOG")
+public class MLPChangeLog implements MLPEntity, Serializable {
+
+	private static final long serialVersionUID = 2838471209584651203L;
+
+	public static final String SOLUTION = "SOLUTION";
+	public static final String REVISION = "REVISION";
+	public static final String DESCRIPTION = "DESCRIPTION";
+	public static final String ARTIFACT = "ARTIFACT";
+	public static final String DOCUMENT = "DOCUMENT";
+
+	public static final String CREATE = "C";
+	public static final String UPDATE = "U";
+	public static final String DELETE = "D";
+
+	// Generated by the database, see comment in MLPStepResult
+	@Id
+	@GeneratedValue(strategy = GenerationType.AUTO)
+	@Column(name = "CHANGE_ID", nullable = false, updatable = false, columnDefinition = "BIGINT")
+	@ApiModelProperty(readOnly = true, value = "Sequence number, increases with every change")
+	private Long changeId;
+
+	@Column(name = "SOLUTION_ID", updatable = false, columnDefinition = "CHAR(36)")
+	@Size(max = 36)
+	@ApiModelProperty(value = "UUID of the affected solution", example = "12345678-abcd-90ab-cdef-1234567890ab")
+	private String solutionId;
+
+	@Column(name = "ENTITY_TYPE", nullable = false, updatable = false, columnDefinition = "VARCHAR(20)")
+	@NotNull(message = "Entity type cannot be null")
+	@Size(max = 20)
+	@ApiModelProperty(required = true, value = "Type of the changed entity", example = SOLUTION)
+	private String entityType;
+
+	@Column(name = "ENTITY_ID", nullable = false, updatable = false, columnDefinition = "CHAR(36)")
+	@NotNull(message = "Entity ID cannot be null")
+	@Size(max = 36)
+	@ApiModelProperty(required = true, value = "UUID of the changed entity; revision ID for a description", example = "12345678-abcd-90ab-cdef-1234567890ab")
+	private String entityId;
+
+	@Column(name = "OPERATION", nullable = false, updatable = false, columnDefinition = "CHAR(1)")
+	@NotNull(message = "Operation cannot be null")
+	@Size(max = 1)
+	@ApiModelProperty(required = true, value = "C for create, U for update, D for delete", example = UPDATE)
+	private String operation;
+
+	@Column(name = "CHANGE_DATE", nullable = false, updatable = false, columnDefinition = "TIMESTAMP")
+	@NotNull(message = "Change date cannot be null")
+	@ApiModelProperty(required = true, value = "Millisec since the Epoch", example = "1521202458867")
+	private Date changed;
+
+	/**
+	 * No-arg constructor
+	 */
+	public MLPChangeLog() {
+		// no-arg constructor
+	}
+
+	/**
+	 * This constructor accepts the required fields; i.e., the minimum that the user
+	 * must supply to create a valid instance.
+	 * 
+	 * @param entityType
+	 *            Entity type, one of the constants in this class
+	 * @param entityId
+	 *            Entity ID
+	 * @param operation
+	 *            Operation, one of the constants in this class
+	 * @param changed
+	 *            Time of the change
+	 */
+	public MLPChangeLog(String entityType, String entityId, String operation, Date changed) {
+		if (entityType == null || entityId == null || operation == null || changed == null)
+			throw new IllegalArgumentException("Null not permitted");
+		this.entityType = entityType;
+		this.entityId = entityId;
+		this.operation = operation;
+		this.changed = changed;
+	}
+
+	/**
+	 * Copy constructor
+	 * 
+	 * @param that
+	 *            Instance to copy
+	 */
+	public MLPChangeLog(MLPChangeLog that) {
+		this.changeId = that.changeId;
+		this.solutionId = that.solutionId;
+		this.entityType = that.entityType;
+		this.entityId = that.entityId;
+		this.operation = that.operation;
+		this.changed = that.changed;
+	}
+
+	public Long getChangeId() {
+		return changeId;
+	}
+
+	public void setChangeId(Long changeId) {
+		this.changeId = changeId;
+	}
+
+	public String getSolutionId() {
+		return solutionId;
+	}
+
+	public void setSolutionId(String solutionId) {
+		this.solutionId = solutionId;
+	}
+
+	public String getEntityType() {
+		return entityType;
+	}
+
+	public void setEntityType(String entityType) {
+		this.entityType = entityType;
+	}
+
+	public String getEntityId() {
+		return entityId;
+	}
+
+	public void setEntityId(String entityId) {
+		this.entityId = entityId;
+	}
+
+	public String getOperation() {
+		return operation;
+	}
+
+	public void setOperation(String operation) {
+		this.operation = operation;
+	}
+
+	public Date getChanged() {
+		return changed;
+	}
+
+	public void setChanged(Date changed) {
+		this.changed = changed;
+	}
+
+	@Override
+	public boolean equals(Object that) {
+		if (that == null)
+			return false;
+		if (!(that instanceof MLPChangeLog))
+			return false;
+		MLPChangeLog thatObj = (MLPChangeLog) that;
+		return Objects.equals(changeId, thatObj.changeId);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(changeId);
+	}
+
+	@Override
+	public String toString() {
+		return this.getClass().getName() + "[changeId=" + changeId + ", solutionId=" + solutionId + ", entityType="
+				+ entityType + ", entityId=" + entityId + ", operation=" + operation + ", changed=" + changed + "]";
+	}
+
+}
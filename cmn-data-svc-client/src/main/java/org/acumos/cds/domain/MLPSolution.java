@@ -73,6 +73,8 @@ public class MLPSolution extends MLPAbstractSolution implements Serializable {
 	 * constraint-violation error, Hibernate attempts to insert a duplicate row to
 	 * the join table, also see https://hibernate.atlassian.net/browse/HHH-6776
 	 * 
+	 * The server sets a default batch fetch size, so the tags for a page of
+	 * solutions are loaded with IN-list queries, not one query per row.
 	 */
 	@ManyToMany(fetch = FetchType.EAGER)
 	@JoinTable(name = MLPSolTagMap.TABLE_NAME, //
@@ -93,6 +95,9 @@ public class MLPSolution extends MLPAbstractSolution implements Serializable {
 	 * This does NOT use cascade; e.g., "cascade = { CascadeType.ALL }". Tests WITH
 	 * that annotation revealed no problems, but the controller does not accept
 	 * updates to the web stats via the solution object, so there is no need.
+	 * 
+	 * Hibernate does not batch this association when it resolves query results,
+	 * so the server's paged finders join it with an entity graph.
 	 */
 	@OneToOne(fetch = FetchType.EAGER)
 	@JoinColumn(name = MLPSolutionWeb.SOL_ID_COL_NAME)
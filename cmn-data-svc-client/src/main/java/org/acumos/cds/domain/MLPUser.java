@@ -33,9 +33,9 @@
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.JoinTable;
-import javax.persistence.Lob;
 import javax.persistence.ManyToMany;
 import javax.persistence.Table;
+import javax.persistence.Transient;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
 
@@ -167,18 +167,24 @@ public class MLPUser extends MLPTimestampedEntity implements Serializable {
 	private Date loginFailDate;
 
 	/**
-	 * Derby BLOB type allows 2GB. Mysql/Mariadb BLOB type only allows 64KB, that's
-	 * too small. But Derby fails to create the table if type LONGBLOB is specified
-	 * here. With no columDefinition attribute Derby generates a table AND Spring
-	 * validates the MariaDB schema if the column is created as LONGBLOB.
-	 * 
-	 * Jackson handles base64 encoding.
+	 * User-supplied profile picture. Not mapped to a column in this table;
+	 * pictures are stored separately and are only loaded by the picture endpoint.
+	 * The server accepts a picture here on create and update for compatibility,
+	 * and includes it only in the response to a successful login.
 	 */
-	@Lob
-	@Column(name = "PICTURE", length = 2000000 /* DO NOT USE: columnDefinition = "BLOB" */)
-	@ApiModelProperty(value = "User profile picture as byte array")
+	@Transient
+	@ApiModelProperty(value = "User profile picture as byte array; accepted on create and update, returned on login only")
 	private byte[] picture;
 
+	/**
+	 * Hex-encoded SHA-256 digest of the picture, maintained by the server. Serves
+	 * as the picture reference and entity tag.
+	 */
+	@Column(name = "PICTURE_HASH", columnDefinition = "CHAR(64)")
+	@Size(max = 64)
+	@ApiModelProperty(readOnly = true, value = "Hex SHA-256 of the picture; null if none", example = "e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855")
+	private String pictureHash;
+
 	/**
 	 * This field models the API token stored on disk.
 	 */
@@ -216,6 +222,7 @@ public class MLPUser extends MLPTimestampedEntity implements Serializable {
 	 * constraint-violation error, Hibernate attempts to insert a duplicate row to
 	 * the join table, also see https://hibernate.atlassian.net/browse/HHH-6776
 	 * 
+	 * Loaded in batches by the server's default batch fetch size.
 	 */
 	@ManyToMany(fetch = FetchType.EAGER)
 	@JoinTable(name = MLPUserTagMap.TABLE_NAME, //
@@ -272,6 +279,7 @@ public MLPUser(MLPUser that) {
 		this.middleName = that.middleName;
 		this.orgName = that.orgName;
 		this.picture = that.picture;
+		this.pictureHash = that.pictureHash;
 		this.userId = that.userId;
 		this.verifyTokenHash = that.verifyTokenHash;
 		this.verifyExpiration = that.verifyExpiration;
@@ -413,6 +421,14 @@ public void setPicture(byte[] picture) {
 		this.picture = picture;
 	}
 
+	public String getPictureHash() {
+		return pictureHash;
+	}
+
+	public void setPictureHash(String pictureHash) {
+		this.pictureHash = pictureHash;
+	}
+
 	public String getApiToken() {
 		return apiToken;
 	}
@@ -0,0 +1,101 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.transport;
+
+/**
+ * Reports the outcome for one item of a batch request.
+ */
+public class BatchItemTransport implements MLPTransportModel {
+
+	/** Position of the item in the request */
+	private int index;
+	/** Entity ID, generated on create if not supplied */
+	private String id;
+	/** HTTP status code for this item */
+	private int status;
+	/** Reason for failure, null on success */
+	private String message;
+
+	/**
+	 * Builds an empty object.
+	 */
+	public BatchItemTransport() {
+		// no-arg constructor
+	}
+
+	/**
+	 * Builds an object with the specified values.
+	 * 
+	 * @param index
+	 *            Position of the item in the request
+	 * @param id
+	 *            Entity ID; may be null
+	 * @param status
+	 *            HTTP status code
+	 * @param message
+	 *            Reason for failure; may be null
+	 */
+	public BatchItemTransport(int index, String id, int status, String message) {
+		this.index = index;
+		this.id = id;
+		this.status = status;
+		this.message = message;
+	}
+
+	public int getIndex() {
+		return index;
+	}
+
+	public void setIndex(int index) {
+		this.index = index;
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public void setId(String id) {
+		this.id = id;
+	}
+
+	public int getStatus() {
+		return status;
+	}
+
+	public void setStatus(int status) {
+		this.status = status;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+
+	public void setMessage(String message) {
+		this.message = message;
+	}
+
+	@Override
+	public String toString() {
+		return this.getClass().getName() + "[index=" + index + ", id=" + id + ", status=" + status + ", message="
+				+ message + "]";
+	}
+
+}
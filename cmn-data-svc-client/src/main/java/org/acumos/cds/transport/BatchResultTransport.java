@@ -0,0 +1,88 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.transport;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reports the outcome of a batch request with one entry per item in request
+ * order. Items that pass validation are written together in one transaction;
+ * items that fail validation are reported and skipped.
+ */
+public class BatchResultTransport implements MLPTransportModel {
+
+	private int succeeded;
+	private int failed;
+	private List<BatchItemTransport> items = new ArrayList<>();
+
+	/**
+	 * Builds an empty object.
+	 */
+	public BatchResultTransport() {
+		// no-arg constructor
+	}
+
+	/**
+	 * Adds the result for an item and updates the counts.
+	 * 
+	 * @param item
+	 *            Item result; status codes below 300 count as success
+	 */
+	public void addItem(BatchItemTransport item) {
+		items.add(item);
+		if (item.getStatus() < 300)
+			++succeeded;
+		else
+			++failed;
+	}
+
+	public int getSucceeded() {
+		return succeeded;
+	}
+
+	public void setSucceeded(int succeeded) {
+		this.succeeded = succeeded;
+	}
+
+	public int getFailed() {
+		return failed;
+	}
+
+	public void setFailed(int failed) {
+		this.failed = failed;
+	}
+
+	public List<BatchItemTransport> getItems() {
+		return items;
+	}
+
+	public void setItems(List<BatchItemTransport> items) {
+		this.items = items;
+	}
+
+	@Override
+	public String toString() {
+		return this.getClass().getName() + "[succeeded=" + succeeded + ", failed=" + failed + ", items=" + items
+				+ "]";
+	}
+
+}
@@ -0,0 +1,90 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.transport;
+
+import org.acumos.cds.domain.MLPArtifact;
+import org.acumos.cds.domain.MLPSolRevArtMap;
+import org.acumos.cds.domain.MLPSolTagMap;
+import org.acumos.cds.domain.MLPSolution;
+import org.acumos.cds.domain.MLPSolutionRevision;
+
+/**
+ * Model for one line of a catalog export. Exactly one field is set. The export
+ * lists all solutions with their web stats, then solution tags, revisions,
+ * artifacts, and finally the artifacts of each revision, so every record
+ * follows the records it refers to.
+ */
+public class CatalogExportRecord implements MLPTransportModel {
+
+	private MLPSolution solution;
+	private MLPSolTagMap solutionTag;
+	private MLPSolutionRevision revision;
+	private MLPArtifact artifact;
+	private MLPSolRevArtMap revisionArtifact;
+
+	/**
+	 * Builds an empty object.
+	 */
+	public CatalogExportRecord() {
+		// no-arg constructor
+	}
+
+	public MLPSolution getSolution() {
+		return solution;
+	}
+
+	public void setSolution(MLPSolution solution) {
+		this.solution = solution;
+	}
+
+	public MLPSolTagMap getSolutionTag() {
+		return solutionTag;
+	}
+
+	public void setSolutionTag(MLPSolTagMap solutionTag) {
+		this.solutionTag = solutionTag;
+	}
+
+	public MLPSolutionRevision getRevision() {
+		return revision;
+	}
+
+	public void setRevision(MLPSolutionRevision revision) {
+		this.revision = revision;
+	}
+
+	public MLPArtifact getArtifact() {
+		return artifact;
+	}
+
+	public void setArtifact(MLPArtifact artifact) {
+		this.artifact = artifact;
+	}
+
+	public MLPSolRevArtMap getRevisionArtifact() {
+		return revisionArtifact;
+	}
+
+	public void setRevisionArtifact(MLPSolRevArtMap revisionArtifact) {
+		this.revisionArtifact = revisionArtifact;
+	}
+
+}
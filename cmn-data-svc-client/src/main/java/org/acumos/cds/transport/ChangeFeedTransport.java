@@ -0,0 +1,89 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.transport;
+
+import java.util.List;
+
+import org.acumos.cds.domain.MLPChangeLog;
+
+/**
+ * Transports a batch of entries from the change log, in increasing order of
+ * change ID, with the cursor for the next request. The cursor is returned even
+ * when there are no changes, so a client can poll with the last cursor it
+ * received and get only the changes made since.
+ */
+public class ChangeFeedTransport implements MLPTransportModel {
+
+	/** Changes after the requested cursor, oldest first */
+	private List<MLPChangeLog> changes;
+	/** Cursor to pass on the next request */
+	private long cursor;
+	/** True if more changes are available now */
+	private boolean more;
+
+	/**
+	 * Builds an empty object.
+	 */
+	public ChangeFeedTransport() {
+		// no-arg constructor
+	}
+
+	/**
+	 * Builds an object with the specified values.
+	 * 
+	 * @param changes
+	 *            List of changes
+	 * @param cursor
+	 *            Cursor for the next request
+	 * @param more
+	 *            True if more changes are available
+	 */
+	public ChangeFeedTransport(List<MLPChangeLog> changes, long cursor, boolean more) {
+		this.changes = changes;
+		this.cursor = cursor;
+		this.more = more;
+	}
+
+	public List<MLPChangeLog> getChanges() {
+		return changes;
+	}
+
+	public void setChanges(List<MLPChangeLog> changes) {
+		this.changes = changes;
+	}
+
+	public long getCursor() {
+		return cursor;
+	}
+
+	public void setCursor(long cursor) {
+		this.cursor = cursor;
+	}
+
+	public boolean isMore() {
+		return more;
+	}
+
+	public void setMore(boolean more) {
+		this.more = more;
+	}
+
+}
@@ -0,0 +1,74 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.transport;
+
+import java.util.List;
+
+import org.acumos.cds.domain.MLPComment;
+
+/**
+ * Transports a comment with the replies to it, oldest first, each of which may
+ * have replies in turn.
+ */
+public class CommentNodeTransport implements MLPTransportModel {
+
+	/** The comment */
+	private MLPComment comment;
+	/** Comments whose parent is this comment */
+	private List<CommentNodeTransport> replies;
+
+	/**
+	 * Builds an empty object.
+	 */
+	public CommentNodeTransport() {
+		// no-arg constructor
+	}
+
+	/**
+	 * Builds an object with the specified values.
+	 * 
+	 * @param comment
+	 *            Comment
+	 * @param replies
+	 *            List of replies
+	 */
+	public CommentNodeTransport(MLPComment comment, List<CommentNodeTransport> replies) {
+		this.comment = comment;
+		this.replies = replies;
+	}
+
+	public MLPComment getComment() {
+		return comment;
+	}
+
+	public void setComment(MLPComment comment) {
+		this.comment = comment;
+	}
+
+	public List<CommentNodeTransport> getReplies() {
+		return replies;
+	}
+
+	public void setReplies(List<CommentNodeTransport> replies) {
+		this.replies = replies;
+	}
+
+}
@@ -0,0 +1,73 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.transport;
+
+import java.util.Map;
+
+/**
+ * Transports the outcome of a cascading delete: the number of entities deleted
+ * and the number of rows deleted from each table, in the order the tables were
+ * processed. IDs that were not found are not counted.
+ */
+public class DeleteCountsTransport implements MLPTransportModel {
+
+	/** Number of requested entities that were deleted */
+	private long total;
+	/** Table name to count of deleted rows */
+	private Map<String, Long> tables;
+
+	/**
+	 * Builds an empty object.
+	 */
+	public DeleteCountsTransport() {
+		// no-arg constructor
+	}
+
+	/**
+	 * Builds an object with the specified values.
+	 * 
+	 * @param total
+	 *            Number of entities deleted
+	 * @param tables
+	 *            Table name to count of deleted rows
+	 */
+	public DeleteCountsTransport(long total, Map<String, Long> tables) {
+		this.total = total;
+		this.tables = tables;
+	}
+
+	public long getTotal() {
+		return total;
+	}
+
+	public void setTotal(long total) {
+		this.total = total;
+	}
+
+	public Map<String, Long> getTables() {
+		return tables;
+	}
+
+	public void setTables(Map<String, Long> tables) {
+		this.tables = tables;
+	}
+
+}
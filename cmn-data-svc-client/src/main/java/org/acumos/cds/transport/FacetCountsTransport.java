@@ -0,0 +1,89 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.transport;
+
+import java.util.Map;
+
+/**
+ * Transports the number of matching solutions for each facet value, such as the
+ * number of matches for each model type. Null code values are not counted.
+ */
+public class FacetCountsTransport implements MLPTransportModel {
+
+	/** Number of solutions that match the query */
+	private long total;
+	/** Model type code to count */
+	private Map<String, Long> modelTypes;
+	/** Revision access type code to count of solutions */
+	private Map<String, Long> accessTypes;
+	/** Revision validation status code to count of solutions */
+	private Map<String, Long> validationStatuses;
+	/** Tag to count */
+	private Map<String, Long> tags;
+
+	/**
+	 * Builds an empty object.
+	 */
+	public FacetCountsTransport() {
+		// no-arg constructor
+	}
+
+	public long getTotal() {
+		return total;
+	}
+
+	public void setTotal(long total) {
+		this.total = total;
+	}
+
+	public Map<String, Long> getModelTypes() {
+		return modelTypes;
+	}
+
+	public void setModelTypes(Map<String, Long> modelTypes) {
+		this.modelTypes = modelTypes;
+	}
+
+	public Map<String, Long> getAccessTypes() {
+		return accessTypes;
+	}
+
+	public void setAccessTypes(Map<String, Long> accessTypes) {
+		this.accessTypes = accessTypes;
+	}
+
+	public Map<String, Long> getValidationStatuses() {
+		return validationStatuses;
+	}
+
+	public void setValidationStatuses(Map<String, Long> validationStatuses) {
+		this.validationStatuses = validationStatuses;
+	}
+
+	public Map<String, Long> getTags() {
+		return tags;
+	}
+
+	public void setTags(Map<String, Long> tags) {
+		this.tags = tags;
+	}
+
+}
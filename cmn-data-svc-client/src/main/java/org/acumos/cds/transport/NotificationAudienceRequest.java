@@ -0,0 +1,89 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.transport;
+
+import java.util.List;
+
+/**
+ * Model for message that selects the recipients of a notification: all active
+ * users, the active users in a role, or a list of users. Exactly one of the
+ * three must be specified.
+ */
+public class NotificationAudienceRequest implements MLPTransportModel {
+
+	private boolean allUsers;
+	private String roleId;
+	private List<String> userIds;
+
+	/**
+	 * Builds an empty object.
+	 */
+	public NotificationAudienceRequest() {
+		// no-arg constructor
+	}
+
+	/**
+	 * Builds an object with the specified values.
+	 * 
+	 * @param allUsers
+	 *            If true, all active users
+	 * @param roleId
+	 *            Role ID; active users in the role
+	 * @param userIds
+	 *            List of user IDs
+	 */
+	public NotificationAudienceRequest(boolean allUsers, String roleId, List<String> userIds) {
+		this.allUsers = allUsers;
+		this.roleId = roleId;
+		this.userIds = userIds;
+	}
+
+	public boolean isAllUsers() {
+		return allUsers;
+	}
+
+	public void setAllUsers(boolean allUsers) {
+		this.allUsers = allUsers;
+	}
+
+	public String getRoleId() {
+		return roleId;
+	}
+
+	public void setRoleId(String roleId) {
+		this.roleId = roleId;
+	}
+
+	public List<String> getUserIds() {
+		return userIds;
+	}
+
+	public void setUserIds(List<String> userIds) {
+		this.userIds = userIds;
+	}
+
+	@Override
+	public String toString() {
+		return this.getClass().getName() + "[allUsers=" + allUsers + ", roleId=" + roleId + ", userIds="
+				+ (userIds == null ? null : userIds.size()) + "]";
+	}
+
+}
@@ -49,6 +49,10 @@
  * }
  * </PRE>
  * 
+ * A response to a seek (keyset) pagination request also carries an opaque
+ * "nextToken" value, which is null on the last page. Total element and page
+ * counts are not computed in that mode.
+ * 
  * https://blog.thecookinkitchen.com/how-to-consume-page-response-from-a-service-in-spring-boot-97293c18ba
  * 
  * @param <T>
@@ -69,6 +73,8 @@
 	// Have not yet seen these:
 	private boolean nextPage;
 	private boolean previousPage;
+	// Continuation token for seek pagination
+	private String nextToken;
 
 	/**
 	 * Builds an object with an empty list.
@@ -201,6 +207,19 @@ public void setNextPage(boolean nextPage) {
 		this.nextPage = nextPage;
 	}
 
+	/**
+	 * @return the continuation token for the next page when using seek
+	 *         pagination; null if this is the last page or seek pagination was
+	 *         not used
+	 */
+	public String getNextToken() {
+		return nextToken;
+	}
+
+	public void setNextToken(String nextToken) {
+		this.nextToken = nextToken;
+	}
+
 	@Override
 	public boolean isLast() {
 		return last;
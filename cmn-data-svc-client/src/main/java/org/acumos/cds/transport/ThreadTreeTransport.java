@@ -0,0 +1,87 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.transport;
+
+import java.util.List;
+
+import org.acumos.cds.domain.MLPThread;
+
+/**
+ * Transports a thread with all its comments arranged as a tree. The top-level
+ * comments are those without a parent, oldest first.
+ */
+public class ThreadTreeTransport implements MLPTransportModel {
+
+	/** The thread */
+	private MLPThread thread;
+	/** Number of comments in the thread at all levels */
+	private long commentCount;
+	/** Comments without a parent */
+	private List<CommentNodeTransport> comments;
+
+	/**
+	 * Builds an empty object.
+	 */
+	public ThreadTreeTransport() {
+		// no-arg constructor
+	}
+
+	/**
+	 * Builds an object with the specified values.
+	 * 
+	 * @param thread
+	 *            Thread
+	 * @param commentCount
+	 *            Number of comments at all levels
+	 * @param comments
+	 *            List of top-level comments
+	 */
+	public ThreadTreeTransport(MLPThread thread, long commentCount, List<CommentNodeTransport> comments) {
+		this.thread = thread;
+		this.commentCount = commentCount;
+		this.comments = comments;
+	}
+
+	public MLPThread getThread() {
+		return thread;
+	}
+
+	public void setThread(MLPThread thread) {
+		this.thread = thread;
+	}
+
+	public long getCommentCount() {
+		return commentCount;
+	}
+
+	public void setCommentCount(long commentCount) {
+		this.commentCount = commentCount;
+	}
+
+	public List<CommentNodeTransport> getComments() {
+		return comments;
+	}
+
+	public void setComments(List<CommentNodeTransport> comments) {
+		this.comments = comments;
+	}
+
+}
@@ -21,12 +21,24 @@
 package org.acumos.cds.client.test;
 
 import java.lang.invoke.MethodHandles;
+import java.net.ServerSocket;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
+import org.acumos.cds.client.AsyncCommonDataServiceRestClientImpl;
+import org.acumos.cds.client.CommonDataServiceRestClientConfig;
 import org.acumos.cds.client.CommonDataServiceRestClientImpl;
+import org.acumos.cds.client.CommonDataServiceRestClientMockImpl;
+import org.acumos.cds.client.IAsyncCommonDataServiceRestClient;
 import org.acumos.cds.client.ICommonDataServiceRestClient;
 import org.acumos.cds.domain.MLPArtifact;
 import org.acumos.cds.domain.MLPComment;
@@ -53,7 +65,10 @@
 import org.acumos.cds.domain.MLPUser;
 import org.acumos.cds.domain.MLPUserLoginProvider;
 import org.acumos.cds.domain.MLPValidationSequence;
+import org.acumos.cds.transport.NotificationAudienceRequest;
 import org.acumos.cds.transport.RestPageRequest;
+import org.acumos.cds.transport.SuccessTransport;
+import org.junit.Assert;
 import org.junit.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -82,7 +97,25 @@ public TrivialRestClientImplSubclass(String webapiUrl, String user, String pass)
 	public void coverClientEnumMethods() {
 		final String uri = "http://localhost:51243";
 		ICommonDataServiceRestClient client = CommonDataServiceRestClientImpl.getInstance(uri, "user", "pass");
+		Assert.assertNotNull(client.getConnectionPoolStats());
+		client.close();
+		CommonDataServiceRestClientConfig config = new CommonDataServiceRestClientConfig();
+		config.setMaxConnections(8);
+		config.setMaxConnectionsPerRoute(4);
+		config.setKeepAliveMillis(1000);
+		config.setConnectTimeoutMillis(1000);
+		config.setConnectionRequestTimeoutMillis(1000);
+		config.setSocketTimeoutMillis(1000);
+		config.setIdleEvictMillis(0);
+		config.setValidateAfterInactivityMillis(1000);
+		config.setPreemptiveAuth(false);
+		logger.info("Client config {}", config);
+		client = CommonDataServiceRestClientImpl.getInstance(uri, "user", "pass", null, config);
+		Assert.assertEquals(8, client.getConnectionPoolStats().getMax());
+		client.close();
 		client = CommonDataServiceRestClientImpl.getInstance(uri, new RestTemplate());
+		Assert.assertNull(client.getConnectionPoolStats());
+		client.close();
 
 		try {
 			CommonDataServiceRestClientImpl.getInstance(null, null, null);
@@ -147,6 +180,80 @@ public void coverClientEnumMethods() {
 		}
 	}
 
+	@Test
+	public void coverAsyncClientMethods() throws Exception {
+		final String uri = "http://localhost:51243";
+		CommonDataServiceRestClientConfig config = new CommonDataServiceRestClientConfig();
+		config.setMaxCallsInFlight(4);
+		config.setCallTimeoutMillis(5000);
+		IAsyncCommonDataServiceRestClient client = AsyncCommonDataServiceRestClientImpl.getInstance(uri, "user",
+				"pass", null, config);
+		Assert.assertNotNull(client.getConnectionPoolStats());
+		try {
+			client.getHealth().get();
+			Assert.fail("Unexpected success");
+		} catch (ExecutionException ex) {
+			Assert.assertTrue(ex.getCause() instanceof ResourceAccessException);
+			logger.info("Async client failed as expected: {}", ex.getCause().toString());
+		}
+		client.close();
+		try {
+			client.getVersion().get();
+			Assert.fail("Unexpected success");
+		} catch (ExecutionException ex) {
+			Assert.assertTrue(ex.getCause() instanceof RejectedExecutionException);
+		}
+		try {
+			AsyncCommonDataServiceRestClientImpl.getInstance(null, 1, 0);
+			Assert.fail("Unexpected success");
+		} catch (IllegalArgumentException ex) {
+			logger.info("getInstance failed as expected: {}", ex.toString());
+		}
+
+		// A call that outlasts the timeout fails and its worker is released
+		final CountDownLatch interrupted = new CountDownLatch(1);
+		CommonDataServiceRestClientMockImpl slow = new CommonDataServiceRestClientMockImpl() {
+			@Override
+			public SuccessTransport getHealth() {
+				try {
+					Thread.sleep(60000);
+				} catch (InterruptedException ex) {
+					interrupted.countDown();
+				}
+				return null;
+			}
+		};
+		client = AsyncCommonDataServiceRestClientImpl.getInstance(slow, 1, 100);
+		try {
+			client.getHealth().get();
+			Assert.fail("Unexpected success");
+		} catch (ExecutionException ex) {
+			Assert.assertTrue(ex.getCause() instanceof TimeoutException);
+		}
+		Assert.assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+		Assert.assertNotNull(client.getVersion().get());
+		client.close();
+
+		// A timed-out call blocked reading a silent server has its request aborted
+		try (ServerSocket silent = new ServerSocket(0)) {
+			config.setSocketTimeoutMillis(60000);
+			config.setCallTimeoutMillis(200);
+			client = AsyncCommonDataServiceRestClientImpl.getInstance("http://localhost:" + silent.getLocalPort(),
+					"user", "pass", null, config);
+			try {
+				client.getHealth().get();
+				Assert.fail("Unexpected success");
+			} catch (ExecutionException ex) {
+				Assert.assertTrue(ex.getCause() instanceof TimeoutException);
+			}
+			long deadline = System.currentTimeMillis() + 5000;
+			while (client.getConnectionPoolStats().getLeased() > 0 && System.currentTimeMillis() < deadline)
+				Thread.sleep(10);
+			Assert.assertEquals(0, client.getConnectionPoolStats().getLeased());
+			client.close();
+		}
+	}
+
 	@Test
 	public void coverClientMethods() {
 
@@ -188,6 +295,16 @@ public void coverClientMethods() {
 		} catch (ResourceAccessException ex) {
 			logger.info("Client failed as expected: {}", ex.toString());
 		}
+		try {
+			client.seekSolutions("token", new RestPageRequest(0, 1, "field1"));
+		} catch (ResourceAccessException ex) {
+			logger.info("Client failed as expected: {}", ex.toString());
+		}
+		try {
+			client.iterateSolutions(new RestPageRequest(0, 1)).hasNext();
+		} catch (ResourceAccessException ex) {
+			logger.info("Client failed as expected: {}", ex.toString());
+		}
 		try {
 			Map<String, String> fieldDirMap = new HashMap<>();
 			fieldDirMap.put("field", "ASC");
@@ -220,6 +337,63 @@ public void coverClientMethods() {
 		} catch (ResourceAccessException ex) {
 			logger.info("Client failed as expected: {}", ex.toString());
 		}
+		try {
+			String[] array = new String[] { "I'm a string" };
+			client.getPortalSolutionFacetCounts(array, true, array, array, array, array, array, array);
+		} catch (ResourceAccessException ex) {
+			logger.info("Client failed as expected: {}", ex.toString());
+		}
+		List<String> ids = Collections.singletonList("id");
+		try {
+			client.getSolutionsByIds(ids);
+		} catch (ResourceAccessException ex) {
+			logger.info("Client failed as expected: {}", ex.toString());
+		}
+		try {
+			client.getSolutionRevisionsByIds(ids);
+		} catch (ResourceAccessException ex) {
+			logger.info("Client failed as expected: {}", ex.toString());
+		}
+		try {
+			client.getArtifactsByIds(ids);
+		} catch (ResourceAccessException ex) {
+			logger.info("Client failed as expected: {}", ex.toString());
+		}
+		try {
+			client.getUsersByIds(ids);
+		} catch (ResourceAccessException ex) {
+			logger.info("Client failed as expected: {}", ex.toString());
+		}
+		try {
+			client.createArtifacts(Collections.singletonList(new MLPArtifact()));
+		} catch (ResourceAccessException ex) {
+			logger.info("Client failed as expected: {}", ex.toString());
+		}
+		try {
+			client.updateArtifacts(Collections.singletonList(new MLPArtifact()));
+		} catch (ResourceAccessException ex) {
+			logger.info("Client failed as expected: {}", ex.toString());
+		}
+		try {
+			client.addSolutionRevisionArtifacts("revId", ids);
+		} catch (ResourceAccessException ex) {
+			logger.info("Client failed as expected: {}", ex.toString());
+		}
+		try {
+			client.dropSolutionRevisionArtifacts("revId", ids);
+		} catch (ResourceAccessException ex) {
+			logger.info("Client failed as expected: {}", ex.toString());
+		}
+		try {
+			client.addSolutionTags("solId", ids);
+		} catch (ResourceAccessException ex) {
+			logger.info("Client failed as expected: {}", ex.toString());
+		}
+		try {
+			client.dropSolutionTags("solId", ids);
+		} catch (ResourceAccessException ex) {
+			logger.info("Client failed as expected: {}", ex.toString());
+		}
 		try {
 			String[] array = new String[] { "I'm a string" };
 			client.findUserSolutions(array, array, true, "user", array, array, array, array, new RestPageRequest(0, 1));
@@ -236,6 +410,16 @@ public void coverClientMethods() {
 		} catch (ResourceAccessException ex) {
 			logger.info("Client failed as expected: {}", ex.toString());
 		}
+		try {
+			client.getSolutionChanges(0, 10, new String[0], new String[0]);
+		} catch (ResourceAccessException ex) {
+			logger.info("Client failed as expected: {}", ex.toString());
+		}
+		try {
+			client.exportCatalog();
+		} catch (ResourceAccessException ex) {
+			logger.info("Client failed as expected: {}", ex.toString());
+		}
 		try {
 			client.searchSolutions(new HashMap<String, Object>(), true, new RestPageRequest());
 		} catch (ResourceAccessException ex) {
@@ -266,6 +450,11 @@ public void coverClientMethods() {
 		} catch (ResourceAccessException ex) {
 			logger.info("Client failed as expected: {}", ex.toString());
 		}
+		try {
+			client.deleteSolutions(Collections.singletonList("ID"));
+		} catch (ResourceAccessException ex) {
+			logger.info("Client failed as expected: {}", ex.toString());
+		}
 		try {
 			client.getSolutionRevisions("solutionId");
 		} catch (ResourceAccessException ex) {
@@ -441,6 +630,11 @@ public void coverClientMethods() {
 		} catch (ResourceAccessException ex) {
 			logger.info("Client failed as expected: {}", ex.toString());
 		}
+		try {
+			client.deleteUsers(Collections.singletonList("userId"));
+		} catch (ResourceAccessException ex) {
+			logger.info("Client failed as expected: {}", ex.toString());
+		}
 		try {
 			client.getUserRoles("userId");
 		} catch (ResourceAccessException ex) {
@@ -592,6 +786,11 @@ public void coverClientMethods() {
 		} catch (ResourceAccessException ex) {
 			logger.info("Client failed as expected: {}", ex.toString());
 		}
+		try {
+			client.deletePeers(Collections.singletonList("peerId"));
+		} catch (ResourceAccessException ex) {
+			logger.info("Client failed as expected: {}", ex.toString());
+		}
 		try {
 			client.getPeerSubscriptions("peerId");
 		} catch (ResourceAccessException ex) {
@@ -722,6 +921,21 @@ public void coverClientMethods() {
 		} catch (ResourceAccessException ex) {
 			logger.info("Client failed as expected: {}", ex.toString());
 		}
+		try {
+			client.addUsersToNotification("notificationId", new NotificationAudienceRequest(true, null, null));
+		} catch (ResourceAccessException ex) {
+			logger.info("Client failed as expected: {}", ex.toString());
+		}
+		try {
+			client.getUserUnreadNotificationCount("userId");
+		} catch (ResourceAccessException ex) {
+			logger.info("Client failed as expected: {}", ex.toString());
+		}
+		try {
+			client.setUserViewedNotifications("userId", Collections.singletonList("notificationId"));
+		} catch (ResourceAccessException ex) {
+			logger.info("Client failed as expected: {}", ex.toString());
+		}
 		try {
 			client.getSolutionWebMetadata("solutionId");
 		} catch (ResourceAccessException ex) {
@@ -747,6 +961,16 @@ public void coverClientMethods() {
 		} catch (ResourceAccessException ex) {
 			logger.info("Client failed as expected: {}", ex.toString());
 		}
+		try {
+			client.addSolutionUsersAccess("solutionId", Collections.singletonList("userId"));
+		} catch (ResourceAccessException ex) {
+			logger.info("Client failed as expected: {}", ex.toString());
+		}
+		try {
+			client.dropSolutionUsersAccess("solutionId", Collections.singletonList("userId"));
+		} catch (ResourceAccessException ex) {
+			logger.info("Client failed as expected: {}", ex.toString());
+		}
 		try {
 			client.updatePassword(new MLPUser(), new MLPPasswordChangeRequest());
 		} catch (ResourceAccessException ex) {
@@ -857,6 +1081,11 @@ public void coverClientMethods() {
 		} catch (ResourceAccessException ex) {
 			logger.info("Client failed as expected: {}", ex.toString());
 		}
+		try {
+			client.getSolutionRevisionThreadTrees("", "", new RestPageRequest(0, 1));
+		} catch (ResourceAccessException ex) {
+			logger.info("Client failed as expected: {}", ex.toString());
+		}
 		try {
 			client.getThread("threadId");
 		} catch (ResourceAccessException ex) {
@@ -922,6 +1151,11 @@ public void coverClientMethods() {
 		} catch (ResourceAccessException ex) {
 			logger.info("Client failed as expected: {}", ex.toString());
 		}
+		try {
+			client.seekStepResults(null, new RestPageRequest());
+		} catch (ResourceAccessException ex) {
+			logger.info("Client failed as expected: {}", ex.toString());
+		}
 		try {
 			client.searchStepResults(new HashMap<String, Object>(), false, new RestPageRequest());
 		} catch (ResourceAccessException ex) {
@@ -1003,6 +1237,16 @@ public void coverClientMethods() {
 		} catch (ResourceAccessException ex) {
 			logger.info("Client failed as expected: {}", ex.toString());
 		}
+		try {
+			client.addPeersToGroup(Collections.singletonList("peer"), 0L);
+		} catch (ResourceAccessException ex) {
+			logger.info("Client failed as expected: {}", ex.toString());
+		}
+		try {
+			client.dropPeersFromGroup(Collections.singletonList("peer"), 0L);
+		} catch (ResourceAccessException ex) {
+			logger.info("Client failed as expected: {}", ex.toString());
+		}
 		try {
 			client.getSolutionsInGroup(0L, new RestPageRequest());
 		} catch (ResourceAccessException ex) {
@@ -1018,6 +1262,16 @@ public void coverClientMethods() {
 		} catch (ResourceAccessException ex) {
 			logger.info("Client failed as expected: {}", ex.toString());
 		}
+		try {
+			client.addSolutionsToGroup(Collections.singletonList("sol"), 0L);
+		} catch (ResourceAccessException ex) {
+			logger.info("Client failed as expected: {}", ex.toString());
+		}
+		try {
+			client.dropSolutionsFromGroup(Collections.singletonList("sol"), 0L);
+		} catch (ResourceAccessException ex) {
+			logger.info("Client failed as expected: {}", ex.toString());
+		}
 		try {
 			client.getPeerSolutionGroupMaps(new RestPageRequest());
 		} catch (ResourceAccessException ex) {
@@ -25,6 +25,7 @@
 import org.acumos.cds.domain.MLPAccessType;
 import org.acumos.cds.domain.MLPArtifact;
 import org.acumos.cds.domain.MLPArtifactType;
+import org.acumos.cds.domain.MLPChangeLog;
 import org.acumos.cds.domain.MLPCodeNamePair;
 import org.acumos.cds.domain.MLPComment;
 import org.acumos.cds.domain.MLPCompSolMap;
@@ -134,6 +135,41 @@ public void testMLPArtifact() {
 		}
 	}
 
+	private void checkMLPChangeLog(MLPChangeLog m) {
+		Assert.assertEquals(l1, m.getChangeId());
+		Assert.assertEquals(d1, m.getChanged());
+		Assert.assertEquals(s1, m.getEntityId());
+		Assert.assertEquals(s2, m.getEntityType());
+		Assert.assertEquals(s3, m.getOperation());
+		Assert.assertEquals(s4, m.getSolutionId());
+	}
+
+	@Test
+	public void testMLPChangeLog() {
+		MLPChangeLog m = new MLPChangeLog(s1, s2, s3, d1);
+		m = new MLPChangeLog();
+		m.setChangeId(l1);
+		m.setChanged(d1);
+		m.setEntityId(s1);
+		m.setEntityType(s2);
+		m.setOperation(s3);
+		m.setSolutionId(s4);
+		checkMLPChangeLog(m);
+		m = new MLPChangeLog(m);
+		checkMLPChangeLog(m);
+		Assert.assertFalse(m.equals(null));
+		Assert.assertFalse(m.equals(new Object()));
+		Assert.assertTrue(m.equals(m));
+		Assert.assertNotNull(m.hashCode());
+		logger.info(m.toString());
+		try {
+			new MLPChangeLog(null, null, null, null);
+			Assert.assertTrue("Unexpected success", false);
+		} catch (IllegalArgumentException iae) {
+			// null arg is rejected
+		}
+	}
+
 	@Test
 	public void testMLPCodeNamePair() {
 		MLPCodeNamePair m = new MLPCodeNamePair(s1, s1);
@@ -950,6 +986,7 @@ private void checkMLPSolution(MLPSolution m) {
 		Assert.assertEquals(s5, m.getOrigin());
 		Assert.assertEquals(s6, m.getUserId());
 		Assert.assertArrayEquals(by1, m.getPicture());
+		Assert.assertEquals(s10, m.getPictureHash());
 		Assert.assertEquals(s7, m.getSolutionId());
 		Assert.assertEquals(s8, m.getSourceId());
 		Assert.assertEquals(tags, m.getTags());
@@ -970,6 +1007,7 @@ public void testMLPSolution() {
 		m.setOrigin(s5);
 		m.setUserId(s6);
 		m.setPicture(by1);
+		m.setPictureHash(s10);
 		m.setSolutionId(s7);
 		m.setSourceId(s8);
 		m.setTags(tags);
@@ -1435,6 +1473,7 @@ private void checkMLPUser(MLPUser m) {
 		Assert.assertEquals(s8, m.getMiddleName());
 		Assert.assertEquals(s9, m.getOrgName());
 		Assert.assertArrayEquals(by1, m.getPicture());
+		Assert.assertEquals(s12, m.getPictureHash());
 		Assert.assertEquals(tags, m.getTags());
 		Assert.assertEquals(s10, m.getUserId());
 		Assert.assertEquals(s11, m.getVerifyTokenHash());
@@ -1462,6 +1501,7 @@ public void testMLPUser() {
 		m.setModified(d4);
 		m.setOrgName(s9);
 		m.setPicture(by1);
+		m.setPictureHash(s12);
 		m.setTags(tags);
 		m.setUserId(s10);
 		m.setVerifyTokenHash(s11);
@@ -20,12 +20,17 @@
 
 package org.acumos.cds.client.test;
 
+import java.io.ByteArrayInputStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
+import org.acumos.cds.client.AsyncCommonDataServiceRestClientMockImpl;
+import org.acumos.cds.client.CatalogExportReader;
 import org.acumos.cds.client.CommonDataServiceRestClientMockImpl;
 import org.acumos.cds.domain.MLPArtifact;
 import org.acumos.cds.domain.MLPComment;
@@ -57,9 +62,16 @@
 import org.acumos.cds.domain.MLPUserLoginProvider;
 import org.acumos.cds.domain.MLPUserNotification;
 import org.acumos.cds.domain.MLPValidationSequence;
+import org.acumos.cds.transport.BatchResultTransport;
+import org.acumos.cds.transport.ChangeFeedTransport;
+import org.acumos.cds.transport.DeleteCountsTransport;
+import org.acumos.cds.transport.FacetCountsTransport;
+import org.acumos.cds.transport.NotificationAudienceRequest;
 import org.acumos.cds.transport.RestPageRequest;
 import org.acumos.cds.transport.RestPageResponse;
 import org.acumos.cds.transport.SuccessTransport;
+import org.acumos.cds.transport.ThreadTreeTransport;
+import org.apache.http.pool.PoolStats;
 import org.junit.Assert;
 import org.junit.Test;
 import org.springframework.web.client.RestTemplate;
@@ -78,7 +90,7 @@ public TrivialRestClientMockImplSubclass(String webapiUrl, String user, String p
 
 	@SuppressWarnings("deprecation")
 	@Test
-	public void coverMockMethods() {
+	public void coverMockMethods() throws Exception {
 
 		new TrivialRestClientMockImplSubclass("usl", "usr", "pass");
 		CommonDataServiceRestClientMockImpl.getInstance("url", null);
@@ -118,6 +130,8 @@ public void coverMockMethods() {
 		RestPageResponse<MLPSolution> solutions1 = new RestPageResponse<>();
 		client.setSolutions(solutions1);
 		Assert.assertTrue(solutions1 == client.getSolutions(pageRequest));
+		Assert.assertTrue(solutions1 == client.seekSolutions(null, pageRequest));
+		Assert.assertFalse(client.iterateSolutions(pageRequest).hasNext());
 		RestPageResponse<MLPSolution> solutions2 = new RestPageResponse<>();
 		client.setSolutionsBySearchTerm(solutions2);
 		Assert.assertTrue(solutions2 == client.findSolutionsBySearchTerm("string", pageRequest));
@@ -128,15 +142,29 @@ public void coverMockMethods() {
 		client.setSolutionsByDate(solutions4);
 		Assert.assertTrue(
 				solutions4 == client.findSolutionsByDate(true, new String[0], new String[0], new Date(), pageRequest));
+		ChangeFeedTransport changes = new ChangeFeedTransport();
+		client.setSolutionChanges(changes);
+		Assert.assertTrue(changes == client.getSolutionChanges(0, 10, new String[0], new String[0]));
+		CatalogExportReader export = new CatalogExportReader(new ByteArrayInputStream(new byte[0]), null);
+		client.setCatalogExport(export);
+		Assert.assertTrue(export == client.exportCatalog());
 
 		MLPSolution solution = new MLPSolution();
 		client.setSolutionById(solution);
 		Assert.assertTrue(solution == client.getSolution("id"));
+		List<MLPSolution> solutionList = Collections.singletonList(solution);
+		client.setSolutionsByIds(solutionList);
+		Assert.assertTrue(solutionList == client.getSolutionsByIds(Collections.singletonList("id")));
 		client.setSolution(solution);
 		Assert.assertTrue(solution == client.createSolution(solution));
 		client.updateSolution(solution);
 		client.incrementSolutionViewCount("id");
 		client.deleteSolution("id");
+		DeleteCountsTransport deleteCounts = new DeleteCountsTransport();
+		client.setDeleteCounts(deleteCounts);
+		Assert.assertTrue(deleteCounts == client.deleteSolutions(Collections.singletonList("id")));
+		Assert.assertTrue(deleteCounts == client.deleteUsers(Collections.singletonList("id")));
+		Assert.assertTrue(deleteCounts == client.deletePeers(Collections.singletonList("id")));
 
 		List<MLPSolutionRevision> solRevList = new ArrayList<>();
 		client.setSolutionRevisionsById(solRevList);
@@ -149,6 +177,15 @@ public void coverMockMethods() {
 		MLPSolutionRevision solRev = new MLPSolutionRevision();
 		client.setSolutionRevisionById(solRev);
 		Assert.assertTrue(solRev == client.getSolutionRevision("sid", "rid"));
+		List<MLPSolutionRevision> solRevsById = Collections.singletonList(solRev);
+		client.setSolutionRevisionsByIds(solRevsById);
+		Assert.assertTrue(solRevsById == client.getSolutionRevisionsByIds(Collections.singletonList("rid")));
+		BatchResultTransport batchResult = new BatchResultTransport();
+		client.setBatchResult(batchResult);
+		Assert.assertTrue(batchResult == client.addSolutionRevisionArtifacts("rid", Collections.singletonList("a")));
+		Assert.assertTrue(batchResult == client.dropSolutionRevisionArtifacts("rid", Collections.singletonList("a")));
+		Assert.assertTrue(batchResult == client.addSolutionTags("sid", Collections.singletonList("t")));
+		Assert.assertTrue(batchResult == client.dropSolutionTags("sid", Collections.singletonList("t")));
 		client.setSolutionRevision(solRev);
 		Assert.assertTrue(solRev == client.createSolutionRevision(solRev));
 		client.updateSolutionRevision(solRev);
@@ -191,6 +228,13 @@ public void coverMockMethods() {
 		MLPArtifact artifact = new MLPArtifact();
 		client.setArtifactById(artifact);
 		Assert.assertTrue(artifact == client.getArtifact("id"));
+		List<MLPArtifact> artifactList = Collections.singletonList(artifact);
+		client.setArtifactsByIds(artifactList);
+		Assert.assertTrue(artifactList == client.getArtifactsByIds(Collections.singletonList("id")));
+		BatchResultTransport artifactResult = new BatchResultTransport();
+		client.setBatchResult(artifactResult);
+		Assert.assertTrue(artifactResult == client.createArtifacts(artifactList));
+		Assert.assertTrue(artifactResult == client.updateArtifacts(artifactList));
 		client.setArtifact(artifact);
 		Assert.assertTrue(artifact == client.createArtifact(artifact));
 		client.updateArtifact(artifact);
@@ -217,6 +261,12 @@ public void coverMockMethods() {
 
 		client.setUserById(user);
 		Assert.assertTrue(user == client.getUser("id"));
+		List<MLPUser> usersById = Collections.singletonList(user);
+		client.setUsersByIds(usersById);
+		Assert.assertTrue(usersById == client.getUsersByIds(Collections.singletonList("id")));
+		PoolStats poolStats = new PoolStats(1, 0, 1, 2);
+		client.setConnectionPoolStats(poolStats);
+		Assert.assertTrue(poolStats == client.getConnectionPoolStats());
 		client.setUser(user);
 		Assert.assertTrue(user == client.createUser(user));
 		client.updateUser(user);
@@ -356,6 +406,12 @@ public void coverMockMethods() {
 		client.addUserToNotification("id", "id");
 		client.dropUserFromNotification("id", "id");
 		client.setUserViewedNotification("id", "id");
+		client.setNotificationRecipientCount(2L);
+		Assert.assertEquals(2L, client.addUsersToNotification("id", new NotificationAudienceRequest(true, null, null)));
+		client.setUnreadNotificationCount(1L);
+		Assert.assertEquals(1L, client.getUserUnreadNotificationCount("id"));
+		client.setBatchResult(batchResult);
+		Assert.assertTrue(batchResult == client.setUserViewedNotifications("id", Collections.singletonList("id")));
 
 		MLPSolutionWeb web = new MLPSolutionWeb();
 		client.setSolutionWebMetadata(web);
@@ -370,6 +426,9 @@ public void coverMockMethods() {
 		Assert.assertTrue(userAccSol == client.getUserAccessSolutions("id", pageRequest));
 		client.addSolutionUserAccess("id", "id");
 		client.dropSolutionUserAccess("id", "id");
+		client.setBatchResult(batchResult);
+		Assert.assertTrue(batchResult == client.addSolutionUsersAccess("id", Collections.singletonList("id")));
+		Assert.assertTrue(batchResult == client.dropSolutionUsersAccess("id", Collections.singletonList("id")));
 
 		client.updatePassword(user, new MLPPasswordChangeRequest());
 
@@ -452,6 +511,10 @@ public void coverMockMethods() {
 				portalSols == client.findPortalSolutionsByKw(null, true, null, null, null, null, pageRequest));
 		Assert.assertTrue(portalSols == client.findPortalSolutionsByKwAndTags(null, true, null, null, null, null, null,
 				pageRequest));
+		FacetCountsTransport facetCounts = new FacetCountsTransport();
+		client.setPortalSolutionFacetCounts(facetCounts);
+		Assert.assertTrue(
+				facetCounts == client.getPortalSolutionFacetCounts(null, true, null, null, null, null, null, null));
 
 		RestPageResponse<MLPSolution> userPrivSols = new RestPageResponse<>();
 		client.setUserSolutions(userPrivSols);
@@ -465,6 +528,9 @@ public void coverMockMethods() {
 		client.setSolutionRevisionThreads(threads);
 		Assert.assertTrue(0 == client.getSolutionRevisionThreadCount("id", "id"));
 		Assert.assertTrue(threads == client.getSolutionRevisionThreads("id", "id", pageRequest));
+		RestPageResponse<ThreadTreeTransport> threadTrees = new RestPageResponse<>();
+		client.setSolutionRevisionThreadTrees(threadTrees);
+		Assert.assertTrue(threadTrees == client.getSolutionRevisionThreadTrees("id", "id", pageRequest));
 
 		client.setSolutionRevisionCommentCount(1L);
 		Assert.assertTrue(1 == client.getSolutionRevisionCommentCount("id", "id"));
@@ -474,6 +540,7 @@ public void coverMockMethods() {
 		RestPageResponse<MLPStepResult> stepResults = new RestPageResponse<>();
 		client.setStepResults(stepResults);
 		Assert.assertTrue(stepResults == client.getStepResults(pageRequest));
+		Assert.assertTrue(stepResults == client.seekStepResults(null, pageRequest));
 		MLPStepResult stepResult = new MLPStepResult();
 		client.setStepResult(stepResult);
 		Assert.assertTrue(stepResult == client.createStepResult(stepResult));
@@ -503,12 +570,16 @@ public void coverMockMethods() {
 		Assert.assertTrue(peersInGroup == client.getPeersInGroup(0L, new RestPageRequest()));
 		client.addPeerToGroup("peerId", 0L);
 		client.dropPeerFromGroup("peerId", 0L);
+		Assert.assertTrue(batchResult == client.addPeersToGroup(Collections.singletonList("peerId"), 0L));
+		Assert.assertTrue(batchResult == client.dropPeersFromGroup(Collections.singletonList("peerId"), 0L));
 
 		RestPageResponse<MLPSolution> solsInGroup = new RestPageResponse<>();
 		client.setSolutionsInGroup(solsInGroup);
 		Assert.assertTrue(solsInGroup == client.getSolutionsInGroup(0L, new RestPageRequest()));
 		client.addSolutionToGroup("peerId", 0L);
 		client.dropSolutionFromGroup("peerId", 0L);
+		Assert.assertTrue(batchResult == client.addSolutionsToGroup(Collections.singletonList("solId"), 0L));
+		Assert.assertTrue(batchResult == client.dropSolutionsFromGroup(Collections.singletonList("solId"), 0L));
 
 		RestPageResponse<MLPPeerSolAccMap> peerSolutionGroupMaps = new RestPageResponse<>();
 		client.setPeerSolutionGroupMaps(peerSolutionGroupMaps);
@@ -570,4 +641,29 @@ public void coverMockMethods() {
 
 	}
 
+	@Test
+	public void coverAsyncMockMethods() throws Exception {
+		AsyncCommonDataServiceRestClientMockImpl client = new AsyncCommonDataServiceRestClientMockImpl();
+		CommonDataServiceRestClientMockImpl mock = client.getMock();
+
+		MLPSolution solution = new MLPSolution();
+		mock.setSolutionById(solution);
+		List<MLPSolutionRevision> revList = new ArrayList<>();
+		mock.setSolutionRevisionsById(revList);
+		List<MLPTag> tagList = new ArrayList<>();
+		mock.setSolutionTags(tagList);
+		CompletableFuture<MLPSolution> solFuture = client.getSolution("id");
+		CompletableFuture<List<MLPSolutionRevision>> revFuture = client.getSolutionRevisions("id");
+		CompletableFuture<List<MLPTag>> tagFuture = client.getSolutionTags("id");
+		CompletableFuture.allOf(solFuture, revFuture, tagFuture).get();
+		Assert.assertTrue(solution == solFuture.get());
+		Assert.assertTrue(revList == revFuture.get());
+		Assert.assertTrue(tagList == tagFuture.get());
+		Assert.assertNull(client.updateSolution(solution).get());
+		Assert.assertTrue(client.deleteSolution("id").isDone());
+		client.setRequestId("id");
+		Assert.assertNull(client.getConnectionPoolStats());
+		client.close();
+	}
+
 }
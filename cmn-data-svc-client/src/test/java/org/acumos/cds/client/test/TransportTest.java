@@ -20,18 +20,38 @@
 
 package org.acumos.cds.client.test;
 
+import java.io.ByteArrayInputStream;
 import java.lang.invoke.MethodHandles;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.acumos.cds.client.CatalogExportReader;
+import org.acumos.cds.domain.MLPArtifact;
+import org.acumos.cds.domain.MLPChangeLog;
+import org.acumos.cds.domain.MLPComment;
+import org.acumos.cds.domain.MLPSolRevArtMap;
+import org.acumos.cds.domain.MLPSolTagMap;
+import org.acumos.cds.domain.MLPSolution;
+import org.acumos.cds.domain.MLPSolutionRevision;
+import org.acumos.cds.domain.MLPThread;
+import org.acumos.cds.transport.BatchItemTransport;
+import org.acumos.cds.transport.BatchMapRequest;
+import org.acumos.cds.transport.BatchResultTransport;
+import org.acumos.cds.transport.CatalogExportRecord;
+import org.acumos.cds.transport.ChangeFeedTransport;
+import org.acumos.cds.transport.CommentNodeTransport;
 import org.acumos.cds.transport.CountTransport;
+import org.acumos.cds.transport.DeleteCountsTransport;
 import org.acumos.cds.transport.ErrorTransport;
 import org.acumos.cds.transport.LoginTransport;
+import org.acumos.cds.transport.NotificationAudienceRequest;
 import org.acumos.cds.transport.RestPageRequest;
 import org.acumos.cds.transport.RestPageResponse;
 import org.acumos.cds.transport.SuccessTransport;
+import org.acumos.cds.transport.ThreadTreeTransport;
 import org.acumos.cds.transport.UsersRoleRequest;
 import org.junit.Assert;
 import org.junit.Test;
@@ -46,6 +66,108 @@ public class TransportTest extends AbstractModelTest {
 
 	private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
+	@Test
+	public void testBatchTransports() {
+		BatchMapRequest r = new BatchMapRequest();
+		List<String> l = new ArrayList<>();
+		r = new BatchMapRequest(true, l);
+		r.setAdd(false);
+		r.setIds(l);
+		Assert.assertEquals(false, r.isAdd());
+		Assert.assertEquals(l, r.getIds());
+		logger.info(r.toString());
+		BatchItemTransport i = new BatchItemTransport();
+		i = new BatchItemTransport(i1, s1, 200, null);
+		i.setIndex(i2);
+		i.setId(s2);
+		i.setStatus(400);
+		i.setMessage(s3);
+		Assert.assertEquals((int) i2, i.getIndex());
+		Assert.assertEquals(s2, i.getId());
+		Assert.assertEquals(400, i.getStatus());
+		Assert.assertEquals(s3, i.getMessage());
+		BatchResultTransport t = new BatchResultTransport();
+		t.addItem(new BatchItemTransport(0, s1, 200, null));
+		t.addItem(i);
+		Assert.assertEquals(1, t.getSucceeded());
+		Assert.assertEquals(1, t.getFailed());
+		Assert.assertEquals(2, t.getItems().size());
+		t.setSucceeded(i1);
+		t.setFailed(i2);
+		t.setItems(new ArrayList<>());
+		Assert.assertEquals((int) i1, t.getSucceeded());
+		Assert.assertEquals((int) i2, t.getFailed());
+		Assert.assertTrue(t.getItems().isEmpty());
+		logger.info(t.toString());
+	}
+
+	@Test
+	public void testCatalogExportRecord() throws Exception {
+		CatalogExportRecord t = new CatalogExportRecord();
+		MLPSolution s = new MLPSolution("name", "userId", true);
+		MLPSolTagMap stm = new MLPSolTagMap("solutionId", "tag");
+		MLPSolutionRevision r = new MLPSolutionRevision();
+		MLPArtifact a = new MLPArtifact();
+		MLPSolRevArtMap ram = new MLPSolRevArtMap("revisionId", "artifactId");
+		t.setSolution(s);
+		t.setSolutionTag(stm);
+		t.setRevision(r);
+		t.setArtifact(a);
+		t.setRevisionArtifact(ram);
+		Assert.assertEquals(s, t.getSolution());
+		Assert.assertEquals(stm, t.getSolutionTag());
+		Assert.assertEquals(r, t.getRevision());
+		Assert.assertEquals(a, t.getArtifact());
+		Assert.assertEquals(ram, t.getRevisionArtifact());
+		logger.info(t.toString());
+
+		// One record per line, unknown fields are ignored
+		String ndjson = "{\"solution\":{\"solutionId\":\"s1\",\"name\":\"n\",\"unknown\":1}}\n"
+				+ "{\"revisionArtifact\":{\"revisionId\":\"r1\",\"artifactId\":\"a1\"}}\n";
+		try (CatalogExportReader reader = new CatalogExportReader(
+				new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), null)) {
+			Assert.assertEquals("s1", reader.next().getSolution().getSolutionId());
+			Assert.assertEquals("a1", reader.next().getRevisionArtifact().getArtifactId());
+			Assert.assertFalse(reader.hasNext());
+		}
+	}
+
+	@Test
+	public void testChangeFeedTransport() {
+		List<MLPChangeLog> l = new ArrayList<>();
+		ChangeFeedTransport t = new ChangeFeedTransport();
+		t = new ChangeFeedTransport(l, l1, true);
+		t.setChanges(l);
+		t.setCursor(l2);
+		t.setMore(false);
+		Assert.assertEquals(l, t.getChanges());
+		Assert.assertEquals((long) l2, t.getCursor());
+		Assert.assertFalse(t.isMore());
+		logger.info(t.toString());
+	}
+
+	@Test
+	public void testCommentTreeTransports() {
+		MLPComment c = new MLPComment();
+		List<CommentNodeTransport> l = new ArrayList<>();
+		CommentNodeTransport n = new CommentNodeTransport();
+		n = new CommentNodeTransport(c, l);
+		n.setComment(c);
+		n.setReplies(l);
+		Assert.assertEquals(c, n.getComment());
+		Assert.assertEquals(l, n.getReplies());
+		MLPThread th = new MLPThread();
+		ThreadTreeTransport t = new ThreadTreeTransport();
+		t = new ThreadTreeTransport(th, l1, l);
+		t.setThread(th);
+		t.setCommentCount(l2);
+		t.setComments(l);
+		Assert.assertEquals(th, t.getThread());
+		Assert.assertEquals((long) l2, t.getCommentCount());
+		Assert.assertEquals(l, t.getComments());
+		logger.info(t.toString());
+	}
+
 	@Test
 	public void testCountTransport() {
 		CountTransport t = new CountTransport();
@@ -55,6 +177,19 @@ public void testCountTransport() {
 		logger.info(t.toString());
 	}
 
+	@Test
+	public void testDeleteCountsTransport() {
+		Map<String, Long> m = new HashMap<>();
+		m.put(s1, l1);
+		DeleteCountsTransport t = new DeleteCountsTransport();
+		t = new DeleteCountsTransport(l2, m);
+		t.setTotal(l1);
+		t.setTables(m);
+		Assert.assertEquals((long) l1, t.getTotal());
+		Assert.assertEquals(m, t.getTables());
+		logger.info(t.toString());
+	}
+
 	@Test
 	public void testErrorTransport() {
 		ErrorTransport t = new ErrorTransport();
@@ -95,6 +230,20 @@ public void tesRestPageRequest() {
 		logger.info(t.toString());
 	}
 
+	@Test
+	public void testNotificationAudienceRequest() {
+		NotificationAudienceRequest t = new NotificationAudienceRequest();
+		List<String> l = new ArrayList<>();
+		t = new NotificationAudienceRequest(false, s1, l);
+		t.setAllUsers(b1);
+		t.setRoleId(s1);
+		t.setUserIds(l);
+		Assert.assertEquals(b1, t.isAllUsers());
+		Assert.assertEquals(s1, t.getRoleId());
+		Assert.assertEquals(l, t.getUserIds());
+		logger.info(t.toString());
+	}
+
 	@Test
 	public void testRestPageResponse() {
 		RestPageResponse<String> t = new RestPageResponse<>();
@@ -110,6 +259,7 @@ public void testRestPageResponse() {
 		t.setPreviousPage(true);
 		t.setNextPage(true);
 		t.setSort(null);
+		t.setNextToken(s1);
 		Assert.assertEquals(true, t.isFirst());
 		Assert.assertEquals(false, t.isLast());
 		Assert.assertEquals(true, t.isNextPage());
@@ -121,6 +271,7 @@ public void testRestPageResponse() {
 		Assert.assertEquals(true, t.isPreviousPage());
 		Assert.assertEquals(true, t.isNextPage());
 		Assert.assertNull(t.getSort());
+		Assert.assertEquals(s1, t.getNextToken());
 		Assert.assertFalse(t.equals(null));
 		Assert.assertFalse(t.equals(new RestPageResponse<>()));
 		Assert.assertTrue(t.equals(t));
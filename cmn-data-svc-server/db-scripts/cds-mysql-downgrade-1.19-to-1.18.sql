@@ -0,0 +1,34 @@
+-- ===============LICENSE_START=======================================================
+-- Acumos Apache-2.0
+-- ===================================================================================
+-- Copyright (C) 2017-2018 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+-- ===================================================================================
+-- This Acumos software file is distributed by AT&T and Tech Mahindra
+-- under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--      http://www.apache.org/licenses/LICENSE-2.0
+--
+-- This file is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+-- ===============LICENSE_END=========================================================
+
+-- Script to downgrade database used by the Common Data Service
+-- FROM version 1.19.x TO version 1.18.x.
+-- No database is specified to allow flexible deployment!
+
+-- 3
+DROP TABLE C_CHANGE_LOG;
+-- 2
+ALTER TABLE C_USER ADD COLUMN PICTURE LONGBLOB AFTER LOGIN_FAIL_DATE;
+UPDATE C_USER u, C_USER_PICTURE p SET u.PICTURE = p.PICTURE, u.MODIFIED_DATE = u.MODIFIED_DATE WHERE u.USER_ID = p.USER_ID;
+ALTER TABLE C_USER DROP COLUMN PICTURE_HASH;
+DROP TABLE C_USER_PICTURE;
+-- 1
+ALTER TABLE C_SOLUTION ADD COLUMN PICTURE LONGBLOB AFTER ORIGIN;
+UPDATE C_SOLUTION s, C_SOLUTION_PICTURE p SET s.PICTURE = p.PICTURE, s.MODIFIED_DATE = s.MODIFIED_DATE WHERE s.SOLUTION_ID = p.SOLUTION_ID;
+ALTER TABLE C_SOLUTION DROP COLUMN PICTURE_HASH;
+DROP TABLE C_SOLUTION_PICTURE;
@@ -0,0 +1,67 @@
+-- ===============LICENSE_START=======================================================
+-- Acumos Apache-2.0
+-- ===================================================================================
+-- Copyright (C) 2017-2018 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+-- ===================================================================================
+-- This Acumos software file is distributed by AT&T and Tech Mahindra
+-- under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--      http://www.apache.org/licenses/LICENSE-2.0
+--
+-- This file is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+-- ===============LICENSE_END=========================================================
+
+-- Script to upgrade database used by the Common Data Service
+-- FROM version 1.18.x TO version 1.19.x.
+-- No database name is set to allow flexible deployment.
+
+-- 1
+CREATE TABLE C_SOLUTION_PICTURE (
+  SOLUTION_ID CHAR(36) NOT NULL PRIMARY KEY,
+  CONTENT_TYPE VARCHAR(100) NOT NULL,
+  PICTURE LONGBLOB NOT NULL,
+  CREATED_DATE TIMESTAMP NOT NULL DEFAULT 0,
+  MODIFIED_DATE TIMESTAMP NOT NULL,
+  CONSTRAINT C_SOL_PIC_C_SOLUTION FOREIGN KEY (SOLUTION_ID) REFERENCES C_SOLUTION (SOLUTION_ID)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+-- The old column has no content type
+INSERT INTO C_SOLUTION_PICTURE (SOLUTION_ID, CONTENT_TYPE, PICTURE, CREATED_DATE, MODIFIED_DATE)
+  SELECT SOLUTION_ID, 'application/octet-stream', PICTURE, CURRENT_TIMESTAMP(), CURRENT_TIMESTAMP()
+  FROM C_SOLUTION WHERE PICTURE IS NOT NULL;
+ALTER TABLE C_SOLUTION ADD COLUMN PICTURE_HASH CHAR(64) AFTER ORIGIN;
+UPDATE C_SOLUTION SET PICTURE_HASH = SHA2(PICTURE, 256), MODIFIED_DATE = MODIFIED_DATE WHERE PICTURE IS NOT NULL;
+ALTER TABLE C_SOLUTION DROP COLUMN PICTURE;
+-- 2
+CREATE TABLE C_USER_PICTURE (
+  USER_ID CHAR(36) NOT NULL PRIMARY KEY,
+  CONTENT_TYPE VARCHAR(100) NOT NULL,
+  PICTURE LONGBLOB NOT NULL,
+  CREATED_DATE TIMESTAMP NOT NULL DEFAULT 0,
+  MODIFIED_DATE TIMESTAMP NOT NULL,
+  CONSTRAINT C_USER_PIC_C_USER FOREIGN KEY (USER_ID) REFERENCES C_USER (USER_ID)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+INSERT INTO C_USER_PICTURE (USER_ID, CONTENT_TYPE, PICTURE, CREATED_DATE, MODIFIED_DATE)
+  SELECT USER_ID, 'application/octet-stream', PICTURE, CURRENT_TIMESTAMP(), CURRENT_TIMESTAMP()
+  FROM C_USER WHERE PICTURE IS NOT NULL;
+ALTER TABLE C_USER ADD COLUMN PICTURE_HASH CHAR(64) AFTER LOGIN_FAIL_DATE;
+UPDATE C_USER SET PICTURE_HASH = SHA2(PICTURE, 256), MODIFIED_DATE = MODIFIED_DATE WHERE PICTURE IS NOT NULL;
+ALTER TABLE C_USER DROP COLUMN PICTURE;
+-- 3
+CREATE TABLE C_CHANGE_LOG (
+  CHANGE_ID BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+  -- No foreign keys, entries outlive the entities
+  SOLUTION_ID CHAR(36),
+  ENTITY_TYPE VARCHAR(20) NOT NULL,
+  ENTITY_ID CHAR(36) NOT NULL,
+  OPERATION CHAR(1) NOT NULL,
+  CHANGE_DATE TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  INDEX C_CHANGE_LOG_C_CHANGE_DATE (CHANGE_DATE)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+-- Start the log with one create per existing solution, oldest change first
+INSERT INTO C_CHANGE_LOG (SOLUTION_ID, ENTITY_TYPE, ENTITY_ID, OPERATION, CHANGE_DATE)
+  SELECT SOLUTION_ID, 'SOLUTION', SOLUTION_ID, 'C', MODIFIED_DATE FROM C_SOLUTION ORDER BY MODIFIED_DATE;
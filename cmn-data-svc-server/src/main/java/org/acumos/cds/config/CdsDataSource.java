@@ -26,13 +26,23 @@
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
-import org.springframework.jdbc.datasource.DriverManagerDataSource;
 import org.springframework.stereotype.Component;
 
 /**
- * Builds a data source from configuration properties.
+ * Builds a pooled data source from configuration properties. Connection pool
+ * settings are taken from properties with prefix "spring.datasource.tomcat",
+ * which is the same prefix used by Spring-Boot for the Tomcat JDBC pool; any
+ * property of class org.apache.tomcat.jdbc.pool.PoolProperties can be set
+ * there, for example:
+ * 
+ * <PRE>
+ * spring.datasource.tomcat.max-active = 20
+ * spring.datasource.tomcat.max-wait = 10000
+ * </PRE>
  */
 @Component
 public class CdsDataSource {
@@ -51,20 +61,45 @@ public class CdsDataSource {
 	@Value("${spring.datasource.password}")
 	private String dbPassword;
 
+	@Value("${sql.recorder.enabled:true}")
+	private boolean sqlRecorderEnabled;
+
+	@Autowired
+	private QueryRecorder queryRecorder;
+
 	/**
-	 * Builds a data source from configuration properties.
+	 * Builds a pooled data source from configuration properties. The defaults set
+	 * here are replaced by any values in the configuration.
 	 * 
 	 * @return DataSource
 	 */
 	@Bean
+	@ConfigurationProperties(prefix = "spring.datasource.tomcat")
 	public DataSource dataSource() {
 		// Force this onto the console
 		logger.warn("dataSource: using URL {}", dbUrl);
-		DriverManagerDataSource dataSource = new DriverManagerDataSource();
+		InstrumentedDataSource dataSource = new InstrumentedDataSource();
 		dataSource.setDriverClassName(dbDriverClassName);
 		dataSource.setUrl(dbUrl);
 		dataSource.setUsername(dbUsername);
 		dataSource.setPassword(dbPassword);
+		// Pool size
+		dataSource.setInitialSize(2);
+		dataSource.setMinIdle(2);
+		dataSource.setMaxIdle(10);
+		dataSource.setMaxActive(20);
+		// Bound the wait for a connection, in milliseconds
+		dataSource.setMaxWait(10000);
+		// Retire connections after 30 minutes, in milliseconds
+		dataSource.setMaxAge(30 * 60 * 1000L);
+		// Validate at most every 30 seconds; the query is configured per database
+		dataSource.setTestOnBorrow(true);
+		dataSource.setTestWhileIdle(true);
+		dataSource.setValidationInterval(30000);
+		dataSource.setTimeBetweenEvictionRunsMillis(30000);
+		// Measure statements
+		if (sqlRecorderEnabled)
+			dataSource.setQueryRecorder(queryRecorder);
 		return dataSource;
 	}
 }
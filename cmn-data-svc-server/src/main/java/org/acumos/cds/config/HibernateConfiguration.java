@@ -20,10 +20,13 @@
 
 package org.acumos.cds.config;
 
+import java.util.Properties;
+
 import javax.sql.DataSource;
 
 import org.acumos.cds.domain.MLPSolution;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.orm.hibernate4.LocalSessionFactoryBean;
 import org.springframework.orm.jpa.JpaTransactionManager;
@@ -38,6 +41,18 @@ public class HibernateConfiguration {
 	@Autowired
 	private DataSource dataSource;
 
+	// Same setting as the JPA session factory
+	@Value("${spring.jpa.properties.hibernate.generate_statistics:false}")
+	private boolean generateStatistics;
+
+	// Same settings as the JPA session factory, so Criteria queries load tags
+	// for a page of solutions in batches instead of one select per row
+	@Value("${spring.jpa.properties.hibernate.default_batch_fetch_size:100}")
+	private int defaultBatchFetchSize;
+
+	@Value("${spring.jpa.properties.hibernate.batch_fetch_style:PADDED}")
+	private String batchFetchStyle;
+
 	/**
 	 * Sets up the data source and package to scan for annotated classes.
 	 * 
@@ -50,6 +65,12 @@ public LocalSessionFactoryBean sessionFactory() {
 		// The package is maintained in the client library.
 		// This avoids hard-coding a package name as string
 		sessionFactory.setPackagesToScan(MLPSolution.class.getPackage().getName());
+		Properties properties = new Properties();
+		properties.setProperty("hibernate.generate_statistics", Boolean.toString(generateStatistics));
+		properties.setProperty("hibernate.session.events.log", "false");
+		properties.setProperty("hibernate.default_batch_fetch_size", Integer.toString(defaultBatchFetchSize));
+		properties.setProperty("hibernate.batch_fetch_style", batchFetchStyle);
+		sessionFactory.setHibernateProperties(properties);
 		return sessionFactory;
 	}
 
@@ -0,0 +1,122 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.acumos.cds.transport.PoolStatsTransport;
+
+/**
+ * Extends the Tomcat JDBC connection pool to measure the time callers spend
+ * waiting to check out a connection. The pool itself reports active, idle and
+ * pending (waiting thread) counts but keeps no timing information. If a query
+ * recorder is set, connections are wrapped so their statements are measured.
+ */
+public class InstrumentedDataSource extends org.apache.tomcat.jdbc.pool.DataSource {
+
+	private final LongAdder checkoutCount = new LongAdder();
+	private final LongAdder checkoutFailCount = new LongAdder();
+	private final LongAdder checkoutWaitNanos = new LongAdder();
+	private final AtomicLong checkoutWaitMaxNanos = new AtomicLong();
+	private QueryRecorder queryRecorder;
+
+	/**
+	 * Sets the recorder that measures statements on connections checked out
+	 * afterwards.
+	 * 
+	 * @param queryRecorder
+	 *            Recorder; null to return connections unwrapped
+	 */
+	public void setQueryRecorder(QueryRecorder queryRecorder) {
+		this.queryRecorder = queryRecorder;
+	}
+
+	private Connection wrap(Connection connection) {
+		return queryRecorder == null ? connection : queryRecorder.wrap(connection);
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		final long start = System.nanoTime();
+		boolean success = false;
+		try {
+			Connection connection = super.getConnection();
+			success = true;
+			return wrap(connection);
+		} finally {
+			recordCheckout(System.nanoTime() - start, success);
+		}
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		final long start = System.nanoTime();
+		boolean success = false;
+		try {
+			Connection connection = super.getConnection(username, password);
+			success = true;
+			return wrap(connection);
+		} finally {
+			recordCheckout(System.nanoTime() - start, success);
+		}
+	}
+
+	private void recordCheckout(long nanos, boolean success) {
+		checkoutCount.increment();
+		if (!success)
+			checkoutFailCount.increment();
+		checkoutWaitNanos.add(nanos);
+		checkoutWaitMaxNanos.accumulateAndGet(nanos, Math::max);
+	}
+
+	/**
+	 * Gets a snapshot of the pool statistics. The pool is created lazily on first
+	 * use, so all counts are zero before the first checkout.
+	 * 
+	 * @return PoolStatsTransport
+	 */
+	public PoolStatsTransport getPoolStats() {
+		PoolStatsTransport stats = new PoolStatsTransport();
+		stats.setMaxActive(getMaxActive());
+		stats.setMaxWaitMillis(getMaxWait());
+		if (getPool() != null) {
+			stats.setSize(getSize());
+			stats.setActive(getActive());
+			stats.setIdle(getIdle());
+			stats.setPending(getWaitCount());
+			stats.setCreated(getCreatedCount());
+			stats.setReleased(getReleasedCount());
+		}
+		final long count = checkoutCount.sum();
+		stats.setCheckouts(count);
+		stats.setCheckoutFailures(checkoutFailCount.sum());
+		final long waitNanos = checkoutWaitNanos.sum();
+		stats.setTotalWaitMillis(TimeUnit.NANOSECONDS.toMillis(waitNanos));
+		stats.setMeanWaitMicros(count == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(waitNanos / count));
+		stats.setMaxWaitMicros(TimeUnit.NANOSECONDS.toMicros(checkoutWaitMaxNanos.get()));
+		return stats;
+	}
+
+}
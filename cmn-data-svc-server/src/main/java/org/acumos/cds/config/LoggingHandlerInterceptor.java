@@ -20,7 +20,9 @@
 
 package org.acumos.cds.config;
 
+import java.lang.invoke.MethodHandles;
 import java.net.InetAddress;
+import java.net.UnknownHostException;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -29,21 +31,65 @@
 
 import org.acumos.cds.CCDSConstants;
 import org.acumos.cds.logging.ONAPLogConstants;
+import org.acumos.cds.service.RequestMetricsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
 
 /**
  * Adds request details to the mapped diagnostic context (MDC) so they can be
- * logged. <BR>
+ * logged, reports the duration and outcome of each request to the metrics
+ * service, and logs the SQL statements each request executed. <BR>
  * http://www.devgrok.com/2017/04/adding-mdc-headers-to-every-spring-mvc.html
  */
 public class LoggingHandlerInterceptor extends HandlerInterceptorAdapter {
 
+	private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+	@Autowired
+	private RequestMetricsService requestMetricsService;
+
+	@Autowired
+	private QueryRecorder queryRecorder;
+
+	/**
+	 * A request that executes more statements than this is logged as a warning,
+	 * which usually means N+1 selects.
+	 */
+	@Value("${sql.request.warn.statements:100}")
+	private int warnStatements;
+
+	/**
+	 * Host name of this server. Resolving it may require a reverse DNS lookup,
+	 * so it is done once instead of on every request.
+	 */
+	private final String serverFqdn;
+
+	/**
+	 * Start time of the request on the current thread, in a reused array to
+	 * avoid allocating on every request.
+	 */
+	private ThreadLocal<long[]> startNanos = ThreadLocal.withInitial(() -> new long[1]);
+
 	/**
 	 * Tracks the set of keys added to MDC.
 	 */
 	private ThreadLocal<Set<String>> storedKeys = ThreadLocal.withInitial(() -> new HashSet<>());
 
+	public LoggingHandlerInterceptor() {
+		String fqdn;
+		try {
+			fqdn = InetAddress.getLocalHost().getCanonicalHostName();
+		} catch (UnknownHostException ex) {
+			logger.warn("Failed to resolve local host name", ex);
+			fqdn = "localhost";
+		}
+		serverFqdn = fqdn;
+	}
+
 	/**
 	 * Copies key-value pairs from HTTP request to MDC context. Unfortunately they
 	 * use different conventions for key naming.
@@ -52,7 +98,10 @@ public class LoggingHandlerInterceptor extends HandlerInterceptorAdapter {
 	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
 			throws Exception {
 
-		addKey(ONAPLogConstants.MDCs.SERVER_FQDN, InetAddress.getLocalHost().getCanonicalHostName());
+		startNanos.get()[0] = System.nanoTime();
+		requestMetricsService.requestStarted(handler);
+		queryRecorder.resetThreadCounts();
+		addKey(ONAPLogConstants.MDCs.SERVER_FQDN, serverFqdn);
 		addKey(ONAPLogConstants.MDCs.CLIENT_IP_ADDRESS, request.getRemoteAddr());
 		addKey(ONAPLogConstants.MDCs.SERVICE_NAME, request.getRequestURI());
 		final String requestId = request.getHeader(CCDSConstants.X_REQUEST_ID);
@@ -70,15 +119,36 @@ private void addKey(String key, String value) {
 	@Override
 	public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler)
 			throws Exception {
+		// Only the time on this thread is measured
+		recordRequest(response, handler, false);
 		removeKeys();
 	}
 
 	@Override
 	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex)
 			throws Exception {
+		recordRequest(response, handler, ex != null);
+		logStatements(request);
 		removeKeys();
 	}
 
+	private void logStatements(HttpServletRequest request) {
+		final long statements = queryRecorder.getThreadStatements();
+		if (statements > warnStatements)
+			logger.warn("{} {} executed {} SQL statements in {} ms reading {} rows", request.getMethod(),
+					request.getRequestURI(), statements, queryRecorder.getThreadMillis(),
+					queryRecorder.getThreadRows());
+		else if (logger.isDebugEnabled())
+			logger.debug("{} {} executed {} SQL statements in {} ms reading {} rows", request.getMethod(),
+					request.getRequestURI(), statements, queryRecorder.getThreadMillis(),
+					queryRecorder.getThreadRows());
+	}
+
+	private void recordRequest(HttpServletResponse response, Object handler, boolean failed) {
+		requestMetricsService.requestCompleted(handler, System.nanoTime() - startNanos.get()[0], response.getStatus(),
+				failed);
+	}
+
 	private void removeKeys() {
 		for (String key : storedKeys.get())
 			MDC.remove(key);
@@ -0,0 +1,330 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.config;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.PostConstruct;
+
+import org.acumos.cds.logging.ONAPLogConstants;
+import org.acumos.cds.transport.SlowQueryTransport;
+import org.acumos.cds.transport.SqlStatsTransport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Measures the SQL statements that Hibernate and Spring Data send to the
+ * database, which are otherwise invisible. Connections from the pool are
+ * wrapped in dynamic proxies that time every execute call, count the rows read
+ * from result sets and remember bound parameters. Counts are kept in total and
+ * for the current thread, so the work done by one HTTP request can be
+ * reported; statements at or above a threshold are kept with their parameters
+ * in a ring buffer.
+ */
+@Component
+public class QueryRecorder {
+
+	private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+	// Indexes into the per-thread counter array
+	private static final int STATEMENTS = 0;
+	private static final int NANOS = 1;
+	private static final int ROWS = 2;
+
+	@Value("${sql.slow.threshold.ms:500}")
+	private long slowThresholdMillis;
+
+	@Value("${sql.slow.log.size:100}")
+	private int slowLogSize;
+
+	private final LongAdder statements = new LongAdder();
+	private final LongAdder failures = new LongAdder();
+	private final LongAdder rows = new LongAdder();
+	private final LongAdder nanos = new LongAdder();
+	private final ThreadLocal<long[]> threadCounts = ThreadLocal.withInitial(() -> new long[3]);
+	private AtomicReferenceArray<SlowQueryTransport> slowLog;
+	private final AtomicLong slowLogNext = new AtomicLong();
+
+	@PostConstruct
+	public void initialize() {
+		if (slowLogSize < 1)
+			throw new IllegalArgumentException("sql.slow.log.size must be positive");
+		slowLog = new AtomicReferenceArray<>(slowLogSize);
+	}
+
+	/**
+	 * Sets the threshold for the slow-query log.
+	 * 
+	 * @param slowThresholdMillis
+	 *            Statements at or above this duration are logged
+	 */
+	public void setSlowThresholdMillis(long slowThresholdMillis) {
+		this.slowThresholdMillis = slowThresholdMillis;
+	}
+
+	/**
+	 * Starts counting statements for the current thread from zero, usually at
+	 * the start of an HTTP request.
+	 */
+	public void resetThreadCounts() {
+		long[] counts = threadCounts.get();
+		counts[STATEMENTS] = 0;
+		counts[NANOS] = 0;
+		counts[ROWS] = 0;
+	}
+
+	/**
+	 * @return Number of statements executed by the current thread since the last
+	 *         reset
+	 */
+	public long getThreadStatements() {
+		return threadCounts.get()[STATEMENTS];
+	}
+
+	/**
+	 * @return Time in milliseconds spent executing statements by the current
+	 *         thread since the last reset
+	 */
+	public long getThreadMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(threadCounts.get()[NANOS]);
+	}
+
+	/**
+	 * @return Number of rows read by the current thread since the last reset
+	 */
+	public long getThreadRows() {
+		return threadCounts.get()[ROWS];
+	}
+
+	/**
+	 * Gets the totals and the slow-query log.
+	 * 
+	 * @return SqlStatsTransport
+	 */
+	public SqlStatsTransport getStats() {
+		SqlStatsTransport stats = new SqlStatsTransport();
+		stats.setStatements(statements.sum());
+		stats.setFailures(failures.sum());
+		stats.setRows(rows.sum());
+		stats.setTotalMillis(TimeUnit.NANOSECONDS.toMillis(nanos.sum()));
+		stats.setSlowThresholdMillis(slowThresholdMillis);
+		List<SlowQueryTransport> slowQueries = new ArrayList<>();
+		long next = slowLogNext.get();
+		for (long i = next - 1; i >= 0 && i >= next - slowLog.length(); --i) {
+			SlowQueryTransport entry = slowLog.get((int) (i % slowLog.length()));
+			if (entry != null)
+				slowQueries.add(entry);
+		}
+		stats.setSlowQueries(slowQueries);
+		return stats;
+	}
+
+	private void recordExecution(String sql, List<Object> parameters, long elapsed, boolean failed) {
+		statements.increment();
+		nanos.add(elapsed);
+		long[] counts = threadCounts.get();
+		++counts[STATEMENTS];
+		counts[NANOS] += elapsed;
+		if (failed)
+			failures.increment();
+		long millis = TimeUnit.NANOSECONDS.toMillis(elapsed);
+		if (millis >= slowThresholdMillis) {
+			String params = parameters == null ? null : formatParameters(parameters);
+			logger.warn("Slow SQL statement took {} ms: {} parameters {}", millis, sql, params);
+			SlowQueryTransport entry = new SlowQueryTransport(new Date(),
+					MDC.get(ONAPLogConstants.MDCs.SERVICE_NAME), sql, params, millis, failed);
+			slowLog.set((int) (slowLogNext.getAndIncrement() % slowLog.length()), entry);
+		}
+	}
+
+	private void recordRow() {
+		rows.increment();
+		++threadCounts.get()[ROWS];
+	}
+
+	private static String formatParameters(List<Object> parameters) {
+		StringBuilder sb = new StringBuilder("[");
+		for (int i = 1; i < parameters.size(); ++i) {
+			if (sb.length() > 1)
+				sb.append(", ");
+			Object value = parameters.get(i);
+			sb.append(i).append('=');
+			sb.append(value instanceof String ? "'" + value + "'" : String.valueOf(value));
+		}
+		return sb.append(']').toString();
+	}
+
+	/**
+	 * Wraps a connection so that its statements are measured.
+	 * 
+	 * @param connection
+	 *            Connection from the pool
+	 * @return Proxy for the connection
+	 */
+	public Connection wrap(Connection connection) {
+		return (Connection) Proxy.newProxyInstance(QueryRecorder.class.getClassLoader(),
+				new Class<?>[] { Connection.class }, new ConnectionHandler(connection));
+	}
+
+	/**
+	 * Common handling of the Object methods, which must not go to the target:
+	 * Hibernate keeps statements in hash maps, where the proxy must equal itself.
+	 */
+	private abstract static class AbstractHandler implements InvocationHandler {
+		protected final Object target;
+
+		AbstractHandler(Object target) {
+			this.target = target;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			switch (method.getName()) {
+			case "equals":
+				if (args != null && args.length == 1)
+					return proxy == args[0];
+				break;
+			case "hashCode":
+				if (args == null)
+					return System.identityHashCode(proxy);
+				break;
+			default:
+				break;
+			}
+			return handle(proxy, method, args);
+		}
+
+		protected abstract Object handle(Object proxy, Method method, Object[] args) throws Throwable;
+
+		protected Object invokeTarget(Method method, Object[] args) throws Throwable {
+			try {
+				return method.invoke(target, args);
+			} catch (InvocationTargetException ex) {
+				throw ex.getTargetException();
+			}
+		}
+	}
+
+	private class ConnectionHandler extends AbstractHandler {
+		ConnectionHandler(Connection connection) {
+			super(connection);
+		}
+
+		@Override
+		protected Object handle(Object proxy, Method method, Object[] args) throws Throwable {
+			Object result = invokeTarget(method, args);
+			String name = method.getName();
+			if (result instanceof Statement
+					&& ("createStatement".equals(name) || "prepareStatement".equals(name) || "prepareCall".equals(name))) {
+				String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+				Class<?> type = result instanceof CallableStatement ? CallableStatement.class
+						: result instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+				return Proxy.newProxyInstance(QueryRecorder.class.getClassLoader(), new Class<?>[] { type },
+						new StatementHandler((Statement) result, (Connection) proxy, sql));
+			}
+			return result;
+		}
+	}
+
+	private class StatementHandler extends AbstractHandler {
+		private final Connection connection;
+		private final String sql;
+		private final List<Object> parameters;
+
+		StatementHandler(Statement statement, Connection connection, String sql) {
+			super(statement);
+			this.connection = connection;
+			this.sql = sql;
+			this.parameters = statement instanceof PreparedStatement ? new ArrayList<>() : null;
+		}
+
+		@Override
+		protected Object handle(Object proxy, Method method, Object[] args) throws Throwable {
+			String name = method.getName();
+			if (name.startsWith("execute")) {
+				// Plain statements pass the SQL to execute
+				String text = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : sql;
+				final long start = System.nanoTime();
+				boolean failed = true;
+				try {
+					Object result = wrapResultSet(invokeTarget(method, args));
+					failed = false;
+					return result;
+				} finally {
+					recordExecution(text, parameters, System.nanoTime() - start, failed);
+				}
+			}
+			if (parameters != null && name.startsWith("set") && args != null && args.length >= 2
+					&& args[0] instanceof Integer) {
+				int index = (Integer) args[0];
+				while (parameters.size() <= index)
+					parameters.add(null);
+				parameters.set(index, name.equals("setNull") ? null : args[1]);
+			} else if (parameters != null && "clearParameters".equals(name)) {
+				parameters.clear();
+			} else if ("getConnection".equals(name)) {
+				return connection;
+			}
+			return wrapResultSet(invokeTarget(method, args));
+		}
+
+		private Object wrapResultSet(Object result) {
+			if (!(result instanceof ResultSet))
+				return result;
+			return Proxy.newProxyInstance(QueryRecorder.class.getClassLoader(), new Class<?>[] { ResultSet.class },
+					new ResultSetHandler((ResultSet) result));
+		}
+	}
+
+	private class ResultSetHandler extends AbstractHandler {
+		ResultSetHandler(ResultSet resultSet) {
+			super(resultSet);
+		}
+
+		@Override
+		protected Object handle(Object proxy, Method method, Object[] args) throws Throwable {
+			Object result = invokeTarget(method, args);
+			if (Boolean.TRUE.equals(result) && "next".equals(method.getName()))
+				recordRow();
+			return result;
+		}
+	}
+
+}
@@ -0,0 +1,62 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.config;
+
+import org.acumos.cds.CCDSConstants;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds the SQL statement count, time and rows of the current request as
+ * response headers. This must happen before the body is written, after which
+ * headers can no longer be set, so a handler interceptor is too late; work
+ * done while serializing the body is not included.
+ */
+@ControllerAdvice
+public class SqlStatsResponseBodyAdvice implements ResponseBodyAdvice<Object> {
+
+	@Autowired
+	private QueryRecorder queryRecorder;
+
+	@Override
+	public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+		return true;
+	}
+
+	@Override
+	public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+			Class<? extends HttpMessageConverter<?>> selectedConverterType, ServerHttpRequest request,
+			ServerHttpResponse response) {
+		HttpHeaders headers = response.getHeaders();
+		headers.set(CCDSConstants.X_SQL_COUNT, Long.toString(queryRecorder.getThreadStatements()));
+		headers.set(CCDSConstants.X_SQL_MILLIS, Long.toString(queryRecorder.getThreadMillis()));
+		headers.set(CCDSConstants.X_SQL_ROWS, Long.toString(queryRecorder.getThreadRows()));
+		return body;
+	}
+
+}
@@ -20,16 +20,30 @@
 
 package org.acumos.cds.controller;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.lang.invoke.MethodHandles;
 import java.util.Collection;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 
 import org.acumos.cds.CodeNameType;
+import org.acumos.cds.domain.MLPAbstractPicture;
 import org.acumos.cds.domain.MLPTag;
 import org.acumos.cds.repository.TagRepository;
 import org.acumos.cds.service.CodeNameService;
+import org.acumos.cds.service.EntityCacheService;
+import org.acumos.cds.transport.ErrorTransport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -45,6 +59,10 @@ public abstract class AbstractController {
 	// Shared among controllers
 	@Autowired
 	protected TagRepository tagRepository;
+	@Autowired
+	protected EntityCacheService entityCacheService;
+	@Value("${batch.max.size:1000}")
+	private int maxBatchSize;
 
 	protected static final String NO_ENTRY_WITH_ID = "No entry with ID ";
 
@@ -108,6 +126,28 @@ protected void validateCode(String code, CodeNameType type) {
 			throw new IllegalArgumentException("Unexpected code " + code + " for CodeNameType " + type.name());
 	}
 
+	/**
+	 * Checks the number of items in a batch request.
+	 * 
+	 * @param items
+	 *            Items in the request
+	 * @param response
+	 *            HttpServletResponse; status is set on failure
+	 * @return ErrorTransport if the list is null, empty or larger than the
+	 *         configured maximum; otherwise null.
+	 */
+	protected ErrorTransport validateBatchSize(Collection<?> items, HttpServletResponse response) {
+		String error = null;
+		if (items == null || items.isEmpty())
+			error = "No items";
+		else if (items.size() > maxBatchSize)
+			error = "Too many items, limit is " + maxBatchSize;
+		if (error == null)
+			return null;
+		response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+		return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, error, null);
+	}
+
 	/**
 	 * Adds entries to the tags table as needed.
 	 * 
@@ -125,4 +165,126 @@ protected void createMissingTags(Collection<MLPTag> tags) {
 		}
 	}
 
+	/**
+	 * Checks whether an If-None-Match request header matches the entity tag.
+	 * Uses the weak comparison required for this header.
+	 * 
+	 * @param ifNoneMatch
+	 *            Header value; may be null
+	 * @param etag
+	 *            Current entity tag, quoted
+	 * @return True if the header has the tag or a wildcard
+	 */
+	private static boolean matchesEntityTag(String ifNoneMatch, String etag) {
+		if (ifNoneMatch == null)
+			return false;
+		for (String tag : ifNoneMatch.split(",")) {
+			tag = tag.trim();
+			if (tag.startsWith("W/"))
+				tag = tag.substring(2);
+			if ("*".equals(tag) || etag.equals(tag))
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Writes a picture as binary content with its content type, using the picture
+	 * hash as entity tag. The stored hash is checked before the picture is loaded,
+	 * so a client that revalidates an unchanged picture never causes it to be
+	 * read; the tag sent with a picture is computed from the content sent, so it
+	 * always describes those bytes even if the picture changed in between.
+	 * 
+	 * @param pictureHash
+	 *            Hash stored in the row that the picture decorates; null if none
+	 * @param ifNoneMatch
+	 *            If-None-Match request header; may be null
+	 * @param loader
+	 *            Loads the picture
+	 * @param hasher
+	 *            Computes the hash of picture content
+	 * @param response
+	 *            HttpServletResponse; answers not modified if the tag matches,
+	 *            and no content if there is no picture
+	 * @throws IOException
+	 *             If the picture cannot be written
+	 */
+	protected void writePicture(String pictureHash, String ifNoneMatch, Supplier<MLPAbstractPicture> loader,
+			Function<byte[], String> hasher, HttpServletResponse response) throws IOException {
+		if (pictureHash == null) {
+			response.setStatus(HttpServletResponse.SC_NO_CONTENT);
+			return;
+		}
+		// Caches must revalidate, which is cheap
+		response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+		final String storedTag = '"' + pictureHash + '"';
+		if (matchesEntityTag(ifNoneMatch, storedTag)) {
+			response.setHeader(HttpHeaders.ETAG, storedTag);
+			response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+			return;
+		}
+		MLPAbstractPicture picture = loader.get();
+		if (picture == null) {
+			// Deleted since the hash was read
+			response.setStatus(HttpServletResponse.SC_NO_CONTENT);
+			return;
+		}
+		final String etag = '"' + hasher.apply(picture.getPicture()) + '"';
+		response.setHeader(HttpHeaders.ETAG, etag);
+		if (matchesEntityTag(ifNoneMatch, etag)) {
+			// Replaced since the hash was read by the one the client has
+			response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+			return;
+		}
+		response.setContentType(picture.getContentType());
+		response.setContentLength(picture.getPicture().length);
+		response.getOutputStream().write(picture.getPicture());
+	}
+
+	/**
+	 * Reads a picture from the request body, stopping as soon as the size limit is
+	 * exceeded.
+	 * 
+	 * @param request
+	 *            HttpServletRequest
+	 * @return Picture content
+	 * @throws IOException
+	 *             If the request body cannot be read
+	 * @throws IllegalArgumentException
+	 *             If the body is empty or too large
+	 */
+	protected byte[] readPicture(HttpServletRequest request) throws IOException {
+		final int limit = MLPAbstractPicture.MAX_PICTURE_LENGTH;
+		if (request.getContentLengthLong() > limit)
+			throw new IllegalArgumentException("Picture exceeds limit of " + limit + " bytes");
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		InputStream in = request.getInputStream();
+		byte[] buffer = new byte[8192];
+		int count;
+		while ((count = in.read(buffer)) != -1) {
+			out.write(buffer, 0, count);
+			if (out.size() > limit)
+				throw new IllegalArgumentException("Picture exceeds limit of " + limit + " bytes");
+		}
+		if (out.size() == 0)
+			throw new IllegalArgumentException("No picture in request body");
+		return out.toByteArray();
+	}
+
+	/**
+	 * Gets the media type of a picture from the request.
+	 * 
+	 * @param request
+	 *            HttpServletRequest
+	 * @return Media type without parameters; null if the request has none
+	 * @throws IllegalArgumentException
+	 *             If the content type cannot be parsed
+	 */
+	protected String getPictureContentType(HttpServletRequest request) {
+		if (request.getContentType() == null)
+			return null;
+		MediaType type = MediaType.parseMediaType(request.getContentType());
+		return type.getType() + "/" + type.getSubtype();
+	}
+
 }
@@ -22,6 +22,7 @@
 
 import java.lang.invoke.MethodHandles;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -33,9 +34,12 @@
 import org.acumos.cds.repository.ArtifactRepository;
 import org.acumos.cds.repository.SolutionRevisionRepository;
 import org.acumos.cds.service.ArtifactSearchService;
+import org.acumos.cds.service.BatchUpdateService;
+import org.acumos.cds.transport.BatchResultTransport;
 import org.acumos.cds.transport.CountTransport;
 import org.acumos.cds.transport.ErrorTransport;
 import org.acumos.cds.transport.MLPTransportModel;
+import org.acumos.cds.transport.RestPageResponse;
 import org.acumos.cds.transport.SuccessTransport;
 import org.acumos.cds.util.ApiPageable;
 import org.slf4j.Logger;
@@ -69,6 +73,8 @@ public class ArtifactController extends AbstractController {
 	@Autowired
 	private ArtifactSearchService artifactService;
 	@Autowired
+	private BatchUpdateService batchUpdateService;
+	@Autowired
 	private SolutionRevisionRepository solutionRevisionRepository;
 
 	@ApiOperation(value = "Gets the count of artifacts.", response = CountTransport.class)
@@ -90,6 +96,26 @@ public Page<MLPArtifact> getArtifacts(Pageable pageRequest) {
 		return artifactRepository.findAll(pageRequest);
 	}
 
+	@ApiOperation(value = "Gets a page of artifacts using seek pagination, optionally sorted on one non-nullable field. " //
+			+ "Pass the token from the previous page to get the next page. Returns bad request if the token or sort is invalid.", //
+			response = MLPArtifact.class, responseContainer = "Page")
+	@ApiPageable
+	@ApiResponses({ @ApiResponse(code = 400, message = "Bad request", response = ErrorTransport.class) })
+	@RequestMapping(value = "/" + CCDSConstants.SEEK_PATH, method = RequestMethod.GET)
+	@ResponseBody
+	public Object seekArtifacts(@RequestParam(name = CCDSConstants.TOKEN_PATH, required = false) String token,
+			Pageable pageRequest, HttpServletResponse response) {
+		logger.info("seekArtifacts {}", pageRequest);
+		try {
+			RestPageResponse<MLPArtifact> page = artifactService.seekArtifacts(token, pageRequest);
+			return page;
+		} catch (IllegalArgumentException ex) {
+			logger.warn("seekArtifacts failed: {}", ex.toString());
+			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, ex.getMessage(), ex);
+		}
+	}
+
 	@ApiOperation(value = "Gets the entity for the specified ID. Returns bad request if the ID is not found.", //
 			response = MLPArtifact.class)
 	@ApiResponses({ @ApiResponse(code = 400, message = "Bad request", response = ErrorTransport.class) })
@@ -105,6 +131,20 @@ public Object getArtifact(@PathVariable("artifactId") String artifactId, HttpSer
 		return da;
 	}
 
+	@ApiOperation(value = "Gets the artifacts for the IDs in the request body, which avoids limits on URL length. " //
+			+ "Unknown IDs are skipped. Returns bad request if the list is empty or too long.", //
+			response = MLPArtifact.class, responseContainer = "List")
+	@ApiResponses({ @ApiResponse(code = 400, message = "Bad request", response = ErrorTransport.class) })
+	@RequestMapping(value = "/" + CCDSConstants.IDS_PATH, method = RequestMethod.POST)
+	@ResponseBody
+	public Object getArtifactsByIds(@RequestBody List<String> artifactIds, HttpServletResponse response) {
+		logger.info("getArtifactsByIds: count {}", artifactIds == null ? 0 : artifactIds.size());
+		ErrorTransport error = validateBatchSize(artifactIds, response);
+		if (error != null)
+			return error;
+		return artifactRepository.findAll(artifactIds);
+	}
+
 	@ApiOperation(value = "Searches for entities with names or descriptions that contain the search term using the like operator.", //
 			response = MLPArtifact.class, responseContainer = "List")
 	@ApiPageable
@@ -251,6 +291,48 @@ public Object updateArtifact(@PathVariable("artifactId") String artifactId, @Req
 		}
 	}
 
+	@ApiOperation(value = "Creates many artifacts in one transaction and generates IDs as needed. " //
+			+ "Reports the outcome for each item; invalid items are skipped. Returns bad request if the batch fails.", //
+			response = BatchResultTransport.class)
+	@ApiResponses({ @ApiResponse(code = 400, message = "Bad request", response = ErrorTransport.class) })
+	@RequestMapping(value = "/" + CCDSConstants.BATCH_PATH, method = RequestMethod.POST)
+	@ResponseBody
+	public Object createArtifacts(@RequestBody List<MLPArtifact> artifacts, HttpServletResponse response) {
+		logger.info("createArtifacts: count {}", artifacts == null ? 0 : artifacts.size());
+		ErrorTransport error = validateBatchSize(artifacts, response);
+		if (error != null)
+			return error;
+		try {
+			return batchUpdateService.createArtifacts(artifacts);
+		} catch (Exception ex) {
+			Exception cve = findConstraintViolationException(ex);
+			logger.warn("createArtifacts failed: {}", cve.toString());
+			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, "createArtifacts failed", cve);
+		}
+	}
+
+	@ApiOperation(value = "Updates many existing artifacts in one transaction. " //
+			+ "Reports the outcome for each item; invalid items are skipped. Returns bad request if the batch fails.", //
+			response = BatchResultTransport.class)
+	@ApiResponses({ @ApiResponse(code = 400, message = "Bad request", response = ErrorTransport.class) })
+	@RequestMapping(value = "/" + CCDSConstants.BATCH_PATH, method = RequestMethod.PUT)
+	@ResponseBody
+	public Object updateArtifacts(@RequestBody List<MLPArtifact> artifacts, HttpServletResponse response) {
+		logger.info("updateArtifacts: count {}", artifacts == null ? 0 : artifacts.size());
+		ErrorTransport error = validateBatchSize(artifacts, response);
+		if (error != null)
+			return error;
+		try {
+			return batchUpdateService.updateArtifacts(artifacts);
+		} catch (Exception ex) {
+			Exception cve = findConstraintViolationException(ex);
+			logger.warn("updateArtifacts failed: {}", cve.toString());
+			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, "updateArtifacts failed", cve);
+		}
+	}
+
 	@ApiOperation(value = "Deletes the entity with the specified ID. Returns bad request if the ID is not found.", //
 			response = SuccessTransport.class)
 	@ApiResponses({ @ApiResponse(code = 400, message = "Bad request", response = ErrorTransport.class) })
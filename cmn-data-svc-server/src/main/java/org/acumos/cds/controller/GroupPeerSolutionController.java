@@ -42,6 +42,9 @@
 import org.acumos.cds.repository.SolGrpMemMapRepository;
 import org.acumos.cds.repository.SolutionGroupRepository;
 import org.acumos.cds.repository.SolutionRepository;
+import org.acumos.cds.service.MembershipService;
+import org.acumos.cds.transport.BatchMapRequest;
+import org.acumos.cds.transport.BatchResultTransport;
 import org.acumos.cds.transport.CountTransport;
 import org.acumos.cds.transport.ErrorTransport;
 import org.acumos.cds.transport.MLPTransportModel;
@@ -92,6 +95,8 @@ public class GroupPeerSolutionController extends AbstractController {
 	private PeerSolAccMapRepository peerSolAccMapRepository;
 	@Autowired
 	private PeerPeerAccMapRepository peerPeerAccMapRepository;
+	@Autowired
+	private MembershipService membershipService;
 
 	@ApiOperation(value = "Gets a page of peer groups, optionally sorted.", //
 			response = MLPPeerGroup.class, responseContainer = "Page")
@@ -191,7 +196,7 @@ public Object getPeersInGroup(@PathVariable("groupId") Long groupId, Pageable pa
 	public Object addPeerToGroup(@PathVariable("groupId") Long groupId, @PathVariable("peerId") String peerId,
 			@RequestBody MLPPeerGrpMemMap map, HttpServletResponse response) {
 		logger.info("addPeerToGroup groupId {} peerId {}", groupId, peerId);
-		if (peerRepository.findOne(peerId) == null) {
+		if (entityCacheService.getPeer(peerId) == null) {
 			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
 			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + peerId, null);
 		}
@@ -223,6 +228,33 @@ public Object dropPeerFromGroup(@PathVariable("groupId") Long groupId, @PathVari
 		return new SuccessTransport(HttpServletResponse.SC_OK, null);
 	}
 
+	@ApiOperation(value = "Adds or removes many peers in the peer group in one transaction. " //
+			+ "Reports the outcome for each peer. Returns bad request if the group is not found or the batch fails.", //
+			response = BatchResultTransport.class)
+	@ApiResponses({ @ApiResponse(code = 400, message = "Bad request", response = ErrorTransport.class) })
+	@RequestMapping(value = "/{groupId}/" + CCDSConstants.PEER_PATH + "/"
+			+ CCDSConstants.BATCH_PATH, method = RequestMethod.PUT)
+	@ResponseBody
+	public Object addOrDropPeersInGroup(@PathVariable("groupId") Long groupId, @RequestBody BatchMapRequest request,
+			HttpServletResponse response) {
+		logger.info("addOrDropPeersInGroup: groupId {} request {}", groupId, request);
+		ErrorTransport error = validateBatchSize(request.getIds(), response);
+		if (error != null)
+			return error;
+		if (!peerGroupRepository.exists(groupId)) {
+			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + groupId, null);
+		}
+		try {
+			return membershipService.addOrDropPeerGroupMembers(groupId, request.isAdd(), request.getIds());
+		} catch (Exception ex) {
+			Exception cve = findConstraintViolationException(ex);
+			logger.warn("addOrDropPeersInGroup failed: {}", cve.toString());
+			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, "addOrDropPeersInGroup failed", cve);
+		}
+	}
+
 	@ApiOperation(value = "Gets a page of solution groups, optionally sorted.", //
 			response = MLPSolutionGroup.class, responseContainer = "Page")
 	@ApiPageable
@@ -322,7 +354,7 @@ public Object addSolutionToGroup(@PathVariable("groupId") Long groupId,
 			@PathVariable("solutionId") String solutionId, @RequestBody MLPSolGrpMemMap map,
 			HttpServletResponse response) {
 		logger.info("addSolutionToGroup groupId {} solutionId {}", groupId, solutionId);
-		if (solutionRepository.findOne(solutionId) == null) {
+		if (entityCacheService.getSolution(solutionId) == null) {
 			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
 			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + solutionId, null);
 		}
@@ -358,6 +390,33 @@ public Object dropSolutionFromGroup(@PathVariable("groupId") Long groupId,
 		}
 	}
 
+	@ApiOperation(value = "Adds or removes many solutions in the solution group in one transaction. " //
+			+ "Reports the outcome for each solution. Returns bad request if the group is not found or the batch fails.", //
+			response = BatchResultTransport.class)
+	@ApiResponses({ @ApiResponse(code = 400, message = "Bad request", response = ErrorTransport.class) })
+	@RequestMapping(value = "/{groupId}/" + CCDSConstants.SOLUTION_PATH + "/"
+			+ CCDSConstants.BATCH_PATH, method = RequestMethod.PUT)
+	@ResponseBody
+	public Object addOrDropSolutionsInGroup(@PathVariable("groupId") Long groupId, @RequestBody BatchMapRequest request,
+			HttpServletResponse response) {
+		logger.info("addOrDropSolutionsInGroup: groupId {} request {}", groupId, request);
+		ErrorTransport error = validateBatchSize(request.getIds(), response);
+		if (error != null)
+			return error;
+		if (!solutionGroupRepository.exists(groupId)) {
+			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + groupId, null);
+		}
+		try {
+			return membershipService.addOrDropSolutionGroupMembers(groupId, request.isAdd(), request.getIds());
+		} catch (Exception ex) {
+			Exception cve = findConstraintViolationException(ex);
+			logger.warn("addOrDropSolutionsInGroup failed: {}", cve.toString());
+			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, "addOrDropSolutionsInGroup failed", cve);
+		}
+	}
+
 	@ApiOperation(value = "Gets a page of peer-solution membership mappings, optionally sorted.", //
 			response = MLPPeerSolAccMap.class, responseContainer = "Page")
 	@ApiPageable
@@ -490,11 +549,11 @@ public Object unmapPeerPeerGroups(@PathVariable("principalGroupId") Long princip
 	public Object checkPeerSolutionAccess(@PathVariable("peerId") String peerId,
 			@PathVariable("solutionId") String solutionId, HttpServletResponse response) {
 		logger.info("checkPeerSolutionAccess: peerId {} solutionId {}", peerId, solutionId);
-		if (peerRepository.findOne(peerId) == null) {
+		if (entityCacheService.getPeer(peerId) == null) {
 			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
 			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + peerId, null);
 		}
-		if (solutionRepository.findOne(solutionId) == null) {
+		if (entityCacheService.getSolution(solutionId) == null) {
 			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
 			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + solutionId, null);
 		}
@@ -521,7 +580,7 @@ public Page<MLPSolution> getRestrictedSolutions(@PathVariable("peerId") String p
 	@ResponseBody
 	public Object getPeerAccessList(@PathVariable("peerId") String peerId, HttpServletResponse response) {
 		logger.info("getPeerAccessList: peerId {}", peerId);
-		if (peerRepository.findOne(peerId) == null) {
+		if (entityCacheService.getPeer(peerId) == null) {
 			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
 			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + peerId, null);
 		}
@@ -0,0 +1,180 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.controller;
+
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.persistence.EntityManagerFactory;
+import javax.servlet.http.HttpServletResponse;
+import javax.sql.DataSource;
+
+import org.acumos.cds.CCDSConstants;
+import org.acumos.cds.config.InstrumentedDataSource;
+import org.acumos.cds.config.QueryRecorder;
+import org.acumos.cds.service.CommentService;
+import org.acumos.cds.service.CredentialService;
+import org.acumos.cds.service.NotificationService;
+import org.acumos.cds.service.RequestMetricsService;
+import org.acumos.cds.transport.CacheStatsTransport;
+import org.acumos.cds.transport.EndpointStatsTransport;
+import org.acumos.cds.transport.ErrorTransport;
+import org.acumos.cds.transport.HibernateStatsTransport;
+import org.acumos.cds.transport.PoolStatsTransport;
+import org.acumos.cds.transport.SqlStatsTransport;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+
+/**
+ * Answers REST requests for performance metrics. Unlike the health check, these
+ * endpoints require authentication.
+ */
+@Controller
+@RequestMapping(value = "/" + CCDSConstants.METRICS_PATH, produces = MediaType.APPLICATION_JSON_VALUE)
+public class MetricsController extends AbstractController {
+
+	private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+	@Autowired
+	private DataSource dataSource;
+	@Autowired
+	private RequestMetricsService requestMetricsService;
+	@Autowired
+	private CredentialService credentialService;
+	@Autowired
+	private NotificationService notificationService;
+	@Autowired
+	private CommentService commentService;
+	@Autowired
+	private QueryRecorder queryRecorder;
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	@Autowired
+	private SessionFactory sessionFactory;
+
+	@ApiOperation(value = "Gets statistics of the database connection pool including active, idle and pending counts and checkout wait times.", //
+			response = PoolStatsTransport.class)
+	@ApiResponses({ @ApiResponse(code = 400, message = "Bad request", response = ErrorTransport.class) })
+	@RequestMapping(value = "/" + CCDSConstants.POOL_PATH, method = RequestMethod.GET)
+	@ResponseBody
+	public Object getPoolStats(HttpServletResponse response) {
+		logger.info("getPoolStats");
+		if (!(dataSource instanceof InstrumentedDataSource)) {
+			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST,
+					"Data source is not pooled: " + dataSource.getClass().getName());
+		}
+		return ((InstrumentedDataSource) dataSource).getPoolStats();
+	}
+
+	@ApiOperation(value = "Gets statistics of the entity caches, the verified-credential cache, the notification inbox cache and the comment count cache including size, hits, misses and evictions.", //
+			response = CacheStatsTransport.class, responseContainer = "List")
+	@RequestMapping(value = "/" + CCDSConstants.CACHE_PATH, method = RequestMethod.GET)
+	@ResponseBody
+	public List<CacheStatsTransport> getCacheStats() {
+		logger.info("getCacheStats");
+		List<CacheStatsTransport> stats = new ArrayList<>(entityCacheService.getStats());
+		stats.add(credentialService.getCacheStats());
+		stats.add(notificationService.getCacheStats());
+		stats.add(commentService.getCacheStats());
+		return stats;
+	}
+
+	@ApiOperation(value = "Gets request statistics of each endpoint including counts, rates, errors, requests in flight and latency percentiles, sorted by total time spent.", //
+			response = EndpointStatsTransport.class, responseContainer = "List")
+	@RequestMapping(value = "/" + CCDSConstants.ENDPOINT_PATH, method = RequestMethod.GET)
+	@ResponseBody
+	public List<EndpointStatsTransport> getEndpointStats() {
+		logger.info("getEndpointStats");
+		return requestMetricsService.getStats();
+	}
+
+	@ApiOperation(value = "Gets statistics of the SQL statements sent to the database, including the most recent slow statements with their parameters.", //
+			response = SqlStatsTransport.class)
+	@RequestMapping(value = "/" + CCDSConstants.SQL_PATH, method = RequestMethod.GET)
+	@ResponseBody
+	public SqlStatsTransport getSqlStats() {
+		logger.info("getSqlStats");
+		return queryRecorder.getStats();
+	}
+
+	@ApiOperation(value = "Gets statistics of the Hibernate session factories used by repositories and by search services, including entity loads and collection fetches.", //
+			response = HibernateStatsTransport.class, responseContainer = "List")
+	@RequestMapping(value = "/" + CCDSConstants.HIBERNATE_PATH, method = RequestMethod.GET)
+	@ResponseBody
+	public List<HibernateStatsTransport> getHibernateStats() {
+		logger.info("getHibernateStats");
+		List<HibernateStatsTransport> list = new ArrayList<>();
+		list.add(getHibernateStats("repository", entityManagerFactory.unwrap(SessionFactory.class).getStatistics()));
+		list.add(getHibernateStats("search", sessionFactory.getStatistics()));
+		return list;
+	}
+
+	private static HibernateStatsTransport getHibernateStats(String name, Statistics statistics) {
+		HibernateStatsTransport stats = new HibernateStatsTransport();
+		stats.setName(name);
+		stats.setStatisticsEnabled(statistics.isStatisticsEnabled());
+		stats.setSessionOpenCount(statistics.getSessionOpenCount());
+		stats.setTransactionCount(statistics.getTransactionCount());
+		stats.setPrepareStatementCount(statistics.getPrepareStatementCount());
+		stats.setEntityLoadCount(statistics.getEntityLoadCount());
+		stats.setEntityFetchCount(statistics.getEntityFetchCount());
+		stats.setEntityInsertCount(statistics.getEntityInsertCount());
+		stats.setEntityUpdateCount(statistics.getEntityUpdateCount());
+		stats.setEntityDeleteCount(statistics.getEntityDeleteCount());
+		stats.setCollectionLoadCount(statistics.getCollectionLoadCount());
+		stats.setCollectionFetchCount(statistics.getCollectionFetchCount());
+		stats.setQueryExecutionCount(statistics.getQueryExecutionCount());
+		stats.setQueryExecutionMaxTime(statistics.getQueryExecutionMaxTime());
+		stats.setQueryExecutionMaxTimeQueryString(statistics.getQueryExecutionMaxTimeQueryString());
+		Map<String, Long> entityFetches = new HashMap<>();
+		for (String entity : statistics.getEntityNames()) {
+			long count = statistics.getEntityStatistics(entity).getFetchCount();
+			if (count > 0)
+				entityFetches.put(entity, count);
+		}
+		stats.setEntityFetches(entityFetches);
+		Map<String, Long> collectionFetches = new HashMap<>();
+		for (String role : statistics.getCollectionRoleNames()) {
+			long count = statistics.getCollectionStatistics(role).getFetchCount();
+			if (count > 0)
+				collectionFetches.put(role, count);
+		}
+		stats.setCollectionFetches(collectionFetches);
+		return stats;
+	}
+
+}
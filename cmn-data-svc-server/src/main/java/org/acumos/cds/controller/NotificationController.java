@@ -21,6 +21,7 @@
 package org.acumos.cds.controller;
 
 import java.lang.invoke.MethodHandles;
+import java.util.List;
 import java.util.UUID;
 
 import javax.servlet.http.HttpServletResponse;
@@ -33,11 +34,15 @@
 import org.acumos.cds.domain.MLPUserNotification;
 import org.acumos.cds.repository.NotifUserMapRepository;
 import org.acumos.cds.repository.NotificationRepository;
+import org.acumos.cds.repository.RoleRepository;
 import org.acumos.cds.repository.UserNotificationPreferenceRepository;
 import org.acumos.cds.repository.UserRepository;
+import org.acumos.cds.service.NotificationService;
+import org.acumos.cds.transport.BatchResultTransport;
 import org.acumos.cds.transport.CountTransport;
 import org.acumos.cds.transport.ErrorTransport;
 import org.acumos.cds.transport.MLPTransportModel;
+import org.acumos.cds.transport.NotificationAudienceRequest;
 import org.acumos.cds.transport.SuccessTransport;
 import org.acumos.cds.util.ApiPageable;
 import org.slf4j.Logger;
@@ -79,6 +84,10 @@ public class NotificationController extends AbstractController {
 	private NotifUserMapRepository notifUserMapRepository;
 	@Autowired
 	private UserRepository userRepository;
+	@Autowired
+	private RoleRepository roleRepository;
+	@Autowired
+	private NotificationService notificationService;
 
 	@ApiOperation(value = "Gets the count of notifications.", response = CountTransport.class)
 	@RequestMapping(value = "/" + CCDSConstants.COUNT_PATH, method = RequestMethod.GET)
@@ -149,6 +158,8 @@ public Object updateNotification(@PathVariable("notificationId") String notifId,
 			notif.setNotificationId(notifId);
 			// Update the existing row
 			notificationRepository.save(notif);
+			// The dates may have changed
+			notificationService.invalidateAll();
 			return new SuccessTransport(HttpServletResponse.SC_OK, null);
 		} catch (Exception ex) {
 			// e.g., EmptyResultDataAccessException is NOT an internal server error
@@ -167,7 +178,11 @@ public MLPTransportModel deleteNotification(@PathVariable("notificationId") Stri
 			HttpServletResponse response) {
 		logger.info("deleteNotification: notifId {} ", notifId);
 		try {
-			notificationRepository.delete(notifId);
+			// Recipients are deleted too, which may be every user
+			if (!notificationService.deleteNotification(notifId)) {
+				response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+				return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + notifId, null);
+			}
 			return new SuccessTransport(HttpServletResponse.SC_OK, null);
 		} catch (Exception ex) {
 			// e.g., EmptyResultDataAccessException is NOT an internal server error
@@ -177,15 +192,108 @@ public MLPTransportModel deleteNotification(@PathVariable("notificationId") Stri
 		}
 	}
 
-	@ApiOperation(value = "Gets active notifications for the specified user ID.", //
+	@ApiOperation(value = "Gets active notifications for the specified user ID. "
+			+ "Returns bad request if the sort names an unknown property.", //
 			response = MLPUserNotification.class, responseContainer = "List")
 	@ApiPageable
+	@ApiResponses({ @ApiResponse(code = 400, message = "Bad request", response = ErrorTransport.class) })
 	@RequestMapping(value = CCDSConstants.USER_PATH + "/{userId}", method = RequestMethod.GET)
 	@ResponseBody
-	public Iterable<MLPUserNotification> getActiveNotificationsForUser(@PathVariable("userId") String userId,
-			Pageable pageable) {
+	public Object getActiveNotificationsForUser(@PathVariable("userId") String userId, Pageable pageable,
+			HttpServletResponse response) {
 		logger.info("getActiveNotificationsForUser: userId {}", userId);
-		return notificationRepository.findActiveByUser(userId, pageable);
+		try {
+			return notificationService.getActiveNotifications(userId, pageable);
+		} catch (IllegalArgumentException ex) {
+			logger.warn("getActiveNotificationsForUser failed: {}", ex.toString());
+			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, "getActiveNotificationsForUser failed", ex);
+		}
+	}
+
+	@ApiOperation(value = "Gets the count of active notifications not yet viewed by the specified user.", //
+			response = CountTransport.class)
+	@RequestMapping(value = CCDSConstants.USER_PATH + "/{userId}/"
+			+ CCDSConstants.UNREAD_PATH, method = RequestMethod.GET)
+	@ResponseBody
+	public CountTransport getUnreadNotificationCount(@PathVariable("userId") String userId) {
+		logger.info("getUnreadNotificationCount: userId {}", userId);
+		return new CountTransport(notificationService.getUnreadCount(userId));
+	}
+
+	@ApiOperation(value = "Records that the user viewed many notifications in one transaction. "
+			+ "Reports the outcome for each notification. Returns bad request if the user ID is not found.", //
+			response = BatchResultTransport.class)
+	@ApiResponses({ @ApiResponse(code = 400, message = "Bad request", response = ErrorTransport.class) })
+	@RequestMapping(value = CCDSConstants.USER_PATH + "/{userId}/"
+			+ CCDSConstants.VIEWED_PATH, method = RequestMethod.PUT)
+	@ResponseBody
+	public Object setViewedNotifications(@PathVariable("userId") String userId,
+			@RequestBody List<String> notificationIds, HttpServletResponse response) {
+		logger.info("setViewedNotifications: userId {} notifications {}", userId, notificationIds);
+		ErrorTransport error = validateBatchSize(notificationIds, response);
+		if (error != null)
+			return error;
+		if (entityCacheService.getUser(userId) == null) {
+			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + userId, null);
+		}
+		try {
+			return notificationService.setViewed(userId, notificationIds);
+		} catch (Exception ex) {
+			Exception cve = findConstraintViolationException(ex);
+			logger.warn("setViewedNotifications failed: {}", cve.toString());
+			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, "setViewedNotifications failed", cve);
+		}
+	}
+
+	@ApiOperation(value = "Adds many users as recipients of the notification with one statement: "
+			+ "all active users, the active users in a role, or a list of users. "
+			+ "Returns the number of recipients added, or bad request if an ID is not found.", //
+			response = CountTransport.class)
+	@ApiResponses({ @ApiResponse(code = 400, message = "Bad request", response = ErrorTransport.class) })
+	@RequestMapping(value = "/{notificationId}/" + CCDSConstants.AUDIENCE_PATH, method = RequestMethod.POST)
+	@ResponseBody
+	public Object addNotificationAudience(@PathVariable("notificationId") String notificationId,
+			@RequestBody NotificationAudienceRequest audience, HttpServletResponse response) {
+		logger.info("addNotificationAudience: notif {} audience {}", notificationId, audience);
+		int selectors = (audience.isAllUsers() ? 1 : 0) + (audience.getRoleId() != null ? 1 : 0)
+				+ (audience.getUserIds() != null ? 1 : 0);
+		if (selectors != 1) {
+			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST,
+					"Specify exactly one of all users, role ID or user IDs", null);
+		}
+		if (audience.getUserIds() != null) {
+			ErrorTransport error = validateBatchSize(audience.getUserIds(), response);
+			if (error != null)
+				return error;
+		}
+		if (!notificationRepository.exists(notificationId)) {
+			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + notificationId, null);
+		}
+		if (audience.getRoleId() != null && !roleRepository.exists(audience.getRoleId())) {
+			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + audience.getRoleId(),
+					null);
+		}
+		try {
+			long added;
+			if (audience.isAllUsers())
+				added = notificationService.addAllUsers(notificationId);
+			else if (audience.getRoleId() != null)
+				added = notificationService.addRoleUsers(notificationId, audience.getRoleId());
+			else
+				added = notificationService.addUsers(notificationId, audience.getUserIds());
+			return new CountTransport(added);
+		} catch (Exception ex) {
+			Exception cve = findConstraintViolationException(ex);
+			logger.warn("addNotificationAudience failed: {}", cve.toString());
+			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, "addNotificationAudience failed", cve);
+		}
 	}
 
 	@ApiOperation(value = "Adds a user as a recipient of the notification. Returns bad request if an ID is not found.", //
@@ -197,7 +305,7 @@ public Object addUserNotification(@PathVariable("userId") String userId,
 			@PathVariable("notificationId") String notificationId, @RequestBody MLPNotifUserMap notifUserMap,
 			HttpServletResponse response) {
 		logger.info("addUserNotification: user {}, notif {}", userId, notificationId);
-		if (userRepository.findOne(userId) == null) {
+		if (entityCacheService.getUser(userId) == null) {
 			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
 			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + userId, null);
 		} else if (notificationRepository.findOne(notificationId) == null) {
@@ -207,6 +315,7 @@ public Object addUserNotification(@PathVariable("userId") String userId,
 		notifUserMap.setUserId(userId);
 		notifUserMap.setNotificationId(notificationId);
 		notifUserMapRepository.save(notifUserMap);
+		notificationService.invalidateUser(userId);
 		return new SuccessTransport(HttpServletResponse.SC_OK, null);
 	}
 
@@ -220,7 +329,7 @@ public Object updateUserNotification(@PathVariable("userId") String userId,
 			@PathVariable("notificationId") String notificationId, @RequestBody MLPNotifUserMap notifUserMap,
 			HttpServletResponse response) {
 		logger.info("updateUserNotification: user {}, notif {}", userId, notificationId);
-		if (userRepository.findOne(userId) == null) {
+		if (entityCacheService.getUser(userId) == null) {
 			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
 			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + userId, null);
 		}
@@ -232,6 +341,7 @@ public Object updateUserNotification(@PathVariable("userId") String userId,
 			notifUserMap.setNotificationId(notificationId);
 			notifUserMap.setUserId(userId);
 			notifUserMapRepository.save(notifUserMap);
+			notificationService.invalidateUser(userId);
 			return new SuccessTransport(HttpServletResponse.SC_OK, null);
 		} catch (Exception ex) {
 			// e.g., EmptyResultDataAccessException is NOT an internal server error
@@ -252,6 +362,7 @@ public Object dropUserRecipient(@PathVariable("userId") String userId,
 		logger.info("dropUserRecipient: user {}, notif{}", userId, notificationId);
 		try {
 			notifUserMapRepository.delete(new MLPNotifUserMap(notificationId, userId));
+			notificationService.invalidateUser(userId);
 			return new SuccessTransport(HttpServletResponse.SC_OK, null);
 		} catch (Exception ex) {
 			// e.g., EmptyResultDataAccessException is NOT an internal server error
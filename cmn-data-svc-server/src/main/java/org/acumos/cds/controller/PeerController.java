@@ -21,7 +21,9 @@
 package org.acumos.cds.controller;
 
 import java.lang.invoke.MethodHandles;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -33,7 +35,9 @@
 import org.acumos.cds.domain.MLPPeerSubscription;
 import org.acumos.cds.repository.PeerRepository;
 import org.acumos.cds.repository.PeerSubscriptionRepository;
+import org.acumos.cds.service.CascadeDeleteService;
 import org.acumos.cds.service.PeerSearchService;
+import org.acumos.cds.transport.DeleteCountsTransport;
 import org.acumos.cds.transport.ErrorTransport;
 import org.acumos.cds.transport.MLPTransportModel;
 import org.acumos.cds.transport.SuccessTransport;
@@ -75,6 +79,8 @@ public class PeerController extends AbstractController {
 	private PeerSubscriptionRepository peerSubRepository;
 	@Autowired
 	private PeerSearchService peerSearchService;
+	@Autowired
+	private CascadeDeleteService cascadeDeleteService;
 
 	@ApiOperation(value = "Gets a page of peers, optionally sorted.", //
 			response = MLPPeer.class, responseContainer = "Page")
@@ -186,7 +192,7 @@ public Object createPeer(@RequestBody MLPPeer peer, HttpServletResponse response
 			String id = peer.getPeerId();
 			if (id != null) {
 				UUID.fromString(id);
-				if (peerRepository.findOne(id) != null) {
+				if (entityCacheService.getPeer(id) != null) {
 					response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
 					return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, "ID exists: " + id);
 				}
@@ -218,7 +224,7 @@ public Object updatePeer(@PathVariable("peerId") String peerId, @RequestBody MLP
 			HttpServletResponse response) {
 		logger.info("updatePeer peerId {}", peerId);
 		// Get the existing one
-		if (peerRepository.findOne(peerId) == null) {
+		if (entityCacheService.getPeer(peerId) == null) {
 			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
 			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + peerId, null);
 		}
@@ -230,6 +236,7 @@ public Object updatePeer(@PathVariable("peerId") String peerId, @RequestBody MLP
 			peer.setPeerId(peerId);
 			// Update the existing row
 			peerRepository.save(peer);
+			entityCacheService.invalidatePeer(peerId);
 			return new SuccessTransport(HttpServletResponse.SC_OK, null);
 		} catch (Exception ex) {
 			// e.g., EmptyResultDataAccessException is NOT an internal server error
@@ -253,10 +260,11 @@ public Object updatePeer(@PathVariable("peerId") String peerId, @RequestBody MLP
 	public MLPTransportModel deletePeer(@PathVariable("peerId") String peerId, HttpServletResponse response) {
 		logger.info("deletePeer peerId {}", peerId);
 		try {
-			Iterable<MLPPeerSubscription> subs = peerSubRepository.findByPeerId(peerId);
-			if (subs != null)
-				peerSubRepository.delete(subs);
-			peerRepository.delete(peerId);
+			DeleteCountsTransport counts = cascadeDeleteService.deletePeers(Collections.singletonList(peerId));
+			if (counts.getTotal() == 0) {
+				response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+				return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + peerId, null);
+			}
 			return new SuccessTransport(HttpServletResponse.SC_OK, null);
 		} catch (Exception ex) {
 			// e.g., EmptyResultDataAccessException is NOT an internal server error
@@ -266,6 +274,28 @@ public MLPTransportModel deletePeer(@PathVariable("peerId") String peerId, HttpS
 		}
 	}
 
+	@ApiOperation(value = "Deletes the peers with the specified IDs in one transaction. Cascades the delete to related entities. " //
+			+ "Reports the number of rows deleted from each table; IDs that are not found are ignored. Returns bad request if the delete fails.", //
+			response = DeleteCountsTransport.class)
+	@ApiResponses({ @ApiResponse(code = 400, message = "Bad request", response = ErrorTransport.class) })
+	@RequestMapping(value = "/" + CCDSConstants.BATCH_PATH + "/"
+			+ CCDSConstants.DELETE_PATH, method = RequestMethod.POST)
+	@ResponseBody
+	public Object deletePeers(@RequestBody List<String> peerIds, HttpServletResponse response) {
+		logger.info("deletePeers: count {}", peerIds == null ? 0 : peerIds.size());
+		ErrorTransport error = validateBatchSize(peerIds, response);
+		if (error != null)
+			return error;
+		try {
+			return cascadeDeleteService.deletePeers(peerIds);
+		} catch (Exception ex) {
+			Exception cve = findConstraintViolationException(ex);
+			logger.warn("deletePeers failed: {}", cve.toString());
+			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, "deletePeers failed", cve);
+		}
+	}
+
 	/* Peer Subscriptions */
 
 	@ApiOperation(value = "Gets all subscriptions for the specified peer.", //
@@ -277,7 +307,7 @@ public MLPTransportModel deletePeer(@PathVariable("peerId") String peerId, HttpS
 	public Object getPeerSubs(@PathVariable("peerId") String peerId, Pageable pageable, HttpServletResponse response) {
 		logger.info("getPeerSubs peerId {}", peerId);
 		// Get the existing one
-		if (peerRepository.findOne(peerId) == null) {
+		if (entityCacheService.getPeer(peerId) == null) {
 			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
 			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + peerId, null);
 		}
@@ -304,7 +334,7 @@ public Object getPeerSub(@PathVariable("subId") Long subId, HttpServletResponse
 	@ResponseBody
 	public Object createPeerSub(@RequestBody MLPPeerSubscription peerSub, HttpServletResponse response) {
 		logger.info("createPeerSub: sub {}", peerSub);
-		if (peerRepository.findOne(peerSub.getPeerId()) == null) {
+		if (entityCacheService.getPeer(peerSub.getPeerId()) == null) {
 			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
 			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + peerSub.getPeerId(), null);
 		}
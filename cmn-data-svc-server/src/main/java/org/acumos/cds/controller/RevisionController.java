@@ -21,6 +21,7 @@
 package org.acumos.cds.controller;
 
 import java.lang.invoke.MethodHandles;
+import java.util.List;
 
 import javax.servlet.http.HttpServletResponse;
 
@@ -31,12 +32,16 @@
 import org.acumos.cds.domain.MLPRevisionDescription;
 import org.acumos.cds.domain.MLPSolRevArtMap;
 import org.acumos.cds.domain.MLPSolRevDocMap;
+import org.acumos.cds.domain.MLPSolutionRevision;
 import org.acumos.cds.repository.ArtifactRepository;
 import org.acumos.cds.repository.DocumentRepository;
 import org.acumos.cds.repository.RevisionDescriptionRepository;
 import org.acumos.cds.repository.SolRevArtMapRepository;
 import org.acumos.cds.repository.SolRevDocMapRepository;
 import org.acumos.cds.repository.SolutionRevisionRepository;
+import org.acumos.cds.service.BatchUpdateService;
+import org.acumos.cds.transport.BatchMapRequest;
+import org.acumos.cds.transport.BatchResultTransport;
 import org.acumos.cds.transport.ErrorTransport;
 import org.acumos.cds.transport.SuccessTransport;
 import org.slf4j.Logger;
@@ -76,6 +81,22 @@ public class RevisionController extends AbstractController {
 	private SolRevArtMapRepository solRevArtMapRepository;
 	@Autowired
 	private SolRevDocMapRepository solRevDocMapRepository;
+	@Autowired
+	private BatchUpdateService batchUpdateService;
+
+	@ApiOperation(value = "Gets the revisions for the IDs in the request body, which avoids limits on URL length. " //
+			+ "Unknown IDs are skipped. Returns bad request if the list is empty or too long.", //
+			response = MLPSolutionRevision.class, responseContainer = "List")
+	@ApiResponses({ @ApiResponse(code = 400, message = "Bad request", response = ErrorTransport.class) })
+	@RequestMapping(value = "/" + CCDSConstants.IDS_PATH, method = RequestMethod.POST)
+	@ResponseBody
+	public Object getRevisionsByIds(@RequestBody List<String> revisionIds, HttpServletResponse response) {
+		logger.info("getRevisionsByIds: count {}", revisionIds == null ? 0 : revisionIds.size());
+		ErrorTransport error = validateBatchSize(revisionIds, response);
+		if (error != null)
+			return error;
+		return revisionRepository.findAll(revisionIds);
+	}
 
 	@ApiOperation(value = "Gets the artifacts for the revision.", response = MLPArtifact.class, responseContainer = "List")
 	@RequestMapping(value = "/{revisionId}/" + CCDSConstants.ARTIFACT_PATH, method = RequestMethod.GET)
@@ -123,6 +144,32 @@ public Object dropRevisionArtifact(@PathVariable("revisionId") String revisionId
 		}
 	}
 
+	@ApiOperation(value = "Adds or removes many artifacts of the revision in one transaction. " //
+			+ "Reports the outcome for each artifact. Returns bad request if the ID is not found or the batch fails.", //
+			response = BatchResultTransport.class)
+	@ApiResponses({ @ApiResponse(code = 400, message = "Bad request", response = ErrorTransport.class) })
+	@RequestMapping(value = "/{revisionId}/" + CCDSConstants.ARTIFACT_PATH, method = RequestMethod.PUT)
+	@ResponseBody
+	public Object addOrDropRevisionArtifacts(@PathVariable("revisionId") String revisionId,
+			@RequestBody BatchMapRequest request, HttpServletResponse response) {
+		logger.info("addOrDropRevisionArtifacts: revisionId {} request {}", revisionId, request);
+		ErrorTransport error = validateBatchSize(request.getIds(), response);
+		if (error != null)
+			return error;
+		if (entityCacheService.getRevision(revisionId) == null) {
+			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + revisionId, null);
+		}
+		try {
+			return batchUpdateService.addOrDropRevisionArtifacts(revisionId, request.isAdd(), request.getIds());
+		} catch (Exception ex) {
+			Exception cve = findConstraintViolationException(ex);
+			logger.warn("addOrDropRevisionArtifacts failed: {}", cve.toString());
+			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, "addOrDropRevisionArtifacts failed", cve);
+		}
+	}
+
 	@ApiOperation(value = "Gets the revision description for the specified access type. Returns bad request if an ID is not found.", //
 			response = MLPRevisionDescription.class)
 	@ApiResponses({ @ApiResponse(code = 400, message = "Bad request", response = ErrorTransport.class) })
@@ -152,7 +199,7 @@ public Object createRevisionDescription(@PathVariable("revisionId") String revis
 			@PathVariable("accessTypeCode") String accessTypeCode, @RequestBody MLPRevisionDescription description,
 			HttpServletResponse response) {
 		logger.info("createRevisionDescription: revisionId {} accessTypeCode {}", revisionId, accessTypeCode);
-		if (revisionRepository.findOne(revisionId) == null) {
+		if (entityCacheService.getRevision(revisionId) == null) {
 			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
 			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + revisionId, null);
 		}
@@ -86,7 +86,7 @@ public Object createSiteConfig(@RequestBody MLPSiteConfig siteConfig, HttpServle
 					null);
 		}
 		// UserID is optional
-		if (siteConfig.getUserId() != null && userRepository.findOne(siteConfig.getUserId()) == null) {
+		if (siteConfig.getUserId() != null && entityCacheService.getUser(siteConfig.getUserId()) == null) {
 			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
 			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + siteConfig.getUserId(),
 					null);
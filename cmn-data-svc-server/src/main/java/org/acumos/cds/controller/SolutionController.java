@@ -20,23 +20,26 @@
 
 package org.acumos.cds.controller;
 
+import java.io.IOException;
 import java.lang.invoke.MethodHandles;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.acumos.cds.CCDSConstants;
 import org.acumos.cds.CodeNameType;
-import org.acumos.cds.domain.MLPArtifact;
 import org.acumos.cds.domain.MLPCompSolMap;
-import org.acumos.cds.domain.MLPSolRevArtMap;
 import org.acumos.cds.domain.MLPSolTagMap;
 import org.acumos.cds.domain.MLPSolUserAccMap;
 import org.acumos.cds.domain.MLPSolution;
@@ -50,25 +53,38 @@
 import org.acumos.cds.domain.MLPSolutionWeb;
 import org.acumos.cds.domain.MLPTag;
 import org.acumos.cds.domain.MLPUser;
-import org.acumos.cds.repository.ArtifactRepository;
 import org.acumos.cds.repository.CompSolMapRepository;
-import org.acumos.cds.repository.SolRevArtMapRepository;
 import org.acumos.cds.repository.SolTagMapRepository;
 import org.acumos.cds.repository.SolUserAccMapRepository;
 import org.acumos.cds.repository.SolutionDeploymentRepository;
 import org.acumos.cds.repository.SolutionDownloadRepository;
-import org.acumos.cds.repository.SolutionFavoriteRepository;
 import org.acumos.cds.repository.SolutionRatingRepository;
 import org.acumos.cds.repository.SolutionRepository;
 import org.acumos.cds.repository.SolutionRevisionRepository;
 import org.acumos.cds.repository.SolutionValidationRepository;
 import org.acumos.cds.repository.SolutionWebRepository;
-import org.acumos.cds.repository.StepResultRepository;
 import org.acumos.cds.repository.UserRepository;
+import org.acumos.cds.service.BatchUpdateService;
+import org.acumos.cds.service.CascadeDeleteService;
+import org.acumos.cds.service.CatalogExportService;
+import org.acumos.cds.service.ChangeLogService;
+import org.acumos.cds.service.MembershipService;
+import org.acumos.cds.service.PictureService;
+import org.acumos.cds.service.SolutionFacetIndexService;
+import org.acumos.cds.service.SolutionKeywordIndexService;
 import org.acumos.cds.service.SolutionSearchService;
+import org.acumos.cds.service.SolutionStatsService;
+import org.acumos.cds.service.SolutionViewCountService;
+import org.acumos.cds.transport.BatchMapRequest;
+import org.acumos.cds.transport.BatchResultTransport;
+import org.acumos.cds.transport.CatalogExportRecord;
+import org.acumos.cds.transport.ChangeFeedTransport;
 import org.acumos.cds.transport.CountTransport;
+import org.acumos.cds.transport.DeleteCountsTransport;
 import org.acumos.cds.transport.ErrorTransport;
+import org.acumos.cds.transport.FacetCountsTransport;
 import org.acumos.cds.transport.MLPTransportModel;
+import org.acumos.cds.transport.RestPageResponse;
 import org.acumos.cds.transport.SuccessTransport;
 import org.acumos.cds.util.ApiPageable;
 import org.slf4j.Logger;
@@ -81,6 +97,7 @@
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -101,14 +118,12 @@
 public class SolutionController extends AbstractController {
 
 	private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+	// Compressor buffer; larger than the default to cut per-write overhead
+	private static final int GZIP_BUFFER_SIZE = 64 * 1024;
 
-	@Autowired
-	private ArtifactRepository artifactRepository;
 	@Autowired
 	private CompSolMapRepository compSolMapRepository;
 	@Autowired
-	private SolRevArtMapRepository solRevArtMapRepository;
-	@Autowired
 	private SolTagMapRepository solTagMapRepository;
 	@Autowired
 	private SolUserAccMapRepository solUserAccMapRepository;
@@ -117,62 +132,39 @@ public class SolutionController extends AbstractController {
 	@Autowired
 	private SolutionDownloadRepository solutionDownloadRepository;
 	@Autowired
-	private SolutionFavoriteRepository solutionFavoriteRepository;
-	@Autowired
 	private SolutionRatingRepository solutionRatingRepository;
 	@Autowired
 	private SolutionRepository solutionRepository;
 	@Autowired
 	private SolutionRevisionRepository solutionRevisionRepository;
 	@Autowired
+	private PictureService pictureService;
+	@Autowired
+	private SolutionFacetIndexService solutionFacetIndexService;
+	@Autowired
+	private SolutionKeywordIndexService solutionKeywordIndexService;
+	@Autowired
 	private SolutionSearchService solutionSearchService;
 	@Autowired
+	private SolutionStatsService solutionStatsService;
+	@Autowired
 	private SolutionValidationRepository solutionValidationRepository;
 	@Autowired
+	private SolutionViewCountService solutionViewCountService;
+	@Autowired
+	private BatchUpdateService batchUpdateService;
+	@Autowired
+	private MembershipService membershipService;
+	@Autowired
+	private CascadeDeleteService cascadeDeleteService;
+	@Autowired
+	private CatalogExportService catalogExportService;
+	@Autowired
+	private ChangeLogService changeLogService;
+	@Autowired
 	private SolutionWebRepository solutionWebRepository;
 	@Autowired
 	private UserRepository userRepository;
-	@Autowired
-	private StepResultRepository stepResultRepository;
-
-	/**
-	 * Updates the cached value(s) for solution downloads.
-	 * 
-	 * Is extra concurrency control required here? A spring controller is a
-	 * singleton, but what about threads?
-	 * 
-	 * @param solutionId
-	 *            Solution ID
-	 */
-	private void updateSolutionDownloadStats(String solutionId) {
-		Long count = solutionDownloadRepository.getSolutionDownloadCount(solutionId);
-		if (count != null) {
-			MLPSolutionWeb stats = solutionWebRepository.findOne(solutionId);
-			stats.setDownloadCount(count);
-			stats.setLastDownload(new Date());
-			solutionWebRepository.save(stats);
-		}
-	}
-
-	/**
-	 * Updates the cached value(s) for solution ratings.
-	 * 
-	 * Is extra concurrency control required here? A spring controller is a
-	 * singleton, but what about threads?
-	 * 
-	 * @param solutionId
-	 *            Solution ID
-	 */
-	private void updateSolutionRatingStats(String solutionId) {
-		Long count = solutionRatingRepository.getSolutionRatingCount(solutionId);
-		Double avg = solutionRatingRepository.getSolutionRatingAverage(solutionId);
-		if (count != null && avg != null) {
-			MLPSolutionWeb stats = solutionWebRepository.findOne(solutionId);
-			stats.setRatingCount(count);
-			stats.setRatingAverageTenths(Math.round(10 * avg));
-			solutionWebRepository.save(stats);
-		}
-	}
 
 	@ApiOperation(value = "Gets the count of solutions.", response = CountTransport.class)
 	@RequestMapping(value = CCDSConstants.COUNT_PATH, method = RequestMethod.GET)
@@ -192,6 +184,26 @@ public Page<MLPSolution> getSolutions(Pageable pageable, HttpServletResponse res
 		return solutionRepository.findAll(pageable);
 	}
 
+	@ApiOperation(value = "Gets a page of solutions using seek pagination, optionally sorted on one non-nullable field. " //
+			+ "Pass the token from the previous page to get the next page. Returns bad request if the token or sort is invalid.", //
+			response = MLPSolution.class, responseContainer = "Page")
+	@ApiPageable
+	@ApiResponses({ @ApiResponse(code = 400, message = "Bad request", response = ErrorTransport.class) })
+	@RequestMapping(value = "/" + CCDSConstants.SEEK_PATH, method = RequestMethod.GET)
+	@ResponseBody
+	public Object seekSolutions(@RequestParam(name = CCDSConstants.TOKEN_PATH, required = false) String token,
+			Pageable pageRequest, HttpServletResponse response) {
+		logger.info("seekSolutions {}", pageRequest);
+		try {
+			RestPageResponse<MLPSolution> page = solutionSearchService.seekSolutions(token, pageRequest);
+			return page;
+		} catch (IllegalArgumentException ex) {
+			logger.warn("seekSolutions failed: {}", ex.toString());
+			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, ex.getMessage(), ex);
+		}
+	}
+
 	@ApiOperation(value = "Searches for entities with names or descriptions that contain the search term using the like operator.", //
 			response = MLPSolution.class, responseContainer = "Page")
 	@RequestMapping(value = "/" + CCDSConstants.SEARCH_PATH + "/" + CCDSConstants.LIKE_PATH, method = RequestMethod.GET)
@@ -391,6 +403,43 @@ public Object findPortalSolutionsByKwAndTags( //
 		}
 	}
 
+	@ApiOperation(value = "Counts solutions matching the specified keywords and facet values, in total and "
+			+ "for each model type, access type, validation status and tag. Values of one facet are OR-ed, "
+			+ "facets are AND-ed and excluded tags are AND-NOT-ed.", //
+			response = FacetCountsTransport.class)
+	@ApiResponses({ @ApiResponse(code = 400, message = "Bad request", response = ErrorTransport.class) })
+	@RequestMapping(value = "/" + CCDSConstants.SEARCH_PATH + "/" + CCDSConstants.PORTAL_PATH + "/"
+			+ CCDSConstants.FACET_PATH, method = RequestMethod.GET)
+	@ResponseBody
+	public Object getPortalSolutionFacetCounts( //
+			@ApiParam(value = "Active Y/N") //
+			@RequestParam(name = CCDSConstants.SEARCH_ACTIVE, required = false) Boolean active, //
+			@ApiParam(value = "Access type codes", allowMultiple = true) //
+			@RequestParam(name = CCDSConstants.SEARCH_ACCESS_TYPES, required = false) String[] accTypeCodes, //
+			@ApiParam(value = "Model type codes", allowMultiple = true) //
+			@RequestParam(name = CCDSConstants.SEARCH_MODEL_TYPES, required = false) String[] modelTypeCodes, //
+			@ApiParam(value = "Validation status codes", allowMultiple = true) //
+			@RequestParam(name = CCDSConstants.SEARCH_VAL_STATUSES, required = false) String[] valStatusCodes, //
+			@ApiParam(value = "Key words", allowMultiple = true) //
+			@RequestParam(name = CCDSConstants.SEARCH_KW, required = false) String[] kws, //
+			@ApiParam(value = "All tags, solution must have every one", allowMultiple = true) //
+			@RequestParam(name = CCDSConstants.SEARCH_ALL_TAGS, required = false) String[] allTags, //
+			@ApiParam(value = "Any tags, solution must have at least one", allowMultiple = true) //
+			@RequestParam(name = CCDSConstants.SEARCH_ANY_TAGS, required = false) String[] anyTags, //
+			@ApiParam(value = "Excluded tags, solution must have none", allowMultiple = true) //
+			@RequestParam(name = CCDSConstants.SEARCH_NO_TAGS, required = false) String[] noTags, //
+			HttpServletResponse response) {
+		logger.info("getPortalSolutionFacetCounts: active {} kw {}", active, kws);
+		final boolean hasKeywords = kws != null && kws.length > 0;
+		if (!solutionFacetIndexService.isReady() || (hasKeywords && !solutionKeywordIndexService.isReady())) {
+			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, "Search index is not available", null);
+		}
+		Set<String> candidates = hasKeywords ? solutionKeywordIndexService.search(kws).keySet() : null;
+		return solutionFacetIndexService.countFacets(candidates, active, modelTypeCodes, accTypeCodes,
+				valStatusCodes, allTags, anyTags, noTags);
+	}
+
 	@ApiOperation(value = "Finds user-accessible solutions matching the specified attribute values. "
 			+ "Keywords are processed using LIKE-operator search.  Does not search any child entities.", //
 			response = MLPSolution.class, responseContainer = "Page")
@@ -428,7 +477,8 @@ public Object findUserSolutions( //
 	}
 
 	@ApiOperation(value = "Finds solutions based on specified date, active status and access type query parameters. " //
-			+ "Limits result to solutions modified after the specified time, expressed in milliseconds since the Epoch.", //
+			+ "Limits result to solutions modified after the specified time, expressed in milliseconds since the Epoch. " //
+			+ "Peers that synchronize incrementally should use the change feed instead.", //
 			response = MLPSolution.class, responseContainer = "Page")
 	@ApiPageable
 	@RequestMapping(value = "/" + CCDSConstants.SEARCH_PATH + "/" + CCDSConstants.DATE_PATH, method = RequestMethod.GET)
@@ -457,6 +507,57 @@ public Object findSolutionsByDate( //
 
 	}
 
+	@ApiOperation(value = "Gets changes to solutions, revisions, descriptions, artifacts and documents after the cursor, " //
+			+ "oldest first. Start with cursor 0 and pass the returned cursor on the next call. " //
+			+ "Solution deletes pass the access type and validation status filters. " //
+			+ "Returns bad request if a parameter is invalid.", //
+			response = ChangeFeedTransport.class)
+	@ApiResponses({ @ApiResponse(code = 400, message = "Bad request", response = ErrorTransport.class) })
+	@RequestMapping(value = "/" + CCDSConstants.CHANGE_PATH, method = RequestMethod.GET)
+	@ResponseBody
+	public Object getSolutionChanges( //
+			@ApiParam(value = "Cursor from the previous response, 0 at first", required = true) //
+			@RequestParam(name = CCDSConstants.CURSOR_PATH, required = true) long cursor, //
+			@ApiParam(value = "Maximum number of changes", required = true) //
+			@RequestParam(name = CCDSConstants.LIMIT_PATH, required = true) int limit, //
+			@ApiParam(value = "Access type codes", allowMultiple = true) //
+			@RequestParam(name = CCDSConstants.SEARCH_ACCESS_TYPES, required = false) String[] accTypeCodes, //
+			@ApiParam(value = "Validation status codes", allowMultiple = true) //
+			@RequestParam(name = CCDSConstants.SEARCH_VAL_STATUSES, required = false) String[] valStatusCodes, //
+			HttpServletResponse response) {
+		logger.info("getSolutionChanges: cursor {} limit {}", cursor, limit);
+		try {
+			return changeLogService.getChanges(cursor, limit, accTypeCodes, valStatusCodes);
+		} catch (Exception ex) {
+			logger.warn("getSolutionChanges failed: {}", ex.toString());
+			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST,
+					ex.getCause() != null ? ex.getCause().getMessage() : ex.getMessage(), ex);
+		}
+	}
+
+	@ApiOperation(value = "Exports all solutions with web stats, solution tags, revisions, artifacts and revision artifacts " //
+			+ "as newline-delimited JSON, one CatalogExportRecord per line. Compresses the response if the request " //
+			+ "accepts gzip encoding.", //
+			response = CatalogExportRecord.class, responseContainer = "List")
+	@RequestMapping(value = "/" + CCDSConstants.EXPORT_PATH, method = RequestMethod.GET)
+	public void exportCatalog(@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+			HttpServletResponse response) throws IOException {
+		logger.info("exportCatalog: accept encoding {}", acceptEncoding);
+		boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+		response.setContentType(CCDSConstants.NDJSON_MEDIA_TYPE);
+		response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+		if (gzip) {
+			response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+			GZIPOutputStream out = new GZIPOutputStream(response.getOutputStream(), GZIP_BUFFER_SIZE);
+			catalogExportService.exportCatalog(out);
+			out.finish();
+		} else {
+			catalogExportService.exportCatalog(response.getOutputStream());
+		}
+		response.flushBuffer();
+	}
+
 	@ApiOperation(value = "Gets the solution for the specified ID. Returns bad request if the ID is not found.", //
 			response = MLPSolution.class)
 	@ApiResponses({ @ApiResponse(code = 400, message = "Bad request", response = ErrorTransport.class) })
@@ -469,9 +570,37 @@ public Object getSolution(@PathVariable("solutionId") String solutionId, HttpSer
 			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
 			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + solutionId, null);
 		}
+		if (solutionViewCountService.getPendingViewCount(solutionId) > 0) {
+			// Use a copy so the adjusted count is never written back
+			da = new MLPSolution(da);
+			da.setWebStats(solutionViewCountService.withPendingViews(da.getWebStats()));
+		}
 		return da;
 	}
 
+	@ApiOperation(value = "Gets the solutions for the IDs in the request body, which avoids limits on URL length. " //
+			+ "Unknown IDs are skipped. Returns bad request if the list is empty or too long.", //
+			response = MLPSolution.class, responseContainer = "List")
+	@ApiResponses({ @ApiResponse(code = 400, message = "Bad request", response = ErrorTransport.class) })
+	@RequestMapping(value = "/" + CCDSConstants.IDS_PATH, method = RequestMethod.POST)
+	@ResponseBody
+	public Object getSolutionsByIds(@RequestBody List<String> solutionIds, HttpServletResponse response) {
+		logger.info("getSolutionsByIds: count {}", solutionIds == null ? 0 : solutionIds.size());
+		ErrorTransport error = validateBatchSize(solutionIds, response);
+		if (error != null)
+			return error;
+		List<MLPSolution> result = new ArrayList<>();
+		for (MLPSolution da : solutionRepository.findAll(solutionIds)) {
+			if (solutionViewCountService.getPendingViewCount(da.getSolutionId()) > 0) {
+				// Use a copy so the adjusted count is never written back
+				da = new MLPSolution(da);
+				da.setWebStats(solutionViewCountService.withPendingViews(da.getWebStats()));
+			}
+			result.add(da);
+		}
+		return result;
+	}
+
 	@ApiOperation(value = "Creates a new entity and generates an ID if needed. Returns bad request on constraint violation etc.", //
 			response = MLPSolution.class)
 	@ApiResponses({ @ApiResponse(code = 400, message = "Bad request", response = ErrorTransport.class) })
@@ -488,13 +617,16 @@ public Object createSolution(@RequestBody MLPSolution solution, HttpServletRespo
 			String id = solution.getSolutionId();
 			if (id != null) {
 				UUID.fromString(id);
-				if (solutionRepository.findOne(id) != null) {
+				if (entityCacheService.getSolution(id) != null) {
 					response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
 					return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, "Solution exists with ID " + id);
 				}
 			}
 			// Ensure web stat object is empty
 			solution.setWebStats(null);
+			// The picture hash is maintained by the server
+			solution.setPictureHash(null);
+			final byte[] picture = solution.getPicture();
 			// Cascade manually - create user-supplied tags as needed
 			createMissingTags(solution.getTags());
 			// Create a new row
@@ -502,6 +634,11 @@ public Object createSolution(@RequestBody MLPSolution solution, HttpServletRespo
 			MLPSolution persisted = solutionRepository.save(solution);
 			// Cascade manually - create an empty web stats entry.
 			solutionWebRepository.save(new MLPSolutionWeb(persisted.getSolutionId()));
+			// Store any picture apart from the solution
+			if (picture != null) {
+				persisted.setPictureHash(pictureService.saveSolutionPicture(persisted.getSolutionId(), null, picture));
+				persisted.setPicture(null);
+			}
 			// This is a hack to create the location path.
 			response.setStatus(HttpServletResponse.SC_CREATED);
 			response.setHeader(HttpHeaders.LOCATION, CCDSConstants.SOLUTION_PATH + "/" + persisted.getSolutionId());
@@ -538,9 +675,15 @@ public Object updateSolution(@PathVariable("solutionId") String solutionId, @Req
 			solution.setSolutionId(solutionId);
 			// Discard any stats object; updates don't happen via this interface
 			solution.setWebStats(null);
+			// Keep the hash of the stored picture
+			solution.setPictureHash(existing.getPictureHash());
 			// Cascade manually - create user-supplied tags as needed
 			createMissingTags(solution.getTags());
 			solutionRepository.save(solution);
+			entityCacheService.invalidateSolution(solutionId);
+			// Replace the picture only if one was supplied
+			if (solution.getPicture() != null)
+				pictureService.saveSolutionPicture(solutionId, null, solution.getPicture());
 			return new SuccessTransport(HttpServletResponse.SC_OK, null);
 		} catch (Exception ex) {
 			Exception cve = findConstraintViolationException(ex);
@@ -557,15 +700,14 @@ public Object updateSolution(@PathVariable("solutionId") String solutionId, @Req
 	@ResponseBody
 	public Object incrementViewCount(@PathVariable("solutionId") String solutionId, HttpServletResponse response) {
 		logger.info("incrementViewCount: ID {}", solutionId);
-		// Get the existing one; the update command doesn't fail on invalid ID
-		MLPSolutionWeb existing = solutionWebRepository.findOne(solutionId);
-		if (existing == null) {
+		// Check existence; the batched update doesn't fail on invalid ID
+		if (!solutionWebRepository.exists(solutionId)) {
 			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
 			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + solutionId, null);
 		}
 		try {
-			// Have the database do the increment to avoid race conditions
-			solutionWebRepository.incrementViewCount(solutionId);
+			// Count in memory; the service writes counts to the database in batches
+			solutionViewCountService.incrementViewCount(solutionId);
 			return new SuccessTransport(HttpServletResponse.SC_OK, null);
 		} catch (Exception ex) {
 			// Should never happen
@@ -575,6 +717,68 @@ public Object incrementViewCount(@PathVariable("solutionId") String solutionId,
 		}
 	}
 
+	@ApiOperation(value = "Gets the picture of the specified solution as binary content with its content type. " //
+			+ "The entity tag is the picture hash. Returns not modified if the If-None-Match header has the current tag, " //
+			+ "no content if the solution has no picture, and bad request if the ID is not found.")
+	@ApiResponses({ @ApiResponse(code = 400, message = "Bad request", response = ErrorTransport.class) })
+	@RequestMapping(value = "/{solutionId}/" + CCDSConstants.PICTURE_PATH, method = RequestMethod.GET, //
+			produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.ALL_VALUE })
+	@ResponseBody
+	public Object getSolutionPicture(@PathVariable("solutionId") String solutionId,
+			@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+			HttpServletResponse response) throws IOException {
+		logger.info("getSolutionPicture: ID {}", solutionId);
+		if (entityCacheService.getSolution(solutionId) == null) {
+			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + solutionId, null);
+		}
+		writePicture(pictureService.getSolutionPictureHash(solutionId), ifNoneMatch,
+				() -> pictureService.getSolutionPicture(solutionId), pictureService::computeHash, response);
+		return null;
+	}
+
+	@ApiOperation(value = "Saves the request body as the picture of the specified solution, replacing any existing picture. " //
+			+ "Uses the request content type, or detects the type if none is given. Answers the new picture hash. " //
+			+ "Returns bad request if the ID is not found or the picture is empty or too large.", //
+			response = SuccessTransport.class)
+	@ApiResponses({ @ApiResponse(code = 400, message = "Bad request", response = ErrorTransport.class) })
+	@RequestMapping(value = "/{solutionId}/" + CCDSConstants.PICTURE_PATH, method = RequestMethod.PUT)
+	@ResponseBody
+	public Object saveSolutionPicture(@PathVariable("solutionId") String solutionId, HttpServletRequest request,
+			HttpServletResponse response) {
+		logger.info("saveSolutionPicture: ID {}", solutionId);
+		if (entityCacheService.getSolution(solutionId) == null) {
+			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + solutionId, null);
+		}
+		try {
+			String contentType = getPictureContentType(request);
+			byte[] picture = readPicture(request);
+			return new SuccessTransport(HttpServletResponse.SC_OK,
+					pictureService.saveSolutionPicture(solutionId, contentType, picture));
+		} catch (Exception ex) {
+			Exception cve = findConstraintViolationException(ex);
+			logger.warn("saveSolutionPicture failed: {}", cve.toString());
+			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, "saveSolutionPicture failed", cve);
+		}
+	}
+
+	@ApiOperation(value = "Deletes the picture of the specified solution, if any. Returns bad request if the ID is not found.", //
+			response = SuccessTransport.class)
+	@ApiResponses({ @ApiResponse(code = 400, message = "Bad request", response = ErrorTransport.class) })
+	@RequestMapping(value = "/{solutionId}/" + CCDSConstants.PICTURE_PATH, method = RequestMethod.DELETE)
+	@ResponseBody
+	public Object deleteSolutionPicture(@PathVariable("solutionId") String solutionId, HttpServletResponse response) {
+		logger.info("deleteSolutionPicture: ID {}", solutionId);
+		if (entityCacheService.getSolution(solutionId) == null) {
+			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + solutionId, null);
+		}
+		pictureService.deleteSolutionPicture(solutionId);
+		return new SuccessTransport(HttpServletResponse.SC_OK, null);
+	}
+
 	/*
 	 * Originally this was declared void and accordingly returned nothing. But when
 	 * used in SpringBoot, after invoking the method it would look for a ThymeLeaf
@@ -589,28 +793,12 @@ public MLPTransportModel deleteSolution(@PathVariable("solutionId") String solut
 			HttpServletResponse response) {
 		logger.info("deleteSolution: ID {}", solutionId);
 		try {
-			// Manually cascade the delete
-			solutionDeploymentRepository.deleteBySolutionId(solutionId);
-			compSolMapRepository.deleteByParentId(solutionId);
-			solTagMapRepository.deleteBySolutionId(solutionId);
-			solutionDownloadRepository.deleteBySolutionId(solutionId);
-			solutionRatingRepository.deleteBySolutionId(solutionId);
-			solutionValidationRepository.deleteBySolutionId(solutionId);
-			solUserAccMapRepository.deleteBySolutionId(solutionId);
-			solutionFavoriteRepository.deleteBySolutionId(solutionId);
-			stepResultRepository.deleteBySolutionId(solutionId);
-			// The web stats are annotated as optional, so be cautious when deleting
-			MLPSolutionWeb webStats = solutionWebRepository.findOne(solutionId);
-			if (webStats != null)
-				solutionWebRepository.delete(solutionId);
-			for (MLPSolutionRevision r : solutionRevisionRepository.findBySolutionIdIn(new String[] { solutionId })) {
-				for (MLPArtifact a : artifactRepository.findByRevision(r.getRevisionId()))
-					solRevArtMapRepository
-							.delete(new MLPSolRevArtMap.SolRevArtMapPK(r.getRevisionId(), a.getArtifactId()));
-				// do NOT delete artifacts!
-				solutionRevisionRepository.delete(r);
+			DeleteCountsTransport counts = cascadeDeleteService
+					.deleteSolutions(Collections.singletonList(solutionId));
+			if (counts.getTotal() == 0) {
+				response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+				return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + solutionId, null);
 			}
-			solutionRepository.delete(solutionId);
 			return new SuccessTransport(HttpServletResponse.SC_OK, null);
 		} catch (Exception ex) {
 			// e.g., EmptyResultDataAccessException is NOT an internal server error
@@ -620,6 +808,28 @@ public MLPTransportModel deleteSolution(@PathVariable("solutionId") String solut
 		}
 	}
 
+	@ApiOperation(value = "Deletes the solutions with the specified IDs in one transaction. Cascades the delete to related entities. " //
+			+ "Reports the number of rows deleted from each table; IDs that are not found are ignored. Returns bad request if the delete fails.", //
+			response = DeleteCountsTransport.class)
+	@ApiResponses({ @ApiResponse(code = 400, message = "Bad request", response = ErrorTransport.class) })
+	@RequestMapping(value = "/" + CCDSConstants.BATCH_PATH + "/"
+			+ CCDSConstants.DELETE_PATH, method = RequestMethod.POST)
+	@ResponseBody
+	public Object deleteSolutions(@RequestBody List<String> solutionIds, HttpServletResponse response) {
+		logger.info("deleteSolutions: count {}", solutionIds == null ? 0 : solutionIds.size());
+		ErrorTransport error = validateBatchSize(solutionIds, response);
+		if (error != null)
+			return error;
+		try {
+			return cascadeDeleteService.deleteSolutions(solutionIds);
+		} catch (Exception ex) {
+			Exception cve = findConstraintViolationException(ex);
+			logger.warn("deleteSolutions failed: {}", cve.toString());
+			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, "deleteSolutions failed", cve);
+		}
+	}
+
 	/*
 	 * Spring will split the list if the path variable is declared as String array
 	 * or List of String.
@@ -658,7 +868,7 @@ public Object getSolutionRevision(@PathVariable("solutionId") String solutionId,
 	public Object createSolutionRevision(@PathVariable("solutionId") String solutionId,
 			@RequestBody MLPSolutionRevision revision, HttpServletResponse response) {
 		logger.info("createSolutionRevision: solutionId {}", solutionId);
-		if (solutionRepository.findOne(solutionId) == null) {
+		if (entityCacheService.getSolution(solutionId) == null) {
 			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
 			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + solutionId, null);
 		}
@@ -671,7 +881,7 @@ public Object createSolutionRevision(@PathVariable("solutionId") String solution
 			String id = revision.getRevisionId();
 			if (id != null) {
 				UUID.fromString(id);
-				if (solutionRevisionRepository.findOne(id) != null) {
+				if (entityCacheService.getRevision(id) != null) {
 					response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
 					return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, "Revision exists with ID " + id);
 				}
@@ -698,11 +908,11 @@ public Object updateSolutionRevision(@PathVariable("solutionId") String solution
 			@PathVariable("revisionId") String revisionId, @RequestBody MLPSolutionRevision revision,
 			HttpServletResponse response) {
 		logger.info("updateSolutionRevision: solution ID {}, revision ID {}", solutionId, revisionId);
-		if (solutionRepository.findOne(solutionId) == null) {
+		if (entityCacheService.getSolution(solutionId) == null) {
 			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
 			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + solutionId, null);
 		}
-		if (solutionRevisionRepository.findOne(revisionId) == null) {
+		if (entityCacheService.getRevision(revisionId) == null) {
 			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
 			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + revisionId, null);
 		}
@@ -716,6 +926,7 @@ public Object updateSolutionRevision(@PathVariable("solutionId") String solution
 			revision.setRevisionId(revisionId);
 			revision.setSolutionId(solutionId);
 			solutionRevisionRepository.save(revision);
+			entityCacheService.invalidateRevision(revisionId);
 			return new SuccessTransport(HttpServletResponse.SC_OK, null);
 		} catch (Exception ex) {
 			Exception cve = findConstraintViolationException(ex);
@@ -736,6 +947,7 @@ public Object deleteSolutionRevision(@PathVariable("solutionId") String solution
 		logger.info("deleteSolutionRevision: solutionId {} revisionId {}", solutionId, revisionId);
 		try {
 			solutionRevisionRepository.delete(revisionId);
+			entityCacheService.invalidateRevision(revisionId);
 			return new SuccessTransport(HttpServletResponse.SC_OK, null);
 		} catch (Exception ex) {
 			// e.g., EmptyResultDataAccessException is NOT an internal server error
@@ -761,7 +973,7 @@ public Iterable<MLPTag> getTagsForSolution(@PathVariable("solutionId") String so
 	public Object addSolutionTag(@PathVariable("solutionId") String solutionId, @PathVariable("tag") String tag,
 			HttpServletResponse response) {
 		logger.info("addSolutionTag: solutionId {} tag {}", solutionId, tag);
-		if (solutionRepository.findOne(solutionId) == null) {
+		if (entityCacheService.getSolution(solutionId) == null) {
 			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
 			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + solutionId, null);
 		} else if (solTagMapRepository.findOne(new MLPSolTagMap.SolTagMapPK(solutionId, tag)) != null) {
@@ -796,6 +1008,32 @@ public Object dropSolutionTag(@PathVariable("solutionId") String solutionId, @Pa
 		}
 	}
 
+	@ApiOperation(value = "Adds or removes many tags of the solution in one transaction, creating tags as needed. " //
+			+ "Reports the outcome for each tag. Returns bad request if the ID is not found or the batch fails.", //
+			response = BatchResultTransport.class)
+	@ApiResponses({ @ApiResponse(code = 400, message = "Bad request", response = ErrorTransport.class) })
+	@RequestMapping(value = "/{solutionId}/" + CCDSConstants.TAG_PATH, method = RequestMethod.PUT)
+	@ResponseBody
+	public Object addOrDropSolutionTags(@PathVariable("solutionId") String solutionId,
+			@RequestBody BatchMapRequest request, HttpServletResponse response) {
+		logger.info("addOrDropSolutionTags: solutionId {} request {}", solutionId, request);
+		ErrorTransport error = validateBatchSize(request.getIds(), response);
+		if (error != null)
+			return error;
+		if (entityCacheService.getSolution(solutionId) == null) {
+			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + solutionId, null);
+		}
+		try {
+			return batchUpdateService.addOrDropSolutionTags(solutionId, request.isAdd(), request.getIds());
+		} catch (Exception ex) {
+			Exception cve = findConstraintViolationException(ex);
+			logger.warn("addOrDropSolutionTags failed: {}", cve.toString());
+			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, "addOrDropSolutionTags failed", cve);
+		}
+	}
+
 	@ApiOperation(value = "Gets a page of download records for the specified solution ID. Returns bad request if the ID is not found.", //
 			response = MLPSolutionDownload.class, responseContainer = "Page")
 	@ApiPageable
@@ -805,7 +1043,7 @@ public Object dropSolutionTag(@PathVariable("solutionId") String solutionId, @Pa
 	public Object getSolutionDownloads(@PathVariable("solutionId") String solutionId, Pageable pageRequest,
 			HttpServletResponse response) {
 		logger.info("getSolutionDownloads: solutionId {}", solutionId);
-		if (solutionRepository.findOne(solutionId) == null) {
+		if (entityCacheService.getSolution(solutionId) == null) {
 			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
 			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + solutionId, null);
 		}
@@ -827,12 +1065,11 @@ public Object createSolutionDownload(@PathVariable("solutionId") String solution
 			sd.setSolutionId(solutionId);
 			sd.setUserId(userId);
 			sd.setArtifactId(artifactId);
-			Object result = solutionDownloadRepository.save(sd);
+			// Saves and updates the cached count together
+			MLPSolutionDownload result = solutionStatsService.createDownload(sd);
 			response.setStatus(HttpServletResponse.SC_CREATED);
-			response.setHeader(HttpHeaders.LOCATION, CCDSConstants.SOLUTION_PATH + "/" + sd.getSolutionId() + "/"
-					+ CCDSConstants.DOWNLOAD_PATH + sd.getDownloadId());
-			// Update cache
-			updateSolutionDownloadStats(solutionId);
+			response.setHeader(HttpHeaders.LOCATION, CCDSConstants.SOLUTION_PATH + "/" + result.getSolutionId() + "/"
+					+ CCDSConstants.DOWNLOAD_PATH + result.getDownloadId());
 			return result;
 		} catch (Exception ex) {
 			Exception cve = findConstraintViolationException(ex);
@@ -843,7 +1080,8 @@ public Object createSolutionDownload(@PathVariable("solutionId") String solution
 		}
 	}
 
-	@ApiOperation(value = "Deletes the entity with the specified ID. Returns bad request if the ID is not found.", //
+	@ApiOperation(value = "Deletes the entity with the specified ID. Returns bad request if the ID is not found "
+			+ "for the specified solution.", //
 			response = SuccessTransport.class)
 	@ApiResponses({ @ApiResponse(code = 400, message = "Bad request", response = ErrorTransport.class) })
 	@RequestMapping(value = "/{solutionId}/" + CCDSConstants.DOWNLOAD_PATH
@@ -852,10 +1090,12 @@ public Object createSolutionDownload(@PathVariable("solutionId") String solution
 	public MLPTransportModel deleteSolutionDownload(@PathVariable("solutionId") String solutionId,
 			@PathVariable("downloadId") Long downloadId, HttpServletResponse response) {
 		logger.info("deleteSolutionDownload: solutionId {} downloadId {}", solutionId, downloadId);
-		try { // Build a key for fetch
-			solutionDownloadRepository.delete(downloadId);
-			// Update cache!
-			updateSolutionDownloadStats(solutionId);
+		try {
+			// Deletes and updates the cached count together
+			if (!solutionStatsService.deleteDownload(solutionId, downloadId)) {
+				response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+				return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + downloadId, null);
+			}
 			return new SuccessTransport(HttpServletResponse.SC_OK, null);
 		} catch (Exception ex) {
 			// e.g., EmptyResultDataAccessException is NOT an internal server error
@@ -873,7 +1113,7 @@ public MLPTransportModel deleteSolutionDownload(@PathVariable("solutionId") Stri
 	public Object getListOfSolutionRating(@PathVariable("solutionId") String solutionId, Pageable pageRequest,
 			HttpServletResponse response) {
 		logger.info("getListOfSolutionRating: solutionId {}", solutionId);
-		if (solutionRepository.findOne(solutionId) == null) {
+		if (entityCacheService.getSolution(solutionId) == null) {
 			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
 			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + solutionId, null);
 		}
@@ -905,11 +1145,11 @@ public Object getSolutionRating(@PathVariable("solutionId") String solutionId,
 	public Object createSolutionRating(@PathVariable("solutionId") String solutionId,
 			@PathVariable("userId") String userId, @RequestBody MLPSolutionRating sr, HttpServletResponse response) {
 		logger.info("createSolutionRating: solutionId {} userId {}", solutionId, userId);
-		if (solutionRepository.findOne(solutionId) == null) {
+		if (entityCacheService.getSolution(solutionId) == null) {
 			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
 			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + solutionId, null);
 		}
-		if (userRepository.findOne(userId) == null) {
+		if (entityCacheService.getUser(userId) == null) {
 			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
 			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + userId, null);
 		}
@@ -917,12 +1157,16 @@ public Object createSolutionRating(@PathVariable("solutionId") String solutionId
 			// Use path IDs
 			sr.setSolutionId(solutionId);
 			sr.setUserId(userId);
-			Object result = solutionRatingRepository.save(sr);
+			// Saves and updates the cached statistics together
+			Object result = solutionStatsService.createRating(sr);
+			if (result == null) {
+				response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+				return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST,
+						"Rating exists for solution " + solutionId + " and user " + userId, null);
+			}
 			response.setStatus(HttpServletResponse.SC_CREATED);
 			response.setHeader(HttpHeaders.LOCATION, CCDSConstants.SOLUTION_PATH + "/" + solutionId + "/"
 					+ CCDSConstants.RATING_PATH + "/" + CCDSConstants.USER_PATH + "/" + userId);
-			// Update cache
-			updateSolutionRatingStats(solutionId);
 			return result;
 		} catch (Exception ex) {
 			// e.g., EmptyResultDataAccessException is NOT an internal server error
@@ -942,20 +1186,16 @@ public Object createSolutionRating(@PathVariable("solutionId") String solutionId
 	public Object updateSolutionRating(@PathVariable("solutionId") String solutionId,
 			@PathVariable("userId") String userId, @RequestBody MLPSolutionRating sr, HttpServletResponse response) {
 		logger.info("updateSolutionRating: solutionId {} userId {}", solutionId, userId);
-		// Get the existing one
-		SolutionRatingPK pk = new SolutionRatingPK(solutionId, userId);
-		MLPSolutionRating existing = solutionRatingRepository.findOne(pk);
-		if (existing == null) {
-			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
-			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + pk, null);
-		}
 		try {
 			// Use path IDs
 			sr.setSolutionId(solutionId);
 			sr.setUserId(userId);
-			solutionRatingRepository.save(sr);
-			// Update cache!
-			updateSolutionRatingStats(solutionId);
+			// Updates the row and the cached statistics together
+			if (!solutionStatsService.updateRating(sr)) {
+				response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+				return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST,
+						NO_ENTRY_WITH_ID + new SolutionRatingPK(solutionId, userId), null);
+			}
 			return new SuccessTransport(HttpServletResponse.SC_OK, null);
 		} catch (Exception ex) {
 			// e.g., EmptyResultDataAccessException is NOT an internal server error
@@ -976,11 +1216,12 @@ public MLPTransportModel deleteSolutionRating(@PathVariable("solutionId") String
 			@PathVariable("userId") String userId, HttpServletResponse response) {
 		logger.info("deleteSolutionRating: solutionId {} userId {}", solutionId, userId);
 		try {
-			// Build a key for fetch
-			SolutionRatingPK pk = new SolutionRatingPK(solutionId, userId);
-			solutionRatingRepository.delete(pk);
-			// Update cache!
-			updateSolutionRatingStats(solutionId);
+			// Deletes and updates the cached statistics together
+			if (!solutionStatsService.deleteRating(solutionId, userId)) {
+				response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+				return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST,
+						NO_ENTRY_WITH_ID + new SolutionRatingPK(solutionId, userId), null);
+			}
 			return new SuccessTransport(HttpServletResponse.SC_OK, null);
 		} catch (Exception ex) {
 			// e.g., EmptyResultDataAccessException is NOT an internal server error
@@ -1002,7 +1243,7 @@ public Object getSolutionWebStats(@PathVariable("solutionId") String solutionId,
 			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
 			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + solutionId, null);
 		}
-		return stats;
+		return solutionViewCountService.withPendingViews(stats);
 	}
 
 	@ApiOperation(value = "Gets access-control list of users for the specified solution.", //
@@ -1024,10 +1265,10 @@ public Iterable<MLPUser> getSolutionACL(@PathVariable("solutionId") String solut
 	public Object addUserToSolutionACL(@PathVariable("solutionId") String solutionId,
 			@PathVariable("userId") String userId, HttpServletResponse response) {
 		logger.info("addUserToSolutionACL: solution {}, user {}", solutionId, userId);
-		if (solutionRepository.findOne(solutionId) == null) {
+		if (entityCacheService.getSolution(solutionId) == null) {
 			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
 			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + solutionId, null);
-		} else if (userRepository.findOne(userId) == null) {
+		} else if (entityCacheService.getUser(userId) == null) {
 			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
 			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + userId, null);
 		} else {
@@ -1057,6 +1298,33 @@ public Object dropUserFromSolutionACL(@PathVariable("solutionId") String solutio
 
 	}
 
+	@ApiOperation(value = "Adds or removes many users in the ACL for the specified solution in one transaction. " //
+			+ "Reports the outcome for each user. Returns bad request if the ID is not found or the batch fails.", //
+			response = BatchResultTransport.class)
+	@ApiResponses({ @ApiResponse(code = 400, message = "Bad request", response = ErrorTransport.class) })
+	@RequestMapping(value = "/{solutionId}/" + CCDSConstants.USER_PATH + "/"
+			+ CCDSConstants.ACCESS_PATH, method = RequestMethod.PUT)
+	@ResponseBody
+	public Object addOrDropSolutionACL(@PathVariable("solutionId") String solutionId,
+			@RequestBody BatchMapRequest request, HttpServletResponse response) {
+		logger.info("addOrDropSolutionACL: solutionId {} request {}", solutionId, request);
+		ErrorTransport error = validateBatchSize(request.getIds(), response);
+		if (error != null)
+			return error;
+		if (entityCacheService.getSolution(solutionId) == null) {
+			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + solutionId, null);
+		}
+		try {
+			return membershipService.addOrDropSolutionUsers(solutionId, request.isAdd(), request.getIds());
+		} catch (Exception ex) {
+			Exception cve = findConstraintViolationException(ex);
+			logger.warn("addOrDropSolutionACL failed: {}", cve.toString());
+			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, "addOrDropSolutionACL failed", cve);
+		}
+	}
+
 	@ApiOperation(value = "Gets a page of solutions with the specified user in the ACL, optionally sorted on fields.", //
 			response = MLPSolution.class, responseContainer = "List")
 	@ApiPageable
@@ -1097,11 +1365,11 @@ public Object createSolutionValidation(@PathVariable("solutionId") String soluti
 			@PathVariable("revisionId") String revisionId, @PathVariable("taskId") String taskId,
 			@RequestBody MLPSolutionValidation sv, HttpServletResponse response) {
 		logger.info("createSolutionValidation: solutionId {} revisionId {} taskId {}", solutionId, revisionId, taskId);
-		if (solutionRepository.findOne(solutionId) == null) {
+		if (entityCacheService.getSolution(solutionId) == null) {
 			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
 			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + solutionId, null);
 		}
-		if (solutionRevisionRepository.findOne(revisionId) == null) {
+		if (entityCacheService.getRevision(revisionId) == null) {
 			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
 			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + revisionId, null);
 		}
@@ -1200,11 +1468,11 @@ public MLPTransportModel deleteSolutionValidation(@PathVariable("solutionId") St
 	public Object getSolutionDeployments(@PathVariable("solutionId") String solutionId,
 			@PathVariable("revisionId") String revisionId, Pageable pageRequest, HttpServletResponse response) {
 		logger.info("getSolutionDeployments: solutionId {} revisionId {}", solutionId, revisionId);
-		if (solutionRepository.findOne(solutionId) == null) {
+		if (entityCacheService.getSolution(solutionId) == null) {
 			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
 			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + solutionId, null);
 		}
-		if (solutionRevisionRepository.findOne(revisionId) == null) {
+		if (entityCacheService.getRevision(revisionId) == null) {
 			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
 			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + revisionId, null);
 		}
@@ -1223,15 +1491,15 @@ public Object getUserSolutionRevisionDeployments(@PathVariable("solutionId") Str
 			HttpServletResponse response) {
 		logger.info("getUserSolutionRevisionDeployments: solutionId {} revisionId {} userId {}", solutionId, revisionId,
 				userId);
-		if (solutionRepository.findOne(solutionId) == null) {
+		if (entityCacheService.getSolution(solutionId) == null) {
 			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
 			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + solutionId, null);
 		}
-		if (solutionRevisionRepository.findOne(revisionId) == null) {
+		if (entityCacheService.getRevision(revisionId) == null) {
 			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
 			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + revisionId, null);
 		}
-		if (userRepository.findOne(userId) == null) {
+		if (entityCacheService.getUser(userId) == null) {
 			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
 			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + userId, null);
 		}
@@ -1249,15 +1517,15 @@ public Object createSolutionDeployment(@PathVariable("solutionId") String soluti
 			@PathVariable("revisionId") String revisionId, @RequestBody MLPSolutionDeployment sd,
 			HttpServletResponse response) {
 		logger.info("createSolutionDeployment: solutionId {} revisionId {}", solutionId, revisionId);
-		if (solutionRepository.findOne(solutionId) == null) {
+		if (entityCacheService.getSolution(solutionId) == null) {
 			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
 			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + solutionId, null);
 		}
-		if (solutionRevisionRepository.findOne(revisionId) == null) {
+		if (entityCacheService.getRevision(revisionId) == null) {
 			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
 			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + revisionId, null);
 		}
-		if (userRepository.findOne(sd.getUserId()) == null) {
+		if (entityCacheService.getUser(sd.getUserId()) == null) {
 			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
 			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + sd.getUserId(), null);
 		}
@@ -1369,10 +1637,10 @@ public Iterable<String> getCompositeSolutionMembers(@PathVariable("parentId") St
 	public Object addCompositeSolutionMember(@PathVariable("parentId") String parentId,
 			@PathVariable("childId") String childId, HttpServletResponse response) {
 		logger.info("addCompositeSolutionMember: parentId {} childId {}", parentId, childId);
-		if (solutionRepository.findOne(parentId) == null) {
+		if (entityCacheService.getSolution(parentId) == null) {
 			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
 			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + parentId, null);
-		} else if (solutionRepository.findOne(childId) == null) {
+		} else if (entityCacheService.getSolution(childId) == null) {
 			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
 			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + childId, null);
 		} else {
@@ -33,6 +33,7 @@
 import org.acumos.cds.service.StepResultSearchService;
 import org.acumos.cds.transport.ErrorTransport;
 import org.acumos.cds.transport.MLPTransportModel;
+import org.acumos.cds.transport.RestPageResponse;
 import org.acumos.cds.transport.SuccessTransport;
 import org.acumos.cds.util.ApiPageable;
 import org.slf4j.Logger;
@@ -76,6 +77,26 @@ public Page<MLPStepResult> getStepResults(Pageable pageRequest) {
 		return stepResultRepository.findAll(pageRequest);
 	}
 
+	@ApiOperation(value = "Gets a page of step results using seek pagination, optionally sorted on one non-nullable field. " //
+			+ "Pass the token from the previous page to get the next page. Returns bad request if the token or sort is invalid.", //
+			response = MLPStepResult.class, responseContainer = "Page")
+	@ApiPageable
+	@ApiResponses({ @ApiResponse(code = 400, message = "Bad request", response = ErrorTransport.class) })
+	@RequestMapping(value = "/" + CCDSConstants.SEEK_PATH, method = RequestMethod.GET)
+	@ResponseBody
+	public Object seekStepResults(@RequestParam(name = CCDSConstants.TOKEN_PATH, required = false) String token,
+			Pageable pageRequest, HttpServletResponse response) {
+		logger.info("seekStepResults {}", pageRequest);
+		try {
+			RestPageResponse<MLPStepResult> page = stepResultSearchService.seekStepResults(token, pageRequest);
+			return page;
+		} catch (IllegalArgumentException ex) {
+			logger.warn("seekStepResults failed: {}", ex.toString());
+			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, ex.getMessage(), ex);
+		}
+	}
+
 	@ApiOperation(value = "Gets the step result for the specified ID. Returns bad request if the ID is not found.", //
 			response = MLPStepResult.class)
 	@ApiResponses({ @ApiResponse(code = 400, message = "Bad request", response = ErrorTransport.class) })
@@ -31,10 +31,12 @@
 import org.acumos.cds.repository.CommentRepository;
 import org.acumos.cds.repository.ThreadRepository;
 import org.acumos.cds.repository.UserRepository;
+import org.acumos.cds.service.CommentService;
 import org.acumos.cds.transport.CountTransport;
 import org.acumos.cds.transport.ErrorTransport;
 import org.acumos.cds.transport.MLPTransportModel;
 import org.acumos.cds.transport.SuccessTransport;
+import org.acumos.cds.transport.ThreadTreeTransport;
 import org.acumos.cds.util.ApiPageable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -66,6 +68,8 @@ public class ThreadController extends AbstractController {
 	private ThreadRepository threadRepository;
 	@Autowired
 	private UserRepository userRepository;
+	@Autowired
+	private CommentService commentService;
 
 	@ApiOperation(value = "Gets the count of threads.", response = CountTransport.class)
 	@RequestMapping(value = CCDSConstants.COUNT_PATH, method = RequestMethod.GET)
@@ -110,6 +114,19 @@ public Page<MLPThread> getSolutionRevisionThreads(@PathVariable("solutionId") St
 		return threadRepository.findBySolutionIdAndRevisionId(solutionId, revisionId, pageable);
 	}
 
+	@ApiOperation(value = "Gets a page of threads for the solution and revision IDs, optionally sorted, "
+			+ "each with all its comments arranged as a tree of replies.", //
+			response = ThreadTreeTransport.class, responseContainer = "Page")
+	@ApiPageable
+	@RequestMapping(value = CCDSConstants.SOLUTION_PATH + "/{solutionId}/" + CCDSConstants.REVISION_PATH
+			+ "/{revisionId}/" + CCDSConstants.TREE_PATH, method = RequestMethod.GET)
+	@ResponseBody
+	public Page<ThreadTreeTransport> getSolutionRevisionThreadTrees(@PathVariable("solutionId") String solutionId,
+			@PathVariable("revisionId") String revisionId, Pageable pageable) {
+		logger.info("getSolutionRevisionThreadTrees: solutionId {} revisionId {}", solutionId, revisionId);
+		return commentService.getThreadTrees(solutionId, revisionId, pageable);
+	}
+
 	@ApiOperation(value = "Gets the thread for the specified ID. Returns bad request if an ID is not found.", //
 			response = MLPThread.class)
 	@ApiResponses({ @ApiResponse(code = 400, message = "Bad request", response = ErrorTransport.class) })
@@ -173,7 +190,7 @@ public Object updateThread(@PathVariable("threadId") String threadId, @RequestBo
 		try {
 			// Use the path-parameter id; don't trust the one in the object
 			thread.setThreadId(threadId);
-			threadRepository.save(thread);
+			commentService.updateThread(thread);
 			return new SuccessTransport(HttpServletResponse.SC_OK, null);
 		} catch (Exception ex) {
 			// e.g., EmptyResultDataAccessException is NOT an internal server error
@@ -193,8 +210,7 @@ public MLPTransportModel deleteThread(@PathVariable("threadId") String threadId,
 		logger.info("deleteThread: threadId {}", threadId);
 		try {
 			// cascade the delete
-			commentRepository.deleteByThreadId(threadId);
-			threadRepository.delete(threadId);
+			commentService.deleteThread(threadId);
 			return new SuccessTransport(HttpServletResponse.SC_OK, null);
 		} catch (Exception ex) {
 			// e.g., EmptyResultDataAccessException is NOT an internal server error
@@ -210,7 +226,7 @@ public MLPTransportModel deleteThread(@PathVariable("threadId") String threadId,
 	@ResponseBody
 	public CountTransport getCommentCount(@PathVariable("threadId") String threadId) {
 		logger.info("getCommentCount: threadId {}", threadId);
-		Long count = commentRepository.countThreadComments(threadId);
+		long count = commentService.getThreadCommentCount(threadId);
 		return new CountTransport(count);
 	}
 
@@ -237,7 +253,7 @@ public Object getThreadComments(@PathVariable("threadId") String threadId, Pagea
 	public CountTransport getSolutionRevisionCommentCount(@PathVariable("solutionId") String solutionId,
 			@PathVariable("revisionId") String revisionId) {
 		logger.info("getSolutionRevisionCommentCount: solutionId {} revisionId {}", solutionId, revisionId);
-		long result = commentRepository.countSolutionRevisionComments(solutionId, revisionId);
+		long result = commentService.getRevisionCommentCount(solutionId, revisionId);
 		return new CountTransport(result);
 	}
 
@@ -294,12 +310,12 @@ public Object createComment(@PathVariable("threadId") String threadId, @RequestB
 				response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
 				return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + comment.getThreadId());
 			}
-			if (userRepository.findOne(comment.getUserId()) == null) {
+			if (entityCacheService.getUser(comment.getUserId()) == null) {
 				response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
 				return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + comment.getUserId());
 			}
 			// Create a new row
-			MLPComment newComment = commentRepository.save(comment);
+			MLPComment newComment = commentService.createComment(comment);
 			response.setStatus(HttpServletResponse.SC_CREATED);
 			// This is a hack to create the location path.
 			response.setHeader(HttpHeaders.LOCATION, CCDSConstants.COMMENT_PATH + "/" + newComment.getCommentId());
@@ -335,14 +351,14 @@ public Object updateComment(@PathVariable("threadId") String threadId, @PathVari
 			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
 			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + comment.getThreadId());
 		}
-		if (userRepository.findOne(comment.getUserId()) == null) {
+		if (entityCacheService.getUser(comment.getUserId()) == null) {
 			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
 			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + comment.getUserId());
 		}
 		try {
 			// Use the path-parameter id; don't trust the one in the object
 			comment.setCommentId(commentId);
-			commentRepository.save(comment);
+			commentService.updateComment(comment);
 			return new SuccessTransport(HttpServletResponse.SC_OK, null);
 		} catch (Exception ex) {
 			// e.g., EmptyResultDataAccessException is NOT an internal server error
@@ -362,7 +378,7 @@ public MLPTransportModel deleteComment(@PathVariable("threadId") String threadId
 			@PathVariable("commentId") String commentId, HttpServletResponse response) {
 		logger.info("deleteComment: threadId {} commentId {}", threadId, commentId);
 		try {
-			commentRepository.delete(commentId);
+			commentService.deleteComment(commentId);
 			return new SuccessTransport(HttpServletResponse.SC_OK, null);
 		} catch (Exception ex) {
 			// e.g., EmptyResultDataAccessException is NOT an internal server error
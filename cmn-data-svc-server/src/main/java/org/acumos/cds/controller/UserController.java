@@ -20,7 +20,10 @@
 
 package org.acumos.cds.controller;
 
+import java.io.IOException;
 import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -29,11 +32,11 @@
 import java.util.UUID;
 
 import javax.persistence.EntityManager;
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.acumos.cds.CCDSConstants;
 import org.acumos.cds.CodeNameType;
-import org.acumos.cds.domain.MLPNotifUserMap;
 import org.acumos.cds.domain.MLPPasswordChangeRequest;
 import org.acumos.cds.domain.MLPRole;
 import org.acumos.cds.domain.MLPSolution;
@@ -44,9 +47,9 @@
 import org.acumos.cds.domain.MLPUser;
 import org.acumos.cds.domain.MLPUserLoginProvider;
 import org.acumos.cds.domain.MLPUserLoginProvider.UserLoginProviderPK;
+import org.acumos.cds.domain.MLPUserPicture;
 import org.acumos.cds.domain.MLPUserRoleMap;
 import org.acumos.cds.domain.MLPUserTagMap;
-import org.acumos.cds.repository.NotifUserMapRepository;
 import org.acumos.cds.repository.RoleRepository;
 import org.acumos.cds.repository.SolutionDeploymentRepository;
 import org.acumos.cds.repository.SolutionFavoriteRepository;
@@ -55,15 +58,23 @@
 import org.acumos.cds.repository.UserRepository;
 import org.acumos.cds.repository.UserRoleMapRepository;
 import org.acumos.cds.repository.UserTagMapRepository;
+import org.acumos.cds.service.CascadeDeleteService;
+import org.acumos.cds.service.CredentialService;
+import org.acumos.cds.service.LoginActivityService;
+import org.acumos.cds.service.MembershipService;
+import org.acumos.cds.service.PictureService;
 import org.acumos.cds.service.UserSearchService;
+import org.acumos.cds.transport.BatchItemTransport;
+import org.acumos.cds.transport.BatchResultTransport;
 import org.acumos.cds.transport.CountTransport;
+import org.acumos.cds.transport.DeleteCountsTransport;
 import org.acumos.cds.transport.ErrorTransport;
 import org.acumos.cds.transport.LoginTransport;
 import org.acumos.cds.transport.MLPTransportModel;
+import org.acumos.cds.transport.RestPageResponse;
 import org.acumos.cds.transport.SuccessTransport;
 import org.acumos.cds.transport.UsersRoleRequest;
 import org.acumos.cds.util.ApiPageable;
-import org.jasypt.util.text.BasicTextEncryptor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -76,6 +87,7 @@
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -111,11 +123,6 @@ public class UserController extends AbstractController {
 	 */
 	@Value("${login.failure.block.time:90}")
 	private Integer loginFailureBlockTimeSec;
-	/**
-	 * Rudimentary encryption of API token
-	 */
-	@Value("${jasypt.encryptor.password:change-me-should-never-be-used}")
-	private String jasyptEncryptorPassword;
 
 	@Autowired
 	private EntityManager entityManager;
@@ -130,8 +137,6 @@ public class UserController extends AbstractController {
 	@Autowired
 	private UserLoginProviderRepository userLoginProviderRepository;
 	@Autowired
-	private NotifUserMapRepository notifUserMapRepository;
-	@Autowired
 	private SolutionFavoriteRepository solutionFavoriteRepository;
 	@Autowired
 	private SolutionRepository solutionRepository;
@@ -139,6 +144,31 @@ public class UserController extends AbstractController {
 	private SolutionDeploymentRepository solutionDeploymentRepository;
 	@Autowired
 	private UserTagMapRepository userTagMapRepository;
+	@Autowired
+	private CredentialService credentialService;
+	@Autowired
+	private LoginActivityService loginActivityService;
+	@Autowired
+	private PictureService pictureService;
+	@Autowired
+	private CascadeDeleteService cascadeDeleteService;
+	@Autowired
+	private MembershipService membershipService;
+
+	/**
+	 * Reports the first failed item of an all-or-nothing batch as the error.
+	 */
+	private static ErrorTransport firstFailure(BatchResultTransport result, HttpServletResponse response) {
+		String message = null;
+		for (BatchItemTransport item : result.getItems()) {
+			if (item.getStatus() != HttpServletResponse.SC_OK) {
+				message = item.getMessage();
+				break;
+			}
+		}
+		response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+		return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, message, null);
+	}
 
 	@ApiOperation(value = "Gets the count of users.", response = CountTransport.class)
 	@RequestMapping(value = CCDSConstants.COUNT_PATH, method = RequestMethod.GET)
@@ -159,8 +189,8 @@ private enum CredentialType {
 	/**
 	 * Checks specified user credentials against values in the database, which has
 	 * hashes (not clear text) of sensitive information like password or token.
-	 * Updates the record in all cases -- last login on success, failure count
-	 * otherwise. Temporarily blocks user if more than a configurable number of
+	 * Records the outcome in all cases -- last login on success, failure count
+	 * otherwise -- for writing to the database in the background. Temporarily blocks user if more than a configurable number of
 	 * login failures happen. Error messages reveal information to clients like
 	 * existence of user; clients should NOT pass on to users. Reports much detail
 	 * to the audit logger.
@@ -184,6 +214,11 @@ private Object checkUserCredentials(LoginTransport credentials, CredentialType c
 			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, "Missing or empty credential(s)");
 		}
 		MLPUser user = userRepository.findByLoginOrEmail(credentials.getName());
+		if (user != null) {
+			// Detach before overlaying activity not yet written
+			entityManager.detach(user);
+			loginActivityService.withPendingActivity(user);
+		}
 		if (user == null || !user.isActive()) {
 			logger.info("checkUserCredentials: unknown or inactve: {}", credentials.getName());
 			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
@@ -218,9 +253,9 @@ private Object checkUserCredentials(LoginTransport credentials, CredentialType c
 		boolean match = false;
 		if (credentialType == CredentialType.PASSWORD || credentialType == CredentialType.VERIFY_TOKEN) {
 			String hash = credentialType == CredentialType.PASSWORD ? user.getLoginHash() : user.getVerifyTokenHash();
-			match = BCrypt.checkpw(credentials.getPass(), hash);
+			match = credentialService.checkHash(user.getUserId(), credentials.getPass(), hash);
 		} else if (credentialType == CredentialType.API_TOKEN) {
-			match = credentials.getPass().equals(decryptWithJasypt(user.getApiToken()));
+			match = credentialService.checkCipherText(user.getUserId(), credentials.getPass(), user.getApiToken());
 		} else {
 			throw new IllegalArgumentException("Unexpected credential type: " + credentialType);
 		}
@@ -229,9 +264,8 @@ private Object checkUserCredentials(LoginTransport credentials, CredentialType c
 			// Record the failure
 			logger.info("checkUserCredentials: user {} failed auth type {}", user.getLoginName(),
 					credentialType.name());
-			user.setLoginFailCount((short) (user.getLoginFailCount() == null ? 1 : user.getLoginFailCount() + 1));
-			user.setLoginFailDate(new Date());
-			userRepository.save(user);
+			short failCount = (short) (user.getLoginFailCount() == null ? 1 : user.getLoginFailCount() + 1);
+			loginActivityService.recordFailure(user.getUserId(), failCount, new Date());
 			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
 			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, "Failed to authenticate user", null);
 		}
@@ -242,11 +276,19 @@ private Object checkUserCredentials(LoginTransport credentials, CredentialType c
 			user.setLoginFailDate(null);
 		}
 		user.setLastLogin(new Date());
-		userRepository.save(user);
+		loginActivityService.recordSuccess(user.getUserId(), user.getLastLogin());
 		logger.info("checkUserCredentials: authenticated user {}", user.getLoginName());
-		entityManager.detach(user);
 		user.clearHashes();
-		if (user.getApiToken() != null)
+		// Login responses carry the picture for compatibility; other reads do not
+		if (user.getPictureHash() != null) {
+			MLPUserPicture picture = pictureService.getUserPicture(user.getUserId());
+			if (picture != null)
+				user.setPicture(picture.getPicture());
+		}
+		// The clear-text token was just verified, no need to decrypt
+		if (credentialType == CredentialType.API_TOKEN)
+			user.setApiToken(credentials.getPass());
+		else if (user.getApiToken() != null)
 			user.setApiToken(decryptWithJasypt(user.getApiToken()));
 		return user;
 	}
@@ -320,6 +362,7 @@ public MLPTransportModel updatePassword(@PathVariable("userId") String userId,
 				final String pwHash = BCrypt.hashpw(changeRequest.getNewLoginPass(), BCrypt.gensalt());
 				user.setLoginHash(pwHash);
 				userRepository.save(user);
+				entityCacheService.invalidateUser(user.getUserId());
 				logger.info("updatePassword: updated user {}", user.getLoginName());
 				return new SuccessTransport(HttpServletResponse.SC_OK, null);
 			} else {
@@ -353,6 +396,33 @@ public Page<MLPUser> getUsers(Pageable pageable) {
 		return page;
 	}
 
+	@ApiOperation(value = "Gets a page of users using seek pagination, optionally sorted on one non-nullable field. " //
+			+ "Pass the token from the previous page to get the next page. Returns bad request if the token or sort is invalid.", //
+			response = MLPUser.class, responseContainer = "Page")
+	@ApiPageable
+	@ApiResponses({ @ApiResponse(code = 400, message = "Bad request", response = ErrorTransport.class) })
+	@RequestMapping(value = "/" + CCDSConstants.SEEK_PATH, method = RequestMethod.GET)
+	@ResponseBody
+	public Object seekUsers(@RequestParam(name = CCDSConstants.TOKEN_PATH, required = false) String token,
+			Pageable pageRequest, HttpServletResponse response) {
+		logger.info("seekUsers {}", pageRequest);
+		try {
+			RestPageResponse<MLPUser> page = userSearchService.seekUsers(token, pageRequest);
+			for (MLPUser user : page.getContent()) {
+				// detach from Hibernate and clear sensitive data
+				entityManager.detach(user);
+				user.clearHashes();
+				if (user.getApiToken() != null)
+					user.setApiToken(decryptWithJasypt(user.getApiToken()));
+			}
+			return page;
+		} catch (IllegalArgumentException ex) {
+			logger.warn("seekUsers failed: {}", ex.toString());
+			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, ex.getMessage(), ex);
+		}
+	}
+
 	@ApiOperation(value = "Searches for users with names that contain the search term using a like operator.", //
 			response = MLPUser.class, responseContainer = "Page")
 	@ApiPageable
@@ -470,6 +540,29 @@ public Object getUser(@PathVariable("userId") String userId, HttpServletResponse
 		return user;
 	}
 
+	@ApiOperation(value = "Gets the users for the IDs in the request body, which avoids limits on URL length. " //
+			+ "Unknown IDs are skipped. Returns bad request if the list is empty or too long.", //
+			response = MLPUser.class, responseContainer = "List")
+	@ApiResponses({ @ApiResponse(code = 400, message = "Bad request", response = ErrorTransport.class) })
+	@RequestMapping(value = "/" + CCDSConstants.IDS_PATH, method = RequestMethod.POST)
+	@ResponseBody
+	public Object getUsersByIds(@RequestBody List<String> userIds, HttpServletResponse response) {
+		logger.info("getUsersByIds: count {}", userIds == null ? 0 : userIds.size());
+		ErrorTransport error = validateBatchSize(userIds, response);
+		if (error != null)
+			return error;
+		List<MLPUser> result = new ArrayList<>();
+		for (MLPUser user : userRepository.findAll(userIds)) {
+			// detach from Hibernate and wipe hashes
+			entityManager.detach(user);
+			user.clearHashes();
+			if (user.getApiToken() != null)
+				user.setApiToken(decryptWithJasypt(user.getApiToken()));
+			result.add(user);
+		}
+		return result;
+	}
+
 	/**
 	 * Supports rudimentary decryption to avoid storing clear text in database.
 	 * 
@@ -478,9 +571,7 @@ public Object getUser(@PathVariable("userId") String userId, HttpServletResponse
 	 * @return clear text
 	 */
 	private String decryptWithJasypt(String encryptedMessage) {
-		BasicTextEncryptor textEncryptor = new BasicTextEncryptor();
-		textEncryptor.setPassword(jasyptEncryptorPassword);
-		return textEncryptor.decrypt(encryptedMessage);
+		return credentialService.decrypt(encryptedMessage);
 	}
 
 	/**
@@ -491,9 +582,7 @@ private String decryptWithJasypt(String encryptedMessage) {
 	 * @return cipher text
 	 */
 	private String encryptWithJasypt(String clearText) {
-		BasicTextEncryptor textEncryptor = new BasicTextEncryptor();
-		textEncryptor.setPassword(jasyptEncryptorPassword);
-		return textEncryptor.encrypt(clearText);
+		return credentialService.encrypt(clearText);
 	}
 
 	@ApiOperation(value = "Creates a new entity and generates an ID if needed. Returns bad request on constraint violation etc.", //
@@ -509,7 +598,7 @@ public Object createUser(@RequestBody MLPUser user, HttpServletResponse response
 			String id = user.getUserId();
 			if (id != null) {
 				UUID.fromString(id);
-				if (userRepository.findOne(id) != null) {
+				if (entityCacheService.getUser(id) != null) {
 					response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
 					return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, "ID exists: " + id);
 				}
@@ -522,6 +611,9 @@ public Object createUser(@RequestBody MLPUser user, HttpServletResponse response
 			// Encrypt any API token
 			if (user.getApiToken() != null)
 				user.setApiToken(encryptWithJasypt(user.getApiToken()));
+			// The picture hash is maintained by the server
+			user.setPictureHash(null);
+			final byte[] picture = user.getPicture();
 			// Create a new row
 			MLPUser newUser = userRepository.save(user);
 			response.setStatus(HttpServletResponse.SC_CREATED);
@@ -531,6 +623,11 @@ public Object createUser(@RequestBody MLPUser user, HttpServletResponse response
 			// but first detach from Hibernate and wipe all hashes
 			entityManager.detach(newUser);
 			newUser.clearHashes();
+			// Store any picture apart from the user
+			if (picture != null) {
+				newUser.setPictureHash(pictureService.saveUserPicture(newUser.getUserId(), null, picture));
+				newUser.setPicture(null);
+			}
 			result = newUser;
 			return result;
 		} catch (Exception ex) {
@@ -571,7 +668,15 @@ public Object updateUser(@PathVariable("userId") String userId, @RequestBody MLP
 			// But unlike password, allow caller to null it out.
 			if (user.getApiToken() != null)
 				user.setApiToken(encryptWithJasypt(user.getApiToken()));
+			// Keep the hash of the stored picture
+			user.setPictureHash(existingUser.getPictureHash());
 			userRepository.save(user);
+			entityCacheService.invalidateUser(user.getUserId());
+			// Replace the picture only if one was supplied
+			if (user.getPicture() != null)
+				pictureService.saveUserPicture(userId, null, user.getPicture());
+			// The update wins over login activity not yet written
+			loginActivityService.discard(userId);
 			return new SuccessTransport(HttpServletResponse.SC_OK, null);
 		} catch (Exception ex) {
 			Exception cve = findConstraintViolationException(ex);
@@ -581,6 +686,68 @@ public Object updateUser(@PathVariable("userId") String userId, @RequestBody MLP
 		}
 	}
 
+	@ApiOperation(value = "Gets the picture of the specified user as binary content with its content type. " //
+			+ "The entity tag is the picture hash. Returns not modified if the If-None-Match header has the current tag, " //
+			+ "no content if the user has no picture, and bad request if the ID is not found.")
+	@ApiResponses({ @ApiResponse(code = 400, message = "Bad request", response = ErrorTransport.class) })
+	@RequestMapping(value = "/{userId}/" + CCDSConstants.PICTURE_PATH, method = RequestMethod.GET, //
+			produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.ALL_VALUE })
+	@ResponseBody
+	public Object getUserPicture(@PathVariable("userId") String userId,
+			@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+			HttpServletResponse response) throws IOException {
+		logger.info("getUserPicture: userId {}", userId);
+		if (entityCacheService.getUser(userId) == null) {
+			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + userId, null);
+		}
+		writePicture(pictureService.getUserPictureHash(userId), ifNoneMatch,
+				() -> pictureService.getUserPicture(userId), pictureService::computeHash, response);
+		return null;
+	}
+
+	@ApiOperation(value = "Saves the request body as the picture of the specified user, replacing any existing picture. " //
+			+ "Uses the request content type, or detects the type if none is given. Answers the new picture hash. " //
+			+ "Returns bad request if the ID is not found or the picture is empty or too large.", //
+			response = SuccessTransport.class)
+	@ApiResponses({ @ApiResponse(code = 400, message = "Bad request", response = ErrorTransport.class) })
+	@RequestMapping(value = "/{userId}/" + CCDSConstants.PICTURE_PATH, method = RequestMethod.PUT)
+	@ResponseBody
+	public Object saveUserPicture(@PathVariable("userId") String userId, HttpServletRequest request,
+			HttpServletResponse response) {
+		logger.info("saveUserPicture: userId {}", userId);
+		if (entityCacheService.getUser(userId) == null) {
+			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + userId, null);
+		}
+		try {
+			String contentType = getPictureContentType(request);
+			byte[] picture = readPicture(request);
+			return new SuccessTransport(HttpServletResponse.SC_OK,
+					pictureService.saveUserPicture(userId, contentType, picture));
+		} catch (Exception ex) {
+			Exception cve = findConstraintViolationException(ex);
+			logger.warn("saveUserPicture failed: {}", cve.toString());
+			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, "saveUserPicture failed", cve);
+		}
+	}
+
+	@ApiOperation(value = "Deletes the picture of the specified user, if any. Returns bad request if the ID is not found.", //
+			response = SuccessTransport.class)
+	@ApiResponses({ @ApiResponse(code = 400, message = "Bad request", response = ErrorTransport.class) })
+	@RequestMapping(value = "/{userId}/" + CCDSConstants.PICTURE_PATH, method = RequestMethod.DELETE)
+	@ResponseBody
+	public Object deleteUserPicture(@PathVariable("userId") String userId, HttpServletResponse response) {
+		logger.info("deleteUserPicture: userId {}", userId);
+		if (entityCacheService.getUser(userId) == null) {
+			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + userId, null);
+		}
+		pictureService.deleteUserPicture(userId);
+		return new SuccessTransport(HttpServletResponse.SC_OK, null);
+	}
+
 	/*
 	 * Originally this was declared void and accordingly returned nothing. But when
 	 * used in SpringBoot, after invoking the method it would look for a ThymeLeaf
@@ -594,16 +761,11 @@ public Object updateUser(@PathVariable("userId") String userId, @RequestBody MLP
 	public MLPTransportModel deleteUser(@PathVariable("userId") String userId, HttpServletResponse response) {
 		logger.info("deleteUser: userId {}", userId);
 		try {
-			Iterable<MLPUserRoleMap> roles = userRoleMapRepository.findByUserId(userId);
-			if (roles != null)
-				userRoleMapRepository.delete(roles);
-			Iterable<MLPUserLoginProvider> logins = userLoginProviderRepository.findByUserId(userId);
-			if (logins != null)
-				userLoginProviderRepository.delete(logins);
-			Iterable<MLPNotifUserMap> notifs = notifUserMapRepository.findByUserId(userId);
-			if (notifs != null)
-				notifUserMapRepository.delete(notifs);
-			userRepository.delete(userId);
+			DeleteCountsTransport counts = cascadeDeleteService.deleteUsers(Collections.singletonList(userId));
+			if (counts.getTotal() == 0) {
+				response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+				return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + userId, null);
+			}
 			return new SuccessTransport(HttpServletResponse.SC_OK, null);
 		} catch (Exception ex) {
 			// e.g., EmptyResultDataAccessException is NOT an internal server error
@@ -613,6 +775,28 @@ public MLPTransportModel deleteUser(@PathVariable("userId") String userId, HttpS
 		}
 	}
 
+	@ApiOperation(value = "Deletes the users with the specified IDs in one transaction. Cascades the delete to related entities. " //
+			+ "Reports the number of rows deleted from each table; IDs that are not found are ignored. Returns bad request if the delete fails.", //
+			response = DeleteCountsTransport.class)
+	@ApiResponses({ @ApiResponse(code = 400, message = "Bad request", response = ErrorTransport.class) })
+	@RequestMapping(value = "/" + CCDSConstants.BATCH_PATH + "/"
+			+ CCDSConstants.DELETE_PATH, method = RequestMethod.POST)
+	@ResponseBody
+	public Object deleteUsers(@RequestBody List<String> userIds, HttpServletResponse response) {
+		logger.info("deleteUsers: count {}", userIds == null ? 0 : userIds.size());
+		ErrorTransport error = validateBatchSize(userIds, response);
+		if (error != null)
+			return error;
+		try {
+			return cascadeDeleteService.deleteUsers(userIds);
+		} catch (Exception ex) {
+			Exception cve = findConstraintViolationException(ex);
+			logger.warn("deleteUsers failed: {}", cve.toString());
+			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, "deleteUsers failed", cve);
+		}
+	}
+
 	@ApiOperation(value = "Gets the count of users in a role.", response = CountTransport.class)
 	@RequestMapping(value = CCDSConstants.ROLE_PATH + "/{roleId}/"
 			+ CCDSConstants.COUNT_PATH, method = RequestMethod.GET)
@@ -639,7 +823,7 @@ public Iterable<MLPRole> getRolesForUser(@PathVariable("userId") String userId)
 	public Object addUserRole(@PathVariable("userId") String userId, @PathVariable("roleId") String roleId,
 			HttpServletResponse response) {
 		logger.info("addUserRole: userId {}, roleId {}", userId, roleId);
-		if (userRepository.findOne(userId) == null) {
+		if (entityCacheService.getUser(userId) == null) {
 			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
 			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + userId, null);
 		} else if (roleRepository.findOne(roleId) == null) {
@@ -658,23 +842,14 @@ public Object addUserRole(@PathVariable("userId") String userId, @PathVariable("
 	public Object updateUserRoles(@PathVariable("userId") String userId, @RequestBody List<String> roleIds,
 			HttpServletResponse response) {
 		logger.info("updateUserRoles: user {}, roles {}", userId, roleIds);
-		if (userRepository.findOne(userId) == null) {
+		if (entityCacheService.getUser(userId) == null) {
 			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
 			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + userId, null);
 		}
-		for (String roleId : roleIds) {
-			if (roleRepository.findOne(roleId) == null) {
-				response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
-				return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + roleId, null);
-			}
-		}
-		// Remove all existing role assignments
-		Iterable<MLPUserRoleMap> existing = userRoleMapRepository.findByUserId(userId);
-		userRoleMapRepository.delete(existing);
-		// Create new ones
-		for (String roleId : roleIds) {
-			userRoleMapRepository.save(new MLPUserRoleMap(userId, roleId));
-		}
+		// Only the differences from the current roles are written
+		BatchResultTransport result = membershipService.setUserRoles(userId, roleIds);
+		if (result.getFailed() > 0)
+			return firstFailure(result, response);
 		return new SuccessTransport(HttpServletResponse.SC_OK, null);
 	}
 
@@ -722,29 +897,11 @@ public Object addOrDropUsersInRole(@PathVariable("roleId") String roleId,
 			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
 			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, "No users", null);
 		}
-		for (String userId : usersRoleRequest.getUserIds()) {
-			if (userRepository.findOne(userId) == null) {
-				response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
-				return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + userId, null);
-			}
-		}
-		for (String userId : usersRoleRequest.getUserIds()) {
-			MLPUserRoleMap.UserRoleMapPK pk = new MLPUserRoleMap.UserRoleMapPK(userId, roleId);
-			boolean exists = userRoleMapRepository.findOne(pk) != null;
-			if (exists && usersRoleRequest.isAdd()) {
-				response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
-				return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, "User already in role " + userId, null);
-			} else if (!exists && !usersRoleRequest.isAdd()) {
-				response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
-				return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, "User not in role " + userId, null);
-			}
-		}
-		for (String userId : usersRoleRequest.getUserIds()) {
-			if (usersRoleRequest.isAdd())
-				userRoleMapRepository.save(new MLPUserRoleMap(userId, roleId));
-			else
-				userRoleMapRepository.delete(new MLPUserRoleMap.UserRoleMapPK(userId, roleId));
-		}
+		// Nothing is changed unless every user is valid
+		BatchResultTransport result = membershipService.addOrDropRoleUsers(roleId, usersRoleRequest.isAdd(),
+				usersRoleRequest.getUserIds());
+		if (result.getFailed() > 0)
+			return firstFailure(result, response);
 		return new SuccessTransport(HttpServletResponse.SC_OK, null);
 	}
 
@@ -760,7 +917,7 @@ public Object getUserLoginProvider(@PathVariable("userId") String userId,
 			HttpServletResponse response) {
 		logger.info("getUserLoginProvider: userId {} providerCode {} providerUserId {}", userId, providerCode,
 				providerUserId);
-		if (userRepository.findOne(userId) == null) {
+		if (entityCacheService.getUser(userId) == null) {
 			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
 			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + userId, null);
 		}
@@ -795,7 +952,7 @@ public Object createUserLoginProvider(@PathVariable("userId") String userId,
 		logger.info("createUserLoginProvider: userId {} providerCode {} providerUserId {}", userId, providerCode,
 				providerUserId);
 		// Validate args
-		if (userRepository.findOne(userId) == null) {
+		if (entityCacheService.getUser(userId) == null) {
 			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
 			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + userId, null);
 		}
@@ -834,7 +991,7 @@ public Object updateUserLoginProvider(@PathVariable("userId") String userId,
 		logger.info("updateUserLoginProvider: userId {} providerCode {} providerUserId {}", userId, providerCode,
 				providerUserId);
 		// Validate args
-		if (userRepository.findOne(userId) == null) {
+		if (entityCacheService.getUser(userId) == null) {
 			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
 			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + userId, null);
 		}
@@ -910,11 +1067,11 @@ public Object getFavoriteSolutions(@PathVariable("userId") String userId, Pageab
 	public Object createSolutionFavorite(@PathVariable("solutionId") String solutionId,
 			@PathVariable("userId") String userId, @RequestBody MLPSolutionFavorite sfv, HttpServletResponse response) {
 		logger.info("createSolutionFavorite: solutionId {} userId {}", solutionId, userId);
-		if (solutionRepository.findOne(solutionId) == null) {
+		if (entityCacheService.getSolution(solutionId) == null) {
 			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
 			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + solutionId, null);
 		}
-		if (userRepository.findOne(userId) == null) {
+		if (entityCacheService.getUser(userId) == null) {
 			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
 			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + userId, null);
 		}
@@ -980,7 +1137,7 @@ public Object getUserDeployments(@PathVariable("userId") String userId, Pageable
 	public Object addUserTag(@PathVariable("userId") String userId, @PathVariable("tag") String tag,
 			HttpServletResponse response) {
 		logger.info("addUserTag: userId {} tag {}", userId, tag);
-		if (userRepository.findOne(userId) == null) {
+		if (entityCacheService.getUser(userId) == null) {
 			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
 			return new ErrorTransport(HttpServletResponse.SC_BAD_REQUEST, NO_ENTRY_WITH_ID + userId, null);
 		} else if (userTagMapRepository.findOne(new MLPUserTagMap.UserTagMapPK(userId, tag)) != null) {
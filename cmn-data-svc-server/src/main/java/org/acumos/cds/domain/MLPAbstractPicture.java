@@ -0,0 +1,99 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.domain;
+
+import javax.persistence.Column;
+import javax.persistence.Lob;
+import javax.persistence.MappedSuperclass;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+
+/**
+ * Base model for a picture stored apart from the entity that it decorates, so
+ * the large object is only read when the picture itself is requested. Maps the
+ * content columns; subclasses map the ID column and the table.
+ * 
+ * Defined in the server project because it's not exposed to clients; clients
+ * send and receive the picture as binary content.
+ */
+@MappedSuperclass
+public abstract class MLPAbstractPicture extends MLPTimestampedEntity {
+
+	/**
+	 * Length limit of the picture column
+	 */
+	public static final int MAX_PICTURE_LENGTH = 2000000;
+
+	@Column(name = "CONTENT_TYPE", nullable = false, columnDefinition = "VARCHAR(100)")
+	@NotNull(message = "Content type cannot be null")
+	@Size(max = 100)
+	private String contentType;
+
+	/**
+	 * Derby BLOB type allows 2GB. Mysql/Mariadb BLOB type only allows 64KB, that's
+	 * too small. But Derby fails to create the table if type LONGBLOB is specified
+	 * here. With no columDefinition attribute Derby generates a table AND Spring
+	 * validates the MariaDB schema if the column is created as LONGBLOB.
+	 */
+	@Lob
+	@Column(name = "PICTURE", nullable = false, length = MAX_PICTURE_LENGTH)
+	@NotNull(message = "Picture cannot be null")
+	private byte[] picture;
+
+	/**
+	 * No-arg constructor
+	 */
+	public MLPAbstractPicture() {
+		// no-arg constructor
+	}
+
+	/**
+	 * This constructor accepts the required fields.
+	 * 
+	 * @param contentType
+	 *            Media type of the picture
+	 * @param picture
+	 *            Picture content
+	 */
+	public MLPAbstractPicture(String contentType, byte[] picture) {
+		if (contentType == null || picture == null)
+			throw new IllegalArgumentException("Null not permitted");
+		this.contentType = contentType;
+		this.picture = picture;
+	}
+
+	public String getContentType() {
+		return contentType;
+	}
+
+	public void setContentType(String contentType) {
+		this.contentType = contentType;
+	}
+
+	public byte[] getPicture() {
+		return picture;
+	}
+
+	public void setPicture(byte[] picture) {
+		this.picture = picture;
+	}
+
+}
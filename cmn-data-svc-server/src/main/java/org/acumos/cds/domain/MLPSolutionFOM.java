@@ -204,6 +204,7 @@ public MLPSolution toMLPSolution() {
 		sol.setModified(getModified());
 		sol.setName(getName());
 		sol.setOrigin(getOrigin());
+		sol.setPictureHash(getPictureHash());
 		sol.setSolutionId(getSolutionId());
 		if (source != null)
 			sol.setSourceId(source.getPeerId());
@@ -0,0 +1,101 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.domain;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.validation.constraints.Size;
+
+/**
+ * Model for the picture of a solution, stored in a table of its own. The solution
+ * entity holds a hash of the picture.
+ */
+@Entity
+@Table(name = "C_SOLUTION_PICTURE")
+public class MLPSolutionPicture extends MLPAbstractPicture implements Serializable {
+
+	private static final long serialVersionUID = -3182262339741569107L;
+
+	@Id
+	@Column(name = "SOLUTION_ID", nullable = false, updatable = false, columnDefinition = "CHAR(36)")
+	@Size(max = 36)
+	private String solutionId;
+
+	/**
+	 * No-arg constructor
+	 */
+	public MLPSolutionPicture() {
+		// no-arg constructor
+	}
+
+	/**
+	 * This constructor accepts the required fields.
+	 * 
+	 * @param solutionId
+	 *            Solution ID
+	 * @param contentType
+	 *            Media type of the picture
+	 * @param picture
+	 *            Picture content
+	 */
+	public MLPSolutionPicture(String solutionId, String contentType, byte[] picture) {
+		super(contentType, picture);
+		if (solutionId == null)
+			throw new IllegalArgumentException("Null not permitted");
+		this.solutionId = solutionId;
+	}
+
+	public String getSolutionId() {
+		return solutionId;
+	}
+
+	public void setSolutionId(String solutionId) {
+		this.solutionId = solutionId;
+	}
+
+	@Override
+	public boolean equals(Object that) {
+		if (that == null)
+			return false;
+		if (!(that instanceof MLPSolutionPicture))
+			return false;
+		MLPSolutionPicture thatObj = (MLPSolutionPicture) that;
+		return Objects.equals(solutionId, thatObj.solutionId);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(solutionId);
+	}
+
+	@Override
+	public String toString() {
+		return this.getClass().getName() + "[solutionId=" + solutionId + ", contentType=" + getContentType() + ", length="
+				+ (getPicture() == null ? 0 : getPicture().length) + ", created=" + getCreated() + ", modified="
+				+ getModified() + "]";
+	}
+
+}
@@ -0,0 +1,101 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.domain;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.validation.constraints.Size;
+
+/**
+ * Model for the profile picture of a user, stored in a table of its own. The
+ * user entity holds a hash of the picture.
+ */
+@Entity
+@Table(name = "C_USER_PICTURE")
+public class MLPUserPicture extends MLPAbstractPicture implements Serializable {
+
+	private static final long serialVersionUID = 7254120937460174332L;
+
+	@Id
+	@Column(name = "USER_ID", nullable = false, updatable = false, columnDefinition = "CHAR(36)")
+	@Size(max = 36)
+	private String userId;
+
+	/**
+	 * No-arg constructor
+	 */
+	public MLPUserPicture() {
+		// no-arg constructor
+	}
+
+	/**
+	 * This constructor accepts the required fields.
+	 * 
+	 * @param userId
+	 *            User ID
+	 * @param contentType
+	 *            Media type of the picture
+	 * @param picture
+	 *            Picture content
+	 */
+	public MLPUserPicture(String userId, String contentType, byte[] picture) {
+		super(contentType, picture);
+		if (userId == null)
+			throw new IllegalArgumentException("Null not permitted");
+		this.userId = userId;
+	}
+
+	public String getUserId() {
+		return userId;
+	}
+
+	public void setUserId(String userId) {
+		this.userId = userId;
+	}
+
+	@Override
+	public boolean equals(Object that) {
+		if (that == null)
+			return false;
+		if (!(that instanceof MLPUserPicture))
+			return false;
+		MLPUserPicture thatObj = (MLPUserPicture) that;
+		return Objects.equals(userId, thatObj.userId);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(userId);
+	}
+
+	@Override
+	public String toString() {
+		return this.getClass().getName() + "[userId=" + userId + ", contentType=" + getContentType() + ", length="
+				+ (getPicture() == null ? 0 : getPicture().length) + ", created=" + getCreated() + ", modified="
+				+ getModified() + "]";
+	}
+
+}
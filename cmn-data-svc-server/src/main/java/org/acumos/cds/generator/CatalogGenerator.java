@@ -0,0 +1,371 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.generator;
+
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import org.acumos.cds.AccessTypeCode;
+import org.acumos.cds.ArtifactTypeCode;
+import org.acumos.cds.ModelTypeCode;
+import org.acumos.cds.StepStatusCode;
+import org.acumos.cds.StepTypeCode;
+import org.acumos.cds.ToolkitTypeCode;
+import org.acumos.cds.ValidationStatusCode;
+import org.acumos.cds.domain.MLPArtifact;
+import org.acumos.cds.domain.MLPComment;
+import org.acumos.cds.domain.MLPEntity;
+import org.acumos.cds.domain.MLPRevisionDescription;
+import org.acumos.cds.domain.MLPSolRevArtMap;
+import org.acumos.cds.domain.MLPSolTagMap;
+import org.acumos.cds.domain.MLPSolution;
+import org.acumos.cds.domain.MLPSolutionDownload;
+import org.acumos.cds.domain.MLPSolutionRating;
+import org.acumos.cds.domain.MLPSolutionRevision;
+import org.acumos.cds.domain.MLPSolutionWeb;
+import org.acumos.cds.domain.MLPStepResult;
+import org.acumos.cds.domain.MLPTag;
+import org.acumos.cds.domain.MLPThread;
+import org.acumos.cds.domain.MLPUser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Generates a synthetic catalog for load and scale testing: users, tags, and
+ * solutions with revisions, descriptions, artifacts, web statistics, downloads,
+ * ratings, comment threads and step results. Rows are produced one chunk of
+ * solutions at a time and passed to a {@link CatalogWriter} in batches, so
+ * memory use does not grow with the catalog size. The output depends only on
+ * the configuration, including the seed; all dates fall before a fixed
+ * reference date rather than the current time.
+ * 
+ * Web statistics agree with the generated downloads and ratings, so the data
+ * is consistent for read-path tests. Pictures, documents, peers and groups are
+ * not generated.
+ */
+public class CatalogGenerator {
+
+	private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+	/** 2019-01-01T00:00:00Z; generated dates fall before this instant */
+	public static final long REFERENCE_MILLIS = 1546300800000L;
+
+	private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+
+	private static final String[] WORDS = { "image", "speech", "text", "sensor", "forecast", "anomaly", "fraud",
+			"vision", "translate", "detect", "classify", "predict", "cluster", "segment", "recommend", "sentiment",
+			"face", "object", "traffic", "weather", "network", "churn", "demand", "energy", "health", "retail",
+			"video", "audio", "signal", "graph", "model", "deep", "linear", "forest", "boost", "neural", "fast",
+			"robust", "scalable", "accurate" };
+
+	private final CatalogGeneratorConfig config;
+	private final CatalogWriter writer;
+	private final Random random;
+	private final Map<String, Long> counts = new LinkedHashMap<>();
+	private String[] userIds;
+	private String[] tagNames;
+
+	/**
+	 * Builds a generator.
+	 * 
+	 * @param config
+	 *            Sizes and distributions
+	 * @param writer
+	 *            Destination of the rows
+	 */
+	public CatalogGenerator(CatalogGeneratorConfig config, CatalogWriter writer) {
+		if (config.getUsers() < 1 || config.getTags() < 1 || config.getBatchSize() < 1)
+			throw new IllegalArgumentException("Users, tags and batch size must be positive");
+		this.config = config;
+		this.writer = writer;
+		this.random = new Random(config.getSeed());
+	}
+
+	/**
+	 * Generates and writes the catalog.
+	 * 
+	 * @return Number of rows written per table, in the order the tables were
+	 *         first written
+	 */
+	public Map<String, Long> generate() {
+		final long start = System.currentTimeMillis();
+		generateUsers();
+		generateTags();
+		ZipfDistribution tagDistribution = new ZipfDistribution(config.getTags(), config.getTagZipfExponent());
+		ZipfDistribution popularity = config.getSolutions() > 0
+				? new ZipfDistribution(config.getSolutions(), config.getSolutionZipfExponent())
+				: null;
+		final int chunk = config.getBatchSize();
+		for (int first = 0; first < config.getSolutions(); first += chunk) {
+			generateSolutions(first, Math.min(first + chunk, config.getSolutions()), tagDistribution, popularity);
+			logger.debug("generate: wrote solutions {} to {}", first, Math.min(first + chunk, config.getSolutions()));
+		}
+		long total = counts.values().stream().mapToLong(Long::longValue).sum();
+		logger.info("generate: wrote {} rows in {} ms: {}", total, System.currentTimeMillis() - start, counts);
+		return counts;
+	}
+
+	private void write(List<? extends MLPEntity> rows) {
+		if (rows.isEmpty())
+			return;
+		for (int i = 0; i < rows.size(); i += config.getBatchSize())
+			writer.write(rows.subList(i, Math.min(i + config.getBatchSize(), rows.size())));
+		counts.merge(EntityTable.forClass(rows.get(0).getClass()).getTableName(), (long) rows.size(), Long::sum);
+	}
+
+	private String uuid() {
+		return new UUID(random.nextLong(), random.nextLong()).toString();
+	}
+
+	private String words(int count) {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < count; ++i) {
+			if (i > 0)
+				sb.append(' ');
+			sb.append(WORDS[random.nextInt(WORDS.length)]);
+		}
+		return sb.toString();
+	}
+
+	private <T extends Enum<T>> String code(T[] values) {
+		return values[random.nextInt(values.length)].name();
+	}
+
+	/**
+	 * Draws from a geometric distribution, the number of failures before the
+	 * first success, with the specified mean.
+	 */
+	private int count(double mean) {
+		if (mean <= 0)
+			return 0;
+		double value = Math.log(1 - random.nextDouble()) / Math.log(mean / (1 + mean));
+		return (int) Math.min(value, Integer.MAX_VALUE);
+	}
+
+	/** A random date between the specified time and the reference time */
+	private Date dateAfter(long notBefore) {
+		return new Date(notBefore + (long) (random.nextDouble() * (REFERENCE_MILLIS - notBefore)));
+	}
+
+	private String userId() {
+		return userIds[random.nextInt(userIds.length)];
+	}
+
+	private void generateUsers() {
+		userIds = new String[config.getUsers()];
+		List<MLPUser> users = new ArrayList<>();
+		final long since = REFERENCE_MILLIS - config.getDays() * DAY_MILLIS;
+		for (int i = 0; i < userIds.length; ++i) {
+			MLPUser user = new MLPUser(config.getPrefix() + i, config.getPrefix() + i + "@example.org", true);
+			user.setUserId(userIds[i] = uuid());
+			user.setFirstName(words(1));
+			user.setLastName(words(1));
+			user.setCreated(dateAfter(since));
+			user.setModified(user.getCreated());
+			users.add(user);
+		}
+		write(users);
+	}
+
+	private void generateTags() {
+		tagNames = new String[config.getTags()];
+		List<MLPTag> tags = new ArrayList<>();
+		for (int i = 0; i < tagNames.length; ++i)
+			tags.add(new MLPTag(tagNames[i] = config.getPrefix() + "-tag" + i));
+		write(tags);
+	}
+
+	private void generateSolutions(int first, int last, ZipfDistribution tagDistribution,
+			ZipfDistribution popularity) {
+		final long since = REFERENCE_MILLIS - config.getDays() * DAY_MILLIS;
+		final double solutionCount = config.getSolutions();
+		List<MLPSolution> solutions = new ArrayList<>();
+		List<MLPSolTagMap> tagMaps = new ArrayList<>();
+		List<MLPSolutionWeb> webStats = new ArrayList<>();
+		List<MLPSolutionRevision> revisions = new ArrayList<>();
+		List<MLPRevisionDescription> descriptions = new ArrayList<>();
+		List<MLPArtifact> artifacts = new ArrayList<>();
+		List<MLPSolRevArtMap> artifactMaps = new ArrayList<>();
+		List<MLPSolutionDownload> downloads = new ArrayList<>();
+		List<MLPSolutionRating> ratings = new ArrayList<>();
+		List<MLPThread> threads = new ArrayList<>();
+		List<MLPComment> comments = new ArrayList<>();
+		List<MLPStepResult> stepResults = new ArrayList<>();
+
+		for (int s = first; s < last; ++s) {
+			MLPSolution solution = new MLPSolution(words(3), userId(), random.nextInt(10) > 0);
+			solution.setSolutionId(uuid());
+			solution.setDescription(words(10));
+			solution.setModelTypeCode(code(ModelTypeCode.values()));
+			solution.setToolkitTypeCode(code(ToolkitTypeCode.values()));
+			solution.setCreated(dateAfter(since));
+			solution.setModified(dateAfter(solution.getCreated().getTime()));
+			solutions.add(solution);
+			final String solutionId = solution.getSolutionId();
+
+			Set<String> solutionTags = new LinkedHashSet<>();
+			for (int t = 0; t < config.getTagsPerSolution(); ++t)
+				solutionTags.add(tagNames[tagDistribution.sample(random)]);
+			for (String tag : solutionTags)
+				tagMaps.add(new MLPSolTagMap(solutionId, tag));
+
+			List<String> solutionArtifactIds = new ArrayList<>();
+			int revisionCount = 1 + count(config.getRevisionsPerSolution() - 1);
+			long revisionTime = solution.getCreated().getTime();
+			for (int r = 0; r < revisionCount; ++r) {
+				MLPSolutionRevision revision = new MLPSolutionRevision(solutionId, "1." + r, solution.getUserId(),
+						code(AccessTypeCode.values()), code(ValidationStatusCode.values()));
+				revision.setRevisionId(uuid());
+				revision.setPublisher(words(1));
+				revision.setCreated(dateAfter(revisionTime));
+				revision.setModified(revision.getCreated());
+				revisionTime = revision.getCreated().getTime();
+				revisions.add(revision);
+				final String revisionId = revision.getRevisionId();
+
+				MLPRevisionDescription description = new MLPRevisionDescription(revisionId,
+						revision.getAccessTypeCode(), words(40));
+				description.setCreated(revision.getCreated());
+				description.setModified(revision.getCreated());
+				descriptions.add(description);
+
+				for (int a = 0; a < config.getArtifactsPerRevision(); ++a) {
+					String type = code(ArtifactTypeCode.values());
+					MLPArtifact artifact = new MLPArtifact(revision.getVersion(), type, "artifact-" + a + "-" + type,
+							"nexus/" + solutionId + "/" + revision.getVersion() + "/" + a, solution.getUserId(),
+							1024 + random.nextInt(1 << 24));
+					artifact.setArtifactId(uuid());
+					artifact.setCreated(revision.getCreated());
+					artifact.setModified(revision.getCreated());
+					artifacts.add(artifact);
+					artifactMaps.add(new MLPSolRevArtMap(revisionId, artifact.getArtifactId()));
+					solutionArtifactIds.add(artifact.getArtifactId());
+				}
+
+				int threadCount = count(config.getThreadsPerRevision());
+				for (int t = 0; t < threadCount; ++t) {
+					MLPThread thread = new MLPThread(solutionId, revisionId);
+					thread.setThreadId(uuid());
+					thread.setTitle(words(4));
+					threads.add(thread);
+					List<String> threadCommentIds = new ArrayList<>();
+					int commentCount = count(config.getCommentsPerThread());
+					long commentTime = revision.getCreated().getTime();
+					for (int c = 0; c < commentCount; ++c) {
+						MLPComment comment = new MLPComment(thread.getThreadId(), userId(), words(15));
+						comment.setCommentId(uuid());
+						if (!threadCommentIds.isEmpty() && random.nextDouble() < config.getReplyFraction())
+							comment.setParentId(threadCommentIds.get(random.nextInt(threadCommentIds.size())));
+						comment.setCreated(dateAfter(commentTime));
+						comment.setModified(comment.getCreated());
+						commentTime = comment.getCreated().getTime();
+						comments.add(comment);
+						threadCommentIds.add(comment.getCommentId());
+					}
+				}
+
+				int stepCount = count(config.getStepResultsPerRevision());
+				for (int t = 0; t < stepCount; ++t) {
+					MLPStepResult step = new MLPStepResult(code(StepTypeCode.values()), words(2),
+							code(StepStatusCode.values()), dateAfter(revision.getCreated().getTime()));
+					step.setSolutionId(solutionId);
+					step.setRevisionId(revisionId);
+					step.setUserId(solution.getUserId());
+					step.setEndDate(new Date(step.getStartDate().getTime() + random.nextInt(600000)));
+					stepResults.add(step);
+				}
+			}
+
+			// Popular solutions get proportionally more downloads and ratings
+			final double weight = popularity.probability(s) * solutionCount;
+			MLPSolutionWeb web = new MLPSolutionWeb(solutionId);
+			int downloadCount = solutionArtifactIds.isEmpty() ? 0 : count(config.getDownloadsPerSolution() * weight);
+			Date lastDownload = null;
+			for (int d = 0; d < downloadCount; ++d) {
+				MLPSolutionDownload download = new MLPSolutionDownload(solutionId,
+						solutionArtifactIds.get(random.nextInt(solutionArtifactIds.size())), userId());
+				download.setDownloadDate(dateAfter(solution.getCreated().getTime()));
+				if (lastDownload == null || download.getDownloadDate().after(lastDownload))
+					lastDownload = download.getDownloadDate();
+				downloads.add(download);
+			}
+			// Ratings need distinct users, so take consecutive users from a random start
+			int ratingCount = Math.min(userIds.length, count(config.getRatingsPerSolution() * weight));
+			int ratingSum = 0;
+			int firstUser = random.nextInt(userIds.length);
+			for (int r = 0; r < ratingCount; ++r) {
+				MLPSolutionRating rating = new MLPSolutionRating(solutionId,
+						userIds[(firstUser + r) % userIds.length], 1 + Math.max(random.nextInt(5), random.nextInt(5)));
+				rating.setCreated(dateAfter(solution.getCreated().getTime()));
+				rating.setModified(rating.getCreated());
+				ratingSum += rating.getRating();
+				ratings.add(rating);
+			}
+			web.setDownloadCount((long) downloadCount);
+			web.setLastDownload(lastDownload);
+			web.setViewCount((long) (downloadCount * 4 + count(20)));
+			web.setRatingCount((long) ratingCount);
+			web.setRatingAverageTenths(ratingCount == 0 ? 0L : Math.round(ratingSum * 10.0 / ratingCount));
+			web.setFeatured(random.nextInt(100) == 0);
+			webStats.add(web);
+		}
+
+		// Parents first so foreign keys are satisfied
+		write(solutions);
+		write(tagMaps);
+		write(webStats);
+		write(revisions);
+		write(descriptions);
+		write(artifacts);
+		write(artifactMaps);
+		write(downloads);
+		write(ratings);
+		write(threads);
+		write(comments);
+		write(stepResults);
+	}
+
+	/**
+	 * @return Words used in generated names, descriptions and comments; useful
+	 *         as search keywords
+	 */
+	public static List<String> getVocabulary() {
+		return Collections.unmodifiableList(Arrays.asList(WORDS));
+	}
+
+	/**
+	 * @return IDs of the generated users; empty until {@link #generate()} runs
+	 */
+	public List<String> getUserIds() {
+		return userIds == null ? Collections.emptyList() : Arrays.asList(userIds);
+	}
+
+}
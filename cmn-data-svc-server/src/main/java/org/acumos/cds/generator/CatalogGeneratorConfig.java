@@ -0,0 +1,233 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.generator;
+
+/**
+ * Sizes and distributions used by {@link CatalogGenerator}. Counts described
+ * as a mean are drawn from a geometric distribution with that mean, which gives
+ * the long tail seen in real catalogs: most solutions have few revisions and
+ * downloads, a few have many. Tags and downloads are additionally skewed by a
+ * Zipf distribution so that some tags and solutions are far more popular than
+ * others. The defaults describe a mid-size catalog of about 1M rows.
+ */
+public class CatalogGeneratorConfig {
+
+	private long seed = 1;
+	private String prefix = "gen";
+	private int users = 2000;
+	private int solutions = 25000;
+	private double revisionsPerSolution = 2;
+	private int artifactsPerRevision = 3;
+	private int tags = 500;
+	private double tagZipfExponent = 1.1;
+	private int tagsPerSolution = 3;
+	private double downloadsPerSolution = 8;
+	private double solutionZipfExponent = 0.8;
+	private double ratingsPerSolution = 2;
+	private double threadsPerRevision = 0.5;
+	private double commentsPerThread = 4;
+	private double replyFraction = 0.5;
+	private double stepResultsPerRevision = 2;
+	private int days = 730;
+	private int batchSize = 1000;
+
+	/**
+	 * @return Seed of the random number generator; the same seed and
+	 *         configuration always produce the same rows
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	public void setSeed(long seed) {
+		this.seed = seed;
+	}
+
+	/**
+	 * @return Prefix of generated login names, email addresses and tags, which
+	 *         must not be in use in the target database
+	 */
+	public String getPrefix() {
+		return prefix;
+	}
+
+	public void setPrefix(String prefix) {
+		this.prefix = prefix;
+	}
+
+	public int getUsers() {
+		return users;
+	}
+
+	public void setUsers(int users) {
+		this.users = users;
+	}
+
+	public int getSolutions() {
+		return solutions;
+	}
+
+	public void setSolutions(int solutions) {
+		this.solutions = solutions;
+	}
+
+	/**
+	 * @return Mean number of revisions per solution; at least one is created
+	 */
+	public double getRevisionsPerSolution() {
+		return revisionsPerSolution;
+	}
+
+	public void setRevisionsPerSolution(double revisionsPerSolution) {
+		this.revisionsPerSolution = revisionsPerSolution;
+	}
+
+	public int getArtifactsPerRevision() {
+		return artifactsPerRevision;
+	}
+
+	public void setArtifactsPerRevision(int artifactsPerRevision) {
+		this.artifactsPerRevision = artifactsPerRevision;
+	}
+
+	public int getTags() {
+		return tags;
+	}
+
+	public void setTags(int tags) {
+		this.tags = tags;
+	}
+
+	/**
+	 * @return Zipf exponent of tag popularity; 0 is uniform, larger values
+	 *         concentrate solutions on the first tags
+	 */
+	public double getTagZipfExponent() {
+		return tagZipfExponent;
+	}
+
+	public void setTagZipfExponent(double tagZipfExponent) {
+		this.tagZipfExponent = tagZipfExponent;
+	}
+
+	/**
+	 * @return Maximum number of tags per solution; duplicates drawn from the
+	 *         skewed distribution are dropped
+	 */
+	public int getTagsPerSolution() {
+		return tagsPerSolution;
+	}
+
+	public void setTagsPerSolution(int tagsPerSolution) {
+		this.tagsPerSolution = tagsPerSolution;
+	}
+
+	/**
+	 * @return Mean number of downloads per solution over the whole catalog
+	 */
+	public double getDownloadsPerSolution() {
+		return downloadsPerSolution;
+	}
+
+	public void setDownloadsPerSolution(double downloadsPerSolution) {
+		this.downloadsPerSolution = downloadsPerSolution;
+	}
+
+	/**
+	 * @return Zipf exponent of solution popularity, which scales downloads and
+	 *         ratings; 0 gives every solution the same mean
+	 */
+	public double getSolutionZipfExponent() {
+		return solutionZipfExponent;
+	}
+
+	public void setSolutionZipfExponent(double solutionZipfExponent) {
+		this.solutionZipfExponent = solutionZipfExponent;
+	}
+
+	public double getRatingsPerSolution() {
+		return ratingsPerSolution;
+	}
+
+	public void setRatingsPerSolution(double ratingsPerSolution) {
+		this.ratingsPerSolution = ratingsPerSolution;
+	}
+
+	public double getThreadsPerRevision() {
+		return threadsPerRevision;
+	}
+
+	public void setThreadsPerRevision(double threadsPerRevision) {
+		this.threadsPerRevision = threadsPerRevision;
+	}
+
+	public double getCommentsPerThread() {
+		return commentsPerThread;
+	}
+
+	public void setCommentsPerThread(double commentsPerThread) {
+		this.commentsPerThread = commentsPerThread;
+	}
+
+	/**
+	 * @return Fraction of comments that reply to an earlier comment in the same
+	 *         thread
+	 */
+	public double getReplyFraction() {
+		return replyFraction;
+	}
+
+	public void setReplyFraction(double replyFraction) {
+		this.replyFraction = replyFraction;
+	}
+
+	public double getStepResultsPerRevision() {
+		return stepResultsPerRevision;
+	}
+
+	public void setStepResultsPerRevision(double stepResultsPerRevision) {
+		this.stepResultsPerRevision = stepResultsPerRevision;
+	}
+
+	/**
+	 * @return Number of days before the fixed reference date over which
+	 *         creation dates are spread
+	 */
+	public int getDays() {
+		return days;
+	}
+
+	public void setDays(int days) {
+		this.days = days;
+	}
+
+	/**
+	 * @return Maximum number of rows passed to the writer at once
+	 */
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	public void setBatchSize(int batchSize) {
+		this.batchSize = batchSize;
+	}
+
+}
@@ -0,0 +1,74 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Map;
+
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+
+/**
+ * Command-line entry point that writes a generated catalog as a MariaDB/MySQL
+ * script, for loading into a database created from the DDL scripts. Usage:
+ * 
+ * <pre>
+ * CatalogGeneratorTool [--property=value ...] output.sql
+ * </pre>
+ * 
+ * where each property is a property of {@link CatalogGeneratorConfig}, for
+ * example <code>--solutions=500000 --seed=7</code>. Load the script with
+ * <code>mysql -u user -p database &lt; output.sql</code>.
+ */
+public class CatalogGeneratorTool {
+
+	private CatalogGeneratorTool() {
+		// no instances
+	}
+
+	public static void main(String[] args) throws IOException {
+		CatalogGeneratorConfig config = new CatalogGeneratorConfig();
+		BeanWrapper wrapper = new BeanWrapperImpl(config);
+		String output = null;
+		for (String arg : args) {
+			if (arg.startsWith("--") && arg.indexOf('=') > 2)
+				wrapper.setPropertyValue(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+			else
+				output = arg;
+		}
+		if (output == null) {
+			System.err.println("Usage: CatalogGeneratorTool [--property=value ...] output.sql");
+			System.exit(1);
+		}
+		try (Writer out = Files.newBufferedWriter(Paths.get(output), StandardCharsets.UTF_8)) {
+			SqlScriptCatalogWriter writer = new SqlScriptCatalogWriter(out);
+			writer.begin();
+			Map<String, Long> counts = new CatalogGenerator(config, writer).generate();
+			writer.end();
+			System.out.println("Wrote " + counts + " to " + output);
+		}
+	}
+
+}
@@ -0,0 +1,42 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.generator;
+
+import java.util.List;
+
+import org.acumos.cds.domain.MLPEntity;
+
+/**
+ * Receives the rows produced by {@link CatalogGenerator}. Each call passes
+ * instances of a single entity class, and rows are always written after the
+ * rows they refer to.
+ */
+public interface CatalogWriter {
+
+	/**
+	 * Stores a batch of entities.
+	 * 
+	 * @param entities
+	 *            Non-empty list of instances of one entity class
+	 */
+	void write(List<? extends MLPEntity> entities);
+
+}
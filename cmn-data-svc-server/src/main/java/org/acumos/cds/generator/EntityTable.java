@@ -0,0 +1,231 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.generator;
+
+import java.lang.reflect.Field;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.persistence.Column;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Table;
+
+import org.hibernate.annotations.Type;
+
+/**
+ * Describes how an entity class is stored, as derived from its JPA annotations:
+ * the table name and the columns of all persistent fields. Values are converted
+ * as Hibernate would convert them, for example booleans mapped by the "yes_no"
+ * type become "Y" or "N". Columns filled by the database, namely numeric IDs
+ * with a generated value, and binary columns are left out. Rows can be read
+ * back into entities with the same conversions in reverse.
+ */
+public class EntityTable {
+
+	private static final Map<Class<?>, EntityTable> TABLES = new ConcurrentHashMap<>();
+
+	private final Class<?> entityClass;
+	private final String tableName;
+	private final List<Field> fields = new ArrayList<>();
+	private final List<String> columnNames = new ArrayList<>();
+	private final List<Integer> sqlTypes = new ArrayList<>();
+
+	private EntityTable(Class<?> entityClass) {
+		Table table = entityClass.getAnnotation(Table.class);
+		if (table == null)
+			throw new IllegalArgumentException("Not an entity with a table: " + entityClass.getName());
+		this.entityClass = entityClass;
+		this.tableName = table.name();
+		List<Class<?>> hierarchy = new ArrayList<>();
+		for (Class<?> c = entityClass; c != Object.class; c = c.getSuperclass())
+			hierarchy.add(c);
+		Collections.reverse(hierarchy);
+		for (Class<?> c : hierarchy) {
+			for (Field field : c.getDeclaredFields()) {
+				Column column = field.getAnnotation(Column.class);
+				if (column == null || field.getType() == byte[].class
+						|| (field.isAnnotationPresent(GeneratedValue.class) && field.getType() != String.class))
+					continue;
+				field.setAccessible(true);
+				fields.add(field);
+				columnNames.add(column.name());
+				sqlTypes.add(sqlType(field));
+			}
+		}
+	}
+
+	private static boolean isYesNo(Field field) {
+		Type type = field.getAnnotation(Type.class);
+		return type != null && "yes_no".equals(type.type());
+	}
+
+	private static int sqlType(Field field) {
+		Class<?> type = field.getType();
+		if (type == String.class || isYesNo(field))
+			return Types.VARCHAR;
+		else if (type == Short.class || type == short.class)
+			return Types.SMALLINT;
+		else if (type == Integer.class || type == int.class)
+			return Types.INTEGER;
+		else if (type == Long.class || type == long.class)
+			return Types.BIGINT;
+		else if (type == Boolean.class || type == boolean.class)
+			return Types.BOOLEAN;
+		else if (Date.class.isAssignableFrom(type))
+			return Types.TIMESTAMP;
+		else
+			return Types.OTHER;
+	}
+
+	/**
+	 * Gets the mapping of an entity class; mappings are computed once.
+	 * 
+	 * @param entityClass
+	 *            Class with a JPA Table annotation
+	 * @return Table description
+	 */
+	public static EntityTable forClass(Class<?> entityClass) {
+		return TABLES.computeIfAbsent(entityClass, EntityTable::new);
+	}
+
+	public String getTableName() {
+		return tableName;
+	}
+
+	public List<String> getColumnNames() {
+		return columnNames;
+	}
+
+	/**
+	 * @return java.sql.Types codes of the columns, for binding null values
+	 */
+	public List<Integer> getSqlTypes() {
+		return sqlTypes;
+	}
+
+	/**
+	 * @return INSERT statement with one parameter per column
+	 */
+	public String getInsertSql() {
+		StringBuilder sb = new StringBuilder("INSERT INTO ").append(tableName).append(" (")
+				.append(String.join(", ", columnNames)).append(") VALUES (");
+		for (int i = 0; i < columnNames.size(); ++i)
+			sb.append(i == 0 ? "?" : ", ?");
+		return sb.append(')').toString();
+	}
+
+	/**
+	 * @param alias
+	 *            Table alias to qualify the names; null for none
+	 * @return Comma-separated column names in column order
+	 */
+	public String getColumnList(String alias) {
+		if (alias == null)
+			return String.join(", ", columnNames);
+		StringBuilder sb = new StringBuilder();
+		for (String name : columnNames)
+			sb.append(sb.length() == 0 ? "" : ", ").append(alias).append('.').append(name);
+		return sb.toString();
+	}
+
+	/**
+	 * Gets the column values of an entity in column order.
+	 * 
+	 * @param entity
+	 *            Instance of the mapped class
+	 * @return Values ready for binding; dates are Timestamps and "yes_no"
+	 *         booleans are strings
+	 */
+	public Object[] getValues(Object entity) {
+		Object[] values = new Object[fields.size()];
+		try {
+			for (int i = 0; i < values.length; ++i) {
+				Field field = fields.get(i);
+				Object value = field.get(entity);
+				if (value instanceof Boolean && isYesNo(field))
+					value = (Boolean) value ? "Y" : "N";
+				else if (value instanceof Date && !(value instanceof Timestamp))
+					value = new Timestamp(((Date) value).getTime());
+				values[i] = value;
+			}
+		} catch (IllegalAccessException ex) {
+			throw new IllegalStateException("Failed to read entity field", ex);
+		}
+		return values;
+	}
+
+	/**
+	 * Builds an entity from the current row of a result set that has the columns
+	 * in column order, as listed by {@link #getColumnList(String)}.
+	 * 
+	 * @param rs
+	 *            Result set positioned on a row
+	 * @param firstColumn
+	 *            Index of the first column of this table, starting at 1
+	 * @param <T>
+	 *            Entity class
+	 * @return New instance of the mapped class
+	 * @throws SQLException
+	 *             If a column cannot be read
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T readRow(ResultSet rs, int firstColumn) throws SQLException {
+		try {
+			Object entity = entityClass.newInstance();
+			for (int i = 0; i < fields.size(); ++i) {
+				Field field = fields.get(i);
+				Class<?> type = field.getType();
+				int column = firstColumn + i;
+				Object value;
+				if (isYesNo(field))
+					value = "Y".equals(rs.getString(column));
+				else if (type == Short.class || type == short.class)
+					value = rs.getShort(column);
+				else if (type == Integer.class || type == int.class)
+					value = rs.getInt(column);
+				else if (type == Long.class || type == long.class)
+					value = rs.getLong(column);
+				else if (type == Boolean.class || type == boolean.class)
+					value = rs.getBoolean(column);
+				else if (Date.class.isAssignableFrom(type)) {
+					Timestamp ts = rs.getTimestamp(column);
+					value = ts == null ? null : new Date(ts.getTime());
+				} else
+					value = rs.getObject(column);
+				if (rs.wasNull() && !type.isPrimitive())
+					value = null;
+				field.set(entity, value);
+			}
+			return (T) entity;
+		} catch (InstantiationException | IllegalAccessException ex) {
+			throw new IllegalStateException("Failed to build entity", ex);
+		}
+	}
+
+}
@@ -0,0 +1,66 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.generator;
+
+import java.util.List;
+
+import org.acumos.cds.domain.MLPEntity;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Writes each batch through the Spring Data repository of the entity class, in
+ * a transaction per batch, so entities pass through JPA exactly as when the
+ * controllers save them. This is much slower than {@link JdbcCatalogWriter}
+ * and best suited to small catalogs.
+ */
+public class RepositoryCatalogWriter implements CatalogWriter {
+
+	private final Repositories repositories;
+	private final TransactionTemplate transactionTemplate;
+
+	/**
+	 * Builds a writer.
+	 * 
+	 * @param beanFactory
+	 *            Factory with the CDS repositories
+	 * @param transactionManager
+	 *            JPA transaction manager
+	 */
+	public RepositoryCatalogWriter(ListableBeanFactory beanFactory, PlatformTransactionManager transactionManager) {
+		this.repositories = new Repositories(beanFactory);
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public void write(final List<? extends MLPEntity> entities) {
+		Class<?> entityClass = entities.get(0).getClass();
+		Object repository = repositories.getRepositoryFor(entityClass);
+		if (!(repository instanceof CrudRepository))
+			throw new IllegalArgumentException("No repository for " + entityClass.getName());
+		transactionTemplate.execute(status -> ((CrudRepository<MLPEntity, ?>) repository).save(entities));
+	}
+
+}
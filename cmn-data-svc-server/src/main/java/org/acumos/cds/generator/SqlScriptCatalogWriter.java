@@ -0,0 +1,117 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.generator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.sql.Timestamp;
+import java.text.SimpleDateFormat;
+import java.util.List;
+import java.util.TimeZone;
+
+import org.acumos.cds.domain.MLPEntity;
+
+/**
+ * Writes each batch as one multi-row INSERT statement in MariaDB/MySQL syntax,
+ * which the mysql command-line client loads far faster than individual
+ * statements. The script disables foreign-key and unique checks and runs in a
+ * single transaction; call {@link #begin()} before the first batch and
+ * {@link #end()} after the last one. Timestamps are written in UTC and the
+ * script sets the session time zone accordingly.
+ */
+public class SqlScriptCatalogWriter implements CatalogWriter {
+
+	private final Writer writer;
+	private final SimpleDateFormat timestampFormat;
+
+	/**
+	 * Builds a writer.
+	 * 
+	 * @param writer
+	 *            Destination of the script; not closed by this class
+	 */
+	public SqlScriptCatalogWriter(Writer writer) {
+		this.writer = writer;
+		this.timestampFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
+		this.timestampFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+	}
+
+	private void append(String s) {
+		try {
+			writer.write(s);
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	/**
+	 * Writes the statements that precede the inserts.
+	 */
+	public void begin() {
+		append("SET time_zone = '+00:00';\nSET foreign_key_checks = 0;\nSET unique_checks = 0;\n"
+				+ "SET autocommit = 0;\n");
+	}
+
+	/**
+	 * Writes the statements that follow the inserts.
+	 */
+	public void end() {
+		append("COMMIT;\nSET unique_checks = 1;\nSET foreign_key_checks = 1;\n");
+	}
+
+	private String literal(Object value) {
+		if (value == null)
+			return "NULL";
+		else if (value instanceof Number)
+			return value.toString();
+		else if (value instanceof Boolean)
+			return (Boolean) value ? "TRUE" : "FALSE";
+		else if (value instanceof Timestamp)
+			return "'" + timestampFormat.format(value) + "'";
+		StringBuilder sb = new StringBuilder("'");
+		for (char c : value.toString().toCharArray()) {
+			if (c == '\'' || c == '\\')
+				sb.append('\\');
+			sb.append(c);
+		}
+		return sb.append('\'').toString();
+	}
+
+	@Override
+	public void write(List<? extends MLPEntity> entities) {
+		EntityTable table = EntityTable.forClass(entities.get(0).getClass());
+		StringBuilder sb = new StringBuilder("INSERT INTO ").append(table.getTableName()).append(" (")
+				.append(String.join(", ", table.getColumnNames())).append(") VALUES\n");
+		for (int i = 0; i < entities.size(); ++i) {
+			sb.append(i == 0 ? "(" : ",\n(");
+			Object[] values = table.getValues(entities.get(i));
+			for (int c = 0; c < values.length; ++c) {
+				if (c > 0)
+					sb.append(", ");
+				sb.append(literal(values[c]));
+			}
+			sb.append(')');
+		}
+		append(sb.append(";\n").toString());
+	}
+
+}
@@ -0,0 +1,75 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.generator;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Draws ranks 0..n-1 where the probability of rank k is proportional to
+ * 1/(k+1)^s. The cumulative distribution is computed once, so each draw is a
+ * binary search.
+ */
+public class ZipfDistribution {
+
+	private final double[] cdf;
+
+	/**
+	 * Builds a distribution.
+	 * 
+	 * @param n
+	 *            Number of ranks
+	 * @param exponent
+	 *            Skew; 0 is uniform
+	 */
+	public ZipfDistribution(int n, double exponent) {
+		if (n < 1 || exponent < 0)
+			throw new IllegalArgumentException("Size must be positive and exponent non-negative");
+		cdf = new double[n];
+		double sum = 0;
+		for (int k = 0; k < n; ++k) {
+			sum += 1 / Math.pow(k + 1, exponent);
+			cdf[k] = sum;
+		}
+		for (int k = 0; k < n; ++k)
+			cdf[k] /= sum;
+	}
+
+	/**
+	 * @param rank
+	 *            Rank
+	 * @return Probability of the rank
+	 */
+	public double probability(int rank) {
+		return rank == 0 ? cdf[0] : cdf[rank] - cdf[rank - 1];
+	}
+
+	/**
+	 * @param random
+	 *            Source of randomness
+	 * @return A rank
+	 */
+	public int sample(Random random) {
+		int i = Arrays.binarySearch(cdf, random.nextDouble());
+		return Math.min(i < 0 ? -i - 1 : i, cdf.length - 1);
+	}
+
+}
@@ -20,6 +20,9 @@
 
 package org.acumos.cds.repository;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.acumos.cds.domain.MLPComment;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -55,6 +58,16 @@ public interface CommentRepository extends PagingAndSortingRepository<MLPComment
 	 */
 	Page<MLPComment> findByThreadId(String threadId, Pageable pageable);
 
+	/**
+	 * Gets all comments in the specified threads, oldest first.
+	 * 
+	 * @param threadIds
+	 *            Thread IDs
+	 * @return List of MLPComment
+	 */
+	@Query("SELECT c FROM MLPComment c WHERE c.threadId IN :threadIds ORDER BY c.created, c.commentId")
+	List<MLPComment> findByThreadIds(@Param("threadIds") Collection<String> threadIds);
+
 	/**
 	 * Gets the count of comments for a solution revision.
 	 * 
@@ -20,6 +20,9 @@
 
 package org.acumos.cds.repository;
 
+import java.util.Date;
+import java.util.List;
+
 import org.acumos.cds.domain.MLPNotification;
 import org.acumos.cds.domain.MLPUserNotification;
 import org.springframework.data.domain.Page;
@@ -50,4 +53,24 @@ public interface NotificationRepository extends PagingAndSortingRepository<MLPNo
 			+ "   and m.userId = :userId ")
 	Page<MLPUserNotification> findActiveByUser(@Param("userId") String userId, Pageable pageable);
 
+	/**
+	 * Finds all notifications assigned to the specified user that have not ended
+	 * at the specified time, including those that have not yet started. Result
+	 * includes the viewed date, which is null if the user has not read it.
+	 * 
+	 * @param userId
+	 *            User ID
+	 * @param now
+	 *            Point in time
+	 * @return List of notification objects ordered by start time, latest first
+	 */
+	@Query(value = "select new org.acumos.cds.domain.MLPUserNotification" //
+			+ "    (n.notificationId, n.title, n.message, n.url, n.start, n.end, m.viewed)" //
+			+ " from MLPNotification n, MLPNotifUserMap m" //
+			+ " where n.end >= :now " //
+			+ "   and n.notificationId = m.notificationId " //
+			+ "   and m.userId = :userId " //
+			+ " order by n.start desc")
+	List<MLPUserNotification> findUnexpiredByUser(@Param("userId") String userId, @Param("now") Date now);
+
 }
@@ -22,7 +22,17 @@
 
 import org.acumos.cds.domain.MLPSolRevArtMap;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
 public interface SolRevArtMapRepository extends CrudRepository<MLPSolRevArtMap, MLPSolRevArtMap.SolRevArtMapPK> {
 
+	/**
+	 * Gets all map entries for the specified revision ID.
+	 * 
+	 * @param revisionId
+	 *            Revision ID
+	 * @return Iterable of MLPSolRevArtMap
+	 */
+	Iterable<MLPSolRevArtMap> findByRevisionId(@Param("revisionId") String revisionId);
+
 }
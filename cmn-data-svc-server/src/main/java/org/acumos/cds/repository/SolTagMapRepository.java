@@ -28,6 +28,15 @@
 
 public interface SolTagMapRepository extends CrudRepository<MLPSolTagMap, MLPSolTagMap.SolTagMapPK> {
 
+	/**
+	 * Gets all map entries for the specified solution ID.
+	 * 
+	 * @param solutionId
+	 *            Solution ID
+	 * @return Iterable of MLPSolTagMap
+	 */
+	Iterable<MLPSolTagMap> findBySolutionId(@Param("solutionId") String solutionId);
+
 	/**
 	 * Deletes all map entries for the specified solution ID.
 	 * 
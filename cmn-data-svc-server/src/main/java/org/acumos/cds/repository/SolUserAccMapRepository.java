@@ -47,7 +47,9 @@
 	Iterable<MLPUser> getUsersForSolution(@Param("solutionId") String solutionId);
 
 	/**
-	 * Gets a page of solutions to which the specified user has access.
+	 * Gets a page of solutions to which the specified user has access. Fetches the
+	 * web stats in the same query; this repository's entity type is the map, so an
+	 * entity graph cannot name the solution attribute.
 	 * 
 	 * @param userId
 	 *            User ID
@@ -55,9 +57,12 @@
 	 *            Pageable
 	 * @return Page of MLPSolution
 	 */
-	@Query(value = "SELECT s FROM MLPSolution s, MLPSolUserAccMap m " //
+	@Query(value = "SELECT s FROM MLPSolution s LEFT JOIN FETCH s.webStats, MLPSolUserAccMap m " //
 			+ " WHERE s.solutionId =  m.solutionId " //
-			+ " AND m.userId = :userId")
+			+ " AND m.userId = :userId", //
+			countQuery = "SELECT COUNT(s) FROM MLPSolution s, MLPSolUserAccMap m " //
+					+ " WHERE s.solutionId =  m.solutionId " //
+					+ " AND m.userId = :userId")
 	Page<MLPSolution> getSolutionsForUser(@Param("userId") String userId, Pageable pageRequest);
 
 	/**
@@ -20,9 +20,12 @@
 
 package org.acumos.cds.repository;
 
+import javax.persistence.LockModeType;
+
 import org.acumos.cds.domain.MLPSolutionRating;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
@@ -81,4 +84,18 @@
 	@Transactional // throws exception without this
 	void deleteBySolutionId(@Param("solutionId") String solutionId);
 
+	/**
+	 * Gets a rating and locks its row until the current transaction ends, so the
+	 * old value used to adjust the statistics cannot change meanwhile.
+	 * 
+	 * @param solutionId
+	 *            Solution ID
+	 * @param userId
+	 *            User ID
+	 * @return Rating; null if not found
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT r FROM MLPSolutionRating r WHERE r.solutionId = :solutionId AND r.userId = :userId")
+	MLPSolutionRating findForUpdate(@Param("solutionId") String solutionId, @Param("userId") String userId);
+
 }
@@ -23,10 +23,13 @@
 import org.acumos.cds.domain.MLPSolution;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Defines methods to process queries on specific fields and yield paginated
@@ -35,6 +38,19 @@
  */
 public interface SolutionRepository extends JpaRepository<MLPSolution, String>, JpaSpecificationExecutor<MLPSolution> {
 
+	/**
+	 * Gets a page of solutions. Redeclared to join the web stats into the page
+	 * query; Hibernate loads eager one-one associations of query results one row
+	 * at a time, while the tags are loaded in batches.
+	 * 
+	 * @param pageable
+	 *            Page and sort criteria
+	 * @return Page of MLPSolution
+	 */
+	@Override
+	@EntityGraph(attributePaths = { "webStats" })
+	Page<MLPSolution> findAll(Pageable pageable);
+
 	/**
 	 * Finds solutions using a LIKE query on the text columns NAME and DESCRIPTION.
 	 * 
@@ -44,6 +60,7 @@ public interface SolutionRepository extends JpaRepository<MLPSolution, String>,
 	 *            Page and sort criteria
 	 * @return Page of MLPSolution
 	 */
+	@EntityGraph(attributePaths = { "webStats" })
 	@Query("SELECT s FROM MLPSolution s " //
 			+ " WHERE LOWER(s.name) LIKE LOWER(CONCAT('%', :searchTerm, '%'))" //
 			+ " OR LOWER(s.description) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
@@ -58,6 +75,7 @@ public interface SolutionRepository extends JpaRepository<MLPSolution, String>,
 	 *            Page and sort criteria
 	 * @return Page of MLPSolution
 	 */
+	@EntityGraph(attributePaths = { "webStats" })
 	@Query(value = "SELECT s FROM MLPSolution s, MLPSolTagMap m " //
 			+ " WHERE s.solutionId =  m.solutionId " //
 			+ "   AND m.tag = :tag")
@@ -77,6 +95,7 @@ public interface SolutionRepository extends JpaRepository<MLPSolution, String>,
 	 *            Page and sort criteria
 	 * @return Page of MLPSolution, which may be empty
 	 */
+	@EntityGraph(attributePaths = { "webStats" })
 	@Query(value = "SELECT s FROM MLPSolution s WHERE s.active = true and s.solutionId in "
 			+ " ( SELECT DISTINCT sg.solutionId FROM MLPPeerGrpMemMap pg, MLPPeerSolAccMap psg, MLPSolGrpMemMap sg "
 			+ " WHERE pg.peerId = :peerId "//
@@ -85,4 +104,31 @@ public interface SolutionRepository extends JpaRepository<MLPSolution, String>,
 			+ "  ) ")
 	Page<MLPSolution> findRestrictedSolutions(@Param("peerId") String peerId, Pageable pageRequest);
 
+	/**
+	 * Gets the picture hash of the specified solution from the database.
+	 * 
+	 * @param solutionId
+	 *            Solution ID
+	 * @return Hash of the picture; null if the solution has no picture or does
+	 *         not exist
+	 */
+	@Query("SELECT s.pictureHash FROM MLPSolution s WHERE s.solutionId = :solutionId")
+	String findPictureHash(@Param("solutionId") String solutionId);
+
+	/**
+	 * Sets the picture hash of the specified solution and updates its modified date,
+	 * without reading or writing the other columns.
+	 * 
+	 * @param solutionId
+	 *            Solution ID
+	 * @param pictureHash
+	 *            Hash of the picture; null if the solution has no picture
+	 * @return Number of rows updated
+	 */
+	@Modifying
+	@Transactional // throws exception without this
+	@Query("UPDATE MLPSolution s SET s.pictureHash = :pictureHash, s.modified = CURRENT_TIMESTAMP " //
+			+ " WHERE s.solutionId = :solutionId")
+	int updatePictureHash(@Param("solutionId") String solutionId, @Param("pictureHash") String pictureHash);
+
 }
@@ -20,6 +20,9 @@
 
 package org.acumos.cds.repository;
 
+import java.util.Date;
+import java.util.List;
+
 import org.acumos.cds.domain.MLPSolutionWeb;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -43,4 +46,111 @@ public interface SolutionWebRepository extends CrudRepository<MLPSolutionWeb, St
 			+ " WHERE s.solutionId = :solutionId")
 	void incrementViewCount(@Param("solutionId") String solutionId);
 
+	/**
+	 * Increments the solution download count by 1 and sets the last-download
+	 * date in a single statement, so concurrent downloads are not lost.
+	 * 
+	 * @param solutionId
+	 *            Solution ID
+	 * @param lastDownload
+	 *            Date of the download
+	 */
+	@Modifying
+	@Transactional // throws exception without this
+	@Query(value = "UPDATE MLPSolutionWeb s SET s.downloadCount = COALESCE(s.downloadCount, 0) + 1, " //
+			+ " s.lastDownload = :lastDownload WHERE s.solutionId = :solutionId")
+	void incrementDownloadCount(@Param("solutionId") String solutionId, @Param("lastDownload") Date lastDownload);
+
+	/**
+	 * Decrements the solution download count by 1, stopping at zero.
+	 * 
+	 * @param solutionId
+	 *            Solution ID
+	 */
+	@Modifying
+	@Transactional // throws exception without this
+	@Query(value = "UPDATE MLPSolutionWeb s SET s.downloadCount = s.downloadCount - 1" //
+			+ " WHERE s.solutionId = :solutionId AND s.downloadCount > 0")
+	void decrementDownloadCount(@Param("solutionId") String solutionId);
+
+	/**
+	 * Adds one rating to the rating count and average. The average is updated
+	 * before the count because MySQL evaluates assignments left to right.
+	 * 
+	 * @param solutionId
+	 *            Solution ID
+	 * @param rating
+	 *            Rating value
+	 */
+	@Modifying
+	@Transactional // throws exception without this
+	@Query(value = "UPDATE MLPSolutionWeb s SET s.ratingAverageTenths = FLOOR(0.5 + " //
+			+ " (1.0 * COALESCE(s.ratingAverageTenths, 0) * COALESCE(s.ratingCount, 0) + 10 * :rating)" //
+			+ " / (COALESCE(s.ratingCount, 0) + 1)), " //
+			+ " s.ratingCount = COALESCE(s.ratingCount, 0) + 1" //
+			+ " WHERE s.solutionId = :solutionId")
+	void addRating(@Param("solutionId") String solutionId, @Param("rating") Integer rating);
+
+	/**
+	 * Adjusts the rating average for a change to one rating; the count is
+	 * unchanged.
+	 * 
+	 * @param solutionId
+	 *            Solution ID
+	 * @param delta
+	 *            New rating value minus old rating value
+	 */
+	@Modifying
+	@Transactional // throws exception without this
+	@Query(value = "UPDATE MLPSolutionWeb s SET s.ratingAverageTenths = FLOOR(0.5 + " //
+			+ " COALESCE(s.ratingAverageTenths, 0) + 10 * :delta / (1.0 * s.ratingCount))" //
+			+ " WHERE s.solutionId = :solutionId AND s.ratingCount > 0")
+	void changeRating(@Param("solutionId") String solutionId, @Param("delta") Integer delta);
+
+	/**
+	 * Removes one rating from the rating count and average. The average is
+	 * updated before the count because MySQL evaluates assignments left to right.
+	 * 
+	 * @param solutionId
+	 *            Solution ID
+	 * @param rating
+	 *            Rating value that was removed
+	 */
+	@Modifying
+	@Transactional // throws exception without this
+	@Query(value = "UPDATE MLPSolutionWeb s SET s.ratingAverageTenths = " //
+			+ " CASE WHEN s.ratingCount > 1 THEN FLOOR(0.5 + " //
+			+ " (1.0 * COALESCE(s.ratingAverageTenths, 0) * s.ratingCount - 10 * :rating) / (s.ratingCount - 1))" //
+			+ " ELSE 0 END, " //
+			+ " s.ratingCount = CASE WHEN s.ratingCount > 1 THEN (s.ratingCount - 1) ELSE 0 END" //
+			+ " WHERE s.solutionId = :solutionId")
+	void removeRating(@Param("solutionId") String solutionId, @Param("rating") Integer rating);
+
+	/**
+	 * Recomputes the download and rating statistics from the base tables in a
+	 * single statement. Corrects any drift in the incrementally maintained
+	 * values, such as rounding of the average.
+	 * 
+	 * @param solutionId
+	 *            Solution ID
+	 */
+	@Modifying
+	@Transactional // throws exception without this
+	@Query(value = "UPDATE MLPSolutionWeb s SET " //
+			+ " s.downloadCount = (SELECT COUNT(d.downloadId) FROM MLPSolutionDownload d WHERE d.solutionId = :solutionId), " //
+			+ " s.ratingAverageTenths = (SELECT CASE WHEN COUNT(r.rating) > 0" //
+			+ "   THEN FLOOR(0.5 + 10.0 * SUM(r.rating) / COUNT(r.rating)) ELSE 0 END" //
+			+ "   FROM MLPSolutionRating r WHERE r.solutionId = :solutionId), " //
+			+ " s.ratingCount = (SELECT COUNT(r.rating) FROM MLPSolutionRating r WHERE r.solutionId = :solutionId)" //
+			+ " WHERE s.solutionId = :solutionId")
+	void reconcileStats(@Param("solutionId") String solutionId);
+
+	/**
+	 * Gets the IDs of all solutions that have web statistics.
+	 * 
+	 * @return List of solution IDs
+	 */
+	@Query(value = "SELECT s.solutionId FROM MLPSolutionWeb s")
+	List<String> findAllSolutionIds();
+
 }
@@ -23,9 +23,11 @@
 import org.acumos.cds.domain.MLPUser;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface UserRepository extends PagingAndSortingRepository<MLPUser, String> {
 
@@ -57,4 +59,31 @@ public interface UserRepository extends PagingAndSortingRepository<MLPUser, Stri
 			+ " OR LOWER(u.loginName)    LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
 	Page<MLPUser> findBySearchTerm(@Param("searchTerm") String searchTerm, Pageable pageRequest);
 
+	/**
+	 * Gets the picture hash of the specified user from the database.
+	 * 
+	 * @param userId
+	 *            User ID
+	 * @return Hash of the picture; null if the user has no picture or does not
+	 *         exist
+	 */
+	@Query("SELECT u.pictureHash FROM MLPUser u WHERE u.userId = :userId")
+	String findPictureHash(@Param("userId") String userId);
+
+	/**
+	 * Sets the picture hash of the specified user and updates its modified date,
+	 * without reading or writing the other columns.
+	 * 
+	 * @param userId
+	 *            User ID
+	 * @param pictureHash
+	 *            Hash of the picture; null if the user has no picture
+	 * @return Number of rows updated
+	 */
+	@Modifying
+	@Transactional // throws exception without this
+	@Query("UPDATE MLPUser u SET u.pictureHash = :pictureHash, u.modified = CURRENT_TIMESTAMP " //
+			+ " WHERE u.userId = :userId")
+	int updatePictureHash(@Param("userId") String userId, @Param("pictureHash") String pictureHash);
+
 }
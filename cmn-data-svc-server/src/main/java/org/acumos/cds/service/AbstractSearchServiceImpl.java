@@ -20,14 +20,22 @@
 
 package org.acumos.cds.service;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
+import org.acumos.cds.transport.RestPageResponse;
 import org.hibernate.Criteria;
+import org.hibernate.FetchMode;
+import org.hibernate.Session;
 import org.hibernate.criterion.Criterion;
 import org.hibernate.criterion.Junction;
 import org.hibernate.criterion.Order;
 import org.hibernate.criterion.Restrictions;
+import org.hibernate.metadata.ClassMetadata;
+import org.hibernate.type.Type;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 
@@ -36,6 +44,9 @@
  */
 public abstract class AbstractSearchServiceImpl {
 
+	/** Number of values in one IN list */
+	private static final int MAX_IN_LIST_SIZE = 1000;
+
 	/**
 	 * Populates a criteria object for Hibernate.
 	 * 
@@ -109,6 +120,27 @@ protected Criterion buildLikeListCriterion(String fieldName, String[] values, bo
 		return junction;
 	}
 
+	/**
+	 * Builds a criterion to check that the field value is one of the values.
+	 * Large lists are split into a disjunction of IN lists because some databases
+	 * limit the size of an IN list.
+	 * 
+	 * @param fieldName
+	 *            POJO field name
+	 * @param values
+	 *            Values; must not be empty
+	 * @return Criterion
+	 */
+	protected Criterion buildInCriterion(String fieldName, Collection<?> values) {
+		List<?> list = new ArrayList<>(values);
+		if (list.size() <= MAX_IN_LIST_SIZE)
+			return Restrictions.in(fieldName, list);
+		Junction junction = Restrictions.disjunction();
+		for (int i = 0; i < list.size(); i += MAX_IN_LIST_SIZE)
+			junction.add(Restrictions.in(fieldName, list.subList(i, Math.min(list.size(), i + MAX_IN_LIST_SIZE))));
+		return junction;
+	}
+
 	/**
 	 * Adds page-request criteria to the criteria.
 	 * 
@@ -157,4 +189,120 @@ protected void applySortCriteria(Criteria criteria, Pageable pageable) {
 		}
 	}
 
+	/**
+	 * Fetches a page of entities using seek (keyset) pagination instead of an
+	 * offset. The sort is on a single non-nullable property with the primary key
+	 * as tie-breaker, and the continuation token carries both values from the
+	 * last item of the previous page. Each page is fetched with a range predicate
+	 * on those values, so walking all pages costs time linear in the number of
+	 * rows. The total count is not computed; the last page is signaled by a null
+	 * next-page token.
+	 * 
+	 * @param <T>
+	 *            Entity type
+	 * @param session
+	 *            Hibernate session
+	 * @param entityClass
+	 *            Entity class to query
+	 * @param token
+	 *            Continuation token from a previous page; null or empty to fetch
+	 *            the first page
+	 * @param pageable
+	 *            Page size and optional sort on one property, which is ignored if
+	 *            a token is supplied; the page number is ignored
+	 * @return Page of entities with a token for the next page if more may exist
+	 * @throws IllegalArgumentException
+	 *             if the token is malformed or the sort property is unknown or
+	 *             nullable
+	 */
+	@SuppressWarnings("unchecked")
+	protected <T> RestPageResponse<T> runSeekQuery(Session session, Class<T> entityClass, String token,
+			Pageable pageable) {
+		ClassMetadata metadata = session.getSessionFactory().getClassMetadata(entityClass);
+		final String idProperty = metadata.getIdentifierPropertyName();
+
+		SeekToken seek = null;
+		String sortProperty = idProperty;
+		boolean ascending = true;
+		if (token != null && !token.isEmpty()) {
+			seek = SeekToken.decode(token);
+			sortProperty = seek.getProperty();
+			ascending = seek.isAscending();
+		} else if (pageable.getSort() != null && pageable.getSort().iterator().hasNext()) {
+			Sort.Order sortOrder = pageable.getSort().iterator().next();
+			sortProperty = sortOrder.getProperty();
+			ascending = sortOrder.isAscending();
+		}
+		final boolean sortOnId = idProperty.equals(sortProperty);
+		if (!sortOnId)
+			validateSeekProperty(metadata, sortProperty);
+
+		Criteria criteria = session.createCriteria(entityClass);
+		// Use separate selects for collections so the limit applies to entities,
+		// and join single-valued associations such as the solution web stats
+		for (String name : metadata.getPropertyNames()) {
+			if (metadata.getPropertyType(name).isCollectionType())
+				criteria.setFetchMode(name, FetchMode.SELECT);
+			else if (metadata.getPropertyType(name).isEntityType())
+				criteria.setFetchMode(name, FetchMode.JOIN);
+		}
+		if (seek != null) {
+			if (sortOnId) {
+				criteria.add(ascending ? Restrictions.gt(idProperty, seek.getIdValue())
+						: Restrictions.lt(idProperty, seek.getIdValue()));
+			} else {
+				Criterion beyondSort = ascending ? Restrictions.gt(sortProperty, seek.getSortValue())
+						: Restrictions.lt(sortProperty, seek.getSortValue());
+				Criterion beyondId = Restrictions.and(Restrictions.eq(sortProperty, seek.getSortValue()),
+						ascending ? Restrictions.gt(idProperty, seek.getIdValue())
+								: Restrictions.lt(idProperty, seek.getIdValue()));
+				criteria.add(Restrictions.or(beyondSort, beyondId));
+			}
+		}
+		if (!sortOnId)
+			criteria.addOrder(ascending ? Order.asc(sortProperty) : Order.desc(sortProperty));
+		criteria.addOrder(ascending ? Order.asc(idProperty) : Order.desc(idProperty));
+		criteria.setMaxResults(pageable.getPageSize());
+		criteria.setResultTransformer(Criteria.DISTINCT_ROOT_ENTITY);
+		List<T> items = criteria.list();
+
+		RestPageResponse<T> page = new RestPageResponse<>(items);
+		page.setSize(pageable.getPageSize());
+		page.setFirst(seek == null);
+		// A short page must be the last
+		boolean last = items.size() < pageable.getPageSize();
+		page.setLast(last);
+		if (!last) {
+			T lastItem = items.get(items.size() - 1);
+			Object idValue = session.getIdentifier(lastItem);
+			Object sortValue = sortOnId ? idValue : metadata.getPropertyValue(lastItem, sortProperty);
+			page.setNextToken(new SeekToken(sortProperty, ascending, sortValue, idValue).encode());
+		}
+		return page;
+	}
+
+	/**
+	 * Checks that the property exists and is not nullable, which seek pagination
+	 * requires because database null ordering is not portable, and that its
+	 * values can be carried in a token.
+	 * 
+	 * @param metadata
+	 *            Entity metadata
+	 * @param property
+	 *            Property name
+	 */
+	private void validateSeekProperty(ClassMetadata metadata, String property) {
+		String[] names = metadata.getPropertyNames();
+		boolean[] nullability = metadata.getPropertyNullability();
+		for (int i = 0; i < names.length; ++i) {
+			if (names[i].equals(property)) {
+				Type type = metadata.getPropertyTypes()[i];
+				if (nullability[i] || type.isAssociationType() || !SeekToken.isSupportedType(type.getReturnedClass()))
+					throw new IllegalArgumentException("Property cannot be used for seek: " + property);
+				return;
+			}
+		}
+		throw new IllegalArgumentException("Unknown property: " + property);
+	}
+
 }
@@ -26,6 +26,7 @@
 import java.util.Map;
 
 import org.acumos.cds.domain.MLPArtifact;
+import org.acumos.cds.transport.RestPageResponse;
 import org.hibernate.Criteria;
 import org.hibernate.SessionFactory;
 import org.hibernate.criterion.Projections;
@@ -75,4 +76,12 @@ public Page<MLPArtifact> findArtifacts(Map<String, ? extends Object> queryParame
 		return new PageImpl<>(items, pageable, count);
 	}
 
+	@Override
+	public RestPageResponse<MLPArtifact> seekArtifacts(String token, Pageable pageable) {
+		RestPageResponse<MLPArtifact> page = runSeekQuery(sessionFactory.getCurrentSession(), MLPArtifact.class, token,
+				pageable);
+		logger.info("seekArtifacts: result size={}", page.getNumberOfElements());
+		return page;
+	}
+
 }
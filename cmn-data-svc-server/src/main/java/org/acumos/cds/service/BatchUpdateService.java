@@ -0,0 +1,83 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.service;
+
+import java.util.List;
+
+import org.acumos.cds.domain.MLPArtifact;
+import org.acumos.cds.transport.BatchResultTransport;
+
+/**
+ * Defines methods that write many entities in one transaction. Each item is
+ * validated first and the result reports its outcome in request order. Items
+ * that fail validation are skipped; the rest are written together so Hibernate
+ * can send the statements in JDBC batches. A failure while writing rolls back
+ * the entire batch and is thrown to the caller.
+ */
+public interface BatchUpdateService {
+
+	/**
+	 * Creates artifacts, generating IDs as needed.
+	 * 
+	 * @param artifacts
+	 *            List of artifacts
+	 * @return Result for each artifact with the ID of each new row
+	 */
+	BatchResultTransport createArtifacts(List<MLPArtifact> artifacts);
+
+	/**
+	 * Updates existing artifacts.
+	 * 
+	 * @param artifacts
+	 *            List of artifacts with IDs
+	 * @return Result for each artifact
+	 */
+	BatchResultTransport updateArtifacts(List<MLPArtifact> artifacts);
+
+	/**
+	 * Adds or removes artifacts of a revision. The caller must check that the
+	 * revision exists.
+	 * 
+	 * @param revisionId
+	 *            Revision ID
+	 * @param isAdd
+	 *            If true, add the artifacts; if false, remove them
+	 * @param artifactIds
+	 *            List of artifact IDs
+	 * @return Result for each artifact ID
+	 */
+	BatchResultTransport addOrDropRevisionArtifacts(String revisionId, boolean isAdd, List<String> artifactIds);
+
+	/**
+	 * Adds or removes tags of a solution, creating tags as needed. The caller
+	 * must check that the solution exists.
+	 * 
+	 * @param solutionId
+	 *            Solution ID
+	 * @param isAdd
+	 *            If true, add the tags; if false, remove them
+	 * @param tags
+	 *            List of tag strings
+	 * @return Result for each tag
+	 */
+	BatchResultTransport addOrDropSolutionTags(String solutionId, boolean isAdd, List<String> tags);
+
+}
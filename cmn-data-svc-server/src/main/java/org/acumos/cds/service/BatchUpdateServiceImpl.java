@@ -0,0 +1,302 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.service;
+
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import javax.servlet.http.HttpServletResponse;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+
+import org.acumos.cds.CodeNameType;
+import org.acumos.cds.domain.MLPArtifact;
+import org.acumos.cds.domain.MLPSolRevArtMap;
+import org.acumos.cds.domain.MLPSolTagMap;
+import org.acumos.cds.domain.MLPTag;
+import org.acumos.cds.repository.ArtifactRepository;
+import org.acumos.cds.repository.SolRevArtMapRepository;
+import org.acumos.cds.repository.SolTagMapRepository;
+import org.acumos.cds.repository.TagRepository;
+import org.acumos.cds.transport.BatchItemTransport;
+import org.acumos.cds.transport.BatchResultTransport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Loads the rows needed to validate a batch with one query per table, so the
+ * cost of validation does not grow with round trips. Statements are written
+ * when the transaction commits; the JDBC batch size is configured by property
+ * spring.jpa.properties.hibernate.jdbc.batch_size.
+ */
+@Service("batchUpdateService")
+@Transactional
+public class BatchUpdateServiceImpl implements BatchUpdateService {
+
+	private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+	private static final String NO_ENTRY_WITH_ID = "No entry with ID ";
+
+	@Autowired
+	private ArtifactRepository artifactRepository;
+	@Autowired
+	private SolRevArtMapRepository solRevArtMapRepository;
+	@Autowired
+	private SolTagMapRepository solTagMapRepository;
+	@Autowired
+	private TagRepository tagRepository;
+	@Autowired
+	private CodeNameService codeNameService;
+	@Autowired
+	private EntityCacheService entityCacheService;
+	@Autowired
+	private Validator validator;
+
+	/**
+	 * Checks the fields that would otherwise fail only when the batch is flushed.
+	 * 
+	 * @return Reason the artifact is not valid; null if valid
+	 */
+	private String validateArtifact(MLPArtifact artifact) {
+		Set<ConstraintViolation<MLPArtifact>> violations = validator.validate(artifact);
+		if (!violations.isEmpty()) {
+			ConstraintViolation<MLPArtifact> cv = violations.iterator().next();
+			return cv.getPropertyPath() + ": " + cv.getMessage();
+		}
+		if (!codeNameService.validateCode(artifact.getArtifactTypeCode(), CodeNameType.ARTIFACT_TYPE))
+			return "Unexpected code " + artifact.getArtifactTypeCode() + " for CodeNameType "
+					+ CodeNameType.ARTIFACT_TYPE.name();
+		if (entityCacheService.getUser(artifact.getUserId()) == null)
+			return NO_ENTRY_WITH_ID + artifact.getUserId();
+		return null;
+	}
+
+	/**
+	 * Gets the IDs of the artifacts that exist.
+	 */
+	private Set<String> findArtifactIds(Set<String> artifactIds) {
+		Set<String> found = new HashSet<>();
+		for (MLPArtifact a : artifactRepository.findAll(artifactIds))
+			found.add(a.getArtifactId());
+		return found;
+	}
+
+	/**
+	 * Drops nulls and duplicates so the list can be used in an IN clause.
+	 */
+	private static Set<String> nonNull(List<String> values) {
+		Set<String> set = new HashSet<>(values);
+		set.remove(null);
+		return set;
+	}
+
+	/**
+	 * Builds the result in request order.
+	 */
+	private static BatchResultTransport buildResult(BatchItemTransport[] items) {
+		BatchResultTransport result = new BatchResultTransport();
+		for (BatchItemTransport item : items)
+			result.addItem(item);
+		return result;
+	}
+
+	@Override
+	public BatchResultTransport createArtifacts(List<MLPArtifact> artifacts) {
+		Set<String> suppliedIds = new HashSet<>();
+		for (MLPArtifact a : artifacts)
+			if (a != null && a.getArtifactId() != null)
+				suppliedIds.add(a.getArtifactId());
+		Set<String> existingIds = findArtifactIds(suppliedIds);
+		Set<String> seenIds = new HashSet<>();
+		BatchItemTransport[] items = new BatchItemTransport[artifacts.size()];
+		List<MLPArtifact> valid = new ArrayList<>();
+		List<Integer> validIndexes = new ArrayList<>();
+		for (int i = 0; i < artifacts.size(); ++i) {
+			MLPArtifact a = artifacts.get(i);
+			String id = a == null ? null : a.getArtifactId();
+			String error = null;
+			if (a == null) {
+				error = "Null entry";
+			} else if (id != null) {
+				try {
+					UUID.fromString(id);
+					if (existingIds.contains(id) || !seenIds.add(id))
+						error = "ID exists: " + id;
+				} catch (IllegalArgumentException ex) {
+					error = "Invalid ID " + id;
+				}
+			}
+			if (error == null)
+				error = validateArtifact(a);
+			if (error != null) {
+				items[i] = new BatchItemTransport(i, id, HttpServletResponse.SC_BAD_REQUEST, error);
+			} else {
+				valid.add(a);
+				validIndexes.add(i);
+			}
+		}
+		// New entities are persisted; those with supplied IDs are merged
+		Iterable<MLPArtifact> saved = artifactRepository.save(valid);
+		int k = 0;
+		for (MLPArtifact a : saved) {
+			int i = validIndexes.get(k++);
+			items[i] = new BatchItemTransport(i, a.getArtifactId(), HttpServletResponse.SC_CREATED, null);
+		}
+		logger.debug("createArtifacts: created {} of {}", valid.size(), artifacts.size());
+		return buildResult(items);
+	}
+
+	@Override
+	public BatchResultTransport updateArtifacts(List<MLPArtifact> artifacts) {
+		Set<String> suppliedIds = new HashSet<>();
+		for (MLPArtifact a : artifacts)
+			if (a != null && a.getArtifactId() != null)
+				suppliedIds.add(a.getArtifactId());
+		// Loads the existing rows into the session, so the merge needs no queries
+		Set<String> existingIds = findArtifactIds(suppliedIds);
+		Set<String> seenIds = new HashSet<>();
+		BatchItemTransport[] items = new BatchItemTransport[artifacts.size()];
+		List<MLPArtifact> valid = new ArrayList<>();
+		for (int i = 0; i < artifacts.size(); ++i) {
+			MLPArtifact a = artifacts.get(i);
+			String id = a == null ? null : a.getArtifactId();
+			String error = null;
+			if (id == null)
+				error = "Missing ID";
+			else if (!existingIds.contains(id))
+				error = NO_ENTRY_WITH_ID + id;
+			else if (!seenIds.add(id))
+				error = "Duplicate ID " + id;
+			else
+				error = validateArtifact(a);
+			if (error != null) {
+				items[i] = new BatchItemTransport(i, id, HttpServletResponse.SC_BAD_REQUEST, error);
+			} else {
+				valid.add(a);
+				items[i] = new BatchItemTransport(i, id, HttpServletResponse.SC_OK, null);
+			}
+		}
+		artifactRepository.save(valid);
+		logger.debug("updateArtifacts: updated {} of {}", valid.size(), artifacts.size());
+		return buildResult(items);
+	}
+
+	@Override
+	public BatchResultTransport addOrDropRevisionArtifacts(String revisionId, boolean isAdd,
+			List<String> artifactIds) {
+		Map<String, MLPSolRevArtMap> mapped = new HashMap<>();
+		for (MLPSolRevArtMap m : solRevArtMapRepository.findByRevisionId(revisionId))
+			mapped.put(m.getArtifactId(), m);
+		Set<String> existingIds = isAdd ? findArtifactIds(nonNull(artifactIds)) : mapped.keySet();
+		Set<String> seenIds = new HashSet<>();
+		BatchItemTransport[] items = new BatchItemTransport[artifactIds.size()];
+		List<MLPSolRevArtMap> changes = new ArrayList<>();
+		for (int i = 0; i < artifactIds.size(); ++i) {
+			String id = artifactIds.get(i);
+			String error = null;
+			if (id == null)
+				error = "Missing ID";
+			else if (!seenIds.add(id))
+				error = "Duplicate ID " + id;
+			else if (isAdd && !existingIds.contains(id))
+				error = NO_ENTRY_WITH_ID + id;
+			else if (isAdd && mapped.containsKey(id))
+				error = "Revision already has artifact " + id;
+			else if (!isAdd && !mapped.containsKey(id))
+				error = "Revision does not have artifact " + id;
+			if (error != null) {
+				items[i] = new BatchItemTransport(i, id, HttpServletResponse.SC_BAD_REQUEST, error);
+			} else {
+				changes.add(isAdd ? new MLPSolRevArtMap(revisionId, id) : mapped.get(id));
+				items[i] = new BatchItemTransport(i, id, HttpServletResponse.SC_OK, null);
+			}
+		}
+		if (isAdd)
+			solRevArtMapRepository.save(changes);
+		else
+			// Entities are already in the session so no query precedes each delete
+			solRevArtMapRepository.delete(changes);
+		logger.debug("addOrDropRevisionArtifacts: revision {} add {} changed {} of {}", revisionId, isAdd,
+				changes.size(), artifactIds.size());
+		return buildResult(items);
+	}
+
+	@Override
+	public BatchResultTransport addOrDropSolutionTags(String solutionId, boolean isAdd, List<String> tags) {
+		Map<String, MLPSolTagMap> mapped = new HashMap<>();
+		for (MLPSolTagMap m : solTagMapRepository.findBySolutionId(solutionId))
+			mapped.put(m.getTag(), m);
+		Set<String> knownTags = new HashSet<>();
+		if (isAdd)
+			for (MLPTag t : tagRepository.findAll(nonNull(tags)))
+				knownTags.add(t.getTag());
+		Set<String> seenTags = new HashSet<>();
+		BatchItemTransport[] items = new BatchItemTransport[tags.size()];
+		List<MLPTag> newTags = new ArrayList<>();
+		List<MLPSolTagMap> changes = new ArrayList<>();
+		for (int i = 0; i < tags.size(); ++i) {
+			String tag = tags.get(i);
+			String error = null;
+			if (tag == null || tag.isEmpty())
+				error = "Missing tag";
+			else if (!seenTags.add(tag))
+				error = "Duplicate tag " + tag;
+			else if (isAdd && mapped.containsKey(tag))
+				error = "Already has tag " + tag;
+			else if (!isAdd && !mapped.containsKey(tag))
+				error = "Does not have tag " + tag;
+			if (error == null && isAdd && !knownTags.contains(tag)) {
+				// Tags are cheap & easy to create, so make life easy for client
+				MLPTag newTag = new MLPTag(tag);
+				Set<ConstraintViolation<MLPTag>> violations = validator.validate(newTag);
+				if (violations.isEmpty())
+					newTags.add(newTag);
+				else
+					error = "tag: " + violations.iterator().next().getMessage();
+			}
+			if (error != null) {
+				items[i] = new BatchItemTransport(i, tag, HttpServletResponse.SC_BAD_REQUEST, error);
+			} else {
+				changes.add(isAdd ? new MLPSolTagMap(solutionId, tag) : mapped.get(tag));
+				items[i] = new BatchItemTransport(i, tag, HttpServletResponse.SC_OK, null);
+			}
+		}
+		if (isAdd) {
+			tagRepository.save(newTags);
+			solTagMapRepository.save(changes);
+		} else {
+			solTagMapRepository.delete(changes);
+		}
+		logger.debug("addOrDropSolutionTags: solution {} add {} changed {} of {}", solutionId, isAdd, changes.size(),
+				tags.size());
+		return buildResult(items);
+	}
+
+}
@@ -0,0 +1,70 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.service;
+
+import java.util.Collection;
+
+import org.acumos.cds.transport.DeleteCountsTransport;
+
+/**
+ * Defines methods to delete many entities and the rows that refer to them in
+ * one transaction. Each dependent table is cleared by one bulk statement for
+ * all the IDs, in foreign-key order, instead of loading and deleting rows one
+ * at a time. If a row that is not cascaded still refers to an entity, the
+ * statement fails and the whole delete is rolled back.
+ */
+public interface CascadeDeleteService {
+
+	/**
+	 * Deletes solutions with their revisions and the rows that refer to either,
+	 * except artifacts and documents, which may be shared and only lose their
+	 * revision associations.
+	 * 
+	 * @param solutionIds
+	 *            Solution IDs; IDs that are not found are ignored
+	 * @return Number of solutions deleted and number of rows deleted from each
+	 *         table, in the order the tables were processed
+	 */
+	DeleteCountsTransport deleteSolutions(Collection<String> solutionIds);
+
+	/**
+	 * Deletes users with their roles, login providers, notifications,
+	 * notification preferences, tags, favorites, access grants and pictures.
+	 * Content created by a user such as solutions is not cascaded.
+	 * 
+	 * @param userIds
+	 *            User IDs; IDs that are not found are ignored
+	 * @return Number of users deleted and number of rows deleted from each table,
+	 *         in the order the tables were processed
+	 */
+	DeleteCountsTransport deleteUsers(Collection<String> userIds);
+
+	/**
+	 * Deletes peers with their subscriptions and group memberships.
+	 * 
+	 * @param peerIds
+	 *            Peer IDs; IDs that are not found are ignored
+	 * @return Number of peers deleted and number of rows deleted from each table,
+	 *         in the order the tables were processed
+	 */
+	DeleteCountsTransport deletePeers(Collection<String> peerIds);
+
+}
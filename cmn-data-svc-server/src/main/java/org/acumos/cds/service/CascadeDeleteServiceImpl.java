@@ -0,0 +1,297 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.service;
+
+import java.lang.invoke.MethodHandles;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.persistence.EntityManager;
+
+import org.acumos.cds.domain.MLPChangeLog;
+import org.acumos.cds.transport.DeleteCountsTransport;
+import org.hibernate.Session;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.event.spi.EventSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Deletes with one plain SQL statement per table on the connection of the
+ * current Hibernate session, so the statements join the transaction. The
+ * statements bypass the Hibernate listeners, so the change log entries are
+ * recorded here, and the keyword index, facet index, entity cache and comment
+ * counts are updated after the transaction commits.
+ */
+@Service("cascadeDeleteService")
+@Transactional
+public class CascadeDeleteServiceImpl implements CascadeDeleteService {
+
+	private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+	/**
+	 * One bulk statement. The SQL has a %s placeholder for the list of ID
+	 * parameters. Rows are counted for the table unless it is null.
+	 */
+	private static class Step {
+		final String table;
+		final String sql;
+
+		Step(String table, String sql) {
+			this.table = table;
+			this.sql = sql;
+		}
+
+		static Step delete(String table, String condition) {
+			return new Step(table, "DELETE FROM " + table + " WHERE " + condition);
+		}
+	}
+
+	private static final String IN_SOLUTIONS = "SOLUTION_ID IN (%s)";
+	private static final String IN_REVISIONS = "REVISION_ID IN (SELECT REVISION_ID FROM C_SOLUTION_REV WHERE "
+			+ IN_SOLUTIONS + ")";
+	private static final String IN_THREADS = "THREAD_ID IN (SELECT THREAD_ID FROM C_THREAD WHERE " + IN_SOLUTIONS
+			+ ")";
+	private static final String IN_USERS = "USER_ID IN (%s)";
+	private static final String IN_PEERS = "PEER_ID IN (%s)";
+
+	private static final String SOLUTION_SQL = "SELECT SOLUTION_ID FROM C_SOLUTION WHERE " + IN_SOLUTIONS;
+	private static final String REVISION_SQL = "SELECT REVISION_ID, SOLUTION_ID FROM C_SOLUTION_REV WHERE "
+			+ IN_SOLUTIONS;
+
+	// Children before parents
+	private static final List<Step> SOLUTION_STEPS = Collections.unmodifiableList(Arrays.asList( //
+			Step.delete("C_SOLUTION_DEPLOYMENT", IN_SOLUTIONS), //
+			Step.delete("C_COMP_SOL_MAP", "PARENT_ID IN (%s)"), //
+			Step.delete("C_SOL_TAG_MAP", IN_SOLUTIONS), //
+			Step.delete("C_SOLUTION_DOWNLOAD", IN_SOLUTIONS), //
+			Step.delete("C_SOLUTION_RATING", IN_SOLUTIONS), //
+			Step.delete("C_SOLUTION_VALIDATION", IN_SOLUTIONS), //
+			Step.delete("C_SOL_USER_ACCESS_MAP", IN_SOLUTIONS), //
+			Step.delete("C_SOLUTION_FAVORITE", IN_SOLUTIONS), //
+			Step.delete("C_STEP_RESULT", IN_SOLUTIONS), //
+			Step.delete("C_PUBLISH_REQUEST", IN_SOLUTIONS), //
+			// Replies refer to their parents, so detach them first
+			new Step(null, "UPDATE C_COMMENT SET PARENT_ID = NULL WHERE " + IN_THREADS), //
+			Step.delete("C_COMMENT", IN_THREADS), //
+			Step.delete("C_THREAD", IN_SOLUTIONS), //
+			Step.delete("C_SOL_GRP_MEM_MAP", IN_SOLUTIONS), //
+			Step.delete("C_SOLUTION_WEB", IN_SOLUTIONS), //
+			Step.delete("C_SOLUTION_PICTURE", IN_SOLUTIONS), //
+			Step.delete("C_SOL_REV_ART_MAP", IN_REVISIONS), //
+			Step.delete("C_SOL_REV_DOC_MAP", IN_REVISIONS), //
+			Step.delete("C_REVISION_DESC", IN_REVISIONS), //
+			Step.delete("C_SOLUTION_REV", IN_SOLUTIONS), //
+			Step.delete("C_SOLUTION", IN_SOLUTIONS)));
+
+	private static final List<Step> USER_STEPS = Collections.unmodifiableList(Arrays.asList( //
+			Step.delete("C_USER_ROLE_MAP", IN_USERS), //
+			Step.delete("C_USER_LOGIN_PROVIDER", IN_USERS), //
+			Step.delete("C_NOTIF_USER_MAP", IN_USERS), //
+			Step.delete("C_NOTIF_USER_PREF", IN_USERS), //
+			Step.delete("C_USER_TAG_MAP", IN_USERS), //
+			Step.delete("C_SOLUTION_FAVORITE", IN_USERS), //
+			Step.delete("C_SOL_USER_ACCESS_MAP", IN_USERS), //
+			Step.delete("C_USER_PICTURE", IN_USERS), //
+			Step.delete("C_USER", IN_USERS)));
+
+	private static final List<Step> PEER_STEPS = Collections.unmodifiableList(Arrays.asList( //
+			Step.delete("C_PEER_SUB", IN_PEERS), //
+			Step.delete("C_PEER_GRP_MEM_MAP", IN_PEERS), //
+			Step.delete("C_PEER", IN_PEERS)));
+
+	@Autowired
+	private EntityManager entityManager;
+	@Autowired
+	private ChangeLogService changeLogService;
+	@Autowired
+	private EntityCacheService entityCacheService;
+	@Autowired
+	private SolutionKeywordIndexService solutionKeywordIndexService;
+	@Autowired
+	private SolutionFacetIndexService solutionFacetIndexService;
+	@Autowired
+	private SolutionViewCountService solutionViewCountService;
+	@Autowired
+	private LoginActivityService loginActivityService;
+	@Autowired
+	private CommentService commentService;
+	@Autowired
+	private NotificationService notificationService;
+
+	/**
+	 * Runs the steps for the IDs and answers the rows deleted from each table.
+	 * Pending changes of the session are flushed first, so the statements see
+	 * them.
+	 */
+	private Map<String, Long> execute(Session session, List<Step> steps, Collection<String> ids) {
+		final String params = String.join(", ", Collections.nCopies(ids.size(), "?"));
+		final Map<String, Long> counts = new LinkedHashMap<>();
+		session.flush();
+		session.doWork(connection -> {
+			for (Step step : steps) {
+				try (PreparedStatement ps = connection.prepareStatement(String.format(step.sql, params))) {
+					int i = 0;
+					for (String id : ids)
+						ps.setString(++i, id);
+					int rows = ps.executeUpdate();
+					if (step.table != null)
+						counts.merge(step.table, (long) rows, Long::sum);
+				}
+			}
+		});
+		return counts;
+	}
+
+	/**
+	 * Gets the IDs of the solutions that exist, in request order.
+	 */
+	private Set<String> findSolutions(Session session, Collection<String> solutionIds) {
+		final String params = String.join(", ", Collections.nCopies(solutionIds.size(), "?"));
+		final Set<String> found = new HashSet<>();
+		session.doWork(connection -> {
+			try (PreparedStatement ps = connection.prepareStatement(String.format(SOLUTION_SQL, params))) {
+				int i = 0;
+				for (String id : solutionIds)
+					ps.setString(++i, id);
+				try (ResultSet rs = ps.executeQuery()) {
+					while (rs.next())
+						found.add(rs.getString(1));
+				}
+			}
+		});
+		final Set<String> existing = new LinkedHashSet<>();
+		for (String id : solutionIds)
+			if (found.contains(id))
+				existing.add(id);
+		return existing;
+	}
+
+	/**
+	 * Gets revision ID to solution ID for the revisions of the solutions.
+	 */
+	private Map<String, String> findRevisions(Session session, Collection<String> solutionIds) {
+		final String params = String.join(", ", Collections.nCopies(solutionIds.size(), "?"));
+		final Map<String, String> revisions = new LinkedHashMap<>();
+		session.doWork(connection -> {
+			try (PreparedStatement ps = connection.prepareStatement(String.format(REVISION_SQL, params))) {
+				int i = 0;
+				for (String id : solutionIds)
+					ps.setString(++i, id);
+				try (ResultSet rs = ps.executeQuery()) {
+					while (rs.next())
+						revisions.put(rs.getString(1), rs.getString(2));
+				}
+			}
+		});
+		return revisions;
+	}
+
+	private static void afterCommit(Session session, Runnable action) {
+		((EventSource) session).getActionQueue()
+				.registerProcess((AfterTransactionCompletionProcess) (success, s) -> {
+					if (success)
+						action.run();
+				});
+	}
+
+	private static Set<String> distinct(Collection<String> ids) {
+		if (ids == null || ids.isEmpty())
+			throw new IllegalArgumentException("No IDs");
+		return new LinkedHashSet<>(ids);
+	}
+
+	private static DeleteCountsTransport result(Map<String, Long> counts, String table) {
+		return new DeleteCountsTransport(counts.get(table), counts);
+	}
+
+	@Override
+	public DeleteCountsTransport deleteSolutions(Collection<String> solutionIds) {
+		final Set<String> ids = distinct(solutionIds);
+		Session session = entityManager.unwrap(Session.class);
+		// Change log and caches only concern the solutions that were there
+		final Set<String> existing = findSolutions(session, ids);
+		final Map<String, String> revisions = findRevisions(session, ids);
+		for (String id : ids)
+			solutionViewCountService.discard(id);
+		Map<String, Long> counts = execute(session, SOLUTION_STEPS, ids);
+		for (Map.Entry<String, String> r : revisions.entrySet())
+			changeLogService.record(MLPChangeLog.REVISION, r.getKey(), r.getValue(), MLPChangeLog.DELETE);
+		for (String id : existing)
+			changeLogService.record(MLPChangeLog.SOLUTION, id, id, MLPChangeLog.DELETE);
+		final List<String> revisionIds = new ArrayList<>(revisions.keySet());
+		afterCommit(session, () -> {
+			solutionKeywordIndexService.removeSolutions(existing, revisionIds);
+			solutionFacetIndexService.removeSolutions(existing, revisionIds);
+			for (String id : revisionIds)
+				entityCacheService.invalidateRevision(id);
+			for (String id : existing)
+				entityCacheService.invalidateSolution(id);
+			commentService.invalidateAll();
+		});
+		logger.debug("deleteSolutions: ids {} counts {}", ids.size(), counts);
+		return result(counts, "C_SOLUTION");
+	}
+
+	@Override
+	public DeleteCountsTransport deleteUsers(Collection<String> userIds) {
+		final Set<String> ids = distinct(userIds);
+		Session session = entityManager.unwrap(Session.class);
+		for (String id : ids)
+			loginActivityService.discard(id);
+		Map<String, Long> counts = execute(session, USER_STEPS, ids);
+		afterCommit(session, () -> {
+			for (String id : ids) {
+				entityCacheService.invalidateUser(id);
+				notificationService.invalidateUser(id);
+			}
+		});
+		logger.debug("deleteUsers: ids {} counts {}", ids.size(), counts);
+		return result(counts, "C_USER");
+	}
+
+	@Override
+	public DeleteCountsTransport deletePeers(Collection<String> peerIds) {
+		final Set<String> ids = distinct(peerIds);
+		Session session = entityManager.unwrap(Session.class);
+		Map<String, Long> counts = execute(session, PEER_STEPS, ids);
+		afterCommit(session, () -> {
+			for (String id : ids)
+				entityCacheService.invalidatePeer(id);
+		});
+		logger.debug("deletePeers: ids {} counts {}", ids.size(), counts);
+		return result(counts, "C_PEER");
+	}
+
+}
@@ -0,0 +1,46 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Defines a method to export the catalog as newline-delimited JSON without
+ * holding it in memory.
+ */
+public interface CatalogExportService {
+
+	/**
+	 * Writes all solutions with web stats, then solution tags, revisions,
+	 * artifacts and revision artifacts, one CatalogExportRecord per line. Each
+	 * table is read with a forward-only cursor and each row is written as soon as
+	 * it is read. All tables are read in one transaction for a consistent view.
+	 * 
+	 * @param out
+	 *            Stream to write; not closed
+	 * @return Number of records written
+	 * @throws IOException
+	 *             If the stream cannot be written
+	 */
+	long exportCatalog(OutputStream out) throws IOException;
+
+}
@@ -0,0 +1,163 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import javax.annotation.PostConstruct;
+import javax.sql.DataSource;
+
+import org.acumos.cds.domain.MLPArtifact;
+import org.acumos.cds.domain.MLPSolRevArtMap;
+import org.acumos.cds.domain.MLPSolTagMap;
+import org.acumos.cds.domain.MLPSolution;
+import org.acumos.cds.domain.MLPSolutionRevision;
+import org.acumos.cds.domain.MLPSolutionWeb;
+import org.acumos.cds.generator.EntityTable;
+import org.acumos.cds.transport.CatalogExportRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Exports the catalog with plain JDBC. Each table is read by one query with a
+ * fetch size, so the driver streams rows instead of loading the result, and
+ * each row is mapped to its domain object and written with the Jackson streaming
+ * generator before the next is read. Only one result set is open at a time,
+ * which some drivers require for streaming. Web stats are joined to solutions;
+ * the other tables follow in their own sections.
+ */
+@Service("catalogExportService")
+public class CatalogExportServiceImpl implements CatalogExportService {
+
+	private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+	private static final EntityTable SOLUTION = EntityTable.forClass(MLPSolution.class);
+	private static final EntityTable SOLUTION_WEB = EntityTable.forClass(MLPSolutionWeb.class);
+	private static final EntityTable SOLUTION_TAG = EntityTable.forClass(MLPSolTagMap.class);
+	private static final EntityTable REVISION = EntityTable.forClass(MLPSolutionRevision.class);
+	private static final EntityTable ARTIFACT = EntityTable.forClass(MLPArtifact.class);
+	private static final EntityTable REVISION_ARTIFACT = EntityTable.forClass(MLPSolRevArtMap.class);
+
+	private static final String SOLUTION_SQL = "SELECT " + SOLUTION.getColumnList("s") + ", "
+			+ SOLUTION_WEB.getColumnList("w") + " FROM " + SOLUTION.getTableName() + " s LEFT JOIN "
+			+ SOLUTION_WEB.getTableName() + " w ON s.SOLUTION_ID = w.SOLUTION_ID ORDER BY s.SOLUTION_ID";
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Value("${catalog.export.fetch.size:1000}")
+	private int fetchSize;
+
+	private JdbcTemplate jdbcTemplate;
+	// Rows are flushed by the stream as its buffer fills, not one by one
+	private final ObjectMapper mapper = new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL)
+			.disable(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+	@PostConstruct
+	public void init() {
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.setFetchSize(fetchSize);
+	}
+
+	private static String selectSql(EntityTable table, String orderBy) {
+		return "SELECT " + table.getColumnList(null) + " FROM " + table.getTableName() + " ORDER BY " + orderBy;
+	}
+
+	/**
+	 * Writes one record per row of the query.
+	 */
+	private long export(String sql, JsonGenerator generator, RowMapper mapRow) {
+		final long[] count = { 0 };
+		jdbcTemplate.query(sql, (RowCallbackHandler) rs -> {
+			try {
+				CatalogExportRecord record = new CatalogExportRecord();
+				mapRow.map(rs, record);
+				mapper.writeValue(generator, record);
+				generator.writeRaw('\n');
+				++count[0];
+			} catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+		});
+		return count[0];
+	}
+
+	/**
+	 * Fills a record from the current row.
+	 */
+	@FunctionalInterface
+	private interface RowMapper {
+		void map(ResultSet rs, CatalogExportRecord record) throws SQLException;
+	}
+
+	/*
+	 * The transaction yields a consistent snapshot of all tables on databases with
+	 * multi-version concurrency such as MariaDB.
+	 */
+	@Override
+	@Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+	public long exportCatalog(OutputStream out) throws IOException {
+		long count = 0;
+		try (JsonGenerator generator = mapper.getFactory().createGenerator(out)) {
+			// The caller owns the stream
+			generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+			// Each record ends with a newline instead
+			generator.setRootValueSeparator(null);
+			count += export(SOLUTION_SQL, generator, (rs, record) -> {
+				MLPSolution solution = SOLUTION.readRow(rs, 1);
+				MLPSolutionWeb web = SOLUTION_WEB.readRow(rs, SOLUTION.getColumnNames().size() + 1);
+				if (web.getSolutionId() != null)
+					solution.setWebStats(web);
+				record.setSolution(solution);
+			});
+			count += export(selectSql(SOLUTION_TAG, "SOLUTION_ID, TAG"), generator,
+					(rs, record) -> record.setSolutionTag(SOLUTION_TAG.readRow(rs, 1)));
+			count += export(selectSql(REVISION, "REVISION_ID"), generator,
+					(rs, record) -> record.setRevision(REVISION.readRow(rs, 1)));
+			count += export(selectSql(ARTIFACT, "ARTIFACT_ID"), generator,
+					(rs, record) -> record.setArtifact(ARTIFACT.readRow(rs, 1)));
+			count += export(selectSql(REVISION_ARTIFACT, "REVISION_ID, ARTIFACT_ID"), generator,
+					(rs, record) -> record.setRevisionArtifact(REVISION_ARTIFACT.readRow(rs, 1)));
+		} catch (UncheckedIOException ex) {
+			throw ex.getCause();
+		}
+		logger.info("exportCatalog: wrote {} records", count);
+		return count;
+	}
+
+}
@@ -0,0 +1,71 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.service;
+
+import org.acumos.cds.transport.ChangeFeedTransport;
+
+/**
+ * Defines methods to record and read the change log, an append-only sequence of
+ * changes to solutions, revisions, revision descriptions, artifacts and
+ * documents. Entries are written in the same transaction as the change, so the
+ * log never misses a write that committed.
+ */
+public interface ChangeLogService {
+
+	/**
+	 * Records a change that bypassed the persistence context, such as a bulk
+	 * update query. Changes made through the entity manager are recorded
+	 * automatically. Must be called within a transaction.
+	 * 
+	 * @param entityType
+	 *            Entity type, one of the constants in MLPChangeLog
+	 * @param entityId
+	 *            Entity ID
+	 * @param solutionId
+	 *            ID of the affected solution; null to look it up from the entity
+	 * @param operation
+	 *            Operation, one of the constants in MLPChangeLog
+	 */
+	void record(String entityType, String entityId, String solutionId, String operation);
+
+	/**
+	 * Gets changes after the cursor, oldest first. Only changes old enough that no
+	 * concurrent transaction can still commit an earlier entry are returned, so a
+	 * reader that resumes from the returned cursor never skips a change.
+	 * 
+	 * @param cursor
+	 *            Change ID of the last entry seen; 0 to start at the beginning
+	 * @param limit
+	 *            Maximum number of entries; larger values are reduced to the
+	 *            configured maximum
+	 * @param accessTypeCodes
+	 *            Limits entries to solutions with a revision that has one of these
+	 *            access type codes; ignored if null or empty. Solution deletes are
+	 *            always included.
+	 * @param validationStatusCodes
+	 *            Limits entries to solutions with a revision that has one of these
+	 *            validation status codes; ignored if null or empty
+	 * @return Entries and the cursor for the next call
+	 */
+	ChangeFeedTransport getChanges(long cursor, int limit, String[] accessTypeCodes,
+			String[] validationStatusCodes);
+
+}
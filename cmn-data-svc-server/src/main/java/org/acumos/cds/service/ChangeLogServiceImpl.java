@@ -0,0 +1,359 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.service;
+
+import java.lang.invoke.MethodHandles;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import org.acumos.cds.domain.MLPArtifact;
+import org.acumos.cds.domain.MLPChangeLog;
+import org.acumos.cds.domain.MLPDocument;
+import org.acumos.cds.domain.MLPRevisionDescription;
+import org.acumos.cds.domain.MLPSolRevArtMap;
+import org.acumos.cds.domain.MLPSolRevDocMap;
+import org.acumos.cds.domain.MLPSolution;
+import org.acumos.cds.domain.MLPSolutionRevision;
+import org.acumos.cds.transport.ChangeFeedTransport;
+import org.hibernate.Criteria;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.criterion.DetachedCriteria;
+import org.hibernate.criterion.Disjunction;
+import org.hibernate.criterion.Order;
+import org.hibernate.criterion.Projections;
+import org.hibernate.criterion.Restrictions;
+import org.hibernate.criterion.Subqueries;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Writes the change log from Hibernate listeners that run after each insert,
+ * update and delete is flushed, so every write path is recorded, not just the
+ * controllers. The entries of a transaction are collected and written just
+ * before it commits, on the same connection, so they commit or roll back with
+ * the change. Solution IDs of artifacts and documents are resolved at that time
+ * from the revision maps.
+ * 
+ * Change IDs are assigned when entries are inserted, but transactions commit in
+ * any order, so a reader may see a later ID before an earlier one commits. The
+ * feed therefore only returns entries older than a settle interval, which must
+ * exceed the time from writing the entries to commit. The change date is set by
+ * the database when the entry is inserted and the settle cutoff is computed
+ * from database time, so neither depends on when the change was flushed nor on
+ * the clocks of the application servers.
+ */
+@Service("changeLogService")
+@Transactional
+public class ChangeLogServiceImpl implements ChangeLogService {
+
+	private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+	private static final String INSERT_SQL = "INSERT INTO C_CHANGE_LOG "
+			+ "(SOLUTION_ID, ENTITY_TYPE, ENTITY_ID, OPERATION, CHANGE_DATE) VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP)";
+	private static final String REVISION_SQL = "SELECT SOLUTION_ID FROM C_SOLUTION_REV WHERE REVISION_ID = ?";
+	private static final String ARTIFACT_SQL = "SELECT DISTINCT r.SOLUTION_ID FROM C_SOL_REV_ART_MAP m "
+			+ "JOIN C_SOLUTION_REV r ON m.REVISION_ID = r.REVISION_ID WHERE m.ARTIFACT_ID = ?";
+	private static final String DOCUMENT_SQL = "SELECT DISTINCT r.SOLUTION_ID FROM C_SOL_REV_DOC_MAP m "
+			+ "JOIN C_SOLUTION_REV r ON m.REVISION_ID = r.REVISION_ID WHERE m.DOCUMENT_ID = ?";
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	@Autowired
+	private EntityManager entityManager;
+	@Autowired
+	private SessionFactory sessionFactory;
+
+	@Value("${change.feed.settle.ms:2000}")
+	private long settleMs;
+
+	@Value("${change.feed.max.size:1000}")
+	private int maxSize;
+
+	/**
+	 * A change waiting to be written. The solution ID is known for solutions and
+	 * revisions; otherwise it is resolved from the revision ID if present, else
+	 * from the revision maps of the artifact or document.
+	 */
+	private static class Change {
+		final String entityType;
+		final String entityId;
+		final String solutionId;
+		final String revisionId;
+		final String operation;
+
+		Change(String entityType, String entityId, String solutionId, String revisionId, String operation) {
+			this.entityType = entityType;
+			this.entityId = entityId;
+			this.solutionId = solutionId;
+			this.revisionId = revisionId;
+			this.operation = operation;
+		}
+	}
+
+	// Pending changes of each open session with a transaction
+	private final Map<SessionImplementor, List<Change>> pending = Collections
+			.synchronizedMap(new IdentityHashMap<SessionImplementor, List<Change>>());
+
+	@PostConstruct
+	public void init() {
+		ChangeRecorder recorder = new ChangeRecorder();
+		EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+				.getServiceRegistry().getService(EventListenerRegistry.class);
+		registry.appendListeners(EventType.POST_INSERT, recorder);
+		registry.appendListeners(EventType.POST_UPDATE, recorder);
+		registry.appendListeners(EventType.POST_DELETE, recorder);
+	}
+
+	/**
+	 * Adds a change to the pending list of the session. The first change of a
+	 * transaction registers the processes that write the list before commit and
+	 * discard it after completion, including after a rollback.
+	 */
+	private void enqueue(EventSource session, Change change) {
+		List<Change> changes = pending.get(session);
+		if (changes == null) {
+			changes = new ArrayList<>();
+			pending.put(session, changes);
+			session.getActionQueue().registerProcess(s -> write(s, pending.get(s)));
+			session.getActionQueue().registerProcess((success, s) -> pending.remove(s));
+		}
+		changes.add(change);
+	}
+
+	private void write(SessionImplementor session, List<Change> changes) {
+		if (changes == null || changes.isEmpty())
+			return;
+		((Session) session).doWork(connection -> {
+			try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL)) {
+				int count = 0;
+				for (Change c : changes) {
+					for (String solutionId : resolveSolutionIds(connection, c)) {
+						ps.setString(1, solutionId);
+						ps.setString(2, c.entityType);
+						ps.setString(3, c.entityId);
+						ps.setString(4, c.operation);
+						ps.addBatch();
+						++count;
+					}
+				}
+				if (count > 0)
+					ps.executeBatch();
+				logger.debug("write: changes {} entries {}", changes.size(), count);
+			}
+		});
+		changes.clear();
+	}
+
+	/**
+	 * Finds the solutions affected by a change. An artifact or document that no
+	 * revision uses yet affects no solution, so its change is not logged; adding
+	 * it to a revision is.
+	 */
+	private Set<String> resolveSolutionIds(Connection connection, Change change) throws SQLException {
+		Set<String> solutionIds = new LinkedHashSet<>();
+		if (change.solutionId != null) {
+			solutionIds.add(change.solutionId);
+		} else if (change.revisionId != null) {
+			select(connection, REVISION_SQL, change.revisionId, solutionIds);
+		} else if (MLPChangeLog.ARTIFACT.equals(change.entityType)) {
+			select(connection, ARTIFACT_SQL, change.entityId, solutionIds);
+		} else if (MLPChangeLog.DOCUMENT.equals(change.entityType)) {
+			select(connection, DOCUMENT_SQL, change.entityId, solutionIds);
+		}
+		return solutionIds;
+	}
+
+	private static void select(Connection connection, String sql, String id, Set<String> result)
+			throws SQLException {
+		try (PreparedStatement ps = connection.prepareStatement(sql)) {
+			ps.setString(1, id);
+			try (ResultSet rs = ps.executeQuery()) {
+				while (rs.next())
+					result.add(rs.getString(1));
+			}
+		}
+	}
+
+	@Override
+	public void record(String entityType, String entityId, String solutionId, String operation) {
+		String revisionId = MLPChangeLog.DESCRIPTION.equals(entityType) ? entityId : null;
+		enqueue((EventSource) entityManager.unwrap(Session.class),
+				new Change(entityType, entityId, solutionId, revisionId, operation));
+	}
+
+	/**
+	 * Gets the current time of the database, which stamps the entries.
+	 */
+	private Timestamp getDatabaseTime(Session session) {
+		final String sql = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getDialect()
+				.getCurrentTimestampSelectString();
+		return session.doReturningWork(connection -> {
+			try (PreparedStatement ps = connection.prepareStatement(sql); ResultSet rs = ps.executeQuery()) {
+				rs.next();
+				return rs.getTimestamp(1);
+			}
+		});
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public ChangeFeedTransport getChanges(long cursor, int limit, String[] accessTypeCodes,
+			String[] validationStatusCodes) {
+		if (cursor < 0)
+			throw new IllegalArgumentException("Cursor must not be negative");
+		if (limit < 1)
+			throw new IllegalArgumentException("Limit must be positive");
+		limit = Math.min(limit, maxSize);
+		Session session = sessionFactory.getCurrentSession();
+		// Entries up to this ID are settled
+		Date settled = new Date(getDatabaseTime(session).getTime() - settleMs);
+		Long bound = (Long) session.createCriteria(MLPChangeLog.class) //
+				.add(Restrictions.lt("changed", settled)) //
+				.setProjection(Projections.max("changeId")) //
+				.uniqueResult();
+		if (bound == null || bound <= cursor)
+			return new ChangeFeedTransport(new ArrayList<>(), cursor, false);
+
+		Criteria criteria = session.createCriteria(MLPChangeLog.class) //
+				.add(Restrictions.gt("changeId", cursor)) //
+				.add(Restrictions.le("changeId", bound)) //
+				.addOrder(Order.asc("changeId"));
+		boolean byAccessType = accessTypeCodes != null && accessTypeCodes.length > 0;
+		boolean byValidation = validationStatusCodes != null && validationStatusCodes.length > 0;
+		if (byAccessType || byValidation) {
+			DetachedCriteria revisions = DetachedCriteria.forClass(MLPSolutionRevision.class)
+					.setProjection(Projections.property("solutionId"));
+			if (byAccessType)
+				revisions.add(Restrictions.in("accessTypeCode", accessTypeCodes));
+			if (byValidation)
+				revisions.add(Restrictions.in("validationStatusCode", validationStatusCodes));
+			// A deleted solution has no revisions left to match
+			Disjunction visible = Restrictions.disjunction();
+			visible.add(Subqueries.propertyIn("solutionId", revisions));
+			visible.add(Restrictions.and(Restrictions.eq("entityType", MLPChangeLog.SOLUTION),
+					Restrictions.eq("operation", MLPChangeLog.DELETE)));
+			criteria.add(visible);
+		}
+		// Fetch one extra to learn if more are available
+		criteria.setMaxResults(limit + 1);
+		@SuppressWarnings("unchecked")
+		List<MLPChangeLog> changes = criteria.list();
+		boolean more = changes.size() > limit;
+		long next = bound;
+		if (more) {
+			changes = new ArrayList<>(changes.subList(0, limit));
+			next = changes.get(limit - 1).getChangeId();
+		}
+		logger.debug("getChanges: cursor {} size {} next {}", cursor, changes.size(), next);
+		return new ChangeFeedTransport(changes, next, more);
+	}
+
+	/**
+	 * Hibernate listener that queues a change for each tracked entity. Runs within
+	 * the transaction, before commit.
+	 */
+	private class ChangeRecorder implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+		private static final long serialVersionUID = 1L;
+
+		private void onChange(EventSource session, Object entity, String operation) {
+			Change change = null;
+			if (entity instanceof MLPSolution) {
+				String solutionId = ((MLPSolution) entity).getSolutionId();
+				change = new Change(MLPChangeLog.SOLUTION, solutionId, solutionId, null, operation);
+			} else if (entity instanceof MLPSolutionRevision) {
+				MLPSolutionRevision r = (MLPSolutionRevision) entity;
+				change = new Change(MLPChangeLog.REVISION, r.getRevisionId(), r.getSolutionId(), null, operation);
+			} else if (entity instanceof MLPRevisionDescription) {
+				String revisionId = ((MLPRevisionDescription) entity).getRevisionId();
+				change = new Change(MLPChangeLog.DESCRIPTION, revisionId, null, revisionId, operation);
+			} else if (entity instanceof MLPArtifact) {
+				change = new Change(MLPChangeLog.ARTIFACT, ((MLPArtifact) entity).getArtifactId(), null, null,
+						operation);
+			} else if (entity instanceof MLPDocument) {
+				change = new Change(MLPChangeLog.DOCUMENT, ((MLPDocument) entity).getDocumentId(), null, null,
+						operation);
+			} else if (entity instanceof MLPSolRevArtMap) {
+				// Adding or removing an artifact is a create or delete for the solution
+				MLPSolRevArtMap m = (MLPSolRevArtMap) entity;
+				change = new Change(MLPChangeLog.ARTIFACT, m.getArtifactId(), null, m.getRevisionId(), operation);
+			} else if (entity instanceof MLPSolRevDocMap) {
+				MLPSolRevDocMap m = (MLPSolRevDocMap) entity;
+				change = new Change(MLPChangeLog.DOCUMENT, m.getDocumentId(), null, m.getRevisionId(), operation);
+			}
+			if (change != null)
+				enqueue(session, change);
+		}
+
+		@Override
+		public void onPostInsert(PostInsertEvent event) {
+			onChange(event.getSession(), event.getEntity(), MLPChangeLog.CREATE);
+		}
+
+		@Override
+		public void onPostUpdate(PostUpdateEvent event) {
+			onChange(event.getSession(), event.getEntity(), MLPChangeLog.UPDATE);
+		}
+
+		@Override
+		public void onPostDelete(PostDeleteEvent event) {
+			onChange(event.getSession(), event.getEntity(), MLPChangeLog.DELETE);
+		}
+
+		@Override
+		public boolean requiresPostCommitHanding(EntityPersister persister) {
+			return false;
+		}
+	}
+
+}
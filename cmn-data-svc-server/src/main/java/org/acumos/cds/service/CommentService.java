@@ -0,0 +1,130 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.service;
+
+import org.acumos.cds.domain.MLPComment;
+import org.acumos.cds.domain.MLPThread;
+import org.acumos.cds.transport.CacheStatsTransport;
+import org.acumos.cds.transport.ThreadTreeTransport;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Defines methods that answer the threads of a solution revision with their
+ * comments arranged as trees, and that write threads and comments while keeping
+ * cached comment counts up to date.
+ */
+public interface CommentService {
+
+	/**
+	 * Gets a page of threads for the solution revision, each with all its
+	 * comments arranged as a tree by parent ID. A comment whose parent is not
+	 * in the same thread is shown at the top level.
+	 * 
+	 * @param solutionId
+	 *            Solution ID
+	 * @param revisionId
+	 *            Revision ID
+	 * @param pageable
+	 *            Page and sort criteria for the threads
+	 * @return Page of thread trees
+	 */
+	Page<ThreadTreeTransport> getThreadTrees(String solutionId, String revisionId, Pageable pageable);
+
+	/**
+	 * Gets the number of comments in the thread.
+	 * 
+	 * @param threadId
+	 *            Thread ID
+	 * @return Count
+	 */
+	long getThreadCommentCount(String threadId);
+
+	/**
+	 * Gets the number of comments in all threads of the solution revision.
+	 * 
+	 * @param solutionId
+	 *            Solution ID
+	 * @param revisionId
+	 *            Revision ID
+	 * @return Count
+	 */
+	long getRevisionCommentCount(String solutionId, String revisionId);
+
+	/**
+	 * Saves a new comment and counts it after the transaction commits.
+	 * 
+	 * @param comment
+	 *            Comment
+	 * @return Saved comment
+	 */
+	MLPComment createComment(MLPComment comment);
+
+	/**
+	 * Saves an existing comment, moving its count if the thread changed.
+	 * 
+	 * @param comment
+	 *            Comment
+	 */
+	void updateComment(MLPComment comment);
+
+	/**
+	 * Deletes a comment and discounts it after the transaction commits.
+	 * 
+	 * @param commentId
+	 *            Comment ID
+	 * @throws org.springframework.dao.EmptyResultDataAccessException
+	 *             If the ID is not found
+	 */
+	void deleteComment(String commentId);
+
+	/**
+	 * Saves an existing thread, discarding the cached revision counts if the
+	 * solution or revision changed.
+	 * 
+	 * @param thread
+	 *            Thread
+	 */
+	void updateThread(MLPThread thread);
+
+	/**
+	 * Deletes a thread and its comments.
+	 * 
+	 * @param threadId
+	 *            Thread ID
+	 * @throws org.springframework.dao.EmptyResultDataAccessException
+	 *             If the ID is not found
+	 */
+	void deleteThread(String threadId);
+
+	/**
+	 * Discards all cached counts after comments were changed elsewhere.
+	 */
+	void invalidateAll();
+
+	/**
+	 * Gets statistics of the comment count cache.
+	 * 
+	 * @return Statistics
+	 */
+	CacheStatsTransport getCacheStats();
+
+}
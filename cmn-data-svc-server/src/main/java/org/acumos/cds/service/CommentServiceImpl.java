@@ -0,0 +1,236 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.service;
+
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManager;
+
+import org.acumos.cds.domain.MLPComment;
+import org.acumos.cds.domain.MLPThread;
+import org.acumos.cds.repository.CommentRepository;
+import org.acumos.cds.repository.ThreadRepository;
+import org.acumos.cds.transport.CacheStatsTransport;
+import org.acumos.cds.transport.CommentNodeTransport;
+import org.acumos.cds.transport.ThreadTreeTransport;
+import org.acumos.cds.util.BoundedCache;
+import org.hibernate.Session;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.event.spi.EventSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Fetches the comments of a page of threads with one query and links them into
+ * trees with a map from comment ID to node, in time linear in the number of
+ * comments. Comment counts by thread and by solution revision are loaded with a
+ * count query on a miss, then adjusted by each comment created or deleted here
+ * after the transaction commits.
+ */
+@Service("commentService")
+@Transactional
+public class CommentServiceImpl implements CommentService {
+
+	private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+	/**
+	 * Keeps each IN list well below the parameter limits of the databases.
+	 */
+	private static final int IN_CHUNK_SIZE = 500;
+
+	@Autowired
+	private EntityManager entityManager;
+	@Autowired
+	private CommentRepository commentRepository;
+	@Autowired
+	private ThreadRepository threadRepository;
+
+	@Value("${comment.count.cache.max.size:10000}")
+	private int maxSize;
+
+	@Value("${comment.count.cache.ttl.ms:600000}")
+	private long ttlMillis;
+
+	/**
+	 * Keys are thread IDs and revision keys, which cannot collide.
+	 */
+	private BoundedCache<String, Long> counts;
+
+	@PostConstruct
+	public void init() {
+		counts = new BoundedCache<>("commentCount", maxSize, ttlMillis);
+	}
+
+	private static String revisionKey(String solutionId, String revisionId) {
+		return solutionId + "/" + revisionId;
+	}
+
+	private void afterCommit(Runnable action) {
+		((EventSource) entityManager.unwrap(Session.class)).getActionQueue()
+				.registerProcess((AfterTransactionCompletionProcess) (success, s) -> {
+					if (success)
+						action.run();
+				});
+	}
+
+	/**
+	 * Adds the delta to the cached counts of the thread and its revision.
+	 */
+	private void adjustAfterCommit(MLPThread thread, long delta) {
+		final String threadId = thread.getThreadId();
+		final String revisionKey = revisionKey(thread.getSolutionId(), thread.getRevisionId());
+		afterCommit(() -> {
+			counts.update(threadId, n -> n + delta);
+			counts.update(revisionKey, n -> n + delta);
+		});
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public Page<ThreadTreeTransport> getThreadTrees(String solutionId, String revisionId, Pageable pageable) {
+		Page<MLPThread> threads = threadRepository.findBySolutionIdAndRevisionId(solutionId, revisionId, pageable);
+		List<String> threadIds = new ArrayList<>();
+		for (MLPThread t : threads)
+			threadIds.add(t.getThreadId());
+		List<MLPComment> comments = new ArrayList<>();
+		for (int from = 0; from < threadIds.size(); from += IN_CHUNK_SIZE)
+			comments.addAll(commentRepository
+					.findByThreadIds(threadIds.subList(from, Math.min(threadIds.size(), from + IN_CHUNK_SIZE))));
+		// Comments are oldest first, so each list of replies is too
+		Map<String, CommentNodeTransport> nodes = new HashMap<>();
+		for (MLPComment c : comments)
+			nodes.put(c.getCommentId(), new CommentNodeTransport(c, new ArrayList<>()));
+		Map<String, List<CommentNodeTransport>> roots = new HashMap<>();
+		Map<String, Long> threadCounts = new HashMap<>();
+		for (MLPComment c : comments) {
+			CommentNodeTransport node = nodes.get(c.getCommentId());
+			CommentNodeTransport parent = c.getParentId() == null ? null : nodes.get(c.getParentId());
+			if (parent != null && parent.getComment().getThreadId().equals(c.getThreadId()))
+				parent.getReplies().add(node);
+			else
+				roots.computeIfAbsent(c.getThreadId(), k -> new ArrayList<>()).add(node);
+			threadCounts.merge(c.getThreadId(), 1L, Long::sum);
+		}
+		List<ThreadTreeTransport> trees = new ArrayList<>();
+		for (MLPThread t : threads)
+			trees.add(new ThreadTreeTransport(t, threadCounts.getOrDefault(t.getThreadId(), 0L),
+					roots.getOrDefault(t.getThreadId(), new ArrayList<>())));
+		logger.debug("getThreadTrees: revision {} threads {} comments {}", revisionId, trees.size(), comments.size());
+		return new PageImpl<>(trees, pageable, threads.getTotalElements());
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public long getThreadCommentCount(String threadId) {
+		return counts.get(threadId, commentRepository::countThreadComments);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public long getRevisionCommentCount(String solutionId, String revisionId) {
+		return counts.get(revisionKey(solutionId, revisionId),
+				k -> commentRepository.countSolutionRevisionComments(solutionId, revisionId));
+	}
+
+	@Override
+	public MLPComment createComment(MLPComment comment) {
+		MLPComment saved = commentRepository.save(comment);
+		MLPThread thread = threadRepository.findOne(saved.getThreadId());
+		if (thread != null)
+			adjustAfterCommit(thread, 1);
+		return saved;
+	}
+
+	@Override
+	public void updateComment(MLPComment comment) {
+		MLPComment existing = commentRepository.findOne(comment.getCommentId());
+		String previousThreadId = existing == null ? null : existing.getThreadId();
+		commentRepository.save(comment);
+		if (previousThreadId != null && !previousThreadId.equals(comment.getThreadId())) {
+			MLPThread previous = threadRepository.findOne(previousThreadId);
+			if (previous != null)
+				adjustAfterCommit(previous, -1);
+			MLPThread current = threadRepository.findOne(comment.getThreadId());
+			if (current != null)
+				adjustAfterCommit(current, 1);
+		}
+	}
+
+	@Override
+	public void deleteComment(String commentId) {
+		MLPComment existing = commentRepository.findOne(commentId);
+		commentRepository.delete(commentId);
+		MLPThread thread = threadRepository.findOne(existing.getThreadId());
+		if (thread != null)
+			adjustAfterCommit(thread, -1);
+	}
+
+	@Override
+	public void updateThread(MLPThread thread) {
+		MLPThread existing = threadRepository.findOne(thread.getThreadId());
+		final String previousKey = existing == null ? null
+				: revisionKey(existing.getSolutionId(), existing.getRevisionId());
+		threadRepository.save(thread);
+		final String currentKey = revisionKey(thread.getSolutionId(), thread.getRevisionId());
+		if (previousKey != null && !previousKey.equals(currentKey)) {
+			afterCommit(() -> {
+				counts.invalidate(previousKey);
+				counts.invalidate(currentKey);
+			});
+		}
+	}
+
+	@Override
+	public void deleteThread(String threadId) {
+		MLPThread existing = threadRepository.findOne(threadId);
+		commentRepository.deleteByThreadId(threadId);
+		threadRepository.delete(threadId);
+		// The number of comments deleted is not known here
+		final String revisionKey = revisionKey(existing.getSolutionId(), existing.getRevisionId());
+		afterCommit(() -> {
+			counts.invalidate(threadId);
+			counts.invalidate(revisionKey);
+		});
+	}
+
+	@Override
+	public void invalidateAll() {
+		counts.invalidateAll();
+	}
+
+	@Override
+	public CacheStatsTransport getCacheStats() {
+		return counts.getStats();
+	}
+
+}
@@ -0,0 +1,83 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.service;
+
+import org.acumos.cds.transport.CacheStatsTransport;
+
+/**
+ * Defines methods to encrypt API tokens and to check credentials against the
+ * stored hashes and cipher texts. Successful checks are remembered briefly so
+ * that clients who log in at high frequency do not pay for BCrypt or PBE on
+ * every call.
+ */
+public interface CredentialService {
+
+	/**
+	 * Encrypts a secret for storage.
+	 * 
+	 * @param clearText
+	 *            Clear text
+	 * @return Cipher text
+	 */
+	String encrypt(String clearText);
+
+	/**
+	 * Decrypts a stored secret.
+	 * 
+	 * @param cipherText
+	 *            Cipher text
+	 * @return Clear text
+	 */
+	String decrypt(String cipherText);
+
+	/**
+	 * Checks a clear-text password or verification token against its stored
+	 * BCrypt hash.
+	 * 
+	 * @param userId
+	 *            User ID
+	 * @param clearText
+	 *            Credential supplied by the client
+	 * @param hash
+	 *            Hash stored for the user; null never matches
+	 * @return True if the credential matches
+	 */
+	boolean checkHash(String userId, String clearText, String hash);
+
+	/**
+	 * Checks a clear-text API token against its stored cipher text.
+	 * 
+	 * @param userId
+	 *            User ID
+	 * @param clearText
+	 *            Credential supplied by the client
+	 * @param cipherText
+	 *            Cipher text stored for the user; null never matches
+	 * @return True if the credential matches
+	 */
+	boolean checkCipherText(String userId, String clearText, String cipherText);
+
+	/**
+	 * @return Statistics of the cache of verified credentials
+	 */
+	CacheStatsTransport getCacheStats();
+
+}
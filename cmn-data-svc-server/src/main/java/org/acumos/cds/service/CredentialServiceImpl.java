@@ -0,0 +1,123 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+import javax.annotation.PostConstruct;
+
+import org.acumos.cds.transport.CacheStatsTransport;
+import org.acumos.cds.util.BoundedCache;
+import org.jasypt.encryption.pbe.StandardPBEStringEncryptor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.stereotype.Service;
+
+/**
+ * Uses one thread-safe encryptor, initialized at startup, with the same
+ * algorithm and output format as the Jasypt BasicTextEncryptor used before.
+ * 
+ * Verified credentials are cached under a SHA-256 digest of the user ID and
+ * clear-text credential, so the clear text is never kept. The cached value is
+ * the stored hash or cipher text that was verified; a hit counts only if the
+ * user's stored value is unchanged, so changing a password or token takes
+ * effect immediately without explicit invalidation. Failed checks are never
+ * cached.
+ */
+@Service("credentialService")
+public class CredentialServiceImpl implements CredentialService {
+
+	@Value("${jasypt.encryptor.password:change-me-should-never-be-used}")
+	private String jasyptEncryptorPassword;
+
+	@Value("${credential.cache.max.size:10000}")
+	private int maxSize;
+
+	@Value("${credential.cache.ttl.ms:60000}")
+	private long ttlMillis;
+
+	private StandardPBEStringEncryptor encryptor;
+	private BoundedCache<String, String> verified;
+
+	@PostConstruct
+	public void init() {
+		encryptor = new StandardPBEStringEncryptor();
+		encryptor.setPassword(jasyptEncryptorPassword);
+		// Pay the setup cost now instead of on the first login
+		encryptor.initialize();
+		verified = new BoundedCache<>("credential", maxSize, ttlMillis);
+	}
+
+	@Override
+	public String encrypt(String clearText) {
+		return encryptor.encrypt(clearText);
+	}
+
+	@Override
+	public String decrypt(String cipherText) {
+		return encryptor.decrypt(cipherText);
+	}
+
+	private static String cacheKey(String kind, String userId, String clearText) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			digest.update((kind + '\n' + userId + '\n' + clearText).getBytes(StandardCharsets.UTF_8));
+			return Base64.getEncoder().encodeToString(digest.digest());
+		} catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException("SHA-256 not available", ex);
+		}
+	}
+
+	@Override
+	public boolean checkHash(String userId, String clearText, String hash) {
+		if (hash == null)
+			return false;
+		String key = cacheKey("hash", userId, clearText);
+		if (hash.equals(verified.get(key)))
+			return true;
+		boolean match = BCrypt.checkpw(clearText, hash);
+		if (match)
+			verified.put(key, hash);
+		return match;
+	}
+
+	@Override
+	public boolean checkCipherText(String userId, String clearText, String cipherText) {
+		if (cipherText == null)
+			return false;
+		String key = cacheKey("cipher", userId, clearText);
+		if (cipherText.equals(verified.get(key)))
+			return true;
+		boolean match = clearText.equals(decrypt(cipherText));
+		if (match)
+			verified.put(key, cipherText);
+		return match;
+	}
+
+	@Override
+	public CacheStatsTransport getCacheStats() {
+		return verified.getStats();
+	}
+
+}
@@ -0,0 +1,116 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.service;
+
+import java.util.List;
+
+import org.acumos.cds.domain.MLPPeer;
+import org.acumos.cds.domain.MLPSolution;
+import org.acumos.cds.domain.MLPSolutionRevision;
+import org.acumos.cds.domain.MLPUser;
+import org.acumos.cds.transport.CacheStatsTransport;
+
+/**
+ * Defines methods to look up solutions, revisions, users and peers by ID
+ * through an in-memory cache, which makes the existence checks that precede
+ * most writes cheap. Objects returned here are shared between requests and
+ * must be treated as read only; callers that modify or return an entity should
+ * use the repository. Code that updates or deletes an entity must invalidate
+ * its entry.
+ */
+public interface EntityCacheService {
+
+	/**
+	 * Gets the solution with the specified ID.
+	 * 
+	 * @param solutionId
+	 *            Solution ID
+	 * @return Shared instance; null if not found
+	 */
+	MLPSolution getSolution(String solutionId);
+
+	/**
+	 * Gets the revision with the specified ID.
+	 * 
+	 * @param revisionId
+	 *            Revision ID
+	 * @return Shared instance; null if not found
+	 */
+	MLPSolutionRevision getRevision(String revisionId);
+
+	/**
+	 * Gets the user with the specified ID.
+	 * 
+	 * @param userId
+	 *            User ID
+	 * @return Shared instance; null if not found
+	 */
+	MLPUser getUser(String userId);
+
+	/**
+	 * Gets the peer with the specified ID.
+	 * 
+	 * @param peerId
+	 *            Peer ID
+	 * @return Shared instance; null if not found
+	 */
+	MLPPeer getPeer(String peerId);
+
+	/**
+	 * Discards the cached solution.
+	 * 
+	 * @param solutionId
+	 *            Solution ID
+	 */
+	void invalidateSolution(String solutionId);
+
+	/**
+	 * Discards the cached revision.
+	 * 
+	 * @param revisionId
+	 *            Revision ID
+	 */
+	void invalidateRevision(String revisionId);
+
+	/**
+	 * Discards the cached user.
+	 * 
+	 * @param userId
+	 *            User ID
+	 */
+	void invalidateUser(String userId);
+
+	/**
+	 * Discards the cached peer.
+	 * 
+	 * @param peerId
+	 *            Peer ID
+	 */
+	void invalidatePeer(String peerId);
+
+	/**
+	 * Gets statistics for each cache.
+	 * 
+	 * @return List of statistics, one per entity type
+	 */
+	List<CacheStatsTransport> getStats();
+
+}
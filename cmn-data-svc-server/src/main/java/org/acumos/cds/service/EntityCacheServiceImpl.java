@@ -0,0 +1,128 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.PostConstruct;
+
+import org.acumos.cds.domain.MLPPeer;
+import org.acumos.cds.domain.MLPSolution;
+import org.acumos.cds.domain.MLPSolutionRevision;
+import org.acumos.cds.domain.MLPUser;
+import org.acumos.cds.repository.PeerRepository;
+import org.acumos.cds.repository.SolutionRepository;
+import org.acumos.cds.repository.SolutionRevisionRepository;
+import org.acumos.cds.repository.UserRepository;
+import org.acumos.cds.transport.CacheStatsTransport;
+import org.acumos.cds.util.BoundedCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps one bounded cache per entity type, loading entries through the
+ * repositories. Entries expire after a configured time, which limits the
+ * staleness of a change made outside this server.
+ */
+@Service("entityCacheService")
+public class EntityCacheServiceImpl implements EntityCacheService {
+
+	@Autowired
+	private SolutionRepository solutionRepository;
+	@Autowired
+	private SolutionRevisionRepository solutionRevisionRepository;
+	@Autowired
+	private UserRepository userRepository;
+	@Autowired
+	private PeerRepository peerRepository;
+
+	@Value("${entity.cache.max.size:10000}")
+	private int maxSize;
+
+	@Value("${entity.cache.ttl.ms:60000}")
+	private long ttlMillis;
+
+	private BoundedCache<String, MLPSolution> solutions;
+	private BoundedCache<String, MLPSolutionRevision> revisions;
+	private BoundedCache<String, MLPUser> users;
+	private BoundedCache<String, MLPPeer> peers;
+
+	@PostConstruct
+	public void init() {
+		solutions = new BoundedCache<>("solution", maxSize, ttlMillis);
+		revisions = new BoundedCache<>("revision", maxSize, ttlMillis);
+		users = new BoundedCache<>("user", maxSize, ttlMillis);
+		peers = new BoundedCache<>("peer", maxSize, ttlMillis);
+	}
+
+	@Override
+	public MLPSolution getSolution(String solutionId) {
+		return solutions.get(solutionId, solutionRepository::findOne);
+	}
+
+	@Override
+	public MLPSolutionRevision getRevision(String revisionId) {
+		return revisions.get(revisionId, solutionRevisionRepository::findOne);
+	}
+
+	@Override
+	public MLPUser getUser(String userId) {
+		return users.get(userId, userRepository::findOne);
+	}
+
+	@Override
+	public MLPPeer getPeer(String peerId) {
+		return peers.get(peerId, peerRepository::findOne);
+	}
+
+	@Override
+	public void invalidateSolution(String solutionId) {
+		solutions.invalidate(solutionId);
+	}
+
+	@Override
+	public void invalidateRevision(String revisionId) {
+		revisions.invalidate(revisionId);
+	}
+
+	@Override
+	public void invalidateUser(String userId) {
+		users.invalidate(userId);
+	}
+
+	@Override
+	public void invalidatePeer(String peerId) {
+		peers.invalidate(peerId);
+	}
+
+	@Override
+	public List<CacheStatsTransport> getStats() {
+		List<CacheStatsTransport> stats = new ArrayList<>();
+		stats.add(solutions.getStats());
+		stats.add(revisions.getStats());
+		stats.add(users.getStats());
+		stats.add(peers.getStats());
+		return stats;
+	}
+
+}
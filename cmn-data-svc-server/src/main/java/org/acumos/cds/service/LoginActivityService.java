@@ -0,0 +1,84 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.service;
+
+import java.util.Date;
+
+import org.acumos.cds.domain.MLPUser;
+
+/**
+ * Defines methods to record login outcomes in memory and write them to the
+ * user table in batches, which avoids an update of the user row on every
+ * login. Pending outcomes are overlaid on users read from the database, so the
+ * temporary block after repeated failures works as before on this server.
+ */
+public interface LoginActivityService {
+
+	/**
+	 * Sets the last login, failure count and failure date of the user to the
+	 * values recorded but not yet written.
+	 * 
+	 * @param user
+	 *            User read from the database; must not be managed by an entity
+	 *            manager, because it is modified
+	 * @return The argument
+	 */
+	MLPUser withPendingActivity(MLPUser user);
+
+	/**
+	 * Records a successful login, which also clears any failures.
+	 * 
+	 * @param userId
+	 *            User ID
+	 * @param lastLogin
+	 *            Time of login
+	 */
+	void recordSuccess(String userId, Date lastLogin);
+
+	/**
+	 * Records a failed login.
+	 * 
+	 * @param userId
+	 *            User ID
+	 * @param failCount
+	 *            Number of consecutive failures including this one
+	 * @param failDate
+	 *            Time of failure
+	 */
+	void recordFailure(String userId, short failCount, Date failDate);
+
+	/**
+	 * Discards pending activity for the specified user; e.g., after the user is
+	 * updated or deleted, so the update is not overwritten.
+	 * 
+	 * @param userId
+	 *            User ID
+	 */
+	void discard(String userId);
+
+	/**
+	 * Writes all pending activity to the database.
+	 * 
+	 * @return Number of users updated
+	 */
+	int flush();
+
+}
@@ -0,0 +1,227 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.service;
+
+import java.lang.invoke.MethodHandles;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+
+import org.acumos.cds.domain.MLPUser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps the latest login outcome per user in memory and writes them to the
+ * database as a JDBC batch of targeted updates, so repeated logins by one user
+ * between flushes cost one update. A flush runs on a fixed interval, whenever
+ * the number of pending users reaches a threshold, and on shutdown. A threshold
+ * flush is handed to a background thread, so the login that crosses the
+ * threshold does not wait for the database. An entry is
+ * removed after it is written only if no newer outcome replaced it meanwhile;
+ * if the update fails, entries stay pending for the next attempt.
+ * 
+ * Failures recorded on another server become visible here only after they are
+ * written, so with several servers a client may get a few more attempts than
+ * the configured limit before it is blocked.
+ */
+@Service("loginActivityService")
+public class LoginActivityServiceImpl implements LoginActivityService {
+
+	private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+	private static final String UPDATE_SQL = "UPDATE C_USER SET LAST_LOGIN_DATE = COALESCE(?, LAST_LOGIN_DATE), "
+			+ "LOGIN_FAIL_COUNT = ?, LOGIN_FAIL_DATE = ? WHERE USER_ID = ?";
+
+	/**
+	 * Immutable outcome; a null last login means no successful login is pending.
+	 */
+	private static class Activity {
+		final Date lastLogin;
+		final Short failCount;
+		final Date failDate;
+
+		Activity(Date lastLogin, Short failCount, Date failDate) {
+			this.lastLogin = lastLogin;
+			this.failCount = failCount;
+			this.failDate = failDate;
+		}
+	}
+
+	@Autowired
+	private DataSource dataSource;
+	@Autowired
+	private EntityCacheService entityCacheService;
+
+	@Value("${login.activity.flush.threshold:1000}")
+	private int flushThreshold;
+
+	private final Map<String, Activity> pending = new ConcurrentHashMap<>();
+	private final AtomicBoolean flushing = new AtomicBoolean();
+	private final AtomicBoolean flushRequested = new AtomicBoolean();
+	private final ExecutorService flusher = Executors.newSingleThreadExecutor(r -> {
+		Thread t = new Thread(r, "login-activity-flush");
+		t.setDaemon(true);
+		return t;
+	});
+
+	@Override
+	public MLPUser withPendingActivity(MLPUser user) {
+		Activity activity = pending.get(user.getUserId());
+		if (activity != null) {
+			if (activity.lastLogin != null)
+				user.setLastLogin(activity.lastLogin);
+			user.setLoginFailCount(activity.failCount);
+			user.setLoginFailDate(activity.failDate);
+		}
+		return user;
+	}
+
+	@Override
+	public void recordSuccess(String userId, Date lastLogin) {
+		pending.put(userId, new Activity(lastLogin, null, null));
+		if (pending.size() >= flushThreshold)
+			requestFlush();
+	}
+
+	@Override
+	public void recordFailure(String userId, short failCount, Date failDate) {
+		pending.compute(userId,
+				(k, old) -> new Activity(old == null ? null : old.lastLogin, failCount, failDate));
+		if (pending.size() >= flushThreshold)
+			requestFlush();
+	}
+
+	/*
+	 * Queues one flush on the background thread. Outcomes recorded before it runs
+	 * are included, so further requests are ignored until it starts.
+	 */
+	private void requestFlush() {
+		if (!flushRequested.compareAndSet(false, true))
+			return;
+		try {
+			flusher.execute(() -> {
+				flushRequested.set(false);
+				flush();
+			});
+		} catch (RejectedExecutionException ex) {
+			// Shutting down, which flushes
+			flushRequested.set(false);
+		}
+	}
+
+	@Override
+	public void discard(String userId) {
+		pending.remove(userId);
+	}
+
+	@Override
+	@Scheduled(fixedDelayString = "${login.activity.flush.interval.ms:1000}")
+	public int flush() {
+		// Let one thread flush; others keep recording
+		if (!flushing.compareAndSet(false, true))
+			return 0;
+		try {
+			return flushPending();
+		} finally {
+			flushing.set(false);
+		}
+	}
+
+	private static Timestamp timestamp(Date date) {
+		return date == null ? null : new Timestamp(date.getTime());
+	}
+
+	private int flushPending() {
+		List<Map.Entry<String, Activity>> entries = new ArrayList<>(pending.entrySet());
+		if (entries.isEmpty())
+			return 0;
+		try (Connection conn = dataSource.getConnection()) {
+			boolean autoCommit = conn.getAutoCommit();
+			conn.setAutoCommit(false);
+			try (PreparedStatement ps = conn.prepareStatement(UPDATE_SQL)) {
+				for (Map.Entry<String, Activity> entry : entries) {
+					Activity activity = entry.getValue();
+					ps.setTimestamp(1, timestamp(activity.lastLogin));
+					if (activity.failCount == null)
+						ps.setNull(2, Types.SMALLINT);
+					else
+						ps.setShort(2, activity.failCount);
+					ps.setTimestamp(3, timestamp(activity.failDate));
+					ps.setString(4, entry.getKey());
+					ps.addBatch();
+				}
+				ps.executeBatch();
+				conn.commit();
+			} catch (SQLException ex) {
+				conn.rollback();
+				throw ex;
+			} finally {
+				conn.setAutoCommit(autoCommit);
+			}
+		} catch (SQLException ex) {
+			logger.error("flush: failed to update login activity, will retry", ex);
+			return 0;
+		}
+		for (Map.Entry<String, Activity> entry : entries) {
+			pending.remove(entry.getKey(), entry.getValue());
+			entityCacheService.invalidateUser(entry.getKey());
+		}
+		logger.debug("flush: updated login activity for {} users", entries.size());
+		return entries.size();
+	}
+
+	/**
+	 * Writes pending activity before the data source is closed, after any flush
+	 * on the background thread finishes.
+	 * 
+	 * @throws InterruptedException
+	 *             if interrupted while waiting for the background flush
+	 */
+	@PreDestroy
+	public void shutdown() throws InterruptedException {
+		logger.info("shutdown: flushing login activity");
+		flusher.shutdown();
+		if (!flusher.awaitTermination(30, TimeUnit.SECONDS))
+			logger.warn("shutdown: background flush did not finish");
+		flush();
+	}
+
+}
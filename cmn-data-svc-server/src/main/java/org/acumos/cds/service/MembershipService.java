@@ -0,0 +1,104 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.service;
+
+import java.util.List;
+
+import org.acumos.cds.transport.BatchResultTransport;
+
+/**
+ * Defines methods that change many memberships in one transaction: users in a
+ * role, roles of a user, users in the access-control list of a solution, and
+ * members of solution and peer groups. Each call validates the member IDs with
+ * one query, reads the current memberships with one query, and writes the
+ * inserts and deletes as JDBC batches. The caller must check that the owning
+ * entity exists. The result reports the outcome for each ID in request order.
+ */
+public interface MembershipService {
+
+	/**
+	 * Assigns or removes a role for many users. If any user ID fails validation,
+	 * nothing is changed.
+	 * 
+	 * @param roleId
+	 *            Role ID
+	 * @param isAdd
+	 *            If true, add the users to the role; if false, remove them
+	 * @param userIds
+	 *            List of user IDs
+	 * @return Result for each user ID
+	 */
+	BatchResultTransport addOrDropRoleUsers(String roleId, boolean isAdd, List<String> userIds);
+
+	/**
+	 * Replaces the roles of a user with the specified roles, inserting and
+	 * deleting only the differences. If any role ID fails validation, nothing is
+	 * changed.
+	 * 
+	 * @param userId
+	 *            User ID
+	 * @param roleIds
+	 *            List of role IDs; empty to drop all roles
+	 * @return Result for each role ID
+	 */
+	BatchResultTransport setUserRoles(String userId, List<String> roleIds);
+
+	/**
+	 * Adds or removes users in the access-control list of a solution. Invalid IDs
+	 * are skipped.
+	 * 
+	 * @param solutionId
+	 *            Solution ID
+	 * @param isAdd
+	 *            If true, grant access; if false, revoke it
+	 * @param userIds
+	 *            List of user IDs
+	 * @return Result for each user ID
+	 */
+	BatchResultTransport addOrDropSolutionUsers(String solutionId, boolean isAdd, List<String> userIds);
+
+	/**
+	 * Adds or removes solutions in a solution group. Invalid IDs are skipped.
+	 * 
+	 * @param groupId
+	 *            Solution group ID
+	 * @param isAdd
+	 *            If true, add the solutions; if false, remove them
+	 * @param solutionIds
+	 *            List of solution IDs
+	 * @return Result for each solution ID
+	 */
+	BatchResultTransport addOrDropSolutionGroupMembers(long groupId, boolean isAdd, List<String> solutionIds);
+
+	/**
+	 * Adds or removes peers in a peer group. Invalid IDs are skipped.
+	 * 
+	 * @param groupId
+	 *            Peer group ID
+	 * @param isAdd
+	 *            If true, add the peers; if false, remove them
+	 * @param peerIds
+	 *            List of peer IDs
+	 * @return Result for each peer ID
+	 */
+	BatchResultTransport addOrDropPeerGroupMembers(long groupId, boolean isAdd, List<String> peerIds);
+
+}
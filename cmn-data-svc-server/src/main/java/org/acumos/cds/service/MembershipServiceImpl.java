@@ -0,0 +1,297 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.service;
+
+import java.lang.invoke.MethodHandles;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.PostConstruct;
+import javax.servlet.http.HttpServletResponse;
+import javax.sql.DataSource;
+
+import org.acumos.cds.transport.BatchItemTransport;
+import org.acumos.cds.transport.BatchResultTransport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Works on the map tables with plain SQL through the data source, so the
+ * statements join the current transaction. None of the map tables is tracked
+ * by the change log or the entity cache, so nothing else must be updated.
+ */
+@Service("membershipService")
+@Transactional
+public class MembershipServiceImpl implements MembershipService {
+
+	private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+	private static final String NO_ENTRY_WITH_ID = "No entry with ID ";
+
+	/**
+	 * Keeps each IN list well below the parameter limits of the databases.
+	 */
+	private static final int IN_CHUNK_SIZE = 500;
+
+	/**
+	 * Describes a map table in which an owner has many members.
+	 */
+	private static class Membership {
+		final String table;
+		final String ownerColumn;
+		final String memberColumn;
+		final String memberTable;
+		final boolean hasCreated;
+		final String presentMessage;
+		final String absentMessage;
+
+		Membership(String table, String ownerColumn, String memberColumn, String memberTable, boolean hasCreated,
+				String presentMessage, String absentMessage) {
+			this.table = table;
+			this.ownerColumn = ownerColumn;
+			this.memberColumn = memberColumn;
+			this.memberTable = memberTable;
+			this.hasCreated = hasCreated;
+			this.presentMessage = presentMessage;
+			this.absentMessage = absentMessage;
+		}
+	}
+
+	private static final Membership ROLE_USERS = new Membership("C_USER_ROLE_MAP", "ROLE_ID", "USER_ID", "C_USER",
+			false, "User already in role ", "User not in role ");
+	private static final Membership USER_ROLES = new Membership("C_USER_ROLE_MAP", "USER_ID", "ROLE_ID", "C_ROLE",
+			false, "User already has role ", "User does not have role ");
+	private static final Membership SOLUTION_USERS = new Membership("C_SOL_USER_ACCESS_MAP", "SOLUTION_ID",
+			"USER_ID", "C_USER", false, "Solution already grants access to user ",
+			"Solution does not grant access to user ");
+	private static final Membership SOLUTION_GROUP_MEMBERS = new Membership("C_SOL_GRP_MEM_MAP", "GROUP_ID",
+			"SOLUTION_ID", "C_SOLUTION", true, "Group already has solution ", "Group does not have solution ");
+	private static final Membership PEER_GROUP_MEMBERS = new Membership("C_PEER_GRP_MEM_MAP", "GROUP_ID", "PEER_ID",
+			"C_PEER", true, "Group already has peer ", "Group does not have peer ");
+
+	@Autowired
+	private DataSource dataSource;
+
+	private JdbcTemplate jdbcTemplate;
+	private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+	@PostConstruct
+	public void init() {
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+	}
+
+	/**
+	 * Drops nulls and duplicates so the list can be used in an IN clause.
+	 */
+	private static Set<String> nonNull(List<String> values) {
+		Set<String> set = new HashSet<>(values);
+		set.remove(null);
+		return set;
+	}
+
+	/**
+	 * Runs the query once per chunk of IDs and collects the single string column.
+	 * 
+	 * @param sql
+	 *            Query with a named parameter "ids" for the IN list
+	 */
+	private Set<String> queryIn(String sql, MapSqlParameterSource params, Collection<String> ids) {
+		Set<String> found = new HashSet<>();
+		List<String> all = new ArrayList<>(ids);
+		for (int from = 0; from < all.size(); from += IN_CHUNK_SIZE) {
+			params.addValue("ids", all.subList(from, Math.min(all.size(), from + IN_CHUNK_SIZE)));
+			found.addAll(namedJdbcTemplate.queryForList(sql, params, String.class));
+		}
+		return found;
+	}
+
+	/**
+	 * Gets the IDs that exist in the member table.
+	 */
+	private Set<String> findMemberIds(Membership m, Collection<String> ids) {
+		return queryIn("SELECT " + m.memberColumn + " FROM " + m.memberTable + " WHERE " + m.memberColumn
+				+ " IN (:ids)", new MapSqlParameterSource(), ids);
+	}
+
+	/**
+	 * Gets the IDs among those specified that are members of the owner.
+	 */
+	private Set<String> findMapped(Membership m, Object ownerId, Collection<String> ids) {
+		return queryIn("SELECT " + m.memberColumn + " FROM " + m.table + " WHERE " + m.ownerColumn
+				+ " = :owner AND " + m.memberColumn + " IN (:ids)", new MapSqlParameterSource("owner", ownerId), ids);
+	}
+
+	/**
+	 * Gets all members of the owner.
+	 */
+	private Set<String> findAllMapped(Membership m, Object ownerId) {
+		return new HashSet<>(jdbcTemplate.queryForList(
+				"SELECT " + m.memberColumn + " FROM " + m.table + " WHERE " + m.ownerColumn + " = ?", String.class,
+				ownerId));
+	}
+
+	private void insert(Membership m, Object ownerId, Collection<String> memberIds) {
+		if (memberIds.isEmpty())
+			return;
+		List<Object[]> args = new ArrayList<>();
+		if (m.hasCreated) {
+			Timestamp created = new Timestamp(System.currentTimeMillis());
+			for (String id : memberIds)
+				args.add(new Object[] { ownerId, id, created });
+			jdbcTemplate.batchUpdate("INSERT INTO " + m.table + " (" + m.ownerColumn + ", " + m.memberColumn
+					+ ", CREATED_DATE) VALUES (?, ?, ?)", args);
+		} else {
+			for (String id : memberIds)
+				args.add(new Object[] { ownerId, id });
+			jdbcTemplate.batchUpdate(
+					"INSERT INTO " + m.table + " (" + m.ownerColumn + ", " + m.memberColumn + ") VALUES (?, ?)", args);
+		}
+	}
+
+	private void delete(Membership m, Object ownerId, Collection<String> memberIds) {
+		if (memberIds.isEmpty())
+			return;
+		List<Object[]> args = new ArrayList<>();
+		for (String id : memberIds)
+			args.add(new Object[] { ownerId, id });
+		jdbcTemplate.batchUpdate(
+				"DELETE FROM " + m.table + " WHERE " + m.ownerColumn + " = ? AND " + m.memberColumn + " = ?", args);
+	}
+
+	/**
+	 * Builds the result in request order.
+	 */
+	private static BatchResultTransport buildResult(BatchItemTransport[] items) {
+		BatchResultTransport result = new BatchResultTransport();
+		for (BatchItemTransport item : items)
+			result.addItem(item);
+		return result;
+	}
+
+	/**
+	 * Checks every ID, then applies the changes for the valid ones; or for none
+	 * if allOrNothing is set and any ID is invalid.
+	 */
+	private BatchResultTransport addOrDrop(Membership m, Object ownerId, boolean isAdd, List<String> ids,
+			boolean allOrNothing) {
+		Set<String> candidates = nonNull(ids);
+		Set<String> mapped = findMapped(m, ownerId, candidates);
+		// Only adds need the member to exist; a mapped ID exists by constraint
+		Set<String> existingIds = isAdd ? findMemberIds(m, candidates) : mapped;
+		Set<String> seenIds = new HashSet<>();
+		BatchItemTransport[] items = new BatchItemTransport[ids.size()];
+		List<String> changes = new ArrayList<>();
+		for (int i = 0; i < ids.size(); ++i) {
+			String id = ids.get(i);
+			String error = null;
+			if (id == null)
+				error = "Missing ID";
+			else if (!seenIds.add(id))
+				error = "Duplicate ID " + id;
+			else if (isAdd && !existingIds.contains(id))
+				error = NO_ENTRY_WITH_ID + id;
+			else if (isAdd && mapped.contains(id))
+				error = m.presentMessage + id;
+			else if (!isAdd && !mapped.contains(id))
+				error = m.absentMessage + id;
+			if (error != null) {
+				items[i] = new BatchItemTransport(i, id, HttpServletResponse.SC_BAD_REQUEST, error);
+			} else {
+				changes.add(id);
+				items[i] = new BatchItemTransport(i, id, HttpServletResponse.SC_OK, null);
+			}
+		}
+		if (allOrNothing && changes.size() < ids.size())
+			changes = Collections.emptyList();
+		if (isAdd)
+			insert(m, ownerId, changes);
+		else
+			delete(m, ownerId, changes);
+		logger.debug("addOrDrop: table {} owner {} add {} changed {} of {}", m.table, ownerId, isAdd, changes.size(),
+				ids.size());
+		return buildResult(items);
+	}
+
+	@Override
+	public BatchResultTransport addOrDropRoleUsers(String roleId, boolean isAdd, List<String> userIds) {
+		return addOrDrop(ROLE_USERS, roleId, isAdd, userIds, true);
+	}
+
+	@Override
+	public BatchResultTransport setUserRoles(String userId, List<String> roleIds) {
+		Set<String> existingIds = findMemberIds(USER_ROLES, nonNull(roleIds));
+		Set<String> seenIds = new HashSet<>();
+		BatchItemTransport[] items = new BatchItemTransport[roleIds.size()];
+		boolean valid = true;
+		for (int i = 0; i < roleIds.size(); ++i) {
+			String id = roleIds.get(i);
+			String error = null;
+			if (id == null)
+				error = "Missing ID";
+			else if (!seenIds.add(id))
+				error = "Duplicate ID " + id;
+			else if (!existingIds.contains(id))
+				error = NO_ENTRY_WITH_ID + id;
+			valid &= error == null;
+			items[i] = new BatchItemTransport(i, id,
+					error == null ? HttpServletResponse.SC_OK : HttpServletResponse.SC_BAD_REQUEST, error);
+		}
+		if (valid) {
+			Set<String> mapped = findAllMapped(USER_ROLES, userId);
+			Set<String> inserts = new HashSet<>(seenIds);
+			inserts.removeAll(mapped);
+			Set<String> deletes = new HashSet<>(mapped);
+			deletes.removeAll(seenIds);
+			insert(USER_ROLES, userId, inserts);
+			delete(USER_ROLES, userId, deletes);
+			logger.debug("setUserRoles: user {} inserted {} deleted {}", userId, inserts.size(), deletes.size());
+		}
+		return buildResult(items);
+	}
+
+	@Override
+	public BatchResultTransport addOrDropSolutionUsers(String solutionId, boolean isAdd, List<String> userIds) {
+		return addOrDrop(SOLUTION_USERS, solutionId, isAdd, userIds, false);
+	}
+
+	@Override
+	public BatchResultTransport addOrDropSolutionGroupMembers(long groupId, boolean isAdd, List<String> solutionIds) {
+		return addOrDrop(SOLUTION_GROUP_MEMBERS, groupId, isAdd, solutionIds, false);
+	}
+
+	@Override
+	public BatchResultTransport addOrDropPeerGroupMembers(long groupId, boolean isAdd, List<String> peerIds) {
+		return addOrDrop(PEER_GROUP_MEMBERS, groupId, isAdd, peerIds, false);
+	}
+
+}
@@ -0,0 +1,134 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.service;
+
+import java.util.List;
+
+import org.acumos.cds.domain.MLPUserNotification;
+import org.acumos.cds.transport.BatchResultTransport;
+import org.acumos.cds.transport.CacheStatsTransport;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Defines methods that deliver notifications to many users with set-based
+ * statements, and that answer the active notifications of a user from a
+ * cache.
+ */
+public interface NotificationService {
+
+	/**
+	 * Adds all active users as recipients of the notification, skipping those
+	 * who already are.
+	 * 
+	 * @param notificationId
+	 *            Notification ID
+	 * @return Number of recipients added
+	 */
+	long addAllUsers(String notificationId);
+
+	/**
+	 * Adds the active users in the role as recipients of the notification,
+	 * skipping those who already are.
+	 * 
+	 * @param notificationId
+	 *            Notification ID
+	 * @param roleId
+	 *            Role ID
+	 * @return Number of recipients added
+	 */
+	long addRoleUsers(String notificationId, String roleId);
+
+	/**
+	 * Adds the users as recipients of the notification, skipping unknown users
+	 * and those who already are recipients.
+	 * 
+	 * @param notificationId
+	 *            Notification ID
+	 * @param userIds
+	 *            List of user IDs
+	 * @return Number of recipients added
+	 */
+	long addUsers(String notificationId, List<String> userIds);
+
+	/**
+	 * Deletes the notification and all its recipients.
+	 * 
+	 * @param notificationId
+	 *            Notification ID
+	 * @return True if the notification existed
+	 */
+	boolean deleteNotification(String notificationId);
+
+	/**
+	 * Gets a page of the notifications of the user that are active now.
+	 * 
+	 * @param userId
+	 *            User ID
+	 * @param pageable
+	 *            Page and sort criteria; the sort may name any simple property
+	 * @return Page of user notifications
+	 * @throws IllegalArgumentException
+	 *             If the sort names an unknown property
+	 */
+	Page<MLPUserNotification> getActiveNotifications(String userId, Pageable pageable);
+
+	/**
+	 * Gets the number of active notifications the user has not viewed.
+	 * 
+	 * @param userId
+	 *            User ID
+	 * @return Count
+	 */
+	long getUnreadCount(String userId);
+
+	/**
+	 * Records that the user viewed the notifications now, unless already viewed.
+	 * 
+	 * @param userId
+	 *            User ID
+	 * @param notificationIds
+	 *            List of notification IDs
+	 * @return Result for each notification ID in request order
+	 */
+	BatchResultTransport setViewed(String userId, List<String> notificationIds);
+
+	/**
+	 * Discards the cached notifications of the user after a change made elsewhere.
+	 * 
+	 * @param userId
+	 *            User ID
+	 */
+	void invalidateUser(String userId);
+
+	/**
+	 * Discards the cached notifications of all users after a change to a notification.
+	 */
+	void invalidateAll();
+
+	/**
+	 * Gets statistics of the notification inbox cache.
+	 * 
+	 * @return Statistics
+	 */
+	CacheStatsTransport getCacheStats();
+
+}
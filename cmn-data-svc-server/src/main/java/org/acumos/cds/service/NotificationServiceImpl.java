@@ -0,0 +1,274 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.service;
+
+import java.lang.invoke.MethodHandles;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManager;
+import javax.servlet.http.HttpServletResponse;
+import javax.sql.DataSource;
+
+import org.acumos.cds.domain.MLPUserNotification;
+import org.acumos.cds.repository.NotificationRepository;
+import org.acumos.cds.transport.BatchItemTransport;
+import org.acumos.cds.transport.BatchResultTransport;
+import org.acumos.cds.transport.CacheStatsTransport;
+import org.acumos.cds.util.BoundedCache;
+import org.hibernate.Session;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.event.spi.EventSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Writes the notification-user map with plain SQL through the data source, so
+ * the statements join the current transaction. The inbox of each user, meaning
+ * the notifications that have not ended including those yet to start, is
+ * cached and filtered by time window on every read, so a notification appears
+ * and disappears at its start and end without a query. Writes discard the
+ * affected entries after the transaction commits.
+ */
+@Service("notificationService")
+@Transactional
+public class NotificationServiceImpl implements NotificationService {
+
+	private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+	/**
+	 * Keeps each IN list well below the parameter limits of the databases.
+	 */
+	private static final int IN_CHUNK_SIZE = 500;
+
+	/**
+	 * Has placeholders for additional tables and for the condition on users.
+	 */
+	private static final String INSERT_RECIPIENTS = "INSERT INTO C_NOTIF_USER_MAP (NOTIFICATION_ID, USER_ID)" //
+			+ " SELECT N.NOTIFICATION_ID, U.USER_ID FROM C_NOTIFICATION N, C_USER U%s" //
+			+ " WHERE N.NOTIFICATION_ID = :notif AND %s" //
+			+ " AND NOT EXISTS (SELECT 1 FROM C_NOTIF_USER_MAP M" //
+			+ " WHERE M.NOTIFICATION_ID = N.NOTIFICATION_ID AND M.USER_ID = U.USER_ID)";
+
+	@Autowired
+	private DataSource dataSource;
+	@Autowired
+	private EntityManager entityManager;
+	@Autowired
+	private NotificationRepository notificationRepository;
+
+	@Value("${notification.inbox.cache.max.size:10000}")
+	private int maxSize;
+
+	@Value("${notification.inbox.cache.ttl.ms:60000}")
+	private long ttlMillis;
+
+	private NamedParameterJdbcTemplate jdbcTemplate;
+	private BoundedCache<String, List<MLPUserNotification>> inboxes;
+
+	@PostConstruct
+	public void init() {
+		jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+		inboxes = new BoundedCache<>("notificationInbox", maxSize, ttlMillis);
+	}
+
+	private void afterCommit(Runnable action) {
+		((EventSource) entityManager.unwrap(Session.class)).getActionQueue()
+				.registerProcess((AfterTransactionCompletionProcess) (success, s) -> {
+					if (success)
+						action.run();
+				});
+	}
+
+	private long insertRecipients(String tables, String condition, MapSqlParameterSource params) {
+		return jdbcTemplate.update(String.format(INSERT_RECIPIENTS, tables, condition), params);
+	}
+
+	@Override
+	public long addAllUsers(String notificationId) {
+		long added = insertRecipients("", "U.ACTIVE_YN = 'Y'", new MapSqlParameterSource("notif", notificationId));
+		logger.debug("addAllUsers: notification {} added {}", notificationId, added);
+		afterCommit(inboxes::invalidateAll);
+		return added;
+	}
+
+	@Override
+	public long addRoleUsers(String notificationId, String roleId) {
+		long added = insertRecipients(", C_USER_ROLE_MAP R",
+				"R.ROLE_ID = :role AND R.USER_ID = U.USER_ID AND U.ACTIVE_YN = 'Y'",
+				new MapSqlParameterSource("notif", notificationId).addValue("role", roleId));
+		logger.debug("addRoleUsers: notification {} role {} added {}", notificationId, roleId, added);
+		afterCommit(inboxes::invalidateAll);
+		return added;
+	}
+
+	@Override
+	public long addUsers(String notificationId, List<String> userIds) {
+		List<String> ids = new ArrayList<>(new HashSet<>(userIds));
+		long added = 0;
+		for (int from = 0; from < ids.size(); from += IN_CHUNK_SIZE) {
+			List<String> chunk = ids.subList(from, Math.min(ids.size(), from + IN_CHUNK_SIZE));
+			added += insertRecipients("", "U.USER_ID IN (:ids)",
+					new MapSqlParameterSource("notif", notificationId).addValue("ids", chunk));
+		}
+		logger.debug("addUsers: notification {} added {} of {}", notificationId, added, userIds.size());
+		afterCommit(() -> ids.forEach(inboxes::invalidate));
+		return added;
+	}
+
+	@Override
+	public boolean deleteNotification(String notificationId) {
+		MapSqlParameterSource params = new MapSqlParameterSource("notif", notificationId);
+		int recipients = jdbcTemplate.update("DELETE FROM C_NOTIF_USER_MAP WHERE NOTIFICATION_ID = :notif", params);
+		int deleted = jdbcTemplate.update("DELETE FROM C_NOTIFICATION WHERE NOTIFICATION_ID = :notif", params);
+		logger.debug("deleteNotification: notification {} recipients {}", notificationId, recipients);
+		afterCommit(inboxes::invalidateAll);
+		return deleted > 0;
+	}
+
+	private List<MLPUserNotification> loadInbox(String userId) {
+		return Collections.unmodifiableList(notificationRepository.findUnexpiredByUser(userId, new Date()));
+	}
+
+	/**
+	 * Filters the cached inbox of the user to the notifications active now.
+	 */
+	private List<MLPUserNotification> getActive(String userId) {
+		Date now = new Date();
+		List<MLPUserNotification> active = new ArrayList<>();
+		for (MLPUserNotification n : inboxes.get(userId, this::loadInbox))
+			if (!n.getStart().after(now) && !n.getEnd().before(now))
+				active.add(n);
+		return active;
+	}
+
+	/**
+	 * Builds a comparator from the sort, which may name any simple property.
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private static Comparator<MLPUserNotification> comparator(Sort sort) {
+		Comparator<MLPUserNotification> result = null;
+		for (Sort.Order order : sort) {
+			String property = order.getProperty();
+			if (!BeanUtils.isSimpleValueType(BeanUtils.findPropertyType(property, MLPUserNotification.class)))
+				throw new IllegalArgumentException("Cannot sort on property " + property);
+			Comparator<MLPUserNotification> c = Comparator.comparing(
+					n -> (Comparable) new BeanWrapperImpl(n).getPropertyValue(property),
+					Comparator.nullsFirst(Comparator.naturalOrder()));
+			if (order.isDescending())
+				c = c.reversed();
+			result = result == null ? c : result.thenComparing(c);
+		}
+		return result;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public Page<MLPUserNotification> getActiveNotifications(String userId, Pageable pageable) {
+		List<MLPUserNotification> active = getActive(userId);
+		Comparator<MLPUserNotification> order = pageable.getSort() == null ? null : comparator(pageable.getSort());
+		if (order != null)
+			active.sort(order);
+		int from = Math.min(active.size(), pageable.getOffset());
+		int to = Math.min(active.size(), from + pageable.getPageSize());
+		return new PageImpl<>(new ArrayList<>(active.subList(from, to)), pageable, active.size());
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public long getUnreadCount(String userId) {
+		long unread = 0;
+		for (MLPUserNotification n : getActive(userId))
+			if (n.getViewed() == null)
+				++unread;
+		return unread;
+	}
+
+	@Override
+	public BatchResultTransport setViewed(String userId, List<String> notificationIds) {
+		List<String> candidates = new ArrayList<>(new HashSet<>(notificationIds));
+		candidates.remove(null);
+		Timestamp now = new Timestamp(System.currentTimeMillis());
+		Set<String> received = new HashSet<>();
+		int updated = 0;
+		for (int from = 0; from < candidates.size(); from += IN_CHUNK_SIZE) {
+			MapSqlParameterSource params = new MapSqlParameterSource("user", userId) //
+					.addValue("ids", candidates.subList(from, Math.min(candidates.size(), from + IN_CHUNK_SIZE)))
+					.addValue("now", now);
+			received.addAll(jdbcTemplate.queryForList("SELECT NOTIFICATION_ID FROM C_NOTIF_USER_MAP"
+					+ " WHERE USER_ID = :user AND NOTIFICATION_ID IN (:ids)", params, String.class));
+			updated += jdbcTemplate.update("UPDATE C_NOTIF_USER_MAP SET VIEWED_DATE = :now"
+					+ " WHERE USER_ID = :user AND VIEWED_DATE IS NULL AND NOTIFICATION_ID IN (:ids)", params);
+		}
+		Set<String> seenIds = new HashSet<>();
+		BatchResultTransport result = new BatchResultTransport();
+		for (int i = 0; i < notificationIds.size(); ++i) {
+			String id = notificationIds.get(i);
+			String error = null;
+			if (id == null)
+				error = "Missing ID";
+			else if (!seenIds.add(id))
+				error = "Duplicate ID " + id;
+			else if (!received.contains(id))
+				error = "User is not a recipient of notification " + id;
+			result.addItem(new BatchItemTransport(i, id,
+					error == null ? HttpServletResponse.SC_OK : HttpServletResponse.SC_BAD_REQUEST, error));
+		}
+		logger.debug("setViewed: user {} updated {} of {}", userId, updated, notificationIds.size());
+		afterCommit(() -> inboxes.invalidate(userId));
+		return result;
+	}
+
+	@Override
+	public void invalidateUser(String userId) {
+		inboxes.invalidate(userId);
+	}
+
+	@Override
+	public void invalidateAll() {
+		inboxes.invalidateAll();
+	}
+
+	@Override
+	public CacheStatsTransport getCacheStats() {
+		return inboxes.getStats();
+	}
+
+}
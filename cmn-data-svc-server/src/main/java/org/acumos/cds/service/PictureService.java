@@ -0,0 +1,129 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.service;
+
+import org.acumos.cds.domain.MLPSolutionPicture;
+import org.acumos.cds.domain.MLPUserPicture;
+
+/**
+ * Defines methods to read and write solution and user pictures. Pictures are
+ * stored in tables of their own so that reading a solution or user never reads
+ * the picture; the solution and user tables only hold a hash of the picture,
+ * which clients use as a reference and an entity tag.
+ */
+public interface PictureService {
+
+	/**
+	 * Gets the picture of the specified solution.
+	 * 
+	 * @param solutionId
+	 *            Solution ID
+	 * @return Picture; null if the solution has no picture
+	 */
+	MLPSolutionPicture getSolutionPicture(String solutionId);
+
+	/**
+	 * Gets the picture hash of the specified solution from the database,
+	 * bypassing the entity cache.
+	 * 
+	 * @param solutionId
+	 *            Solution ID
+	 * @return Picture hash; null if the solution has no picture
+	 */
+	String getSolutionPictureHash(String solutionId);
+
+	/**
+	 * Saves the picture of the specified solution, replacing any existing
+	 * picture, and sets the picture hash of the solution.
+	 * 
+	 * @param solutionId
+	 *            Solution ID; the solution must exist
+	 * @param contentType
+	 *            Media type of the picture; if null the type is detected from
+	 *            the content
+	 * @param picture
+	 *            Picture content
+	 * @return Picture hash
+	 */
+	String saveSolutionPicture(String solutionId, String contentType, byte[] picture);
+
+	/**
+	 * Deletes the picture of the specified solution, if any, and clears the
+	 * picture hash of the solution.
+	 * 
+	 * @param solutionId
+	 *            Solution ID
+	 */
+	void deleteSolutionPicture(String solutionId);
+
+	/**
+	 * Gets the picture of the specified user.
+	 * 
+	 * @param userId
+	 *            User ID
+	 * @return Picture; null if the user has no picture
+	 */
+	MLPUserPicture getUserPicture(String userId);
+
+	/**
+	 * Gets the picture hash of the specified user from the database, bypassing
+	 * the entity cache.
+	 * 
+	 * @param userId
+	 *            User ID
+	 * @return Picture hash; null if the user has no picture
+	 */
+	String getUserPictureHash(String userId);
+
+	/**
+	 * Saves the picture of the specified user, replacing any existing picture,
+	 * and sets the picture hash of the user.
+	 * 
+	 * @param userId
+	 *            User ID; the user must exist
+	 * @param contentType
+	 *            Media type of the picture; if null the type is detected from
+	 *            the content
+	 * @param picture
+	 *            Picture content
+	 * @return Picture hash
+	 */
+	String saveUserPicture(String userId, String contentType, byte[] picture);
+
+	/**
+	 * Deletes the picture of the specified user, if any, and clears the picture
+	 * hash of the user.
+	 * 
+	 * @param userId
+	 *            User ID
+	 */
+	void deleteUserPicture(String userId);
+
+	/**
+	 * Computes the picture hash of the content.
+	 * 
+	 * @param picture
+	 *            Picture content
+	 * @return Picture hash
+	 */
+	String computeHash(byte[] picture);
+
+}
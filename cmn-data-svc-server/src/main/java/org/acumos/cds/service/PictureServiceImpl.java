@@ -0,0 +1,173 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.URLConnection;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import javax.persistence.EntityManager;
+
+import org.acumos.cds.domain.MLPChangeLog;
+import org.acumos.cds.domain.MLPSolutionPicture;
+import org.acumos.cds.domain.MLPUserPicture;
+import org.acumos.cds.repository.SolutionPictureRepository;
+import org.acumos.cds.repository.SolutionRepository;
+import org.acumos.cds.repository.UserPictureRepository;
+import org.acumos.cds.repository.UserRepository;
+import org.hibernate.Session;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.event.spi.EventSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Stores each picture and the hash in the parent row in one transaction, so the
+ * hash always describes the stored picture. The hash is the hex-encoded SHA-256
+ * digest of the content. Cached entities are discarded after the transaction
+ * commits, so a concurrent read cannot cache the old hash again.
+ */
+@Service("pictureService")
+@Transactional
+public class PictureServiceImpl implements PictureService {
+
+	@Autowired
+	private SolutionPictureRepository solutionPictureRepository;
+	@Autowired
+	private SolutionRepository solutionRepository;
+	@Autowired
+	private UserPictureRepository userPictureRepository;
+	@Autowired
+	private UserRepository userRepository;
+	@Autowired
+	private EntityCacheService entityCacheService;
+	@Autowired
+	private ChangeLogService changeLogService;
+	@Autowired
+	private EntityManager entityManager;
+
+	private void afterCommit(Runnable action) {
+		((EventSource) entityManager.unwrap(Session.class)).getActionQueue()
+				.registerProcess((AfterTransactionCompletionProcess) (success, s) -> {
+					if (success)
+						action.run();
+				});
+	}
+
+	/**
+	 * Answers the 64-character lower-case hex string of the SHA-256 digest.
+	 */
+	@Override
+	public String computeHash(byte[] picture) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(picture);
+			return String.format("%064x", new BigInteger(1, digest));
+		} catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException("SHA-256 not available", ex);
+		}
+	}
+
+	/**
+	 * Detects common image formats from the leading bytes.
+	 * 
+	 * @param picture
+	 *            Picture content
+	 * @return Media type; application/octet-stream if not recognized
+	 */
+	private static String detectContentType(byte[] picture) {
+		String contentType = null;
+		try {
+			contentType = URLConnection.guessContentTypeFromStream(new ByteArrayInputStream(picture));
+		} catch (IOException ex) {
+			// Cannot happen with an in-memory stream
+		}
+		return contentType == null ? MediaType.APPLICATION_OCTET_STREAM_VALUE : contentType;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public MLPSolutionPicture getSolutionPicture(String solutionId) {
+		return solutionPictureRepository.findOne(solutionId);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public String getSolutionPictureHash(String solutionId) {
+		return solutionRepository.findPictureHash(solutionId);
+	}
+
+	@Override
+	public String saveSolutionPicture(String solutionId, String contentType, byte[] picture) {
+		solutionPictureRepository.save(new MLPSolutionPicture(solutionId,
+				contentType == null ? detectContentType(picture) : contentType, picture));
+		String pictureHash = computeHash(picture);
+		solutionRepository.updatePictureHash(solutionId, pictureHash);
+		// The bulk update bypasses the listeners
+		changeLogService.record(MLPChangeLog.SOLUTION, solutionId, solutionId, MLPChangeLog.UPDATE);
+		afterCommit(() -> entityCacheService.invalidateSolution(solutionId));
+		return pictureHash;
+	}
+
+	@Override
+	public void deleteSolutionPicture(String solutionId) {
+		if (solutionPictureRepository.exists(solutionId))
+			solutionPictureRepository.delete(solutionId);
+		solutionRepository.updatePictureHash(solutionId, null);
+		changeLogService.record(MLPChangeLog.SOLUTION, solutionId, solutionId, MLPChangeLog.UPDATE);
+		afterCommit(() -> entityCacheService.invalidateSolution(solutionId));
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public MLPUserPicture getUserPicture(String userId) {
+		return userPictureRepository.findOne(userId);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public String getUserPictureHash(String userId) {
+		return userRepository.findPictureHash(userId);
+	}
+
+	@Override
+	public String saveUserPicture(String userId, String contentType, byte[] picture) {
+		userPictureRepository.save(
+				new MLPUserPicture(userId, contentType == null ? detectContentType(picture) : contentType, picture));
+		String pictureHash = computeHash(picture);
+		userRepository.updatePictureHash(userId, pictureHash);
+		afterCommit(() -> entityCacheService.invalidateUser(userId));
+		return pictureHash;
+	}
+
+	@Override
+	public void deleteUserPicture(String userId) {
+		if (userPictureRepository.exists(userId))
+			userPictureRepository.delete(userId);
+		userRepository.updatePictureHash(userId, null);
+		afterCommit(() -> entityCacheService.invalidateUser(userId));
+	}
+
+}
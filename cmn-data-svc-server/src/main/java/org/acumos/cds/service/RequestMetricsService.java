@@ -0,0 +1,63 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.service;
+
+import java.util.List;
+
+import org.acumos.cds.transport.EndpointStatsTransport;
+
+/**
+ * Defines methods to measure the requests handled by each REST endpoint. The
+ * recording methods are called by an interceptor on every request, so
+ * implementations must be cheap and must not allocate in the common case.
+ */
+public interface RequestMetricsService {
+
+	/**
+	 * Counts a request that is starting.
+	 * 
+	 * @param handler
+	 *            Handler chosen by Spring MVC, usually a HandlerMethod
+	 */
+	void requestStarted(Object handler);
+
+	/**
+	 * Counts a request that has finished.
+	 * 
+	 * @param handler
+	 *            Handler chosen by Spring MVC, usually a HandlerMethod
+	 * @param elapsedNanos
+	 *            Time spent handling the request
+	 * @param status
+	 *            HTTP status code of the response
+	 * @param failed
+	 *            True if the handler threw an exception
+	 */
+	void requestCompleted(Object handler, long elapsedNanos, int status, boolean failed);
+
+	/**
+	 * Gets statistics of every endpoint that was called at least once.
+	 * 
+	 * @return List of statistics, sorted by total time spent in descending order
+	 */
+	List<EndpointStatsTransport> getStats();
+
+}
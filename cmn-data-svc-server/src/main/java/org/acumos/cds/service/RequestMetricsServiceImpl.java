@@ -0,0 +1,162 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.service;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.acumos.cds.transport.EndpointStatsTransport;
+import org.acumos.cds.util.LatencyHistogram;
+import org.springframework.stereotype.Service;
+import org.springframework.web.method.HandlerMethod;
+
+/**
+ * Keeps a latency histogram, error counters, an in-flight gauge and rate
+ * windows for each handler method. The entry for a method is created on its
+ * first request; after that recording is a map lookup by the Method object and
+ * a few atomic increments.
+ */
+@Service("requestMetricsService")
+public class RequestMetricsServiceImpl implements RequestMetricsService {
+
+	// Name used for requests without a handler method, e.g. static resources
+	private static final String OTHER = "other";
+
+	/**
+	 * Counts events in one-second slots over the last minute. A slot is reset by
+	 * the first event in a new second; an event racing with that reset may be
+	 * lost, which is acceptable for a rate.
+	 */
+	private static class RateWindow {
+		private static final int SECONDS = 60;
+		private final AtomicLongArray slotSecond = new AtomicLongArray(SECONDS);
+		private final AtomicLongArray slotCount = new AtomicLongArray(SECONDS);
+
+		void increment(long nowSecond) {
+			int slot = (int) (nowSecond % SECONDS);
+			long seen = slotSecond.get(slot);
+			if (seen != nowSecond && slotSecond.compareAndSet(slot, seen, nowSecond))
+				slotCount.set(slot, 0);
+			slotCount.incrementAndGet(slot);
+		}
+
+		double getRate(long nowSecond) {
+			long sum = 0;
+			for (int i = 0; i < SECONDS; ++i)
+				if (nowSecond - slotSecond.get(i) < SECONDS)
+					sum += slotCount.get(i);
+			return (double) sum / SECONDS;
+		}
+	}
+
+	private static class EndpointMetrics {
+		final String name;
+		final LatencyHistogram latency = new LatencyHistogram();
+		final AtomicInteger inFlight = new AtomicInteger();
+		final LongAdder clientErrors = new LongAdder();
+		final LongAdder serverErrors = new LongAdder();
+		final RateWindow requests = new RateWindow();
+		final RateWindow errors = new RateWindow();
+
+		EndpointMetrics(String name) {
+			this.name = name;
+		}
+	}
+
+	private final Map<Method, EndpointMetrics> endpoints = new ConcurrentHashMap<>();
+	private final EndpointMetrics other = new EndpointMetrics(OTHER);
+
+	private EndpointMetrics getMetrics(Object handler) {
+		if (!(handler instanceof HandlerMethod))
+			return other;
+		HandlerMethod handlerMethod = (HandlerMethod) handler;
+		Method method = handlerMethod.getMethod();
+		// Avoid the lambda allocation of computeIfAbsent on the common path
+		EndpointMetrics metrics = endpoints.get(method);
+		if (metrics == null)
+			metrics = endpoints.computeIfAbsent(method,
+					m -> new EndpointMetrics(handlerMethod.getBeanType().getSimpleName() + "." + m.getName()));
+		return metrics;
+	}
+
+	@Override
+	public void requestStarted(Object handler) {
+		getMetrics(handler).inFlight.incrementAndGet();
+	}
+
+	@Override
+	public void requestCompleted(Object handler, long elapsedNanos, int status, boolean failed) {
+		EndpointMetrics metrics = getMetrics(handler);
+		metrics.inFlight.decrementAndGet();
+		metrics.latency.record(elapsedNanos);
+		long nowSecond = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+		metrics.requests.increment(nowSecond);
+		if (failed || status >= 500) {
+			metrics.serverErrors.increment();
+			metrics.errors.increment(nowSecond);
+		} else if (status >= 400) {
+			metrics.clientErrors.increment();
+			metrics.errors.increment(nowSecond);
+		}
+	}
+
+	private static EndpointStatsTransport toTransport(EndpointMetrics metrics, long nowSecond) {
+		EndpointStatsTransport stats = new EndpointStatsTransport();
+		stats.setEndpoint(metrics.name);
+		long count = metrics.latency.getCount();
+		long totalMicros = metrics.latency.getTotalMicros();
+		stats.setCount(count);
+		stats.setClientErrors(metrics.clientErrors.sum());
+		stats.setServerErrors(metrics.serverErrors.sum());
+		stats.setInFlight(metrics.inFlight.get());
+		stats.setRequestRate(metrics.requests.getRate(nowSecond));
+		stats.setErrorRate(metrics.errors.getRate(nowSecond));
+		stats.setTotalMillis(TimeUnit.MICROSECONDS.toMillis(totalMicros));
+		stats.setMeanMicros(count == 0 ? 0 : totalMicros / count);
+		long[] percentiles = metrics.latency.getPercentiles(0.5, 0.99, 0.999);
+		stats.setP50Micros(percentiles[0]);
+		stats.setP99Micros(percentiles[1]);
+		stats.setP999Micros(percentiles[2]);
+		stats.setMaxMicros(metrics.latency.getMaxMicros());
+		return stats;
+	}
+
+	@Override
+	public List<EndpointStatsTransport> getStats() {
+		long nowSecond = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+		List<EndpointStatsTransport> list = new ArrayList<>();
+		for (EndpointMetrics metrics : endpoints.values())
+			list.add(toTransport(metrics, nowSecond));
+		if (other.latency.getCount() > 0 || other.inFlight.get() > 0)
+			list.add(toTransport(other, nowSecond));
+		list.sort(Comparator.comparingLong(EndpointStatsTransport::getTotalMillis).reversed());
+		return list;
+	}
+
+}
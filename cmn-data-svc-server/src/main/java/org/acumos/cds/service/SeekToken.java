@@ -0,0 +1,195 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Models the opaque continuation token used by seek (keyset) pagination. The
+ * token carries the sort property and direction plus the sort-key and
+ * primary-key values of the last item on the previous page, so the next page
+ * can be fetched with a range predicate instead of an offset. Values are
+ * written with a type tag so the token can be decoded without entity metadata,
+ * and the result is Base64 encoded so it is safe as a URL query parameter.
+ */
+class SeekToken {
+
+	private static final byte VERSION = 1;
+	private static final char TYPE_STRING = 'S';
+	private static final char TYPE_LONG = 'L';
+	private static final char TYPE_INTEGER = 'I';
+	private static final char TYPE_DATE = 'D';
+	private static final char TYPE_SHORT = 'H';
+	private static final char TYPE_BOOLEAN = 'B';
+
+	private final String property;
+	private final boolean ascending;
+	private final Object sortValue;
+	private final Object idValue;
+
+	/**
+	 * Builds a token.
+	 * 
+	 * @param property
+	 *            Sort property name
+	 * @param ascending
+	 *            Sort direction
+	 * @param sortValue
+	 *            Value of the sort property in the last item; ignored if the sort
+	 *            property is the primary key
+	 * @param idValue
+	 *            Primary key of the last item
+	 */
+	SeekToken(String property, boolean ascending, Object sortValue, Object idValue) {
+		this.property = property;
+		this.ascending = ascending;
+		this.sortValue = sortValue;
+		this.idValue = idValue;
+	}
+
+	String getProperty() {
+		return property;
+	}
+
+	boolean isAscending() {
+		return ascending;
+	}
+
+	Object getSortValue() {
+		return sortValue;
+	}
+
+	Object getIdValue() {
+		return idValue;
+	}
+
+	/**
+	 * Tells whether values of the type can be written to a token.
+	 * 
+	 * @param type
+	 *            Value class
+	 * @return True if supported
+	 */
+	static boolean isSupportedType(Class<?> type) {
+		return type == String.class || type == Long.class || type == Integer.class || type == Short.class
+				|| type == Boolean.class || Date.class.isAssignableFrom(type);
+	}
+
+	/**
+	 * Encodes this token.
+	 * 
+	 * @return URL-safe string
+	 * @throws IllegalArgumentException
+	 *             if a value has an unsupported type
+	 */
+	String encode() {
+		try {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			DataOutputStream out = new DataOutputStream(bytes);
+			out.writeByte(VERSION);
+			out.writeUTF(property);
+			out.writeBoolean(ascending);
+			writeValue(out, sortValue);
+			writeValue(out, idValue);
+			out.flush();
+			return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+		} catch (IOException ex) {
+			throw new IllegalStateException("Failed to encode token", ex);
+		}
+	}
+
+	/**
+	 * Decodes a token.
+	 * 
+	 * @param token
+	 *            String from {@link #encode()}
+	 * @return SeekToken
+	 * @throws IllegalArgumentException
+	 *             if the token is malformed
+	 */
+	static SeekToken decode(String token) {
+		try {
+			byte[] raw = Base64.getUrlDecoder().decode(token);
+			DataInputStream in = new DataInputStream(new ByteArrayInputStream(raw));
+			if (in.readByte() != VERSION)
+				throw new IllegalArgumentException("Unsupported token version");
+			String property = in.readUTF();
+			boolean ascending = in.readBoolean();
+			Object sortValue = readValue(in);
+			Object idValue = readValue(in);
+			return new SeekToken(property, ascending, sortValue, idValue);
+		} catch (IOException ex) {
+			throw new IllegalArgumentException("Malformed token", ex);
+		}
+	}
+
+	private static void writeValue(DataOutputStream out, Object value) throws IOException {
+		if (value instanceof String) {
+			out.writeChar(TYPE_STRING);
+			out.writeUTF((String) value);
+		} else if (value instanceof Long) {
+			out.writeChar(TYPE_LONG);
+			out.writeLong((Long) value);
+		} else if (value instanceof Integer) {
+			out.writeChar(TYPE_INTEGER);
+			out.writeInt((Integer) value);
+		} else if (value instanceof Date) {
+			out.writeChar(TYPE_DATE);
+			out.writeLong(((Date) value).getTime());
+		} else if (value instanceof Short) {
+			out.writeChar(TYPE_SHORT);
+			out.writeShort((Short) value);
+		} else if (value instanceof Boolean) {
+			out.writeChar(TYPE_BOOLEAN);
+			out.writeBoolean((Boolean) value);
+		} else {
+			throw new IllegalArgumentException(
+					"Unsupported seek value type: " + (value == null ? "null" : value.getClass().getName()));
+		}
+	}
+
+	private static Object readValue(DataInputStream in) throws IOException {
+		char type = in.readChar();
+		switch (type) {
+		case TYPE_STRING:
+			return in.readUTF();
+		case TYPE_LONG:
+			return in.readLong();
+		case TYPE_INTEGER:
+			return in.readInt();
+		case TYPE_DATE:
+			return new Date(in.readLong());
+		case TYPE_SHORT:
+			return in.readShort();
+		case TYPE_BOOLEAN:
+			return in.readBoolean();
+		default:
+			throw new IllegalArgumentException("Unexpected value type in token: " + type);
+		}
+	}
+
+}
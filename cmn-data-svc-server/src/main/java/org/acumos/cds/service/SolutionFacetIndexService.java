@@ -0,0 +1,114 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.service;
+
+import java.util.Collection;
+import java.util.Set;
+
+import org.acumos.cds.transport.FacetCountsTransport;
+
+/**
+ * Defines methods to filter solutions on low-cardinality facets using an
+ * in-memory bitmap index: the active flag, model type, revision access type
+ * and validation status, and tags. Values within one facet are combined with
+ * OR, facets are combined with AND, and excluded tags with AND NOT. A null or
+ * empty argument does not restrict the result. A code array may contain null
+ * to match solutions without a value.
+ */
+public interface SolutionFacetIndexService {
+
+	/**
+	 * Answers whether the index was built and can be used.
+	 * 
+	 * @return True if ready
+	 */
+	boolean isReady();
+
+	/**
+	 * Finds the IDs of solutions that match the facet values.
+	 * 
+	 * @param active
+	 *            Active status; ignored if null
+	 * @param modelTypeCodes
+	 *            Solution must have one of these model types
+	 * @param accessTypeCodes
+	 *            Solution must have a revision with one of these access types
+	 * @param validationStatusCodes
+	 *            Solution must have a revision with one of these validation
+	 *            statuses; if access types are also given, the same revision
+	 *            must match both
+	 * @param allTags
+	 *            Solution must have every one of these tags
+	 * @param anyTags
+	 *            Solution must have at least one of these tags
+	 * @param noTags
+	 *            Solution must have none of these tags
+	 * @return Set of solution IDs, empty if none match
+	 */
+	Set<String> findSolutionIds(Boolean active, String[] modelTypeCodes, String[] accessTypeCodes,
+			String[] validationStatusCodes, String[] allTags, String[] anyTags, String[] noTags);
+
+	/**
+	 * Counts the solutions that match the facet values, in total and for each
+	 * value of each facet.
+	 * 
+	 * @param candidateIds
+	 *            Limits the count to these solutions, for example keyword
+	 *            matches; ignored if null
+	 * @param active
+	 *            Active status; ignored if null
+	 * @param modelTypeCodes
+	 *            Solution must have one of these model types
+	 * @param accessTypeCodes
+	 *            Solution must have a revision with one of these access types
+	 * @param validationStatusCodes
+	 *            Solution must have a revision with one of these validation
+	 *            statuses
+	 * @param allTags
+	 *            Solution must have every one of these tags
+	 * @param anyTags
+	 *            Solution must have at least one of these tags
+	 * @param noTags
+	 *            Solution must have none of these tags
+	 * @return Counts
+	 */
+	FacetCountsTransport countFacets(Collection<String> candidateIds, Boolean active, String[] modelTypeCodes,
+			String[] accessTypeCodes, String[] validationStatusCodes, String[] allTags, String[] anyTags,
+			String[] noTags);
+
+	/**
+	 * Discards the index and rebuilds it from the database.
+	 */
+	void rebuild();
+
+	/**
+	 * Removes solutions and their revisions from the index. Bulk deletes bypass
+	 * the listeners that maintain the index, so their callers must use this after
+	 * the delete commits.
+	 * 
+	 * @param solutionIds
+	 *            IDs of deleted solutions
+	 * @param revisionIds
+	 *            IDs of deleted revisions
+	 */
+	void removeSolutions(Collection<String> solutionIds, Collection<String> revisionIds);
+
+}
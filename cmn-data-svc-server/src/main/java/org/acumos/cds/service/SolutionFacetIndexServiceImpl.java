@@ -0,0 +1,587 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.service;
+
+import java.lang.invoke.MethodHandles;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+
+import org.acumos.cds.domain.MLPSolTagMap;
+import org.acumos.cds.domain.MLPSolution;
+import org.acumos.cds.domain.MLPSolutionRevision;
+import org.acumos.cds.domain.MLPTag;
+import org.acumos.cds.transport.FacetCountsTransport;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps one bitmap per facet value in memory. Each solution is assigned an
+ * ordinal, its bit position in every bitmap; ordinals of deleted solutions are
+ * not reused until the next rebuild. Revision facets are credited to the
+ * owning solution, and a bitmap per access type and validation status pair
+ * preserves the requirement that one revision matches both.
+ * 
+ * Like the keyword index, this is built from the database at startup and kept
+ * current by Hibernate listeners that run after changes commit. Changes to the
+ * tag collection of a solution are applied when the transaction completes.
+ */
+@Service("solutionFacetIndexService")
+public class SolutionFacetIndexServiceImpl implements SolutionFacetIndexService {
+
+	private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+	private static final String SOLUTION_SQL = "SELECT SOLUTION_ID, ACTIVE_YN, MODEL_TYPE_CD FROM C_SOLUTION";
+	private static final String REVISION_SQL = "SELECT REVISION_ID, SOLUTION_ID, ACCESS_TYPE_CD, VALIDATION_STATUS_CD "
+			+ "FROM C_SOLUTION_REV";
+	private static final String TAG_SQL = "SELECT SOLUTION_ID, TAG FROM C_SOL_TAG_MAP";
+
+	private static final String TAGS_ROLE = MLPSolution.class.getName() + ".tags";
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Value("${solution.facet.index.enabled:true}")
+	private boolean enabled;
+
+	/**
+	 * Facet values of one revision.
+	 */
+	private static class RevisionFacets {
+		final String solutionId;
+		final String accessTypeCode;
+		final String validationStatusCode;
+
+		RevisionFacets(String solutionId, String accessTypeCode, String validationStatusCode) {
+			this.solutionId = solutionId;
+			this.accessTypeCode = accessTypeCode;
+			this.validationStatusCode = validationStatusCode;
+		}
+	}
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	// The following are guarded by the lock
+	private final Map<String, Integer> ordinals = new HashMap<>();
+	private final List<String> solutionIds = new ArrayList<>();
+	private final BitSet live = new BitSet();
+	private final BitSet active = new BitSet();
+	// Code maps permit a null key for solutions without a value
+	private final Map<String, BitSet> modelTypes = new HashMap<>();
+	private final Map<String, BitSet> accessTypes = new HashMap<>();
+	private final Map<String, BitSet> validationStatuses = new HashMap<>();
+	private final Map<List<String>, BitSet> accessValidationPairs = new HashMap<>();
+	private final Map<String, BitSet> tags = new HashMap<>();
+	private final Map<String, RevisionFacets> revisions = new HashMap<>();
+	private final Map<String, Set<String>> solutionRevisions = new HashMap<>();
+	private final Map<String, Set<String>> solutionTags = new HashMap<>();
+	private volatile boolean ready;
+
+	@PostConstruct
+	public void init() {
+		if (!enabled) {
+			logger.info("init: facet index is disabled");
+			return;
+		}
+		IndexUpdater updater = new IndexUpdater();
+		EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+				.getServiceRegistry().getService(EventListenerRegistry.class);
+		registry.appendListeners(EventType.POST_COMMIT_INSERT, updater);
+		registry.appendListeners(EventType.POST_COMMIT_UPDATE, updater);
+		registry.appendListeners(EventType.POST_COMMIT_DELETE, updater);
+		registry.appendListeners(EventType.POST_COLLECTION_RECREATE, updater);
+		registry.appendListeners(EventType.POST_COLLECTION_UPDATE, updater);
+		rebuild();
+	}
+
+	@Override
+	public boolean isReady() {
+		return ready;
+	}
+
+	@Override
+	public void rebuild() {
+		lock.writeLock().lock();
+		try {
+			ordinals.clear();
+			solutionIds.clear();
+			live.clear();
+			active.clear();
+			modelTypes.clear();
+			accessTypes.clear();
+			validationStatuses.clear();
+			accessValidationPairs.clear();
+			tags.clear();
+			revisions.clear();
+			solutionRevisions.clear();
+			solutionTags.clear();
+			try (Connection conn = dataSource.getConnection(); Statement stmt = conn.createStatement()) {
+				try (ResultSet rs = stmt.executeQuery(SOLUTION_SQL)) {
+					while (rs.next())
+						indexSolution(rs.getString(1), "Y".equals(rs.getString(2)), rs.getString(3));
+				}
+				try (ResultSet rs = stmt.executeQuery(REVISION_SQL)) {
+					while (rs.next())
+						indexRevision(rs.getString(1), rs.getString(2), rs.getString(3), rs.getString(4));
+				}
+				try (ResultSet rs = stmt.executeQuery(TAG_SQL)) {
+					while (rs.next())
+						addTag(rs.getString(1), rs.getString(2));
+				}
+			}
+			ready = true;
+			logger.info("rebuild: indexed {} solutions, {} revisions, {} tags", ordinals.size(), revisions.size(),
+					tags.size());
+		} catch (SQLException ex) {
+			ready = false;
+			logger.error("rebuild failed, facet searches will use the database", ex);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public Set<String> findSolutionIds(Boolean active, String[] modelTypeCodes, String[] accessTypeCodes,
+			String[] validationStatusCodes, String[] allTags, String[] anyTags, String[] noTags) {
+		lock.readLock().lock();
+		try {
+			BitSet bits = filter(active, modelTypeCodes, accessTypeCodes, validationStatusCodes, allTags, anyTags,
+					noTags);
+			Set<String> ids = new HashSet<>();
+			for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1))
+				ids.add(solutionIds.get(i));
+			return ids;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public FacetCountsTransport countFacets(Collection<String> candidateIds, Boolean active,
+			String[] modelTypeCodes, String[] accessTypeCodes, String[] validationStatusCodes, String[] allTags,
+			String[] anyTags, String[] noTags) {
+		lock.readLock().lock();
+		try {
+			BitSet bits = filter(active, modelTypeCodes, accessTypeCodes, validationStatusCodes, allTags, anyTags,
+					noTags);
+			if (candidateIds != null) {
+				BitSet candidates = new BitSet();
+				for (String id : candidateIds) {
+					Integer ordinal = ordinals.get(id);
+					if (ordinal != null)
+						candidates.set(ordinal);
+				}
+				bits.and(candidates);
+			}
+			FacetCountsTransport counts = new FacetCountsTransport();
+			counts.setTotal(bits.cardinality());
+			counts.setModelTypes(count(bits, modelTypes));
+			counts.setAccessTypes(count(bits, accessTypes));
+			counts.setValidationStatuses(count(bits, validationStatuses));
+			counts.setTags(count(bits, tags));
+			return counts;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/*
+	 * Counts the bits in common with each non-null facet value, omitting zeros.
+	 * Caller must hold the lock.
+	 */
+	private static Map<String, Long> count(BitSet bits, Map<String, BitSet> facet) {
+		Map<String, Long> counts = new TreeMap<>();
+		for (Map.Entry<String, BitSet> entry : facet.entrySet()) {
+			if (entry.getKey() == null || !bits.intersects(entry.getValue()))
+				continue;
+			BitSet common = (BitSet) entry.getValue().clone();
+			common.and(bits);
+			counts.put(entry.getKey(), (long) common.cardinality());
+		}
+		return counts;
+	}
+
+	/*
+	 * Answers a new bitmap of the matching solutions. Caller must hold the lock.
+	 */
+	private BitSet filter(Boolean isActive, String[] modelTypeCodes, String[] accessTypeCodes,
+			String[] validationStatusCodes, String[] allTags, String[] anyTags, String[] noTags) {
+		BitSet bits = (BitSet) live.clone();
+		if (isActive != null) {
+			if (isActive)
+				bits.and(active);
+			else
+				bits.andNot(active);
+		}
+		if (modelTypeCodes != null && modelTypeCodes.length > 0)
+			bits.and(union(modelTypes, modelTypeCodes));
+		final boolean hasAccess = accessTypeCodes != null && accessTypeCodes.length > 0;
+		final boolean hasValidation = validationStatusCodes != null && validationStatusCodes.length > 0;
+		if (hasAccess && hasValidation) {
+			BitSet pairs = new BitSet();
+			for (String acc : accessTypeCodes)
+				for (String val : validationStatusCodes) {
+					BitSet pair = accessValidationPairs.get(pairKey(acc, val));
+					if (pair != null)
+						pairs.or(pair);
+				}
+			bits.and(pairs);
+		} else if (hasAccess) {
+			bits.and(union(accessTypes, accessTypeCodes));
+		} else if (hasValidation) {
+			bits.and(union(validationStatuses, validationStatusCodes));
+		}
+		if (allTags != null) {
+			for (String tag : allTags) {
+				BitSet tagBits = tags.get(tag);
+				if (tagBits == null)
+					bits.clear();
+				else
+					bits.and(tagBits);
+			}
+		}
+		if (anyTags != null && anyTags.length > 0)
+			bits.and(union(tags, anyTags));
+		if (noTags != null) {
+			for (String tag : noTags) {
+				BitSet tagBits = tags.get(tag);
+				if (tagBits != null)
+					bits.andNot(tagBits);
+			}
+		}
+		return bits;
+	}
+
+	private static BitSet union(Map<String, BitSet> facet, String[] values) {
+		BitSet bits = new BitSet();
+		for (String value : values) {
+			BitSet valueBits = facet.get(value);
+			if (valueBits != null)
+				bits.or(valueBits);
+		}
+		return bits;
+	}
+
+	private static List<String> pairKey(String accessTypeCode, String validationStatusCode) {
+		List<String> key = new ArrayList<>(2);
+		key.add(accessTypeCode);
+		key.add(validationStatusCode);
+		return key;
+	}
+
+	/*
+	 * Gets the ordinal of the solution, assigning one if needed. Caller must hold
+	 * the write lock.
+	 */
+	private int ordinal(String solutionId) {
+		Integer ordinal = ordinals.get(solutionId);
+		if (ordinal == null) {
+			ordinal = solutionIds.size();
+			solutionIds.add(solutionId);
+			ordinals.put(solutionId, ordinal);
+		}
+		return ordinal;
+	}
+
+	private static <K> void set(Map<K, BitSet> facet, K value, int ordinal) {
+		facet.computeIfAbsent(value, k -> new BitSet()).set(ordinal);
+	}
+
+	/*
+	 * Clears the bit in every value of the facet. Facets other than tags have
+	 * few values, so this is cheap. Caller must hold the write lock.
+	 */
+	private static <K> void clearAll(Map<K, BitSet> facet, int ordinal) {
+		facet.values().removeIf(bits -> {
+			bits.clear(ordinal);
+			return bits.isEmpty();
+		});
+	}
+
+	private void indexSolution(String solutionId, boolean isActive, String modelTypeCode) {
+		lock.writeLock().lock();
+		try {
+			final int ordinal = ordinal(solutionId);
+			live.set(ordinal);
+			active.set(ordinal, isActive);
+			clearAll(modelTypes, ordinal);
+			set(modelTypes, modelTypeCode, ordinal);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void removeSolution(String solutionId) {
+		lock.writeLock().lock();
+		try {
+			Integer ordinal = ordinals.remove(solutionId);
+			if (ordinal == null)
+				return;
+			solutionIds.set(ordinal, null);
+			live.clear(ordinal);
+			active.clear(ordinal);
+			clearAll(modelTypes, ordinal);
+			clearAll(accessTypes, ordinal);
+			clearAll(validationStatuses, ordinal);
+			clearAll(accessValidationPairs, ordinal);
+			Set<String> solTags = solutionTags.remove(solutionId);
+			if (solTags != null)
+				for (String tag : solTags)
+					clearTag(tag, ordinal);
+			solutionRevisions.remove(solutionId);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/*
+	 * Recomputes the revision facets of the solution. Caller must hold the write
+	 * lock.
+	 */
+	private void updateRevisionFacets(String solutionId) {
+		final int ordinal = ordinal(solutionId);
+		clearAll(accessTypes, ordinal);
+		clearAll(validationStatuses, ordinal);
+		clearAll(accessValidationPairs, ordinal);
+		Set<String> revIds = solutionRevisions.get(solutionId);
+		if (revIds == null)
+			return;
+		for (String revId : revIds) {
+			RevisionFacets rev = revisions.get(revId);
+			set(accessTypes, rev.accessTypeCode, ordinal);
+			set(validationStatuses, rev.validationStatusCode, ordinal);
+			set(accessValidationPairs, pairKey(rev.accessTypeCode, rev.validationStatusCode), ordinal);
+		}
+	}
+
+	private void indexRevision(String revisionId, String solutionId, String accessTypeCode,
+			String validationStatusCode) {
+		lock.writeLock().lock();
+		try {
+			RevisionFacets old = revisions.put(revisionId,
+					new RevisionFacets(solutionId, accessTypeCode, validationStatusCode));
+			if (old != null && !old.solutionId.equals(solutionId)) {
+				solutionRevisions.get(old.solutionId).remove(revisionId);
+				updateRevisionFacets(old.solutionId);
+			}
+			solutionRevisions.computeIfAbsent(solutionId, k -> new HashSet<>()).add(revisionId);
+			updateRevisionFacets(solutionId);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void removeRevision(String revisionId) {
+		lock.writeLock().lock();
+		try {
+			RevisionFacets old = revisions.remove(revisionId);
+			if (old == null)
+				return;
+			Set<String> revIds = solutionRevisions.get(old.solutionId);
+			if (revIds != null)
+				revIds.remove(revisionId);
+			if (ordinals.containsKey(old.solutionId))
+				updateRevisionFacets(old.solutionId);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public void removeSolutions(Collection<String> solutionIds, Collection<String> revisionIds) {
+		lock.writeLock().lock();
+		try {
+			// Solutions first, so removing their revisions recomputes nothing
+			for (String solutionId : solutionIds)
+				removeSolution(solutionId);
+			for (String revisionId : revisionIds)
+				removeRevision(revisionId);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void clearTag(String tag, int ordinal) {
+		BitSet bits = tags.get(tag);
+		if (bits != null) {
+			bits.clear(ordinal);
+			if (bits.isEmpty())
+				tags.remove(tag);
+		}
+	}
+
+	private void addTag(String solutionId, String tag) {
+		lock.writeLock().lock();
+		try {
+			set(tags, tag, ordinal(solutionId));
+			solutionTags.computeIfAbsent(solutionId, k -> new HashSet<>()).add(tag);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void removeTag(String solutionId, String tag) {
+		lock.writeLock().lock();
+		try {
+			Integer ordinal = ordinals.get(solutionId);
+			Set<String> solTags = solutionTags.get(solutionId);
+			if (ordinal == null || solTags == null || !solTags.remove(tag))
+				return;
+			clearTag(tag, ordinal);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void setTags(String solutionId, Collection<MLPTag> newTags) {
+		lock.writeLock().lock();
+		try {
+			Set<String> tagNames = new HashSet<>();
+			for (MLPTag t : newTags)
+				tagNames.add(t.getTag());
+			Set<String> oldTags = solutionTags.get(solutionId);
+			if (oldTags != null)
+				for (String tag : new ArrayList<>(oldTags))
+					if (!tagNames.contains(tag))
+						removeTag(solutionId, tag);
+			for (String tag : tagNames)
+				addTag(solutionId, tag);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Updates the index after a change to an indexed entity is committed.
+	 */
+	private class IndexUpdater implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener,
+			PostCollectionRecreateEventListener, PostCollectionUpdateEventListener {
+
+		private static final long serialVersionUID = 1L;
+
+		private void index(Object entity) {
+			if (entity instanceof MLPSolution) {
+				MLPSolution s = (MLPSolution) entity;
+				indexSolution(s.getSolutionId(), s.isActive(), s.getModelTypeCode());
+				if (s.getTags() != null)
+					setTags(s.getSolutionId(), s.getTags());
+			} else if (entity instanceof MLPSolutionRevision) {
+				MLPSolutionRevision r = (MLPSolutionRevision) entity;
+				indexRevision(r.getRevisionId(), r.getSolutionId(), r.getAccessTypeCode(),
+						r.getValidationStatusCode());
+			} else if (entity instanceof MLPSolTagMap) {
+				MLPSolTagMap m = (MLPSolTagMap) entity;
+				addTag(m.getSolutionId(), m.getTag());
+			}
+		}
+
+		@Override
+		public void onPostInsert(PostInsertEvent event) {
+			index(event.getEntity());
+		}
+
+		@Override
+		public void onPostUpdate(PostUpdateEvent event) {
+			index(event.getEntity());
+		}
+
+		@Override
+		public void onPostDelete(PostDeleteEvent event) {
+			Object entity = event.getEntity();
+			if (entity instanceof MLPSolution) {
+				removeSolution(((MLPSolution) entity).getSolutionId());
+			} else if (entity instanceof MLPSolutionRevision) {
+				removeRevision(((MLPSolutionRevision) entity).getRevisionId());
+			} else if (entity instanceof MLPSolTagMap) {
+				MLPSolTagMap m = (MLPSolTagMap) entity;
+				removeTag(m.getSolutionId(), m.getTag());
+			}
+		}
+
+		@Override
+		public boolean requiresPostCommitHanding(EntityPersister persister) {
+			Class<?> mapped = persister.getMappedClass();
+			return mapped == MLPSolution.class || mapped == MLPSolutionRevision.class
+					|| mapped == MLPSolTagMap.class;
+		}
+
+		/*
+		 * Collection events run at flush, so defer until the commit succeeds.
+		 */
+		private void onTagCollectionChange(AbstractCollectionEvent event) {
+			if (!TAGS_ROLE.equals(event.getCollection().getRole())
+					|| !(event.getAffectedOwnerOrNull() instanceof MLPSolution))
+				return;
+			final MLPSolution solution = (MLPSolution) event.getAffectedOwnerOrNull();
+			event.getSession().getActionQueue().registerProcess((success, session) -> {
+				if (success)
+					setTags(solution.getSolutionId(), solution.getTags());
+			});
+		}
+
+		@Override
+		public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+			onTagCollectionChange(event);
+		}
+
+		@Override
+		public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+			onTagCollectionChange(event);
+		}
+	}
+
+}
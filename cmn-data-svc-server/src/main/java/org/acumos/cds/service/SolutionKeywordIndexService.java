@@ -0,0 +1,70 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.service;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Defines methods to resolve keywords to solutions using an in-memory inverted
+ * index over solution names, revision authors and publishers, and revision
+ * descriptions. This replaces LIKE queries on those fields, which no database
+ * index can serve.
+ */
+public interface SolutionKeywordIndexService {
+
+	/**
+	 * Answers whether the index was built and can be used for searches.
+	 * 
+	 * @return True if ready
+	 */
+	boolean isReady();
+
+	/**
+	 * Finds solutions that match the keywords. A solution matches if every word
+	 * of every keyword is a prefix of a word in its indexed fields, ignoring case,
+	 * or if any keyword equals its ID or the ID of one of its revisions.
+	 * 
+	 * @param keywords
+	 *            Keywords
+	 * @return Map of solution ID to relevance score, higher is better; empty if
+	 *         nothing matched
+	 */
+	Map<String, Double> search(String[] keywords);
+
+	/**
+	 * Discards the index and rebuilds it from the database.
+	 */
+	void rebuild();
+
+	/**
+	 * Removes solutions and their revisions from the index. Bulk deletes bypass
+	 * the listeners that maintain the index, so their callers must use this after
+	 * the delete commits.
+	 * 
+	 * @param solutionIds
+	 *            IDs of deleted solutions
+	 * @param revisionIds
+	 *            IDs of deleted revisions
+	 */
+	void removeSolutions(Collection<String> solutionIds, Collection<String> revisionIds);
+
+}
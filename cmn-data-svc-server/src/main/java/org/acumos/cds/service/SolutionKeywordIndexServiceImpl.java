@@ -0,0 +1,444 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.service;
+
+import java.lang.invoke.MethodHandles;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+
+import org.acumos.cds.domain.MLPRevisionDescription;
+import org.acumos.cds.domain.MLPSolution;
+import org.acumos.cds.domain.MLPSolutionRevision;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps an inverted index from words to solutions in memory. Each solution
+ * name, revision and revision description is a document whose words are
+ * weighted by field and credited to the owning solution. Words are kept in
+ * sorted order so a keyword can match by prefix. Matches are ranked by the
+ * field weight times the inverse document frequency of the word.
+ * 
+ * The index is built from the database at startup and kept current by Hibernate
+ * listeners that run after each insert, update and delete commits, so every
+ * write path updates it, not just the controllers. Until the index is built,
+ * or if it is disabled, callers should fall back to database queries.
+ */
+@Service("solutionKeywordIndexService")
+public class SolutionKeywordIndexServiceImpl implements SolutionKeywordIndexService {
+
+	private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+	private static final String SOLUTION_SQL = "SELECT SOLUTION_ID, NAME FROM C_SOLUTION";
+	private static final String REVISION_SQL = "SELECT REVISION_ID, SOLUTION_ID, AUTHORS, PUBLISHER FROM C_SOLUTION_REV";
+	private static final String DESCRIPTION_SQL = "SELECT REVISION_ID, ACCESS_TYPE_CD, DESCRIPTION FROM C_REVISION_DESC";
+
+	private static final float NAME_WEIGHT = 3;
+	private static final float AUTHOR_WEIGHT = 2;
+	private static final float DESCRIPTION_WEIGHT = 1;
+	// An exact ID match outranks any word match
+	private static final double ID_SCORE = 1000;
+	// A prefix match counts less than a whole word
+	private static final double PREFIX_FACTOR = 0.5;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Value("${solution.keyword.index.enabled:true}")
+	private boolean enabled;
+
+	/**
+	 * Weighted words of one indexed row, credited to one solution.
+	 */
+	private static class Document {
+		final String solutionId;
+		final Map<String, Float> terms;
+
+		Document(String solutionId, Map<String, Float> terms) {
+			this.solutionId = solutionId;
+			this.terms = terms;
+		}
+	}
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	// The following are guarded by the lock
+	private final Map<String, Document> documents = new HashMap<>();
+	private final NavigableMap<String, Map<String, Float>> postings = new TreeMap<>();
+	private final Map<String, String> revisionSolutions = new HashMap<>();
+	private final Set<String> solutionIds = new HashSet<>();
+	private volatile boolean ready;
+
+	@PostConstruct
+	public void init() {
+		if (!enabled) {
+			logger.info("init: keyword index is disabled");
+			return;
+		}
+		IndexUpdater updater = new IndexUpdater();
+		EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+				.getServiceRegistry().getService(EventListenerRegistry.class);
+		registry.appendListeners(EventType.POST_COMMIT_INSERT, updater);
+		registry.appendListeners(EventType.POST_COMMIT_UPDATE, updater);
+		registry.appendListeners(EventType.POST_COMMIT_DELETE, updater);
+		rebuild();
+	}
+
+	@Override
+	public boolean isReady() {
+		return ready;
+	}
+
+	@Override
+	public void rebuild() {
+		lock.writeLock().lock();
+		try {
+			documents.clear();
+			postings.clear();
+			revisionSolutions.clear();
+			solutionIds.clear();
+			try (Connection conn = dataSource.getConnection(); Statement stmt = conn.createStatement()) {
+				try (ResultSet rs = stmt.executeQuery(SOLUTION_SQL)) {
+					while (rs.next())
+						indexSolution(rs.getString(1), rs.getString(2));
+				}
+				try (ResultSet rs = stmt.executeQuery(REVISION_SQL)) {
+					while (rs.next())
+						indexRevision(rs.getString(1), rs.getString(2), rs.getString(3), rs.getString(4));
+				}
+				try (ResultSet rs = stmt.executeQuery(DESCRIPTION_SQL)) {
+					while (rs.next())
+						indexDescription(rs.getString(1), rs.getString(2), rs.getString(3));
+				}
+			}
+			ready = true;
+			logger.info("rebuild: indexed {} solutions, {} documents, {} words", solutionIds.size(),
+					documents.size(), postings.size());
+		} catch (SQLException ex) {
+			ready = false;
+			logger.error("rebuild failed, keyword searches will use the database", ex);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public Map<String, Double> search(String[] keywords) {
+		lock.readLock().lock();
+		try {
+			// Every word of every keyword must match
+			Map<String, Double> scores = null;
+			for (String keyword : keywords) {
+				for (String token : tokenize(keyword)) {
+					final Map<String, Double> tokenScores = scoreToken(token);
+					if (scores == null) {
+						scores = tokenScores;
+					} else {
+						scores.keySet().retainAll(tokenScores.keySet());
+						scores.replaceAll((id, score) -> score + tokenScores.get(id));
+					}
+				}
+			}
+			if (scores == null)
+				scores = new HashMap<>();
+			// Any keyword can match an ID
+			for (String keyword : keywords) {
+				if (keyword == null)
+					continue;
+				final String trimmed = keyword.trim();
+				if (solutionIds.contains(trimmed))
+					scores.merge(trimmed, ID_SCORE, Double::sum);
+				final String revSolutionId = revisionSolutions.get(trimmed);
+				if (revSolutionId != null)
+					scores.merge(revSolutionId, ID_SCORE, Double::sum);
+			}
+			return scores;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/*
+	 * Scores each solution by its best-matching word that starts with the token.
+	 * Caller must hold the lock.
+	 */
+	private Map<String, Double> scoreToken(String token) {
+		Map<String, Double> scores = new HashMap<>();
+		final double solutionCount = Math.max(1, solutionIds.size());
+		for (Map.Entry<String, Map<String, Float>> entry : postings
+				.subMap(token, true, token + Character.MAX_VALUE, true).entrySet()) {
+			final double idf = Math.log(1 + solutionCount / entry.getValue().size());
+			final double factor = entry.getKey().equals(token) ? 1 : PREFIX_FACTOR;
+			for (Map.Entry<String, Float> posting : entry.getValue().entrySet())
+				scores.merge(posting.getKey(), posting.getValue() * idf * factor, Math::max);
+		}
+		return scores;
+	}
+
+	/**
+	 * Splits text into lower-case words at every character that is not a letter
+	 * or digit.
+	 * 
+	 * @param text
+	 *            Text; may be null
+	 * @return List of words, empty if none
+	 */
+	static List<String> tokenize(String text) {
+		List<String> tokens = new ArrayList<>();
+		if (text == null)
+			return tokens;
+		int start = -1;
+		for (int i = 0; i <= text.length(); ++i) {
+			boolean inWord = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+			if (inWord && start < 0) {
+				start = i;
+			} else if (!inWord && start >= 0) {
+				tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+				start = -1;
+			}
+		}
+		return tokens;
+	}
+
+	private static void addTerms(Map<String, Float> terms, String text, float weight) {
+		for (String token : tokenize(text))
+			terms.merge(token, weight, Float::sum);
+	}
+
+	private static String solutionKey(String solutionId) {
+		return "S:" + solutionId;
+	}
+
+	private static String revisionKey(String revisionId) {
+		return "R:" + revisionId;
+	}
+
+	private static String descriptionKey(String revisionId, String accessTypeCode) {
+		return "D:" + revisionId + ":" + accessTypeCode;
+	}
+
+	/*
+	 * Replaces the document with the specified key; a null solution ID just
+	 * removes it. Caller must hold the write lock.
+	 */
+	private void putDocument(String key, String solutionId, Map<String, Float> terms) {
+		Document old = documents.remove(key);
+		if (old != null) {
+			for (Map.Entry<String, Float> term : old.terms.entrySet()) {
+				Map<String, Float> posting = postings.get(term.getKey());
+				float weight = posting.get(old.solutionId) - term.getValue();
+				if (weight > 0)
+					posting.put(old.solutionId, weight);
+				else
+					posting.remove(old.solutionId);
+				if (posting.isEmpty())
+					postings.remove(term.getKey());
+			}
+		}
+		if (solutionId == null || terms.isEmpty())
+			return;
+		documents.put(key, new Document(solutionId, terms));
+		for (Map.Entry<String, Float> term : terms.entrySet())
+			postings.computeIfAbsent(term.getKey(), k -> new HashMap<>()).merge(solutionId, term.getValue(),
+					Float::sum);
+	}
+
+	private void indexSolution(String solutionId, String name) {
+		Map<String, Float> terms = new HashMap<>();
+		addTerms(terms, name, NAME_WEIGHT);
+		lock.writeLock().lock();
+		try {
+			solutionIds.add(solutionId);
+			putDocument(solutionKey(solutionId), solutionId, terms);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void removeSolution(String solutionId) {
+		lock.writeLock().lock();
+		try {
+			solutionIds.remove(solutionId);
+			putDocument(solutionKey(solutionId), null, null);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void indexRevision(String revisionId, String solutionId, String authors, String publisher) {
+		Map<String, Float> terms = new HashMap<>();
+		addTerms(terms, authors, AUTHOR_WEIGHT);
+		addTerms(terms, publisher, AUTHOR_WEIGHT);
+		lock.writeLock().lock();
+		try {
+			String oldSolutionId = revisionSolutions.put(revisionId, solutionId);
+			putDocument(revisionKey(revisionId), solutionId, terms);
+			// Credit the descriptions to the new owner if the revision moved
+			if (oldSolutionId != null && !oldSolutionId.equals(solutionId)) {
+				String prefix = descriptionKey(revisionId, "");
+				for (String key : new ArrayList<>(documents.keySet()))
+					if (key.startsWith(prefix))
+						putDocument(key, solutionId, documents.get(key).terms);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void removeRevision(String revisionId) {
+		lock.writeLock().lock();
+		try {
+			revisionSolutions.remove(revisionId);
+			// Descriptions refer to the revision, so they are already gone
+			putDocument(revisionKey(revisionId), null, null);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void indexDescription(String revisionId, String accessTypeCode, String description) {
+		Map<String, Float> terms = new HashMap<>();
+		addTerms(terms, description, DESCRIPTION_WEIGHT);
+		lock.writeLock().lock();
+		try {
+			String solutionId = revisionSolutions.get(revisionId);
+			if (solutionId == null)
+				logger.warn("indexDescription: unknown revision {}", revisionId);
+			putDocument(descriptionKey(revisionId, accessTypeCode), solutionId, terms);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public void removeSolutions(Collection<String> solutionIds, Collection<String> revisionIds) {
+		lock.writeLock().lock();
+		try {
+			for (String solutionId : solutionIds)
+				removeSolution(solutionId);
+			Set<String> revisions = new HashSet<>(revisionIds);
+			for (String revisionId : revisions)
+				removeRevision(revisionId);
+			// Descriptions were deleted with their revisions
+			for (String key : new ArrayList<>(documents.keySet()))
+				if (key.startsWith("D:") && revisions.contains(key.substring(2, key.indexOf(':', 2))))
+					putDocument(key, null, null);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void removeDescription(String revisionId, String accessTypeCode) {
+		lock.writeLock().lock();
+		try {
+			putDocument(descriptionKey(revisionId, accessTypeCode), null, null);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Updates the index after a change to an indexed entity is committed.
+	 */
+	private class IndexUpdater implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+		private static final long serialVersionUID = 1L;
+
+		private void index(Object entity, EntityPersister persister, Object[] state) {
+			if (entity instanceof MLPSolution) {
+				MLPSolution s = (MLPSolution) entity;
+				indexSolution(s.getSolutionId(), s.getName());
+			} else if (entity instanceof MLPSolutionRevision) {
+				MLPSolutionRevision r = (MLPSolutionRevision) entity;
+				// Index the stored column like rebuild does, not the parsed pairs
+				String authors = (String) state[persister.getEntityMetamodel().getPropertyIndex("authors")];
+				indexRevision(r.getRevisionId(), r.getSolutionId(), authors, r.getPublisher());
+			} else if (entity instanceof MLPRevisionDescription) {
+				MLPRevisionDescription d = (MLPRevisionDescription) entity;
+				indexDescription(d.getRevisionId(), d.getAccessTypeCode(), d.getDescription());
+			}
+		}
+
+		@Override
+		public void onPostInsert(PostInsertEvent event) {
+			index(event.getEntity(), event.getPersister(), event.getState());
+		}
+
+		@Override
+		public void onPostUpdate(PostUpdateEvent event) {
+			index(event.getEntity(), event.getPersister(), event.getState());
+		}
+
+		@Override
+		public void onPostDelete(PostDeleteEvent event) {
+			Object entity = event.getEntity();
+			if (entity instanceof MLPSolution) {
+				removeSolution(((MLPSolution) entity).getSolutionId());
+			} else if (entity instanceof MLPSolutionRevision) {
+				removeRevision(((MLPSolutionRevision) entity).getRevisionId());
+			} else if (entity instanceof MLPRevisionDescription) {
+				MLPRevisionDescription d = (MLPRevisionDescription) entity;
+				removeDescription(d.getRevisionId(), d.getAccessTypeCode());
+			}
+		}
+
+		@Override
+		public boolean requiresPostCommitHanding(EntityPersister persister) {
+			Class<?> mapped = persister.getMappedClass();
+			return mapped == MLPSolution.class || mapped == MLPSolutionRevision.class
+					|| mapped == MLPRevisionDescription.class;
+		}
+	}
+
+}
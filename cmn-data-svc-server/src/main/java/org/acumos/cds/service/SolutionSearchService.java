@@ -24,6 +24,7 @@
 import java.util.Map;
 
 import org.acumos.cds.domain.MLPSolution;
+import org.acumos.cds.transport.RestPageResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -96,8 +97,13 @@ Page<MLPSolution> findPortalSolutions(String[] nameKeywords, String[] descriptio
 
 	/**
 	 * Gets a page of solutions matching all query parameters, with the caveat that
-	 * any one keyword can match and multiple text fields are searched. If keywords
-	 * are supplied this will be slow because it requires table scans.
+	 * multiple text fields are searched for the keywords. Keywords are resolved by
+	 * an in-memory index: every keyword must match the start of a word in the
+	 * name, revision description, author or publisher, or any keyword may match
+	 * a solution or revision ID exactly. Without a sort in the page request,
+	 * results are ordered by relevance. While the index is not ready, the
+	 * database is searched instead: a word may then match anywhere within a word,
+	 * not just at its start, and results are not ranked.
 	 * 
 	 * @param keywords
 	 *            Keywords to find in the name, revision description, author,
@@ -127,8 +133,13 @@ Page<MLPSolution> findPortalSolutionsByKw(String[] keywords, boolean active, Str
 
 	/**
 	 * Gets a page of solutions matching all query parameters, with the caveat that
-	 * any one keyword can match and multiple text fields are searched. If keywords
-	 * are supplied this will be slow because it requires table scans.
+	 * multiple text fields are searched for the keywords. Keywords are resolved by
+	 * an in-memory index: every keyword must match the start of a word in the
+	 * name, revision description, author or publisher, or any keyword may match
+	 * a solution or revision ID exactly. Without a sort in the page request,
+	 * results are ordered by relevance. While the index is not ready, the
+	 * database is searched instead: a word may then match anywhere within a word,
+	 * not just at its start, and results are not ranked.
 	 * 
 	 * @param keywords
 	 *            Keywords to find in the name, revision description, author,
@@ -226,4 +237,18 @@ public Page<MLPSolution> findUserSolutions(String[] nameKeywords, String[] descr
 	Page<MLPSolution> findSolutionsByModifiedDate(boolean active, String[] accessTypeCodes,
 			String[] validationStatusCodes, Date modifiedDate, Pageable pageable);
 
+	/**
+	 * Gets a page of solutions using seek pagination, which avoids the cost of
+	 * skipping rows for deep pages.
+	 * 
+	 * @param token
+	 *            Continuation token from the previous page; null for the first
+	 *            page
+	 * @param pageable
+	 *            Page size and optional sort on one non-nullable property
+	 * @return Page of instances with a token for the next page, which may be
+	 *         empty.
+	 */
+	RestPageResponse<MLPSolution> seekSolutions(String token, Pageable pageable);
+
 }
@@ -22,18 +22,24 @@
 
 import java.lang.invoke.MethodHandles;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import javax.transaction.Transactional;
 
 import org.acumos.cds.domain.MLPSolution;
 import org.acumos.cds.domain.MLPSolutionFOM;
-import org.hibernate.AssertionFailure;
+import org.acumos.cds.transport.RestPageResponse;
 import org.hibernate.Criteria;
 import org.hibernate.FetchMode;
+import org.hibernate.Session;
 import org.hibernate.SessionFactory;
+import org.hibernate.criterion.Conjunction;
 import org.hibernate.criterion.Criterion;
 import org.hibernate.criterion.DetachedCriteria;
 import org.hibernate.criterion.Disjunction;
@@ -44,6 +50,7 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -77,9 +84,10 @@
  * Many of the queries here check properties of the solution AND associated
  * entities especially revisions. The queries require an inner join and yield a
  * large cross product that Hibernate will coalesce. Because of the joins it's
- * unsafe to apply limit (pagination) parameters at the database. Therefore the
- * approach taken here is to fetch the full result from the database then
- * reduces the result size in the method, which is inefficient.
+ * unsafe to apply limit (pagination) parameters to that query. Therefore the
+ * approach taken here is to use the joined query only as a subquery that
+ * yields solution IDs, apply limit parameters to a query on the solution table
+ * that selects only IDs, then fetch the solutions for that page of IDs.
  *
  */
 @Service("solutionSearchService")
@@ -90,6 +98,13 @@ public class SolutionSearchServiceImpl extends AbstractSearchServiceImpl impleme
 
 	@Autowired
 	private SessionFactory sessionFactory;
+	@Autowired
+	private SolutionKeywordIndexService keywordIndexService;
+	@Autowired
+	private SolutionFacetIndexService facetIndexService;
+
+	@Value("${solution.keyword.max.candidates:1000}")
+	private int maxCandidates;
 
 	private final String revAlias = "revs";
 	private final String artAlias = "arts";
@@ -120,8 +135,10 @@ public Page<MLPSolution> findSolutions(Map<String, ? extends Object> queryParame
 		super.buildCriteria(criteria, queryParameters, isOr);
 
 		// Adjust fetch mode to block Hibernate from using left outer join;
-		// instead it runs a select to get tags for each solution in the result.
+		// instead it selects the tags for the whole page by batches of IDs.
+		// The web stats are one row per solution, so join them.
 		criteria.setFetchMode("tags", FetchMode.SELECT);
+		criteria.setFetchMode("webStats", FetchMode.JOIN);
 
 		// Count the total rows
 		criteria.setProjection(Projections.rowCount());
@@ -145,44 +162,264 @@ public Page<MLPSolution> findSolutions(Map<String, ? extends Object> queryParame
 	}
 
 	/**
-	 * Runs a query on the SolutionFOM entity, returns a page after converting the
-	 * resulting FOM solution objects to plain solution objects.
+	 * Runs a query on the SolutionFOM entity in two phases and returns a page of
+	 * plain solution objects. The first phase counts the distinct matching
+	 * solutions and fetches one page of solution IDs, using only the ID column of
+	 * the FOM query as a subquery. Because the outer query has no joins, limit and
+	 * offset are safe to apply in the database. The second phase fetches the
+	 * solution entities for the page of IDs and restores the requested order.
 	 * 
-	 * @param criteria
-	 *            Criteria to evaluate
+	 * @param fomCriteria
+	 *            Criteria on the FOM entity to evaluate; the projection is
+	 *            replaced by this method
 	 * @param pageable
 	 *            Page and sort criteria
-	 * @return
+	 * @return Page of solutions
 	 */
-	@SuppressWarnings("rawtypes")
-	private Page<MLPSolution> runSolutionFomQuery(Criteria criteria, Pageable pageable) {
+	@SuppressWarnings("unchecked")
+	private Page<MLPSolution> runSolutionFomQuery(DetachedCriteria fomCriteria, Pageable pageable) {
+		final Session session = sessionFactory.getCurrentSession();
 
+		// Count distinct solutions; the joins may yield duplicates
+		fomCriteria.setProjection(Projections.countDistinct(solutionId));
+		Long count = (Long) fomCriteria.getExecutableCriteria(session).uniqueResult();
+		if (count == 0 || count <= pageable.getOffset())
+			return new PageImpl<>(new ArrayList<>(), pageable, count);
+
+		// Get one page of IDs from the solution table
+		fomCriteria.setProjection(Projections.property(solutionId));
+		Criteria idCriteria = session.createCriteria(MLPSolution.class);
+		idCriteria.add(Subqueries.propertyIn(solutionId, fomCriteria));
+		idCriteria.setProjection(Projections.property(solutionId));
 		// Include user's sort request
 		if (pageable.getSort() != null)
-			super.applySortCriteria(criteria, pageable);
+			super.applySortCriteria(idCriteria, pageable);
 		// Add order on a unique field. Without this the pagination
 		// can yield odd results; e.g., request 10 items but only get 8.
-		criteria.addOrder(Order.asc(solutionId));
-		// Hibernate should coalesce the results, yielding only solutions
-		criteria.setResultTransformer(Criteria.DISTINCT_ROOT_ENTITY);
+		idCriteria.addOrder(Order.asc(solutionId));
+		super.applyFirstMaxCriteria(idCriteria, pageable);
+		List<String> ids = idCriteria.list();
+		return new PageImpl<>(fetchSolutions(session, ids), pageable, count);
+	}
 
-		// Getting the complete result could be brutally expensive.
-		List foms = criteria.list();
-		if (foms.isEmpty() || foms.size() < pageable.getOffset())
-			return new PageImpl<>(new ArrayList<>(), pageable, 0);
+	/*
+	 * Checks the keyword candidates against the criteria, one chunk of at most
+	 * maxCandidates IDs per query, so no statement carries the whole candidate
+	 * set. Answers the candidates that match, in the order given.
+	 */
+	@SuppressWarnings("unchecked")
+	private List<String> matchCandidates(Session session, DetachedCriteria fomCriteria, List<String> candidates) {
+		fomCriteria.setProjection(Projections.property(solutionId));
+		List<String> matches = new ArrayList<>();
+		final int chunkSize = Math.max(1, maxCandidates);
+		for (int from = 0; from < candidates.size(); from += chunkSize) {
+			List<String> chunk = candidates.subList(from, Math.min(candidates.size(), from + chunkSize));
+			Criteria idCriteria = session.createCriteria(MLPSolution.class);
+			idCriteria.add(buildInCriterion(solutionId, chunk));
+			idCriteria.add(Subqueries.propertyIn(solutionId, fomCriteria));
+			idCriteria.setProjection(Projections.property(solutionId));
+			Set<String> matched = new HashSet<>(idCriteria.list());
+			for (String id : chunk)
+				if (matched.contains(id))
+					matches.add(id);
+		}
+		return matches;
+	}
+
+	/*
+	 * Ranks the keyword candidates by relevance score, highest first, then checks
+	 * them against the criteria in rank order. Every chunk is checked to count the
+	 * matches; only the IDs on the requested page are kept, then those solutions
+	 * are fetched.
+	 */
+	private Page<MLPSolution> runRankedSolutionFomQuery(DetachedCriteria fomCriteria, Map<String, Double> scores,
+			Pageable pageable) {
+		final Session session = sessionFactory.getCurrentSession();
+		List<String> ranked = new ArrayList<>(scores.keySet());
+		ranked.sort(Comparator.comparing((String id) -> scores.get(id)).reversed().thenComparing(id -> id));
+		List<String> matches = matchCandidates(session, fomCriteria, ranked);
+		final int first = Math.min(pageable.getOffset(), matches.size());
+		final int last = Math.min(first + pageable.getPageSize(), matches.size());
+		return new PageImpl<>(fetchSolutions(session, matches.subList(first, last)), pageable, matches.size());
+	}
+
+	/*
+	 * Checks the keyword candidates against the criteria in chunks, then lets the
+	 * database sort and page the matches, which only need the solution table.
+	 * The matches are usually far fewer than the candidates; the IN list for them
+	 * is split like any other.
+	 */
+	@SuppressWarnings("unchecked")
+	private Page<MLPSolution> runSortedSolutionFomQuery(DetachedCriteria fomCriteria, Map<String, Double> scores,
+			Pageable pageable) {
+		final Session session = sessionFactory.getCurrentSession();
+		List<String> matches = matchCandidates(session, fomCriteria, new ArrayList<>(scores.keySet()));
+		if (matches.size() <= pageable.getOffset())
+			return new PageImpl<>(new ArrayList<>(), pageable, matches.size());
+		Criteria idCriteria = session.createCriteria(MLPSolution.class);
+		idCriteria.add(buildInCriterion(solutionId, matches));
+		idCriteria.setProjection(Projections.property(solutionId));
+		super.applySortCriteria(idCriteria, pageable);
+		idCriteria.addOrder(Order.asc(solutionId));
+		super.applyFirstMaxCriteria(idCriteria, pageable);
+		List<String> ids = idCriteria.list();
+		return new PageImpl<>(fetchSolutions(session, ids), pageable, matches.size());
+	}
+
+	/*
+	 * Fetches the solutions with the specified IDs in one batch and answers them
+	 * in the same order as the IDs.
+	 */
+	@SuppressWarnings("unchecked")
+	private List<MLPSolution> fetchSolutions(Session session, List<String> ids) {
+		if (ids.isEmpty())
+			return new ArrayList<>();
+		Criteria solCriteria = session.createCriteria(MLPSolution.class);
+		solCriteria.add(Restrictions.in(solutionId, ids));
+		solCriteria.setFetchMode("webStats", FetchMode.JOIN);
+		solCriteria.setResultTransformer(Criteria.DISTINCT_ROOT_ENTITY);
+		List<MLPSolution> fetched = solCriteria.list();
 
-		// Get a page of FOM solutions and convert each to plain solution
-		List<MLPSolution> items = new ArrayList<>();
-		int lastItemInPage = pageable.getOffset() + pageable.getPageSize();
-		int limit = lastItemInPage < foms.size() ? lastItemInPage : foms.size();
-		for (int i = pageable.getOffset(); i < limit; ++i) {
-			Object o = foms.get(i);
-			if (o instanceof MLPSolutionFOM)
-				items.add(((MLPSolutionFOM) o).toMLPSolution());
-			else
-				throw new AssertionFailure("Unexpected type: " + o.getClass().getName());
+		// The batch fetch is unordered, so restore order from the ID page
+		Map<String, MLPSolution> byId = new HashMap<>();
+		for (MLPSolution s : fetched)
+			byId.put(s.getSolutionId(), s);
+		List<MLPSolution> items = new ArrayList<>(ids.size());
+		for (String id : ids) {
+			MLPSolution s = byId.get(id);
+			if (s != null)
+				items.add(s);
 		}
-		return new PageImpl<>(items, pageable, foms.size());
+		return items;
+	}
+
+	/*
+	 * Finds the solutions that match the keywords. Uses the keyword index to find
+	 * candidate IDs if it is ready, which runKeywordQuery applies after the tags
+	 * narrow them. Any number of candidates is kept, because runKeywordQuery
+	 * checks them in chunks, so the words match the same way whether or not a
+	 * sort is requested. Without the index, falls back to LIKE queries; that
+	 * requires the revisions alias.
+	 * 
+	 * The fallback splits the keywords into words like the index and requires
+	 * every word in some text field of the solution or any of its revisions,
+	 * ignoring case, or any keyword to equal an ID. Unlike the index, a word may
+	 * match anywhere within a word of the text, not just at its start.
+	 * 
+	 * Answers the relevance scores of the candidates, or null if the fallback was
+	 * used.
+	 */
+	private Map<String, Double> addKeywordCriteria(DetachedCriteria criteria, String[] keywords) {
+		if (keywordIndexService.isReady())
+			return keywordIndexService.search(keywords);
+		List<String> words = new ArrayList<>();
+		for (String keyword : keywords)
+			words.addAll(SolutionKeywordIndexServiceImpl.tokenize(keyword));
+		Disjunction keywordDisjunction = Restrictions.disjunction();
+		// An empty conjunction would match everything
+		if (!words.isEmpty()) {
+			Conjunction allWords = Restrictions.conjunction();
+			for (String word : words)
+				allWords.add(Subqueries.propertyIn(solutionId, buildWordQuery(word)));
+			keywordDisjunction.add(allWords);
+		}
+		// Also match on IDs, but exact only
+		keywordDisjunction.add(buildEqualsListCriterion("solutionId", keywords));
+		keywordDisjunction.add(buildEqualsListCriterion(revAlias + ".revisionId", keywords));
+		criteria.add(keywordDisjunction);
+		return null;
+	}
+
+	/*
+	 * Builds a subquery for the IDs of solutions with the word in the name or in
+	 * the authors, publisher or description of any revision. The word has only
+	 * letters and digits, so it needs no escaping in a LIKE pattern.
+	 */
+	private DetachedCriteria buildWordQuery(String word) {
+		final String wordSolAlias = "kwsol";
+		final String wordRevAlias = "kwrev";
+		final String wordDescAlias = "kwdesc";
+		final String pattern = '%' + word + '%';
+		// Revisions and descriptions are optional, so must use outer join
+		return DetachedCriteria.forClass(MLPSolutionFOM.class, wordSolAlias)
+				.createAlias(wordSolAlias + ".revisions", wordRevAlias, org.hibernate.sql.JoinType.LEFT_OUTER_JOIN)
+				.createAlias(wordRevAlias + ".descriptions", wordDescAlias,
+						org.hibernate.sql.JoinType.LEFT_OUTER_JOIN)
+				.add(Restrictions.or(Restrictions.ilike(wordSolAlias + ".name", pattern),
+						Restrictions.ilike(wordRevAlias + ".authors", pattern),
+						Restrictions.ilike(wordRevAlias + ".publisher", pattern),
+						Restrictions.ilike(wordDescAlias + ".description", pattern)))
+				.setProjection(Projections.property(wordSolAlias + "." + solutionId));
+	}
+
+	/*
+	 * Restricts the criteria to solutions with every one of the required tags and
+	 * at least one of the optional tags. Uses the facet index if it is ready,
+	 * which resolves the tags together with the other facet values in memory.
+	 * Keyword candidates, if any, are narrowed to those solutions in memory;
+	 * otherwise a set of at most maxCandidates becomes an IN list. A larger set
+	 * of a popular tag, or a missing index, falls back to correlated subqueries.
+	 * Answers false if the index shows that nothing can match.
+	 */
+	private boolean addTagCriteria(DetachedCriteria criteria, boolean active, String[] modelTypeCode,
+			String[] accessTypeCode, String[] validationStatusCode, String[] allTags, String[] anyTags,
+			Map<String, Double> scores) {
+		final boolean hasAllTags = allTags != null && allTags.length > 0;
+		final boolean hasAnyTags = anyTags != null && anyTags.length > 0;
+		if (!hasAllTags && !hasAnyTags)
+			return true;
+		if (facetIndexService.isReady()) {
+			Set<String> ids = facetIndexService.findSolutionIds(active, modelTypeCode, accessTypeCode,
+					validationStatusCode, allTags, anyTags, null);
+			if (scores != null) {
+				scores.keySet().retainAll(ids);
+				return !scores.isEmpty();
+			}
+			if (ids.isEmpty())
+				return false;
+			if (ids.size() <= maxCandidates) {
+				criteria.add(buildInCriterion(solutionId, ids));
+				return true;
+			}
+			logger.debug("addTagCriteria: {} tagged solutions exceed {}, using subqueries", ids.size(),
+					maxCandidates);
+		}
+		if (hasAllTags) {
+			// https://stackoverflow.com/questions/51992269/hibernate-java-criteria-query-for-instances-with-multiple-collection-members-lik
+			DetachedCriteria allTagsQuery = DetachedCriteria.forClass(MLPSolutionFOM.class, subqAlias)
+					.add(Restrictions.eqProperty(subqAlias + ".id", solAlias + ".id")) //
+					.createAlias("tags", tagsFieldAlias) //
+					.add(Restrictions.in(tagValueField, allTags)) //
+					.setProjection(Projections.count(tagValueField));
+			criteria.add(Subqueries.eq((long) allTags.length, allTagsQuery));
+		}
+		if (hasAnyTags) {
+			final String subq2Alias = "subsol2";
+			final String tag2Alias = "anytag";
+			final String tag2ValueField = tag2Alias + ".tag";
+			DetachedCriteria anyTagsQuery = DetachedCriteria.forClass(MLPSolutionFOM.class, subq2Alias)
+					.add(Restrictions.eqProperty(subq2Alias + ".id", solAlias + ".id")) //
+					.createAlias("tags", tag2Alias) //
+					.add(Restrictions.in(tag2ValueField, anyTags)).setProjection(Projections.count(tag2ValueField));
+			criteria.add(Subqueries.lt(0L, anyTagsQuery));
+		}
+		return true;
+	}
+
+	/*
+	 * Runs the keyword query. Without a requested sort, solutions found via the
+	 * keyword index are ordered by relevance; with one, the database sorts the
+	 * candidates that match.
+	 */
+	private Page<MLPSolution> runKeywordQuery(DetachedCriteria criteria, Map<String, Double> scores,
+			Pageable pageable) {
+		if (scores == null)
+			return runSolutionFomQuery(criteria, pageable);
+		if (scores.isEmpty())
+			return new PageImpl<>(new ArrayList<>(), pageable, 0);
+		if (pageable.getSort() == null)
+			return runRankedSolutionFomQuery(criteria, scores, pageable);
+		return runSortedSolutionFomQuery(criteria, scores, pageable);
 	}
 
 	/**
@@ -199,7 +436,7 @@ public Page<MLPSolution> findPortalSolutions(String[] nameKeywords, String[] des
 			String[] tags, String[] authorKeywords, String[] publisherKeywords, Pageable pageable) {
 
 		// build the query using FOM to access child attributes
-		Criteria criteria = sessionFactory.getCurrentSession().createCriteria(MLPSolutionFOM.class, solAlias);
+		DetachedCriteria criteria = DetachedCriteria.forClass(MLPSolutionFOM.class, solAlias);
 		// Attributes on the solution
 		criteria.add(Restrictions.eq("active", active));
 		if (nameKeywords != null && nameKeywords.length > 0)
@@ -231,15 +468,8 @@ public Page<MLPSolution> findPortalSolutions(String[] nameKeywords, String[] des
 			criteria.createAlias("owner", ownerAlias);
 			criteria.add(Restrictions.in(ownerAlias + ".userId", userIds));
 		}
-		if (tags != null && tags.length > 0) {
-			// https://stackoverflow.com/questions/51992269/hibernate-java-criteria-query-for-instances-with-multiple-collection-members-lik
-			DetachedCriteria subquery = DetachedCriteria.forClass(MLPSolutionFOM.class, subqAlias)
-					.add(Restrictions.eqProperty(subqAlias + ".id", solAlias + ".id")) //
-					.createAlias("tags", tagsFieldAlias) //
-					.add(Restrictions.in(tagValueField, tags)) //
-					.setProjection(Projections.count(tagValueField));
-			criteria.add(Subqueries.eq((long) tags.length, subquery));
-		}
+		if (!addTagCriteria(criteria, active, modelTypeCode, accessTypeCode, validationStatusCode, tags, null, null))
+			return new PageImpl<>(new ArrayList<>(), pageable, 0);
 		Page<MLPSolution> result = runSolutionFomQuery(criteria, pageable);
 		logger.info("findPortalSolutions: result size={}", result.getNumberOfElements());
 		return result;
@@ -264,7 +494,7 @@ public Page<MLPSolution> findUserSolutions(String[] nameKeywords, String[] descK
 			String[] tags, Pageable pageable) {
 
 		// build the query using FOM to access child attributes
-		Criteria criteria = sessionFactory.getCurrentSession().createCriteria(MLPSolutionFOM.class, solAlias);
+		DetachedCriteria criteria = DetachedCriteria.forClass(MLPSolutionFOM.class, solAlias);
 		// Find user's own models AND others via access map which requires outer join
 		criteria.createAlias("owner", ownerAlias);
 		Criterion owner = Restrictions.eq(ownerAlias + ".userId", userId);
@@ -293,15 +523,8 @@ public Page<MLPSolution> findUserSolutions(String[] nameKeywords, String[] descK
 				criteria.add(buildLikeListCriterion(descsAlias + ".description", descKeywords, false));
 			}
 		}
-		if (tags != null && tags.length > 0) {
-			// https://stackoverflow.com/questions/51992269/hibernate-java-criteria-query-for-instances-with-multiple-collection-members-lik
-			DetachedCriteria subquery = DetachedCriteria.forClass(MLPSolutionFOM.class, subqAlias)
-					.add(Restrictions.eqProperty(subqAlias + ".id", solAlias + ".id")) //
-					.createAlias("tags", tagsFieldAlias) //
-					.add(Restrictions.in(tagValueField, tags)) //
-					.setProjection(Projections.count(tagValueField));
-			criteria.add(Subqueries.eq((long) tags.length, subquery));
-		}
+		if (!addTagCriteria(criteria, active, modelTypeCode, accessTypeCode, validationStatusCode, tags, null, null))
+			return new PageImpl<>(new ArrayList<>(), pageable, 0);
 		Page<MLPSolution> result = runSolutionFomQuery(criteria, pageable);
 		logger.info("findUserSolutions: result size={}", result.getNumberOfElements());
 		return result;
@@ -318,7 +541,7 @@ public Page<MLPSolution> findSolutionsByModifiedDate(boolean active, String[] ac
 			String[] validationStatusCode, Date date, Pageable pageable) {
 
 		// build the query using FOM to access child attributes
-		Criteria criteria = sessionFactory.getCurrentSession().createCriteria(MLPSolutionFOM.class, solAlias);
+		DetachedCriteria criteria = DetachedCriteria.forClass(MLPSolutionFOM.class, solAlias);
 		// A solution should ALWAYS have revisions.
 		criteria.createAlias("revisions", revAlias);
 		// A revision should ALWAYS have artifacts
@@ -346,30 +569,21 @@ public Page<MLPSolution> findSolutionsByModifiedDate(boolean active, String[] ac
 	}
 
 	/*
-	 * Low-rent version of full-text search.
+	 * Keywords are resolved to candidate solutions by the in-memory keyword index,
+	 * so the database only applies the remaining criteria.
 	 */
 	@Override
 	public Page<MLPSolution> findPortalSolutionsByKw(String[] keywords, boolean active, String[] userIds,
 			String[] modelTypeCode, String[] accessTypeCode, String[] tags, Pageable pageable) {
 
 		// build the query using FOM to access child attributes
-		Criteria criteria = sessionFactory.getCurrentSession().createCriteria(MLPSolutionFOM.class, solAlias);
+		DetachedCriteria criteria = DetachedCriteria.forClass(MLPSolutionFOM.class, solAlias);
 		criteria.add(Restrictions.eq("active", active));
 		// A solution should ALWAYS have revisions.
 		criteria.createAlias("revisions", revAlias);
-		// Descriptions are optional, so must use outer join
-		if (keywords != null && keywords.length > 0) {
-			criteria.createAlias(revAlias + ".descriptions", descsAlias, org.hibernate.sql.JoinType.LEFT_OUTER_JOIN);
-			Disjunction keywordDisjunction = Restrictions.disjunction();
-			keywordDisjunction.add(buildLikeListCriterion("name", keywords, false));
-			keywordDisjunction.add(buildLikeListCriterion(descsAlias + ".description", keywords, false));
-			keywordDisjunction.add(buildLikeListCriterion(revAlias + ".authors", keywords, false));
-			keywordDisjunction.add(buildLikeListCriterion(revAlias + ".publisher", keywords, false));
-			// Also match on IDs, but exact only
-			keywordDisjunction.add(buildEqualsListCriterion("solutionId", keywords));
-			keywordDisjunction.add(buildEqualsListCriterion(revAlias + ".revisionId", keywords));
-			criteria.add(keywordDisjunction);
-		}
+		Map<String, Double> scores = null;
+		if (keywords != null && keywords.length > 0)
+			scores = addKeywordCriteria(criteria, keywords);
 		if (modelTypeCode != null && modelTypeCode.length > 0)
 			criteria.add(buildEqualsListCriterion("modelTypeCode", modelTypeCode));
 		if (accessTypeCode != null && accessTypeCode.length > 0)
@@ -378,16 +592,9 @@ public Page<MLPSolution> findPortalSolutionsByKw(String[] keywords, boolean acti
 			criteria.createAlias("owner", ownerAlias);
 			criteria.add(Restrictions.in(ownerAlias + ".userId", userIds));
 		}
-		if (tags != null && tags.length > 0) {
-			// https://stackoverflow.com/questions/51992269/hibernate-java-criteria-query-for-instances-with-multiple-collection-members-lik
-			DetachedCriteria subquery = DetachedCriteria.forClass(MLPSolutionFOM.class, subqAlias)
-					.add(Restrictions.eqProperty(subqAlias + ".id", solAlias + ".id")) //
-					.createAlias("tags", tagsFieldAlias) //
-					.add(Restrictions.in(tagValueField, tags)) //
-					.setProjection(Projections.count(tagValueField));
-			criteria.add(Subqueries.eq((long) tags.length, subquery));
-		}
-		Page<MLPSolution> result = runSolutionFomQuery(criteria, pageable);
+		if (!addTagCriteria(criteria, active, modelTypeCode, accessTypeCode, null, tags, null, scores))
+			return new PageImpl<>(new ArrayList<>(), pageable, 0);
+		Page<MLPSolution> result = runKeywordQuery(criteria, scores, pageable);
 		logger.info("findPortalSolutionsByKw: result size={}", result.getNumberOfElements());
 		return result;
 	}
@@ -399,23 +606,13 @@ public Page<MLPSolution> findPortalSolutionsByKw(String[] keywords, boolean acti
 	public Page<MLPSolution> findPortalSolutionsByKwAndTags(String[] keywords, boolean active, String[] userIds,
 			String[] modelTypeCode, String[] accessTypeCode, String[] allTags, String[] anyTags, Pageable pageable) {
 		// build the query using FOM to access child attributes
-		Criteria criteria = sessionFactory.getCurrentSession().createCriteria(MLPSolutionFOM.class, solAlias);
+		DetachedCriteria criteria = DetachedCriteria.forClass(MLPSolutionFOM.class, solAlias);
 		criteria.add(Restrictions.eq("active", active));
 		// A solution should ALWAYS have revisions.
 		criteria.createAlias("revisions", revAlias);
-		// Descriptions are optional, so must use outer join
-		if (keywords != null && keywords.length > 0) {
-			criteria.createAlias(revAlias + ".descriptions", descsAlias, org.hibernate.sql.JoinType.LEFT_OUTER_JOIN);
-			Disjunction keywordDisjunction = Restrictions.disjunction();
-			keywordDisjunction.add(buildLikeListCriterion("name", keywords, false));
-			keywordDisjunction.add(buildLikeListCriterion(descsAlias + ".description", keywords, false));
-			keywordDisjunction.add(buildLikeListCriterion(revAlias + ".authors", keywords, false));
-			keywordDisjunction.add(buildLikeListCriterion(revAlias + ".publisher", keywords, false));
-			// Also match on IDs, but exact only
-			keywordDisjunction.add(buildEqualsListCriterion("solutionId", keywords));
-			keywordDisjunction.add(buildEqualsListCriterion(revAlias + ".revisionId", keywords));
-			criteria.add(keywordDisjunction);
-		}
+		Map<String, Double> scores = null;
+		if (keywords != null && keywords.length > 0)
+			scores = addKeywordCriteria(criteria, keywords);
 		if (modelTypeCode != null && modelTypeCode.length > 0)
 			criteria.add(buildEqualsListCriterion("modelTypeCode", modelTypeCode));
 		if (accessTypeCode != null && accessTypeCode.length > 0)
@@ -424,28 +621,19 @@ public Page<MLPSolution> findPortalSolutionsByKwAndTags(String[] keywords, boole
 			criteria.createAlias("owner", ownerAlias);
 			criteria.add(Restrictions.in(ownerAlias + ".userId", userIds));
 		}
-		if (allTags != null && allTags.length > 0) {
-			// https://stackoverflow.com/questions/51992269/hibernate-java-criteria-query-for-instances-with-multiple-collection-members-lik
-			DetachedCriteria allTagsQuery = DetachedCriteria.forClass(MLPSolutionFOM.class, subqAlias)
-					.add(Restrictions.eqProperty(subqAlias + ".id", solAlias + ".id")) //
-					.createAlias("tags", tagsFieldAlias) //
-					.add(Restrictions.in(tagValueField, allTags)) //
-					.setProjection(Projections.count(tagValueField));
-			criteria.add(Subqueries.eq((long) allTags.length, allTagsQuery));
-		}
-		if (anyTags != null && anyTags.length > 0) {
-			final String subq2Alias = "subsol2";
-			final String tag2Alias = "anytag";
-			final String tag2ValueField = tag2Alias + ".tag";
-			DetachedCriteria anyTagsQuery = DetachedCriteria.forClass(MLPSolutionFOM.class, subq2Alias)
-					.add(Restrictions.eqProperty(subq2Alias + ".id", solAlias + ".id")) //
-					.createAlias("tags", tag2Alias) //
-					.add(Restrictions.in(tag2ValueField, anyTags)).setProjection(Projections.count(tag2ValueField));
-			criteria.add(Subqueries.lt(0L, anyTagsQuery));
-		}
-		Page<MLPSolution> result = runSolutionFomQuery(criteria, pageable);
+		if (!addTagCriteria(criteria, active, modelTypeCode, accessTypeCode, null, allTags, anyTags, scores))
+			return new PageImpl<>(new ArrayList<>(), pageable, 0);
+		Page<MLPSolution> result = runKeywordQuery(criteria, scores, pageable);
 		logger.info("findPortalSolutionsByKwAndTags: result size={}", result.getNumberOfElements());
 		return result;
 	}
 
+	@Override
+	public RestPageResponse<MLPSolution> seekSolutions(String token, Pageable pageable) {
+		RestPageResponse<MLPSolution> page = runSeekQuery(sessionFactory.getCurrentSession(), MLPSolution.class, token,
+				pageable);
+		logger.info("seekSolutions: result size={}", page.getNumberOfElements());
+		return page;
+	}
+
 }
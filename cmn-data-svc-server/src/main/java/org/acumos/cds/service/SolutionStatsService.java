@@ -0,0 +1,96 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.service;
+
+import org.acumos.cds.domain.MLPSolutionDownload;
+import org.acumos.cds.domain.MLPSolutionRating;
+
+/**
+ * Defines methods to maintain the download and rating statistics that are
+ * cached in the solution web entity.
+ */
+public interface SolutionStatsService {
+
+	/**
+	 * Recomputes download and rating statistics for every solution from the
+	 * download and rating tables.
+	 * 
+	 * @return Number of solutions reconciled
+	 */
+	int reconcileStats();
+
+	/**
+	 * Deletes a download record and decrements the download count of its
+	 * solution in one transaction.
+	 * 
+	 * @param solutionId
+	 *            Solution ID, which must be the solution of the download
+	 * @param downloadId
+	 *            Download ID
+	 * @return True if deleted; false if the solution has no download with the
+	 *         ID
+	 */
+	boolean deleteDownload(String solutionId, long downloadId);
+
+	/**
+	 * Creates a rating and adds it to the rating statistics of its solution in
+	 * one transaction.
+	 * 
+	 * @param rating
+	 *            New rating
+	 * @return The saved rating; null if the user already rated the solution
+	 */
+	MLPSolutionRating createRating(MLPSolutionRating rating);
+
+	/**
+	 * Updates a rating and adjusts the rating average of its solution by the
+	 * change in one transaction. The rating row is locked while the change is
+	 * computed, so concurrent updates cannot apply the same old value twice.
+	 * 
+	 * @param rating
+	 *            Rating with new values
+	 * @return True if updated; false if the rating does not exist
+	 */
+	boolean updateRating(MLPSolutionRating rating);
+
+	/**
+	 * Deletes a rating and removes it from the rating statistics of its solution
+	 * in one transaction.
+	 * 
+	 * @param solutionId
+	 *            Solution ID
+	 * @param userId
+	 *            User ID
+	 * @return True if deleted; false if the rating does not exist
+	 */
+	boolean deleteRating(String solutionId, String userId);
+
+	/**
+	 * Creates a download record and increments the download count of its
+	 * solution in one transaction.
+	 * 
+	 * @param download
+	 *            New download
+	 * @return The saved download
+	 */
+	MLPSolutionDownload createDownload(MLPSolutionDownload download);
+
+}
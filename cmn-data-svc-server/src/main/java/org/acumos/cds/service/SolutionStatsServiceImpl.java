@@ -0,0 +1,133 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.service;
+
+import java.lang.invoke.MethodHandles;
+import java.util.Date;
+import java.util.List;
+
+import org.acumos.cds.domain.MLPSolutionDownload;
+import org.acumos.cds.domain.MLPSolutionRating;
+import org.acumos.cds.repository.SolutionDownloadRepository;
+import org.acumos.cds.repository.SolutionRatingRepository;
+import org.acumos.cds.repository.SolutionWebRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Download and rating statistics are maintained incrementally by relative
+ * updates as rows are added and removed. This service periodically recomputes
+ * them from the base tables to correct drift, such as accumulated rounding in
+ * the rating average. Each solution is reconciled by its own statement to keep
+ * row locks short.
+ */
+@Service("solutionStatsService")
+public class SolutionStatsServiceImpl implements SolutionStatsService {
+
+	private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+	@Autowired
+	private SolutionDownloadRepository solutionDownloadRepository;
+	@Autowired
+	private SolutionRatingRepository solutionRatingRepository;
+	@Autowired
+	private SolutionWebRepository solutionWebRepository;
+
+	@Override
+	@Scheduled(initialDelayString = "${solution.stats.reconcile.interval.ms:3600000}", //
+			fixedDelayString = "${solution.stats.reconcile.interval.ms:3600000}")
+	public int reconcileStats() {
+		List<String> solutionIds = solutionWebRepository.findAllSolutionIds();
+		int count = 0;
+		for (String solutionId : solutionIds) {
+			try {
+				solutionWebRepository.reconcileStats(solutionId);
+				++count;
+			} catch (Exception ex) {
+				logger.warn("reconcileStats failed on solution {}: {}", solutionId, ex.toString());
+			}
+		}
+		logger.info("reconcileStats: reconciled {} solutions", count);
+		return count;
+	}
+
+	@Override
+	@Transactional
+	public boolean deleteDownload(String solutionId, long downloadId) {
+		MLPSolutionDownload download = solutionDownloadRepository.findOne(downloadId);
+		if (download == null || !download.getSolutionId().equals(solutionId))
+			return false;
+		solutionDownloadRepository.delete(download);
+		solutionWebRepository.decrementDownloadCount(download.getSolutionId());
+		return true;
+	}
+
+	@Override
+	@Transactional
+	public MLPSolutionRating createRating(MLPSolutionRating rating) {
+		// Save would merge into an existing rating and count it twice
+		if (solutionRatingRepository
+				.exists(new MLPSolutionRating.SolutionRatingPK(rating.getSolutionId(), rating.getUserId())))
+			return null;
+		MLPSolutionRating saved = solutionRatingRepository.save(rating);
+		solutionWebRepository.addRating(saved.getSolutionId(), saved.getRating());
+		return saved;
+	}
+
+	@Override
+	@Transactional
+	public boolean updateRating(MLPSolutionRating rating) {
+		MLPSolutionRating existing = solutionRatingRepository.findForUpdate(rating.getSolutionId(),
+				rating.getUserId());
+		if (existing == null)
+			return false;
+		// Read before the save, which changes the managed entity
+		final int delta = rating.getRating() - existing.getRating();
+		solutionRatingRepository.save(rating);
+		if (delta != 0)
+			solutionWebRepository.changeRating(rating.getSolutionId(), delta);
+		return true;
+	}
+
+	@Override
+	@Transactional
+	public boolean deleteRating(String solutionId, String userId) {
+		MLPSolutionRating existing = solutionRatingRepository.findForUpdate(solutionId, userId);
+		if (existing == null)
+			return false;
+		solutionRatingRepository.delete(existing);
+		solutionWebRepository.removeRating(solutionId, existing.getRating());
+		return true;
+	}
+
+	@Override
+	@Transactional
+	public MLPSolutionDownload createDownload(MLPSolutionDownload download) {
+		MLPSolutionDownload saved = solutionDownloadRepository.save(download);
+		solutionWebRepository.incrementDownloadCount(saved.getSolutionId(), new Date());
+		return saved;
+	}
+
+}
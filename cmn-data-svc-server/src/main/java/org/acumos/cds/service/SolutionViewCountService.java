@@ -0,0 +1,75 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.service;
+
+import org.acumos.cds.domain.MLPSolutionWeb;
+
+/**
+ * Defines methods to count solution views in memory and write the counts to
+ * the database in batches, which avoids an update on a hot row for every view.
+ */
+public interface SolutionViewCountService {
+
+	/**
+	 * Records one view of the specified solution. The count is written to the
+	 * database later.
+	 * 
+	 * @param solutionId
+	 *            Solution ID
+	 */
+	void incrementViewCount(String solutionId);
+
+	/**
+	 * Gets the number of views not yet written to the database.
+	 * 
+	 * @param solutionId
+	 *            Solution ID
+	 * @return Count of pending views
+	 */
+	long getPendingViewCount(String solutionId);
+
+	/**
+	 * Adds pending views to the view count in the stats.
+	 * 
+	 * @param stats
+	 *            Stats read from the database
+	 * @return The argument if nothing is pending; else a copy with the view
+	 *         count adjusted
+	 */
+	MLPSolutionWeb withPendingViews(MLPSolutionWeb stats);
+
+	/**
+	 * Discards pending views for the specified solution; e.g., after the
+	 * solution is deleted.
+	 * 
+	 * @param solutionId
+	 *            Solution ID
+	 */
+	void discard(String solutionId);
+
+	/**
+	 * Writes all pending view counts to the database.
+	 * 
+	 * @return Number of solutions updated
+	 */
+	int flush();
+
+}
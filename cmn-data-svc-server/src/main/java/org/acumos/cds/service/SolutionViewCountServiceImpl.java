@@ -0,0 +1,211 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.service;
+
+import java.lang.invoke.MethodHandles;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+
+import org.acumos.cds.domain.MLPSolutionWeb;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Absorbs solution view increments in striped in-memory counters, one per
+ * solution, and writes them to the database as a JDBC batch of relative
+ * updates. A flush runs on a fixed interval, whenever the total of pending
+ * views reaches a threshold, and on shutdown. A threshold flush is handed to a
+ * background thread, so the request that crosses the threshold does not wait
+ * for the database. Counts are subtracted from the
+ * counters before the update and restored if the update fails, so no view is
+ * lost or counted twice; readers may briefly see a count that is low by the
+ * views in flight.
+ * 
+ * Counters are kept after a flush to avoid a race with a concurrent increment,
+ * so memory use is bounded by the number of solutions viewed since startup.
+ */
+@Service("solutionViewCountService")
+public class SolutionViewCountServiceImpl implements SolutionViewCountService {
+
+	private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+	private static final String UPDATE_SQL = "UPDATE C_SOLUTION_WEB SET VIEW_COUNT = COALESCE(VIEW_COUNT, 0) + ? "
+			+ "WHERE SOLUTION_ID = ?";
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Value("${solution.view.flush.threshold:1000}")
+	private long flushThreshold;
+
+	private final Map<String, LongAdder> pending = new ConcurrentHashMap<>();
+	private final LongAdder pendingTotal = new LongAdder();
+	private final AtomicBoolean flushing = new AtomicBoolean();
+	private final AtomicBoolean flushRequested = new AtomicBoolean();
+	private final ExecutorService flusher = Executors.newSingleThreadExecutor(r -> {
+		Thread t = new Thread(r, "solution-view-flush");
+		t.setDaemon(true);
+		return t;
+	});
+
+	@Override
+	public void incrementViewCount(String solutionId) {
+		pending.computeIfAbsent(solutionId, k -> new LongAdder()).increment();
+		pendingTotal.increment();
+		if (pendingTotal.sum() >= flushThreshold)
+			requestFlush();
+	}
+
+	/*
+	 * Queues one flush on the background thread. Views counted before it runs are
+	 * included, so further requests are ignored until it starts.
+	 */
+	private void requestFlush() {
+		if (!flushRequested.compareAndSet(false, true))
+			return;
+		try {
+			flusher.execute(() -> {
+				flushRequested.set(false);
+				flush();
+			});
+		} catch (RejectedExecutionException ex) {
+			// Shutting down, which flushes
+			flushRequested.set(false);
+		}
+	}
+
+	@Override
+	public long getPendingViewCount(String solutionId) {
+		LongAdder adder = pending.get(solutionId);
+		return adder == null ? 0 : adder.sum();
+	}
+
+	@Override
+	public MLPSolutionWeb withPendingViews(MLPSolutionWeb stats) {
+		if (stats == null)
+			return null;
+		long delta = getPendingViewCount(stats.getSolutionId());
+		if (delta == 0)
+			return stats;
+		MLPSolutionWeb copy = new MLPSolutionWeb(stats);
+		copy.setViewCount((stats.getViewCount() == null ? 0 : stats.getViewCount()) + delta);
+		return copy;
+	}
+
+	@Override
+	public void discard(String solutionId) {
+		LongAdder adder = pending.remove(solutionId);
+		if (adder != null)
+			pendingTotal.add(-adder.sum());
+	}
+
+	@Override
+	@Scheduled(fixedDelayString = "${solution.view.flush.interval.ms:5000}")
+	public int flush() {
+		// Let one thread flush; others keep counting
+		if (!flushing.compareAndSet(false, true))
+			return 0;
+		try {
+			return flushPending();
+		} finally {
+			flushing.set(false);
+		}
+	}
+
+	private int flushPending() {
+		List<String> ids = new ArrayList<>();
+		List<Long> deltas = new ArrayList<>();
+		for (Map.Entry<String, LongAdder> entry : pending.entrySet()) {
+			long delta = entry.getValue().sum();
+			if (delta == 0)
+				continue;
+			entry.getValue().add(-delta);
+			pendingTotal.add(-delta);
+			ids.add(entry.getKey());
+			deltas.add(delta);
+		}
+		if (ids.isEmpty())
+			return 0;
+		try (Connection conn = dataSource.getConnection()) {
+			boolean autoCommit = conn.getAutoCommit();
+			conn.setAutoCommit(false);
+			try (PreparedStatement ps = conn.prepareStatement(UPDATE_SQL)) {
+				for (int i = 0; i < ids.size(); ++i) {
+					ps.setLong(1, deltas.get(i));
+					ps.setString(2, ids.get(i));
+					ps.addBatch();
+				}
+				ps.executeBatch();
+				conn.commit();
+			} catch (SQLException ex) {
+				conn.rollback();
+				throw ex;
+			} finally {
+				conn.setAutoCommit(autoCommit);
+			}
+			logger.debug("flush: updated view counts for {} solutions", ids.size());
+			return ids.size();
+		} catch (SQLException ex) {
+			logger.error("flush: failed to update view counts, will retry", ex);
+			// Restore the counts for the next attempt
+			for (int i = 0; i < ids.size(); ++i) {
+				pending.computeIfAbsent(ids.get(i), k -> new LongAdder()).add(deltas.get(i));
+				pendingTotal.add(deltas.get(i));
+			}
+			return 0;
+		}
+	}
+
+	/**
+	 * Writes pending counts before the data source is closed, after any flush on
+	 * the background thread finishes.
+	 * 
+	 * @throws InterruptedException
+	 *             if interrupted while waiting for the background flush
+	 */
+	@PreDestroy
+	public void shutdown() throws InterruptedException {
+		logger.info("shutdown: flushing view counts");
+		flusher.shutdown();
+		if (!flusher.awaitTermination(30, TimeUnit.SECONDS))
+			logger.warn("shutdown: background flush did not finish");
+		flush();
+	}
+
+}
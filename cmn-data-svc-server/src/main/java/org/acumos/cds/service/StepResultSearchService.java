@@ -23,6 +23,7 @@
 import java.util.Map;
 
 import org.acumos.cds.domain.MLPStepResult;
+import org.acumos.cds.transport.RestPageResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -46,4 +47,18 @@ public interface StepResultSearchService {
 	 */
 	Page<MLPStepResult> findStepResults(Map<String, Object> queryParameters, boolean isOr, Pageable pageable);
 
+	/**
+	 * Gets a page of step results using seek pagination, which avoids the cost of
+	 * skipping rows for deep pages.
+	 * 
+	 * @param token
+	 *            Continuation token from the previous page; null for the first
+	 *            page
+	 * @param pageable
+	 *            Page size and optional sort on one non-nullable property
+	 * @return Page of instances with a token for the next page, which may be
+	 *         empty.
+	 */
+	RestPageResponse<MLPStepResult> seekStepResults(String token, Pageable pageable);
+
 }
@@ -28,6 +28,7 @@
 import javax.transaction.Transactional;
 
 import org.acumos.cds.domain.MLPStepResult;
+import org.acumos.cds.transport.RestPageResponse;
 import org.hibernate.Criteria;
 import org.hibernate.SessionFactory;
 import org.hibernate.criterion.Projections;
@@ -75,4 +76,12 @@ public Page<MLPStepResult> findStepResults(Map<String, Object> queryParameters,
 		return new PageImpl<>(items, pageable, count);
 	}
 
+	@Override
+	public RestPageResponse<MLPStepResult> seekStepResults(String token, Pageable pageable) {
+		RestPageResponse<MLPStepResult> page = runSeekQuery(sessionFactory.getCurrentSession(), MLPStepResult.class, token,
+				pageable);
+		logger.info("seekStepResults: result size={}", page.getNumberOfElements());
+		return page;
+	}
+
 }
@@ -28,6 +28,7 @@
 import javax.transaction.Transactional;
 
 import org.acumos.cds.domain.MLPUser;
+import org.acumos.cds.transport.RestPageResponse;
 import org.hibernate.Criteria;
 import org.hibernate.SessionFactory;
 import org.hibernate.criterion.Projections;
@@ -75,4 +76,12 @@ public Page<MLPUser> findUsers(Map<String, ? extends Object> queryParameters, bo
 		return new PageImpl<>(items, pageable, count);
 	}
 
+	@Override
+	public RestPageResponse<MLPUser> seekUsers(String token, Pageable pageable) {
+		RestPageResponse<MLPUser> page = runSeekQuery(sessionFactory.getCurrentSession(), MLPUser.class, token,
+				pageable);
+		logger.info("seekUsers: result size={}", page.getNumberOfElements());
+		return page;
+	}
+
 }
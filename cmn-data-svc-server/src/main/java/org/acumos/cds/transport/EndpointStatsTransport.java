@@ -0,0 +1,168 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.transport;
+
+/**
+ * Transports request statistics of one REST endpoint, which is identified by
+ * the controller class and handler method. Durations are in microseconds and
+ * the percentiles are estimates.
+ */
+public class EndpointStatsTransport implements MLPTransportModel {
+
+	/** Controller class and method name */
+	private String endpoint;
+	/** Number of requests completed since start */
+	private long count;
+	/** Number of requests answered with a 4xx status since start */
+	private long clientErrors;
+	/** Number of requests answered with a 5xx status or failed since start */
+	private long serverErrors;
+	/** Number of requests being handled now */
+	private int inFlight;
+	/** Requests per second over the last minute */
+	private double requestRate;
+	/** Failed requests (4xx and 5xx) per second over the last minute */
+	private double errorRate;
+	/** Total time spent handling requests since start */
+	private long totalMillis;
+	/** Average duration */
+	private long meanMicros;
+	/** Median duration */
+	private long p50Micros;
+	/** 99th percentile of duration */
+	private long p99Micros;
+	/** 99.9th percentile of duration */
+	private long p999Micros;
+	/** Longest duration */
+	private long maxMicros;
+
+	/**
+	 * Builds an empty object.
+	 */
+	public EndpointStatsTransport() {
+		// no-arg constructor
+	}
+
+	public String getEndpoint() {
+		return endpoint;
+	}
+
+	public void setEndpoint(String endpoint) {
+		this.endpoint = endpoint;
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	public void setCount(long count) {
+		this.count = count;
+	}
+
+	public long getClientErrors() {
+		return clientErrors;
+	}
+
+	public void setClientErrors(long clientErrors) {
+		this.clientErrors = clientErrors;
+	}
+
+	public long getServerErrors() {
+		return serverErrors;
+	}
+
+	public void setServerErrors(long serverErrors) {
+		this.serverErrors = serverErrors;
+	}
+
+	public int getInFlight() {
+		return inFlight;
+	}
+
+	public void setInFlight(int inFlight) {
+		this.inFlight = inFlight;
+	}
+
+	public double getRequestRate() {
+		return requestRate;
+	}
+
+	public void setRequestRate(double requestRate) {
+		this.requestRate = requestRate;
+	}
+
+	public double getErrorRate() {
+		return errorRate;
+	}
+
+	public void setErrorRate(double errorRate) {
+		this.errorRate = errorRate;
+	}
+
+	public long getTotalMillis() {
+		return totalMillis;
+	}
+
+	public void setTotalMillis(long totalMillis) {
+		this.totalMillis = totalMillis;
+	}
+
+	public long getMeanMicros() {
+		return meanMicros;
+	}
+
+	public void setMeanMicros(long meanMicros) {
+		this.meanMicros = meanMicros;
+	}
+
+	public long getP50Micros() {
+		return p50Micros;
+	}
+
+	public void setP50Micros(long p50Micros) {
+		this.p50Micros = p50Micros;
+	}
+
+	public long getP99Micros() {
+		return p99Micros;
+	}
+
+	public void setP99Micros(long p99Micros) {
+		this.p99Micros = p99Micros;
+	}
+
+	public long getP999Micros() {
+		return p999Micros;
+	}
+
+	public void setP999Micros(long p999Micros) {
+		this.p999Micros = p999Micros;
+	}
+
+	public long getMaxMicros() {
+		return maxMicros;
+	}
+
+	public void setMaxMicros(long maxMicros) {
+		this.maxMicros = maxMicros;
+	}
+
+}
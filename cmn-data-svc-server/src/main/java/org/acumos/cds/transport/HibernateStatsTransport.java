@@ -0,0 +1,209 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.transport;
+
+import java.util.Map;
+
+/**
+ * Transports statistics of a Hibernate session factory since start. Counts of
+ * separate fetches by entity and collection reveal N+1 select patterns.
+ */
+public class HibernateStatsTransport implements MLPTransportModel {
+
+	/** Name of the session factory */
+	private String name;
+	/** True if Hibernate collects statistics; all counts are zero otherwise */
+	private boolean statisticsEnabled;
+	/** Number of sessions opened */
+	private long sessionOpenCount;
+	/** Number of transactions completed */
+	private long transactionCount;
+	/** Number of JDBC statements prepared */
+	private long prepareStatementCount;
+	/** Number of entities loaded */
+	private long entityLoadCount;
+	/** Number of entities fetched by a separate select */
+	private long entityFetchCount;
+	/** Number of entities inserted */
+	private long entityInsertCount;
+	/** Number of entities updated */
+	private long entityUpdateCount;
+	/** Number of entities deleted */
+	private long entityDeleteCount;
+	/** Number of collections loaded */
+	private long collectionLoadCount;
+	/** Number of collections fetched by a separate select, a sign of N+1 queries when high */
+	private long collectionFetchCount;
+	/** Number of HQL and criteria queries executed */
+	private long queryExecutionCount;
+	/** Longest query time in milliseconds */
+	private long queryExecutionMaxTime;
+	/** Query with the longest time */
+	private String queryExecutionMaxTimeQueryString;
+	/** Separate fetch counts by entity name; only nonzero counts */
+	private Map<String, Long> entityFetches;
+	/** Separate fetch counts by collection role; only nonzero counts */
+	private Map<String, Long> collectionFetches;
+
+	/**
+	 * Builds an empty object.
+	 */
+	public HibernateStatsTransport() {
+		// no-arg constructor
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public boolean isStatisticsEnabled() {
+		return statisticsEnabled;
+	}
+
+	public void setStatisticsEnabled(boolean statisticsEnabled) {
+		this.statisticsEnabled = statisticsEnabled;
+	}
+
+	public long getSessionOpenCount() {
+		return sessionOpenCount;
+	}
+
+	public void setSessionOpenCount(long sessionOpenCount) {
+		this.sessionOpenCount = sessionOpenCount;
+	}
+
+	public long getTransactionCount() {
+		return transactionCount;
+	}
+
+	public void setTransactionCount(long transactionCount) {
+		this.transactionCount = transactionCount;
+	}
+
+	public long getPrepareStatementCount() {
+		return prepareStatementCount;
+	}
+
+	public void setPrepareStatementCount(long prepareStatementCount) {
+		this.prepareStatementCount = prepareStatementCount;
+	}
+
+	public long getEntityLoadCount() {
+		return entityLoadCount;
+	}
+
+	public void setEntityLoadCount(long entityLoadCount) {
+		this.entityLoadCount = entityLoadCount;
+	}
+
+	public long getEntityFetchCount() {
+		return entityFetchCount;
+	}
+
+	public void setEntityFetchCount(long entityFetchCount) {
+		this.entityFetchCount = entityFetchCount;
+	}
+
+	public long getEntityInsertCount() {
+		return entityInsertCount;
+	}
+
+	public void setEntityInsertCount(long entityInsertCount) {
+		this.entityInsertCount = entityInsertCount;
+	}
+
+	public long getEntityUpdateCount() {
+		return entityUpdateCount;
+	}
+
+	public void setEntityUpdateCount(long entityUpdateCount) {
+		this.entityUpdateCount = entityUpdateCount;
+	}
+
+	public long getEntityDeleteCount() {
+		return entityDeleteCount;
+	}
+
+	public void setEntityDeleteCount(long entityDeleteCount) {
+		this.entityDeleteCount = entityDeleteCount;
+	}
+
+	public long getCollectionLoadCount() {
+		return collectionLoadCount;
+	}
+
+	public void setCollectionLoadCount(long collectionLoadCount) {
+		this.collectionLoadCount = collectionLoadCount;
+	}
+
+	public long getCollectionFetchCount() {
+		return collectionFetchCount;
+	}
+
+	public void setCollectionFetchCount(long collectionFetchCount) {
+		this.collectionFetchCount = collectionFetchCount;
+	}
+
+	public long getQueryExecutionCount() {
+		return queryExecutionCount;
+	}
+
+	public void setQueryExecutionCount(long queryExecutionCount) {
+		this.queryExecutionCount = queryExecutionCount;
+	}
+
+	public long getQueryExecutionMaxTime() {
+		return queryExecutionMaxTime;
+	}
+
+	public void setQueryExecutionMaxTime(long queryExecutionMaxTime) {
+		this.queryExecutionMaxTime = queryExecutionMaxTime;
+	}
+
+	public String getQueryExecutionMaxTimeQueryString() {
+		return queryExecutionMaxTimeQueryString;
+	}
+
+	public void setQueryExecutionMaxTimeQueryString(String queryExecutionMaxTimeQueryString) {
+		this.queryExecutionMaxTimeQueryString = queryExecutionMaxTimeQueryString;
+	}
+
+	public Map<String, Long> getEntityFetches() {
+		return entityFetches;
+	}
+
+	public void setEntityFetches(Map<String, Long> entityFetches) {
+		this.entityFetches = entityFetches;
+	}
+
+	public Map<String, Long> getCollectionFetches() {
+		return collectionFetches;
+	}
+
+	public void setCollectionFetches(Map<String, Long> collectionFetches) {
+		this.collectionFetches = collectionFetches;
+	}
+
+}
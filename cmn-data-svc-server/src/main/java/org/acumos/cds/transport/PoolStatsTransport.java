@@ -0,0 +1,166 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.transport;
+
+/**
+ * Transports statistics about the database connection pool.
+ */
+public class PoolStatsTransport implements MLPTransportModel {
+
+	/** Current number of connections in the pool, active and idle */
+	private int size;
+	/** Number of connections checked out */
+	private int active;
+	/** Number of idle connections */
+	private int idle;
+	/** Number of threads waiting for a connection */
+	private int pending;
+	/** Configured maximum number of connections */
+	private int maxActive;
+	/** Configured maximum wait for a connection */
+	private int maxWaitMillis;
+	/** Number of connections created since start */
+	private long created;
+	/** Number of connections released since start */
+	private long released;
+	/** Number of checkout requests since start */
+	private long checkouts;
+	/** Number of failed checkout requests since start */
+	private long checkoutFailures;
+	/** Total time spent waiting for connections */
+	private long totalWaitMillis;
+	/** Average time spent waiting for a connection */
+	private long meanWaitMicros;
+	/** Longest time spent waiting for a connection */
+	private long maxWaitMicros;
+
+	/**
+	 * Builds an empty object.
+	 */
+	public PoolStatsTransport() {
+		// no-arg constructor
+	}
+
+	public int getSize() {
+		return size;
+	}
+
+	public void setSize(int size) {
+		this.size = size;
+	}
+
+	public int getActive() {
+		return active;
+	}
+
+	public void setActive(int active) {
+		this.active = active;
+	}
+
+	public int getIdle() {
+		return idle;
+	}
+
+	public void setIdle(int idle) {
+		this.idle = idle;
+	}
+
+	public int getPending() {
+		return pending;
+	}
+
+	public void setPending(int pending) {
+		this.pending = pending;
+	}
+
+	public int getMaxActive() {
+		return maxActive;
+	}
+
+	public void setMaxActive(int maxActive) {
+		this.maxActive = maxActive;
+	}
+
+	public int getMaxWaitMillis() {
+		return maxWaitMillis;
+	}
+
+	public void setMaxWaitMillis(int maxWaitMillis) {
+		this.maxWaitMillis = maxWaitMillis;
+	}
+
+	public long getCreated() {
+		return created;
+	}
+
+	public void setCreated(long created) {
+		this.created = created;
+	}
+
+	public long getReleased() {
+		return released;
+	}
+
+	public void setReleased(long released) {
+		this.released = released;
+	}
+
+	public long getCheckouts() {
+		return checkouts;
+	}
+
+	public void setCheckouts(long checkouts) {
+		this.checkouts = checkouts;
+	}
+
+	public long getCheckoutFailures() {
+		return checkoutFailures;
+	}
+
+	public void setCheckoutFailures(long checkoutFailures) {
+		this.checkoutFailures = checkoutFailures;
+	}
+
+	public long getTotalWaitMillis() {
+		return totalWaitMillis;
+	}
+
+	public void setTotalWaitMillis(long totalWaitMillis) {
+		this.totalWaitMillis = totalWaitMillis;
+	}
+
+	public long getMeanWaitMicros() {
+		return meanWaitMicros;
+	}
+
+	public void setMeanWaitMicros(long meanWaitMicros) {
+		this.meanWaitMicros = meanWaitMicros;
+	}
+
+	public long getMaxWaitMicros() {
+		return maxWaitMicros;
+	}
+
+	public void setMaxWaitMicros(long maxWaitMicros) {
+		this.maxWaitMicros = maxWaitMicros;
+	}
+
+}
@@ -0,0 +1,124 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.transport;
+
+import java.util.Date;
+
+/**
+ * Transports one entry of the slow-query log.
+ */
+public class SlowQueryTransport implements MLPTransportModel {
+
+	/** When the statement finished */
+	private Date timestamp;
+	/** Request URI that issued the statement; null outside a request */
+	private String requestUri;
+	/** SQL text as prepared */
+	private String sql;
+	/** Bound parameters by position */
+	private String parameters;
+	/** Time to execute the statement */
+	private long millis;
+	/** True if the statement failed */
+	private boolean failed;
+
+	/**
+	 * Builds an empty object.
+	 */
+	public SlowQueryTransport() {
+		// no-arg constructor
+	}
+
+	/**
+	 * Builds an object with the specified values.
+	 * 
+	 * @param timestamp
+	 *            When the statement finished
+	 * @param requestUri
+	 *            Request URI that issued the statement
+	 * @param sql
+	 *            SQL text
+	 * @param parameters
+	 *            Bound parameters
+	 * @param millis
+	 *            Execution time
+	 * @param failed
+	 *            True if the statement failed
+	 */
+	public SlowQueryTransport(Date timestamp, String requestUri, String sql, String parameters, long millis,
+			boolean failed) {
+		this.timestamp = timestamp;
+		this.requestUri = requestUri;
+		this.sql = sql;
+		this.parameters = parameters;
+		this.millis = millis;
+		this.failed = failed;
+	}
+
+	public Date getTimestamp() {
+		return timestamp;
+	}
+
+	public void setTimestamp(Date timestamp) {
+		this.timestamp = timestamp;
+	}
+
+	public String getRequestUri() {
+		return requestUri;
+	}
+
+	public void setRequestUri(String requestUri) {
+		this.requestUri = requestUri;
+	}
+
+	public String getSql() {
+		return sql;
+	}
+
+	public void setSql(String sql) {
+		this.sql = sql;
+	}
+
+	public String getParameters() {
+		return parameters;
+	}
+
+	public void setParameters(String parameters) {
+		this.parameters = parameters;
+	}
+
+	public long getMillis() {
+		return millis;
+	}
+
+	public void setMillis(long millis) {
+		this.millis = millis;
+	}
+
+	public boolean isFailed() {
+		return failed;
+	}
+
+	public void setFailed(boolean failed) {
+		this.failed = failed;
+	}
+
+}
@@ -0,0 +1,98 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.transport;
+
+import java.util.List;
+
+/**
+ * Transports statistics about the SQL statements sent to the database.
+ */
+public class SqlStatsTransport implements MLPTransportModel {
+
+	/** Number of statements executed since start */
+	private long statements;
+	/** Number of statements that failed since start */
+	private long failures;
+	/** Number of rows read from result sets since start */
+	private long rows;
+	/** Total time spent executing statements since start */
+	private long totalMillis;
+	/** Statements at or above this duration are logged as slow */
+	private long slowThresholdMillis;
+	/** Most recent slow statements, newest first */
+	private List<SlowQueryTransport> slowQueries;
+
+	/**
+	 * Builds an empty object.
+	 */
+	public SqlStatsTransport() {
+		// no-arg constructor
+	}
+
+	public long getStatements() {
+		return statements;
+	}
+
+	public void setStatements(long statements) {
+		this.statements = statements;
+	}
+
+	public long getFailures() {
+		return failures;
+	}
+
+	public void setFailures(long failures) {
+		this.failures = failures;
+	}
+
+	public long getRows() {
+		return rows;
+	}
+
+	public void setRows(long rows) {
+		this.rows = rows;
+	}
+
+	public long getTotalMillis() {
+		return totalMillis;
+	}
+
+	public void setTotalMillis(long totalMillis) {
+		this.totalMillis = totalMillis;
+	}
+
+	public long getSlowThresholdMillis() {
+		return slowThresholdMillis;
+	}
+
+	public void setSlowThresholdMillis(long slowThresholdMillis) {
+		this.slowThresholdMillis = slowThresholdMillis;
+	}
+
+	public List<SlowQueryTransport> getSlowQueries() {
+		return slowQueries;
+	}
+
+	public void setSlowQueries(List<SlowQueryTransport> slowQueries) {
+		this.slowQueries = slowQueries;
+	}
+
+}
@@ -0,0 +1,222 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+import org.acumos.cds.transport.CacheStatsTransport;
+
+/**
+ * A size-bounded map with least-recently-used eviction and a time to live for
+ * each entry, safe for use by concurrent threads. Values are loaded on a miss
+ * by a caller-supplied function, which runs without holding the lock; a value
+ * loaded while the key was invalidated is not stored, so a slow load cannot
+ * restore a stale entry. Null values are never cached, so a key that was
+ * absent becomes visible as soon as it is created.
+ *
+ * @param <K>
+ *            Key type
+ * @param <V>
+ *            Value type
+ */
+public class BoundedCache<K, V> {
+
+	private static class Entry<V> {
+		final V value;
+		final long expires;
+
+		Entry(V value, long expires) {
+			this.value = value;
+			this.expires = expires;
+		}
+	}
+
+	private final String name;
+	private final int maxSize;
+	private final long ttlMillis;
+	private final Map<K, Entry<V>> map;
+	private long generation;
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+	private final LongAdder expirations = new LongAdder();
+
+	/**
+	 * Builds a cache.
+	 * 
+	 * @param name
+	 *            Name reported in statistics
+	 * @param maxSize
+	 *            Maximum number of entries; the least recently used entry is
+	 *            evicted to make room
+	 * @param ttlMillis
+	 *            Time in milliseconds an entry may be served after it was
+	 *            loaded
+	 */
+	public BoundedCache(String name, int maxSize, long ttlMillis) {
+		if (maxSize < 1 || ttlMillis < 1)
+			throw new IllegalArgumentException("Size and TTL must be positive");
+		this.name = name;
+		this.maxSize = maxSize;
+		this.ttlMillis = ttlMillis;
+		this.map = new LinkedHashMap<K, Entry<V>>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+				if (size() <= BoundedCache.this.maxSize)
+					return false;
+				evictions.increment();
+				return true;
+			}
+		};
+	}
+
+	/**
+	 * Gets the value for the key, loading and caching it on a miss.
+	 * 
+	 * @param key
+	 *            Key
+	 * @param loader
+	 *            Function that answers the value for a key, or null if none
+	 *            exists
+	 * @return Value; null if the loader answered null
+	 */
+	public V get(K key, Function<K, V> loader) {
+		final long startGeneration;
+		synchronized (this) {
+			Entry<V> entry = map.get(key);
+			if (entry != null) {
+				if (entry.expires > System.currentTimeMillis()) {
+					hits.increment();
+					return entry.value;
+				}
+				map.remove(key);
+				expirations.increment();
+			}
+			startGeneration = generation;
+		}
+		misses.increment();
+		V value = loader.apply(key);
+		if (value != null) {
+			synchronized (this) {
+				if (generation == startGeneration)
+					map.put(key, new Entry<>(value, System.currentTimeMillis() + ttlMillis));
+			}
+		}
+		return value;
+	}
+
+	/**
+	 * Gets the value for the key without loading it on a miss.
+	 * 
+	 * @param key
+	 *            Key
+	 * @return Value; null if absent or expired
+	 */
+	public V get(K key) {
+		return get(key, k -> null);
+	}
+
+	/**
+	 * Stores a value computed by the caller, replacing any entry for the key.
+	 * 
+	 * @param key
+	 *            Key
+	 * @param value
+	 *            Value; ignored if null
+	 */
+	public synchronized void put(K key, V value) {
+		if (value != null)
+			map.put(key, new Entry<>(value, System.currentTimeMillis() + ttlMillis));
+	}
+
+	/**
+	 * Replaces the value for the key with one computed from it, if the entry is
+	 * present and not expired; the expiry time is kept. Like an invalidation,
+	 * this keeps a load in progress from storing a value read before the
+	 * change.
+	 * 
+	 * @param key
+	 *            Key
+	 * @param function
+	 *            Function that answers the new value from the current value
+	 */
+	public synchronized void update(K key, UnaryOperator<V> function) {
+		Entry<V> entry = map.get(key);
+		if (entry != null && entry.expires > System.currentTimeMillis())
+			map.put(key, new Entry<>(function.apply(entry.value), entry.expires));
+		++generation;
+	}
+
+	/**
+	 * Removes the entry for the key, if any.
+	 * 
+	 * @param key
+	 *            Key
+	 */
+	public synchronized void invalidate(K key) {
+		map.remove(key);
+		++generation;
+	}
+
+	/**
+	 * Removes all entries.
+	 */
+	public synchronized void invalidateAll() {
+		map.clear();
+		++generation;
+	}
+
+	/**
+	 * Gets the current number of entries, including expired entries not yet
+	 * removed.
+	 * 
+	 * @return Number of entries
+	 */
+	public synchronized int size() {
+		return map.size();
+	}
+
+	/**
+	 * Gets statistics since the cache was built.
+	 * 
+	 * @return Statistics
+	 */
+	public CacheStatsTransport getStats() {
+		CacheStatsTransport stats = new CacheStatsTransport();
+		stats.setName(name);
+		stats.setSize(size());
+		stats.setMaxSize(maxSize);
+		stats.setTtlMillis(ttlMillis);
+		stats.setHits(hits.sum());
+		stats.setMisses(misses.sum());
+		stats.setEvictions(evictions.sum());
+		stats.setExpirations(expirations.sum());
+		return stats;
+	}
+
+}
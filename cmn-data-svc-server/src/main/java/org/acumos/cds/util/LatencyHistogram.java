@@ -0,0 +1,151 @@
+/*-
+ * ===============LICENSE_START=======================================================
+ * Acumos
+ * ===================================================================================
+ * Copyright (C) 2017 AT&T Intellectual Property & Tech Mahindra. All rights reserved.
+ * ===================================================================================
+ * This Acumos software file is distributed by AT&T and Tech Mahindra
+ * under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============LICENSE_END=========================================================
+ */
+
+package org.acumos.cds.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts durations in buckets of exponentially growing width, like a
+ * simplified HdrHistogram, so percentiles can be estimated without keeping
+ * samples. Each power of two in microseconds is split into eight buckets,
+ * which bounds the error of an estimate to 12.5%. Recording is lock free and
+ * does not allocate, so it is cheap enough for every request; reading takes a
+ * snapshot that is consistent enough for monitoring.
+ */
+public class LatencyHistogram {
+
+	private static final int SUB_BITS = 3;
+	private static final int SUB_COUNT = 1 << SUB_BITS;
+	// Durations of 2^40 microseconds (about 12 days) and more share the last bucket
+	private static final int MAX_EXP = 40;
+	private static final int BUCKETS = (MAX_EXP - SUB_BITS + 2) * SUB_COUNT;
+
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+	private final LongAdder count = new LongAdder();
+	private final LongAdder totalMicros = new LongAdder();
+	private final AtomicLong maxMicros = new AtomicLong();
+
+	/**
+	 * Gets the bucket for a duration. Values below eight have a bucket each;
+	 * above that the three bits after the leading one select the bucket within
+	 * the power of two.
+	 * 
+	 * @param micros
+	 *            Duration in microseconds
+	 * @return Bucket index
+	 */
+	static int bucketIndex(long micros) {
+		if (micros < SUB_COUNT)
+			return micros < 0 ? 0 : (int) micros;
+		int exp = 63 - Long.numberOfLeadingZeros(micros);
+		if (exp > MAX_EXP)
+			return BUCKETS - 1;
+		int sub = (int) (micros >>> (exp - SUB_BITS)) & (SUB_COUNT - 1);
+		return (exp - SUB_BITS + 1) * SUB_COUNT + sub;
+	}
+
+	/**
+	 * Gets the largest duration counted in a bucket.
+	 * 
+	 * @param index
+	 *            Bucket index
+	 * @return Duration in microseconds
+	 */
+	static long bucketUpperBound(int index) {
+		if (index < SUB_COUNT)
+			return index;
+		int exp = index / SUB_COUNT + SUB_BITS - 1;
+		long width = 1L << (exp - SUB_BITS);
+		return ((SUB_COUNT + index % SUB_COUNT) << (exp - SUB_BITS)) + width - 1;
+	}
+
+	/**
+	 * Counts one duration.
+	 * 
+	 * @param nanos
+	 *            Duration in nanoseconds
+	 */
+	public void record(long nanos) {
+		long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+		buckets.incrementAndGet(bucketIndex(micros));
+		count.increment();
+		totalMicros.add(micros);
+		long max = maxMicros.get();
+		while (micros > max && !maxMicros.compareAndSet(max, micros))
+			max = maxMicros.get();
+	}
+
+	/**
+	 * @return Number of durations counted
+	 */
+	public long getCount() {
+		return count.sum();
+	}
+
+	/**
+	 * @return Sum of durations counted, in microseconds
+	 */
+	public long getTotalMicros() {
+		return totalMicros.sum();
+	}
+
+	/**
+	 * @return Longest duration counted, in microseconds
+	 */
+	public long getMaxMicros() {
+		return maxMicros.get();
+	}
+
+	/**
+	 * Estimates percentiles of the durations counted so far.
+	 * 
+	 * @param quantiles
+	 *            Fractions between 0 and 1 in ascending order, e.g. 0.5 and 0.99
+	 * @return Array with the upper bound of the bucket that holds each quantile,
+	 *         in microseconds, but never more than the longest duration; zero if
+	 *         nothing was counted
+	 */
+	public long[] getPercentiles(double... quantiles) {
+		long[] snapshot = new long[BUCKETS];
+		long total = 0;
+		for (int i = 0; i < BUCKETS; ++i) {
+			snapshot[i] = buckets.get(i);
+			total += snapshot[i];
+		}
+		long max = maxMicros.get();
+		long[] result = new long[quantiles.length];
+		if (total == 0)
+			return result;
+		int bucket = 0;
+		long seen = snapshot[0];
+		for (int q = 0; q < quantiles.length; ++q) {
+			long rank = Math.max(1, (long) Math.ceil(quantiles[q] * total));
+			while (seen < rank && bucket < BUCKETS - 1)
+				seen += snapshot[++bucket];
+			result[q] = Math.min(bucketUpperBound(bucket), max);
+		}
+		return result;
+	}
+
+}
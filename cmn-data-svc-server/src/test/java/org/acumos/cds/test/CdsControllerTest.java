@@ -20,18 +20,35 @@
 
 package org.acumos.cds.test;
 
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStreamReader;
 import java.lang.invoke.MethodHandles;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPInputStream;
 
 import org.acumos.cds.AccessTypeCode;
 import org.acumos.cds.ArtifactTypeCode;
+import org.acumos.cds.CCDSConstants;
 import org.acumos.cds.CodeNameType;
 import org.acumos.cds.DeploymentStatusCode;
 import org.acumos.cds.LoginProviderCode;
@@ -45,11 +62,16 @@
 import org.acumos.cds.ToolkitTypeCode;
 import org.acumos.cds.ValidationStatusCode;
 import org.acumos.cds.ValidationTypeCode;
+import org.acumos.cds.client.AsyncCommonDataServiceRestClientImpl;
+import org.acumos.cds.client.CatalogExportReader;
 import org.acumos.cds.client.CommonDataServiceRestClientImpl;
+import org.acumos.cds.client.IAsyncCommonDataServiceRestClient;
 import org.acumos.cds.client.ICommonDataServiceRestClient;
+import org.acumos.cds.domain.MLPAbstractPicture;
 import org.acumos.cds.domain.MLPAccessType;
 import org.acumos.cds.domain.MLPArtifact;
 import org.acumos.cds.domain.MLPArtifactType;
+import org.acumos.cds.domain.MLPChangeLog;
 import org.acumos.cds.domain.MLPCodeNamePair;
 import org.acumos.cds.domain.MLPComment;
 import org.acumos.cds.domain.MLPDeploymentStatus;
@@ -89,23 +111,51 @@
 import org.acumos.cds.domain.MLPValidationSequence;
 import org.acumos.cds.domain.MLPValidationStatus;
 import org.acumos.cds.domain.MLPValidationType;
+import org.acumos.cds.service.CommentService;
+import org.acumos.cds.service.CredentialService;
+import org.acumos.cds.service.LoginActivityService;
+import org.acumos.cds.service.NotificationService;
+import org.acumos.cds.service.RequestMetricsService;
 import org.acumos.cds.transport.AuthorTransport;
+import org.acumos.cds.transport.BatchResultTransport;
+import org.acumos.cds.transport.CatalogExportRecord;
+import org.acumos.cds.transport.ChangeFeedTransport;
+import org.acumos.cds.transport.DeleteCountsTransport;
+import org.acumos.cds.transport.EndpointStatsTransport;
+import org.acumos.cds.transport.FacetCountsTransport;
+import org.acumos.cds.transport.HibernateStatsTransport;
+import org.acumos.cds.transport.NotificationAudienceRequest;
 import org.acumos.cds.transport.RestPageRequest;
 import org.acumos.cds.transport.RestPageResponse;
+import org.acumos.cds.transport.SqlStatsTransport;
 import org.acumos.cds.transport.SuccessTransport;
+import org.acumos.cds.transport.ThreadTreeTransport;
+import org.apache.http.pool.PoolStats;
+import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.embedded.LocalServerPort;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
 
 /**
  * Tests server controller classes by sending in requests with the client. The
@@ -138,6 +188,17 @@ public class CdsControllerTest {
 
 	private ICommonDataServiceRestClient client;
 
+	@Autowired
+	private RequestMetricsService requestMetricsService;
+	@Autowired
+	private CredentialService credentialService;
+	@Autowired
+	private LoginActivityService loginActivityService;
+	@Autowired
+	private NotificationService notificationService;
+	@Autowired
+	private CommentService commentService;
+
 	@Before
 	public void createClient() throws Exception {
 		// e.g., "http://localhost:8081/ccds"
@@ -147,6 +208,11 @@ public void createClient() throws Exception {
 		client = CommonDataServiceRestClientImpl.getInstance(url.toString(), userName, password);
 	}
 
+	@After
+	public void closeClient() {
+		client.close();
+	}
+
 	@Test
 	public void basicSequenceDemo() throws Exception {
 		try {
@@ -232,6 +298,101 @@ public void basicSequenceDemo() throws Exception {
 		}
 	}
 
+	@Test
+	public void testBatchOperations() throws Exception {
+		MLPUser cu = new MLPUser();
+		cu.setLoginName("batch_user" + new Random().nextInt());
+		cu.setLoginHash("batch_pass");
+		cu.setEmail("batchuser@abc.com");
+		cu = client.createUser(cu);
+		MLPSolution cs = new MLPSolution("batch solution", cu.getUserId(), true);
+		cs = client.createSolution(cs);
+		MLPSolutionRevision cr = client.createSolutionRevision(new MLPSolutionRevision(cs.getSolutionId(), "1.0B",
+				cu.getUserId(), AccessTypeCode.PR.name(), ValidationStatusCode.NV.name()));
+		final String tag1 = "batch1-" + new Random().nextInt();
+		final String tag2 = "batch2-" + new Random().nextInt();
+		try {
+			logger.info("Fetching entities by IDs");
+			Assert.assertEquals(1, client.getSolutionsByIds(Arrays.asList(cs.getSolutionId(), "bogus")).size());
+			Assert.assertEquals(1, client.getSolutionRevisionsByIds(Arrays.asList(cr.getRevisionId())).size());
+			List<MLPUser> users = client.getUsersByIds(Arrays.asList(cu.getUserId()));
+			Assert.assertEquals(1, users.size());
+			Assert.assertNull(users.get(0).getLoginHash());
+
+			logger.info("Creating artifacts in a batch");
+			List<MLPArtifact> arts = new ArrayList<>();
+			arts.add(new MLPArtifact("1.0", ArtifactTypeCode.DI.name(), "batch art 1", "http://uri/1", cu.getUserId(),
+					1));
+			arts.add(new MLPArtifact("1.0", ArtifactTypeCode.MI.name(), "batch art 2", "http://uri/2", cu.getUserId(),
+					2));
+			arts.add(new MLPArtifact("1.0", "bogus", "batch art 3", "http://uri/3", cu.getUserId(), 3));
+			BatchResultTransport result = client.createArtifacts(arts);
+			Assert.assertEquals(2, result.getSucceeded());
+			Assert.assertEquals(1, result.getFailed());
+			Assert.assertEquals(HttpStatus.BAD_REQUEST.value(), result.getItems().get(2).getStatus());
+			List<String> artIds = Arrays.asList(result.getItems().get(0).getId(), result.getItems().get(1).getId());
+			Assert.assertEquals(2, client.getArtifactsByIds(artIds).size());
+
+			logger.info("Updating artifacts in a batch");
+			List<MLPArtifact> fetched = client.getArtifactsByIds(artIds);
+			for (MLPArtifact a : fetched)
+				a.setDescription("updated in batch");
+			MLPArtifact unknown = new MLPArtifact(fetched.get(0));
+			unknown.setArtifactId("bogus");
+			fetched.add(unknown);
+			result = client.updateArtifacts(fetched);
+			Assert.assertEquals(2, result.getSucceeded());
+			Assert.assertEquals(1, result.getFailed());
+			Assert.assertEquals("updated in batch", client.getArtifact(artIds.get(0)).getDescription());
+
+			logger.info("Mapping artifacts to revision in a batch");
+			result = client.addSolutionRevisionArtifacts(cr.getRevisionId(), Arrays.asList(artIds.get(0),
+					artIds.get(1), "bogus", artIds.get(0)));
+			Assert.assertEquals(2, result.getSucceeded());
+			Assert.assertEquals(2, result.getFailed());
+			Assert.assertEquals(2,
+					client.getSolutionRevisionArtifacts(cs.getSolutionId(), cr.getRevisionId()).size());
+			result = client.dropSolutionRevisionArtifacts(cr.getRevisionId(), artIds);
+			Assert.assertEquals(2, result.getSucceeded());
+			Assert.assertTrue(client.getSolutionRevisionArtifacts(cs.getSolutionId(), cr.getRevisionId()).isEmpty());
+
+			logger.info("Tagging solution in a batch");
+			result = client.addSolutionTags(cs.getSolutionId(), Arrays.asList(tag1, tag2));
+			Assert.assertEquals(2, result.getSucceeded());
+			Assert.assertEquals(2, client.getSolutionTags(cs.getSolutionId()).size());
+			result = client.dropSolutionTags(cs.getSolutionId(), Arrays.asList(tag1, "bogus"));
+			Assert.assertEquals(1, result.getSucceeded());
+			Assert.assertEquals(1, result.getFailed());
+			Assert.assertEquals(1, client.getSolutionTags(cs.getSolutionId()).size());
+			client.dropSolutionTags(cs.getSolutionId(), Arrays.asList(tag2));
+
+			for (String id : artIds)
+				client.deleteArtifact(id);
+		} catch (HttpStatusCodeException ex) {
+			logger.error("testBatchOperations failed: " + ex.getResponseBodyAsString(), ex);
+			throw ex;
+		} finally {
+			client.deleteSolutionRevision(cs.getSolutionId(), cr.getRevisionId());
+			client.deleteSolution(cs.getSolutionId());
+			client.deleteUser(cu.getUserId());
+		}
+
+		try {
+			client.getSolutionsByIds(new ArrayList<>());
+			throw new Exception("Unexpected success");
+		} catch (HttpStatusCodeException ex) {
+			logger.info("Get by empty ID list failed as expected: {}", ex.getResponseBodyAsString());
+		}
+		try {
+			client.addSolutionTags("bogus", Arrays.asList(tag1));
+			throw new Exception("Unexpected success");
+		} catch (HttpStatusCodeException ex) {
+			logger.info("Batch tag on bogus solution failed as expected: {}", ex.getResponseBodyAsString());
+		}
+		client.deleteTag(new MLPTag(tag1));
+		client.deleteTag(new MLPTag(tag2));
+	}
+
 	@Test
 	public void getServerInfo() throws Exception {
 		SuccessTransport health = client.getHealth();
@@ -243,6 +404,532 @@ public void getServerInfo() throws Exception {
 		logger.info("Server version: {}", version.getData());
 	}
 
+	@Test
+	public void testConcurrentRequests() throws Exception {
+		// One shared client must serve many threads at once
+		final int threads = 16;
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<SuccessTransport>> futures = new ArrayList<>();
+			for (int i = 0; i < threads * 4; ++i)
+				futures.add(executor.submit(() -> client.getHealth()));
+			for (Future<SuccessTransport> f : futures)
+				Assert.assertNotNull(f.get().getData());
+		} finally {
+			executor.shutdown();
+		}
+		PoolStats stats = client.getConnectionPoolStats();
+		logger.info("Connection pool stats {}", stats);
+		Assert.assertEquals(0, stats.getLeased());
+		Assert.assertEquals(0, stats.getPending());
+		Assert.assertTrue(stats.getMax() >= threads);
+	}
+
+	@Test
+	public void testAsyncClient() throws Exception {
+		// Independent lookups run in parallel on the shared synchronous client
+		IAsyncCommonDataServiceRestClient asyncClient = AsyncCommonDataServiceRestClientImpl.getInstance(client, 8,
+				10000);
+		try {
+			CompletableFuture<SuccessTransport> health = asyncClient.getHealth();
+			CompletableFuture<SuccessTransport> version = asyncClient.getVersion();
+			CompletableFuture<List<String>> valueSetNames = asyncClient.getValueSetNames();
+			CompletableFuture<Long> solutionCount = asyncClient.getSolutionCount();
+			CompletableFuture.allOf(health, version, valueSetNames, solutionCount).get();
+			Assert.assertNotNull(health.get().getData());
+			Assert.assertNotNull(version.get().getData());
+			Assert.assertEquals(CodeNameType.values().length, valueSetNames.get().size());
+			Assert.assertTrue(solutionCount.get() >= 0);
+			try {
+				asyncClient.getSolution("bogus").get();
+				Assert.fail("Unexpected success");
+			} catch (ExecutionException ex) {
+				Assert.assertTrue(ex.getCause() instanceof HttpStatusCodeException);
+				logger.info("getSolution failed as expected: {}",
+						((HttpStatusCodeException) ex.getCause()).getResponseBodyAsString());
+			}
+		} finally {
+			asyncClient.close();
+		}
+	}
+
+	@Test
+	public void testEndpointMetrics() throws Exception {
+		client.getHealth();
+		client.getHealth();
+		try {
+			client.getSolution("bogus");
+			Assert.fail("Unexpected success");
+		} catch (HttpStatusCodeException ex) {
+			logger.info("getSolution failed as expected: {}", ex.getResponseBodyAsString());
+		}
+		Map<String, EndpointStatsTransport> statsMap = new HashMap<>();
+		for (EndpointStatsTransport s : requestMetricsService.getStats())
+			statsMap.put(s.getEndpoint(), s);
+		EndpointStatsTransport health = statsMap.get("HealthcheckController.getHealth");
+		logger.info("testEndpointMetrics: getHealth p50 {} p99 {} max {}", health.getP50Micros(),
+				health.getP99Micros(), health.getMaxMicros());
+		Assert.assertTrue(health.getCount() >= 2);
+		Assert.assertTrue(health.getRequestRate() > 0);
+		Assert.assertTrue(health.getMaxMicros() >= health.getP50Micros());
+		EndpointStatsTransport getSolution = statsMap.get("SolutionController.getSolution");
+		Assert.assertTrue(getSolution.getClientErrors() >= 1);
+		Assert.assertTrue(getSolution.getErrorRate() > 0);
+		Assert.assertEquals(0, getSolution.getInFlight());
+	}
+
+	@Test
+	public void testSqlMetrics() throws Exception {
+		URL url = new URL("http", hostname, port, contextPath);
+		RestTemplate restTemplate = new RestTemplateBuilder().basicAuthorization(userName, password).build();
+		ResponseEntity<String> response = restTemplate
+				.getForEntity(url + "/" + CCDSConstants.SOLUTION_PATH + "?page=0&size=5", String.class);
+		String sqlCount = response.getHeaders().getFirst(CCDSConstants.X_SQL_COUNT);
+		logger.info("testSqlMetrics: getSolutions executed {} statements in {} ms", sqlCount,
+				response.getHeaders().getFirst(CCDSConstants.X_SQL_MILLIS));
+		Assert.assertTrue(Long.parseLong(sqlCount) >= 1);
+		Assert.assertNotNull(response.getHeaders().getFirst(CCDSConstants.X_SQL_ROWS));
+
+		SqlStatsTransport sqlStats = restTemplate.getForObject(
+				url + "/" + CCDSConstants.METRICS_PATH + "/" + CCDSConstants.SQL_PATH, SqlStatsTransport.class);
+		Assert.assertTrue(sqlStats.getStatements() >= 1);
+		HibernateStatsTransport[] hibernateStats = restTemplate.getForObject(
+				url + "/" + CCDSConstants.METRICS_PATH + "/" + CCDSConstants.HIBERNATE_PATH,
+				HibernateStatsTransport[].class);
+		Assert.assertEquals(2, hibernateStats.length);
+		for (HibernateStatsTransport h : hibernateStats) {
+			logger.info("testSqlMetrics: {} collection fetches {}", h.getName(), h.getCollectionFetches());
+			Assert.assertTrue(h.isStatisticsEnabled());
+		}
+	}
+
+	@Test
+	public void testBatchFetchTags() throws Exception {
+		final int solutionCount = 10;
+		MLPUser cu = client.createUser(new MLPUser("batchFetchUser", "batchfetch@example.org", true));
+		MLPTag tag = client.createTag(new MLPTag("batchFetchTag"));
+		List<String> solutionIds = new ArrayList<>();
+		try {
+			for (int i = 0; i < solutionCount; ++i) {
+				MLPSolution cs = client.createSolution(new MLPSolution("batch fetch " + i, cu.getUserId(), true));
+				solutionIds.add(cs.getSolutionId());
+				client.addSolutionTag(cs.getSolutionId(), tag.getTag());
+			}
+			URL url = new URL("http", hostname, port, contextPath);
+			RestTemplate restTemplate = new RestTemplateBuilder().basicAuthorization(userName, password).build();
+			ResponseEntity<String> response = restTemplate.getForEntity(url + "/" + CCDSConstants.SOLUTION_PATH + "/"
+					+ CCDSConstants.SEARCH_PATH + "/" + CCDSConstants.TAG_PATH + "?tag=" + tag.getTag() + "&size="
+					+ solutionCount, String.class);
+			Assert.assertTrue(response.getBody().contains("batch fetch 0"));
+			// Tags and web stats for the page arrive in batches, not per row
+			long sqlCount = Long.parseLong(response.getHeaders().getFirst(CCDSConstants.X_SQL_COUNT));
+			logger.info("testBatchFetchTags: findSolutionsByTag executed {} statements", sqlCount);
+			Assert.assertTrue(sqlCount < solutionCount);
+			// Likewise for Criteria searches on the Hibernate session factory:
+			// count, page and one batch of tags, with web stats joined
+			response = restTemplate.getForEntity(url + "/" + CCDSConstants.SOLUTION_PATH + "/"
+					+ CCDSConstants.SEARCH_PATH + "?userId=" + cu.getUserId() + "&size=" + solutionCount, String.class);
+			Assert.assertTrue(response.getBody().contains("batch fetch 0"));
+			sqlCount = Long.parseLong(response.getHeaders().getFirst(CCDSConstants.X_SQL_COUNT));
+			logger.info("testBatchFetchTags: findSolutions executed {} statements", sqlCount);
+			Assert.assertTrue(sqlCount <= 3);
+			response = restTemplate.getForEntity(url + "/" + CCDSConstants.SOLUTION_PATH + "/"
+					+ CCDSConstants.SEARCH_PATH + "/" + CCDSConstants.PORTAL_PATH + "?" + CCDSConstants.SEARCH_ACTIVE
+					+ "=true&" + CCDSConstants.SEARCH_USERS + "=" + cu.getUserId() + "&size=" + solutionCount,
+					String.class);
+			Assert.assertTrue(response.getBody().contains("batch fetch 0"));
+			sqlCount = Long.parseLong(response.getHeaders().getFirst(CCDSConstants.X_SQL_COUNT));
+			logger.info("testBatchFetchTags: findPortalSolutions executed {} statements", sqlCount);
+			Assert.assertTrue(sqlCount <= 3);
+			RestPageResponse<MLPSolution> page = client.findSolutionsByTag(tag.getTag(),
+					new RestPageRequest(0, solutionCount));
+			Assert.assertEquals(solutionCount, page.getNumberOfElements());
+			for (MLPSolution s : page.getContent()) {
+				Assert.assertEquals(1, s.getTags().size());
+				Assert.assertNotNull(s.getWebStats());
+			}
+		} finally {
+			for (String id : solutionIds)
+				client.deleteSolution(id);
+			client.deleteTag(tag);
+			client.deleteUser(cu.getUserId());
+		}
+	}
+
+	/**
+	 * Reads the change feed from the cursor to its current end in small pages.
+	 */
+	private List<MLPChangeLog> readChanges(long[] cursor, String[] accessTypeCodes) throws InterruptedException {
+		// Let the entries settle
+		Thread.sleep(300);
+		List<MLPChangeLog> changes = new ArrayList<>();
+		ChangeFeedTransport feed;
+		do {
+			feed = client.getSolutionChanges(cursor[0], 2, accessTypeCodes, null);
+			Assert.assertTrue(feed.getChanges().size() <= 2);
+			Assert.assertTrue(feed.getCursor() >= cursor[0]);
+			changes.addAll(feed.getChanges());
+			cursor[0] = feed.getCursor();
+		} while (feed.isMore());
+		return changes;
+	}
+
+	private static boolean hasChange(List<MLPChangeLog> changes, String entityType, String entityId,
+			String operation) {
+		for (MLPChangeLog c : changes)
+			if (c.getEntityType().equals(entityType) && c.getEntityId().equals(entityId)
+					&& c.getOperation().equals(operation))
+				return true;
+		return false;
+	}
+
+	@Test
+	public void testChangeFeed() throws Exception {
+		long[] cursor = { 0 };
+		readChanges(cursor, null);
+		final long start = cursor[0];
+		MLPUser cu = client.createUser(new MLPUser("changeFeedUser", "changefeed@example.org", true));
+		MLPSolution cs = client.createSolution(new MLPSolution("change feed public", cu.getUserId(), true));
+		MLPSolutionRevision cr = client.createSolutionRevision(new MLPSolutionRevision(cs.getSolutionId(), "1.0",
+				cu.getUserId(), AccessTypeCode.PB.name(), "NV"));
+		MLPArtifact ca = client.createArtifact(new MLPArtifact("1.0", ArtifactTypeCode.DI.name(), "change feed art",
+				"http://nexus/changefeed", cu.getUserId(), 1));
+		MLPSolution cs2 = client.createSolution(new MLPSolution("change feed private", cu.getUserId(), true));
+		MLPSolutionRevision cr2 = client.createSolutionRevision(new MLPSolutionRevision(cs2.getSolutionId(), "1.0",
+				cu.getUserId(), AccessTypeCode.PR.name(), "NV"));
+		try {
+			client.addSolutionRevisionArtifact(cs.getSolutionId(), cr.getRevisionId(), ca.getArtifactId());
+			cs.setName("change feed public updated");
+			client.updateSolution(cs);
+
+			List<MLPChangeLog> changes = readChanges(cursor, null);
+			logger.info("testChangeFeed: changes {}", changes);
+			Assert.assertTrue(hasChange(changes, MLPChangeLog.SOLUTION, cs.getSolutionId(), MLPChangeLog.CREATE));
+			Assert.assertTrue(hasChange(changes, MLPChangeLog.REVISION, cr.getRevisionId(), MLPChangeLog.CREATE));
+			Assert.assertTrue(hasChange(changes, MLPChangeLog.ARTIFACT, ca.getArtifactId(), MLPChangeLog.CREATE));
+			Assert.assertTrue(hasChange(changes, MLPChangeLog.SOLUTION, cs.getSolutionId(), MLPChangeLog.UPDATE));
+			Assert.assertTrue(hasChange(changes, MLPChangeLog.SOLUTION, cs2.getSolutionId(), MLPChangeLog.CREATE));
+			for (int i = 1; i < changes.size(); ++i)
+				Assert.assertTrue(changes.get(i - 1).getChangeId() < changes.get(i).getChangeId());
+			// Nothing new, cursor stays put
+			long end = cursor[0];
+			Assert.assertTrue(readChanges(cursor, null).isEmpty());
+			Assert.assertEquals(end, cursor[0]);
+
+			// Same range filtered by access type
+			cursor[0] = start;
+			changes = readChanges(cursor, new String[] { AccessTypeCode.PB.name() });
+			Assert.assertTrue(hasChange(changes, MLPChangeLog.SOLUTION, cs.getSolutionId(), MLPChangeLog.UPDATE));
+			Assert.assertFalse(hasChange(changes, MLPChangeLog.SOLUTION, cs2.getSolutionId(), MLPChangeLog.CREATE));
+
+			// Deletes pass the filter although the solution has no revisions left
+			client.deleteSolutionRevision(cs2.getSolutionId(), cr2.getRevisionId());
+			client.deleteSolution(cs2.getSolutionId());
+			String deletedId = cs2.getSolutionId();
+			cs2 = null;
+			changes = readChanges(cursor, new String[] { AccessTypeCode.PB.name() });
+			Assert.assertTrue(hasChange(changes, MLPChangeLog.SOLUTION, deletedId, MLPChangeLog.DELETE));
+			Assert.assertFalse(hasChange(changes, MLPChangeLog.REVISION, cr2.getRevisionId(), MLPChangeLog.DELETE));
+
+			try {
+				client.getSolutionChanges(-1, 10, null, null);
+				throw new Exception("Unexpected success");
+			} catch (HttpStatusCodeException ex) {
+				logger.info("getSolutionChanges failed on negative cursor as expected: {}",
+						ex.getResponseBodyAsString());
+			}
+		} finally {
+			client.dropSolutionRevisionArtifact(cs.getSolutionId(), cr.getRevisionId(), ca.getArtifactId());
+			client.deleteArtifact(ca.getArtifactId());
+			client.deleteSolutionRevision(cs.getSolutionId(), cr.getRevisionId());
+			client.deleteSolution(cs.getSolutionId());
+			if (cs2 != null) {
+				client.deleteSolutionRevision(cs2.getSolutionId(), cr2.getRevisionId());
+				client.deleteSolution(cs2.getSolutionId());
+			}
+			client.deleteUser(cu.getUserId());
+		}
+	}
+
+	@Test
+	public void testCatalogExport() throws Exception {
+		MLPUser cu = client.createUser(new MLPUser("exportUser", "export@example.org", true));
+		MLPSolution cs = client.createSolution(new MLPSolution("export solution", cu.getUserId(), true));
+		MLPSolutionRevision rev = new MLPSolutionRevision(cs.getSolutionId(), "1.0", cu.getUserId(),
+				AccessTypeCode.PB.name(), "NV");
+		rev.setAuthors(new AuthorTransport[] { new AuthorTransport("export author", "export contact") });
+		MLPSolutionRevision cr = client.createSolutionRevision(rev);
+		MLPArtifact ca = client.createArtifact(new MLPArtifact("1.0", ArtifactTypeCode.DI.name(), "export art",
+				"http://nexus/export", cu.getUserId(), 1));
+		final String tag = "exportTag";
+		try {
+			client.addSolutionRevisionArtifact(cs.getSolutionId(), cr.getRevisionId(), ca.getArtifactId());
+			client.addSolutionTag(cs.getSolutionId(), tag);
+			MLPSolution solution = null;
+			MLPSolutionRevision revision = null;
+			MLPArtifact artifact = null;
+			boolean hasTag = false;
+			boolean hasRevisionArtifact = false;
+			long records = 0;
+			try (CatalogExportReader reader = client.exportCatalog()) {
+				while (reader.hasNext()) {
+					CatalogExportRecord r = reader.next();
+					++records;
+					if (r.getSolution() != null && r.getSolution().getSolutionId().equals(cs.getSolutionId()))
+						solution = r.getSolution();
+					else if (r.getSolutionTag() != null && r.getSolutionTag().getTag().equals(tag))
+						hasTag = true;
+					else if (r.getRevision() != null && r.getRevision().getRevisionId().equals(cr.getRevisionId()))
+						revision = r.getRevision();
+					else if (r.getArtifact() != null && r.getArtifact().getArtifactId().equals(ca.getArtifactId()))
+						artifact = r.getArtifact();
+					else if (r.getRevisionArtifact() != null
+							&& r.getRevisionArtifact().getArtifactId().equals(ca.getArtifactId()))
+						hasRevisionArtifact = true;
+				}
+			}
+			logger.info("testCatalogExport: read {} records", records);
+			Assert.assertNotNull(solution);
+			Assert.assertEquals(cs.getName(), solution.getName());
+			Assert.assertTrue(solution.isActive());
+			Assert.assertNotNull(solution.getWebStats());
+			Assert.assertEquals(cs.getCreated(), solution.getCreated());
+			Assert.assertNotNull(revision);
+			Assert.assertEquals(cs.getSolutionId(), revision.getSolutionId());
+			Assert.assertEquals("export author", revision.getAuthors()[0].getName());
+			Assert.assertNotNull(artifact);
+			Assert.assertEquals(ca.getUri(), artifact.getUri());
+			Assert.assertTrue(hasTag);
+			Assert.assertTrue(hasRevisionArtifact);
+
+			// The body is compressed when the request accepts gzip
+			URL url = new URL("http", hostname, port, contextPath);
+			RestTemplate restTemplate = new RestTemplateBuilder().basicAuthorization(userName, password)
+					.requestFactory(SimpleClientHttpRequestFactory.class).build();
+			long lines = restTemplate.execute(url + "/" + CCDSConstants.SOLUTION_PATH + "/" + CCDSConstants.EXPORT_PATH,
+					HttpMethod.GET, request -> request.getHeaders().set(HttpHeaders.ACCEPT_ENCODING, "gzip"),
+					response -> {
+						Assert.assertEquals("gzip", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+						Assert.assertEquals(CCDSConstants.NDJSON_MEDIA_TYPE,
+								response.getHeaders().getContentType().toString());
+						BufferedReader br = new BufferedReader(
+								new InputStreamReader(new GZIPInputStream(response.getBody()), StandardCharsets.UTF_8));
+						return br.lines().count();
+					});
+			Assert.assertEquals(records, lines);
+		} finally {
+			client.dropSolutionTag(cs.getSolutionId(), tag);
+			client.deleteTag(new MLPTag(tag));
+			client.dropSolutionRevisionArtifact(cs.getSolutionId(), cr.getRevisionId(), ca.getArtifactId());
+			client.deleteArtifact(ca.getArtifactId());
+			client.deleteSolutionRevision(cs.getSolutionId(), cr.getRevisionId());
+			client.deleteSolution(cs.getSolutionId());
+			client.deleteUser(cu.getUserId());
+		}
+	}
+
+	@Test
+	public void testCascadeDelete() throws Exception {
+		long[] cursor = { 0 };
+		readChanges(cursor, null);
+		MLPUser cu = client.createUser(new MLPUser("cascadeUser", "cascade@example.org", true));
+		MLPArtifact ca = client.createArtifact(new MLPArtifact("1.0", ArtifactTypeCode.DI.name(), "cascade art",
+				"http://nexus/cascade", cu.getUserId(), 1));
+		final String tag = "cascadeTag";
+		List<String> solutionIds = new ArrayList<>();
+		List<String> revisionIds = new ArrayList<>();
+		try {
+			for (int i = 0; i < 2; ++i) {
+				MLPSolution cs = client.createSolution(new MLPSolution("cascade " + i, cu.getUserId(), true));
+				solutionIds.add(cs.getSolutionId());
+				MLPSolutionRevision cr = client.createSolutionRevision(new MLPSolutionRevision(cs.getSolutionId(),
+						"1.0", cu.getUserId(), AccessTypeCode.PB.name(), "NV"));
+				revisionIds.add(cr.getRevisionId());
+				// The artifact is shared, so only its associations go
+				client.addSolutionRevisionArtifact(cs.getSolutionId(), cr.getRevisionId(), ca.getArtifactId());
+				client.addSolutionTag(cs.getSolutionId(), tag);
+			}
+			client.createRevisionDescription(
+					new MLPRevisionDescription(revisionIds.get(0), AccessTypeCode.PB.name(), "cascade description"));
+			client.createSolutionFavorite(new MLPSolutionFavorite(solutionIds.get(0), cu.getUserId()));
+			MLPThread thread = client.createThread(new MLPThread(solutionIds.get(0), revisionIds.get(0)));
+			MLPComment comment = client.createComment(new MLPComment(thread.getThreadId(), cu.getUserId(), "root"));
+			MLPComment reply = new MLPComment(thread.getThreadId(), cu.getUserId(), "reply");
+			reply.setParentId(comment.getCommentId());
+			client.createComment(reply);
+
+			List<String> ids = new ArrayList<>(solutionIds);
+			ids.add("unknown-solution-id");
+			DeleteCountsTransport counts = client.deleteSolutions(ids);
+			logger.info("testCascadeDelete: solution counts {}", counts.getTables());
+			Assert.assertEquals(2, counts.getTotal());
+			Assert.assertEquals(2, (long) counts.getTables().get("C_SOLUTION"));
+			Assert.assertEquals(2, (long) counts.getTables().get("C_SOLUTION_REV"));
+			Assert.assertEquals(2, (long) counts.getTables().get("C_SOL_REV_ART_MAP"));
+			Assert.assertEquals(2, (long) counts.getTables().get("C_SOL_TAG_MAP"));
+			Assert.assertEquals(1, (long) counts.getTables().get("C_REVISION_DESC"));
+			Assert.assertEquals(1, (long) counts.getTables().get("C_SOLUTION_FAVORITE"));
+			Assert.assertEquals(2, (long) counts.getTables().get("C_COMMENT"));
+			Assert.assertEquals(1, (long) counts.getTables().get("C_THREAD"));
+			Assert.assertEquals(0, (long) counts.getTables().get("C_SOLUTION_DEPLOYMENT"));
+			// Tables are reported in the order they were processed
+			List<String> tables = new ArrayList<>(counts.getTables().keySet());
+			Assert.assertTrue(tables.indexOf("C_SOLUTION_REV") < tables.indexOf("C_SOLUTION"));
+			for (String id : solutionIds) {
+				try {
+					client.getSolution(id);
+					throw new Exception("Unexpected success");
+				} catch (HttpStatusCodeException ex) {
+					logger.info("Get deleted solution failed as expected: {}", ex.getResponseBodyAsString());
+				}
+			}
+			Assert.assertNotNull(client.getArtifact(ca.getArtifactId()));
+			List<MLPChangeLog> changes = readChanges(cursor, null);
+			for (String id : solutionIds)
+				Assert.assertTrue(hasChange(changes, MLPChangeLog.SOLUTION, id, MLPChangeLog.DELETE));
+			for (String id : revisionIds)
+				Assert.assertTrue(hasChange(changes, MLPChangeLog.REVISION, id, MLPChangeLog.DELETE));
+			Assert.assertFalse(hasChange(changes, MLPChangeLog.SOLUTION, "unknown-solution-id", MLPChangeLog.DELETE));
+			solutionIds.clear();
+
+			try {
+				client.deleteSolutions(new ArrayList<>());
+				throw new Exception("Unexpected success");
+			} catch (HttpStatusCodeException ex) {
+				logger.info("Delete of no solutions failed as expected: {}", ex.getResponseBodyAsString());
+			}
+			try {
+				client.deleteSolution("unknown-solution-id");
+				throw new Exception("Unexpected success");
+			} catch (HttpStatusCodeException ex) {
+				logger.info("Delete of unknown solution failed as expected: {}", ex.getResponseBodyAsString());
+			}
+			Assert.assertFalse(hasChange(readChanges(cursor, null), MLPChangeLog.SOLUTION, "unknown-solution-id",
+					MLPChangeLog.DELETE));
+
+			MLPPeer pr = client.createPeer(new MLPPeer("cascade peer", "cascade.example.org", "http://cascade-api",
+					false, false, "contact", PeerStatusCode.AC.name(), "NV"));
+			client.createPeerSubscription(new MLPPeerSubscription(pr.getPeerId(), cu.getUserId(),
+					SubscriptionScopeCode.FL.name(), AccessTypeCode.PB.name()));
+			counts = client.deletePeers(Collections.singletonList(pr.getPeerId()));
+			Assert.assertEquals(1, counts.getTotal());
+			Assert.assertEquals(1, (long) counts.getTables().get("C_PEER_SUB"));
+
+			client.deleteArtifact(ca.getArtifactId());
+			ca = null;
+			// The cached inbox of a deleted user is discarded
+			notificationService.getUnreadCount(cu.getUserId());
+			counts = client.deleteUsers(Collections.singletonList(cu.getUserId()));
+			Assert.assertEquals(1, counts.getTotal());
+			Assert.assertEquals(1, (long) counts.getTables().get("C_USER"));
+			long misses = notificationService.getCacheStats().getMisses();
+			Assert.assertEquals(0, notificationService.getUnreadCount(cu.getUserId()));
+			Assert.assertEquals(misses + 1, notificationService.getCacheStats().getMisses());
+			cu = null;
+		} finally {
+			if (!solutionIds.isEmpty())
+				client.deleteSolutions(solutionIds);
+			client.deleteTag(new MLPTag(tag));
+			if (ca != null)
+				client.deleteArtifact(ca.getArtifactId());
+			if (cu != null)
+				client.deleteUser(cu.getUserId());
+		}
+	}
+
+	@Test
+	public void testBulkMemberships() throws Exception {
+		MLPUser u1 = client.createUser(new MLPUser("memberUser1", "member1@example.org", true));
+		MLPUser u2 = client.createUser(new MLPUser("memberUser2", "member2@example.org", true));
+		MLPRole r1 = client.createRole(new MLPRole("member role 1", true));
+		MLPRole r2 = client.createRole(new MLPRole("member role 2", true));
+		MLPRole r3 = client.createRole(new MLPRole("member role 3", true));
+		MLPSolution cs = client.createSolution(new MLPSolution("member solution", u1.getUserId(), true));
+		MLPPeer pr = client.createPeer(new MLPPeer("member peer", "member.example.org", "http://member-api", false,
+				false, "contact", PeerStatusCode.AC.name(), "NV"));
+		MLPPeerGroup pg = client.createPeerGroup(new MLPPeerGroup("member peer group"));
+		MLPSolutionGroup sg = client.createSolutionGroup(new MLPSolutionGroup("member solution group"));
+		try {
+			client.addUsersInRole(Arrays.asList(u1.getUserId(), u2.getUserId()), r1.getRoleId());
+			Assert.assertEquals(2, client.getRoleUsersCount(r1.getRoleId()));
+			// Role requests are all or nothing
+			try {
+				client.addUsersInRole(Arrays.asList(u1.getUserId(), "unknown-user-id"), r2.getRoleId());
+				throw new Exception("Unexpected success");
+			} catch (HttpStatusCodeException ex) {
+				logger.info("Add unknown user to role failed as expected: {}", ex.getResponseBodyAsString());
+			}
+			Assert.assertEquals(0, client.getRoleUsersCount(r2.getRoleId()));
+			try {
+				client.addUsersInRole(Collections.singletonList(u1.getUserId()), r1.getRoleId());
+				throw new Exception("Unexpected success");
+			} catch (HttpStatusCodeException ex) {
+				logger.info("Add user to role again failed as expected: {}", ex.getResponseBodyAsString());
+			}
+			// Replaces role 1 with roles 2 and 3
+			client.updateUserRoles(u1.getUserId(), Arrays.asList(r2.getRoleId(), r3.getRoleId()));
+			Assert.assertEquals(2, client.getUserRoles(u1.getUserId()).size());
+			Assert.assertEquals(1, client.getRoleUsersCount(r1.getRoleId()));
+			try {
+				client.updateUserRoles(u1.getUserId(), Arrays.asList(r2.getRoleId(), "unknown-role-id"));
+				throw new Exception("Unexpected success");
+			} catch (HttpStatusCodeException ex) {
+				logger.info("Set unknown role failed as expected: {}", ex.getResponseBodyAsString());
+			}
+			Assert.assertEquals(2, client.getUserRoles(u1.getUserId()).size());
+			client.updateUserRoles(u1.getUserId(), new ArrayList<>());
+			Assert.assertTrue(client.getUserRoles(u1.getUserId()).isEmpty());
+			client.dropUsersInRole(Collections.singletonList(u2.getUserId()), r1.getRoleId());
+			Assert.assertEquals(0, client.getRoleUsersCount(r1.getRoleId()));
+
+			// Other requests skip the invalid items
+			BatchResultTransport result = client.addSolutionUsersAccess(cs.getSolutionId(),
+					Arrays.asList(u1.getUserId(), u2.getUserId(), "unknown-user-id", u1.getUserId()));
+			Assert.assertEquals(2, result.getSucceeded());
+			Assert.assertEquals(2, result.getFailed());
+			Assert.assertEquals(HttpStatus.BAD_REQUEST.value(), result.getItems().get(3).getStatus());
+			Assert.assertEquals(2, client.getSolutionAccessUsers(cs.getSolutionId()).size());
+			result = client.addSolutionUsersAccess(cs.getSolutionId(), Collections.singletonList(u2.getUserId()));
+			Assert.assertEquals(1, result.getFailed());
+			result = client.dropSolutionUsersAccess(cs.getSolutionId(),
+					Arrays.asList(u1.getUserId(), u2.getUserId()));
+			Assert.assertEquals(2, result.getSucceeded());
+			Assert.assertTrue(client.getSolutionAccessUsers(cs.getSolutionId()).isEmpty());
+
+			result = client.addPeersToGroup(Arrays.asList(pr.getPeerId(), "unknown-peer-id"), pg.getGroupId());
+			Assert.assertEquals(1, result.getSucceeded());
+			Assert.assertEquals(1, client.getPeersInGroup(pg.getGroupId(), new RestPageRequest()).getNumberOfElements());
+			result = client.dropPeersFromGroup(Collections.singletonList(pr.getPeerId()), pg.getGroupId());
+			Assert.assertEquals(1, result.getSucceeded());
+			Assert.assertEquals(0, client.getPeersInGroup(pg.getGroupId(), new RestPageRequest()).getNumberOfElements());
+
+			result = client.addSolutionsToGroup(Collections.singletonList(cs.getSolutionId()), sg.getGroupId());
+			Assert.assertEquals(1, result.getSucceeded());
+			Assert.assertEquals(1,
+					client.getSolutionsInGroup(sg.getGroupId(), new RestPageRequest()).getNumberOfElements());
+			result = client.dropSolutionsFromGroup(Arrays.asList(cs.getSolutionId(), cs.getSolutionId()),
+					sg.getGroupId());
+			Assert.assertEquals(1, result.getSucceeded());
+			Assert.assertEquals(1, result.getFailed());
+			Assert.assertEquals(0,
+					client.getSolutionsInGroup(sg.getGroupId(), new RestPageRequest()).getNumberOfElements());
+			try {
+				client.addPeersToGroup(Collections.singletonList(pr.getPeerId()), 9999999L);
+				throw new Exception("Unexpected success");
+			} catch (HttpStatusCodeException ex) {
+				logger.info("Add peer to unknown group failed as expected: {}", ex.getResponseBodyAsString());
+			}
+		} finally {
+			client.deleteSolutionGroup(sg.getGroupId());
+			client.deletePeerGroup(pg.getGroupId());
+			client.deletePeers(Collections.singletonList(pr.getPeerId()));
+			client.deleteSolutions(Collections.singletonList(cs.getSolutionId()));
+			for (MLPRole r : new MLPRole[] { r1, r2, r3 })
+				client.deleteRole(r.getRoleId());
+			client.deleteUsers(Arrays.asList(u1.getUserId(), u2.getUserId()));
+		}
+	}
+
 	@Test
 	public void getCodeValueConstants() throws Exception {
 
@@ -290,6 +977,141 @@ public void getCodeValueConstants() throws Exception {
 
 	}
 
+	@Test
+	public void testLoginActivity() throws Exception {
+		MLPUser user = new MLPUser("activityUser", "activity@example.org", true);
+		user.setLoginHash("activity_pass");
+		user.setApiToken("activity_token");
+		user = client.createUser(user);
+		try {
+			final long hits = credentialService.getCacheStats().getHits();
+			MLPUser apiUser = client.loginApiUser("activityUser", "activity_token");
+			Assert.assertEquals("activity_token", apiUser.getApiToken());
+			Assert.assertNotNull(apiUser.getLastLogin());
+			client.loginApiUser("activityUser", "activity_token");
+			Assert.assertEquals(hits + 1, credentialService.getCacheStats().getHits());
+			// Last login is written in the background
+			loginActivityService.flush();
+			Assert.assertNotNull(client.getUser(user.getUserId()).getLastLogin());
+
+			// Changing the token takes effect despite the cached check
+			user.setApiToken("new_token");
+			client.updateUser(user);
+			try {
+				client.loginApiUser("activityUser", "activity_token");
+				Assert.fail("Unexpected login with old token");
+			} catch (HttpStatusCodeException ex) {
+				logger.info("Login with old token failed as expected");
+			}
+			// Failures are counted in memory, so the block starts before any write
+			for (int i = 0; i < 2; ++i) {
+				try {
+					client.loginUser("activityUser", "bogus");
+					Assert.fail("Unexpected login with bad password");
+				} catch (HttpStatusCodeException ex) {
+					logger.info("Login with bad password failed as expected");
+				}
+			}
+			try {
+				client.loginUser("activityUser", "activity_pass");
+				Assert.fail("Unexpected login while blocked");
+			} catch (HttpStatusCodeException ex) {
+				Assert.assertTrue(ex.getResponseBodyAsString().contains("blocked"));
+			}
+			loginActivityService.flush();
+			Assert.assertEquals(Short.valueOf((short) 3), client.getUser(user.getUserId()).getLoginFailCount());
+
+			// Reaching the threshold flushes in the background
+			Object activityTarget = AopTestUtils.getTargetObject(loginActivityService);
+			Object flushThreshold = ReflectionTestUtils.getField(activityTarget, "flushThreshold");
+			ReflectionTestUtils.setField(activityTarget, "flushThreshold", 1);
+			MLPUser probe = new MLPUser();
+			probe.setUserId(user.getUserId());
+			try {
+				loginActivityService.recordFailure(user.getUserId(), (short) 4, new Date());
+				long deadline = System.currentTimeMillis() + 5000;
+				while (loginActivityService.withPendingActivity(probe).getLoginFailCount() != null
+						&& System.currentTimeMillis() < deadline) {
+					probe.setLoginFailCount(null);
+					Thread.sleep(10);
+				}
+			} finally {
+				ReflectionTestUtils.setField(activityTarget, "flushThreshold", flushThreshold);
+			}
+			Assert.assertEquals(Short.valueOf((short) 4), client.getUser(user.getUserId()).getLoginFailCount());
+		} finally {
+			client.deleteUser(user.getUserId());
+		}
+	}
+
+	@Test
+	public void testPictures() throws Exception {
+		final byte[] png = { (byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A, 1, 2, 3 };
+		MLPUser user = new MLPUser("pictureUser", "picture@example.org", true);
+		user.setPicture(png);
+		user = client.createUser(user);
+		MLPSolution sol = null;
+		try {
+			Assert.assertNull(user.getPicture());
+			Assert.assertEquals(64, user.getPictureHash().length());
+			Assert.assertNull(client.getUser(user.getUserId()).getPicture());
+			Assert.assertArrayEquals(png, client.getUserPicture(user.getUserId()));
+			ByteArrayOutputStream bos = new ByteArrayOutputStream();
+			Assert.assertEquals("image/png", client.getUserPicture(user.getUserId(), bos));
+			Assert.assertArrayEquals(png, bos.toByteArray());
+
+			sol = client.createSolution(new MLPSolution("picture solution", user.getUserId(), true));
+			Assert.assertNull(sol.getPictureHash());
+			Assert.assertNull(client.getSolutionPicture(sol.getSolutionId()));
+			final byte[] gif = "GIF89a-picture".getBytes();
+			client.saveSolutionPicture(sol.getSolutionId(), "image/gif", new ByteArrayInputStream(gif));
+			final String hash = client.getSolution(sol.getSolutionId()).getPictureHash();
+			Assert.assertNotNull(hash);
+			bos = new ByteArrayOutputStream();
+			Assert.assertEquals("image/gif", client.getSolutionPicture(sol.getSolutionId(), bos));
+			Assert.assertArrayEquals(gif, bos.toByteArray());
+
+			// Updates without a picture keep the stored one
+			MLPSolution update = client.getSolution(sol.getSolutionId());
+			update.setDescription("updated");
+			client.updateSolution(update);
+			Assert.assertEquals(hash, client.getSolution(sol.getSolutionId()).getPictureHash());
+
+			// Conditional requests are answered from the hash
+			RestTemplate restTemplate = new RestTemplateBuilder().basicAuthorization(userName, password).build();
+			URL url = new URL("http", hostname, port, contextPath + "/" + CCDSConstants.SOLUTION_PATH + "/"
+					+ sol.getSolutionId() + "/" + CCDSConstants.PICTURE_PATH);
+			HttpHeaders headers = new HttpHeaders();
+			headers.setIfNoneMatch("\"" + hash + "\"");
+			ResponseEntity<byte[]> notModified = restTemplate.exchange(url.toURI(), HttpMethod.GET,
+					new HttpEntity<>(headers), byte[].class);
+			Assert.assertEquals(HttpStatus.NOT_MODIFIED, notModified.getStatusCode());
+			headers.setIfNoneMatch("\"stale\"");
+			ResponseEntity<byte[]> modified = restTemplate.exchange(url.toURI(), HttpMethod.GET,
+					new HttpEntity<>(headers), byte[].class);
+			Assert.assertEquals(HttpStatus.OK, modified.getStatusCode());
+			Assert.assertEquals("\"" + hash + "\"", modified.getHeaders().getETag());
+
+			try {
+				client.saveSolutionPicture(sol.getSolutionId(), "image/gif",
+						new ByteArrayInputStream(new byte[MLPAbstractPicture.MAX_PICTURE_LENGTH + 1]));
+				Assert.fail("Unexpected success saving oversized picture");
+			} catch (HttpStatusCodeException ex) {
+				Assert.assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+			}
+
+			client.deleteSolutionPicture(sol.getSolutionId());
+			Assert.assertNull(client.getSolution(sol.getSolutionId()).getPictureHash());
+			Assert.assertNull(client.getSolutionPicture(sol.getSolutionId()));
+			client.deleteUserPicture(user.getUserId());
+			Assert.assertNull(client.getUser(user.getUserId()).getPictureHash());
+		} finally {
+			if (sol != null)
+				client.deleteSolution(sol.getSolutionId());
+			client.deleteUser(user.getUserId());
+		}
+	}
+
 	@Test
 	public void testUserLoginProvider() throws Exception {
 		try {
@@ -374,6 +1196,9 @@ public void createSolutionWithArtifacts() throws Exception {
 			Assert.assertTrue(users.getNumberOfElements() > 0);
 			for (MLPUser u : users.getContent())
 				logger.info("Fetched user: " + u);
+			Iterator<MLPUser> userIter = client.iterateUsers(new RestPageRequest(0, 1));
+			while (userIter.hasNext())
+				Assert.assertNull(userIter.next().getLoginHash());
 
 			MLPUser loggedIn = client.loginUser(loginName, loginPass);
 			Assert.assertNotNull(loggedIn);
@@ -699,6 +1524,31 @@ public void createSolutionWithArtifacts() throws Exception {
 			RestPageResponse<MLPSolution> page = client.getSolutions(new RestPageRequest(0, 2, "name"));
 			Assert.assertTrue(page != null && page.getTotalElements() > 0);
 
+			logger.info("Walking all solutions by seek pagination");
+			Set<String> seekIds = new HashSet<>();
+			Iterator<MLPSolution> solIter = client.iterateSolutions(new RestPageRequest(0, 1, "created"));
+			while (solIter.hasNext())
+				Assert.assertTrue(seekIds.add(solIter.next().getSolutionId()));
+			Assert.assertEquals(client.getSolutionCount(), seekIds.size());
+			RestPageResponse<MLPSolution> seekPage = client.seekSolutions(null, new RestPageRequest(0, 1));
+			Assert.assertNotNull(seekPage.getNextToken());
+			seekPage = client.seekSolutions(null, new RestPageRequest(0, 1, "active"));
+			Assert.assertNotNull(seekPage.getNextToken());
+			Assert.assertEquals(1, client.seekSolutions(seekPage.getNextToken(), new RestPageRequest(0, 1, "active"))
+					.getNumberOfElements());
+			try {
+				client.seekSolutions("bogus", null);
+				throw new Exception("Unexpected success");
+			} catch (HttpStatusCodeException ex) {
+				logger.info("Seek with bad token failed as expected: {}", ex.getResponseBodyAsString());
+			}
+			try {
+				client.seekSolutions(null, new RestPageRequest(0, 1, "description"));
+				throw new Exception("Unexpected success");
+			} catch (HttpStatusCodeException ex) {
+				logger.info("Seek on nullable field failed as expected: {}", ex.getResponseBodyAsString());
+			}
+
 			cs.setDescription("some description");
 			client.updateSolution(cs);
 			logger.info("Fetching back updated solution");
@@ -864,6 +1714,12 @@ public void createSolutionWithArtifacts() throws Exception {
 			MLPSolution taggedSol = allAnyTagsSearchResult.getContent().get(0);
 			Assert.assertTrue(taggedSol.getTags().contains(new MLPTag(tagName1)));
 
+			logger.info("Querying for solution facet counts by tags");
+			FacetCountsTransport facetCounts = client.getPortalSolutionFacetCounts(null, true, null, null, null,
+					allTags, null, null);
+			Assert.assertEquals(allAnyTagsSearchResult.getTotalElements(), facetCounts.getTotal());
+			Assert.assertEquals(Long.valueOf(facetCounts.getTotal()), facetCounts.getTags().get(tagName1));
+
 			logger.info("Querying for user solutions via flexible i/f");
 			RestPageResponse<MLPSolution> userSols = client.findUserSolutions(null, null, true,
 					inactiveUser.getUserId(), null, null, null, null, new RestPageRequest(0, 5));
@@ -907,6 +1763,12 @@ public void createSolutionWithArtifacts() throws Exception {
 			MLPSolutionRating rating = client.getSolutionRating(cs.getSolutionId(), cu.getUserId());
 			Assert.assertNotNull(rating);
 			logger.info("Fetched solution rating {}", rating);
+			try {
+				client.createSolutionRating(ur);
+				throw new Exception("Unexpected success");
+			} catch (HttpStatusCodeException ex) {
+				logger.info("Create duplicate rating failed as expected: {}", ex.getResponseBodyAsString());
+			}
 			ur.setTextReview("Yet awesomer");
 			ur.setRating(5);
 			client.updateSolutionRating(ur);
@@ -921,6 +1783,9 @@ public void createSolutionWithArtifacts() throws Exception {
 			Assert.assertNotNull(stats);
 			Assert.assertTrue(stats.getRatingAverageTenths() > 0);
 			logger.info("Computed solution rating average: {}", stats.getRatingAverageTenths());
+			// One rating, updated from 4 to 5
+			Assert.assertEquals(1L, (long) stats.getRatingCount());
+			Assert.assertEquals(50L, (long) stats.getRatingAverageTenths());
 
 			// Test validation
 			MLPSolutionValidation sv = new MLPSolutionValidation();
@@ -957,7 +1822,8 @@ public void createSolutionWithArtifacts() throws Exception {
 			// Count the downloads
 			MLPSolutionWeb readStats = client.getSolutionWebMetadata(cs.getSolutionId());
 			Assert.assertNotNull(readStats);
-			Assert.assertTrue(readStats.getDownloadCount() > 0);
+			Assert.assertEquals(1L, (long) readStats.getDownloadCount());
+			Assert.assertNotNull(readStats.getLastDownload());
 			logger.info("Solution download count is {}", readStats.getDownloadCount());
 
 			// Create Solution favorite for a user
@@ -1040,6 +1906,18 @@ public void createSolutionWithArtifacts() throws Exception {
 				logger.info("Get of deleted pub req failed as expected");
 			}
 
+			// A download can only be deleted through its own solution
+			MLPSolutionDownload otherSolutionDownload = new MLPSolutionDownload(csOrg.getSolutionId(),
+					sd.getArtifactId(), sd.getUserId());
+			otherSolutionDownload.setDownloadId(sd.getDownloadId());
+			try {
+				client.deleteSolutionDownload(otherSolutionDownload);
+				throw new Exception("Unexpected success");
+			} catch (HttpStatusCodeException ex) {
+				logger.info("Delete download of other solution failed as expected: {}",
+						ex.getResponseBodyAsString());
+			}
+
 			if (cleanup) {
 				logger.info("Deleting newly created instances");
 				client.dropSolutionRevisionDocument(cr.getRevisionId(), "OR", doc.getDocumentId());
@@ -1278,6 +2156,135 @@ public void testNotifications() throws Exception {
 
 	}
 
+	@Test
+	public void testNotificationAudience() throws Exception {
+		MLPUser u1 = client.createUser(new MLPUser("audienceUser1", "audience1@example.org", true));
+		MLPUser u2 = client.createUser(new MLPUser("audienceUser2", "audience2@example.org", true));
+		MLPRole role = client.createRole(new MLPRole("audience role", true));
+		client.addUsersInRole(Collections.singletonList(u2.getUserId()), role.getRoleId());
+		long now = System.currentTimeMillis();
+		MLPNotification active = client.createNotification(new MLPNotification("active",
+				MessageSeverityCode.LO.name(), new Date(now - 60 * 60 * 1000), new Date(now + 60 * 60 * 1000)));
+		MLPNotification future = client.createNotification(new MLPNotification("future",
+				MessageSeverityCode.LO.name(), new Date(now + 60 * 60 * 1000), new Date(now + 2 * 60 * 60 * 1000)));
+		try {
+			Assert.assertEquals(1, client.addUsersToNotification(active.getNotificationId(),
+					new NotificationAudienceRequest(false, null, Arrays.asList(u1.getUserId(), "unknown-user-id"))));
+			Assert.assertEquals(1, client.getUserUnreadNotificationCount(u1.getUserId()));
+			Assert.assertEquals(0, client.getUserUnreadNotificationCount(u2.getUserId()));
+			// Served from the cache
+			long hits = notificationService.getCacheStats().getHits();
+			Assert.assertEquals(1, client.getUserUnreadNotificationCount(u1.getUserId()));
+			Assert.assertEquals(hits + 1, notificationService.getCacheStats().getHits());
+
+			Assert.assertEquals(1, client.addUsersToNotification(active.getNotificationId(),
+					new NotificationAudienceRequest(false, role.getRoleId(), null)));
+			Assert.assertEquals(1, client.getUserUnreadNotificationCount(u2.getUserId()));
+			// Every active user is now a recipient, so a second broadcast adds nobody
+			client.addUsersToNotification(active.getNotificationId(), new NotificationAudienceRequest(true, null, null));
+			Assert.assertEquals(0, client.addUsersToNotification(active.getNotificationId(),
+					new NotificationAudienceRequest(true, null, null)));
+
+			// A notification that has not started is not counted
+			client.addUserToNotification(future.getNotificationId(), u1.getUserId());
+			Assert.assertEquals(1, client.getUserUnreadNotificationCount(u1.getUserId()));
+			BatchResultTransport result = client.setUserViewedNotifications(u1.getUserId(),
+					Arrays.asList(active.getNotificationId(), future.getNotificationId(), "unknown-notif-id"));
+			Assert.assertEquals(2, result.getSucceeded());
+			Assert.assertEquals(1, result.getFailed());
+			Assert.assertEquals(0, client.getUserUnreadNotificationCount(u1.getUserId()));
+			Assert.assertEquals(1, client.getUserUnreadNotificationCount(u2.getUserId()));
+
+			try {
+				client.addUsersToNotification(active.getNotificationId(),
+						new NotificationAudienceRequest(true, role.getRoleId(), null));
+				throw new Exception("Unexpected success");
+			} catch (HttpStatusCodeException ex) {
+				logger.info("Add with two audiences failed as expected: {}", ex.getResponseBodyAsString());
+			}
+			try {
+				client.addUsersToNotification(active.getNotificationId(),
+						new NotificationAudienceRequest(false, "unknown-role-id", null));
+				throw new Exception("Unexpected success");
+			} catch (HttpStatusCodeException ex) {
+				logger.info("Add with unknown role failed as expected: {}", ex.getResponseBodyAsString());
+			}
+			try {
+				client.addUsersToNotification("unknown-notif-id", new NotificationAudienceRequest(true, null, null));
+				throw new Exception("Unexpected success");
+			} catch (HttpStatusCodeException ex) {
+				logger.info("Add to unknown notification failed as expected: {}", ex.getResponseBodyAsString());
+			}
+		} finally {
+			// Also drops the recipients
+			client.deleteNotification(active.getNotificationId());
+			client.deleteNotification(future.getNotificationId());
+			client.dropUsersInRole(Collections.singletonList(u2.getUserId()), role.getRoleId());
+			client.deleteRole(role.getRoleId());
+			client.deleteUsers(Arrays.asList(u1.getUserId(), u2.getUserId()));
+		}
+		Assert.assertEquals(0, client.getUserUnreadNotificationCount(u2.getUserId()));
+	}
+
+	@Test
+	public void testNotificationInbox() throws Exception {
+		MLPUser user = client.createUser(new MLPUser("inboxUser", "inbox@example.org", true));
+		long now = System.currentTimeMillis();
+		MLPNotification first = client.createNotification(new MLPNotification("first",
+				MessageSeverityCode.LO.name(), new Date(now - 2 * 60 * 60 * 1000), new Date(now + 60 * 60 * 1000)));
+		MLPNotification second = client.createNotification(new MLPNotification("second",
+				MessageSeverityCode.LO.name(), new Date(now - 60 * 60 * 1000), new Date(now + 60 * 60 * 1000)));
+		// Starts shortly so the cached inbox must show it without a reload
+		MLPNotification soon = client.createNotification(new MLPNotification("soon", MessageSeverityCode.LO.name(),
+				new Date(now + 3000), new Date(now + 60 * 60 * 1000)));
+		try {
+			client.addUsersToNotification(first.getNotificationId(),
+					new NotificationAudienceRequest(false, null, Collections.singletonList(user.getUserId())));
+			client.addUserToNotification(second.getNotificationId(), user.getUserId());
+			client.addUserToNotification(soon.getNotificationId(), user.getUserId());
+
+			RestPageResponse<MLPUserNotification> page = client.getUserNotifications(user.getUserId(),
+					new RestPageRequest(0, 1, "title"));
+			Assert.assertEquals(2, page.getTotalElements());
+			Assert.assertEquals(first.getNotificationId(), page.getContent().get(0).getNotificationId());
+			Map<String, String> titleDesc = new HashMap<>();
+			titleDesc.put("title", "DESC");
+			page = client.getUserNotifications(user.getUserId(), new RestPageRequest(0, 5, titleDesc));
+			Assert.assertEquals(second.getNotificationId(), page.getContent().get(0).getNotificationId());
+			long hits = notificationService.getCacheStats().getHits();
+			long misses = notificationService.getCacheStats().getMisses();
+			Assert.assertEquals(2, client.getUserUnreadNotificationCount(user.getUserId()));
+			Assert.assertEquals(hits + 1, notificationService.getCacheStats().getHits());
+
+			Thread.sleep(Math.max(0, now + 3500 - System.currentTimeMillis()));
+			page = client.getUserNotifications(user.getUserId(), new RestPageRequest(0, 5));
+			Assert.assertEquals(3, page.getTotalElements());
+			Assert.assertEquals(misses, notificationService.getCacheStats().getMisses());
+
+			// Writes discard the cached inbox
+			client.dropUserFromNotification(soon.getNotificationId(), user.getUserId());
+			Assert.assertEquals(2, client.getUserNotifications(user.getUserId(), new RestPageRequest(0, 5))
+					.getTotalElements());
+			second.setEnd(new Date(now - 1000));
+			client.updateNotification(second);
+			Assert.assertEquals(1, client.getUserUnreadNotificationCount(user.getUserId()));
+
+			try {
+				client.getUserNotifications(user.getUserId(), new RestPageRequest(0, 5, "bogus"));
+				throw new Exception("Unexpected success");
+			} catch (HttpStatusCodeException ex) {
+				Assert.assertEquals(HttpStatus.BAD_REQUEST.value(), ex.getRawStatusCode());
+				logger.info("Get with unknown sort property failed as expected: {}", ex.getResponseBodyAsString());
+			}
+		} finally {
+			client.deleteNotification(first.getNotificationId());
+			client.deleteNotification(second.getNotificationId());
+			client.deleteNotification(soon.getNotificationId());
+			client.deleteUser(user.getUserId());
+		}
+		Assert.assertEquals(0, client.getUserUnreadNotificationCount(user.getUserId()));
+	}
+
 	@Test
 	public void testUserNotificationPreferences() throws Exception {
 		MLPUser cu = new MLPUser();
@@ -1636,6 +2643,41 @@ public void testThreadsComments() throws Exception {
 				cr.getRevisionId(), new RestPageRequest(0, 1));
 		Assert.assertTrue(commentsById != null && commentsById.getNumberOfElements() > 0);
 
+		// Counts are cached now and adjusted by each comment created or deleted
+		Assert.assertEquals(2, client.getThreadCommentCount(thread.getThreadId()));
+		Assert.assertEquals(2, client.getSolutionRevisionCommentCount(cs.getSolutionId(), cr.getRevisionId()));
+		MLPThread other = client.createThread(new MLPThread(cs.getSolutionId(), cr.getRevisionId()));
+		MLPComment otherComment = client
+				.createComment(new MLPComment(other.getThreadId(), cu.getUserId(), "other text"));
+		long misses = commentService.getCacheStats().getMisses();
+		Assert.assertEquals(3, client.getSolutionRevisionCommentCount(cs.getSolutionId(), cr.getRevisionId()));
+		Assert.assertEquals(misses, commentService.getCacheStats().getMisses());
+
+		RestPageResponse<ThreadTreeTransport> trees = client.getSolutionRevisionThreadTrees(cs.getSolutionId(),
+				cr.getRevisionId(), new RestPageRequest(0, 5));
+		Assert.assertEquals(2, trees.getTotalElements());
+		for (ThreadTreeTransport tree : trees.getContent()) {
+			if (tree.getThread().getThreadId().equals(thread.getThreadId())) {
+				Assert.assertEquals(2, tree.getCommentCount());
+				Assert.assertEquals(1, tree.getComments().size());
+				Assert.assertEquals(parent.getCommentId(), tree.getComments().get(0).getComment().getCommentId());
+				Assert.assertEquals(reply.getCommentId(),
+						tree.getComments().get(0).getReplies().get(0).getComment().getCommentId());
+			} else {
+				Assert.assertEquals(1, tree.getCommentCount());
+				Assert.assertTrue(tree.getComments().get(0).getReplies().isEmpty());
+			}
+		}
+		trees = client.getSolutionRevisionThreadTrees(cs.getSolutionId(), cr.getRevisionId(),
+				new RestPageRequest(1, 1));
+		Assert.assertEquals(1, trees.getNumberOfElements());
+		Assert.assertEquals(2, trees.getTotalElements());
+
+		client.deleteComment(other.getThreadId(), otherComment.getCommentId());
+		Assert.assertEquals(2, client.getSolutionRevisionCommentCount(cs.getSolutionId(), cr.getRevisionId()));
+		Assert.assertEquals(0, client.getThreadCommentCount(other.getThreadId()));
+		client.deleteThread(other.getThreadId());
+
 		try {
 			client.getComment("bogus", "bogus");
 			throw new Exception("Unexpected success");
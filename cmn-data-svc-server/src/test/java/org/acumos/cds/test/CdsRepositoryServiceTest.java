@@ -20,13 +20,33 @@
 
 package org.acumos.cds.test;
 
+import java.io.StringWriter;
 import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.acumos.cds.generator.CatalogGenerator;
+import org.acumos.cds.generator.CatalogGeneratorConfig;
+import org.acumos.cds.generator.JdbcCatalogWriter;
+import org.acumos.cds.generator.RepositoryCatalogWriter;
+import org.acumos.cds.generator.SqlScriptCatalogWriter;
+import org.acumos.cds.generator.ZipfDistribution;
+import org.springframework.context.ApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
 import javax.validation.ConstraintViolationException;
 
 import org.acumos.cds.AccessTypeCode;
@@ -42,6 +62,8 @@
 import org.acumos.cds.SubscriptionScopeCode;
 import org.acumos.cds.ToolkitTypeCode;
 import org.acumos.cds.ValidationStatusCode;
+import org.acumos.cds.config.InstrumentedDataSource;
+import org.acumos.cds.config.QueryRecorder;
 import org.acumos.cds.domain.MLPArtifact;
 import org.acumos.cds.domain.MLPCodeNamePair;
 import org.acumos.cds.domain.MLPComment;
@@ -117,13 +139,25 @@
 import org.acumos.cds.repository.UserRoleMapRepository;
 import org.acumos.cds.service.ArtifactSearchService;
 import org.acumos.cds.service.CodeNameService;
+import org.acumos.cds.service.EntityCacheService;
 import org.acumos.cds.service.PeerSearchService;
 import org.acumos.cds.service.PublishRequestSearchService;
 import org.acumos.cds.service.RoleSearchService;
+import org.acumos.cds.service.SolutionFacetIndexService;
+import org.acumos.cds.service.SolutionKeywordIndexService;
 import org.acumos.cds.service.SolutionSearchService;
+import org.acumos.cds.service.SolutionStatsService;
+import org.acumos.cds.service.SolutionViewCountService;
 import org.acumos.cds.service.StepResultSearchService;
 import org.acumos.cds.service.UserSearchService;
 import org.acumos.cds.transport.AuthorTransport;
+import org.acumos.cds.transport.CacheStatsTransport;
+import org.acumos.cds.transport.FacetCountsTransport;
+import org.acumos.cds.transport.PoolStatsTransport;
+import org.acumos.cds.transport.SlowQueryTransport;
+import org.acumos.cds.transport.SqlStatsTransport;
+import org.acumos.cds.util.BoundedCache;
+import org.acumos.cds.util.LatencyHistogram;
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -135,6 +169,8 @@
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort.Direction;
 import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.transaction.TransactionSystemException;
 
 /**
@@ -148,6 +184,12 @@ public class CdsRepositoryServiceTest {
 
 	private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
+	@Autowired
+	private ApplicationContext applicationContext;
+	@Autowired
+	private DataSource dataSource;
+	@Autowired
+	private PlatformTransactionManager transactionManager;
 	@Autowired
 	private ArtifactRepository artifactRepository;
 	@Autowired
@@ -177,6 +219,10 @@ public class CdsRepositoryServiceTest {
 	@Autowired
 	private SolutionWebRepository solutionWebRepository;
 	@Autowired
+	private SolutionViewCountService solutionViewCountService;
+	@Autowired
+	private SolutionStatsService solutionStatsService;
+	@Autowired
 	private SolutionRevisionRepository revisionRepository;
 	@Autowired
 	private SolRevArtMapRepository solRevArtMapRepository;
@@ -225,6 +271,12 @@ public class CdsRepositoryServiceTest {
 	@Autowired
 	private CodeNameService codeNameService;
 	@Autowired
+	private EntityCacheService entityCacheService;
+	@Autowired
+	private SolutionKeywordIndexService keywordIndexService;
+	@Autowired
+	private SolutionFacetIndexService facetIndexService;
+	@Autowired
 	private RevisionDescriptionRepository revisionDescRepository;
 	@Autowired
 	private DocumentRepository documentRepository;
@@ -234,6 +286,8 @@ public class CdsRepositoryServiceTest {
 	private PublishRequestRepository publishRequestRepository;
 	@Autowired
 	private PublishRequestSearchService publishRequestSearchService;
+	@Autowired
+	private QueryRecorder queryRecorder;
 
 	@Test
 	public void testRepositories() throws Exception {
@@ -547,6 +601,18 @@ public void testRepositories() throws Exception {
 					null, null, null, searchTags, null, null, new PageRequest(0, 5));
 			Assert.assertTrue(oneTagSearchResult != null && oneTagSearchResult.getNumberOfElements() == 2);
 
+			logger.info("Check that pages of one tag yield distinct matches");
+			Page<MLPSolution> oneTagPage0 = solutionSearchService.findPortalSolutions(null, null, active, null, null,
+					null, null, searchTags, null, null, new PageRequest(0, 1, Direction.ASC, "name"));
+			Page<MLPSolution> oneTagPage1 = solutionSearchService.findPortalSolutions(null, null, active, null, null,
+					null, null, searchTags, null, null, new PageRequest(1, 1, Direction.ASC, "name"));
+			Assert.assertEquals(2, oneTagPage0.getTotalElements());
+			Assert.assertEquals(1, oneTagPage0.getNumberOfElements());
+			Assert.assertEquals(1, oneTagPage1.getNumberOfElements());
+			Assert.assertNotEquals(oneTagPage0.getContent().get(0).getSolutionId(),
+					oneTagPage1.getContent().get(0).getSolutionId());
+			Assert.assertTrue(oneTagPage0.getContent().get(0).getTags().contains(solTag1));
+
 			logger.info("Check that two tags yields single match");
 			searchTags = new String[] { solTag1.getTag(), solTag2.getTag() };
 			Page<MLPSolution> twoTagsSearchResult = solutionSearchService.findPortalSolutions(null, null, active, null,
@@ -568,7 +634,7 @@ public void testRepositories() throws Exception {
 			MLPSolution taggedSol = allAnyTagsSearchResult.getContent().get(0);
 			Assert.assertTrue(taggedSol.getTags().contains(solTag1) && taggedSol.getTags().contains(solTag2));
 
-			// All keywords must occur in the same field to match
+			// Every keyword must match
 			String[] kw = { "Big", "Data" };
 			Page<MLPSolution> kwSearchResult = solutionSearchService.findPortalSolutionsByKw(kw, active, userIds,
 					modelTypeCodes, accTypeCodes, searchTags, new PageRequest(0, 2, Direction.ASC, "name"));
@@ -982,6 +1048,77 @@ public void createSolutionWithArtifacts() throws Exception {
 			logger.info("Solution view count after: " + countAfter);
 			Assert.assertNotEquals(countBefore, countAfter);
 
+			logger.info("Counting views in memory");
+			for (int i = 0; i < 3; ++i)
+				solutionViewCountService.incrementViewCount(cs.getSolutionId());
+			Assert.assertEquals(countAfter + 3,
+					(long) solutionViewCountService.withPendingViews(stats).getViewCount());
+			solutionViewCountService.flush();
+			Assert.assertEquals(0, solutionViewCountService.getPendingViewCount(cs.getSolutionId()));
+			stats = solutionWebRepository.findOne(stats.getSolutionId());
+			Assert.assertEquals(countAfter + 3, (long) stats.getViewCount());
+			// Reaching the threshold flushes in the background
+			Object viewCountTarget = AopTestUtils.getTargetObject(solutionViewCountService);
+			Object flushThreshold = ReflectionTestUtils.getField(viewCountTarget, "flushThreshold");
+			ReflectionTestUtils.setField(viewCountTarget, "flushThreshold", 2L);
+			try {
+				solutionViewCountService.incrementViewCount(cs.getSolutionId());
+				solutionViewCountService.incrementViewCount(cs.getSolutionId());
+				long deadline = System.currentTimeMillis() + 5000;
+				while (solutionWebRepository.findOne(cs.getSolutionId()).getViewCount() < countAfter + 5
+						&& System.currentTimeMillis() < deadline)
+					Thread.sleep(10);
+			} finally {
+				ReflectionTestUtils.setField(viewCountTarget, "flushThreshold", flushThreshold);
+			}
+			stats = solutionWebRepository.findOne(stats.getSolutionId());
+			Assert.assertEquals(countAfter + 5, (long) stats.getViewCount());
+			Assert.assertEquals(0, solutionViewCountService.getPendingViewCount(cs.getSolutionId()));
+
+			logger.info("Maintaining rating statistics incrementally");
+			solutionWebRepository.addRating(cs.getSolutionId(), 4);
+			solutionWebRepository.addRating(cs.getSolutionId(), 5);
+			stats = solutionWebRepository.findOne(stats.getSolutionId());
+			Assert.assertEquals(2L, (long) stats.getRatingCount());
+			Assert.assertEquals(45L, (long) stats.getRatingAverageTenths());
+			solutionWebRepository.changeRating(cs.getSolutionId(), -2);
+			stats = solutionWebRepository.findOne(stats.getSolutionId());
+			Assert.assertEquals(35L, (long) stats.getRatingAverageTenths());
+			solutionWebRepository.removeRating(cs.getSolutionId(), 3);
+			stats = solutionWebRepository.findOne(stats.getSolutionId());
+			Assert.assertEquals(1L, (long) stats.getRatingCount());
+			Assert.assertEquals(40L, (long) stats.getRatingAverageTenths());
+			// No rating rows exist, so reconciliation resets the counts
+			solutionWebRepository.reconcileStats(cs.getSolutionId());
+			stats = solutionWebRepository.findOne(stats.getSolutionId());
+			Assert.assertEquals(0L, (long) stats.getRatingCount());
+			Assert.assertEquals(0L, (long) stats.getRatingAverageTenths());
+			Assert.assertEquals(0L, (long) stats.getDownloadCount());
+			Assert.assertTrue(solutionStatsService.reconcileStats() > 0);
+			// Concurrent updates of one rating keep the statistics consistent
+			final String ratedId = cs.getSolutionId();
+			final String raterId = cu.getUserId();
+			Assert.assertNotNull(solutionStatsService.createRating(new MLPSolutionRating(ratedId, raterId, 3)));
+			Assert.assertNull(solutionStatsService.createRating(new MLPSolutionRating(ratedId, raterId, 3)));
+			ExecutorService raters = Executors.newFixedThreadPool(4);
+			List<Future<Boolean>> updates = new ArrayList<>();
+			for (int i = 0; i < 20; ++i) {
+				final int value = 1 + i % 5;
+				updates.add(raters
+						.submit(() -> solutionStatsService.updateRating(new MLPSolutionRating(ratedId, raterId, value))));
+			}
+			for (Future<Boolean> update : updates)
+				Assert.assertTrue(update.get());
+			raters.shutdown();
+			MLPSolutionRating rated = solutionRatingRepository.findOne(new SolutionRatingPK(ratedId, raterId));
+			stats = solutionWebRepository.findOne(stats.getSolutionId());
+			Assert.assertEquals(1L, (long) stats.getRatingCount());
+			Assert.assertEquals(10L * rated.getRating(), (long) stats.getRatingAverageTenths());
+			Assert.assertTrue(solutionStatsService.deleteRating(ratedId, raterId));
+			Assert.assertFalse(solutionStatsService.deleteRating(ratedId, raterId));
+			stats = solutionWebRepository.findOne(stats.getSolutionId());
+			Assert.assertEquals(0L, (long) stats.getRatingCount());
+
 			// add tag
 			MLPSolTagMap solTagMap1 = new MLPSolTagMap(cs.getSolutionId(), tag1.getTag());
 			solTagMapRepository.save(solTagMap1);
@@ -1479,4 +1616,364 @@ public void testCodeNameService() {
 		}
 	}
 
+	@Test
+	public void testPooledDataSource() {
+		Assert.assertTrue(dataSource instanceof InstrumentedDataSource);
+		// Force use of a connection
+		Assert.assertTrue(solutionRepository.count() >= 0);
+		PoolStatsTransport stats = ((InstrumentedDataSource) dataSource).getPoolStats();
+		logger.info("testPooledDataSource: active {} idle {} checkouts {}", stats.getActive(), stats.getIdle(),
+				stats.getCheckouts());
+		Assert.assertTrue(stats.getSize() > 0);
+		Assert.assertTrue(stats.getCheckouts() > 0);
+		Assert.assertTrue(stats.getMaxActive() > 0);
+	}
+
+	private CacheStatsTransport getCacheStats(String name) {
+		for (CacheStatsTransport stats : entityCacheService.getStats())
+			if (name.equals(stats.getName()))
+				return stats;
+		throw new IllegalArgumentException(name);
+	}
+
+	@Test
+	public void testEntityCache() throws Exception {
+		MLPPeer pr = new MLPPeer("cachePeer", "cache." + Long.toString(new Date().getTime()), "http://peer-api", true,
+				true, "", PeerStatusCode.AC.name(), ValidationStatusCode.NV.name());
+		pr = peerRepository.save(pr);
+		try {
+			final long misses = getCacheStats("peer").getMisses();
+			final long hits = getCacheStats("peer").getHits();
+			Assert.assertNotNull(entityCacheService.getPeer(pr.getPeerId()));
+			Assert.assertNotNull(entityCacheService.getPeer(pr.getPeerId()));
+			Assert.assertEquals(misses + 1, getCacheStats("peer").getMisses());
+			Assert.assertEquals(hits + 1, getCacheStats("peer").getHits());
+			// Absent entries are not cached
+			Assert.assertNull(entityCacheService.getPeer("bogus"));
+			Assert.assertNull(entityCacheService.getPeer("bogus"));
+			Assert.assertEquals(misses + 3, getCacheStats("peer").getMisses());
+		} finally {
+			peerRepository.delete(pr);
+			entityCacheService.invalidatePeer(pr.getPeerId());
+		}
+		Assert.assertNull(entityCacheService.getPeer(pr.getPeerId()));
+
+		// Eviction and expiry
+		BoundedCache<String, String> cache = new BoundedCache<>("test", 2, 50);
+		Assert.assertEquals("a", cache.get("a", k -> k));
+		Assert.assertEquals("b", cache.get("b", k -> k));
+		// Touch a so b is least recently used
+		Assert.assertEquals("a", cache.get("a", k -> "x"));
+		Assert.assertEquals("c", cache.get("c", k -> k));
+		Assert.assertEquals(2, cache.size());
+		Assert.assertEquals(1, cache.getStats().getEvictions());
+		Assert.assertEquals("y", cache.get("b", k -> "y"));
+		cache.invalidate("b");
+		Assert.assertEquals("z", cache.get("b", k -> "z"));
+		Thread.sleep(100);
+		Assert.assertEquals("expired", cache.get("b", k -> "expired"));
+		Assert.assertEquals(1, cache.getStats().getExpirations());
+		cache.put("d", "d");
+		Assert.assertEquals("d", cache.get("d"));
+		Assert.assertNull(cache.get("e"));
+	}
+
+	@Test
+	public void testKeywordIndex() throws Exception {
+		MLPUser cu = new MLPUser();
+		cu.setEmail("testkeywordindex@abc.com");
+		cu.setActive(true);
+		cu.setLoginName("test_user_" + Long.toString(new Date().getTime()));
+		cu = userRepository.save(cu);
+		MLPSolution cs = solutionRepository.save(new MLPSolution("Quokka Classifier", cu.getUserId(), true));
+		MLPSolution cs2 = solutionRepository.save(new MLPSolution("Marsupial Counter", cu.getUserId(), true));
+		// Contains the keyword, but not at the start of a word
+		MLPSolution cs3 = solutionRepository.save(new MLPSolution("Nonmarsupial Sorter", cu.getUserId(), true));
+		MLPSolutionRevision cr = new MLPSolutionRevision(cs.getSolutionId(), "1.0K", cu.getUserId(),
+				AccessTypeCode.PB.name(), ValidationStatusCode.NV.name());
+		cr.setPublisher("Wombat Labs");
+		// Repeated pair is stored twice, but parsed once
+		cr.setAuthors(new AuthorTransport[] { new AuthorTransport("Koala Jones", "koala@example.org"),
+				new AuthorTransport("Koala Jones", "koala@example.org") });
+		cr = revisionRepository.save(cr);
+		MLPSolutionRevision cr2 = revisionRepository.save(new MLPSolutionRevision(cs2.getSolutionId(), "1.0K",
+				cu.getUserId(), AccessTypeCode.PB.name(), ValidationStatusCode.NV.name()));
+		MLPSolutionRevision cr3 = revisionRepository.save(new MLPSolutionRevision(cs3.getSolutionId(), "1.0K",
+				cu.getUserId(), AccessTypeCode.PB.name(), ValidationStatusCode.NV.name()));
+		MLPRevisionDescription rd = revisionDescRepository
+				.save(new MLPRevisionDescription(cr.getRevisionId(), "PB", "Detects marsupials in photographs"));
+		try {
+			Assert.assertTrue(keywordIndexService.isReady());
+			// Prefix match, ignoring case
+			Assert.assertTrue(keywordIndexService.search(new String[] { "QUOKK" }).containsKey(cs.getSolutionId()));
+			// Every keyword must match, in any field
+			Assert.assertTrue(keywordIndexService.search(new String[] { "wombat", "marsupial" })
+					.containsKey(cs.getSolutionId()));
+			Assert.assertFalse(keywordIndexService.search(new String[] { "wombat", "bogus" })
+					.containsKey(cs.getSolutionId()));
+			// Exact revision ID
+			Assert.assertTrue(
+					keywordIndexService.search(new String[] { cr.getRevisionId() }).containsKey(cs.getSolutionId()));
+
+			// Without a sort, a match on the name outranks a prefix match on a description
+			Page<MLPSolution> ranked = solutionSearchService.findPortalSolutionsByKw(new String[] { "marsupial" },
+					true, null, null, null, null, new PageRequest(0, 5));
+			Assert.assertEquals(2, ranked.getTotalElements());
+			Assert.assertEquals(cs2.getSolutionId(), ranked.getContent().get(0).getSolutionId());
+			Assert.assertEquals(cs.getSolutionId(), ranked.getContent().get(1).getSolutionId());
+			// Candidates are checked in chunks without changing rank or count
+			Object searchTarget = AopTestUtils.getTargetObject(solutionSearchService);
+			Object maxCandidates = ReflectionTestUtils.getField(searchTarget, "maxCandidates");
+			ReflectionTestUtils.setField(searchTarget, "maxCandidates", 1);
+			try {
+				Page<MLPSolution> second = solutionSearchService.findPortalSolutionsByKw(
+						new String[] { "marsupial" }, true, null, null, null, null, new PageRequest(1, 1));
+				Assert.assertEquals(2, second.getTotalElements());
+				Assert.assertEquals(cs.getSolutionId(), second.getContent().get(0).getSolutionId());
+				// Sorted searches check the candidates in chunks too, so words match
+				// as in the index: across fields, ignoring case, at the start of a word
+				Page<MLPSolution> sorted = solutionSearchService.findPortalSolutionsByKw(new String[] { "marsupial" },
+						true, null, null, null, null, new PageRequest(0, 5, Direction.ASC, "name"));
+				Assert.assertEquals(2, sorted.getTotalElements());
+				Assert.assertEquals(cs2.getSolutionId(), sorted.getContent().get(0).getSolutionId());
+				ReflectionTestUtils.setField(searchTarget, "maxCandidates", 0);
+				sorted = solutionSearchService.findPortalSolutionsByKw(new String[] { "WOMBAT marsupial" }, true,
+						null, null, null, null, new PageRequest(0, 5, Direction.ASC, "name"));
+				Assert.assertEquals(1, sorted.getTotalElements());
+				Assert.assertEquals(cs.getSolutionId(), sorted.getContent().get(0).getSolutionId());
+			} finally {
+				ReflectionTestUtils.setField(searchTarget, "maxCandidates", maxCandidates);
+			}
+
+			// Rebuild indexes the authors the same way as the listener
+			Double koala = keywordIndexService.search(new String[] { "koala" }).get(cs.getSolutionId());
+			Assert.assertNotNull(koala);
+			keywordIndexService.rebuild();
+			Assert.assertEquals(koala, keywordIndexService.search(new String[] { "koala" }).get(cs.getSolutionId()));
+
+			// Committed updates reach the index
+			cs.setName("Platypus Classifier");
+			solutionRepository.save(cs);
+			Assert.assertFalse(keywordIndexService.search(new String[] { "quokka" }).containsKey(cs.getSolutionId()));
+			Assert.assertTrue(keywordIndexService.search(new String[] { "platypus" }).containsKey(cs.getSolutionId()));
+			keywordIndexService.rebuild();
+			Assert.assertTrue(keywordIndexService.search(new String[] { "platypus" }).containsKey(cs.getSolutionId()));
+		} finally {
+			revisionDescRepository.delete(rd);
+			revisionRepository.delete(cr3);
+			revisionRepository.delete(cr2);
+			revisionRepository.delete(cr);
+			solutionRepository.delete(cs3);
+			solutionRepository.delete(cs2);
+			solutionRepository.delete(cs);
+			userRepository.delete(cu);
+		}
+		Assert.assertFalse(keywordIndexService.search(new String[] { "platypus" }).containsKey(cs.getSolutionId()));
+		Assert.assertFalse(keywordIndexService.search(new String[] { "marsupial" }).containsKey(cs.getSolutionId()));
+	}
+
+	@Test
+	public void testFacetIndex() throws Exception {
+		MLPUser cu = new MLPUser();
+		cu.setEmail("testfacetindex@abc.com");
+		cu.setActive(true);
+		cu.setLoginName("test_user_" + Long.toString(new Date().getTime()));
+		cu = userRepository.save(cu);
+		final String suffix = Long.toString(new Date().getTime());
+		MLPTag tagA = solutionTagRepository.save(new MLPTag("facetA" + suffix));
+		MLPTag tagB = solutionTagRepository.save(new MLPTag("facetB" + suffix));
+		MLPTag tagC = solutionTagRepository.save(new MLPTag("facetC" + suffix));
+		final String[] a = { tagA.getTag() };
+		final String[] ab = { tagA.getTag(), tagB.getTag() };
+
+		MLPSolution s1 = new MLPSolution("facet solution 1", cu.getUserId(), true);
+		s1.setModelTypeCode(ModelTypeCode.CL.name());
+		s1.getTags().add(tagA);
+		s1.getTags().add(tagB);
+		s1 = solutionRepository.save(s1);
+		MLPSolution s2 = new MLPSolution("facet solution 2", cu.getUserId(), true);
+		s2.setModelTypeCode(ModelTypeCode.DS.name());
+		s2.getTags().add(tagA);
+		s2 = solutionRepository.save(s2);
+		MLPSolution s3 = new MLPSolution("facet solution 3", cu.getUserId(), false);
+		s3.setModelTypeCode(ModelTypeCode.CL.name());
+		s3.getTags().add(tagA);
+		s3 = solutionRepository.save(s3);
+		MLPSolutionRevision r1 = revisionRepository.save(new MLPSolutionRevision(s1.getSolutionId(), "1.0F",
+				cu.getUserId(), AccessTypeCode.PB.name(), ValidationStatusCode.PS.name()));
+		MLPSolutionRevision r2 = revisionRepository.save(new MLPSolutionRevision(s2.getSolutionId(), "1.0F",
+				cu.getUserId(), AccessTypeCode.PR.name(), ValidationStatusCode.NV.name()));
+		try {
+			Assert.assertTrue(facetIndexService.isReady());
+			Set<String> s1Only = new HashSet<>(Arrays.asList(s1.getSolutionId()));
+			Set<String> s2Only = new HashSet<>(Arrays.asList(s2.getSolutionId()));
+			Assert.assertEquals(new HashSet<>(Arrays.asList(s1.getSolutionId(), s2.getSolutionId())),
+					facetIndexService.findSolutionIds(true, null, null, null, a, null, null));
+			Assert.assertEquals(s1Only, facetIndexService.findSolutionIds(true, null, null, null, ab, null, null));
+			Assert.assertEquals(s1Only, facetIndexService.findSolutionIds(null, null, null, null, null,
+					new String[] { tagB.getTag(), tagC.getTag() }, null));
+			Assert.assertEquals(s2Only, facetIndexService.findSolutionIds(true, null, null, null, a, null,
+					new String[] { tagB.getTag() }));
+			Assert.assertEquals(s1Only, facetIndexService.findSolutionIds(true,
+					new String[] { ModelTypeCode.CL.name() }, null, null, a, null, null));
+			Assert.assertEquals(s1Only, facetIndexService.findSolutionIds(null, null,
+					new String[] { AccessTypeCode.PB.name() }, null, a, null, null));
+			// The same revision must match both access type and validation status
+			Assert.assertTrue(facetIndexService.findSolutionIds(null, null, new String[] { AccessTypeCode.PB.name() },
+					new String[] { ValidationStatusCode.NV.name() }, a, null, null).isEmpty());
+
+			FacetCountsTransport counts = facetIndexService.countFacets(null, true, null, null, null, a, null, null);
+			Assert.assertEquals(2, counts.getTotal());
+			Assert.assertEquals(Long.valueOf(1), counts.getModelTypes().get(ModelTypeCode.CL.name()));
+			Assert.assertEquals(Long.valueOf(1), counts.getModelTypes().get(ModelTypeCode.DS.name()));
+			Assert.assertEquals(Long.valueOf(1), counts.getAccessTypes().get(AccessTypeCode.PB.name()));
+			Assert.assertEquals(Long.valueOf(2), counts.getTags().get(tagA.getTag()));
+			Assert.assertEquals(Long.valueOf(1), counts.getTags().get(tagB.getTag()));
+			counts = facetIndexService.countFacets(s2Only, true, null, null, null, a, null, null);
+			Assert.assertEquals(1, counts.getTotal());
+			Assert.assertNull(counts.getTags().get(tagB.getTag()));
+
+			// Searches resolve tags with the index
+			Page<MLPSolution> page = solutionSearchService.findPortalSolutionsByKwAndTags(null, true, null, null, null,
+					a, new String[] { tagB.getTag(), tagC.getTag() }, new PageRequest(0, 5));
+			Assert.assertEquals(1, page.getTotalElements());
+			Assert.assertEquals(s1.getSolutionId(), page.getContent().get(0).getSolutionId());
+			// Keyword candidates are narrowed to the tagged solutions in memory
+			page = solutionSearchService.findPortalSolutionsByKwAndTags(new String[] { "facet", "solution" }, true,
+					null, new String[] { ModelTypeCode.DS.name() }, null, a, null, new PageRequest(0, 5));
+			Assert.assertEquals(1, page.getTotalElements());
+			Assert.assertEquals(s2.getSolutionId(), page.getContent().get(0).getSolutionId());
+			// A tag set larger than the limit uses subqueries instead of an IN list
+			Object searchTarget = AopTestUtils.getTargetObject(solutionSearchService);
+			Object maxCandidates = ReflectionTestUtils.getField(searchTarget, "maxCandidates");
+			ReflectionTestUtils.setField(searchTarget, "maxCandidates", 1);
+			try {
+				page = solutionSearchService.findPortalSolutionsByKwAndTags(null, true, null, null, null, a, null,
+						new PageRequest(0, 5));
+				Assert.assertEquals(2, page.getTotalElements());
+			} finally {
+				ReflectionTestUtils.setField(searchTarget, "maxCandidates", maxCandidates);
+			}
+
+			// Committed tag changes reach the index, via map entity and collection
+			solTagMapRepository.delete(new MLPSolTagMap.SolTagMapPK(s1.getSolutionId(), tagB.getTag()));
+			Assert.assertTrue(facetIndexService.findSolutionIds(null, null, null, null, ab, null, null).isEmpty());
+			s2 = solutionRepository.findOne(s2.getSolutionId());
+			s2.getTags().add(tagC);
+			solutionRepository.save(s2);
+			Assert.assertEquals(s2Only, facetIndexService.findSolutionIds(null, null, null, null,
+					new String[] { tagC.getTag() }, null, null));
+			facetIndexService.rebuild();
+			Assert.assertEquals(s2Only, facetIndexService.findSolutionIds(null, null, null, null,
+					new String[] { tagC.getTag() }, null, null));
+		} finally {
+			revisionRepository.delete(r2);
+			revisionRepository.delete(r1);
+			solutionRepository.delete(s3.getSolutionId());
+			solutionRepository.delete(s2.getSolutionId());
+			solutionRepository.delete(s1.getSolutionId());
+			solutionTagRepository.delete(tagC);
+			solutionTagRepository.delete(tagB);
+			solutionTagRepository.delete(tagA);
+			userRepository.delete(cu);
+		}
+		Assert.assertTrue(facetIndexService.findSolutionIds(null, null, null, null, a, null, null).isEmpty());
+	}
+
+	@Test
+	public void testLatencyHistogram() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		Assert.assertArrayEquals(new long[] { 0, 0 }, histogram.getPercentiles(0.5, 0.99));
+		// 1..1000 milliseconds
+		for (int i = 1; i <= 1000; ++i)
+			histogram.record(TimeUnit.MILLISECONDS.toNanos(i));
+		Assert.assertEquals(1000, histogram.getCount());
+		Assert.assertEquals(500500000L, histogram.getTotalMicros());
+		Assert.assertEquals(1000000L, histogram.getMaxMicros());
+		long[] percentiles = histogram.getPercentiles(0.5, 0.99, 0.999, 1.0);
+		logger.info("testLatencyHistogram: percentiles {}", Arrays.toString(percentiles));
+		// Estimates are bucket upper bounds within 12.5%
+		Assert.assertTrue(percentiles[0] >= 500000 && percentiles[0] <= 500000 * 1.125);
+		Assert.assertTrue(percentiles[1] >= 990000 && percentiles[1] <= 1000000);
+		Assert.assertTrue(percentiles[2] >= 999000 && percentiles[2] <= 1000000);
+		Assert.assertEquals(1000000L, percentiles[3]);
+		histogram.record(0);
+		histogram.record(Long.MAX_VALUE);
+		Assert.assertEquals(0, histogram.getPercentiles(0.0)[0]);
+	}
+
+	@Test
+	public void testQueryRecorder() {
+		long statements = queryRecorder.getStats().getStatements();
+		queryRecorder.resetThreadCounts();
+		// Log every statement as slow
+		queryRecorder.setSlowThresholdMillis(0);
+		try {
+			Assert.assertNull(userRepository.findByLoginOrEmail("no-such-login"));
+		} finally {
+			queryRecorder.setSlowThresholdMillis(500);
+		}
+		Assert.assertTrue(queryRecorder.getThreadStatements() >= 1);
+		Assert.assertEquals(0, queryRecorder.getThreadRows());
+		userRepository.count();
+		Assert.assertTrue(queryRecorder.getThreadRows() >= 1);
+		SqlStatsTransport stats = queryRecorder.getStats();
+		Assert.assertTrue(stats.getStatements() >= statements + 2);
+		Assert.assertEquals(500, stats.getSlowThresholdMillis());
+		SlowQueryTransport slow = stats.getSlowQueries().get(0);
+		logger.info("testQueryRecorder: slow query {} parameters {}", slow.getSql(), slow.getParameters());
+		Assert.assertTrue(slow.getSql().toUpperCase().contains("SELECT"));
+		Assert.assertTrue(slow.getParameters().contains("'no-such-login'"));
+	}
+
+	@Test
+	public void testCatalogGenerator() {
+		ZipfDistribution zipf = new ZipfDistribution(10, 1.0);
+		int[] hits = new int[10];
+		Random random = new Random(1);
+		for (int i = 0; i < 10000; ++i)
+			++hits[zipf.sample(random)];
+		Assert.assertTrue(hits[0] > 2 * hits[4] && hits[4] > hits[9]);
+
+		CatalogGeneratorConfig config = new CatalogGeneratorConfig();
+		config.setPrefix("gentest");
+		config.setUsers(20);
+		config.setTags(10);
+		config.setSolutions(30);
+		config.setBatchSize(7);
+
+		// Same seed, same rows
+		StringWriter first = new StringWriter();
+		StringWriter second = new StringWriter();
+		new CatalogGenerator(config, new SqlScriptCatalogWriter(first)).generate();
+		new CatalogGenerator(config, new SqlScriptCatalogWriter(second)).generate();
+		Assert.assertEquals(first.toString(), second.toString());
+		Assert.assertTrue(first.toString().contains("INSERT INTO C_SOLUTION (CREATED_DATE, MODIFIED_DATE, SOLUTION_ID, "));
+
+		final long solutions = solutionRepository.count();
+		final long comments = commentRepository.count();
+		TransactionTemplate tx = new TransactionTemplate(transactionManager);
+		tx.execute(status -> {
+			Map<String, Long> counts = new CatalogGenerator(config, new JdbcCatalogWriter(dataSource)).generate();
+			logger.info("testCatalogGenerator: counts {}", counts);
+			Assert.assertEquals(solutions + 30, solutionRepository.count());
+			Assert.assertEquals(comments + counts.getOrDefault("C_COMMENT", 0L), commentRepository.count());
+			Assert.assertTrue(counts.get("C_SOLUTION_DOWNLOAD") > 0);
+			Assert.assertNotNull(userRepository.findByLoginOrEmail("gentest0"));
+			status.setRollbackOnly();
+			return null;
+		});
+		Assert.assertEquals(solutions, solutionRepository.count());
+
+		config.setSolutions(3);
+		tx.execute(status -> {
+			new CatalogGenerator(config, new RepositoryCatalogWriter(applicationContext, transactionManager))
+					.generate();
+			Assert.assertEquals(solutions + 3, solutionRepository.count());
+			status.setRollbackOnly();
+			return null;
+		});
+		Assert.assertEquals(solutions, solutionRepository.count());
+	}
+
 }